@@ -1,5 +1,7 @@
 package com.JP.dronesim.application.dtos.request;
 
+import com.JP.dronesim.domain.common.enums.SpatialIndexType;
+
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.DecimalMin;
@@ -107,6 +109,28 @@ public class AirspaceConfigDTO {
         @DecimalMin(value = "0", message = "气压不能为负数")
     private Double pressure;
 
+    /**
+     * 无人机空间索引类型（为空时使用松散八叉树）
+     */
+    private SpatialIndexType spatialIndexType;
+
+    /**
+     * 网格边长（米），仅网格索引使用，为空时按空域范围与典型探测距离自动选择
+     */
+    @DecimalMin(value = "0", inclusive = false, message = "网格边长必须大于0")
+    private Double gridCellSize;
+
+    /**
+     * 典型探测距离（米），用于自动选择网格边长
+     */
+    @DecimalMin(value = "0", message = "典型探测距离不能为负数")
+    private Double typicalSensorRange;
+
+    /**
+     * 随机种子（为空时使用默认种子0）
+     */
+    private Long seed;
+
     /**
      * 默认构造函数
      */
@@ -409,6 +433,78 @@ public class AirspaceConfigDTO {
         this.pressure = pressure;
     }
 
+    /**
+     * 获取空间索引类型
+     *
+     * @return 空间索引类型
+     */
+    public SpatialIndexType getSpatialIndexType() {
+        return spatialIndexType;
+    }
+
+    /**
+     * 设置空间索引类型
+     *
+     * @param spatialIndexType 空间索引类型
+     */
+    public void setSpatialIndexType(SpatialIndexType spatialIndexType) {
+        this.spatialIndexType = spatialIndexType;
+    }
+
+    /**
+     * 获取网格边长
+     *
+     * @return 网格边长
+     */
+    public Double getGridCellSize() {
+        return gridCellSize;
+    }
+
+    /**
+     * 设置网格边长
+     *
+     * @param gridCellSize 网格边长
+     */
+    public void setGridCellSize(Double gridCellSize) {
+        this.gridCellSize = gridCellSize;
+    }
+
+    /**
+     * 获取典型探测距离
+     *
+     * @return 典型探测距离
+     */
+    public Double getTypicalSensorRange() {
+        return typicalSensorRange;
+    }
+
+    /**
+     * 设置典型探测距离
+     *
+     * @param typicalSensorRange 典型探测距离
+     */
+    public void setTypicalSensorRange(Double typicalSensorRange) {
+        this.typicalSensorRange = typicalSensorRange;
+    }
+
+    /**
+     * 获取随机种子
+     *
+     * @return 随机种子
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * 设置随机种子
+     *
+     * @param seed 随机种子
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
     @Override
     public String toString() {
         return "AirspaceConfigDTO{" +
@@ -427,6 +523,10 @@ public class AirspaceConfigDTO {
                 ", windDirection=" + windDirection +
                 ", visibility=" + visibility +
                 ", pressure=" + pressure +
+                ", spatialIndexType=" + spatialIndexType +
+                ", gridCellSize=" + gridCellSize +
+                ", typicalSensorRange=" + typicalSensorRange +
+                ", seed=" + seed +
                 '}';
     }
 }
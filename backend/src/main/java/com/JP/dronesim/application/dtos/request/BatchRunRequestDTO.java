@@ -0,0 +1,151 @@
+package com.JP.dronesim.application.dtos.request;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
+
+/**
+ * 批量仿真请求DTO
+ * 用于提交无墙钟约束、尽快推进的批量仿真任务，步数与仿真时长至少指定一项
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class BatchRunRequestDTO {
+
+    /**
+     * 最大步数（不填或0表示不限）
+     */
+    @Min(value = 0, message = "最大步数不能为负数")
+    private Long maxSteps;
+
+    /**
+     * 仿真时长上限（秒，不填或0表示不限）
+     */
+    @DecimalMin(value = "0", message = "仿真时长不能为负数")
+    private Double horizonSeconds;
+
+    /**
+     * 位置采样间隔（步）
+     */
+    @Min(value = 1, message = "采样间隔必须大于0")
+    private Integer sampleInterval;
+
+    /**
+     * 结果文件名（只能是文件名，不含目录；写入服务端批量输出目录，不填时以任务ID命名）
+     */
+    @Pattern(regexp = "[A-Za-z0-9][A-Za-z0-9._-]{0,127}", message = "结果文件名只能包含字母、数字、点、下划线和连字符")
+    private String outputFileName;
+
+    /**
+     * 是否使用事件驱动内核（稀疏场景跳过无事件的步，结果与定步长运行一致）
+     */
+    private Boolean eventDriven;
+
+    /**
+     * 默认构造函数
+     */
+    public BatchRunRequestDTO() {
+    }
+
+    /**
+     * 获取最大步数（不填或0表示不限）
+     *
+     * @return 最大步数（不填或0表示不限）
+     */
+    public Long getMaxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * 设置最大步数（不填或0表示不限）
+     *
+     * @param maxSteps 最大步数（不填或0表示不限）
+     */
+    public void setMaxSteps(Long maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * 获取仿真时长上限（秒，不填或0表示不限）
+     *
+     * @return 仿真时长上限（秒，不填或0表示不限）
+     */
+    public Double getHorizonSeconds() {
+        return horizonSeconds;
+    }
+
+    /**
+     * 设置仿真时长上限（秒，不填或0表示不限）
+     *
+     * @param horizonSeconds 仿真时长上限（秒，不填或0表示不限）
+     */
+    public void setHorizonSeconds(Double horizonSeconds) {
+        this.horizonSeconds = horizonSeconds;
+    }
+
+    /**
+     * 获取位置采样间隔（步）
+     *
+     * @return 位置采样间隔（步）
+     */
+    public Integer getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * 设置位置采样间隔（步）
+     *
+     * @param sampleInterval 位置采样间隔（步）
+     */
+    public void setSampleInterval(Integer sampleInterval) {
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * 获取结果文件名
+     *
+     * @return 结果文件名（不填时以任务ID命名）
+     */
+    public String getOutputFileName() {
+        return outputFileName;
+    }
+
+    /**
+     * 设置结果文件名
+     *
+     * @param outputFileName 结果文件名（不填时以任务ID命名）
+     */
+    public void setOutputFileName(String outputFileName) {
+        this.outputFileName = outputFileName;
+    }
+
+    /**
+     * 获取是否使用事件驱动内核
+     *
+     * @return 是否使用事件驱动内核
+     */
+    public Boolean getEventDriven() {
+        return eventDriven;
+    }
+
+    /**
+     * 设置是否使用事件驱动内核
+     *
+     * @param eventDriven 是否使用事件驱动内核
+     */
+    public void setEventDriven(Boolean eventDriven) {
+        this.eventDriven = eventDriven;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRunRequestDTO{" +
+                "maxSteps=" + maxSteps +
+                ", horizonSeconds=" + horizonSeconds +
+                ", sampleInterval=" + sampleInterval +
+                ", outputFileName='" + outputFileName + '\'' +
+                ", eventDriven=" + eventDriven +
+                '}';
+    }
+}
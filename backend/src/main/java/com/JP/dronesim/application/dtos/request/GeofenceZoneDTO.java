@@ -0,0 +1,178 @@
+package com.JP.dronesim.application.dtos.request;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 地理围栏区域DTO
+ * 用于创建与返回禁飞区/限飞区（多边形底面加高度带）
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class GeofenceZoneDTO {
+
+    /**
+     * 区域ID（创建时忽略）
+     */
+    private String id;
+
+    /**
+     * 区域名称
+     */
+    @NotBlank(message = "区域名称不能为空")
+    private String name;
+
+    /**
+     * 区域类型代码（nofly/restricted）
+     */
+    @NotBlank(message = "区域类型不能为空")
+    private String type;
+
+    /**
+     * 底面顶点（每个顶点为[x, y]，米）
+     */
+    @NotNull(message = "区域顶点不能为空")
+    @Size(min = 3, message = "区域底面至少需要3个顶点")
+    private List<double[]> vertices;
+
+    /**
+     * 高度下限（米）
+     */
+    @NotNull(message = "高度下限不能为空")
+    private Double minAltitude;
+
+    /**
+     * 高度上限（米）
+     */
+    @NotNull(message = "高度上限不能为空")
+    private Double maxAltitude;
+
+    /**
+     * 默认构造函数
+     */
+    public GeofenceZoneDTO() {
+    }
+
+    /**
+     * 获取区域ID（创建时忽略）
+     *
+     * @return 区域ID（创建时忽略）
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 设置区域ID（创建时忽略）
+     *
+     * @param id 区域ID（创建时忽略）
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * 获取区域名称
+     *
+     * @return 区域名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 设置区域名称
+     *
+     * @param name 区域名称
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 获取区域类型代码（nofly/restricted）
+     *
+     * @return 区域类型代码（nofly/restricted）
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * 设置区域类型代码（nofly/restricted）
+     *
+     * @param type 区域类型代码（nofly/restricted）
+     */
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * 获取底面顶点（每个顶点为[x, y]，米）
+     *
+     * @return 底面顶点（每个顶点为[x, y]，米）
+     */
+    public List<double[]> getVertices() {
+        return vertices;
+    }
+
+    /**
+     * 设置底面顶点（每个顶点为[x, y]，米）
+     *
+     * @param vertices 底面顶点（每个顶点为[x, y]，米）
+     */
+    public void setVertices(List<double[]> vertices) {
+        this.vertices = vertices;
+    }
+
+    /**
+     * 获取高度下限（米）
+     *
+     * @return 高度下限（米）
+     */
+    public Double getMinAltitude() {
+        return minAltitude;
+    }
+
+    /**
+     * 设置高度下限（米）
+     *
+     * @param minAltitude 高度下限（米）
+     */
+    public void setMinAltitude(Double minAltitude) {
+        this.minAltitude = minAltitude;
+    }
+
+    /**
+     * 获取高度上限（米）
+     *
+     * @return 高度上限（米）
+     */
+    public Double getMaxAltitude() {
+        return maxAltitude;
+    }
+
+    /**
+     * 设置高度上限（米）
+     *
+     * @param maxAltitude 高度上限（米）
+     */
+    public void setMaxAltitude(Double maxAltitude) {
+        this.maxAltitude = maxAltitude;
+    }
+
+    @Override
+    public String toString() {
+        return "GeofenceZoneDTO{" +
+                "id='" + id + '\'' +
+                ", name='" + name + '\'' +
+                ", type='" + type + '\'' +
+                ", vertexCount=" + (vertices == null ? 0 : vertices.size()) +
+                ", minAltitude=" + minAltitude +
+                ", maxAltitude=" + maxAltitude +
+                '}';
+    }
+}
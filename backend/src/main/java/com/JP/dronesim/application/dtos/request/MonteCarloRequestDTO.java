@@ -0,0 +1,279 @@
+package com.JP.dronesim.application.dtos.request;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * 蒙特卡洛仿真请求DTO
+ * 以当前空域为场景模板，按随机扰动重复运行若干副本并汇总探测统计；每个副本的步数与仿真时长至少指定一项
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class MonteCarloRequestDTO {
+
+    /**
+     * 副本数
+     */
+    @NotNull(message = "副本数不能为空")
+    @Min(value = 1, message = "副本数必须大于0")
+    private Integer replicas;
+
+    /**
+     * 随机数主种子（不填时使用提交时刻）
+     */
+    private Long seed;
+
+    /**
+     * 每个副本的最大步数（不填或0表示不限）
+     */
+    @Min(value = 0, message = "最大步数不能为负数")
+    private Long maxSteps;
+
+    /**
+     * 每个副本的仿真时长（秒，不填或0表示不限）
+     */
+    @DecimalMin(value = "0", message = "仿真时长不能为负数")
+    private Double horizonSeconds;
+
+    /**
+     * 工作线程数（不填时使用CPU核数）
+     */
+    @Min(value = 1, message = "工作线程数必须大于0")
+    private Integer workers;
+
+    /**
+     * 无人机初始位置标准差（米）
+     */
+    @DecimalMin(value = "0", message = "位置标准差不能为负数")
+    private Double positionSigma;
+
+    /**
+     * 无人机初始速度标准差（米/秒）
+     */
+    @DecimalMin(value = "0", message = "速度标准差不能为负数")
+    private Double velocitySigma;
+
+    /**
+     * 设备探测距离的相对标准差
+     */
+    @DecimalMin(value = "0", message = "探测距离相对标准差不能为负数")
+    @DecimalMax(value = "1", inclusive = false, message = "探测距离相对标准差必须小于1")
+    private Double detectionRangeSigma;
+
+    /**
+     * 候选天气（每个副本随机抽取，不填时沿用空域天气）
+     */
+    private List<String> weatherTypes;
+
+    /**
+     * 航迹连续性门限（秒）
+     */
+    @DecimalMin(value = "0", inclusive = false, message = "航迹连续性门限必须大于0")
+    private Double continuityGapSeconds;
+
+    /**
+     * 默认构造函数
+     */
+    public MonteCarloRequestDTO() {
+    }
+
+    /**
+     * 获取副本数
+     *
+     * @return 副本数
+     */
+    public Integer getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 设置副本数
+     *
+     * @param replicas 副本数
+     */
+    public void setReplicas(Integer replicas) {
+        this.replicas = replicas;
+    }
+
+    /**
+     * 获取随机数主种子（不填时使用提交时刻）
+     *
+     * @return 随机数主种子（不填时使用提交时刻）
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * 设置随机数主种子（不填时使用提交时刻）
+     *
+     * @param seed 随机数主种子（不填时使用提交时刻）
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * 获取每个副本的最大步数（不填或0表示不限）
+     *
+     * @return 每个副本的最大步数（不填或0表示不限）
+     */
+    public Long getMaxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * 设置每个副本的最大步数（不填或0表示不限）
+     *
+     * @param maxSteps 每个副本的最大步数（不填或0表示不限）
+     */
+    public void setMaxSteps(Long maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * 获取每个副本的仿真时长（秒，不填或0表示不限）
+     *
+     * @return 每个副本的仿真时长（秒，不填或0表示不限）
+     */
+    public Double getHorizonSeconds() {
+        return horizonSeconds;
+    }
+
+    /**
+     * 设置每个副本的仿真时长（秒，不填或0表示不限）
+     *
+     * @param horizonSeconds 每个副本的仿真时长（秒，不填或0表示不限）
+     */
+    public void setHorizonSeconds(Double horizonSeconds) {
+        this.horizonSeconds = horizonSeconds;
+    }
+
+    /**
+     * 获取工作线程数（不填时使用CPU核数）
+     *
+     * @return 工作线程数（不填时使用CPU核数）
+     */
+    public Integer getWorkers() {
+        return workers;
+    }
+
+    /**
+     * 设置工作线程数（不填时使用CPU核数）
+     *
+     * @param workers 工作线程数（不填时使用CPU核数）
+     */
+    public void setWorkers(Integer workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * 获取无人机初始位置标准差（米）
+     *
+     * @return 无人机初始位置标准差（米）
+     */
+    public Double getPositionSigma() {
+        return positionSigma;
+    }
+
+    /**
+     * 设置无人机初始位置标准差（米）
+     *
+     * @param positionSigma 无人机初始位置标准差（米）
+     */
+    public void setPositionSigma(Double positionSigma) {
+        this.positionSigma = positionSigma;
+    }
+
+    /**
+     * 获取无人机初始速度标准差（米/秒）
+     *
+     * @return 无人机初始速度标准差（米/秒）
+     */
+    public Double getVelocitySigma() {
+        return velocitySigma;
+    }
+
+    /**
+     * 设置无人机初始速度标准差（米/秒）
+     *
+     * @param velocitySigma 无人机初始速度标准差（米/秒）
+     */
+    public void setVelocitySigma(Double velocitySigma) {
+        this.velocitySigma = velocitySigma;
+    }
+
+    /**
+     * 获取设备探测距离的相对标准差
+     *
+     * @return 设备探测距离的相对标准差
+     */
+    public Double getDetectionRangeSigma() {
+        return detectionRangeSigma;
+    }
+
+    /**
+     * 设置设备探测距离的相对标准差
+     *
+     * @param detectionRangeSigma 设备探测距离的相对标准差
+     */
+    public void setDetectionRangeSigma(Double detectionRangeSigma) {
+        this.detectionRangeSigma = detectionRangeSigma;
+    }
+
+    /**
+     * 获取候选天气（每个副本随机抽取，不填时沿用空域天气）
+     *
+     * @return 候选天气（每个副本随机抽取，不填时沿用空域天气）
+     */
+    public List<String> getWeatherTypes() {
+        return weatherTypes;
+    }
+
+    /**
+     * 设置候选天气（每个副本随机抽取，不填时沿用空域天气）
+     *
+     * @param weatherTypes 候选天气（每个副本随机抽取，不填时沿用空域天气）
+     */
+    public void setWeatherTypes(List<String> weatherTypes) {
+        this.weatherTypes = weatherTypes;
+    }
+
+    /**
+     * 获取航迹连续性门限（秒）
+     *
+     * @return 航迹连续性门限（秒）
+     */
+    public Double getContinuityGapSeconds() {
+        return continuityGapSeconds;
+    }
+
+    /**
+     * 设置航迹连续性门限（秒）
+     *
+     * @param continuityGapSeconds 航迹连续性门限（秒）
+     */
+    public void setContinuityGapSeconds(Double continuityGapSeconds) {
+        this.continuityGapSeconds = continuityGapSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "MonteCarloRequestDTO{" +
+                "replicas=" + replicas +
+                ", seed=" + seed +
+                ", maxSteps=" + maxSteps +
+                ", horizonSeconds=" + horizonSeconds +
+                ", workers=" + workers +
+                ", positionSigma=" + positionSigma +
+                ", velocitySigma=" + velocitySigma +
+                ", detectionRangeSigma=" + detectionRangeSigma +
+                ", weatherTypes=" + weatherTypes +
+                ", continuityGapSeconds=" + continuityGapSeconds +
+                '}';
+    }
+}
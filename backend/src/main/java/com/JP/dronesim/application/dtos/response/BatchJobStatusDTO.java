@@ -0,0 +1,433 @@
+package com.JP.dronesim.application.dtos.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量仿真任务状态DTO
+ * 用于批量仿真任务的进度轮询响应
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class BatchJobStatusDTO {
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+
+    /**
+     * 空域ID
+     */
+    private String airspaceId;
+
+    /**
+     * 任务状态（QUEUED/RUNNING/COMPLETED/CANCELLED/FAILED）
+     */
+    private String status;
+
+    /**
+     * 已完成步数
+     */
+    private Long completedSteps;
+
+    /**
+     * 最大步数
+     */
+    private Long maxSteps;
+
+    /**
+     * 仿真时长上限（秒）
+     */
+    private Double horizonSeconds;
+
+    /**
+     * 已推进的仿真时长（秒）
+     */
+    private Double simulatedSeconds;
+
+    /**
+     * 实际耗时（秒）
+     */
+    private Double wallSeconds;
+
+    /**
+     * 加速比（每实际秒推进的仿真秒数）
+     */
+    private Double simSecondsPerWallSecond;
+
+    /**
+     * 进度（0~1）
+     */
+    private Double progress;
+
+    /**
+     * 结果文件路径
+     */
+    private String outputPath;
+
+    /**
+     * 是否使用事件驱动内核
+     */
+    private Boolean eventDriven;
+
+    /**
+     * 已写出记录数
+     */
+    private Long recordCount;
+
+    /**
+     * 提交时间
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 默认构造函数
+     */
+    public BatchJobStatusDTO() {
+    }
+
+    /**
+     * 获取任务ID
+     *
+     * @return 任务ID
+     */
+    public String getJobId() {
+        return jobId;
+    }
+
+    /**
+     * 设置任务ID
+     *
+     * @param jobId 任务ID
+     */
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    /**
+     * 获取空域ID
+     *
+     * @return 空域ID
+     */
+    public String getAirspaceId() {
+        return airspaceId;
+    }
+
+    /**
+     * 设置空域ID
+     *
+     * @param airspaceId 空域ID
+     */
+    public void setAirspaceId(String airspaceId) {
+        this.airspaceId = airspaceId;
+    }
+
+    /**
+     * 获取任务状态（QUEUED/RUNNING/COMPLETED/CANCELLED/FAILED）
+     *
+     * @return 任务状态（QUEUED/RUNNING/COMPLETED/CANCELLED/FAILED）
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * 设置任务状态（QUEUED/RUNNING/COMPLETED/CANCELLED/FAILED）
+     *
+     * @param status 任务状态（QUEUED/RUNNING/COMPLETED/CANCELLED/FAILED）
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * 获取已完成步数
+     *
+     * @return 已完成步数
+     */
+    public Long getCompletedSteps() {
+        return completedSteps;
+    }
+
+    /**
+     * 设置已完成步数
+     *
+     * @param completedSteps 已完成步数
+     */
+    public void setCompletedSteps(Long completedSteps) {
+        this.completedSteps = completedSteps;
+    }
+
+    /**
+     * 获取最大步数
+     *
+     * @return 最大步数
+     */
+    public Long getMaxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * 设置最大步数
+     *
+     * @param maxSteps 最大步数
+     */
+    public void setMaxSteps(Long maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * 获取仿真时长上限（秒）
+     *
+     * @return 仿真时长上限（秒）
+     */
+    public Double getHorizonSeconds() {
+        return horizonSeconds;
+    }
+
+    /**
+     * 设置仿真时长上限（秒）
+     *
+     * @param horizonSeconds 仿真时长上限（秒）
+     */
+    public void setHorizonSeconds(Double horizonSeconds) {
+        this.horizonSeconds = horizonSeconds;
+    }
+
+    /**
+     * 获取已推进的仿真时长（秒）
+     *
+     * @return 已推进的仿真时长（秒）
+     */
+    public Double getSimulatedSeconds() {
+        return simulatedSeconds;
+    }
+
+    /**
+     * 设置已推进的仿真时长（秒）
+     *
+     * @param simulatedSeconds 已推进的仿真时长（秒）
+     */
+    public void setSimulatedSeconds(Double simulatedSeconds) {
+        this.simulatedSeconds = simulatedSeconds;
+    }
+
+    /**
+     * 获取实际耗时（秒）
+     *
+     * @return 实际耗时（秒）
+     */
+    public Double getWallSeconds() {
+        return wallSeconds;
+    }
+
+    /**
+     * 设置实际耗时（秒）
+     *
+     * @param wallSeconds 实际耗时（秒）
+     */
+    public void setWallSeconds(Double wallSeconds) {
+        this.wallSeconds = wallSeconds;
+    }
+
+    /**
+     * 获取加速比（每实际秒推进的仿真秒数）
+     *
+     * @return 加速比（每实际秒推进的仿真秒数）
+     */
+    public Double getSimSecondsPerWallSecond() {
+        return simSecondsPerWallSecond;
+    }
+
+    /**
+     * 设置加速比（每实际秒推进的仿真秒数）
+     *
+     * @param simSecondsPerWallSecond 加速比（每实际秒推进的仿真秒数）
+     */
+    public void setSimSecondsPerWallSecond(Double simSecondsPerWallSecond) {
+        this.simSecondsPerWallSecond = simSecondsPerWallSecond;
+    }
+
+    /**
+     * 获取进度（0~1）
+     *
+     * @return 进度（0~1）
+     */
+    public Double getProgress() {
+        return progress;
+    }
+
+    /**
+     * 设置进度（0~1）
+     *
+     * @param progress 进度（0~1）
+     */
+    public void setProgress(Double progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * 获取结果文件路径
+     *
+     * @return 结果文件路径
+     */
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    /**
+     * 设置结果文件路径
+     *
+     * @param outputPath 结果文件路径
+     */
+    public void setOutputPath(String outputPath) {
+        this.outputPath = outputPath;
+    }
+
+    /**
+     * 获取是否使用事件驱动内核
+     *
+     * @return 是否使用事件驱动内核
+     */
+    public Boolean getEventDriven() {
+        return eventDriven;
+    }
+
+    /**
+     * 设置是否使用事件驱动内核
+     *
+     * @param eventDriven 是否使用事件驱动内核
+     */
+    public void setEventDriven(Boolean eventDriven) {
+        this.eventDriven = eventDriven;
+    }
+
+    /**
+     * 获取已写出记录数
+     *
+     * @return 已写出记录数
+     */
+    public Long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * 设置已写出记录数
+     *
+     * @param recordCount 已写出记录数
+     */
+    public void setRecordCount(Long recordCount) {
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * 获取提交时间
+     *
+     * @return 提交时间
+     */
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * 设置提交时间
+     *
+     * @param submittedAt 提交时间
+     */
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    /**
+     * 获取开始时间
+     *
+     * @return 开始时间
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * 设置开始时间
+     *
+     * @param startTime 开始时间
+     */
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * 获取结束时间
+     *
+     * @return 结束时间
+     */
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * 设置结束时间
+     *
+     * @param endTime 结束时间
+     */
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    /**
+     * 获取失败原因
+     *
+     * @return 失败原因
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * 设置失败原因
+     *
+     * @param errorMessage 失败原因
+     */
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchJobStatusDTO{" +
+                "jobId='" + jobId + '\'' +
+                ", airspaceId='" + airspaceId + '\'' +
+                ", status='" + status + '\'' +
+                ", completedSteps=" + completedSteps +
+                ", maxSteps=" + maxSteps +
+                ", horizonSeconds=" + horizonSeconds +
+                ", simulatedSeconds=" + simulatedSeconds +
+                ", wallSeconds=" + wallSeconds +
+                ", simSecondsPerWallSecond=" + simSecondsPerWallSecond +
+                ", progress=" + progress +
+                ", outputPath='" + outputPath + '\'' +
+                ", eventDriven=" + eventDriven +
+                ", recordCount=" + recordCount +
+                ", submittedAt=" + submittedAt +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", errorMessage='" + errorMessage + '\'' +
+                '}';
+    }
+}
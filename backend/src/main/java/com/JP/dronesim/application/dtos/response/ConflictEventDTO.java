@@ -0,0 +1,315 @@
+package com.JP.dronesim.application.dtos.response;
+
+import com.JP.dronesim.domain.common.valueobjects.Position;
+
+import java.time.LocalDateTime;
+
+/**
+ * 冲突事件DTO
+ * 用于无人机冲突事件查询响应
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class ConflictEventDTO {
+
+    /**
+     * 冲突事件ID
+     */
+    private String eventId;
+
+    /**
+     * 冲突类型
+     */
+    private String conflictType;
+
+    /**
+     * 冲突一方无人机ID
+     */
+    private String uavIdA;
+
+    /**
+     * 冲突另一方无人机ID
+     */
+    private String uavIdB;
+
+    /**
+     * 冲突发生的仿真时间
+     */
+    private LocalDateTime timestamp;
+
+    /**
+     * 冲突一方位置
+     */
+    private Position positionA;
+
+    /**
+     * 冲突另一方位置
+     */
+    private Position positionB;
+
+    /**
+     * 当前距离（米）
+     */
+    private Double currentDistance;
+
+    /**
+     * 最近接近距离（米）
+     */
+    private Double minimumDistance;
+
+    /**
+     * 距最近接近点的时间（秒）
+     */
+    private Double timeToClosestApproach;
+
+    /**
+     * 最小间隔（米）
+     */
+    private Double separation;
+
+    /**
+     * 备注信息
+     */
+    private String remarks;
+
+    /**
+     * 默认构造函数
+     */
+    public ConflictEventDTO() {
+    }
+
+    /**
+     * 获取冲突事件ID
+     *
+     * @return 冲突事件ID
+     */
+    public String getEventId() {
+        return eventId;
+    }
+
+    /**
+     * 设置冲突事件ID
+     *
+     * @param eventId 冲突事件ID
+     */
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    /**
+     * 获取冲突类型
+     *
+     * @return 冲突类型
+     */
+    public String getConflictType() {
+        return conflictType;
+    }
+
+    /**
+     * 设置冲突类型
+     *
+     * @param conflictType 冲突类型
+     */
+    public void setConflictType(String conflictType) {
+        this.conflictType = conflictType;
+    }
+
+    /**
+     * 获取冲突一方无人机ID
+     *
+     * @return 冲突一方无人机ID
+     */
+    public String getUavIdA() {
+        return uavIdA;
+    }
+
+    /**
+     * 设置冲突一方无人机ID
+     *
+     * @param uavIdA 冲突一方无人机ID
+     */
+    public void setUavIdA(String uavIdA) {
+        this.uavIdA = uavIdA;
+    }
+
+    /**
+     * 获取冲突另一方无人机ID
+     *
+     * @return 冲突另一方无人机ID
+     */
+    public String getUavIdB() {
+        return uavIdB;
+    }
+
+    /**
+     * 设置冲突另一方无人机ID
+     *
+     * @param uavIdB 冲突另一方无人机ID
+     */
+    public void setUavIdB(String uavIdB) {
+        this.uavIdB = uavIdB;
+    }
+
+    /**
+     * 获取冲突发生的仿真时间
+     *
+     * @return 冲突发生的仿真时间
+     */
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * 设置冲突发生的仿真时间
+     *
+     * @param timestamp 冲突发生的仿真时间
+     */
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * 获取冲突一方位置
+     *
+     * @return 冲突一方位置
+     */
+    public Position getPositionA() {
+        return positionA;
+    }
+
+    /**
+     * 设置冲突一方位置
+     *
+     * @param positionA 冲突一方位置
+     */
+    public void setPositionA(Position positionA) {
+        this.positionA = positionA;
+    }
+
+    /**
+     * 获取冲突另一方位置
+     *
+     * @return 冲突另一方位置
+     */
+    public Position getPositionB() {
+        return positionB;
+    }
+
+    /**
+     * 设置冲突另一方位置
+     *
+     * @param positionB 冲突另一方位置
+     */
+    public void setPositionB(Position positionB) {
+        this.positionB = positionB;
+    }
+
+    /**
+     * 获取当前距离（米）
+     *
+     * @return 当前距离（米）
+     */
+    public Double getCurrentDistance() {
+        return currentDistance;
+    }
+
+    /**
+     * 设置当前距离（米）
+     *
+     * @param currentDistance 当前距离（米）
+     */
+    public void setCurrentDistance(Double currentDistance) {
+        this.currentDistance = currentDistance;
+    }
+
+    /**
+     * 获取最近接近距离（米）
+     *
+     * @return 最近接近距离（米）
+     */
+    public Double getMinimumDistance() {
+        return minimumDistance;
+    }
+
+    /**
+     * 设置最近接近距离（米）
+     *
+     * @param minimumDistance 最近接近距离（米）
+     */
+    public void setMinimumDistance(Double minimumDistance) {
+        this.minimumDistance = minimumDistance;
+    }
+
+    /**
+     * 获取距最近接近点的时间（秒）
+     *
+     * @return 距最近接近点的时间（秒）
+     */
+    public Double getTimeToClosestApproach() {
+        return timeToClosestApproach;
+    }
+
+    /**
+     * 设置距最近接近点的时间（秒）
+     *
+     * @param timeToClosestApproach 距最近接近点的时间（秒）
+     */
+    public void setTimeToClosestApproach(Double timeToClosestApproach) {
+        this.timeToClosestApproach = timeToClosestApproach;
+    }
+
+    /**
+     * 获取最小间隔（米）
+     *
+     * @return 最小间隔（米）
+     */
+    public Double getSeparation() {
+        return separation;
+    }
+
+    /**
+     * 设置最小间隔（米）
+     *
+     * @param separation 最小间隔（米）
+     */
+    public void setSeparation(Double separation) {
+        this.separation = separation;
+    }
+
+    /**
+     * 获取备注信息
+     *
+     * @return 备注信息
+     */
+    public String getRemarks() {
+        return remarks;
+    }
+
+    /**
+     * 设置备注信息
+     *
+     * @param remarks 备注信息
+     */
+    public void setRemarks(String remarks) {
+        this.remarks = remarks;
+    }
+
+    @Override
+    public String toString() {
+        return "ConflictEventDTO{" +
+                "eventId='" + eventId + '\'' +
+                ", conflictType='" + conflictType + '\'' +
+                ", uavIdA='" + uavIdA + '\'' +
+                ", uavIdB='" + uavIdB + '\'' +
+                ", timestamp=" + timestamp +
+                ", positionA=" + positionA +
+                ", positionB=" + positionB +
+                ", currentDistance=" + currentDistance +
+                ", minimumDistance=" + minimumDistance +
+                ", timeToClosestApproach=" + timeToClosestApproach +
+                ", separation=" + separation +
+                ", remarks='" + remarks + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,335 @@
+package com.JP.dronesim.application.dtos.response;
+
+/**
+ * 设备探测统计DTO
+ * 蒙特卡洛仿真中单个设备的汇总探测统计，统计单位为（设备, 无人机）目标对，无样本的统计量为null
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class DeviceDetectionStatsDTO {
+
+    /**
+     * 设备ID
+     */
+    private String deviceId;
+
+    /**
+     * 设备名称
+     */
+    private String deviceName;
+
+    /**
+     * 设备类型
+     */
+    private String deviceType;
+
+    /**
+     * 已汇总的副本数
+     */
+    private Long replicas;
+
+    /**
+     * 至少发现一个目标的副本数
+     */
+    private Long detectedReplicas;
+
+    /**
+     * 探测机会数（进入视场的目标对数）
+     */
+    private Long opportunities;
+
+    /**
+     * 发现概率Pd
+     */
+    private Double detectionProbability;
+
+    /**
+     * 发现概率的标准误差
+     */
+    private Double detectionProbabilityStdError;
+
+    /**
+     * 平均首次发现时间（秒）
+     */
+    private Double meanTimeToFirstDetection;
+
+    /**
+     * 首次发现时间标准差（秒）
+     */
+    private Double stdTimeToFirstDetection;
+
+    /**
+     * 最长首次发现时间（秒）
+     */
+    private Double maxTimeToFirstDetection;
+
+    /**
+     * 平均航迹连续性
+     */
+    private Double meanTrackContinuity;
+
+    /**
+     * 最低航迹连续性
+     */
+    private Double minTrackContinuity;
+
+    /**
+     * 默认构造函数
+     */
+    public DeviceDetectionStatsDTO() {
+    }
+
+    /**
+     * 获取设备ID
+     *
+     * @return 设备ID
+     */
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    /**
+     * 设置设备ID
+     *
+     * @param deviceId 设备ID
+     */
+    public void setDeviceId(String deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    /**
+     * 获取设备名称
+     *
+     * @return 设备名称
+     */
+    public String getDeviceName() {
+        return deviceName;
+    }
+
+    /**
+     * 设置设备名称
+     *
+     * @param deviceName 设备名称
+     */
+    public void setDeviceName(String deviceName) {
+        this.deviceName = deviceName;
+    }
+
+    /**
+     * 获取设备类型
+     *
+     * @return 设备类型
+     */
+    public String getDeviceType() {
+        return deviceType;
+    }
+
+    /**
+     * 设置设备类型
+     *
+     * @param deviceType 设备类型
+     */
+    public void setDeviceType(String deviceType) {
+        this.deviceType = deviceType;
+    }
+
+    /**
+     * 获取已汇总的副本数
+     *
+     * @return 已汇总的副本数
+     */
+    public Long getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 设置已汇总的副本数
+     *
+     * @param replicas 已汇总的副本数
+     */
+    public void setReplicas(Long replicas) {
+        this.replicas = replicas;
+    }
+
+    /**
+     * 获取至少发现一个目标的副本数
+     *
+     * @return 至少发现一个目标的副本数
+     */
+    public Long getDetectedReplicas() {
+        return detectedReplicas;
+    }
+
+    /**
+     * 设置至少发现一个目标的副本数
+     *
+     * @param detectedReplicas 至少发现一个目标的副本数
+     */
+    public void setDetectedReplicas(Long detectedReplicas) {
+        this.detectedReplicas = detectedReplicas;
+    }
+
+    /**
+     * 获取探测机会数（进入视场的目标对数）
+     *
+     * @return 探测机会数（进入视场的目标对数）
+     */
+    public Long getOpportunities() {
+        return opportunities;
+    }
+
+    /**
+     * 设置探测机会数（进入视场的目标对数）
+     *
+     * @param opportunities 探测机会数（进入视场的目标对数）
+     */
+    public void setOpportunities(Long opportunities) {
+        this.opportunities = opportunities;
+    }
+
+    /**
+     * 获取发现概率Pd
+     *
+     * @return 发现概率Pd
+     */
+    public Double getDetectionProbability() {
+        return detectionProbability;
+    }
+
+    /**
+     * 设置发现概率Pd
+     *
+     * @param detectionProbability 发现概率Pd
+     */
+    public void setDetectionProbability(Double detectionProbability) {
+        this.detectionProbability = detectionProbability;
+    }
+
+    /**
+     * 获取发现概率的标准误差
+     *
+     * @return 发现概率的标准误差
+     */
+    public Double getDetectionProbabilityStdError() {
+        return detectionProbabilityStdError;
+    }
+
+    /**
+     * 设置发现概率的标准误差
+     *
+     * @param detectionProbabilityStdError 发现概率的标准误差
+     */
+    public void setDetectionProbabilityStdError(Double detectionProbabilityStdError) {
+        this.detectionProbabilityStdError = detectionProbabilityStdError;
+    }
+
+    /**
+     * 获取平均首次发现时间（秒）
+     *
+     * @return 平均首次发现时间（秒）
+     */
+    public Double getMeanTimeToFirstDetection() {
+        return meanTimeToFirstDetection;
+    }
+
+    /**
+     * 设置平均首次发现时间（秒）
+     *
+     * @param meanTimeToFirstDetection 平均首次发现时间（秒）
+     */
+    public void setMeanTimeToFirstDetection(Double meanTimeToFirstDetection) {
+        this.meanTimeToFirstDetection = meanTimeToFirstDetection;
+    }
+
+    /**
+     * 获取首次发现时间标准差（秒）
+     *
+     * @return 首次发现时间标准差（秒）
+     */
+    public Double getStdTimeToFirstDetection() {
+        return stdTimeToFirstDetection;
+    }
+
+    /**
+     * 设置首次发现时间标准差（秒）
+     *
+     * @param stdTimeToFirstDetection 首次发现时间标准差（秒）
+     */
+    public void setStdTimeToFirstDetection(Double stdTimeToFirstDetection) {
+        this.stdTimeToFirstDetection = stdTimeToFirstDetection;
+    }
+
+    /**
+     * 获取最长首次发现时间（秒）
+     *
+     * @return 最长首次发现时间（秒）
+     */
+    public Double getMaxTimeToFirstDetection() {
+        return maxTimeToFirstDetection;
+    }
+
+    /**
+     * 设置最长首次发现时间（秒）
+     *
+     * @param maxTimeToFirstDetection 最长首次发现时间（秒）
+     */
+    public void setMaxTimeToFirstDetection(Double maxTimeToFirstDetection) {
+        this.maxTimeToFirstDetection = maxTimeToFirstDetection;
+    }
+
+    /**
+     * 获取平均航迹连续性
+     *
+     * @return 平均航迹连续性
+     */
+    public Double getMeanTrackContinuity() {
+        return meanTrackContinuity;
+    }
+
+    /**
+     * 设置平均航迹连续性
+     *
+     * @param meanTrackContinuity 平均航迹连续性
+     */
+    public void setMeanTrackContinuity(Double meanTrackContinuity) {
+        this.meanTrackContinuity = meanTrackContinuity;
+    }
+
+    /**
+     * 获取最低航迹连续性
+     *
+     * @return 最低航迹连续性
+     */
+    public Double getMinTrackContinuity() {
+        return minTrackContinuity;
+    }
+
+    /**
+     * 设置最低航迹连续性
+     *
+     * @param minTrackContinuity 最低航迹连续性
+     */
+    public void setMinTrackContinuity(Double minTrackContinuity) {
+        this.minTrackContinuity = minTrackContinuity;
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceDetectionStatsDTO{" +
+                "deviceId='" + deviceId + '\'' +
+                ", deviceName='" + deviceName + '\'' +
+                ", deviceType='" + deviceType + '\'' +
+                ", replicas=" + replicas +
+                ", detectedReplicas=" + detectedReplicas +
+                ", opportunities=" + opportunities +
+                ", detectionProbability=" + detectionProbability +
+                ", detectionProbabilityStdError=" + detectionProbabilityStdError +
+                ", meanTimeToFirstDetection=" + meanTimeToFirstDetection +
+                ", stdTimeToFirstDetection=" + stdTimeToFirstDetection +
+                ", maxTimeToFirstDetection=" + maxTimeToFirstDetection +
+                ", meanTrackContinuity=" + meanTrackContinuity +
+                ", minTrackContinuity=" + minTrackContinuity +
+                '}';
+    }
+}
@@ -0,0 +1,267 @@
+package com.JP.dronesim.application.dtos.response;
+
+import com.JP.dronesim.domain.common.valueobjects.Position;
+
+import java.time.LocalDateTime;
+
+/**
+ * 地理围栏事件DTO
+ * 用于无人机进入/离开围栏区域事件查询响应
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class GeofenceEventDTO {
+
+    /**
+     * 围栏事件ID
+     */
+    private String eventId;
+
+    /**
+     * 事件类型（entry/exit）
+     */
+    private String eventType;
+
+    /**
+     * 无人机ID
+     */
+    private String uavId;
+
+    /**
+     * 区域ID
+     */
+    private String zoneId;
+
+    /**
+     * 区域名称
+     */
+    private String zoneName;
+
+    /**
+     * 区域类型
+     */
+    private String zoneType;
+
+    /**
+     * 事件发生的仿真时间
+     */
+    private LocalDateTime timestamp;
+
+    /**
+     * 无人机位置
+     */
+    private Position position;
+
+    /**
+     * 是否为进入禁飞区的违规事件
+     */
+    private Boolean violation;
+
+    /**
+     * 备注信息
+     */
+    private String remarks;
+
+    /**
+     * 默认构造函数
+     */
+    public GeofenceEventDTO() {
+    }
+
+    /**
+     * 获取围栏事件ID
+     *
+     * @return 围栏事件ID
+     */
+    public String getEventId() {
+        return eventId;
+    }
+
+    /**
+     * 设置围栏事件ID
+     *
+     * @param eventId 围栏事件ID
+     */
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    /**
+     * 获取事件类型（entry/exit）
+     *
+     * @return 事件类型（entry/exit）
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * 设置事件类型（entry/exit）
+     *
+     * @param eventType 事件类型（entry/exit）
+     */
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    /**
+     * 获取无人机ID
+     *
+     * @return 无人机ID
+     */
+    public String getUavId() {
+        return uavId;
+    }
+
+    /**
+     * 设置无人机ID
+     *
+     * @param uavId 无人机ID
+     */
+    public void setUavId(String uavId) {
+        this.uavId = uavId;
+    }
+
+    /**
+     * 获取区域ID
+     *
+     * @return 区域ID
+     */
+    public String getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * 设置区域ID
+     *
+     * @param zoneId 区域ID
+     */
+    public void setZoneId(String zoneId) {
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * 获取区域名称
+     *
+     * @return 区域名称
+     */
+    public String getZoneName() {
+        return zoneName;
+    }
+
+    /**
+     * 设置区域名称
+     *
+     * @param zoneName 区域名称
+     */
+    public void setZoneName(String zoneName) {
+        this.zoneName = zoneName;
+    }
+
+    /**
+     * 获取区域类型
+     *
+     * @return 区域类型
+     */
+    public String getZoneType() {
+        return zoneType;
+    }
+
+    /**
+     * 设置区域类型
+     *
+     * @param zoneType 区域类型
+     */
+    public void setZoneType(String zoneType) {
+        this.zoneType = zoneType;
+    }
+
+    /**
+     * 获取事件发生的仿真时间
+     *
+     * @return 事件发生的仿真时间
+     */
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * 设置事件发生的仿真时间
+     *
+     * @param timestamp 事件发生的仿真时间
+     */
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * 获取无人机位置
+     *
+     * @return 无人机位置
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * 设置无人机位置
+     *
+     * @param position 无人机位置
+     */
+    public void setPosition(Position position) {
+        this.position = position;
+    }
+
+    /**
+     * 获取是否为进入禁飞区的违规事件
+     *
+     * @return 是否为进入禁飞区的违规事件
+     */
+    public Boolean getViolation() {
+        return violation;
+    }
+
+    /**
+     * 设置是否为进入禁飞区的违规事件
+     *
+     * @param violation 是否为进入禁飞区的违规事件
+     */
+    public void setViolation(Boolean violation) {
+        this.violation = violation;
+    }
+
+    /**
+     * 获取备注信息
+     *
+     * @return 备注信息
+     */
+    public String getRemarks() {
+        return remarks;
+    }
+
+    /**
+     * 设置备注信息
+     *
+     * @param remarks 备注信息
+     */
+    public void setRemarks(String remarks) {
+        this.remarks = remarks;
+    }
+
+    @Override
+    public String toString() {
+        return "GeofenceEventDTO{" +
+                "eventId='" + eventId + '\'' +
+                ", eventType='" + eventType + '\'' +
+                ", uavId='" + uavId + '\'' +
+                ", zoneId='" + zoneId + '\'' +
+                ", zoneName='" + zoneName + '\'' +
+                ", zoneType='" + zoneType + '\'' +
+                ", timestamp=" + timestamp +
+                ", position=" + position +
+                ", violation=" + violation +
+                ", remarks='" + remarks + '\'' +
+                '}';
+    }
+}
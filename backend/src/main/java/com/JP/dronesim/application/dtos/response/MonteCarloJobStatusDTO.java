@@ -0,0 +1,386 @@
+package com.JP.dronesim.application.dtos.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 蒙特卡洛仿真任务状态DTO
+ * 用于蒙特卡洛任务的进度与部分结果轮询响应
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class MonteCarloJobStatusDTO {
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+
+    /**
+     * 空域ID
+     */
+    private String airspaceId;
+
+    /**
+     * 任务状态（QUEUED/RUNNING/COMPLETED/CANCELLED/FAILED）
+     */
+    private String status;
+
+    /**
+     * 副本数
+     */
+    private Integer replicas;
+
+    /**
+     * 已完成副本数
+     */
+    private Integer completedReplicas;
+
+    /**
+     * 失败副本数
+     */
+    private Integer failedReplicas;
+
+    /**
+     * 进度（0~1）
+     */
+    private Double progress;
+
+    /**
+     * 随机数主种子
+     */
+    private Long seed;
+
+    /**
+     * 工作线程数
+     */
+    private Integer workers;
+
+    /**
+     * 实际耗时（秒）
+     */
+    private Double wallSeconds;
+
+    /**
+     * 各设备探测统计（运行中为部分结果）
+     */
+    private List<DeviceDetectionStatsDTO> devices;
+
+    /**
+     * 提交时间
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 默认构造函数
+     */
+    public MonteCarloJobStatusDTO() {
+    }
+
+    /**
+     * 获取任务ID
+     *
+     * @return 任务ID
+     */
+    public String getJobId() {
+        return jobId;
+    }
+
+    /**
+     * 设置任务ID
+     *
+     * @param jobId 任务ID
+     */
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    /**
+     * 获取空域ID
+     *
+     * @return 空域ID
+     */
+    public String getAirspaceId() {
+        return airspaceId;
+    }
+
+    /**
+     * 设置空域ID
+     *
+     * @param airspaceId 空域ID
+     */
+    public void setAirspaceId(String airspaceId) {
+        this.airspaceId = airspaceId;
+    }
+
+    /**
+     * 获取任务状态（QUEUED/RUNNING/COMPLETED/CANCELLED/FAILED）
+     *
+     * @return 任务状态（QUEUED/RUNNING/COMPLETED/CANCELLED/FAILED）
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * 设置任务状态（QUEUED/RUNNING/COMPLETED/CANCELLED/FAILED）
+     *
+     * @param status 任务状态（QUEUED/RUNNING/COMPLETED/CANCELLED/FAILED）
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * 获取副本数
+     *
+     * @return 副本数
+     */
+    public Integer getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 设置副本数
+     *
+     * @param replicas 副本数
+     */
+    public void setReplicas(Integer replicas) {
+        this.replicas = replicas;
+    }
+
+    /**
+     * 获取已完成副本数
+     *
+     * @return 已完成副本数
+     */
+    public Integer getCompletedReplicas() {
+        return completedReplicas;
+    }
+
+    /**
+     * 设置已完成副本数
+     *
+     * @param completedReplicas 已完成副本数
+     */
+    public void setCompletedReplicas(Integer completedReplicas) {
+        this.completedReplicas = completedReplicas;
+    }
+
+    /**
+     * 获取失败副本数
+     *
+     * @return 失败副本数
+     */
+    public Integer getFailedReplicas() {
+        return failedReplicas;
+    }
+
+    /**
+     * 设置失败副本数
+     *
+     * @param failedReplicas 失败副本数
+     */
+    public void setFailedReplicas(Integer failedReplicas) {
+        this.failedReplicas = failedReplicas;
+    }
+
+    /**
+     * 获取进度（0~1）
+     *
+     * @return 进度（0~1）
+     */
+    public Double getProgress() {
+        return progress;
+    }
+
+    /**
+     * 设置进度（0~1）
+     *
+     * @param progress 进度（0~1）
+     */
+    public void setProgress(Double progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * 获取随机数主种子
+     *
+     * @return 随机数主种子
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * 设置随机数主种子
+     *
+     * @param seed 随机数主种子
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * 获取工作线程数
+     *
+     * @return 工作线程数
+     */
+    public Integer getWorkers() {
+        return workers;
+    }
+
+    /**
+     * 设置工作线程数
+     *
+     * @param workers 工作线程数
+     */
+    public void setWorkers(Integer workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * 获取实际耗时（秒）
+     *
+     * @return 实际耗时（秒）
+     */
+    public Double getWallSeconds() {
+        return wallSeconds;
+    }
+
+    /**
+     * 设置实际耗时（秒）
+     *
+     * @param wallSeconds 实际耗时（秒）
+     */
+    public void setWallSeconds(Double wallSeconds) {
+        this.wallSeconds = wallSeconds;
+    }
+
+    /**
+     * 获取各设备探测统计（运行中为部分结果）
+     *
+     * @return 各设备探测统计（运行中为部分结果）
+     */
+    public List<DeviceDetectionStatsDTO> getDevices() {
+        return devices;
+    }
+
+    /**
+     * 设置各设备探测统计（运行中为部分结果）
+     *
+     * @param devices 各设备探测统计（运行中为部分结果）
+     */
+    public void setDevices(List<DeviceDetectionStatsDTO> devices) {
+        this.devices = devices;
+    }
+
+    /**
+     * 获取提交时间
+     *
+     * @return 提交时间
+     */
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * 设置提交时间
+     *
+     * @param submittedAt 提交时间
+     */
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    /**
+     * 获取开始时间
+     *
+     * @return 开始时间
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * 设置开始时间
+     *
+     * @param startTime 开始时间
+     */
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * 获取结束时间
+     *
+     * @return 结束时间
+     */
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * 设置结束时间
+     *
+     * @param endTime 结束时间
+     */
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    /**
+     * 获取失败原因
+     *
+     * @return 失败原因
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * 设置失败原因
+     *
+     * @param errorMessage 失败原因
+     */
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "MonteCarloJobStatusDTO{" +
+                "jobId='" + jobId + '\'' +
+                ", airspaceId='" + airspaceId + '\'' +
+                ", status='" + status + '\'' +
+                ", replicas=" + replicas +
+                ", completedReplicas=" + completedReplicas +
+                ", failedReplicas=" + failedReplicas +
+                ", progress=" + progress +
+                ", seed=" + seed +
+                ", workers=" + workers +
+                ", wallSeconds=" + wallSeconds +
+                ", devices=" + devices +
+                ", submittedAt=" + submittedAt +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", errorMessage='" + errorMessage + '\'' +
+                '}';
+    }
+}
@@ -114,6 +114,16 @@ public class RadarContactDTO {
      */
     private String additionalInfo;
     
+    /**
+     * 关联到的雷达航迹ID
+     */
+    private String trackId;
+    
+    /**
+     * 航迹状态（TENTATIVE/CONFIRMED）
+     */
+    private String trackState;
+    
     /**
      * 默认构造函数
      */
@@ -532,6 +542,42 @@ public class RadarContactDTO {
         this.additionalInfo = additionalInfo;
     }
     
+    /**
+     * 获取航迹ID
+     * 
+     * @return 关联到的雷达航迹ID
+     */
+    public String getTrackId() {
+        return trackId;
+    }
+    
+    /**
+     * 设置航迹ID
+     * 
+     * @param trackId 关联到的雷达航迹ID
+     */
+    public void setTrackId(String trackId) {
+        this.trackId = trackId;
+    }
+    
+    /**
+     * 获取航迹状态
+     * 
+     * @return 航迹状态（TENTATIVE/CONFIRMED）
+     */
+    public String getTrackState() {
+        return trackState;
+    }
+    
+    /**
+     * 设置航迹状态
+     * 
+     * @param trackState 航迹状态（TENTATIVE/CONFIRMED）
+     */
+    public void setTrackState(String trackState) {
+        this.trackState = trackState;
+    }
+    
     /**
      * 检查是否为高质量探测
      * 
@@ -596,9 +642,9 @@ public class RadarContactDTO {
         return String.format("RadarContactDTO[id=%s, radar=%s, target=%s, time=%s, " +
                            "range=%.1fm, azimuth=%.1f°, elevation=%.1f°, radVel=%.1fm/s, " +
                            "worldPos=%s, SNR=%.1fdB, RCS=%.3fm², confidence=%.2f, " +
-                           "class=%s, newDetect=%s]",
+                           "class=%s, newDetect=%s, track=%s]",
                            contactId, radarId, targetId, detectionTime, range, azimuth, elevation,
                            radialVelocity, worldPosition, signalToNoiseRatio, radarCrossSection,
-                           confidence, classification, isNewDetection);
+                           confidence, classification, isNewDetection, trackId);
     }
 } 
\ No newline at end of file
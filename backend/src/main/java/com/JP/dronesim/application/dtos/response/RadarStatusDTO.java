@@ -3,6 +3,7 @@ package com.JP.dronesim.application.dtos.response;
 import com.JP.dronesim.domain.common.valueobjects.Position;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 雷达状态响应DTO
@@ -134,9 +135,19 @@ public class RadarStatusDTO {
     private double velocityResolution;
     
     /**
-     * 历史接触记录数量
+     * 当前航迹数量
      */
-    private int historicalContactsCount;
+    private int trackCount;
+    
+    /**
+     * 确认航迹数量
+     */
+    private int confirmedTrackCount;
+    
+    /**
+     * 当前航迹，以最近一次关联的接触表示，位置与速度为航迹滤波估计值
+     */
+    private List<RadarContactDTO> tracks;
     
     /**
      * 最后更新时间
@@ -613,21 +624,57 @@ public class RadarStatusDTO {
     }
     
     /**
-     * 获取历史接触记录数量
+     * 获取当前航迹数量
+     * 
+     * @return 当前航迹数量
+     */
+    public int getTrackCount() {
+        return trackCount;
+    }
+    
+    /**
+     * 设置当前航迹数量
+     * 
+     * @param trackCount 当前航迹数量
+     */
+    public void setTrackCount(int trackCount) {
+        this.trackCount = trackCount;
+    }
+    
+    /**
+     * 获取确认航迹数量
+     * 
+     * @return 确认航迹数量
+     */
+    public int getConfirmedTrackCount() {
+        return confirmedTrackCount;
+    }
+    
+    /**
+     * 设置确认航迹数量
+     * 
+     * @param confirmedTrackCount 确认航迹数量
+     */
+    public void setConfirmedTrackCount(int confirmedTrackCount) {
+        this.confirmedTrackCount = confirmedTrackCount;
+    }
+    
+    /**
+     * 获取当前航迹
      * 
-     * @return 历史接触记录数量
+     * @return 航迹列表
      */
-    public int getHistoricalContactsCount() {
-        return historicalContactsCount;
+    public List<RadarContactDTO> getTracks() {
+        return tracks;
     }
     
     /**
-     * 设置历史接触记录数量
+     * 设置当前航迹
      * 
-     * @param historicalContactsCount 历史接触记录数量
+     * @param tracks 航迹列表
      */
-    public void setHistoricalContactsCount(int historicalContactsCount) {
-        this.historicalContactsCount = historicalContactsCount;
+    public void setTracks(List<RadarContactDTO> tracks) {
+        this.tracks = tracks;
     }
     
     /**
@@ -690,9 +737,9 @@ public class RadarStatusDTO {
     public String toString() {
         return String.format("RadarStatusDTO[id=%s, name=%s, pos=%s, orient=%.1f°, " +
                            "elev=%.1f°, range=%.0fm, status=%s, active=%s, " +
-                           "scanAngle=%.1f°, scanCount=%d, freq=%.0fMHz]",
+                           "scanAngle=%.1f°, scanCount=%d, freq=%.0fMHz, tracks=%d/%d]",
                            deviceId, deviceName, position, orientation, elevation,
                            detectionRange, status, active, currentScanAngle, scanCounter,
-                           frequency / 1e6);
+                           frequency / 1e6, confirmedTrackCount, trackCount);
     }
 } 
\ No newline at end of file
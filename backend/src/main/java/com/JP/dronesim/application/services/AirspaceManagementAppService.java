@@ -2,17 +2,27 @@ package com.JP.dronesim.application.services;
 
 import com.JP.dronesim.application.dtos.request.AirspaceConfigDTO;
 import com.JP.dronesim.application.dtos.request.EnvironmentUpdateParamsDTO;
+import com.JP.dronesim.application.dtos.request.GeofenceZoneDTO;
 import com.JP.dronesim.application.dtos.response.AirspaceDetailsDTO;
 import com.JP.dronesim.domain.airspace.model.Airspace;
 import com.JP.dronesim.domain.airspace.model.EnvironmentParameters;
+import com.JP.dronesim.domain.airspace.model.geofence.GeofenceZone;
+import com.JP.dronesim.domain.airspace.model.spatial.UniformGrid;
+import com.JP.dronesim.domain.airspace.model.terrain.VoxelOccupancyGrid;
 import com.JP.dronesim.domain.airspace.repository.IAirspaceRepository;
+import com.JP.dronesim.domain.common.enums.SpatialIndexType;
+import com.JP.dronesim.domain.common.enums.ZoneType;
+import com.JP.dronesim.infrastructure.terrain.EsriAsciiGridLoader;
 import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.infrastructure.scheduling.AirspaceActorRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +38,12 @@ public class AirspaceManagementAppService {
     @Autowired
     private IAirspaceRepository airspaceRepository;
 
+    @Autowired
+    private EsriAsciiGridLoader terrainLoader;
+
+    @Autowired
+    private AirspaceActorRegistry airspaceActors;
+
     /**
      * 获取唯一空域（如无则自动初始化）
      */
@@ -40,6 +56,62 @@ public class AirspaceManagementAppService {
         return convertToAirspaceDetailsDTO(airspace);
     }
 
+    /**
+     * 按配置创建新空域，并设为默认空域（此前的空域继续按ID承载）
+     * 网格索引未指定边长时，按空域范围与典型探测距离选择；指定随机种子时，同一种子与输入下的仿真结果可复现
+     *
+     * @param config 空域配置
+     * @return 空域详情
+     */
+    public AirspaceDetailsDTO createAirspace(AirspaceConfigDTO config) {
+        validateAirspaceConfig(config);
+
+        SpatialIndexType indexType = config.getSpatialIndexType() != null ?
+                config.getSpatialIndexType() : SpatialIndexType.OCTREE;
+        double gridCellSize = 0;
+        if (indexType == SpatialIndexType.GRID) {
+            gridCellSize = config.getGridCellSize() != null ? config.getGridCellSize() :
+                    UniformGrid.chooseCellSize(config.getMinX(), config.getMinY(), config.getMinZ(),
+                            config.getMaxX(), config.getMaxY(), config.getMaxZ(),
+                            config.getTypicalSensorRange() != null ? config.getTypicalSensorRange() : 0);
+        }
+        Airspace airspace = new Airspace(config.getName(), config.getMinX(), config.getMinY(), config.getMinZ(),
+                config.getMaxX(), config.getMaxY(), config.getMaxZ(), indexType, gridCellSize);
+        if (config.getSeed() != null) {
+            airspace.reseed(config.getSeed(), 0L);
+        }
+        airspaceRepository.save(airspace);
+        return convertToAirspaceDetailsDTO(airspace);
+    }
+
+    /**
+     * 获取进程内承载的全部空域
+     *
+     * @return 空域详情列表（按创建顺序）
+     */
+    public List<AirspaceDetailsDTO> listAirspaces() {
+        return airspaceRepository.findAll().stream()
+                .map(this::convertToAirspaceDetailsDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 删除空域并释放其执行者
+     *
+     * @param airspaceId 空域ID
+     */
+    public void deleteAirspace(String airspaceId) {
+        validateAirspaceExists(airspaceId);
+        Airspace airspace = airspaceRepository.findById(airspaceId);
+        airspaceActors.call(airspaceId, engine -> {
+            if (!airspace.isStopped()) {
+                throw new RuntimeException("仿真未停止，不能删除空域: " + airspaceId);
+            }
+            return airspaceRepository.deleteById(airspaceId);
+        });
+        airspaceActors.remove(airspaceId);
+    }
+
     /**
      * 加载空域
      *
@@ -51,7 +123,7 @@ public class AirspaceManagementAppService {
         validateAirspaceExists(airspaceId);
 
         // 获取空域
-        Airspace airspace = airspaceRepository.find().orElseThrow(() -> new RuntimeException("空域不存在"));
+        Airspace airspace = airspaceRepository.findById(airspaceId);
 
         // 转换为DTO
         return convertToAirspaceDetailsDTO(airspace);
@@ -107,6 +179,78 @@ public class AirspaceManagementAppService {
         };
     }
 
+    /**
+     * 从本地高程文件加载地形
+     *
+     * @param filePath ESRI ASCII高程文件路径
+     * @param voxelSize 体素边长（米）
+     */
+    public void loadTerrain(String filePath, double voxelSize) {
+        Airspace airspace = airspaceRepository.find().orElseThrow(() -> new RuntimeException("空域不存在"));
+        if (filePath == null || filePath.trim().isEmpty()) {
+            throw new RuntimeException("高程文件路径不能为空");
+        }
+        VoxelOccupancyGrid grid;
+        try {
+            grid = terrainLoader.load(Paths.get(filePath), airspace, voxelSize);
+        } catch (IOException e) {
+            throw new RuntimeException("高程文件加载失败: " + e.getMessage(), e);
+        }
+        // 栅格为只读数据，回放时直接复用
+        airspaceActors.submitInput(airspace, "TERRAIN", "加载地形 " + filePath,
+                (a, engine) -> a.setObstacleGrid(grid));
+        airspaceRepository.save(airspace);
+    }
+
+    /**
+     * 移除地形
+     */
+    public void clearTerrain() {
+        Airspace airspace = airspaceRepository.find().orElseThrow(() -> new RuntimeException("空域不存在"));
+        airspaceActors.submitInput(airspace, "TERRAIN", "移除地形", (a, engine) -> a.setObstacleGrid(null));
+        airspaceRepository.save(airspace);
+    }
+
+    /**
+     * 添加禁飞区/限飞区
+     *
+     * @param dto 围栏区域参数
+     * @return 创建后的区域
+     */
+    public GeofenceZoneDTO addGeofence(GeofenceZoneDTO dto) {
+        Airspace airspace = airspaceRepository.find().orElseThrow(() -> new RuntimeException("空域不存在"));
+        GeofenceZone zone = new GeofenceZone(airspace.nextEntityId(), dto.getName(), ZoneType.fromCode(dto.getType()),
+                dto.getVertices().toArray(new double[0][]), dto.getMinAltitude(), dto.getMaxAltitude());
+        airspaceActors.submitInput(airspace, "ADD_GEOFENCE", "添加围栏 " + zone.getId(),
+                (a, engine) -> a.addGeofence(zone));
+        airspaceRepository.save(airspace);
+        return toGeofenceZoneDTO(zone);
+    }
+
+    /**
+     * 移除禁飞区/限飞区
+     *
+     * @param zoneId 区域ID
+     */
+    public void removeGeofence(String zoneId) {
+        Airspace airspace = airspaceRepository.find().orElseThrow(() -> new RuntimeException("空域不存在"));
+        airspaceActors.submitInput(airspace, "REMOVE_GEOFENCE", "移除围栏 " + zoneId,
+                (a, engine) -> a.removeGeofence(zoneId));
+        airspaceRepository.save(airspace);
+    }
+
+    /**
+     * 获取全部禁飞区/限飞区
+     *
+     * @return 区域列表
+     */
+    public List<GeofenceZoneDTO> getGeofences() {
+        Airspace airspace = airspaceRepository.find().orElseThrow(() -> new RuntimeException("空域不存在"));
+        return airspace.getGeofenceRegistry().getZones().stream()
+                .map(this::toGeofenceZoneDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * 重置唯一空域
      */
@@ -137,6 +281,11 @@ public class AirspaceManagementAppService {
         if (config.getTimeStep() <= 0) {
             throw new RuntimeException("时间步长必须大于0");
         }
+        if (config.getGridCellSize() != null && config.getGridCellSize() < UniformGrid.minCellSize(
+                config.getMinX(), config.getMinY(), config.getMinZ(),
+                config.getMaxX(), config.getMaxY(), config.getMaxZ())) {
+            throw new RuntimeException("网格边长过小，格子数超过上限");
+        }
     }
 
     /**
@@ -145,7 +294,9 @@ public class AirspaceManagementAppService {
      * @param airspaceId 空域ID
      */
     private void validateAirspaceExists(String airspaceId) {
-        // 唯一空域模式下无需validateAirspaceExists方法
+        if (!airspaceRepository.existsById(airspaceId)) {
+            throw new RuntimeException("空域不存在: " + airspaceId);
+        }
     }
 
     /**
@@ -195,4 +346,21 @@ public class AirspaceManagementAppService {
         dto.setUpdatedAt(airspace.getLastUpdatedAt());
         return dto;
     }
+
+    /**
+     * 围栏区域转换为DTO
+     *
+     * @param zone 围栏区域
+     * @return 区域DTO
+     */
+    private GeofenceZoneDTO toGeofenceZoneDTO(GeofenceZone zone) {
+        GeofenceZoneDTO dto = new GeofenceZoneDTO();
+        dto.setId(zone.getId());
+        dto.setName(zone.getName());
+        dto.setType(zone.getType().getCode());
+        dto.setVertices(Arrays.asList(zone.getVertices()));
+        dto.setMinAltitude(zone.getMinAltitude());
+        dto.setMaxAltitude(zone.getMaxAltitude());
+        return dto;
+    }
 }
@@ -3,20 +3,25 @@ package com.JP.dronesim.application.services;
 import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
 import com.JP.dronesim.application.dtos.request.AdjustDeviceParamDTO;
 import com.JP.dronesim.application.dtos.response.DeviceDetailsDTO;
+import com.JP.dronesim.application.dtos.response.RadarContactDTO;
+import com.JP.dronesim.application.dtos.response.RadarStatusDTO;
 import com.JP.dronesim.domain.airspace.model.Airspace;
 import com.JP.dronesim.domain.airspace.repository.IAirspaceRepository;
 import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
 import com.JP.dronesim.domain.device.model.opticalcamera.OpticalCamera;
 import com.JP.dronesim.domain.device.model.opticalcamera.OpticalCameraFactory;
 import com.JP.dronesim.domain.device.model.radar.ElectromagneticRadar;
+import com.JP.dronesim.domain.device.model.radar.RadarContact;
 import com.JP.dronesim.domain.device.model.radar.RadarFactory;
+import com.JP.dronesim.domain.device.model.radar.RadarParameters;
+import com.JP.dronesim.domain.device.model.radar.RadarTrack;
 import com.JP.dronesim.domain.common.enums.DeviceType;
 import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.infrastructure.scheduling.AirspaceActorRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
@@ -39,6 +44,9 @@ public class DeviceManagementAppService {
     @Autowired
     private RadarFactory radarFactory;
 
+    @Autowired
+    private AirspaceActorRegistry airspaceActors;
+
     /**
      * 部署探测设备
      *
@@ -56,11 +64,11 @@ public class DeviceManagementAppService {
         // 校验设备位置是否在空域边界内
         validateDevicePosition(airspace, deviceParams.getPosition());
 
-        // 创建设备
-        ProbeDevice device = createDevice(deviceParams);
-
-        // 添加到空域
-        airspace.addProbeDevice(device);
+        // 创建设备并添加到空域（经仿真引擎施加，记入输入日志）
+        String deviceId = airspace.nextEntityId();
+        airspaceActors.submitInput(airspace, "DEPLOY_DEVICE", "部署设备 " + deviceId,
+                (a, engine) -> a.addProbeDevice(createDevice(deviceId, deviceParams)));
+        ProbeDevice device = airspace.getProbeDevices().get(deviceId);
         airspaceRepository.save(airspace);
 
         // 转换为DTO
@@ -81,16 +89,20 @@ public class DeviceManagementAppService {
         Airspace airspace = airspaceRepository.find()
             .orElseThrow(() -> new RuntimeException("空域不存在"));
 
-        // 批量创建设备
-        List<ProbeDevice> devices = deviceParamsList.stream()
-                .map(params -> {
-                    validateDevicePosition(airspace, params.getPosition());
-                    return createDevice(params);
-                })
+        // 批量创建设备并添加到空域
+        deviceParamsList.forEach(params -> validateDevicePosition(airspace, params.getPosition()));
+        List<String> deviceIds = deviceParamsList.stream()
+                .map(params -> airspace.nextEntityId())
+                .collect(Collectors.toList());
+        airspaceActors.submitInput(airspace, "DEPLOY_DEVICE", "批量部署设备 " + deviceIds.size() + " 台",
+                (a, engine) -> {
+                    for (int i = 0; i < deviceIds.size(); i++) {
+                        a.addProbeDevice(createDevice(deviceIds.get(i), deviceParamsList.get(i)));
+                    }
+                });
+        List<ProbeDevice> devices = deviceIds.stream()
+                .map(airspace.getProbeDevices()::get)
                 .collect(Collectors.toList());
-
-        // 批量添加到空域
-        devices.forEach(airspace::addProbeDevice);
         airspaceRepository.save(airspace);
 
         // 转换为DTO
@@ -180,7 +192,8 @@ public class DeviceManagementAppService {
         }
 
         // 更新设备参数
-        device.updateParameters(params.getParameters());
+        airspaceActors.submitInput(airspace, "DEVICE_PARAMS", "更新设备参数 " + deviceId,
+                (a, engine) -> a.getProbeDevices().get(deviceId).updateParameters(params.getParameters()));
 
         // 保存空域
         airspaceRepository.save(airspace);
@@ -197,7 +210,8 @@ public class DeviceManagementAppService {
         if (device == null) {
             throw new RuntimeException("设备不存在 " + deviceId);
         }
-        device.enable();
+        airspaceActors.submitInput(airspace, "ENABLE_DEVICE", "启用设备 " + deviceId,
+                (a, engine) -> a.getProbeDevices().get(deviceId).enable());
         airspaceRepository.save(airspace);
     }
 
@@ -212,7 +226,8 @@ public class DeviceManagementAppService {
         if (device == null) {
             throw new RuntimeException("设备不存在 " + deviceId);
         }
-        device.disable();
+        airspaceActors.submitInput(airspace, "DISABLE_DEVICE", "禁用设备 " + deviceId,
+                (a, engine) -> a.getProbeDevices().get(deviceId).disable());
         airspaceRepository.save(airspace);
     }
 
@@ -227,7 +242,8 @@ public class DeviceManagementAppService {
         if (device == null) {
             throw new RuntimeException("设备不存在 " + deviceId);
         }
-        airspace.removeProbeDevice(deviceId);
+        airspaceActors.submitInput(airspace, "REMOVE_DEVICE", "移除设备 " + deviceId,
+                (a, engine) -> a.removeProbeDevice(deviceId));
         airspaceRepository.save(airspace);
     }
 
@@ -256,12 +272,15 @@ public class DeviceManagementAppService {
     public void batchAdjustParameters(List<String> deviceIds, AdjustDeviceParamDTO params) {
         Airspace airspace = airspaceRepository.find()
             .orElseThrow(() -> new RuntimeException("空域不存在"));
-        for (String deviceId : deviceIds) {
-            ProbeDevice device = airspace.getProbeDevices().get(deviceId);
-            if (device != null) {
-                device.updateParameters(params.getParameters());
-            }
-        }
+        airspaceActors.submitInput(airspace, "DEVICE_PARAMS", "批量更新设备参数 " + deviceIds.size() + " 台",
+                (a, engine) -> {
+                    for (String deviceId : deviceIds) {
+                        ProbeDevice device = a.getProbeDevices().get(deviceId);
+                        if (device != null) {
+                            device.updateParameters(params.getParameters());
+                        }
+                    }
+                });
         airspaceRepository.save(airspace);
     }
 
@@ -285,14 +304,39 @@ public class DeviceManagementAppService {
         return airspace.getProbeDevices().values().stream().filter(ProbeDevice::isActive).map(ProbeDevice::getId).collect(Collectors.toList());
     }
 
+    /**
+     * 获取雷达状态与当前航迹
+     * 在空域的执行者上读取，与仿真步进互斥
+     *
+     * @param airspaceId 空域ID
+     * @param deviceId 雷达设备ID
+     * @return 雷达状态
+     */
+    public RadarStatusDTO getRadarStatus(String airspaceId, String deviceId) {
+        Airspace airspace = airspaceRepository.findById(airspaceId);
+        if (airspace == null) {
+            throw new RuntimeException("空域不存在: " + airspaceId);
+        }
+        return airspaceActors.call(airspaceId, engine -> {
+            AbstractProbeDevice device = airspace.getProbeDevices().get(deviceId);
+            if (device == null) {
+                throw new RuntimeException("设备不存在 " + deviceId);
+            }
+            if (!(device instanceof ElectromagneticRadar)) {
+                throw new RuntimeException("设备不是雷达: " + deviceId);
+            }
+            return convertToRadarStatusDTO((ElectromagneticRadar) device);
+        });
+    }
+
     /**
      * 创建设备
      *
+     * @param deviceId 设备ID
      * @param deviceParams 设备参数
      * @return 设备实例
      */
-    private ProbeDevice createDevice(DeviceInitParamsDTO deviceParams) {
-        String deviceId = UUID.randomUUID().toString();
+    private ProbeDevice createDevice(String deviceId, DeviceInitParamsDTO deviceParams) {
         Position position = new Position(
                 deviceParams.getPosition().getX(),
                 deviceParams.getPosition().getY(),
@@ -373,6 +417,62 @@ public class DeviceManagementAppService {
         }
     }
 
+    /**
+     * 转换为雷达状态DTO
+     *
+     * @param radar 雷达
+     * @return 雷达状态DTO
+     */
+    private RadarStatusDTO convertToRadarStatusDTO(ElectromagneticRadar radar) {
+        RadarStatusDTO dto = new RadarStatusDTO(radar.getId(), radar.getName(), radar.getPosition(),
+                radar.getOrientation(), radar.getElevation(), radar.getDetectionRange(), radar.getFieldOfView(),
+                radar.getStatus().name(), radar.isInitialized(), radar.isActive());
+        dto.setCurrentScanAngle(radar.getCurrentScanAngle());
+        dto.setScanDirection(radar.getScanDirection());
+        dto.setLastScanTime(radar.getLastScanTime());
+        dto.setScanCounter(radar.getScanCounter());
+
+        RadarParameters params = (RadarParameters) radar.getDetectionParameters();
+        if (params != null) {
+            dto.setParametersDescription(params.toString());
+            dto.setFrequency(params.getFrequency());
+            dto.setPower(params.getPower());
+            dto.setGain(params.getGain());
+            dto.setScanPattern(params.getScanPattern().name());
+            dto.setPulseRepetitionFrequency(params.getPulseRepetitionFrequency());
+            dto.setBeamWidth(params.getBeamWidth());
+            dto.setMaxUnambiguousRange(params.getMaxUnambiguousRange());
+            dto.setRangeResolution(params.getRangeResolution());
+            dto.setVelocityResolution(params.getVelocityResolution());
+        }
+
+        List<RadarTrack> tracks = radar.getTracks();
+        dto.setTrackCount(tracks.size());
+        dto.setConfirmedTrackCount((int) tracks.stream().filter(RadarTrack::isConfirmed).count());
+        dto.setTracks(tracks.stream().map(this::convertToRadarContactDTO).collect(Collectors.toList()));
+        return dto;
+    }
+
+    /**
+     * 将航迹转换为雷达接触DTO（接触信息取最近一次关联的量测，位置与速度取滤波估计值）
+     *
+     * @param track 航迹
+     * @return 雷达接触DTO
+     */
+    private RadarContactDTO convertToRadarContactDTO(RadarTrack track) {
+        RadarContact contact = track.getLastContact();
+        RadarContactDTO dto = new RadarContactDTO(contact.getContactId(), contact.getDetectionTime(),
+                contact.getRadarId(), contact.getTargetId(), contact.getRange(), contact.getAzimuth(),
+                contact.getElevation(), contact.getRadialVelocity(), track.getPosition(), track.getVelocity(),
+                contact.getSignalToNoiseRatio(), contact.getRadarCrossSection(), contact.getConfidence(),
+                contact.getClassification().name(), contact.getDopplerShift(), contact.getRangeAccuracy(),
+                contact.getAngleAccuracy(), contact.getVelocityAccuracy(), contact.isNewDetection(),
+                contact.getAdditionalInfo());
+        dto.setTrackId(track.getTrackId());
+        dto.setTrackState(track.getState().name());
+        return dto;
+    }
+
     /**
      * 转换为设备详情DTO
      *
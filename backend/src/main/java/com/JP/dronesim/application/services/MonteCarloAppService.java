@@ -0,0 +1,373 @@
+package com.JP.dronesim.application.services;
+
+import com.JP.dronesim.application.dtos.request.MonteCarloRequestDTO;
+import com.JP.dronesim.application.dtos.response.DeviceDetectionStatsDTO;
+import com.JP.dronesim.application.dtos.response.MonteCarloJobStatusDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.EnvironmentParameters;
+import com.JP.dronesim.domain.airspace.model.ScenarioPerturbation;
+import com.JP.dronesim.domain.airspace.model.ScenarioTemplate;
+import com.JP.dronesim.domain.airspace.repository.IAirspaceRepository;
+import com.JP.dronesim.domain.services.MonteCarloRunner;
+import com.JP.dronesim.domain.services.MonteCarloStatistics;
+import com.JP.dronesim.domain.services.RunningStatistics;
+import com.JP.dronesim.infrastructure.scheduling.AirspaceActorRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 蒙特卡洛仿真应用服务
+ * 提交时把空域采集为场景模板，任务在后台按副本并行运行，每个工作线程同时只跑一个副本；
+ * 任务之间排队串行，各自独占一组工作线程。运行中可查询进度与部分统计结果
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+@Service
+public class MonteCarloAppService {
+
+    @Autowired
+    private IAirspaceRepository airspaceRepository;
+
+    @Autowired
+    private AirspaceActorRegistry airspaceActors;
+
+    /**
+     * 蒙特卡洛任务（键为任务ID）
+     */
+    private final ConcurrentHashMap<String, MonteCarloJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 任务协调线程，任务依次执行
+     */
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sim-monte-carlo");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 提交蒙特卡洛仿真任务
+     * 以空域的当前状态为模板，空域本身不参与运行，提交后可继续修改或运行
+     *
+     * @param airspaceId 空域ID
+     * @param request 蒙特卡洛仿真请求
+     * @return 任务状态
+     */
+    public MonteCarloJobStatusDTO submitJob(String airspaceId, MonteCarloRequestDTO request) {
+        if (request == null || request.getReplicas() == null) {
+            throw new RuntimeException("蒙特卡洛仿真请求不能为空");
+        }
+        Airspace airspace = airspaceRepository.findById(airspaceId);
+        if (airspace == null) {
+            throw new RuntimeException("空域不存在: " + airspaceId);
+        }
+
+        long maxSteps = request.getMaxSteps() != null ? request.getMaxSteps() : 0L;
+        double horizonSeconds = request.getHorizonSeconds() != null ? request.getHorizonSeconds() : 0.0;
+        if (maxSteps <= 0 && horizonSeconds <= 0) {
+            throw new RuntimeException("蒙特卡洛仿真必须指定每个副本的步数或仿真时长");
+        }
+        ScenarioPerturbation perturbation = new ScenarioPerturbation(
+                request.getPositionSigma() != null ? request.getPositionSigma() : 0.0,
+                request.getVelocitySigma() != null ? request.getVelocitySigma() : 0.0,
+                request.getDetectionRangeSigma() != null ? request.getDetectionRangeSigma() : 0.0,
+                parseWeatherTypes(request.getWeatherTypes()));
+        double continuityGap = request.getContinuityGapSeconds() != null
+                ? request.getContinuityGapSeconds() : MonteCarloRunner.DEFAULT_CONTINUITY_GAP;
+        long seed = request.getSeed() != null ? request.getSeed() : System.nanoTime();
+        int workers = request.getWorkers() != null
+                ? request.getWorkers() : Runtime.getRuntime().availableProcessors();
+
+        // 在空域的执行者上采集，不与该空域的命令交错
+        ScenarioTemplate template;
+        try {
+            template = airspaceActors.call(airspaceId, engine -> ScenarioTemplate.capture(airspace));
+        } catch (IllegalStateException e) {
+            throw new RuntimeException("采集场景模板失败: " + e.getMessage());
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        MonteCarloRunner runner = new MonteCarloRunner(template, perturbation, request.getReplicas(), seed,
+                maxSteps, horizonSeconds, continuityGap);
+        MonteCarloJob job = new MonteCarloJob(jobId, airspaceId, runner, Math.min(workers, request.getReplicas()));
+        jobs.put(jobId, job);
+        coordinator.execute(() -> runJob(job));
+
+        return job.toDTO();
+    }
+
+    /**
+     * 获取蒙特卡洛任务状态与部分结果
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    public MonteCarloJobStatusDTO getJob(String jobId) {
+        return findJob(jobId).toDTO();
+    }
+
+    /**
+     * 取消蒙特卡洛任务
+     * 排队中的任务不再执行；运行中的任务在各副本当前步完成后结束，已完成副本的统计保留
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    public MonteCarloJobStatusDTO cancelJob(String jobId) {
+        MonteCarloJob job = findJob(jobId);
+        job.runner.cancel();
+        return job.toDTO();
+    }
+
+    /**
+     * 应用关闭时取消全部任务并停止协调线程
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (MonteCarloJob job : jobs.values()) {
+            job.runner.cancel();
+        }
+        coordinator.shutdown();
+    }
+
+    /**
+     * 执行蒙特卡洛任务，工作线程池随任务创建与关闭
+     *
+     * @param job 任务
+     */
+    private void runJob(MonteCarloJob job) {
+        if (job.runner.isCancelRequested()) {
+            job.finish("CANCELLED", null);
+            return;
+        }
+
+        job.status = "RUNNING";
+        job.startTime = LocalDateTime.now();
+        job.wallStart = System.nanoTime();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(job.workers, runnable -> {
+            Thread thread = new Thread(runnable, "sim-monte-carlo-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            job.runner.run(workers, job.workers);
+            if (job.runner.isCancelRequested()) {
+                job.finish("CANCELLED", null);
+            } else if (job.runner.getCompletedReplicas() == 0) {
+                job.finish("FAILED", job.runner.getLastError());
+            } else {
+                job.finish("COMPLETED", job.runner.getLastError());
+            }
+        } catch (RuntimeException e) {
+            job.finish("FAILED", "蒙特卡洛仿真失败: " + e.getMessage());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * 解析候选天气
+     *
+     * @param names 天气名称
+     * @return 天气类型列表
+     */
+    private List<EnvironmentParameters.WeatherType> parseWeatherTypes(List<String> names) {
+        List<EnvironmentParameters.WeatherType> types = new ArrayList<>();
+        if (names == null) {
+            return types;
+        }
+        for (String name : names) {
+            try {
+                types.add(EnvironmentParameters.WeatherType.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new RuntimeException("不支持的天气类型: " + name);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * 查找蒙特卡洛任务
+     *
+     * @param jobId 任务ID
+     * @return 任务
+     */
+    private MonteCarloJob findJob(String jobId) {
+        MonteCarloJob job = jobId != null ? jobs.get(jobId) : null;
+        if (job == null) {
+            throw new RuntimeException("蒙特卡洛任务不存在: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * 将NaN转换为null（无样本的统计量）
+     *
+     * @param value 数值
+     * @return 数值或null
+     */
+    private static Double orNull(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * 转换设备统计DTO
+     *
+     * @param statistics 设备统计
+     * @return 设备统计DTO
+     */
+    private static DeviceDetectionStatsDTO toDeviceDTO(MonteCarloStatistics.DeviceStatistics statistics) {
+        RunningStatistics ttfd = statistics.getTimeToFirstDetection();
+        RunningStatistics continuity = statistics.getTrackContinuity();
+        DeviceDetectionStatsDTO dto = new DeviceDetectionStatsDTO();
+        dto.setDeviceId(statistics.getDeviceId());
+        dto.setDeviceName(statistics.getDeviceName());
+        dto.setDeviceType(statistics.getDeviceType() != null ? statistics.getDeviceType().name() : null);
+        dto.setReplicas(statistics.getReplicas());
+        dto.setDetectedReplicas(statistics.getDetectedReplicas());
+        dto.setOpportunities(statistics.getOpportunities());
+        dto.setDetectionProbability(orNull(statistics.getDetectionProbability()));
+        dto.setDetectionProbabilityStdError(statistics.getOpportunities() > 0
+                ? statistics.getDetectionProbabilityStandardError() : null);
+        dto.setMeanTimeToFirstDetection(orNull(ttfd.getMean()));
+        dto.setStdTimeToFirstDetection(ttfd.getCount() > 0 ? ttfd.getStandardDeviation() : null);
+        dto.setMaxTimeToFirstDetection(orNull(ttfd.getMax()));
+        dto.setMeanTrackContinuity(orNull(continuity.getMean()));
+        dto.setMinTrackContinuity(orNull(continuity.getMin()));
+        return dto;
+    }
+
+    /**
+     * 蒙特卡洛任务
+     * 由协调线程写入状态，轮询线程读取，字段均为volatile；进度与统计直接读取运行器
+     */
+    private static final class MonteCarloJob {
+
+        /**
+         * 任务ID
+         */
+        private final String jobId;
+
+        /**
+         * 空域ID
+         */
+        private final String airspaceId;
+
+        /**
+         * 运行器
+         */
+        private final MonteCarloRunner runner;
+
+        /**
+         * 工作线程数
+         */
+        private final int workers;
+
+        /**
+         * 提交时间
+         */
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        /**
+         * 任务状态
+         */
+        private volatile String status = "QUEUED";
+
+        /**
+         * 开始运行的纳秒时刻
+         */
+        private volatile long wallStart;
+
+        /**
+         * 实际耗时（纳秒），结束后固定
+         */
+        private volatile long wallNanos;
+
+        /**
+         * 开始时间
+         */
+        private volatile LocalDateTime startTime;
+
+        /**
+         * 结束时间
+         */
+        private volatile LocalDateTime endTime;
+
+        /**
+         * 失败原因
+         */
+        private volatile String errorMessage;
+
+        /**
+         * 构造函数
+         *
+         * @param jobId 任务ID
+         * @param airspaceId 空域ID
+         * @param runner 运行器
+         * @param workers 工作线程数
+         */
+        private MonteCarloJob(String jobId, String airspaceId, MonteCarloRunner runner, int workers) {
+            this.jobId = jobId;
+            this.airspaceId = airspaceId;
+            this.runner = runner;
+            this.workers = workers;
+        }
+
+        /**
+         * 结束任务
+         *
+         * @param finalStatus 最终状态
+         * @param error 失败原因，可为null
+         */
+        private void finish(String finalStatus, String error) {
+            this.wallNanos = startTime != null ? System.nanoTime() - wallStart : 0L;
+            this.errorMessage = error;
+            this.endTime = LocalDateTime.now();
+            this.status = finalStatus;
+        }
+
+        /**
+         * 转换为状态DTO
+         *
+         * @return 任务状态
+         */
+        private MonteCarloJobStatusDTO toDTO() {
+            long elapsed = "RUNNING".equals(status) ? System.nanoTime() - wallStart : wallNanos;
+            List<DeviceDetectionStatsDTO> devices = new ArrayList<>();
+            for (MonteCarloStatistics.DeviceStatistics statistics : runner.getStatistics()) {
+                devices.add(toDeviceDTO(statistics));
+            }
+
+            MonteCarloJobStatusDTO dto = new MonteCarloJobStatusDTO();
+            dto.setJobId(jobId);
+            dto.setAirspaceId(airspaceId);
+            dto.setStatus(status);
+            dto.setReplicas(runner.getReplicas());
+            dto.setCompletedReplicas(runner.getCompletedReplicas());
+            dto.setFailedReplicas(runner.getFailedReplicas());
+            dto.setProgress(runner.getProgress());
+            dto.setSeed(runner.getSeed());
+            dto.setWorkers(workers);
+            dto.setWallSeconds(elapsed / 1e9);
+            dto.setDevices(devices);
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartTime(startTime);
+            dto.setEndTime(endTime);
+            dto.setErrorMessage(errorMessage);
+            return dto;
+        }
+    }
+}
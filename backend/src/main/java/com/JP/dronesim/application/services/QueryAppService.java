@@ -1,9 +1,19 @@
 package com.JP.dronesim.application.services;
 
+import com.JP.dronesim.application.dtos.response.ConflictEventDTO;
 import com.JP.dronesim.application.dtos.response.EntityStateDTO;
+import com.JP.dronesim.application.dtos.response.GeofenceEventDTO;
 import com.JP.dronesim.application.dtos.response.DetectionLogEntryDTO;
 import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.ConflictLog;
+import com.JP.dronesim.domain.airspace.model.GeofenceLog;
+import com.JP.dronesim.domain.airspace.model.events.ConflictEvent;
+import com.JP.dronesim.domain.airspace.model.events.GeofenceEvent;
 import com.JP.dronesim.domain.airspace.repository.IAirspaceRepository;
+import com.JP.dronesim.domain.common.enums.ConflictType;
+import com.JP.dronesim.domain.common.enums.EntityCategory;
+import com.JP.dronesim.domain.common.enums.GeofenceEventType;
+import com.JP.dronesim.domain.common.valueobjects.Position;
 import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
 import com.JP.dronesim.domain.device.model.common.DetectionLog;
 import com.JP.dronesim.domain.device.model.events.DetectionEvent;
@@ -31,7 +41,7 @@ public class QueryAppService {
         Airspace airspace = getAirspaceOrThrow();
         List<EntityStateDTO> result = new ArrayList<>();
         // 设备
-        for (ProbeDevice device : airspace.getProbeDevices().values()) {
+        for (AbstractProbeDevice device : airspace.getProbeDevices().values()) {
             result.add(toEntityStateDTO(device));
         }
         // 无人机
@@ -46,7 +56,7 @@ public class QueryAppService {
      */
     public Map<String, Object> getDeviceDetails(String deviceId) {
         Airspace airspace = getAirspaceOrThrow();
-        ProbeDevice device = airspace.getProbeDevices().get(deviceId);
+        AbstractProbeDevice device = airspace.getProbeDevices().get(deviceId);
         if (device == null) throw new RuntimeException("设备不存在: " + deviceId);
         Map<String, Object> details = new HashMap<>();
         details.put("id", device.getId());
@@ -66,7 +76,7 @@ public class QueryAppService {
         Airspace airspace = getAirspaceOrThrow();
         List<DetectionEvent> events = new ArrayList<>();
         if (deviceId != null) {
-            ProbeDevice device = airspace.getProbeDevices().get(deviceId);
+            AbstractProbeDevice device = airspace.getProbeDevices().get(deviceId);
             if (device == null) throw new RuntimeException("设备不存在: " + deviceId);
             DetectionLog log = device.getDetectionLog();
             if (start != null && end != null) {
@@ -75,7 +85,7 @@ public class QueryAppService {
                 events.addAll(log.getAllEvents());
             }
         } else {
-            for (ProbeDevice device : airspace.getProbeDevices().values()) {
+            for (AbstractProbeDevice device : airspace.getProbeDevices().values()) {
                 DetectionLog log = device.getDetectionLog();
                 if (start != null && end != null) {
                     events.addAll(log.getEventsBetween(start, end));
@@ -87,12 +97,78 @@ public class QueryAppService {
         return events.stream().map(this::toDetectionLogEntryDTO).collect(Collectors.toList());
     }
 
+    /**
+     * 查询距离指定位置最近的k个实体（可按实体类别过滤）
+     */
+    public List<EntityStateDTO> findKNearestEntities(Position position, int k, double maxDistance,
+                                                     EntityCategory category) {
+        Airspace airspace = getAirspaceOrThrow();
+        List<EntityStateDTO> result = new ArrayList<>();
+        for (String entityId : airspace.findKNearestEntities(position, k, maxDistance, category)) {
+            UAV uav = airspace.getUAVs().get(entityId);
+            if (uav != null) {
+                result.add(toEntityStateDTO(uav));
+            } else {
+                result.add(toEntityStateDTO(airspace.getProbeDevices().get(entityId)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取无人机冲突事件（可按无人机、冲突类型、时间过滤）
+     */
+    public List<ConflictEventDTO> getConflictEvents(String uavId, ConflictType type,
+                                                    LocalDateTime start, LocalDateTime end, int limit) {
+        ConflictLog log = getAirspaceOrThrow().getConflictLog();
+        List<ConflictEvent> events;
+        if (uavId != null) {
+            events = log.getEventsByUavId(uavId);
+        } else if (start != null && end != null) {
+            events = log.getEventsBetween(start, end);
+        } else {
+            events = log.getAllEvents();
+        }
+        List<ConflictEventDTO> result = events.stream()
+                .filter(event -> type == null || event.getConflictType() == type)
+                .filter(event -> start == null || end == null
+                        || (!event.getTimestamp().isBefore(start) && !event.getTimestamp().isAfter(end)))
+                .map(this::toConflictEventDTO)
+                .collect(Collectors.toList());
+        // 只保留最新的limit条
+        return result.subList(Math.max(0, result.size() - Math.max(0, limit)), result.size());
+    }
+
+    /**
+     * 获取地理围栏事件（可按无人机、区域、事件类型过滤）
+     */
+    public List<GeofenceEventDTO> getGeofenceEvents(String uavId, String zoneId, GeofenceEventType type,
+                                                    boolean violationsOnly, int limit) {
+        GeofenceLog log = getAirspaceOrThrow().getGeofenceLog();
+        List<GeofenceEvent> events;
+        if (uavId != null) {
+            events = log.getEventsByUavId(uavId);
+        } else if (zoneId != null) {
+            events = log.getEventsByZoneId(zoneId);
+        } else {
+            events = log.getAllEvents();
+        }
+        List<GeofenceEventDTO> result = events.stream()
+                .filter(event -> zoneId == null || zoneId.equals(event.getZoneId()))
+                .filter(event -> type == null || event.getEventType() == type)
+                .filter(event -> !violationsOnly || event.isViolation())
+                .map(this::toGeofenceEventDTO)
+                .collect(Collectors.toList());
+        // 只保留最新的limit条
+        return result.subList(Math.max(0, result.size() - Math.max(0, limit)), result.size());
+    }
+
     // ====== 私有工具方法 ======
     private Airspace getAirspaceOrThrow() {
         return airspaceRepository.find().orElseThrow(() -> new RuntimeException("空域不存在"));
     }
 
-    private EntityStateDTO toEntityStateDTO(ProbeDevice device) {
+    private EntityStateDTO toEntityStateDTO(AbstractProbeDevice device) {
         EntityStateDTO dto = new EntityStateDTO();
         dto.setId(device.getId());
         dto.setType(device.getType().name());
@@ -133,6 +209,38 @@ public class QueryAppService {
         return dto;
     }
 
+    private ConflictEventDTO toConflictEventDTO(ConflictEvent event) {
+        ConflictEventDTO dto = new ConflictEventDTO();
+        dto.setEventId(event.getEventId());
+        dto.setConflictType(event.getConflictType().getCode());
+        dto.setUavIdA(event.getUavIdA());
+        dto.setUavIdB(event.getUavIdB());
+        dto.setTimestamp(event.getTimestamp());
+        dto.setPositionA(event.getPositionA());
+        dto.setPositionB(event.getPositionB());
+        dto.setCurrentDistance(event.getCurrentDistance());
+        dto.setMinimumDistance(event.getMinimumDistance());
+        dto.setTimeToClosestApproach(event.getTimeToClosestApproach());
+        dto.setSeparation(event.getSeparation());
+        dto.setRemarks(event.getSummary());
+        return dto;
+    }
+
+    private GeofenceEventDTO toGeofenceEventDTO(GeofenceEvent event) {
+        GeofenceEventDTO dto = new GeofenceEventDTO();
+        dto.setEventId(event.getEventId());
+        dto.setEventType(event.getEventType().getCode());
+        dto.setUavId(event.getUavId());
+        dto.setZoneId(event.getZoneId());
+        dto.setZoneName(event.getZoneName());
+        dto.setZoneType(event.getZoneType().getCode());
+        dto.setTimestamp(event.getTimestamp());
+        dto.setPosition(event.getPosition());
+        dto.setViolation(event.isViolation());
+        dto.setRemarks(event.getSummary());
+        return dto;
+    }
+
     private LocalDateTime getLastDetectionTime(DetectionLog log) {
         List<DetectionEvent> events = log.getAllEvents();
         if (events.isEmpty()) return null;
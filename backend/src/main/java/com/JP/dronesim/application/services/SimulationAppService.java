@@ -1,17 +1,44 @@
 package com.JP.dronesim.application.services;
 
+import com.JP.dronesim.application.dtos.request.BatchRunRequestDTO;
 import com.JP.dronesim.application.dtos.request.SimulationControlCommandDTO;
+import com.JP.dronesim.application.dtos.response.BatchJobStatusDTO;
 import com.JP.dronesim.application.dtos.response.SimulationStatusDTO;
 import com.JP.dronesim.domain.airspace.model.Airspace;
 import com.JP.dronesim.domain.airspace.repository.IAirspaceRepository;
+import com.JP.dronesim.domain.services.BatchRunResult;
+import com.JP.dronesim.domain.services.BatchStepListener;
+import com.JP.dronesim.domain.services.EventDrivenSimulationEngine;
+import com.JP.dronesim.domain.services.InputJournal;
 import com.JP.dronesim.domain.services.SimulationEngineService;
+import com.JP.dronesim.domain.services.SimulationReplayer;
+import com.JP.dronesim.infrastructure.messaging.serialization.BatchTraceWriter;
+import com.JP.dronesim.infrastructure.scheduling.AirspaceActorRegistry;
+import com.JP.dronesim.infrastructure.scheduling.SimulationTickDriver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 仿真应用服务
@@ -23,11 +50,29 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Service
 public class SimulationAppService {
 
+    /**
+     * 批量仿真默认位置采样间隔（步）
+     */
+    private static final int DEFAULT_SAMPLE_INTERVAL = 10;
+
+    /**
+     * 批量仿真结果默认输出目录
+     */
+    private static final String DEFAULT_BATCH_OUTPUT_DIR = "batch-output";
+
+    /**
+     * 已结束的批量仿真任务的保留时长，超过后从任务表中移除
+     */
+    private static final Duration BATCH_JOB_RETENTION = Duration.ofHours(1);
+
     @Autowired
     private IAirspaceRepository airspaceRepository;
 
     @Autowired
-    private SimulationEngineService simulationEngineService;
+    private AirspaceActorRegistry airspaceActors;
+
+    @Autowired
+    private SimulationTickDriver simulationTickDriver;
 
     /**
      * 仿真状态存储
@@ -39,6 +84,17 @@ public class SimulationAppService {
      */
     private final ConcurrentHashMap<String, AtomicBoolean> runningStatusMap = new ConcurrentHashMap<>();
 
+    /**
+     * 批量仿真任务（键为任务ID）
+     */
+    private final ConcurrentHashMap<String, BatchJob> batchJobs = new ConcurrentHashMap<>();
+
+    /**
+     * 批量仿真执行线程池，线程数为处理器数。每个空域同时至多一个未结束的任务，
+     * 因此不同空域的任务并行执行，同一空域的任务不会并发
+     */
+    private final ExecutorService batchExecutor = createBatchExecutor();
+
     /**
      * 启动仿真
      *
@@ -49,12 +105,17 @@ public class SimulationAppService {
         // 业务规则校验
         validateAirspaceExists(airspaceId);
         validateSimulationNotRunning(airspaceId);
+        validateNoActiveBatch(airspaceId);
 
         // 获取空域
         Airspace airspace = airspaceRepository.findById(airspaceId);
 
-        // 启动仿真引擎
-        simulationEngineService.startSimulation(airspace);
+        // 启动仿真引擎，并按时间步长实时驱动
+        airspaceActors.call(airspaceId, engine -> {
+            engine.startSimulation(airspace);
+            return null;
+        });
+        simulationTickDriver.start(airspace);
 
         // 更新状态
         SimulationStatusDTO status = new SimulationStatusDTO();
@@ -85,7 +146,10 @@ public class SimulationAppService {
         Airspace airspace = airspaceRepository.findById(airspaceId);
 
         // 暂停仿真引擎
-        simulationEngineService.pauseSimulation(airspace);
+        airspaceActors.call(airspaceId, engine -> {
+            engine.pauseSimulation(airspace);
+            return null;
+        });
 
         // 更新状态
         SimulationStatusDTO status = simulationStatusMap.get(airspaceId);
@@ -113,8 +177,12 @@ public class SimulationAppService {
         // 获取空域
         Airspace airspace = airspaceRepository.findById(airspaceId);
 
-        // 恢复仿真引擎
-        simulationEngineService.resumeSimulation(airspace);
+        // 恢复仿真引擎，唤醒实时驱动
+        airspaceActors.call(airspaceId, engine -> {
+            engine.resumeSimulation(airspace);
+            return null;
+        });
+        simulationTickDriver.resume(airspaceId);
 
         // 更新状态
         SimulationStatusDTO status = simulationStatusMap.get(airspaceId);
@@ -141,8 +209,12 @@ public class SimulationAppService {
         // 获取空域
         Airspace airspace = airspaceRepository.findById(airspaceId);
 
-        // 停止仿真引擎
-        simulationEngineService.stopSimulation(airspace);
+        // 停止仿真引擎与实时驱动
+        airspaceActors.call(airspaceId, engine -> {
+            engine.stopSimulation(airspace);
+            return null;
+        });
+        simulationTickDriver.stop(airspaceId);
 
         // 更新状态
         SimulationStatusDTO status = simulationStatusMap.get(airspaceId);
@@ -172,7 +244,10 @@ public class SimulationAppService {
         Airspace airspace = airspaceRepository.findById(airspaceId);
 
         // 执行时间步进
-        simulationEngineService.stepSimulation(airspace, timeStep);
+        airspaceActors.call(airspaceId, engine -> {
+            engine.stepSimulation(airspace, timeStep);
+            return null;
+        });
 
         // 更新状态
         SimulationStatusDTO status = simulationStatusMap.get(airspaceId);
@@ -225,7 +300,8 @@ public class SimulationAppService {
         Airspace airspace = airspaceRepository.findById(airspaceId);
 
         // 设置时间步长
-        airspace.setTimeStep(timeStep);
+        airspaceActors.submitInput(airspace, "TIME_STEP", "设置时间步长 " + timeStep,
+                (a, engine) -> a.setTimeStep(timeStep));
         airspaceRepository.save(airspace);
 
         // 更新状态
@@ -237,6 +313,371 @@ public class SimulationAppService {
         return status;
     }
 
+    /**
+     * 配置无人机冲突检测
+     *
+     * @param airspaceId 空域ID
+     * @param enabled 是否启用
+     * @param separation 最小间隔（米）
+     * @param lookAheadTime 前瞻时间（秒）
+     */
+    public void configureConflictDetection(String airspaceId, boolean enabled, double separation,
+                                           double lookAheadTime) {
+        // 业务规则校验
+        validateAirspaceExists(airspaceId);
+        if (separation <= 0) {
+            throw new RuntimeException("最小间隔必须大于0");
+        }
+        if (lookAheadTime < 0) {
+            throw new RuntimeException("前瞻时间不能为负数");
+        }
+
+        // 冲突检测配置属于该空域的专属引擎
+        airspaceActors.call(airspaceId, engine -> {
+            engine.setConflictDetectionEnabled(enabled);
+            engine.configureConflictDetection(separation, lookAheadTime);
+            return null;
+        });
+    }
+
+    /**
+     * 获取各空域的资源占用统计
+     *
+     * @return 每个空域的占用时间、占比、排队等待与信箱长度，按占用时间降序
+     */
+    public Map<String, Object> getCellStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("workers", airspaceActors.getWorkerCount());
+        result.put("cells", airspaceActors.getStatistics());
+        return result;
+    }
+
+    /**
+     * 获取实时驱动统计
+     *
+     * @param airspaceId 空域ID
+     * @return 帧数、跳过帧数、超时帧数、落后时间与帧耗时统计
+     */
+    public Map<String, Object> getTickStatistics(String airspaceId) {
+        validateAirspaceExists(airspaceId);
+        return simulationTickDriver.getStatistics(airspaceId);
+    }
+
+    /**
+     * 获取空域当前会话的输入日志
+     *
+     * @param airspaceId 空域ID
+     * @return 种子、会话序号、步数、输入数与按顺序排列的日志条目
+     */
+    public Map<String, Object> getInputJournal(String airspaceId) {
+        validateAirspaceExists(airspaceId);
+        InputJournal journal = requireJournal(airspaceActors.actor(airspaceId).getEngine(), airspaceId);
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (InputJournal.Entry entry : journal.getEntries()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("sequence", entry.getSequence());
+            item.put("type", entry.getType());
+            item.put("description", entry.getDescription());
+            if (entry.isStep()) {
+                item.put("deltaTime", entry.getDeltaTime());
+                item.put("count", entry.getCount());
+            }
+            item.put("elapsedTime", Double.isNaN(entry.getElapsedTime()) ? null : entry.getElapsedTime());
+            entries.add(item);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("airspaceId", journal.getAirspaceId());
+        result.put("seed", journal.getSeed());
+        result.put("session", journal.getSession() + 1);
+        result.put("closed", journal.isClosed());
+        result.put("steps", journal.getStepCount());
+        result.put("inputs", journal.getInputCount());
+        result.put("entries", entries);
+        return result;
+    }
+
+    /**
+     * 回放空域当前会话的输入日志，并与实时仿真的结果比对
+     * 回放在独立的引擎与空域副本上进行；实时仿真仍在运行时，比对的是调用时刻两者的状态
+     *
+     * @param airspaceId 空域ID
+     * @return 回放步数、输入数、两侧指纹与是否一致
+     */
+    public Map<String, Object> replayJournal(String airspaceId) {
+        validateAirspaceExists(airspaceId);
+        Airspace airspace = airspaceRepository.findById(airspaceId);
+
+        // 在本线程上独占空域，使实时指纹与日志对应同一时刻；回放期间该空域的命令排队，不占用执行者的共享工作线程
+        return airspaceActors.actor(airspace).runExclusive(engine -> {
+            InputJournal journal = requireJournal(engine, airspaceId);
+            long liveFingerprint = SimulationReplayer.fingerprint(airspace, journal.getBaseEventCounts());
+            long startNanos = System.nanoTime();
+            Airspace replica = new SimulationReplayer(new SimulationEngineService()).replay(journal);
+            long replayNanos = System.nanoTime() - startNanos;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("airspaceId", airspaceId);
+            result.put("steps", journal.getStepCount());
+            result.put("inputs", journal.getInputCount());
+            result.put("liveFingerprint", Long.toHexString(liveFingerprint));
+            long replayFingerprint = SimulationReplayer.fingerprint(replica);
+            result.put("replayFingerprint", Long.toHexString(replayFingerprint));
+            result.put("identical", liveFingerprint == replayFingerprint);
+            result.put("replayMillis", replayNanos / 1_000_000.0);
+            return result;
+        });
+    }
+
+    /**
+     * 获取空域的输入日志，不存在时抛出异常
+     *
+     * @param engine 空域专属的仿真引擎
+     * @param airspaceId 空域ID
+     * @return 输入日志
+     */
+    private InputJournal requireJournal(SimulationEngineService engine, String airspaceId) {
+        InputJournal journal = engine.getJournal(airspaceId);
+        if (journal == null) {
+            throw new RuntimeException("空域尚未启动过仿真，没有输入日志: " + airspaceId);
+        }
+        return journal;
+    }
+
+    /**
+     * 提交批量仿真任务
+     * 任务在后台线程中不受墙钟约束地连续步进，结果写入MessagePack文件，
+     * 通过getBatchJob轮询进度。空域须处于停止状态，任务结束后空域回到停止状态
+     *
+     * @param airspaceId 空域ID
+     * @param request 批量仿真请求
+     * @return 任务状态
+     */
+    public BatchJobStatusDTO submitBatchJob(String airspaceId, BatchRunRequestDTO request) {
+        // 业务规则校验
+        validateAirspaceExists(airspaceId);
+        if (request == null) {
+            throw new RuntimeException("批量仿真请求不能为空");
+        }
+        long maxSteps = request.getMaxSteps() != null ? request.getMaxSteps() : 0L;
+        double horizonSeconds = request.getHorizonSeconds() != null ? request.getHorizonSeconds() : 0.0;
+        if (maxSteps <= 0 && horizonSeconds <= 0) {
+            throw new RuntimeException("批量仿真必须指定步数或仿真时长");
+        }
+        if (runningStatusMap.containsKey(airspaceId) || simulationTickDriver.isDriving(airspaceId)) {
+            throw new RuntimeException("仿真正在进行，请先停止: " + airspaceId);
+        }
+
+        String jobId = UUID.randomUUID().toString();
+        int sampleInterval = request.getSampleInterval() != null ? request.getSampleInterval() : DEFAULT_SAMPLE_INTERVAL;
+        String fileName = request.getOutputFileName() != null && !request.getOutputFileName().trim().isEmpty()
+                ? request.getOutputFileName().trim() : jobId + ".msgpack";
+        String outputPath = resolveBatchOutputPath(fileName).toString();
+        boolean eventDriven = Boolean.TRUE.equals(request.getEventDriven());
+        BatchJob job = new BatchJob(jobId, airspaceId, maxSteps, horizonSeconds, sampleInterval, outputPath,
+                eventDriven);
+        // 校验与登记一并进行，同一空域的并发提交只有一个成功
+        synchronized (batchJobs) {
+            evictFinishedBatchJobs(LocalDateTime.now().minus(BATCH_JOB_RETENTION));
+            validateNoActiveBatch(airspaceId);
+            batchJobs.put(jobId, job);
+        }
+        batchExecutor.execute(() -> runBatchJob(job));
+
+        return job.toDTO();
+    }
+
+    /**
+     * 将结果文件名解析到批量输出目录下
+     * 只接受单个文件名：绝对路径、含目录分隔符或规范化后不在输出目录内的名称一律拒绝，
+     * 避免请求方借结果文件在服务端任意位置创建目录或覆盖文件
+     *
+     * @param fileName 结果文件名
+     * @return 输出目录下的规范化路径
+     */
+    static Path resolveBatchOutputPath(String fileName) {
+        Path directory = Paths.get(DEFAULT_BATCH_OUTPUT_DIR).toAbsolutePath().normalize();
+        Path name;
+        try {
+            name = Paths.get(fileName);
+        } catch (InvalidPathException e) {
+            throw new RuntimeException("结果文件名无效: " + fileName);
+        }
+        if (name.isAbsolute() || name.getNameCount() != 1 || name.getParent() != null) {
+            throw new RuntimeException("结果文件名只能是文件名，不能包含目录: " + fileName);
+        }
+        Path resolved = directory.resolve(name).normalize();
+        if (!resolved.startsWith(directory) || resolved.equals(directory)) {
+            throw new RuntimeException("结果文件名无效: " + fileName);
+        }
+        return resolved;
+    }
+
+    /**
+     * 获取批量仿真任务状态
+     * 已结束超过保留时长（1小时）的任务在下一次提交时移除，之后查询不到
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    public BatchJobStatusDTO getBatchJob(String jobId) {
+        return findBatchJob(jobId).toDTO();
+    }
+
+    /**
+     * 取消批量仿真任务
+     * 排队中的任务不再执行；运行中的任务在当前步完成后结束，已写出的结果保留
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    public BatchJobStatusDTO cancelBatchJob(String jobId) {
+        BatchJob job = findBatchJob(jobId);
+        job.cancelRequested = true;
+        return job.toDTO();
+    }
+
+    /**
+     * 应用关闭时取消全部批量任务并停止执行线程
+     */
+    @PreDestroy
+    public void shutdownBatchExecutor() {
+        for (BatchJob job : batchJobs.values()) {
+            job.cancelRequested = true;
+        }
+        batchExecutor.shutdown();
+    }
+
+    /**
+     * 执行批量仿真任务
+     *
+     * @param job 任务
+     */
+    private void runBatchJob(BatchJob job) {
+        if (job.cancelRequested) {
+            job.finish("CANCELLED", null);
+            return;
+        }
+        Airspace airspace = airspaceRepository.findById(job.airspaceId);
+        if (airspace == null) {
+            job.finish("FAILED", "空域不存在: " + job.airspaceId);
+            return;
+        }
+
+        // 在本线程上独占空域，期间该空域的其他命令排队，不占用执行者的共享工作线程
+        airspaceActors.actor(airspace).runExclusive(engine -> {
+            executeBatchJob(job, airspace, engine);
+            return null;
+        });
+    }
+
+    /**
+     * 在独占空域的前提下执行批量仿真
+     *
+     * @param job 任务
+     * @param airspace 空域
+     * @param engine 空域专属的仿真引擎
+     */
+    private void executeBatchJob(BatchJob job, Airspace airspace, SimulationEngineService engine) {
+        job.status = "RUNNING";
+        job.startTime = LocalDateTime.now();
+        long wallStart = System.nanoTime();
+        try (BatchTraceWriter writer = new BatchTraceWriter(Paths.get(job.outputPath))) {
+            engine.startSimulation(airspace);
+            writer.writeHeader(airspace, job.maxSteps, job.horizonSeconds, job.sampleInterval);
+            double startElapsed = airspace.getTimeStep().getElapsedTime();
+
+            // 事件驱动内核只在有事件的步回调，跨过采样间隔边界时采样
+            long[] lastStep = {0L};
+            BatchStepListener listener = (step, stepped) -> {
+                try {
+                    writer.writeStep(step, stepped, step / job.sampleInterval != lastStep[0] / job.sampleInterval);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                lastStep[0] = step;
+                job.completedSteps = step;
+                job.simulatedSeconds = stepped.getTimeStep().getElapsedTime() - startElapsed;
+                job.wallNanos = System.nanoTime() - wallStart;
+                job.recordCount = writer.getRecordCount();
+                return !job.cancelRequested;
+            };
+            // 事件驱动内核持有单次运行的状态，每个任务在空域专属引擎之上新建一个
+            BatchRunResult result = job.eventDriven
+                    ? new EventDrivenSimulationEngine(engine).runBatch(airspace, job.maxSteps,
+                            job.horizonSeconds, listener)
+                    : engine.runBatch(airspace, job.maxSteps, job.horizonSeconds, listener);
+
+            writer.writeSummary(result);
+            job.completedSteps = result.getSteps();
+            job.simulatedSeconds = result.getSimulatedSeconds();
+            job.wallNanos = result.getWallNanos();
+            job.recordCount = writer.getRecordCount();
+            job.finish(result.isCancelled() ? "CANCELLED" : "COMPLETED", null);
+        } catch (IOException | RuntimeException e) {
+            job.wallNanos = System.nanoTime() - wallStart;
+            job.finish("FAILED", "批量仿真失败: " + e.getMessage());
+        } finally {
+            if (!airspace.isStopped()) {
+                engine.stopSimulation(airspace);
+            }
+        }
+    }
+
+    /**
+     * 移除在指定时间之前结束的批量仿真任务
+     *
+     * @param endedBefore 结束时间上限
+     */
+    private void evictFinishedBatchJobs(LocalDateTime endedBefore) {
+        batchJobs.values().removeIf(job -> !job.isActive() && job.endTime != null
+                && job.endTime.isBefore(endedBefore));
+    }
+
+    /**
+     * 创建批量仿真执行线程池
+     *
+     * @return 线程池
+     */
+    private static ExecutorService createBatchExecutor() {
+        int size = Runtime.getRuntime().availableProcessors();
+        AtomicInteger index = new AtomicInteger();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sim-batch-" + index.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 查找批量仿真任务
+     *
+     * @param jobId 任务ID
+     * @return 任务
+     */
+    private BatchJob findBatchJob(String jobId) {
+        BatchJob job = jobId != null ? batchJobs.get(jobId) : null;
+        if (job == null) {
+            throw new RuntimeException("批量仿真任务不存在: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * 校验空域没有排队或运行中的批量仿真任务
+     *
+     * @param airspaceId 空域ID
+     */
+    private void validateNoActiveBatch(String airspaceId) {
+        for (BatchJob job : batchJobs.values()) {
+            if (job.airspaceId.equals(airspaceId) && job.isActive()) {
+                throw new RuntimeException("空域有未完成的批量仿真任务: " + job.jobId);
+            }
+        }
+    }
+
     /**
      * 校验空域是否存在
      *
@@ -297,4 +738,181 @@ public class SimulationAppService {
             throw new RuntimeException("时间步长不能超过1小时");
         }
     }
+
+    /**
+     * 批量仿真任务
+     * 由执行线程写入进度，轮询线程读取，字段均为volatile
+     */
+    private static final class BatchJob {
+
+        /**
+         * 任务ID
+         */
+        private final String jobId;
+
+        /**
+         * 空域ID
+         */
+        private final String airspaceId;
+
+        /**
+         * 最大步数（0表示不限）
+         */
+        private final long maxSteps;
+
+        /**
+         * 仿真时长上限（秒，0表示不限）
+         */
+        private final double horizonSeconds;
+
+        /**
+         * 位置采样间隔（步）
+         */
+        private final int sampleInterval;
+
+        /**
+         * 结果文件路径
+         */
+        private final String outputPath;
+
+        /**
+         * 是否使用事件驱动内核
+         */
+        private final boolean eventDriven;
+
+        /**
+         * 提交时间
+         */
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        /**
+         * 任务状态
+         */
+        private volatile String status = "QUEUED";
+
+        /**
+         * 是否请求取消
+         */
+        private volatile boolean cancelRequested;
+
+        /**
+         * 已完成步数
+         */
+        private volatile long completedSteps;
+
+        /**
+         * 已推进的仿真时长（秒）
+         */
+        private volatile double simulatedSeconds;
+
+        /**
+         * 实际耗时（纳秒）
+         */
+        private volatile long wallNanos;
+
+        /**
+         * 已写出记录数
+         */
+        private volatile long recordCount;
+
+        /**
+         * 开始时间
+         */
+        private volatile LocalDateTime startTime;
+
+        /**
+         * 结束时间
+         */
+        private volatile LocalDateTime endTime;
+
+        /**
+         * 失败原因
+         */
+        private volatile String errorMessage;
+
+        /**
+         * 构造函数
+         *
+         * @param jobId 任务ID
+         * @param airspaceId 空域ID
+         * @param maxSteps 最大步数
+         * @param horizonSeconds 仿真时长上限（秒）
+         * @param sampleInterval 位置采样间隔（步）
+         * @param outputPath 结果文件路径
+         * @param eventDriven 是否使用事件驱动内核
+         */
+        private BatchJob(String jobId, String airspaceId, long maxSteps, double horizonSeconds,
+                         int sampleInterval, String outputPath, boolean eventDriven) {
+            this.jobId = jobId;
+            this.airspaceId = airspaceId;
+            this.maxSteps = maxSteps;
+            this.horizonSeconds = horizonSeconds;
+            this.sampleInterval = sampleInterval;
+            this.outputPath = outputPath;
+            this.eventDriven = eventDriven;
+        }
+
+        /**
+         * 任务是否排队或运行中
+         *
+         * @return 是否未结束
+         */
+        private boolean isActive() {
+            return "QUEUED".equals(status) || "RUNNING".equals(status);
+        }
+
+        /**
+         * 结束任务
+         *
+         * @param finalStatus 最终状态
+         * @param error 失败原因，可为null
+         */
+        private void finish(String finalStatus, String error) {
+            this.errorMessage = error;
+            this.endTime = LocalDateTime.now();
+            this.status = finalStatus;
+        }
+
+        /**
+         * 计算进度：步数与仿真时长两项上限中较先到达者
+         *
+         * @return 进度（0~1）
+         */
+        private double progress() {
+            if ("COMPLETED".equals(status)) {
+                return 1.0;
+            }
+            double bySteps = maxSteps > 0 ? (double) completedSteps / maxSteps : 0.0;
+            double byTime = horizonSeconds > 0 ? simulatedSeconds / horizonSeconds : 0.0;
+            return Math.min(1.0, Math.max(bySteps, byTime));
+        }
+
+        /**
+         * 转换为状态DTO
+         *
+         * @return 任务状态
+         */
+        private BatchJobStatusDTO toDTO() {
+            double wallSeconds = wallNanos / 1e9;
+            BatchJobStatusDTO dto = new BatchJobStatusDTO();
+            dto.setJobId(jobId);
+            dto.setAirspaceId(airspaceId);
+            dto.setStatus(status);
+            dto.setCompletedSteps(completedSteps);
+            dto.setMaxSteps(maxSteps);
+            dto.setHorizonSeconds(horizonSeconds);
+            dto.setSimulatedSeconds(simulatedSeconds);
+            dto.setWallSeconds(wallSeconds);
+            dto.setSimSecondsPerWallSecond(wallSeconds > 0 ? simulatedSeconds / wallSeconds : 0.0);
+            dto.setProgress(progress());
+            dto.setOutputPath(outputPath);
+            dto.setEventDriven(eventDriven);
+            dto.setRecordCount(recordCount);
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartTime(startTime);
+            dto.setEndTime(endTime);
+            dto.setErrorMessage(errorMessage);
+            return dto;
+        }
+    }
 }
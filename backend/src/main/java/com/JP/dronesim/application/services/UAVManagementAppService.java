@@ -10,11 +10,11 @@ import com.JP.dronesim.domain.common.enums.UAVStatus;
 import com.JP.dronesim.domain.common.valueobjects.Position;
 import com.JP.dronesim.domain.common.valueobjects.Velocity;
 import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.infrastructure.scheduling.AirspaceActorRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +30,9 @@ public class UAVManagementAppService {
     @Autowired
     private IAirspaceRepository airspaceRepository;
 
+    @Autowired
+    private AirspaceActorRegistry airspaceActors;
+
     /**
      * 部署无人机
      *
@@ -48,11 +51,11 @@ public class UAVManagementAppService {
         // 校验无人机位置是否在空域边界
         validateUAVPosition(airspace, uavState.getPosition());
 
-        // 创建无人机
-        UAV uav = createUAV(uavState);
-
-        // 添加到空域
-        airspace.addEntity(uav);
+        // 创建无人机并添加到空域（经仿真引擎施加，记入输入日志）
+        String uavId = resolveUAVId(airspace, uavState);
+        airspaceActors.submitInput(airspace, "DEPLOY_UAV", "部署无人机 " + uavId,
+                (a, engine) -> a.addEntity(createUAV(uavId, uavState)));
+        UAV uav = airspace.getUAV(uavId);
         airspaceRepository.save(airspace);
 
         // 转换为DTO
@@ -74,16 +77,18 @@ public class UAVManagementAppService {
         // 获取空域
         Airspace airspace = airspaceRepository.findById(airspaceId);
 
-        // 批量创建无人机
-        List<UAV> uavs = uavStates.stream()
-                .map(state -> {
-                    validateUAVPosition(airspace, state.getPosition());
-                    return createUAV(state);
-                })
+        // 批量创建无人机并添加到空域
+        uavStates.forEach(state -> validateUAVPosition(airspace, state.getPosition()));
+        List<String> uavIds = uavStates.stream()
+                .map(state -> resolveUAVId(airspace, state))
                 .collect(Collectors.toList());
-
-        // 批量添加到空域
-        uavs.forEach(airspace::addEntity);
+        airspaceActors.submitInput(airspace, "DEPLOY_UAV", "批量部署无人机 " + uavIds.size() + " 架",
+                (a, engine) -> {
+                    for (int i = 0; i < uavIds.size(); i++) {
+                        a.addEntity(createUAV(uavIds.get(i), uavStates.get(i)));
+                    }
+                });
+        List<UAV> uavs = uavIds.stream().map(airspace::getUAV).collect(Collectors.toList());
         airspaceRepository.save(airspace);
 
         // 转换为DTO
@@ -163,10 +168,13 @@ public class UAVManagementAppService {
         validateUAVPosition(airspace, uavState.getPosition());
 
         // 更新无人机状态
-        uav.setPosition(uavState.getPosition());
-        uav.setVelocity(uavState.getVelocity());
-        uav.setOrientation(uavState.getOrientation());
-        uav.setStatus(uavState.getStatus());
+        airspaceActors.submitInput(airspace, "UPDATE_UAV", "更新无人机状态 " + uavId, (a, engine) -> {
+            UAV target = a.getUAV(uavId);
+            target.setPosition(uavState.getPosition());
+            target.setVelocity(uavState.getVelocity());
+            target.setOrientation(uavState.getOrientation());
+            target.setStatus(uavState.getStatus());
+        });
 
         // 保存空域
         airspaceRepository.save(airspace);
@@ -197,7 +205,11 @@ public class UAVManagementAppService {
         List<Waypoint> waypointList = waypoints.stream()
                 .map(this::convertToWaypoint)
                 .collect(Collectors.toList());
-        uav.setFlightPath(waypointList);
+        // 每次应用都复制航点，实时空域与回放副本不共享可变的到达状态
+        airspaceActors.submitInput(airspace, "FLIGHT_PATH", "设置飞行路径 " + uavId,
+                (a, engine) -> a.getUAV(uavId).setFlightPath(waypointList.stream()
+                        .map(Waypoint::copy)
+                        .collect(Collectors.toList())));
 
         // 保存空域
         airspaceRepository.save(airspace);
@@ -247,7 +259,8 @@ public class UAVManagementAppService {
         }
 
         // 控制起飞
-        uav.takeoff();
+        airspaceActors.submitInput(airspace, "TAKEOFF", "起飞 " + uavId,
+                (a, engine) -> a.getUAV(uavId).takeoff());
 
         // 保存空域
         airspaceRepository.save(airspace);
@@ -273,7 +286,8 @@ public class UAVManagementAppService {
         }
 
         // 控制降落
-        uav.land();
+        airspaceActors.submitInput(airspace, "LAND", "降落 " + uavId,
+                (a, engine) -> a.getUAV(uavId).land());
 
         // 保存空域
         airspaceRepository.save(airspace);
@@ -299,7 +313,8 @@ public class UAVManagementAppService {
         }
 
         // 控制悬停
-        uav.hover();
+        airspaceActors.submitInput(airspace, "HOVER", "悬停 " + uavId,
+                (a, engine) -> a.getUAV(uavId).hover());
 
         // 保存空域
         airspaceRepository.save(airspace);
@@ -319,19 +334,30 @@ public class UAVManagementAppService {
         Airspace airspace = airspaceRepository.findById(airspaceId);
 
         // 删除无人机
-        airspace.removeEntity(uavId);
+        airspaceActors.submitInput(airspace, "REMOVE_UAV", "删除无人机 " + uavId,
+                (a, engine) -> a.removeEntity(uavId));
         airspaceRepository.save(airspace);
     }
 
+    /**
+     * 确定新无人机的ID，未指定时从空域的实体ID随机流生成
+     *
+     * @param airspace 空域
+     * @param uavState 无人机状态
+     * @return 无人机ID
+     */
+    private String resolveUAVId(Airspace airspace, UAVStateDTO uavState) {
+        return uavState.getId() != null ? uavState.getId() : airspace.nextEntityId();
+    }
+
     /**
      * 创建无人机
      *
+     * @param uavId 无人机ID
      * @param uavState 无人机状态
      * @return 无人机
      */
-    private UAV createUAV(UAVStateDTO uavState) {
-        String uavId = uavState.getId() != null ? uavState.getId() : UUID.randomUUID().toString();
-
+    private UAV createUAV(String uavId, UAVStateDTO uavState) {
         UAV uav = new UAV();
         uav.setId(uavId);
         uav.setName(uavState.getName());
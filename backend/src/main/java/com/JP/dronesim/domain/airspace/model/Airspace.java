@@ -1,7 +1,13 @@
 package com.JP.dronesim.domain.airspace.model;
 
+import com.JP.dronesim.domain.airspace.model.geofence.GeofenceRegistry;
+import com.JP.dronesim.domain.airspace.model.geofence.GeofenceZone;
+import com.JP.dronesim.domain.airspace.model.terrain.VisibilityCache;
+import com.JP.dronesim.domain.airspace.model.terrain.VoxelOccupancyGrid;
 import com.JP.dronesim.domain.common.enums.DeviceStatus;
 import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.enums.EntityCategory;
+import com.JP.dronesim.domain.common.enums.SpatialIndexType;
 import com.JP.dronesim.domain.common.enums.UAVStatus;
 import com.JP.dronesim.domain.common.valueobjects.Position;
 import com.JP.dronesim.domain.common.valueobjects.Velocity;
@@ -10,6 +16,7 @@ import com.JP.dronesim.domain.uav.model.UAV;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -22,6 +29,21 @@ import java.util.stream.Collectors;
  */
 public class Airspace {
 
+    /**
+     * 实体ID随机流名称
+     */
+    private static final String ENTITY_STREAM = "entity";
+
+    /**
+     * 空域级事件ID随机流名称
+     */
+    private static final String EVENT_STREAM = "event";
+
+    /**
+     * 设备随机流名称前缀
+     */
+    private static final String DEVICE_STREAM_PREFIX = "device:";
+
     /**
      * 空域唯一标识
      */
@@ -67,6 +89,61 @@ public class Airspace {
      */
     private final Map<String, AbstractProbeDevice> probeDevices;
 
+    /**
+     * 按空间索引句柄存放的无人机，供仿真循环按句柄解析实体
+     */
+    private UAV[] uavsByHandle;
+
+    /**
+     * 按空间索引句柄存放的探测设备
+     */
+    private AbstractProbeDevice[] devicesByHandle;
+
+    /**
+     * 地形与障碍物通视缓存，未加载障碍物时为null
+     */
+    private VisibilityCache visibilityCache;
+
+    /**
+     * 无人机冲突日志
+     */
+    private final ConflictLog conflictLog;
+
+    /**
+     * 地理围栏区域注册表
+     */
+    private final GeofenceRegistry geofenceRegistry;
+
+    /**
+     * 地理围栏事件日志
+     */
+    private final GeofenceLog geofenceLog;
+
+    /**
+     * 随机种子
+     */
+    private long seed;
+
+    /**
+     * 仿真会话序号，每次启动仿真加1，各会话的随机流互不相同
+     */
+    private long session;
+
+    /**
+     * 当前会话的随机源
+     */
+    private SimulationRandom random;
+
+    /**
+     * 实体ID随机流
+     */
+    private SplittableRandom entityIds;
+
+    /**
+     * 空域级事件（冲突、围栏）ID随机流，仅在仿真步内由引擎线程使用
+     */
+    private SplittableRandom eventIds;
+
     /**
      * 最后更新时间
      */
@@ -89,6 +166,24 @@ public class Airspace {
      * @param maxZ 最大Z
      */
     public Airspace(String name, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this(name, minX, minY, minZ, maxX, maxY, maxZ, SpatialIndexType.OCTREE, 0);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param name 空域名称
+     * @param minX 最小X
+     * @param minY 最小Y
+     * @param minZ 最小Z
+     * @param maxX 最大X
+     * @param maxY 最大Y
+     * @param maxZ 最大Z
+     * @param indexType 无人机空间索引类型
+     * @param gridCellSize 网格边长（米），仅网格模式使用，不大于0时自动选择
+     */
+    public Airspace(String name, double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                    SpatialIndexType indexType, double gridCellSize) {
         validateConstructorParameters(name, minX, minY, minZ, maxX, maxY, maxZ);
 
         this.id = UUID.randomUUID().toString();
@@ -104,9 +199,17 @@ public class Airspace {
         this.environmentParameters = EnvironmentParameters.of(EnvironmentParameters.WeatherType.DAY_CLEAR);
         this.simulationState = SimulationState.STOPPED;
         this.timeStep = TimeStep.createDefault();
-        this.spatialIndex = new SpatialIndex(minX, minY, minZ, maxX, maxY, maxZ);
+        this.spatialIndex = new SpatialIndex(minX, minY, minZ, maxX, maxY, maxZ, indexType, gridCellSize);
         this.uavs = new HashMap<>();
         this.probeDevices = new HashMap<>();
+        this.uavsByHandle = new UAV[64];
+        this.devicesByHandle = new AbstractProbeDevice[64];
+        this.conflictLog = new ConflictLog();
+        this.geofenceRegistry = new GeofenceRegistry();
+        this.geofenceLog = new GeofenceLog();
+        this.seed = 0L;
+        this.session = 0L;
+        bindRandomStreams();
         this.createdAt = LocalDateTime.now();
         this.lastUpdatedAt = LocalDateTime.now();
     }
@@ -134,6 +237,11 @@ public class Airspace {
         this.timeStep = timeStep.reset();
         updateLastModifiedTime();
 
+        // 新会话：随机流按（种子, 会话）重新派生，设备运行状态回到配置的初始状态
+        this.session++;
+        bindRandomStreams();
+        probeDevices.values().forEach(AbstractProbeDevice::resetRuntimeState);
+
         // 启用所有可用的探测设备
         enableAvailableProbeDevices();
     }
@@ -193,6 +301,85 @@ public class Airspace {
         updateSpatialIndex();
     }
 
+    /**
+     * 推进任意时长的仿真时间
+     * 供事件驱动内核在事件之间跳跃推进，实体状态与空间索引由调用方更新
+     *
+     * @param deltaTime 推进时长（秒）
+     */
+    public void advanceSimulation(double deltaTime) {
+        if (!simulationState.isRunning()) {
+            throw new IllegalStateException("仿真未运行，不能推进时间");
+        }
+
+        this.timeStep = timeStep.advance(deltaTime);
+        updateLastModifiedTime();
+    }
+
+    // ================ 随机源与仿真时钟 ================
+
+    /**
+     * 重设随机种子与会话序号
+     * 重新派生实体ID、事件ID与各设备的随机流；仿真运行中不能重设
+     *
+     * @param seed 随机种子
+     * @param session 会话序号（下次启动仿真时加1）
+     * @throws IllegalStateException 如果仿真正在运行
+     */
+    public void reseed(long seed, long session) {
+        if (simulationState.isRunning()) {
+            throw new IllegalStateException("仿真运行中不能重设随机种子");
+        }
+        if (session < 0) {
+            throw new IllegalArgumentException("会话序号不能为负数");
+        }
+        this.seed = seed;
+        this.session = session;
+        bindRandomStreams();
+        updateLastModifiedTime();
+    }
+
+    /**
+     * 生成新实体ID
+     * 由（种子, 会话）确定的随机流生成，同样的输入序列得到同样的ID
+     *
+     * @return 实体ID
+     */
+    public String nextEntityId() {
+        return SimulationRandom.nextId(entityIds);
+    }
+
+    /**
+     * 生成空域级事件ID（冲突、围栏事件）
+     * 仅在仿真步内由引擎线程调用
+     *
+     * @return 事件ID
+     */
+    public String nextEventId() {
+        return SimulationRandom.nextId(eventIds);
+    }
+
+    /**
+     * 获取当前仿真时间
+     *
+     * @return 仿真时钟时刻（自{@link TimeStep#EPOCH}起算）
+     */
+    public LocalDateTime getSimulationTime() {
+        return timeStep.getCurrentSimulationTime();
+    }
+
+    /**
+     * 按当前种子与会话派生全部随机流
+     */
+    private void bindRandomStreams() {
+        this.random = new SimulationRandom(seed, session);
+        this.entityIds = random.stream(ENTITY_STREAM);
+        this.eventIds = random.stream(EVENT_STREAM);
+        for (AbstractProbeDevice device : probeDevices.values()) {
+            device.bindRandom(random.stream(DEVICE_STREAM_PREFIX + device.getId()));
+        }
+    }
+
     // ================ 实体管理方法 ================
 
     /**
@@ -214,7 +401,9 @@ public class Airspace {
         }
 
         uavs.put(uav.getId(), uav);
-        spatialIndex.addEntity(uav.getId(), uav.getPosition());
+        int handle = spatialIndex.addEntity(uav.getId(), uav.getPosition(), EntityCategory.UAV);
+        ensureHandleCapacity(handle);
+        uavsByHandle[handle] = uav;
         updateLastModifiedTime();
     }
 
@@ -230,6 +419,7 @@ public class Airspace {
         }
 
         uavs.remove(uavId);
+        uavsByHandle[spatialIndex.getHandle(uavId)] = null;
         spatialIndex.removeEntity(uavId);
         updateLastModifiedTime();
     }
@@ -253,7 +443,10 @@ public class Airspace {
         }
 
         probeDevices.put(device.getId(), device);
-        spatialIndex.addEntity(device.getId(), device.getPosition());
+        device.bindRandom(random.stream(DEVICE_STREAM_PREFIX + device.getId()));
+        int handle = spatialIndex.addEntity(device.getId(), device.getPosition(), EntityCategory.PROBE_DEVICE);
+        ensureHandleCapacity(handle);
+        devicesByHandle[handle] = device;
         updateLastModifiedTime();
     }
 
@@ -269,6 +462,11 @@ public class Airspace {
         }
 
         probeDevices.remove(deviceId);
+        int handle = spatialIndex.getHandle(deviceId);
+        devicesByHandle[handle] = null;
+        if (visibilityCache != null) {
+            visibilityCache.evict(handle);
+        }
         spatialIndex.removeEntity(deviceId);
         updateLastModifiedTime();
     }
@@ -299,6 +497,101 @@ public class Airspace {
         updateLastModifiedTime();
     }
 
+    /**
+     * 按句柄更新实体位置与速度
+     * 供仿真循环使用，避免逐个实体做字符串查找
+     *
+     * @param handle 实体句柄
+     * @param newPosition 新位置
+     * @param velocity 速度，可为null
+     * @throws IllegalArgumentException 如果句柄无效或位置超出边界
+     */
+    public void updateEntityState(int handle, Position newPosition, Velocity velocity) {
+        if (newPosition == null) {
+            throw new IllegalArgumentException("位置不能为空");
+        }
+        if (!contains(newPosition)) {
+            throw new IllegalArgumentException("位置超出空域边界");
+        }
+
+        spatialIndex.updateEntityState(handle, newPosition, velocity);
+    }
+
+    /**
+     * 按无人机当前运动学状态批量同步空间索引
+     * 在全部无人机完成积分后于仿真线程调用，直接读取原始坐标与速度，不创建值对象
+     *
+     * @throws IllegalArgumentException 如果有无人机位置超出空域边界
+     */
+    public void syncUAVStates() {
+        int limit = getHandleLimit();
+        for (int handle = 0; handle < limit; handle++) {
+            UAV uav = uavsByHandle[handle];
+            if (uav == null) {
+                continue;
+            }
+            double x = uav.getX(), y = uav.getY(), z = uav.getZ();
+            if (!contains(x, y, z)) {
+                throw new IllegalArgumentException("位置超出空域边界");
+            }
+            spatialIndex.updateEntityState(handle, x, y, z, uav.getVx(), uav.getVy(), uav.getVz());
+        }
+    }
+
+    /**
+     * 获取无人机句柄上界（所有无人机句柄都小于该值）
+     *
+     * @return 句柄上界
+     */
+    public int getHandleLimit() {
+        return Math.min(uavsByHandle.length, spatialIndex.getRegistry().handleLimit());
+    }
+
+    /**
+     * 按句柄顺序遍历所有无人机
+     *
+     * @param action 接收无人机及其句柄的操作
+     */
+    public void forEachUAV(ObjIntConsumer<UAV> action) {
+        int limit = getHandleLimit();
+        for (int handle = 0; handle < limit; handle++) {
+            UAV uav = uavsByHandle[handle];
+            if (uav != null) {
+                action.accept(uav, handle);
+            }
+        }
+    }
+
+    /**
+     * 获取实体句柄
+     *
+     * @param entityId 实体ID
+     * @return 句柄，不存在返回-1
+     */
+    public int getEntityHandle(String entityId) {
+        return spatialIndex.getHandle(entityId);
+    }
+
+    /**
+     * 按句柄获取无人机
+     *
+     * @param handle 实体句柄
+     * @return 无人机，句柄无效或不是无人机时返回null
+     */
+    public UAV getUAVByHandle(int handle) {
+        return handle >= 0 && handle < uavsByHandle.length ? uavsByHandle[handle] : null;
+    }
+
+    /**
+     * 按句柄获取探测设备
+     *
+     * @param handle 实体句柄
+     * @return 探测设备，句柄无效或不是设备时返回null
+     */
+    public AbstractProbeDevice getProbeDeviceByHandle(int handle) {
+        return handle >= 0 && handle < devicesByHandle.length ? devicesByHandle[handle] : null;
+    }
+
     // ================ 空间查询方法 ================
 
     /**
@@ -306,10 +599,11 @@ public class Airspace {
      *
      * @param center 中心位置
      * @param radius 半径
+     * @param layer 索引层（UAV为动态层，PROBE_DEVICE为静态层，ALL为全部）
      * @return 实体ID列表
      */
-    public List<String> queryEntitiesInRange(Position center, double radius) {
-        return spatialIndex.queryInRange(center, radius);
+    public List<String> queryEntitiesInRange(Position center, double radius, EntityCategory layer) {
+        return spatialIndex.queryInRange(center, radius, layer);
     }
 
     /**
@@ -321,11 +615,57 @@ public class Airspace {
      * @param maxX 最大X
      * @param maxY 最大Y
      * @param maxZ 最大Z
+     * @param layer 索引层
      * @return 实体ID列表
      */
     public List<String> queryEntitiesInBox(double minX, double minY, double minZ,
-                                          double maxX, double maxY, double maxZ) {
-        return spatialIndex.queryInBox(minX, minY, minZ, maxX, maxY, maxZ);
+                                          double maxX, double maxY, double maxZ, EntityCategory layer) {
+        return spatialIndex.queryInBox(minX, minY, minZ, maxX, maxY, maxZ, layer);
+    }
+
+    /**
+     * 查询圆锥视场内的实体
+     *
+     * @param apex 圆锥顶点
+     * @param azimuth 轴向方位角（度）
+     * @param elevation 轴向仰角（度）
+     * @param halfAngle 半锥角（度）
+     * @param range 作用距离（米）
+     * @param layer 索引层
+     * @return 实体ID列表
+     */
+    public List<String> queryEntitiesInCone(Position apex, double azimuth, double elevation,
+                                           double halfAngle, double range, EntityCategory layer) {
+        return spatialIndex.queryInCone(apex, azimuth, elevation, halfAngle, range, layer);
+    }
+
+    /**
+     * 查询圆锥视场内的实体句柄
+     *
+     * @param apex 圆锥顶点
+     * @param azimuth 轴向方位角（度）
+     * @param elevation 轴向仰角（度）
+     * @param halfAngle 半锥角（度）
+     * @param range 作用距离（米）
+     * @param layer 索引层
+     * @return 按句柄升序排列的实体句柄
+     */
+    public int[] queryHandlesInCone(Position apex, double azimuth, double elevation,
+                                    double halfAngle, double range, EntityCategory layer) {
+        return spatialIndex.queryHandlesInCone(apex, azimuth, elevation, halfAngle, range, layer);
+    }
+
+    /**
+     * 查询线段沿途半径范围内（胶囊体）的实体句柄
+     *
+     * @param start 线段起点
+     * @param end 线段终点
+     * @param radius 半径（米）
+     * @param layer 索引层
+     * @return 按句柄升序排列的实体句柄
+     */
+    public int[] queryHandlesInCapsule(Position start, Position end, double radius, EntityCategory layer) {
+        return spatialIndex.queryHandlesInCapsule(start, end, radius, layer);
     }
 
     /**
@@ -339,6 +679,134 @@ public class Airspace {
         return spatialIndex.findNearest(position, maxDistance);
     }
 
+    /**
+     * 查找最近的k个实体
+     *
+     * @param position 查询位置
+     * @param k 最多返回的实体数
+     * @param maxDistance 最大距离
+     * @param layer 索引层，为null时查询全部
+     * @return 按距离由近到远排列的实体ID列表
+     */
+    public List<String> findKNearestEntities(Position position, int k, double maxDistance,
+                                             EntityCategory layer) {
+        int[] handles = spatialIndex.findKNearestHandles(position, k, maxDistance, null, layer);
+        List<String> result = new ArrayList<>(handles.length);
+        for (int handle : handles) {
+            result.add(spatialIndex.getEntityId(handle));
+        }
+        return result;
+    }
+
+    /**
+     * 查找距离指定位置最近的k架无人机
+     *
+     * @param position 查询位置（通常为探测设备位置）
+     * @param k 最多返回的数量
+     * @param maxDistance 最大距离
+     * @return 按距离由近到远排列的无人机列表
+     */
+    public List<UAV> findKNearestUAVs(Position position, int k, double maxDistance) {
+        int[] handles = spatialIndex.findKNearestHandles(position, k, maxDistance, null, EntityCategory.UAV);
+        List<UAV> result = new ArrayList<>(handles.length);
+        for (int handle : handles) {
+            result.add(uavsByHandle[handle]);
+        }
+        return result;
+    }
+
+    /**
+     * 查找探测范围覆盖指定位置的最近k个探测设备
+     *
+     * @param position 查询位置（通常为无人机位置）
+     * @param k 最多返回的数量
+     * @return 按距离由近到远排列的探测设备列表
+     */
+    public List<AbstractProbeDevice> findKNearestCoveringDevices(Position position, int k) {
+        double maxRange = probeDevices.values().stream()
+                .mapToDouble(AbstractProbeDevice::getDetectionRange)
+                .max()
+                .orElse(0.0);
+        if (maxRange <= 0) {
+            return new ArrayList<>();
+        }
+
+        int[] handles = spatialIndex.findKNearestHandles(position, k, maxRange, handle -> {
+            AbstractProbeDevice device = getProbeDeviceByHandle(handle);
+            return device != null &&
+                   device.getPosition().distanceTo(position) <= device.getDetectionRange();
+        }, EntityCategory.PROBE_DEVICE);
+        List<AbstractProbeDevice> result = new ArrayList<>(handles.length);
+        for (int handle : handles) {
+            result.add(devicesByHandle[handle]);
+        }
+        return result;
+    }
+
+    // ================ 地形与通视 ================
+
+    /**
+     * 设置地形与障碍物栅格
+     * 之后对栅格的修改会通过版本号自动使通视缓存失效
+     *
+     * @param obstacleGrid 障碍物栅格，为null表示移除地形
+     */
+    public void setObstacleGrid(VoxelOccupancyGrid obstacleGrid) {
+        this.visibilityCache = obstacleGrid != null ? new VisibilityCache(obstacleGrid) : null;
+        updateLastModifiedTime();
+    }
+
+    /**
+     * 获取地形与障碍物栅格
+     *
+     * @return 障碍物栅格，未加载时返回null
+     */
+    public VoxelOccupancyGrid getObstacleGrid() {
+        return visibilityCache != null ? visibilityCache.getGrid() : null;
+    }
+
+    /**
+     * 判断探测设备与目标位置之间是否通视
+     * 未加载地形时始终通视
+     *
+     * @param device 探测设备
+     * @param target 目标位置
+     * @return 是否通视
+     */
+    public boolean hasLineOfSight(AbstractProbeDevice device, Position target) {
+        if (visibilityCache == null) {
+            return true;
+        }
+        Position origin = device.getPosition();
+        return visibilityCache.isVisible(spatialIndex.getHandle(device.getId()),
+                origin.getX(), origin.getY(), origin.getZ(), target.getX(), target.getY(), target.getZ());
+    }
+
+    // ================ 地理围栏 ================
+
+    /**
+     * 添加禁飞区/限飞区
+     *
+     * @param zone 围栏区域
+     */
+    public void addGeofence(GeofenceZone zone) {
+        geofenceRegistry.addZone(zone);
+        updateLastModifiedTime();
+    }
+
+    /**
+     * 移除禁飞区/限飞区
+     *
+     * @param zoneId 区域ID
+     * @throws IllegalArgumentException 如果区域不存在
+     */
+    public void removeGeofence(String zoneId) {
+        if (geofenceRegistry.removeZone(zoneId) == null) {
+            throw new IllegalArgumentException("围栏区域不存在: " + zoneId);
+        }
+        updateLastModifiedTime();
+    }
+
     // ================ 环境管理方法 ================
 
     /**
@@ -420,9 +888,21 @@ public class Airspace {
         if (position == null) {
             return false;
         }
-        return position.getX() >= minX && position.getX() <= maxX &&
-               position.getY() >= minY && position.getY() <= maxY &&
-               position.getZ() >= minZ && position.getZ() <= maxZ;
+        return contains(position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * 检查坐标是否在空域边界内
+     *
+     * @param x X坐标
+     * @param y Y坐标
+     * @param z Z坐标
+     * @return 是否在边界内
+     */
+    public boolean contains(double x, double y, double z) {
+        return x >= minX && x <= maxX &&
+               y >= minY && y <= maxY &&
+               z >= minZ && z <= maxZ;
     }
 
     // ================ 私有辅助方法 ================
@@ -440,6 +920,19 @@ public class Airspace {
         }
     }
 
+    /**
+     * 保证按句柄存放的实体数组容量
+     *
+     * @param handle 新分配的句柄
+     */
+    private void ensureHandleCapacity(int handle) {
+        if (handle >= uavsByHandle.length) {
+            int capacity = Math.max(handle + 1, uavsByHandle.length * 2);
+            uavsByHandle = Arrays.copyOf(uavsByHandle, capacity);
+            devicesByHandle = Arrays.copyOf(devicesByHandle, capacity);
+        }
+    }
+
     /**
      * 启用可用的探测设备
      */
@@ -465,10 +958,45 @@ public class Airspace {
      */
     private void updateSpatialIndex() {
         // 更新所有实体的空间索引
-        uavs.values().forEach(uav -> 
-            spatialIndex.updateEntityPosition(uav.getId(), uav.getPosition()));
-        probeDevices.values().forEach(device -> 
-            spatialIndex.updateEntityPosition(device.getId(), device.getPosition()));
+        forEachUAV((uav, handle) -> spatialIndex.updateEntityState(handle,
+            uav.getX(), uav.getY(), uav.getZ(), uav.getVx(), uav.getVy(), uav.getVz()));
+        int limit = Math.min(devicesByHandle.length, spatialIndex.getRegistry().handleLimit());
+        for (int handle = 0; handle < limit; handle++) {
+            AbstractProbeDevice device = devicesByHandle[handle];
+            if (device != null) {
+                spatialIndex.updateEntityState(handle, device.getPosition(), null);
+            }
+        }
+    }
+
+    /**
+     * 获取空闲句柄栈（栈底在前）
+     * 供场景模板复现句柄布局
+     *
+     * @return 空闲句柄
+     */
+    int[] getFreeHandles() {
+        return spatialIndex.getRegistry().getFreeHandles();
+    }
+
+    /**
+     * 占用一个句柄（占位，不加入空间索引）
+     * 供场景模板复现句柄布局
+     *
+     * @param placeholderId 占位ID
+     * @return 句柄
+     */
+    int reserveHandle(String placeholderId) {
+        return spatialIndex.getRegistry().register(placeholderId);
+    }
+
+    /**
+     * 释放占位句柄
+     *
+     * @param placeholderId 占位ID
+     */
+    void releaseHandle(String placeholderId) {
+        spatialIndex.getRegistry().release(placeholderId);
     }
 
     /**
@@ -495,12 +1023,18 @@ public class Airspace {
     public boolean isPaused() { return simulationState.isPaused(); }
     public boolean isStopped() { return simulationState.isStopped(); }
     public Map<String, UAV> getUAVs() { return Collections.unmodifiableMap(uavs); }
-    public Map<String, ProbeDevice> getProbeDevices() { return Collections.unmodifiableMap(probeDevices); }
+    public Map<String, AbstractProbeDevice> getProbeDevices() { return Collections.unmodifiableMap(probeDevices); }
+    public long getSeed() { return seed; }
+    public long getSession() { return session; }
     public LocalDateTime getLastUpdatedAt() { return lastUpdatedAt; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public int getUAVCount() { return uavs.size(); }
     public int getProbeDeviceCount() { return probeDevices.size(); }
     public int getTotalEntityCount() { return uavs.size() + probeDevices.size(); }
+    public SpatialIndexType getSpatialIndexType() { return spatialIndex.getIndexType(); }
+    public ConflictLog getConflictLog() { return conflictLog; }
+    public GeofenceRegistry getGeofenceRegistry() { return geofenceRegistry; }
+    public GeofenceLog getGeofenceLog() { return geofenceLog; }
 
     /**
      * 获取空域的风速向量（从环境参数中提取）
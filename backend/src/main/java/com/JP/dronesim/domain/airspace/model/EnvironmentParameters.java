@@ -81,6 +81,7 @@ public class EnvironmentParameters {
     public double getPrecipitationRate() { return precipitationRate; }
     public double getAtmosphericClarity() { return atmosphericClarity; }
     public boolean isNightTime() { return isNightTime; }
+    public boolean isRaining() { return precipitationRate > 0.0; }
 
     @Override
     public String toString() {
@@ -0,0 +1,242 @@
+package com.JP.dronesim.domain.airspace.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.JP.dronesim.domain.airspace.model.events.GeofenceEvent;
+import com.JP.dronesim.domain.common.enums.GeofenceEventType;
+
+/**
+ * 地理围栏日志实体
+ * 负责管理空域内无人机进入/离开围栏区域事件的历史记录
+ * 提供围栏事件的添加、查询、过滤等功能
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class GeofenceLog {
+
+    /**
+     * 围栏事件列表
+     * 按时间顺序存储围栏事件
+     */
+    private final List<GeofenceEvent> events;
+
+    /**
+     * 最大日志容量
+     * 防止内存溢出，超出容量时会删除最旧的记录
+     */
+    private final int maxCapacity;
+
+    /**
+     * 累计添加的事件数（不因容量淘汰而减少），用于增量读取新事件
+     */
+    private long totalEventCount;
+
+    /**
+     * 默认构造函数
+     * 使用默认的最大容量（10000条记录）
+     */
+    public GeofenceLog() {
+        this(10000);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param maxCapacity 最大日志容量
+     * @throws IllegalArgumentException 如果最大容量小于等于0
+     */
+    public GeofenceLog(int maxCapacity) {
+        if (maxCapacity <= 0) {
+            throw new IllegalArgumentException("最大容量必须大于0");
+        }
+        this.maxCapacity = maxCapacity;
+        this.events = new ArrayList<>();
+    }
+
+    /**
+     * 添加围栏事件
+     * 如果超出最大容量，会删除最旧的事件记录
+     *
+     * @param event 要添加的围栏事件
+     * @throws IllegalArgumentException 如果事件为null
+     */
+    public void addEvent(GeofenceEvent event) {
+        if (event == null) {
+            throw new IllegalArgumentException("围栏事件不能为null");
+        }
+
+        synchronized (events) {
+            // 如果超出容量，删除最旧的记录
+            if (events.size() >= maxCapacity) {
+                events.remove(0);
+            }
+
+            events.add(event);
+            totalEventCount++;
+        }
+    }
+
+    /**
+     * 获取所有围栏事件
+     * 返回的是不可修改的列表副本
+     *
+     * @return 所有围栏事件的列表
+     */
+    public List<GeofenceEvent> getAllEvents() {
+        synchronized (events) {
+            return Collections.unmodifiableList(new ArrayList<>(events));
+        }
+    }
+
+    /**
+     * 获取指定时间范围内的围栏事件
+     *
+     * @param startTime 开始时间（包含）
+     * @param endTime 结束时间（包含）
+     * @return 指定时间范围内的围栏事件列表
+     */
+    public List<GeofenceEvent> getEventsBetween(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null) {
+            throw new IllegalArgumentException("开始时间和结束时间不能为null");
+        }
+        if (startTime.isAfter(endTime)) {
+            throw new IllegalArgumentException("开始时间不能晚于结束时间");
+        }
+
+        synchronized (events) {
+            return events.stream()
+                    .filter(event -> !event.getTimestamp().isBefore(startTime)
+                                  && !event.getTimestamp().isAfter(endTime))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 获取指定无人机的围栏事件
+     *
+     * @param uavId 无人机ID
+     * @return 该无人机的围栏事件列表
+     */
+    public List<GeofenceEvent> getEventsByUavId(String uavId) {
+        if (uavId == null || uavId.trim().isEmpty()) {
+            throw new IllegalArgumentException("无人机ID不能为空");
+        }
+
+        synchronized (events) {
+            return events.stream()
+                    .filter(event -> uavId.equals(event.getUavId()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 获取指定类型的围栏事件
+     *
+     * @param eventType 事件类型
+     * @return 该类型的围栏事件列表
+     */
+    public List<GeofenceEvent> getEventsByType(GeofenceEventType eventType) {
+        if (eventType == null) {
+            throw new IllegalArgumentException("围栏事件类型不能为null");
+        }
+
+        synchronized (events) {
+            return events.stream()
+                    .filter(event -> event.getEventType() == eventType)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 获取指定区域的围栏事件
+     *
+     * @param zoneId 区域ID
+     * @return 该区域的围栏事件列表
+     */
+    public List<GeofenceEvent> getEventsByZoneId(String zoneId) {
+        if (zoneId == null || zoneId.trim().isEmpty()) {
+            throw new IllegalArgumentException("区域ID不能为空");
+        }
+
+        synchronized (events) {
+            return events.stream()
+                    .filter(event -> zoneId.equals(event.getZoneId()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 获取最新的N个围栏事件
+     *
+     * @param count 要获取的事件数量
+     * @return 最新的围栏事件列表
+     */
+    public List<GeofenceEvent> getLatestEvents(int count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+
+        synchronized (events) {
+            int size = events.size();
+            int startIndex = Math.max(0, size - count);
+            return new ArrayList<>(events.subList(startIndex, size));
+        }
+    }
+
+    /**
+     * 获取围栏事件总数
+     *
+     * @return 当前存储的围栏事件数量
+     */
+    public int getEventCount() {
+        synchronized (events) {
+            return events.size();
+        }
+    }
+
+    /**
+     * 清空所有围栏事件
+     */
+    public void clearEvents() {
+        synchronized (events) {
+            events.clear();
+        }
+    }
+
+    /**
+     * 获取累计添加的围栏事件数
+     * 与上一次读取的计数相减即为期间新增的事件数，可配合getLatestEvents增量读取
+     *
+     * @return 累计事件数
+     */
+    public long getTotalEventCount() {
+        synchronized (events) {
+            return totalEventCount;
+        }
+    }
+
+    /**
+     * 获取最大容量
+     *
+     * @return 日志的最大容量
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    @Override
+    public String toString() {
+        synchronized (events) {
+            return "GeofenceLog{" +
+                    "eventCount=" + events.size() +
+                    ", maxCapacity=" + maxCapacity +
+                    ", latestEvent=" + (events.isEmpty() ? "null" : events.get(events.size() - 1).getEventId()) +
+                    '}';
+        }
+    }
+}
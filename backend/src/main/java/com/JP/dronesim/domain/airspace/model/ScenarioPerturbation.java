@@ -0,0 +1,91 @@
+package com.JP.dronesim.domain.airspace.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 场景扰动值对象
+ * 描述蒙特卡洛重复仿真中每个副本相对场景模板的随机扰动：
+ * 无人机初始位置与速度的高斯噪声、设备探测距离的相对高斯噪声（模拟传感器性能起伏），
+ * 以及从候选天气中均匀抽取的天气
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class ScenarioPerturbation {
+
+    /**
+     * 无人机初始位置标准差（米，各轴独立）
+     */
+    private final double positionSigma;
+
+    /**
+     * 无人机初始速度标准差（米/秒，各轴独立）
+     */
+    private final double velocitySigma;
+
+    /**
+     * 设备探测距离的相对标准差（如0.05表示5%）
+     */
+    private final double detectionRangeSigma;
+
+    /**
+     * 候选天气，为空时沿用模板天气
+     */
+    private final List<EnvironmentParameters.WeatherType> weatherTypes;
+
+    /**
+     * 构造函数
+     *
+     * @param positionSigma 无人机初始位置标准差（米）
+     * @param velocitySigma 无人机初始速度标准差（米/秒）
+     * @param detectionRangeSigma 设备探测距离的相对标准差
+     * @param weatherTypes 候选天气，可为null
+     */
+    public ScenarioPerturbation(double positionSigma, double velocitySigma, double detectionRangeSigma,
+                                List<EnvironmentParameters.WeatherType> weatherTypes) {
+        if (positionSigma < 0 || velocitySigma < 0) {
+            throw new IllegalArgumentException("位置与速度标准差不能为负数");
+        }
+        if (detectionRangeSigma < 0 || detectionRangeSigma >= 1) {
+            throw new IllegalArgumentException("探测距离相对标准差必须在0到1之间");
+        }
+        this.positionSigma = positionSigma;
+        this.velocitySigma = velocitySigma;
+        this.detectionRangeSigma = detectionRangeSigma;
+        this.weatherTypes = weatherTypes != null
+                ? Collections.unmodifiableList(new ArrayList<>(weatherTypes)) : Collections.emptyList();
+    }
+
+    /**
+     * 创建无扰动的实例（每个副本与模板相同）
+     *
+     * @return 无扰动实例
+     */
+    public static ScenarioPerturbation none() {
+        return new ScenarioPerturbation(0.0, 0.0, 0.0, null);
+    }
+
+    /**
+     * 是否随机抽取天气
+     *
+     * @return 是否随机抽取
+     */
+    public boolean randomizesWeather() {
+        return !weatherTypes.isEmpty();
+    }
+
+    // ================ Getters ================
+
+    public double getPositionSigma() { return positionSigma; }
+    public double getVelocitySigma() { return velocitySigma; }
+    public double getDetectionRangeSigma() { return detectionRangeSigma; }
+    public List<EnvironmentParameters.WeatherType> getWeatherTypes() { return weatherTypes; }
+
+    @Override
+    public String toString() {
+        return String.format("ScenarioPerturbation{position=%.2fm, velocity=%.2fm/s, range=%.1f%%, weather=%s}",
+                positionSigma, velocitySigma, detectionRangeSigma * 100, weatherTypes);
+    }
+}
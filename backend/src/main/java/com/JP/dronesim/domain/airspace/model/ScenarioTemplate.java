@@ -0,0 +1,310 @@
+package com.JP.dronesim.domain.airspace.model;
+
+import com.JP.dronesim.domain.airspace.model.geofence.GeofenceZone;
+import com.JP.dronesim.domain.airspace.model.terrain.VoxelOccupancyGrid;
+import com.JP.dronesim.domain.common.enums.SpatialIndexType;
+import com.JP.dronesim.domain.common.enums.UAVStatus;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.common.valueobjects.Velocity;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import com.JP.dronesim.domain.uav.model.Waypoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 场景模板
+ * 在某一时刻对空域做的深拷贝快照（边界、步长、天气、围栏、障碍物、无人机与设备），
+ * 可按随机扰动反复实例化出相互独立的空域副本，供蒙特卡洛重复仿真使用。
+ * 模板内的无人机与设备原型不参与任何仿真，实例化只读取原型，可在多个线程中并发进行；
+ * 围栏与障碍物栅格为只读数据，在副本之间共享。
+ * 副本保留原实体ID与句柄布局（含空闲句柄），无扰动实例化的空域与原空域的仿真结果逐位一致
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class ScenarioTemplate {
+
+    /**
+     * 空域名称
+     */
+    private final String name;
+
+    /**
+     * 空域边界
+     */
+    private final double minX, minY, minZ, maxX, maxY, maxZ;
+
+    /**
+     * 无人机空间索引类型
+     */
+    private final SpatialIndexType indexType;
+
+    /**
+     * 时间步长（秒）
+     */
+    private final double stepSize;
+
+    /**
+     * 天气
+     */
+    private final EnvironmentParameters.WeatherType weatherType;
+
+    /**
+     * 障碍物栅格，可为null
+     */
+    private final VoxelOccupancyGrid obstacleGrid;
+
+    /**
+     * 地理围栏
+     */
+    private final List<GeofenceZone> geofences;
+
+    /**
+     * 无人机原型，按句柄排序
+     */
+    private final List<UAV> uavPrototypes;
+
+    /**
+     * 设备原型，按句柄排序
+     */
+    private final List<AbstractProbeDevice> devicePrototypes;
+
+    /**
+     * 无人机原型在原空域中的句柄
+     */
+    private final int[] uavHandles;
+
+    /**
+     * 设备原型在原空域中的句柄
+     */
+    private final int[] deviceHandles;
+
+    /**
+     * 原空域的句柄上限
+     */
+    private final int handleLimit;
+
+    /**
+     * 原空域的空闲句柄栈（栈底在前）
+     */
+    private final int[] freeHandles;
+
+    /**
+     * 占位句柄ID前缀
+     */
+    private static final String PLACEHOLDER_PREFIX = "~reserved:";
+
+    /**
+     * 构造函数
+     *
+     * @param airspace 空域
+     */
+    private ScenarioTemplate(Airspace airspace) {
+        this.name = airspace.getName();
+        this.minX = airspace.getMinX();
+        this.minY = airspace.getMinY();
+        this.minZ = airspace.getMinZ();
+        this.maxX = airspace.getMaxX();
+        this.maxY = airspace.getMaxY();
+        this.maxZ = airspace.getMaxZ();
+        this.indexType = airspace.getSpatialIndexType();
+        this.stepSize = airspace.getTimeStep().getStepSize();
+        this.weatherType = airspace.getEnvironmentParameters().getWeatherType();
+        this.obstacleGrid = airspace.getObstacleGrid();
+        this.geofences = Collections.unmodifiableList(new ArrayList<>(airspace.getGeofenceRegistry().getZones()));
+
+        // 按句柄排序，使实例化后的句柄分配与原空域一致
+        List<UAV> uavs = new ArrayList<>(airspace.getUAVs().values());
+        uavs.sort(Comparator.comparingInt(uav -> airspace.getEntityHandle(uav.getId())));
+        List<UAV> uavCopies = new ArrayList<>(uavs.size());
+        this.uavHandles = new int[uavs.size()];
+        for (int i = 0; i < uavs.size(); i++) {
+            UAV uav = uavs.get(i);
+            uavCopies.add(uav.replicate(uav.getCurrentState()));
+            uavHandles[i] = airspace.getEntityHandle(uav.getId());
+        }
+        this.uavPrototypes = Collections.unmodifiableList(uavCopies);
+
+        List<AbstractProbeDevice> devices = new ArrayList<>(airspace.getProbeDevices().values());
+        devices.sort(Comparator.comparingInt(device -> airspace.getEntityHandle(device.getId())));
+        List<AbstractProbeDevice> deviceCopies = new ArrayList<>(devices.size());
+        this.deviceHandles = new int[devices.size()];
+        for (int i = 0; i < devices.size(); i++) {
+            AbstractProbeDevice device = devices.get(i);
+            deviceCopies.add(device.replicate());
+            deviceHandles[i] = airspace.getEntityHandle(device.getId());
+        }
+        this.devicePrototypes = Collections.unmodifiableList(deviceCopies);
+        this.handleLimit = airspace.getHandleLimit();
+        this.freeHandles = airspace.getFreeHandles();
+    }
+
+    /**
+     * 采集空域的场景模板
+     *
+     * @param airspace 空域（不能处于运行状态）
+     * @return 场景模板
+     * @throws IllegalStateException 如果空域正在运行
+     */
+    public static ScenarioTemplate capture(Airspace airspace) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+        if (airspace.isRunning()) {
+            throw new IllegalStateException("仿真运行中不能采集场景模板");
+        }
+        return new ScenarioTemplate(airspace);
+    }
+
+    /**
+     * 按随机扰动实例化一个空域副本
+     * 无人机位置加噪后限制在空域边界内；只对运动中的无人机加速度噪声，静止的无人机保持静止。
+     * 沿航路飞行的无人机只对速率加噪，并从加噪后的位置重新对准当前航点，保证仍能到达航点。
+     * 副本的随机种子取自随机数发生器，会话序号为0
+     *
+     * @param random 副本专用的随机数发生器
+     * @param perturbation 扰动参数
+     * @return 处于停止状态的新空域
+     */
+    public Airspace instantiate(Random random, ScenarioPerturbation perturbation) {
+        if (random == null || perturbation == null) {
+            throw new IllegalArgumentException("随机数发生器与扰动参数不能为空");
+        }
+
+        Airspace airspace = new Airspace(name, minX, minY, minZ, maxX, maxY, maxZ, indexType, 0);
+        airspace.updateTimeStep(stepSize);
+        List<EnvironmentParameters.WeatherType> weatherTypes = perturbation.getWeatherTypes();
+        airspace.updateEnvironmentParameters(perturbation.randomizesWeather()
+                ? weatherTypes.get(random.nextInt(weatherTypes.size())) : weatherType);
+        if (obstacleGrid != null) {
+            airspace.setObstacleGrid(obstacleGrid);
+        }
+        for (GeofenceZone zone : geofences) {
+            airspace.addGeofence(zone);
+        }
+
+        List<UAV> uavs = new ArrayList<>(uavPrototypes.size());
+        for (UAV prototype : uavPrototypes) {
+            uavs.add(prototype.replicate(perturbState(prototype, random, perturbation)));
+        }
+        List<AbstractProbeDevice> devices = new ArrayList<>(devicePrototypes.size());
+        for (AbstractProbeDevice prototype : devicePrototypes) {
+            AbstractProbeDevice device = prototype.replicate();
+            double sigma = perturbation.getDetectionRangeSigma();
+            if (sigma > 0) {
+                // 截断在±3σ内，保证探测距离为正
+                double factor = 1 + sigma * Math.max(-3.0, Math.min(3.0, random.nextGaussian()));
+                device.setDetectionRange(prototype.getDetectionRange() * factor);
+            }
+            devices.add(device);
+        }
+        airspace.reseed(random.nextLong(), 0L);
+
+        // 按原句柄依次加入实体，空缺句柄先占位，最后按原空闲栈顺序释放，
+        // 使副本的句柄与此后新实体的句柄分配都与原空域一致
+        int nextUAV = 0;
+        int nextDevice = 0;
+        for (int handle = 0; handle < handleLimit; handle++) {
+            if (nextUAV < uavHandles.length && uavHandles[nextUAV] == handle) {
+                airspace.addUAV(uavs.get(nextUAV++));
+            } else if (nextDevice < deviceHandles.length && deviceHandles[nextDevice] == handle) {
+                airspace.addProbeDevice(devices.get(nextDevice++));
+            } else {
+                airspace.reserveHandle(PLACEHOLDER_PREFIX + handle);
+            }
+        }
+        for (int handle : freeHandles) {
+            airspace.releaseHandle(PLACEHOLDER_PREFIX + handle);
+        }
+        return airspace;
+    }
+
+    /**
+     * 对无人机初始运动状态加噪
+     *
+     * @param prototype 无人机原型
+     * @param random 随机数发生器
+     * @param perturbation 扰动参数
+     * @return 加噪后的状态
+     */
+    private UAVState perturbState(UAV prototype, Random random, ScenarioPerturbation perturbation) {
+        UAVState state = prototype.getCurrentState();
+        Position position = state.getPosition();
+        Velocity velocity = state.getVelocity();
+        double positionSigma = perturbation.getPositionSigma();
+        double velocitySigma = perturbation.getVelocitySigma();
+        if (positionSigma <= 0 && velocitySigma <= 0) {
+            return state;
+        }
+
+        if (positionSigma > 0) {
+            position = new Position(
+                    clamp(position.getX() + positionSigma * random.nextGaussian(), minX, maxX),
+                    clamp(position.getY() + positionSigma * random.nextGaussian(), minY, maxY),
+                    clamp(position.getZ() + positionSigma * random.nextGaussian(), minZ, maxZ));
+        }
+        boolean moving = velocity.getVx() != 0 || velocity.getVy() != 0 || velocity.getVz() != 0;
+        Waypoint target = prototype.getStatus() == UAVStatus.MOVING ? prototype.getCurrentWaypoint() : null;
+        if (moving && target != null) {
+            double speed = velocity.getMagnitude();
+            if (velocitySigma > 0) {
+                speed = clamp(speed + velocitySigma * random.nextGaussian(), 0.1 * speed, prototype.getMaxSpeed());
+            }
+            double dx = target.getPosition().getX() - position.getX();
+            double dy = target.getPosition().getY() - position.getY();
+            double dz = target.getPosition().getZ() - position.getZ();
+            double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            if (distance > 0) {
+                velocity = new Velocity(dx / distance * speed, dy / distance * speed, dz / distance * speed);
+            }
+        } else if (velocitySigma > 0 && moving) {
+            velocity = new Velocity(
+                    velocity.getVx() + velocitySigma * random.nextGaussian(),
+                    velocity.getVy() + velocitySigma * random.nextGaussian(),
+                    velocity.getVz() + velocitySigma * random.nextGaussian());
+        }
+        return state.updateMotionState(position, state.getOrientation(), velocity, state.getAcceleration());
+    }
+
+    /**
+     * 将数值限制在区间内
+     *
+     * @param value 数值
+     * @param min 下界
+     * @param max 上界
+     * @return 限制后的数值
+     */
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * 获取无人机数量
+     *
+     * @return 无人机数量
+     */
+    public int getUAVCount() {
+        return uavPrototypes.size();
+    }
+
+    /**
+     * 获取设备原型（只读，不得参与仿真）
+     *
+     * @return 设备原型列表
+     */
+    public List<AbstractProbeDevice> getDevicePrototypes() {
+        return devicePrototypes;
+    }
+
+    // ================ Getters ================
+
+    public String getName() { return name; }
+    public double getStepSize() { return stepSize; }
+    public EnvironmentParameters.WeatherType getWeatherType() { return weatherType; }
+}
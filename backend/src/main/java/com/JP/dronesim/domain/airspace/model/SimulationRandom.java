@@ -0,0 +1,107 @@
+package com.JP.dronesim.domain.airspace.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * 仿真随机源
+ * 由空域种子与仿真会话序号确定的根，按流名称派生相互独立的{@link SplittableRandom}。
+ * 派生只取决于（种子, 会话, 流名称），与派生顺序、线程调度无关，
+ * 因此每个设备可以持有自己的随机流，在并行探测阶段各自取数而结果仍可复现。
+ * 实体与事件ID也从随机流生成，替代UUID.randomUUID()
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public final class SimulationRandom {
+
+    /**
+     * 黄金分割常数，用于SplitMix64的序列增量
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * 种子
+     */
+    private final long seed;
+
+    /**
+     * 会话序号
+     */
+    private final long session;
+
+    /**
+     * 派生根
+     */
+    private final long root;
+
+    /**
+     * 构造函数
+     *
+     * @param seed 种子
+     * @param session 会话序号
+     */
+    public SimulationRandom(long seed, long session) {
+        this.seed = seed;
+        this.session = session;
+        this.root = mix(mix(seed) + GOLDEN_GAMMA * (session + 1));
+    }
+
+    /**
+     * 派生指定名称的随机流
+     *
+     * @param name 流名称（如设备ID）
+     * @return 新的随机流，每次调用都从相同状态开始
+     */
+    public SplittableRandom stream(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("随机流名称不能为空");
+        }
+        return new SplittableRandom(mix(root ^ hash64(name)));
+    }
+
+    /**
+     * 从随机流生成UUID格式的ID（版本4格式）
+     *
+     * @param random 随机流
+     * @return ID字符串
+     */
+    public static String nextId(SplittableRandom random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least).toString();
+    }
+
+    /**
+     * SplitMix64终混函数
+     *
+     * @param z 输入
+     * @return 混合后的值
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 字符串的64位FNV-1a哈希（按UTF-8字节，与JVM实现无关）
+     *
+     * @param name 字符串
+     * @return 哈希值
+     */
+    private static long hash64(String name) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // ================ Getters ================
+
+    public long getSeed() { return seed; }
+    public long getSession() { return session; }
+}
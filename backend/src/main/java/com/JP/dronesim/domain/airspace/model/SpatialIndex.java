@@ -1,13 +1,34 @@
 package com.JP.dronesim.domain.airspace.model;
 
+import com.JP.dronesim.domain.airspace.model.spatial.BoxShape;
+import com.JP.dronesim.domain.airspace.model.spatial.CapsuleShape;
+import com.JP.dronesim.domain.airspace.model.spatial.ConeShape;
+import com.JP.dronesim.domain.airspace.model.spatial.EntityRegistry;
+import com.JP.dronesim.domain.airspace.model.spatial.HandleBuffer;
+import com.JP.dronesim.domain.airspace.model.spatial.LooseOctree;
+import com.JP.dronesim.domain.airspace.model.spatial.SpatialLayer;
+import com.JP.dronesim.domain.airspace.model.spatial.SpatialShape;
+import com.JP.dronesim.domain.airspace.model.spatial.SphereShape;
+import com.JP.dronesim.domain.airspace.model.spatial.StaticKdTree;
+import com.JP.dronesim.domain.airspace.model.spatial.UniformGrid;
+import com.JP.dronesim.domain.common.enums.EntityCategory;
+import com.JP.dronesim.domain.common.enums.SpatialIndexType;
 import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.common.valueobjects.Velocity;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
 
 /**
- * 简单的空间索引实现
- * 用于快速查找空域中的实体位置
+ * 空间索引
+ * 用于快速查找空域中的实体位置，按实体类别分为两层：
+ * 动态层（无人机）默认为以空域边界为根范围的松散八叉树，密集集群可改用均匀网格，两者都适合每步更新；
+ * 静态层（探测设备）为批量构建的KD树，仅在部署、移除或设备位置改变后重建。
+ * 两层共享同一实体注册表，实体在加入时分配整数句柄，坐标与速度保存在注册表的列数组中；
+ * 以句柄为参数的方法供仿真循环使用，以字符串ID为参数的方法供对外接口使用。
+ * 查询方法可通过实体类别选择索引层，未指定时查询全部层。
  *
  * @author JP Team
  * @version 1.0
@@ -15,9 +36,19 @@ import java.util.stream.Collectors;
 public class SpatialIndex {
 
     /**
-     * 实体位置映射
+     * 实体注册表（句柄分配与列式坐标存储）
      */
-    private final Map<String, Position> entityPositions;
+    private final EntityRegistry registry;
+
+    /**
+     * 动态层（无人机）
+     */
+    private final SpatialLayer dynamicLayer;
+
+    /**
+     * 静态层（探测设备）
+     */
+    private final SpatialLayer staticLayer;
 
     /**
      * 空域边界最小/最大坐标
@@ -25,7 +56,12 @@ public class SpatialIndex {
     private final double minX, minY, minZ, maxX, maxY, maxZ;
 
     /**
-     * 构造函数
+     * 动态层索引类型
+     */
+    private final SpatialIndexType indexType;
+
+    /**
+     * 构造函数（动态层使用松散八叉树）
      *
      * @param minX 最小X
      * @param minY 最小Y
@@ -35,30 +71,81 @@ public class SpatialIndex {
      * @param maxZ 最大Z
      */
     public SpatialIndex(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this(minX, minY, minZ, maxX, maxY, maxZ, SpatialIndexType.OCTREE, 0);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param minX 最小X
+     * @param minY 最小Y
+     * @param minZ 最小Z
+     * @param maxX 最大X
+     * @param maxY 最大Y
+     * @param maxZ 最大Z
+     * @param indexType 动态层索引类型，为null时使用松散八叉树
+     * @param gridCellSize 网格边长（米），仅网格模式使用，不大于0时按空域范围自动选择
+     */
+    public SpatialIndex(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                        SpatialIndexType indexType, double gridCellSize) {
         this.minX = minX;
         this.minY = minY;
         this.minZ = minZ;
         this.maxX = maxX;
         this.maxY = maxY;
         this.maxZ = maxZ;
-        this.entityPositions = new HashMap<>();
+        this.registry = new EntityRegistry();
+        this.indexType = indexType != null ? indexType : SpatialIndexType.OCTREE;
+        if (this.indexType == SpatialIndexType.GRID) {
+            double cellSize = gridCellSize > 0 ? gridCellSize :
+                    UniformGrid.chooseCellSize(minX, minY, minZ, maxX, maxY, maxZ, 0);
+            this.dynamicLayer = new UniformGrid(registry, minX, minY, minZ, maxX, maxY, maxZ, cellSize);
+        } else {
+            this.dynamicLayer = new LooseOctree(registry, minX, minY, minZ, maxX, maxY, maxZ);
+        }
+        this.staticLayer = new StaticKdTree(registry);
+    }
+
+    /**
+     * 添加实体位置（加入动态层）
+     *
+     * @param entityId 实体ID
+     * @param position 位置
+     * @return 实体句柄
+     */
+    public int addEntity(String entityId, Position position) {
+        return addEntity(entityId, position, EntityCategory.UAV);
     }
 
     /**
-     * 添加实体位置
+     * 添加实体位置到指定索引层
      *
      * @param entityId 实体ID
      * @param position 位置
+     * @param layer 索引层（UAV为动态层，PROBE_DEVICE为静态层）
+     * @return 实体句柄
      */
-    public void addEntity(String entityId, Position position) {
+    public int addEntity(String entityId, Position position, EntityCategory layer) {
         if (entityId == null || entityId.trim().isEmpty()) {
             throw new IllegalArgumentException("实体ID不能为空");
         }
         if (position == null) {
             throw new IllegalArgumentException("位置不能为空");
         }
+        if (layer == null || layer == EntityCategory.ALL) {
+            throw new IllegalArgumentException("实体必须加入具体的索引层");
+        }
 
-        entityPositions.put(entityId, position);
+        int handle = registry.register(entityId);
+        registry.setPosition(handle, position);
+        SpatialLayer target = layerOf(layer);
+        if (target != staticLayer) {
+            staticLayer.remove(handle);
+        } else {
+            dynamicLayer.remove(handle);
+        }
+        target.insert(handle);
+        return handle;
     }
 
     /**
@@ -75,9 +162,52 @@ public class SpatialIndex {
             throw new IllegalArgumentException("新位置不能为空");
         }
 
-        if (entityPositions.containsKey(entityId)) {
-            entityPositions.put(entityId, newPosition);
+        int handle = registry.handleOf(entityId);
+        if (handle >= 0) {
+            moveEntity(handle, newPosition);
+        }
+    }
+
+    /**
+     * 按句柄更新实体位置与速度
+     *
+     * @param handle 实体句柄
+     * @param newPosition 新位置
+     * @param velocity 速度，为null时保持不变
+     */
+    public void updateEntityState(int handle, Position newPosition, Velocity velocity) {
+        if (!registry.isAlive(handle)) {
+            throw new IllegalArgumentException("实体句柄无效: " + handle);
+        }
+        if (newPosition == null) {
+            throw new IllegalArgumentException("新位置不能为空");
+        }
+
+        if (velocity != null) {
+            registry.setVelocity(handle, velocity.getVx(), velocity.getVy(), velocity.getVz());
+        }
+        moveEntity(handle, newPosition);
+    }
+
+    /**
+     * 按句柄以分量形式更新实体位置与速度
+     * 供逐步批量同步使用，不创建位置/速度值对象
+     *
+     * @param handle 实体句柄
+     * @param x X坐标
+     * @param y Y坐标
+     * @param z Z坐标
+     * @param vx X方向速度
+     * @param vy Y方向速度
+     * @param vz Z方向速度
+     */
+    public void updateEntityState(int handle, double x, double y, double z, double vx, double vy, double vz) {
+        if (!registry.isAlive(handle)) {
+            throw new IllegalArgumentException("实体句柄无效: " + handle);
         }
+
+        registry.setVelocity(handle, vx, vy, vz);
+        moveEntity(handle, x, y, z);
     }
 
     /**
@@ -87,7 +217,11 @@ public class SpatialIndex {
      */
     public void removeEntity(String entityId) {
         if (entityId != null) {
-            entityPositions.remove(entityId);
+            int handle = registry.release(entityId);
+            if (handle >= 0) {
+                dynamicLayer.remove(handle);
+                staticLayer.remove(handle);
+            }
         }
     }
 
@@ -98,7 +232,46 @@ public class SpatialIndex {
      * @return 位置，如果不存在则返回null
      */
     public Position getPosition(String entityId) {
-        return entityPositions.get(entityId);
+        int handle = registry.handleOf(entityId);
+        return handle >= 0 ? registry.positionOf(handle) : null;
+    }
+
+    /**
+     * 获取实体句柄
+     *
+     * @param entityId 实体ID
+     * @return 句柄，不存在返回-1
+     */
+    public int getHandle(String entityId) {
+        return registry.handleOf(entityId);
+    }
+
+    /**
+     * 获取句柄对应的实体ID
+     *
+     * @param handle 实体句柄
+     * @return 实体ID，无效句柄返回null
+     */
+    public String getEntityId(int handle) {
+        return registry.idOf(handle);
+    }
+
+    /**
+     * 获取动态层索引类型
+     *
+     * @return 索引类型
+     */
+    public SpatialIndexType getIndexType() {
+        return indexType;
+    }
+
+    /**
+     * 获取实体注册表（只读使用，坐标更新须经由本索引）
+     *
+     * @return 实体注册表
+     */
+    public EntityRegistry getRegistry() {
+        return registry;
     }
 
     /**
@@ -109,6 +282,18 @@ public class SpatialIndex {
      * @return 范围内的实体ID列表
      */
     public List<String> queryInRange(Position center, double radius) {
+        return queryInRange(center, radius, EntityCategory.ALL);
+    }
+
+    /**
+     * 在指定索引层中查询范围内的实体
+     *
+     * @param center 查询中心点
+     * @param radius 查询半径
+     * @param layer 索引层
+     * @return 范围内的实体ID列表
+     */
+    public List<String> queryInRange(Position center, double radius, EntityCategory layer) {
         if (center == null) {
             throw new IllegalArgumentException("查询中心点不能为空");
         }
@@ -116,10 +301,7 @@ public class SpatialIndex {
             throw new IllegalArgumentException("查询半径必须大于0");
         }
 
-        return entityPositions.entrySet().stream()
-                .filter(entry -> calculateDistance(center, entry.getValue()) <= radius)
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        return queryIds(new SphereShape(center.getX(), center.getY(), center.getZ(), radius), layer);
     }
 
     /**
@@ -135,20 +317,123 @@ public class SpatialIndex {
      */
     public List<String> queryInBox(double minX, double minY, double minZ,
                                   double maxX, double maxY, double maxZ) {
-        return entityPositions.entrySet().stream()
-                .filter(entry -> {
-                    Position pos = entry.getValue();
-                    return pos.getX() >= minX && pos.getX() <= maxX &&
-                           pos.getY() >= minY && pos.getY() <= maxY &&
-                           pos.getZ() >= minZ && pos.getZ() <= maxZ;
-                })
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
-    }
-    
+        return queryInBox(minX, minY, minZ, maxX, maxY, maxZ, EntityCategory.ALL);
+    }
+
+    /**
+     * 在指定索引层中查询矩形区域内的实体
+     *
+     * @param minX 最小X坐标
+     * @param minY 最小Y坐标
+     * @param minZ 最小Z坐标
+     * @param maxX 最大X坐标
+     * @param maxY 最大Y坐标
+     * @param maxZ 最大Z坐标
+     * @param layer 索引层
+     * @return 区域内的实体ID列表
+     */
+    public List<String> queryInBox(double minX, double minY, double minZ,
+                                  double maxX, double maxY, double maxZ, EntityCategory layer) {
+        return queryIds(new BoxShape(minX, minY, minZ, maxX, maxY, maxZ), layer);
+    }
+
+    /**
+     * 查询圆锥视场内的实体
+     * 按节点包围盒整体裁剪，只对与圆锥相交的节点逐点判定
+     *
+     * @param apex 圆锥顶点
+     * @param azimuth 轴向方位角（度）
+     * @param elevation 轴向仰角（度，向上为正）
+     * @param halfAngle 半锥角（度，0-180）
+     * @param range 作用距离（米）
+     * @return 视场内的实体ID列表
+     */
+    public List<String> queryInCone(Position apex, double azimuth, double elevation,
+                                    double halfAngle, double range) {
+        return queryInCone(apex, azimuth, elevation, halfAngle, range, EntityCategory.ALL);
+    }
+
+    /**
+     * 在指定索引层中查询圆锥视场内的实体
+     *
+     * @param apex 圆锥顶点
+     * @param azimuth 轴向方位角（度）
+     * @param elevation 轴向仰角（度，向上为正）
+     * @param halfAngle 半锥角（度，0-180）
+     * @param range 作用距离（米）
+     * @param layer 索引层
+     * @return 视场内的实体ID列表
+     */
+    public List<String> queryInCone(Position apex, double azimuth, double elevation,
+                                    double halfAngle, double range, EntityCategory layer) {
+        return queryIds(coneShape(apex, azimuth, elevation, halfAngle, range), layer);
+    }
+
+    /**
+     * 查询圆锥视场内的实体句柄
+     *
+     * @param apex 圆锥顶点
+     * @param azimuth 轴向方位角（度）
+     * @param elevation 轴向仰角（度，向上为正）
+     * @param halfAngle 半锥角（度，0-180）
+     * @param range 作用距离（米）
+     * @return 按句柄升序排列的实体句柄
+     */
+    public int[] queryHandlesInCone(Position apex, double azimuth, double elevation,
+                                    double halfAngle, double range) {
+        return queryHandlesInCone(apex, azimuth, elevation, halfAngle, range, EntityCategory.ALL);
+    }
+
+    /**
+     * 在指定索引层中查询圆锥视场内的实体句柄
+     *
+     * @param apex 圆锥顶点
+     * @param azimuth 轴向方位角（度）
+     * @param elevation 轴向仰角（度，向上为正）
+     * @param halfAngle 半锥角（度，0-180）
+     * @param range 作用距离（米）
+     * @param layer 索引层
+     * @return 按句柄升序排列的实体句柄
+     */
+    public int[] queryHandlesInCone(Position apex, double azimuth, double elevation,
+                                    double halfAngle, double range, EntityCategory layer) {
+        HandleBuffer buffer = new HandleBuffer();
+        query(coneShape(apex, azimuth, elevation, halfAngle, range), layer, buffer);
+        return buffer.toSortedArray();
+    }
+
+    /**
+     * 查询线段沿途半径范围内（胶囊体）的实体
+     * 半径为0时退化为线段查询
+     *
+     * @param start 线段起点
+     * @param end 线段终点
+     * @param radius 半径（米）
+     * @param layer 索引层
+     * @return 胶囊体内的实体ID列表
+     */
+    public List<String> queryInCapsule(Position start, Position end, double radius, EntityCategory layer) {
+        return queryIds(capsuleShape(start, end, radius), layer);
+    }
+
+    /**
+     * 查询线段沿途半径范围内（胶囊体）的实体句柄
+     *
+     * @param start 线段起点
+     * @param end 线段终点
+     * @param radius 半径（米）
+     * @param layer 索引层
+     * @return 按句柄升序排列的实体句柄
+     */
+    public int[] queryHandlesInCapsule(Position start, Position end, double radius, EntityCategory layer) {
+        HandleBuffer buffer = new HandleBuffer();
+        query(capsuleShape(start, end, radius), layer, buffer);
+        return buffer.toSortedArray();
+    }
+
     /**
      * 查找最近的实体
-     * 
+     *
      * @param position 参考位置
      * @param maxDistance 最大距离
      * @return 最近的实体ID，如果没有找到则返回null
@@ -160,73 +445,134 @@ public class SpatialIndex {
         if (maxDistance <= 0) {
             throw new IllegalArgumentException("最大距离必须大于0");
         }
-        
-        String nearestEntity = null;
-        double nearestDistance = Double.MAX_VALUE;
-        
-        for (Map.Entry<String, Position> entry : entityPositions.entrySet()) {
-            double distance = calculateDistance(position, entry.getValue());
-            if (distance <= maxDistance && distance < nearestDistance) {
-                nearestDistance = distance;
-                nearestEntity = entry.getKey();
-            }
+
+        int[] nearest = findKNearestHandles(position, 1, maxDistance, null, EntityCategory.ALL);
+        return nearest.length > 0 ? registry.idOf(nearest[0]) : null;
+    }
+
+    /**
+     * 查找最近的k个实体
+     *
+     * @param position 参考位置
+     * @param k 最多返回的实体数
+     * @param maxDistance 最大距离
+     * @param filter 实体ID过滤条件，为null表示不过滤
+     * @return 按距离由近到远排列的实体ID列表
+     */
+    public List<String> findKNearest(Position position, int k, double maxDistance, Predicate<String> filter) {
+        IntPredicate handleFilter = filter == null ? null : handle -> filter.test(registry.idOf(handle));
+        int[] handles = findKNearestHandles(position, k, maxDistance, handleFilter, EntityCategory.ALL);
+        List<String> result = new ArrayList<>(handles.length);
+        for (int handle : handles) {
+            result.add(registry.idOf(handle));
+        }
+        return result;
+    }
+
+    /**
+     * 查找最近的k个实体句柄
+     *
+     * @param position 参考位置
+     * @param k 最多返回的实体数
+     * @param maxDistance 最大距离
+     * @param filter 句柄过滤条件，为null表示不过滤
+     * @return 按距离由近到远排列的实体句柄
+     */
+    public int[] findKNearestHandles(Position position, int k, double maxDistance, IntPredicate filter) {
+        return findKNearestHandles(position, k, maxDistance, filter, EntityCategory.ALL);
+    }
+
+    /**
+     * 在指定索引层中查找最近的k个实体句柄
+     * 查询全部层时分别取两层的前k个，再按距离归并
+     *
+     * @param position 参考位置
+     * @param k 最多返回的实体数
+     * @param maxDistance 最大距离
+     * @param filter 句柄过滤条件，为null表示不过滤
+     * @param layer 索引层
+     * @return 按距离由近到远排列的实体句柄
+     */
+    public int[] findKNearestHandles(Position position, int k, double maxDistance,
+                                     IntPredicate filter, EntityCategory layer) {
+        if (position == null) {
+            throw new IllegalArgumentException("参考位置不能为空");
+        }
+        if (k <= 0) {
+            throw new IllegalArgumentException("返回数量k必须大于0");
         }
-        
-        return nearestEntity;
+        if (maxDistance <= 0) {
+            throw new IllegalArgumentException("最大距离必须大于0");
+        }
+
+        double x = position.getX(), y = position.getY(), z = position.getZ();
+        if (layer == EntityCategory.UAV || layer == EntityCategory.PROBE_DEVICE) {
+            return layerOf(layer).findKNearest(x, y, z, k, maxDistance, filter);
+        }
+
+        int[] dynamicHandles = dynamicLayer.findKNearest(x, y, z, k, maxDistance, filter);
+        int[] staticHandles = staticLayer.findKNearest(x, y, z, k, maxDistance, filter);
+        int[] merged = new int[Math.min(k, dynamicHandles.length + staticHandles.length)];
+        int i = 0, j = 0;
+        for (int n = 0; n < merged.length; n++) {
+            boolean takeDynamic = j >= staticHandles.length || (i < dynamicHandles.length
+                    && registry.distanceSquared(dynamicHandles[i], x, y, z)
+                    <= registry.distanceSquared(staticHandles[j], x, y, z));
+            merged[n] = takeDynamic ? dynamicHandles[i++] : staticHandles[j++];
+        }
+        return merged;
     }
-    
+
     /**
      * 获取所有实体ID
-     * 
+     *
      * @return 实体ID集合
      */
     public Set<String> getAllEntityIds() {
-        return new HashSet<>(entityPositions.keySet());
+        return registry.getEntityIds();
     }
-    
+
     /**
      * 获取实体数量
-     * 
+     *
      * @return 实体数量
      */
     public int getEntityCount() {
-        return entityPositions.size();
+        return dynamicLayer.size() + staticLayer.size();
     }
-    
+
+    /**
+     * 获取指定索引层的实体数量
+     *
+     * @param layer 索引层
+     * @return 实体数量
+     */
+    public int getEntityCount(EntityCategory layer) {
+        return layer == null || layer == EntityCategory.ALL ? getEntityCount() : layerOf(layer).size();
+    }
+
     /**
      * 清空索引
      */
     public void clear() {
-        entityPositions.clear();
+        dynamicLayer.clear();
+        staticLayer.clear();
+        registry.clear();
     }
-    
+
     /**
      * 检查是否包含指定实体
-     * 
+     *
      * @param entityId 实体ID
      * @return 是否包含
      */
     public boolean contains(String entityId) {
-        return entityPositions.containsKey(entityId);
-    }
-    
-    /**
-     * 计算两点之间的距离
-     * 
-     * @param pos1 位置1
-     * @param pos2 位置2
-     * @return 距离
-     */
-    private double calculateDistance(Position pos1, Position pos2) {
-        double dx = pos1.getX() - pos2.getX();
-        double dy = pos1.getY() - pos2.getY();
-        double dz = pos1.getZ() - pos2.getZ();
-        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+        return registry.handleOf(entityId) >= 0;
     }
-    
+
     /**
      * 检查位置是否在边界内
-     * 
+     *
      * @param pos 位置
      * @return 是否在边界内
      */
@@ -236,9 +582,120 @@ public class SpatialIndex {
                pos.getZ() >= minZ && pos.getZ() <= maxZ;
     }
 
+    /**
+     * 构造圆锥查询形状
+     *
+     * @param apex 圆锥顶点
+     * @param azimuth 轴向方位角（度）
+     * @param elevation 轴向仰角（度）
+     * @param halfAngle 半锥角（度）
+     * @param range 作用距离（米）
+     * @return 圆锥形状
+     */
+    private ConeShape coneShape(Position apex, double azimuth, double elevation,
+                                double halfAngle, double range) {
+        if (apex == null) {
+            throw new IllegalArgumentException("圆锥顶点不能为空");
+        }
+        if (range <= 0) {
+            throw new IllegalArgumentException("作用距离必须大于0");
+        }
+        return new ConeShape(apex.getX(), apex.getY(), apex.getZ(), azimuth, elevation, halfAngle, range);
+    }
+
+    /**
+     * 构造胶囊查询形状
+     *
+     * @param start 线段起点
+     * @param end 线段终点
+     * @param radius 半径（米）
+     * @return 胶囊形状
+     */
+    private CapsuleShape capsuleShape(Position start, Position end, double radius) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("线段端点不能为空");
+        }
+        if (radius < 0) {
+            throw new IllegalArgumentException("查询半径不能为负数");
+        }
+        return new CapsuleShape(start.getX(), start.getY(), start.getZ(),
+                end.getX(), end.getY(), end.getZ(), radius);
+    }
+
+    /**
+     * 写入新坐标并同步所在索引层
+     * 静态层坐标未变化时不触发重建
+     *
+     * @param handle 实体句柄
+     * @param newPosition 新位置
+     */
+    private void moveEntity(int handle, Position newPosition) {
+        moveEntity(handle, newPosition.getX(), newPosition.getY(), newPosition.getZ());
+    }
+
+    /**
+     * 按分量写入新坐标并同步所在索引层
+     *
+     * @param handle 实体句柄
+     * @param x X坐标
+     * @param y Y坐标
+     * @param z Z坐标
+     */
+    private void moveEntity(int handle, double x, double y, double z) {
+        if (staticLayer.contains(handle)) {
+            if (registry.x(handle) == x && registry.y(handle) == y && registry.z(handle) == z) {
+                return;
+            }
+            registry.setPosition(handle, x, y, z);
+            staticLayer.move(handle);
+            return;
+        }
+        registry.setPosition(handle, x, y, z);
+        dynamicLayer.move(handle);
+    }
+
+    /**
+     * 获取类别对应的索引层
+     *
+     * @param layer 实体类别（UAV或PROBE_DEVICE）
+     * @return 索引层
+     */
+    private SpatialLayer layerOf(EntityCategory layer) {
+        return layer == EntityCategory.PROBE_DEVICE ? staticLayer : dynamicLayer;
+    }
+
+    /**
+     * 在选定的索引层中查询形状内的实体
+     *
+     * @param shape 查询形状
+     * @param layer 索引层，为null或ALL时查询全部层
+     * @param consumer 命中实体句柄的接收器
+     */
+    private void query(SpatialShape shape, EntityCategory layer, IntConsumer consumer) {
+        if (layer != EntityCategory.PROBE_DEVICE) {
+            dynamicLayer.query(shape, consumer);
+        }
+        if (layer != EntityCategory.UAV) {
+            staticLayer.query(shape, consumer);
+        }
+    }
+
+    /**
+     * 查询形状内的实体ID
+     *
+     * @param shape 查询形状
+     * @param layer 索引层
+     * @return 实体ID列表
+     */
+    private List<String> queryIds(SpatialShape shape, EntityCategory layer) {
+        List<String> result = new ArrayList<>();
+        query(shape, layer, handle -> result.add(registry.idOf(handle)));
+        return result;
+    }
+
     @Override
     public String toString() {
-        return String.format("SpatialIndex{entities=%d, bounds=[%.1f,%.1f,%.1f] to [%.1f,%.1f,%.1f]}", 
-                           entityPositions.size(), minX, minY, minZ, maxX, maxY, maxZ);
+        return String.format("SpatialIndex{type=%s, uavs=%d, devices=%d, bounds=[%.1f,%.1f,%.1f] to [%.1f,%.1f,%.1f]}",
+                           indexType, dynamicLayer.size(), staticLayer.size(), minX, minY, minZ, maxX, maxY, maxZ);
     }
-}
\ No newline at end of file
+}
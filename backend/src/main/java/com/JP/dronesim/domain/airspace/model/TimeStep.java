@@ -32,6 +32,12 @@ public class TimeStep {
      */
     private final double elapsedTime;
     
+    /**
+     * 仿真时间零点
+     * 仿真时间从固定零点开始计，不取墙钟时间，使两次运行的时间戳可以逐位比较
+     */
+    public static final LocalDateTime EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+    
     /**
      * 默认时间步长（秒）
      */
@@ -80,8 +86,7 @@ public class TimeStep {
      * @return 默认时间步长对象
      */
     public static TimeStep createDefault() {
-        LocalDateTime now = LocalDateTime.now();
-        return new TimeStep(DEFAULT_STEP_SIZE, now, now, 0.0);
+        return new TimeStep(DEFAULT_STEP_SIZE, EPOCH, EPOCH, 0.0);
     }
     
     /**
@@ -91,8 +96,7 @@ public class TimeStep {
      * @return 时间步长对象
      */
     public static TimeStep create(double stepSize) {
-        LocalDateTime now = LocalDateTime.now();
-        return new TimeStep(stepSize, now, now, 0.0);
+        return new TimeStep(stepSize, EPOCH, EPOCH, 0.0);
     }
     
     /**
@@ -132,13 +136,12 @@ public class TimeStep {
     }
     
     /**
-     * 重置仿真时间
+     * 重置仿真时间（回到仿真开始时间）
      * 
      * @return 重置后的时间步长对象
      */
     public TimeStep reset() {
-        LocalDateTime now = LocalDateTime.now();
-        return new TimeStep(stepSize, now, now, 0.0);
+        return new TimeStep(stepSize, simulationStartTime, simulationStartTime, 0.0);
     }
     
     /**
@@ -0,0 +1,328 @@
+package com.JP.dronesim.domain.airspace.model.events;
+
+import com.JP.dronesim.domain.common.enums.ConflictType;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 冲突事件值对象
+ * 表示两架无人机之间发生间隔丧失或预测冲突时产生的事件信息
+ * 包含仿真时间戳、冲突双方、双方位置、当前距离与最近接近点信息
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class ConflictEvent {
+
+    /**
+     * 事件唯一标识符
+     */
+    private final String eventId;
+
+    /**
+     * 冲突事件发生的仿真时间
+     */
+    private final LocalDateTime timestamp;
+
+    /**
+     * 冲突类型
+     */
+    private final ConflictType conflictType;
+
+    /**
+     * 冲突一方无人机ID（按ID字典序较小的一方）
+     */
+    private final String uavIdA;
+
+    /**
+     * 冲突另一方无人机ID
+     */
+    private final String uavIdB;
+
+    /**
+     * 事件发生时A的位置
+     */
+    private final Position positionA;
+
+    /**
+     * 事件发生时B的位置
+     */
+    private final Position positionB;
+
+    /**
+     * 事件发生时双方距离（米）
+     */
+    private final double currentDistance;
+
+    /**
+     * 前瞻时间内的最近接近距离（米）
+     */
+    private final double minimumDistance;
+
+    /**
+     * 距最近接近点的时间（秒）
+     */
+    private final double timeToClosestApproach;
+
+    /**
+     * 判定使用的最小间隔（米）
+     */
+    private final double separation;
+
+    /**
+     * 构造函数
+     *
+     * @param eventId 事件唯一标识符
+     * @param timestamp 事件仿真时间
+     * @param conflictType 冲突类型
+     * @param uavIdA 无人机A的ID
+     * @param uavIdB 无人机B的ID
+     * @param positionA A的位置
+     * @param positionB B的位置
+     * @param currentDistance 当前距离
+     * @param minimumDistance 最近接近距离
+     * @param timeToClosestApproach 距最近接近点的时间
+     * @param separation 最小间隔
+     */
+    public ConflictEvent(String eventId, LocalDateTime timestamp, ConflictType conflictType,
+                         String uavIdA, String uavIdB, Position positionA, Position positionB,
+                         double currentDistance, double minimumDistance, double timeToClosestApproach,
+                         double separation) {
+        this.eventId = eventId;
+        this.timestamp = timestamp;
+        this.conflictType = conflictType;
+        this.uavIdA = uavIdA;
+        this.uavIdB = uavIdB;
+        this.positionA = positionA;
+        this.positionB = positionB;
+        this.currentDistance = currentDistance;
+        this.minimumDistance = minimumDistance;
+        this.timeToClosestApproach = timeToClosestApproach;
+        this.separation = separation;
+
+        // 参数验证
+        validateParameters();
+    }
+
+    // ================ 工厂方法 ================
+
+    /**
+     * 创建冲突事件
+     *
+     * @param eventId 事件ID（取自空域的事件ID随机流）
+     * @param timestamp 事件仿真时间
+     * @param conflictType 冲突类型
+     * @param uavIdA 无人机A的ID
+     * @param uavIdB 无人机B的ID
+     * @param positionA A的位置
+     * @param positionB B的位置
+     * @param currentDistance 当前距离
+     * @param minimumDistance 最近接近距离
+     * @param timeToClosestApproach 距最近接近点的时间
+     * @param separation 最小间隔
+     * @return 冲突事件实例
+     */
+    public static ConflictEvent create(String eventId, LocalDateTime timestamp, ConflictType conflictType,
+                                       String uavIdA, String uavIdB, Position positionA, Position positionB,
+                                       double currentDistance, double minimumDistance,
+                                       double timeToClosestApproach, double separation) {
+        return new ConflictEvent(
+            eventId,
+            timestamp,
+            conflictType,
+            uavIdA,
+            uavIdB,
+            positionA,
+            positionB,
+            currentDistance,
+            minimumDistance,
+            timeToClosestApproach,
+            separation
+        );
+    }
+
+    // ================ 验证方法 ================
+
+    /**
+     * 验证构造参数的有效性
+     *
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    private void validateParameters() {
+        if (eventId == null || eventId.trim().isEmpty()) {
+            throw new IllegalArgumentException("事件ID不能为空");
+        }
+        if (timestamp == null) {
+            throw new IllegalArgumentException("时间戳不能为空");
+        }
+        if (conflictType == null) {
+            throw new IllegalArgumentException("冲突类型不能为空");
+        }
+        if (uavIdA == null || uavIdA.trim().isEmpty() || uavIdB == null || uavIdB.trim().isEmpty()) {
+            throw new IllegalArgumentException("冲突双方无人机ID不能为空");
+        }
+        if (positionA == null || positionB == null) {
+            throw new IllegalArgumentException("冲突双方位置不能为空");
+        }
+        if (currentDistance < 0.0 || minimumDistance < 0.0) {
+            throw new IllegalArgumentException("冲突距离不能为负数");
+        }
+        if (timeToClosestApproach < 0.0) {
+            throw new IllegalArgumentException("最近接近时间不能为负数");
+        }
+        if (separation <= 0.0) {
+            throw new IllegalArgumentException("最小间隔必须大于0");
+        }
+    }
+
+    // ================ 业务方法 ================
+
+    /**
+     * 判断事件是否涉及指定无人机
+     *
+     * @param uavId 无人机ID
+     * @return 是否涉及
+     */
+    public boolean involves(String uavId) {
+        return uavIdA.equals(uavId) || uavIdB.equals(uavId);
+    }
+
+    /**
+     * 获取冲突事件的简要摘要
+     *
+     * @return 事件摘要
+     */
+    public String getSummary() {
+        if (conflictType == ConflictType.LOSS_OF_SEPARATION) {
+            return String.format("UAV [%s] 与 [%s] 间隔丧失，当前距离%.1f米（最小间隔%.1f米）",
+                               uavIdA, uavIdB, currentDistance, separation);
+        }
+        return String.format("UAV [%s] 与 [%s] 预计%.1f秒后最近接近至%.1f米（最小间隔%.1f米）",
+                           uavIdA, uavIdB, timeToClosestApproach, minimumDistance, separation);
+    }
+
+    // ================ Getter方法 ================
+
+    /**
+     * 获取事件ID
+     *
+     * @return 事件唯一标识符
+     */
+    public String getEventId() {
+        return eventId;
+    }
+
+    /**
+     * 获取事件时间戳
+     *
+     * @return 冲突事件发生的仿真时间
+     */
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * 获取冲突类型
+     *
+     * @return 冲突类型
+     */
+    public ConflictType getConflictType() {
+        return conflictType;
+    }
+
+    /**
+     * 获取无人机A的ID
+     *
+     * @return 无人机A的ID
+     */
+    public String getUavIdA() {
+        return uavIdA;
+    }
+
+    /**
+     * 获取无人机B的ID
+     *
+     * @return 无人机B的ID
+     */
+    public String getUavIdB() {
+        return uavIdB;
+    }
+
+    /**
+     * 获取A的位置
+     *
+     * @return 事件发生时A的位置
+     */
+    public Position getPositionA() {
+        return positionA;
+    }
+
+    /**
+     * 获取B的位置
+     *
+     * @return 事件发生时B的位置
+     */
+    public Position getPositionB() {
+        return positionB;
+    }
+
+    /**
+     * 获取当前距离
+     *
+     * @return 事件发生时双方距离（米）
+     */
+    public double getCurrentDistance() {
+        return currentDistance;
+    }
+
+    /**
+     * 获取最近接近距离
+     *
+     * @return 前瞻时间内的最近接近距离（米）
+     */
+    public double getMinimumDistance() {
+        return minimumDistance;
+    }
+
+    /**
+     * 获取距最近接近点的时间
+     *
+     * @return 时间（秒）
+     */
+    public double getTimeToClosestApproach() {
+        return timeToClosestApproach;
+    }
+
+    /**
+     * 获取最小间隔
+     *
+     * @return 判定使用的最小间隔（米）
+     */
+    public double getSeparation() {
+        return separation;
+    }
+
+    // ================ Object方法重写 ================
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ConflictEvent that = (ConflictEvent) o;
+        return Objects.equals(eventId, that.eventId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConflictEvent{id='%s', timestamp=%s, type=%s, uavs='%s'/'%s', " +
+                           "distance=%.1fm, cpa=%.1fm@%.1fs}",
+                           eventId, timestamp, conflictType, uavIdA, uavIdB,
+                           currentDistance, minimumDistance, timeToClosestApproach);
+    }
+}
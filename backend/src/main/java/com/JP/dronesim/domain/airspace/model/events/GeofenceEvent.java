@@ -0,0 +1,253 @@
+package com.JP.dronesim.domain.airspace.model.events;
+
+import com.JP.dronesim.domain.common.enums.GeofenceEventType;
+import com.JP.dronesim.domain.common.enums.ZoneType;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 地理围栏事件值对象
+ * 表示无人机进入或离开禁飞区/限飞区时产生的事件信息
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class GeofenceEvent {
+
+    /**
+     * 事件唯一标识符
+     */
+    private final String eventId;
+
+    /**
+     * 事件发生的仿真时间
+     */
+    private final LocalDateTime timestamp;
+
+    /**
+     * 事件类型（进入/离开）
+     */
+    private final GeofenceEventType eventType;
+
+    /**
+     * 无人机ID
+     */
+    private final String uavId;
+
+    /**
+     * 区域ID
+     */
+    private final String zoneId;
+
+    /**
+     * 区域名称
+     */
+    private final String zoneName;
+
+    /**
+     * 区域类型
+     */
+    private final ZoneType zoneType;
+
+    /**
+     * 事件发生时无人机的位置
+     */
+    private final Position position;
+
+    /**
+     * 构造函数
+     *
+     * @param eventId 事件唯一标识符
+     * @param timestamp 事件仿真时间
+     * @param eventType 事件类型
+     * @param uavId 无人机ID
+     * @param zoneId 区域ID
+     * @param zoneName 区域名称
+     * @param zoneType 区域类型
+     * @param position 无人机位置
+     */
+    public GeofenceEvent(String eventId, LocalDateTime timestamp, GeofenceEventType eventType, String uavId,
+                         String zoneId, String zoneName, ZoneType zoneType, Position position) {
+        this.eventId = eventId;
+        this.timestamp = timestamp;
+        this.eventType = eventType;
+        this.uavId = uavId;
+        this.zoneId = zoneId;
+        this.zoneName = zoneName;
+        this.zoneType = zoneType;
+        this.position = position;
+
+        // 参数验证
+        validateParameters();
+    }
+
+    // ================ 工厂方法 ================
+
+    /**
+     * 创建围栏事件
+     *
+     * @param eventId 事件ID（取自空域的事件ID随机流）
+     * @param timestamp 事件仿真时间
+     * @param eventType 事件类型
+     * @param uavId 无人机ID
+     * @param zoneId 区域ID
+     * @param zoneName 区域名称
+     * @param zoneType 区域类型
+     * @param position 无人机位置
+     * @return 围栏事件实例
+     */
+    public static GeofenceEvent create(String eventId, LocalDateTime timestamp, GeofenceEventType eventType,
+                                       String uavId, String zoneId, String zoneName, ZoneType zoneType,
+                                       Position position) {
+        return new GeofenceEvent(eventId, timestamp, eventType, uavId,
+                zoneId, zoneName, zoneType, position);
+    }
+
+    // ================ 验证方法 ================
+
+    /**
+     * 验证构造参数的有效性
+     *
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    private void validateParameters() {
+        if (eventId == null || eventId.trim().isEmpty()) {
+            throw new IllegalArgumentException("事件ID不能为空");
+        }
+        if (timestamp == null) {
+            throw new IllegalArgumentException("时间戳不能为空");
+        }
+        if (eventType == null) {
+            throw new IllegalArgumentException("围栏事件类型不能为空");
+        }
+        if (uavId == null || uavId.trim().isEmpty()) {
+            throw new IllegalArgumentException("无人机ID不能为空");
+        }
+        if (zoneId == null || zoneId.trim().isEmpty()) {
+            throw new IllegalArgumentException("区域ID不能为空");
+        }
+        if (zoneType == null) {
+            throw new IllegalArgumentException("区域类型不能为空");
+        }
+        if (position == null) {
+            throw new IllegalArgumentException("无人机位置不能为空");
+        }
+    }
+
+    // ================ 业务方法 ================
+
+    /**
+     * 判断是否为进入禁飞区的违规事件
+     *
+     * @return 是否违规
+     */
+    public boolean isViolation() {
+        return eventType == GeofenceEventType.ENTRY && zoneType == ZoneType.NO_FLY;
+    }
+
+    /**
+     * 获取围栏事件的简要摘要
+     *
+     * @return 事件摘要
+     */
+    public String getSummary() {
+        return String.format("UAV [%s] %s%s [%s]", uavId, eventType.getDescription(),
+                zoneType.getDescription(), zoneName);
+    }
+
+    // ================ Getter方法 ================
+
+    /**
+     * 获取事件ID
+     *
+     * @return 事件唯一标识符
+     */
+    public String getEventId() {
+        return eventId;
+    }
+
+    /**
+     * 获取事件时间戳
+     *
+     * @return 事件发生的仿真时间
+     */
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * 获取事件类型
+     *
+     * @return 进入或离开
+     */
+    public GeofenceEventType getEventType() {
+        return eventType;
+    }
+
+    /**
+     * 获取无人机ID
+     *
+     * @return 无人机ID
+     */
+    public String getUavId() {
+        return uavId;
+    }
+
+    /**
+     * 获取区域ID
+     *
+     * @return 区域ID
+     */
+    public String getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * 获取区域名称
+     *
+     * @return 区域名称
+     */
+    public String getZoneName() {
+        return zoneName;
+    }
+
+    /**
+     * 获取区域类型
+     *
+     * @return 区域类型
+     */
+    public ZoneType getZoneType() {
+        return zoneType;
+    }
+
+    /**
+     * 获取无人机位置
+     *
+     * @return 事件发生时无人机的位置
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    // ================ Object方法重写 ================
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GeofenceEvent that = (GeofenceEvent) o;
+        return Objects.equals(eventId, that.eventId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GeofenceEvent{id='%s', timestamp=%s, type=%s, uav='%s', zone='%s'(%s), position=%s}",
+                           eventId, timestamp, eventType, uavId, zoneName, zoneType, position);
+    }
+}
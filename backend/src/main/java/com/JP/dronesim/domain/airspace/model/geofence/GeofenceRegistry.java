@@ -0,0 +1,201 @@
+package com.JP.dronesim.domain.airspace.model.geofence;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 地理围栏区域注册表
+ * 以STR树索引全部区域底面的包围矩形。STR树构建后不可修改，
+ * 因此增删区域只标记失效，下一次查询时一次性批量装载重建；
+ * 查询先按包围矩形粗筛，再用区域的高度带和预处理底面精确判定。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class GeofenceRegistry {
+
+    /**
+     * STR树节点容量
+     */
+    private static final int NODE_CAPACITY = 10;
+
+    /**
+     * 区域集合（键为区域ID）
+     */
+    private final Map<String, GeofenceZone> zones;
+
+    /**
+     * 区域底面索引
+     */
+    private STRtree tree;
+
+    /**
+     * 是否需要重建索引
+     */
+    private boolean dirty;
+
+    /**
+     * 区域集合版本号，每次增删递增
+     */
+    private int version;
+
+    /**
+     * 构造函数
+     */
+    public GeofenceRegistry() {
+        this.zones = new LinkedHashMap<>();
+        this.dirty = true;
+    }
+
+    /**
+     * 添加区域
+     *
+     * @param zone 围栏区域
+     */
+    public synchronized void addZone(GeofenceZone zone) {
+        if (zone == null) {
+            throw new IllegalArgumentException("围栏区域不能为空");
+        }
+        if (zones.containsKey(zone.getId())) {
+            throw new IllegalArgumentException("围栏区域ID已存在: " + zone.getId());
+        }
+        zones.put(zone.getId(), zone);
+        dirty = true;
+        version++;
+    }
+
+    /**
+     * 批量添加区域（只触发一次重建）
+     *
+     * @param newZones 围栏区域
+     */
+    public synchronized void addZones(Collection<GeofenceZone> newZones) {
+        for (GeofenceZone zone : newZones) {
+            if (zone == null) {
+                throw new IllegalArgumentException("围栏区域不能为空");
+            }
+            zones.put(zone.getId(), zone);
+        }
+        dirty = true;
+        version++;
+    }
+
+    /**
+     * 移除区域
+     *
+     * @param zoneId 区域ID
+     * @return 被移除的区域，不存在返回null
+     */
+    public synchronized GeofenceZone removeZone(String zoneId) {
+        GeofenceZone removed = zones.remove(zoneId);
+        if (removed != null) {
+            dirty = true;
+            version++;
+        }
+        return removed;
+    }
+
+    /**
+     * 清空全部区域
+     */
+    public synchronized void clear() {
+        if (!zones.isEmpty()) {
+            zones.clear();
+            dirty = true;
+            version++;
+        }
+    }
+
+    /**
+     * 查询包含指定点的全部区域
+     *
+     * @param x X坐标
+     * @param y Y坐标
+     * @param z Z坐标（NED，向下为正）
+     * @return 包含该点的区域，没有时返回空列表
+     */
+    public List<GeofenceZone> findZonesContaining(double x, double y, double z) {
+        STRtree index = ensureBuilt();
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        List<GeofenceZone> result = new ArrayList<>(2);
+        index.query(new Envelope(x, x, y, y), item -> {
+            GeofenceZone zone = GeofenceZone.class.cast(item);
+            if (zone.contains(x, y, z)) {
+                result.add(zone);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 按ID获取区域
+     *
+     * @param zoneId 区域ID
+     * @return 区域，不存在返回null
+     */
+    public synchronized GeofenceZone getZone(String zoneId) {
+        return zones.get(zoneId);
+    }
+
+    /**
+     * 获取全部区域
+     *
+     * @return 区域列表副本
+     */
+    public synchronized List<GeofenceZone> getZones() {
+        return new ArrayList<>(zones.values());
+    }
+
+    /**
+     * 获取区域数量
+     *
+     * @return 区域数量
+     */
+    public synchronized int size() {
+        return zones.size();
+    }
+
+    /**
+     * 获取区域集合版本号
+     *
+     * @return 版本号
+     */
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    /**
+     * 失效时批量装载重建STR树
+     *
+     * @return 当前索引，没有区域时返回null
+     */
+    private synchronized STRtree ensureBuilt() {
+        if (dirty) {
+            if (zones.isEmpty()) {
+                tree = null;
+            } else {
+                tree = new STRtree(NODE_CAPACITY);
+                for (GeofenceZone zone : zones.values()) {
+                    tree.insert(zone.getEnvelope(), zone);
+                }
+                tree.build();
+            }
+            dirty = false;
+        }
+        return tree;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("GeofenceRegistry{zones=%d, version=%d}", zones.size(), version);
+    }
+}
@@ -0,0 +1,254 @@
+package com.JP.dronesim.domain.airspace.model.geofence;
+
+import com.JP.dronesim.domain.common.enums.ZoneType;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 地理围栏区域
+ * 由水平多边形底面（X北、Y东）和高度带（海拔，向上为正）组成的柱状空间，
+ * 底面在创建时预处理为PreparedGeometry，点包含判定不再重复构建拓扑结构
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class GeofenceZone {
+
+    /**
+     * 共享几何工厂
+     */
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+    /**
+     * 区域唯一标识
+     */
+    private final String id;
+
+    /**
+     * 区域名称
+     */
+    private final String name;
+
+    /**
+     * 区域类型
+     */
+    private final ZoneType type;
+
+    /**
+     * 水平底面多边形
+     */
+    private final Polygon footprint;
+
+    /**
+     * 预处理后的底面，用于快速点包含判定
+     */
+    private final PreparedGeometry preparedFootprint;
+
+    /**
+     * 高度下限（米）
+     */
+    private final double minAltitude;
+
+    /**
+     * 高度上限（米）
+     */
+    private final double maxAltitude;
+
+    /**
+     * 构造函数
+     * 需要可复现的仿真时，ID应取自{@link com.JP.dronesim.domain.airspace.model.Airspace#nextEntityId()}
+     *
+     * @param id 区域ID
+     * @param name 区域名称
+     * @param type 区域类型
+     * @param vertices 底面顶点（每个顶点为{x, y}），首尾可不闭合
+     * @param minAltitude 高度下限（米）
+     * @param maxAltitude 高度上限（米）
+     */
+    public GeofenceZone(String id, String name, ZoneType type, double[][] vertices,
+                        double minAltitude, double maxAltitude) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("区域ID不能为空");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("区域名称不能为空");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("区域类型不能为空");
+        }
+        if (vertices == null || vertices.length < 3) {
+            throw new IllegalArgumentException("区域底面至少需要3个顶点");
+        }
+        if (!(minAltitude < maxAltitude)) {
+            throw new IllegalArgumentException("高度下限必须小于高度上限");
+        }
+
+        this.id = id;
+        this.name = name.trim();
+        this.type = type;
+        this.footprint = createFootprint(vertices);
+        this.preparedFootprint = PreparedGeometryFactory.prepare(footprint);
+        this.minAltitude = minAltitude;
+        this.maxAltitude = maxAltitude;
+    }
+
+    /**
+     * 判断点是否位于区域内（边界视为区域内）
+     *
+     * @param x X坐标
+     * @param y Y坐标
+     * @param z Z坐标（NED，向下为正）
+     * @return 是否位于区域内
+     */
+    public boolean contains(double x, double y, double z) {
+        double altitude = -z;
+        if (altitude < minAltitude || altitude > maxAltitude) {
+            return false;
+        }
+        return preparedFootprint.covers(GEOMETRY_FACTORY.createPoint(new Coordinate(x, y)));
+    }
+
+    /**
+     * 求匀速直线轨迹穿过区域边界的时刻
+     * 边界由高度带的上下表面与底面各边所在的侧面组成，轨迹只在这些时刻可能进入或离开区域。
+     * 侧面交点不再按高度带筛选，多给出的时刻只会多一次检查
+     *
+     * @param x X坐标
+     * @param y Y坐标
+     * @param z Z坐标（NED，向下为正）
+     * @param vx X方向速度
+     * @param vy Y方向速度
+     * @param vz Z方向速度
+     * @param maxTime 时间上限（秒）
+     * @return 位于(0, maxTime]内的穿越时刻（相对当前，秒），不保证有序
+     */
+    public double[] boundaryCrossingTimes(double x, double y, double z, double vx, double vy, double vz,
+                                          double maxTime) {
+        Envelope envelope = getEnvelope();
+        double endX = x + vx * maxTime, endY = y + vy * maxTime;
+        if (Math.max(x, endX) < envelope.getMinX() || Math.min(x, endX) > envelope.getMaxX()
+                || Math.max(y, endY) < envelope.getMinY() || Math.min(y, endY) > envelope.getMaxY()) {
+            return new double[0];
+        }
+
+        Coordinate[] ring = footprint.getExteriorRing().getCoordinates();
+        double[] times = new double[ring.length + 1];
+        int count = 0;
+        if (vz != 0) {
+            // 高度 = -z
+            double lower = (-minAltitude - z) / vz;
+            double upper = (-maxAltitude - z) / vz;
+            if (lower > 0 && lower <= maxTime) {
+                times[count++] = lower;
+            }
+            if (upper > 0 && upper <= maxTime) {
+                times[count++] = upper;
+            }
+        }
+        for (int i = 0; i + 1 < ring.length; i++) {
+            double ex = ring[i + 1].x - ring[i].x, ey = ring[i + 1].y - ring[i].y;
+            double determinant = ex * vy - vx * ey;
+            if (determinant == 0) {
+                // 平行于该边，端点处的穿越由相邻边给出
+                continue;
+            }
+            double px = ring[i].x - x, py = ring[i].y - y;
+            double time = (py * ex - px * ey) / determinant;
+            double along = (py * vx - px * vy) / determinant;
+            if (time > 0 && time <= maxTime && along >= -1e-9 && along <= 1 + 1e-9) {
+                times[count++] = time;
+            }
+        }
+        return Arrays.copyOf(times, count);
+    }
+
+    /**
+     * 获取底面的水平包围矩形
+     *
+     * @return 包围矩形
+     */
+    public Envelope getEnvelope() {
+        return footprint.getEnvelopeInternal();
+    }
+
+    /**
+     * 获取底面顶点（不含闭合点）
+     *
+     * @return 顶点数组，每个顶点为{x, y}
+     */
+    public double[][] getVertices() {
+        Coordinate[] ring = footprint.getExteriorRing().getCoordinates();
+        double[][] vertices = new double[ring.length - 1][];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = new double[]{ring[i].x, ring[i].y};
+        }
+        return vertices;
+    }
+
+    /**
+     * 由顶点构建底面多边形
+     *
+     * @param vertices 顶点
+     * @return 多边形
+     */
+    private static Polygon createFootprint(double[][] vertices) {
+        for (double[] vertex : vertices) {
+            if (vertex == null || vertex.length < 2) {
+                throw new IllegalArgumentException("区域顶点必须包含X、Y两个坐标");
+            }
+        }
+        boolean closed = vertices[0][0] == vertices[vertices.length - 1][0]
+                && vertices[0][1] == vertices[vertices.length - 1][1];
+        int count = closed ? vertices.length : vertices.length + 1;
+        Coordinate[] ring = new Coordinate[count];
+        for (int i = 0; i < vertices.length; i++) {
+            ring[i] = new Coordinate(vertices[i][0], vertices[i][1]);
+        }
+        if (!closed) {
+            ring[count - 1] = new Coordinate(ring[0]);
+        }
+        if (count < 4) {
+            throw new IllegalArgumentException("区域底面至少需要3个不同顶点");
+        }
+        Polygon polygon = GEOMETRY_FACTORY.createPolygon(ring);
+        if (!polygon.isValid()) {
+            throw new IllegalArgumentException("区域底面多边形无效（自相交或面积为0）");
+        }
+        return polygon;
+    }
+
+    // ================ Getters ================
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public ZoneType getType() { return type; }
+    public Polygon getFootprint() { return footprint; }
+    public double getMinAltitude() { return minAltitude; }
+    public double getMaxAltitude() { return maxAltitude; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GeofenceZone that = (GeofenceZone) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GeofenceZone{id='%s', name='%s', type=%s, vertices=%d, altitude=[%.1f, %.1f]}",
+                id, name, type, footprint.getNumPoints() - 1, minAltitude, maxAltitude);
+    }
+}
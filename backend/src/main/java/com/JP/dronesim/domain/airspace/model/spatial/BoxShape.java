@@ -0,0 +1,63 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+/**
+ * 轴对齐长方体查询区域
+ * 用于矩形区域查询
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class BoxShape implements SpatialShape {
+
+    /**
+     * 区域最小/最大坐标
+     */
+    private final double minX, minY, minZ, maxX, maxY, maxZ;
+
+    /**
+     * 构造函数
+     *
+     * @param minX 最小X
+     * @param minY 最小Y
+     * @param minZ 最小Z
+     * @param maxX 最大X
+     * @param maxY 最大Y
+     * @param maxZ 最大Z
+     */
+    public BoxShape(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    @Override
+    public boolean intersectsBox(double bMinX, double bMinY, double bMinZ,
+                                 double bMaxX, double bMaxY, double bMaxZ) {
+        return bMinX <= maxX && bMaxX >= minX &&
+               bMinY <= maxY && bMaxY >= minY &&
+               bMinZ <= maxZ && bMaxZ >= minZ;
+    }
+
+    @Override
+    public boolean containsBox(double bMinX, double bMinY, double bMinZ,
+                               double bMaxX, double bMaxY, double bMaxZ) {
+        return bMinX >= minX && bMaxX <= maxX &&
+               bMinY >= minY && bMaxY <= maxY &&
+               bMinZ >= minZ && bMaxZ <= maxZ;
+    }
+
+    @Override
+    public boolean containsPoint(double x, double y, double z) {
+        return x >= minX && x <= maxX &&
+               y >= minY && y <= maxY &&
+               z >= minZ && z <= maxZ;
+    }
+
+    @Override
+    public double[] getBoundingBox() {
+        return new double[]{minX, minY, minZ, maxX, maxY, maxZ};
+    }
+}
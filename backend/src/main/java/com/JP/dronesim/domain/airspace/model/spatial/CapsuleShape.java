@@ -0,0 +1,111 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+/**
+ * 胶囊形查询区域
+ * 线段沿途半径范围内的点集，用于扫掠路径查询；半径为0时退化为线段
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class CapsuleShape implements SpatialShape {
+
+    /**
+     * 线段起点坐标
+     */
+    private final double startX, startY, startZ;
+
+    /**
+     * 线段终点坐标
+     */
+    private final double endX, endY, endZ;
+
+    /**
+     * 半径（米）
+     */
+    private final double radius;
+
+    /**
+     * 半径平方
+     */
+    private final double radiusSquared;
+
+    /**
+     * 构造函数
+     *
+     * @param startX 起点X
+     * @param startY 起点Y
+     * @param startZ 起点Z
+     * @param endX 终点X
+     * @param endY 终点Y
+     * @param endZ 终点Z
+     * @param radius 半径（米）
+     */
+    public CapsuleShape(double startX, double startY, double startZ,
+                        double endX, double endY, double endZ, double radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("查询半径不能为负数");
+        }
+        this.startX = startX;
+        this.startY = startY;
+        this.startZ = startZ;
+        this.endX = endX;
+        this.endY = endY;
+        this.endZ = endZ;
+        this.radius = radius;
+        this.radiusSquared = radius * radius;
+    }
+
+    @Override
+    public boolean intersectsBox(double minX, double minY, double minZ,
+                                 double maxX, double maxY, double maxZ) {
+        if (minX > Math.max(startX, endX) + radius || maxX < Math.min(startX, endX) - radius
+                || minY > Math.max(startY, endY) + radius || maxY < Math.min(startY, endY) - radius
+                || minZ > Math.max(startZ, endZ) + radius || maxZ < Math.min(startZ, endZ) - radius) {
+            return false;
+        }
+        // 以包围球近似包围盒：盒心到线段的距离不超过半径加包围球半径
+        double hx = (maxX - minX) * 0.5;
+        double hy = (maxY - minY) * 0.5;
+        double hz = (maxZ - minZ) * 0.5;
+        double reach = radius + Math.sqrt(hx * hx + hy * hy + hz * hz);
+        return SpatialMath.distanceSquaredToSegment(minX + hx, minY + hy, minZ + hz,
+                startX, startY, startZ, endX, endY, endZ) <= reach * reach;
+    }
+
+    @Override
+    public boolean containsBox(double minX, double minY, double minZ,
+                               double maxX, double maxY, double maxZ) {
+        // 胶囊为凸集，8个角点都在内即整盒在内
+        for (int corner = 0; corner < 8; corner++) {
+            double x = (corner & 1) == 0 ? minX : maxX;
+            double y = (corner & 2) == 0 ? minY : maxY;
+            double z = (corner & 4) == 0 ? minZ : maxZ;
+            if (!containsPoint(x, y, z)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean containsPoint(double x, double y, double z) {
+        return SpatialMath.distanceSquaredToSegment(x, y, z,
+                startX, startY, startZ, endX, endY, endZ) <= radiusSquared;
+    }
+
+    @Override
+    public double[] getBoundingBox() {
+        return new double[]{
+                Math.min(startX, endX) - radius, Math.min(startY, endY) - radius, Math.min(startZ, endZ) - radius,
+                Math.max(startX, endX) + radius, Math.max(startY, endY) + radius, Math.max(startZ, endZ) + radius};
+    }
+
+    /**
+     * 获取半径
+     *
+     * @return 半径（米）
+     */
+    public double getRadius() {
+        return radius;
+    }
+}
@@ -0,0 +1,315 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import java.util.Arrays;
+
+/**
+ * 圆锥形查询区域
+ * 以顶点、轴向、半锥角和作用距离描述传感器视场（球冠截断的圆锥）
+ * 轴向由NED坐标系下的方位角（atan2(y, x)）与仰角（向上为正）给出
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class ConeShape implements SpatialShape {
+
+    /**
+     * 顶点坐标
+     */
+    private final double apexX, apexY, apexZ;
+
+    /**
+     * 轴向单位向量
+     */
+    private final double axisX, axisY, axisZ;
+
+    /**
+     * 半锥角（弧度）
+     */
+    private final double halfAngle;
+
+    /**
+     * 半锥角余弦
+     */
+    private final double cosHalfAngle;
+
+    /**
+     * 作用距离（米）
+     */
+    private final double range;
+
+    /**
+     * 作用距离平方
+     */
+    private final double rangeSquared;
+
+    /**
+     * 构造函数
+     *
+     * @param apexX 顶点X
+     * @param apexY 顶点Y
+     * @param apexZ 顶点Z
+     * @param azimuth 轴向方位角（度）
+     * @param elevation 轴向仰角（度，向上为正）
+     * @param halfAngle 半锥角（度，0-180）
+     * @param range 作用距离（米）
+     */
+    public ConeShape(double apexX, double apexY, double apexZ,
+                     double azimuth, double elevation, double halfAngle, double range) {
+        if (halfAngle <= 0 || halfAngle > 180.0) {
+            throw new IllegalArgumentException("半锥角必须在0到180度之间");
+        }
+        if (range < 0) {
+            throw new IllegalArgumentException("作用距离不能为负数");
+        }
+        double az = Math.toRadians(azimuth);
+        double el = Math.toRadians(elevation);
+        this.apexX = apexX;
+        this.apexY = apexY;
+        this.apexZ = apexZ;
+        this.axisX = Math.cos(el) * Math.cos(az);
+        this.axisY = Math.cos(el) * Math.sin(az);
+        this.axisZ = -Math.sin(el);
+        this.halfAngle = Math.toRadians(halfAngle);
+        this.cosHalfAngle = Math.cos(this.halfAngle);
+        this.range = range;
+        this.rangeSquared = range * range;
+    }
+
+    @Override
+    public boolean intersectsBox(double minX, double minY, double minZ,
+                                 double maxX, double maxY, double maxZ) {
+        if (SpatialMath.distanceSquaredToBox(apexX, apexY, apexZ,
+                minX, minY, minZ, maxX, maxY, maxZ) > rangeSquared) {
+            return false;
+        }
+        if (halfAngle >= Math.PI) {
+            return true;
+        }
+
+        // 以包围球近似包围盒：球与无限圆锥相交当且仅当球心偏轴角不超过半锥角加球的张角
+        double hx = (maxX - minX) * 0.5;
+        double hy = (maxY - minY) * 0.5;
+        double hz = (maxZ - minZ) * 0.5;
+        double vx = minX + hx - apexX;
+        double vy = minY + hy - apexY;
+        double vz = minZ + hz - apexZ;
+        double radius = Math.sqrt(hx * hx + hy * hy + hz * hz);
+        double distance = Math.sqrt(vx * vx + vy * vy + vz * vz);
+        if (distance <= radius) {
+            return true;
+        }
+        double cosOffAxis = (vx * axisX + vy * axisY + vz * axisZ) / distance;
+        double offAxis = Math.acos(Math.max(-1.0, Math.min(1.0, cosOffAxis)));
+        return offAxis <= halfAngle + Math.asin(radius / distance);
+    }
+
+    @Override
+    public boolean containsBox(double minX, double minY, double minZ,
+                               double maxX, double maxY, double maxZ) {
+        // 半锥角超过90度时圆锥非凸，角点判定不成立
+        if (halfAngle > Math.PI / 2 && halfAngle < Math.PI) {
+            return false;
+        }
+        // 圆锥与球的交集为凸集，8个角点都在内即整盒在内
+        for (int corner = 0; corner < 8; corner++) {
+            double x = (corner & 1) == 0 ? minX : maxX;
+            double y = (corner & 2) == 0 ? minY : maxY;
+            double z = (corner & 4) == 0 ? minZ : maxZ;
+            if (!containsPoint(x, y, z)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean containsPoint(double x, double y, double z) {
+        double dx = x - apexX;
+        double dy = y - apexY;
+        double dz = z - apexZ;
+        double distanceSquared = dx * dx + dy * dy + dz * dz;
+        if (distanceSquared > rangeSquared) {
+            return false;
+        }
+        if (halfAngle >= Math.PI || distanceSquared == 0.0) {
+            return true;
+        }
+        double projection = dx * axisX + dy * axisY + dz * axisZ;
+        return projection >= cosHalfAngle * Math.sqrt(distanceSquared);
+    }
+
+    /**
+     * 判断线段是否穿过视场（线段上存在一点位于视场内）
+     * 用于扫掠检测：目标在两个仿真步之间沿直线移动，端点都不在视场内也可能穿过视场
+     *
+     * @param startX 起点X
+     * @param startY 起点Y
+     * @param startZ 起点Z
+     * @param endX 终点X
+     * @param endY 终点Y
+     * @param endZ 终点Z
+     * @return 是否相交
+     */
+    public boolean intersectsSegment(double startX, double startY, double startZ,
+                                     double endX, double endY, double endZ) {
+        return !Double.isNaN(segmentCrossing(startX, startY, startZ, endX, endY, endZ));
+    }
+
+    /**
+     * 计算线段穿过视场的穿越点参数
+     * 线段上的可见性只可能在球面交点、圆锥面交点和轴向半空间边界处变化，
+     * 按这些断点把线段分段，取最长的连续可见段的中点，该点位于视场内部而不是边界上，
+     * 探测模型按该点判定时不受边界舍入影响；线段只与视场边界相切时返回切点
+     *
+     * @param startX 起点X
+     * @param startY 起点Y
+     * @param startZ 起点Z
+     * @param endX 终点X
+     * @param endY 终点Y
+     * @param endZ 终点Z
+     * @return 穿越点参数（0为起点，1为终点），不相交时返回NaN
+     */
+    public double segmentCrossing(double startX, double startY, double startZ,
+                                  double endX, double endY, double endZ) {
+        double vx = endX - startX, vy = endY - startY, vz = endZ - startZ;
+        double dx = startX - apexX, dy = startY - apexY, dz = startZ - apexZ;
+        double a = vx * vx + vy * vy + vz * vz;
+        if (a == 0.0) {
+            return containsPoint(startX, startY, startZ) ? 0.0 : Double.NaN;
+        }
+
+        // 线段落在作用距离球内的参数区间
+        double b = 2.0 * (dx * vx + dy * vy + dz * vz);
+        double c = dx * dx + dy * dy + dz * dz;
+        double discriminant = b * b - 4.0 * a * (c - rangeSquared);
+        if (discriminant < 0) {
+            return Double.NaN;
+        }
+        double root = Math.sqrt(discriminant);
+        double t0 = Math.max(0.0, (-b - root) / (2.0 * a));
+        double t1 = Math.min(1.0, (-b + root) / (2.0 * a));
+        if (t0 > t1) {
+            return Double.NaN;
+        }
+        if (halfAngle >= Math.PI) {
+            return (t0 + t1) / 2.0;
+        }
+
+        // 球区间内的断点：圆锥面交点与轴向半空间边界
+        double p0 = dx * axisX + dy * axisY + dz * axisZ;
+        double p1 = vx * axisX + vy * axisY + vz * axisZ;
+        double cos2 = cosHalfAngle * cosHalfAngle;
+        double qa = p1 * p1 - cos2 * a;
+        double qb = 2.0 * p0 * p1 - cos2 * b;
+        double qc = p0 * p0 - cos2 * c;
+        double[] breaks = new double[5];
+        int count = 0;
+        breaks[count++] = t0;
+        if (Math.abs(qa) > 1e-12 * Math.max(1.0, a)) {
+            double qd = qb * qb - 4.0 * qa * qc;
+            if (qd >= 0) {
+                double qr = Math.sqrt(qd);
+                count = addBreak(breaks, count, (-qb - qr) / (2.0 * qa), t0, t1);
+                count = addBreak(breaks, count, (-qb + qr) / (2.0 * qa), t0, t1);
+            }
+        } else if (qb != 0.0) {
+            count = addBreak(breaks, count, -qc / qb, t0, t1);
+        }
+        if (p1 != 0.0) {
+            count = addBreak(breaks, count, -p0 / p1, t0, t1);
+        }
+        breaks[count++] = t1;
+        Arrays.sort(breaks, 1, count - 1);
+
+        // 相邻断点之间可见性不变，以段中点判定，相邻的可见段合并
+        double bestFrom = Double.NaN, bestTo = Double.NaN;
+        double runFrom = Double.NaN;
+        for (int i = 0; i + 1 < count; i++) {
+            double from = breaks[i], to = breaks[i + 1];
+            boolean visible = to > from
+                    && containsPointAt(startX, startY, startZ, vx, vy, vz, (from + to) / 2.0);
+            if (visible && Double.isNaN(runFrom)) {
+                runFrom = from;
+            }
+            if (!Double.isNaN(runFrom) && (!visible || i + 2 == count)) {
+                double runTo = visible ? to : from;
+                if (Double.isNaN(bestFrom) || runTo - runFrom > bestTo - bestFrom) {
+                    bestFrom = runFrom;
+                    bestTo = runTo;
+                }
+                runFrom = Double.NaN;
+            }
+        }
+        if (!Double.isNaN(bestFrom)) {
+            return (bestFrom + bestTo) / 2.0;
+        }
+        for (int i = 0; i < count; i++) {
+            if (containsPointAt(startX, startY, startZ, vx, vy, vz, breaks[i])) {
+                return breaks[i];
+            }
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public double[] getBoundingBox() {
+        return new double[]{apexX - range, apexY - range, apexZ - range,
+                apexX + range, apexY + range, apexZ + range};
+    }
+
+    /**
+     * 判断线段上参数t处的点是否在视场内
+     * 允许极小的舍入误差，使恰好落在圆锥面或球面上的交点也判为在内
+     *
+     * @param startX 起点X
+     * @param startY 起点Y
+     * @param startZ 起点Z
+     * @param vx 线段方向X（未归一化）
+     * @param vy 线段方向Y
+     * @param vz 线段方向Z
+     * @param t 参数（0-1）
+     * @return 是否在视场内
+     */
+    private boolean containsPointAt(double startX, double startY, double startZ,
+                                    double vx, double vy, double vz, double t) {
+        double dx = startX + vx * t - apexX;
+        double dy = startY + vy * t - apexY;
+        double dz = startZ + vz * t - apexZ;
+        double distanceSquared = dx * dx + dy * dy + dz * dz;
+        if (distanceSquared > rangeSquared * (1.0 + 1e-9)) {
+            return false;
+        }
+        if (halfAngle >= Math.PI || distanceSquared == 0.0) {
+            return true;
+        }
+        double distance = Math.sqrt(distanceSquared);
+        double projection = dx * axisX + dy * axisY + dz * axisZ;
+        return projection >= (cosHalfAngle - 1e-9) * distance;
+    }
+
+    /**
+     * 断点落在区间内部时加入断点数组
+     *
+     * @param breaks 断点数组
+     * @param count 已有断点数
+     * @param t 断点参数
+     * @param t0 区间起点
+     * @param t1 区间终点
+     * @return 新的断点数
+     */
+    private static int addBreak(double[] breaks, int count, double t, double t0, double t1) {
+        if (t > t0 && t < t1) {
+            breaks[count++] = t;
+        }
+        return count;
+    }
+
+    /**
+     * 获取作用距离
+     *
+     * @return 作用距离（米）
+     */
+    public double getRange() {
+        return range;
+    }
+}
@@ -0,0 +1,340 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import com.JP.dronesim.domain.common.valueobjects.Position;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 实体注册表
+ * 为空域实体分配紧凑的整数句柄，并以列式数组（结构体数组）保存坐标与速度。
+ * 索引与探测循环直接按句柄访问原始double数组，字符串ID只在对外边界处解析。
+ * 释放的句柄进入空闲栈，后续注册时优先复用，使句柄范围保持紧凑。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class EntityRegistry {
+
+    /**
+     * 初始容量
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * 实体ID到句柄的映射
+     */
+    private final Map<String, Integer> handles;
+
+    /**
+     * 句柄到实体ID的映射，空闲句柄为null
+     */
+    private String[] ids;
+
+    /**
+     * 坐标列
+     */
+    private double[] x, y, z;
+
+    /**
+     * 速度列
+     */
+    private double[] vx, vy, vz;
+
+    /**
+     * 空闲句柄栈
+     */
+    private int[] freeHandles;
+
+    /**
+     * 空闲句柄数量
+     */
+    private int freeCount;
+
+    /**
+     * 已分配过的最大句柄+1
+     */
+    private int highWater;
+
+    /**
+     * 构造函数
+     */
+    public EntityRegistry() {
+        this.handles = new HashMap<>();
+        this.ids = new String[INITIAL_CAPACITY];
+        this.x = new double[INITIAL_CAPACITY];
+        this.y = new double[INITIAL_CAPACITY];
+        this.z = new double[INITIAL_CAPACITY];
+        this.vx = new double[INITIAL_CAPACITY];
+        this.vy = new double[INITIAL_CAPACITY];
+        this.vz = new double[INITIAL_CAPACITY];
+        this.freeHandles = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * 注册实体，已注册时返回原句柄
+     *
+     * @param entityId 实体ID
+     * @return 实体句柄
+     */
+    public int register(String entityId) {
+        Integer existing = handles.get(entityId);
+        if (existing != null) {
+            return existing;
+        }
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            handle = highWater++;
+            ensureCapacity(highWater);
+        }
+        ids[handle] = entityId;
+        x[handle] = y[handle] = z[handle] = 0.0;
+        vx[handle] = vy[handle] = vz[handle] = 0.0;
+        handles.put(entityId, handle);
+        return handle;
+    }
+
+    /**
+     * 注销实体，句柄进入空闲栈
+     *
+     * @param entityId 实体ID
+     * @return 被释放的句柄，不存在返回-1
+     */
+    public int release(String entityId) {
+        Integer handle = handles.remove(entityId);
+        if (handle == null) {
+            return -1;
+        }
+        ids[handle] = null;
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        }
+        freeHandles[freeCount++] = handle;
+        return handle;
+    }
+
+    /**
+     * 获取空闲句柄栈的副本（栈底在前，最后一个元素最先被复用）
+     *
+     * @return 空闲句柄
+     */
+    public int[] getFreeHandles() {
+        return Arrays.copyOf(freeHandles, freeCount);
+    }
+
+    /**
+     * 清空注册表
+     */
+    public void clear() {
+        handles.clear();
+        Arrays.fill(ids, 0, highWater, null);
+        freeCount = 0;
+        highWater = 0;
+    }
+
+    /**
+     * 获取实体句柄
+     *
+     * @param entityId 实体ID
+     * @return 句柄，不存在返回-1
+     */
+    public int handleOf(String entityId) {
+        Integer handle = handles.get(entityId);
+        return handle != null ? handle : -1;
+    }
+
+    /**
+     * 获取句柄对应的实体ID
+     *
+     * @param handle 句柄
+     * @return 实体ID，空闲句柄返回null
+     */
+    public String idOf(int handle) {
+        return handle >= 0 && handle < highWater ? ids[handle] : null;
+    }
+
+    /**
+     * 句柄是否已分配给实体
+     *
+     * @param handle 句柄
+     * @return 是否有效
+     */
+    public boolean isAlive(int handle) {
+        return handle >= 0 && handle < highWater && ids[handle] != null;
+    }
+
+    /**
+     * 更新坐标
+     *
+     * @param handle 句柄
+     * @param position 位置
+     */
+    public void setPosition(int handle, Position position) {
+        setPosition(handle, position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * 按分量更新坐标
+     *
+     * @param handle 句柄
+     * @param positionX X坐标
+     * @param positionY Y坐标
+     * @param positionZ Z坐标
+     */
+    public void setPosition(int handle, double positionX, double positionY, double positionZ) {
+        x[handle] = positionX;
+        y[handle] = positionY;
+        z[handle] = positionZ;
+    }
+
+    /**
+     * 更新速度
+     *
+     * @param handle 句柄
+     * @param velocityX X方向速度
+     * @param velocityY Y方向速度
+     * @param velocityZ Z方向速度
+     */
+    public void setVelocity(int handle, double velocityX, double velocityY, double velocityZ) {
+        vx[handle] = velocityX;
+        vy[handle] = velocityY;
+        vz[handle] = velocityZ;
+    }
+
+    /**
+     * 以值对象形式读取位置
+     *
+     * @param handle 句柄
+     * @return 位置
+     */
+    public Position positionOf(int handle) {
+        return new Position(x[handle], y[handle], z[handle]);
+    }
+
+    /**
+     * 获取X坐标
+     *
+     * @param handle 句柄
+     * @return X坐标
+     */
+    public double x(int handle) {
+        return x[handle];
+    }
+
+    /**
+     * 获取Y坐标
+     *
+     * @param handle 句柄
+     * @return Y坐标
+     */
+    public double y(int handle) {
+        return y[handle];
+    }
+
+    /**
+     * 获取Z坐标
+     *
+     * @param handle 句柄
+     * @return Z坐标
+     */
+    public double z(int handle) {
+        return z[handle];
+    }
+
+    /**
+     * 获取X方向速度
+     *
+     * @param handle 句柄
+     * @return X方向速度
+     */
+    public double vx(int handle) {
+        return vx[handle];
+    }
+
+    /**
+     * 获取Y方向速度
+     *
+     * @param handle 句柄
+     * @return Y方向速度
+     */
+    public double vy(int handle) {
+        return vy[handle];
+    }
+
+    /**
+     * 获取Z方向速度
+     *
+     * @param handle 句柄
+     * @return Z方向速度
+     */
+    public double vz(int handle) {
+        return vz[handle];
+    }
+
+    /**
+     * 到指定点的距离平方
+     *
+     * @param handle 句柄
+     * @param px 参考点X
+     * @param py 参考点Y
+     * @param pz 参考点Z
+     * @return 距离平方
+     */
+    public double distanceSquared(int handle, double px, double py, double pz) {
+        double dx = x[handle] - px;
+        double dy = y[handle] - py;
+        double dz = z[handle] - pz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * 获取已注册实体数量
+     *
+     * @return 实体数量
+     */
+    public int size() {
+        return handles.size();
+    }
+
+    /**
+     * 获取句柄上界（所有有效句柄都小于该值）
+     *
+     * @return 句柄上界
+     */
+    public int handleLimit() {
+        return highWater;
+    }
+
+    /**
+     * 获取所有实体ID
+     *
+     * @return 实体ID集合副本
+     */
+    public Set<String> getEntityIds() {
+        return new HashSet<>(handles.keySet());
+    }
+
+    /**
+     * 保证列数组容量
+     *
+     * @param required 需要的最小容量
+     */
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        vz = Arrays.copyOf(vz, capacity);
+    }
+}
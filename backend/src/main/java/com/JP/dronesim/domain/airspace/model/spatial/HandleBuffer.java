@@ -0,0 +1,76 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 句柄缓冲区
+ * 可增长的int数组，用于收集空间查询命中的实体句柄，避免装箱
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class HandleBuffer implements IntConsumer {
+
+    /**
+     * 句柄数组
+     */
+    private int[] handles;
+
+    /**
+     * 已写入数量
+     */
+    private int size;
+
+    /**
+     * 构造函数
+     */
+    public HandleBuffer() {
+        this.handles = new int[16];
+    }
+
+    @Override
+    public void accept(int handle) {
+        if (size == handles.length) {
+            handles = Arrays.copyOf(handles, size * 2);
+        }
+        handles[size++] = handle;
+    }
+
+    /**
+     * 获取已写入数量
+     *
+     * @return 句柄数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取指定下标的句柄
+     *
+     * @param index 下标
+     * @return 句柄
+     */
+    public int get(int index) {
+        return handles[index];
+    }
+
+    /**
+     * 清空缓冲区，保留已分配的数组
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 导出按升序排列的句柄数组
+     *
+     * @return 句柄数组副本
+     */
+    public int[] toSortedArray() {
+        int[] result = Arrays.copyOf(handles, size);
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,692 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * 松散八叉树
+ * 以空域边界为根节点范围，节点的松散包围盒为紧包围盒按系数放大后的区域。
+ * 实体移动时只要仍位于当前节点的松散包围盒内就只更新坐标，不做重新插入，
+ * 适合每个时间步都在小范围移动的无人机。
+ * 树中只保存实体句柄，坐标从共享的实体注册表列数组中读取，
+ * 调用方需先更新注册表中的坐标，再调用插入或移动。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class LooseOctree implements SpatialLayer {
+
+    /**
+     * 叶子节点最大实体数，超过后分裂
+     */
+    private static final int MAX_ENTRIES_PER_NODE = 16;
+
+    /**
+     * 子树实体数低于该值时合并子节点
+     */
+    private static final int MERGE_THRESHOLD = 8;
+
+    /**
+     * 最大树深度
+     */
+    private static final int MAX_DEPTH = 12;
+
+    /**
+     * 松散系数（松散包围盒半边长 / 紧包围盒半边长）
+     */
+    private static final double LOOSENESS = 1.5;
+
+    /**
+     * 坐标来源
+     */
+    private final EntityRegistry registry;
+
+    /**
+     * 根节点
+     */
+    private final Node root;
+
+    /**
+     * 句柄所在节点，未插入为null
+     */
+    private Node[] nodeOf;
+
+    /**
+     * 句柄在所在节点句柄数组中的下标
+     */
+    private int[] slotOf;
+
+    /**
+     * 实体数量
+     */
+    private int size;
+
+    /**
+     * 构造函数
+     *
+     * @param registry 实体注册表
+     * @param minX 最小X
+     * @param minY 最小Y
+     * @param minZ 最小Z
+     * @param maxX 最大X
+     * @param maxY 最大Y
+     * @param maxZ 最大Z
+     */
+    public LooseOctree(EntityRegistry registry,
+                       double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this.registry = registry;
+        this.root = new Node(null, 0,
+                (minX + maxX) / 2, (minY + maxY) / 2, (minZ + maxZ) / 2,
+                (maxX - minX) / 2, (maxY - minY) / 2, (maxZ - minZ) / 2);
+        this.nodeOf = new Node[64];
+        this.slotOf = new int[64];
+    }
+
+    // ================ 增删改 ================
+
+    /**
+     * 插入实体，若实体已存在则按移动处理
+     *
+     * @param handle 实体句柄
+     */
+    @Override
+    public void insert(int handle) {
+        if (move(handle)) {
+            return;
+        }
+        if (handle >= nodeOf.length) {
+            int capacity = Math.max(handle + 1, nodeOf.length * 2);
+            nodeOf = Arrays.copyOf(nodeOf, capacity);
+            slotOf = Arrays.copyOf(slotOf, capacity);
+        }
+        size++;
+        insertFrom(root, handle);
+    }
+
+    /**
+     * 按注册表中的新坐标移动实体
+     * 新位置仍在所在节点松散包围盒内时不做调整，否则上溯到能容纳的祖先后重新下沉
+     *
+     * @param handle 实体句柄
+     * @return 实体存在返回true，否则返回false
+     */
+    @Override
+    public boolean move(int handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        double x = registry.x(handle), y = registry.y(handle), z = registry.z(handle);
+
+        Node node = nodeOf[handle];
+        if (node.looseContains(x, y, z)) {
+            return true;
+        }
+
+        removeFromNode(node, handle);
+        adjustCounts(node, -1);
+
+        Node ancestor = node.parent;
+        while (ancestor != root && !ancestor.looseContains(x, y, z)) {
+            ancestor = ancestor.parent;
+        }
+        adjustCounts(ancestor.parent, 1);
+        insertFrom(ancestor, handle);
+        mergeUpwards(node);
+        return true;
+    }
+
+    /**
+     * 移除实体
+     *
+     * @param handle 实体句柄
+     * @return 是否移除成功
+     */
+    @Override
+    public boolean remove(int handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        Node node = nodeOf[handle];
+        removeFromNode(node, handle);
+        adjustCounts(node, -1);
+        mergeUpwards(node);
+        size--;
+        return true;
+    }
+
+    /**
+     * 清空所有实体
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(nodeOf, null);
+        root.children = null;
+        root.handles = null;
+        root.entryCount = 0;
+        root.count = 0;
+        size = 0;
+    }
+
+    // ================ 查询 ================
+
+    /**
+     * 是否包含实体
+     *
+     * @param handle 实体句柄
+     * @return 是否包含
+     */
+    @Override
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < nodeOf.length && nodeOf[handle] != null;
+    }
+
+    /**
+     * 获取实体数量
+     *
+     * @return 实体数量
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 查询落在形状内的实体
+     * 先以节点松散包围盒裁剪，再逐点判定
+     *
+     * @param shape 查询形状
+     * @param consumer 命中实体句柄的接收器
+     */
+    @Override
+    public void query(SpatialShape shape, IntConsumer consumer) {
+        visit(root, shape, consumer);
+    }
+
+    /**
+     * 最佳优先搜索最近实体
+     *
+     * @param x 参考点X
+     * @param y 参考点Y
+     * @param z 参考点Z
+     * @param maxDistance 最大距离
+     * @return 最近实体句柄，没有则返回-1
+     */
+    @Override
+    public int findNearest(double x, double y, double z, double maxDistance) {
+        double bestDistanceSquared = maxDistance * maxDistance;
+        int best = -1;
+
+        PriorityQueue<NodeDistance> queue = new PriorityQueue<>();
+        queue.add(new NodeDistance(root, 0.0));
+        while (!queue.isEmpty()) {
+            NodeDistance current = queue.poll();
+            if (current.distanceSquared > bestDistanceSquared) {
+                break;
+            }
+            Node node = current.node;
+            for (int i = 0; i < node.entryCount; i++) {
+                int handle = node.handles[i];
+                double d = registry.distanceSquared(handle, x, y, z);
+                if (d < bestDistanceSquared || (best < 0 && d <= bestDistanceSquared)) {
+                    bestDistanceSquared = d;
+                    best = handle;
+                }
+            }
+            if (node.children != null) {
+                for (Node child : node.children) {
+                    if (child.count == 0) {
+                        continue;
+                    }
+                    double d = child.looseDistanceSquared(x, y, z);
+                    if (d <= bestDistanceSquared) {
+                        queue.add(new NodeDistance(child, d));
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 最佳优先搜索k个最近实体
+     * 候选集使用容量为k的大顶堆，堆满后以第k近距离收紧节点裁剪半径
+     *
+     * @param x 参考点X
+     * @param y 参考点Y
+     * @param z 参考点Z
+     * @param k 最多返回的实体数
+     * @param maxDistance 最大距离
+     * @param filter 实体句柄过滤条件，为null表示不过滤
+     * @return 按距离升序排列的实体句柄
+     */
+    @Override
+    public int[] findKNearest(double x, double y, double z, int k, double maxDistance,
+                              IntPredicate filter) {
+        double boundSquared = maxDistance * maxDistance;
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1, Collections.reverseOrder());
+
+        PriorityQueue<NodeDistance> queue = new PriorityQueue<>();
+        queue.add(new NodeDistance(root, 0.0));
+        while (!queue.isEmpty()) {
+            NodeDistance current = queue.poll();
+            if (current.distanceSquared > boundSquared) {
+                break;
+            }
+            Node node = current.node;
+            for (int i = 0; i < node.entryCount; i++) {
+                int handle = node.handles[i];
+                double d = registry.distanceSquared(handle, x, y, z);
+                if (d > boundSquared || (filter != null && !filter.test(handle))) {
+                    continue;
+                }
+                best.add(new Candidate(handle, d));
+                if (best.size() > k) {
+                    best.poll();
+                }
+                if (best.size() == k) {
+                    boundSquared = best.peek().distanceSquared;
+                }
+            }
+            if (node.children != null) {
+                for (Node child : node.children) {
+                    if (child.count == 0) {
+                        continue;
+                    }
+                    double d = child.looseDistanceSquared(x, y, z);
+                    if (d <= boundSquared) {
+                        queue.add(new NodeDistance(child, d));
+                    }
+                }
+            }
+        }
+
+        int[] ordered = new int[best.size()];
+        for (int i = ordered.length - 1; i >= 0; i--) {
+            ordered[i] = best.poll().handle;
+        }
+        return ordered;
+    }
+
+    // ================ 内部实现 ================
+
+    /**
+     * 从指定节点开始向下插入句柄
+     * 调用方负责该节点以上祖先的计数
+     *
+     * @param start 起始节点
+     * @param handle 实体句柄
+     */
+    private void insertFrom(Node start, int handle) {
+        double x = registry.x(handle), y = registry.y(handle), z = registry.z(handle);
+        Node node = start;
+        while (true) {
+            node.count++;
+            if (node.children == null) {
+                addToNode(node, handle);
+                if (node.entryCount > MAX_ENTRIES_PER_NODE && node.depth < MAX_DEPTH) {
+                    split(node);
+                }
+                return;
+            }
+            Node child = node.children[node.octant(x, y, z)];
+            if (!child.looseContains(x, y, z)) {
+                addToNode(node, handle);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * 分裂叶子节点，将句柄下放到可容纳的子节点
+     *
+     * @param node 叶子节点
+     */
+    private void split(Node node) {
+        node.createChildren();
+        int[] pending = node.handles;
+        int pendingCount = node.entryCount;
+        node.handles = null;
+        node.entryCount = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            int handle = pending[i];
+            double x = registry.x(handle), y = registry.y(handle), z = registry.z(handle);
+            Node child = node.children[node.octant(x, y, z)];
+            if (child.looseContains(x, y, z)) {
+                addToNode(child, handle);
+                child.count++;
+            } else {
+                addToNode(node, handle);
+            }
+        }
+        for (Node child : node.children) {
+            if (child.entryCount > MAX_ENTRIES_PER_NODE && child.depth < MAX_DEPTH) {
+                split(child);
+            }
+        }
+    }
+
+    /**
+     * 自下而上查找可合并的最高祖先并合并其子树
+     *
+     * @param node 起始节点
+     */
+    private void mergeUpwards(Node node) {
+        Node target = null;
+        for (Node n = node; n != null; n = n.parent) {
+            if (n.children != null && n.count <= MERGE_THRESHOLD) {
+                target = n;
+            }
+        }
+        if (target != null) {
+            int[] collected = new int[target.count];
+            int collectedCount = collectHandles(target, collected, 0);
+            target.children = null;
+            target.handles = null;
+            target.entryCount = 0;
+            for (int i = 0; i < collectedCount; i++) {
+                addToNode(target, collected[i]);
+            }
+        }
+    }
+
+    /**
+     * 收集子树内全部句柄
+     *
+     * @param node 子树根
+     * @param out 输出数组
+     * @param offset 写入起点
+     * @return 写入后的下一个位置
+     */
+    private int collectHandles(Node node, int[] out, int offset) {
+        if (node.entryCount > 0) {
+            System.arraycopy(node.handles, 0, out, offset, node.entryCount);
+            offset += node.entryCount;
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                if (child.count > 0) {
+                    offset = collectHandles(child, out, offset);
+                }
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * 从节点开始向上调整子树计数
+     *
+     * @param node 起始节点（可为null）
+     * @param delta 增量
+     */
+    private void adjustCounts(Node node, int delta) {
+        for (Node n = node; n != null; n = n.parent) {
+            n.count += delta;
+        }
+    }
+
+    /**
+     * 将句柄挂到节点上
+     *
+     * @param node 节点
+     * @param handle 实体句柄
+     */
+    private void addToNode(Node node, int handle) {
+        if (node.handles == null) {
+            node.handles = new int[4];
+        } else if (node.entryCount == node.handles.length) {
+            node.handles = Arrays.copyOf(node.handles, node.entryCount * 2);
+        }
+        nodeOf[handle] = node;
+        slotOf[handle] = node.entryCount;
+        node.handles[node.entryCount++] = handle;
+    }
+
+    /**
+     * 以交换末尾的方式从节点摘除句柄
+     *
+     * @param node 节点
+     * @param handle 实体句柄
+     */
+    private void removeFromNode(Node node, int handle) {
+        int slot = slotOf[handle];
+        int moved = node.handles[--node.entryCount];
+        node.handles[slot] = moved;
+        slotOf[moved] = slot;
+        nodeOf[handle] = null;
+    }
+
+    /**
+     * 递归遍历节点
+     * 根节点视为无界，以容纳越界实体
+     *
+     * @param node 节点
+     * @param shape 查询形状
+     * @param consumer 接收器
+     */
+    private void visit(Node node, SpatialShape shape, IntConsumer consumer) {
+        if (node != root) {
+            if (!shape.intersectsBox(node.looseMinX, node.looseMinY, node.looseMinZ,
+                    node.looseMaxX, node.looseMaxY, node.looseMaxZ)) {
+                return;
+            }
+            if (shape.containsBox(node.looseMinX, node.looseMinY, node.looseMinZ,
+                    node.looseMaxX, node.looseMaxY, node.looseMaxZ)) {
+                emitAll(node, consumer);
+                return;
+            }
+        }
+        for (int i = 0; i < node.entryCount; i++) {
+            int handle = node.handles[i];
+            if (shape.containsPoint(registry.x(handle), registry.y(handle), registry.z(handle))) {
+                consumer.accept(handle);
+            }
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                if (child.count > 0) {
+                    visit(child, shape, consumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * 输出子树内全部实体，不做逐点判定
+     *
+     * @param node 子树根
+     * @param consumer 接收器
+     */
+    private void emitAll(Node node, IntConsumer consumer) {
+        for (int i = 0; i < node.entryCount; i++) {
+            consumer.accept(node.handles[i]);
+        }
+        if (node.children != null) {
+            for (Node child : node.children) {
+                if (child.count > 0) {
+                    emitAll(child, consumer);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LooseOctree{entities=%d}", size);
+    }
+
+    // ================ 内部结构 ================
+
+    /**
+     * 八叉树节点
+     */
+    private static final class Node {
+
+        /**
+         * 父节点，根节点为null
+         */
+        private final Node parent;
+
+        /**
+         * 节点深度
+         */
+        private final int depth;
+
+        /**
+         * 紧包围盒中心
+         */
+        private final double centerX, centerY, centerZ;
+
+        /**
+         * 紧包围盒半边长
+         */
+        private final double halfX, halfY, halfZ;
+
+        /**
+         * 松散包围盒
+         */
+        private final double looseMinX, looseMinY, looseMinZ, looseMaxX, looseMaxY, looseMaxZ;
+
+        /**
+         * 子节点，叶子节点为null
+         */
+        private Node[] children;
+
+        /**
+         * 本节点直接持有的句柄
+         */
+        private int[] handles;
+
+        /**
+         * 本节点直接持有的句柄数
+         */
+        private int entryCount;
+
+        /**
+         * 子树（含本节点）实体总数
+         */
+        private int count;
+
+        /**
+         * 构造函数
+         */
+        private Node(Node parent, int depth, double centerX, double centerY, double centerZ,
+                     double halfX, double halfY, double halfZ) {
+            this.parent = parent;
+            this.depth = depth;
+            this.centerX = centerX;
+            this.centerY = centerY;
+            this.centerZ = centerZ;
+            this.halfX = halfX;
+            this.halfY = halfY;
+            this.halfZ = halfZ;
+            this.looseMinX = centerX - halfX * LOOSENESS;
+            this.looseMinY = centerY - halfY * LOOSENESS;
+            this.looseMinZ = centerZ - halfZ * LOOSENESS;
+            this.looseMaxX = centerX + halfX * LOOSENESS;
+            this.looseMaxY = centerY + halfY * LOOSENESS;
+            this.looseMaxZ = centerZ + halfZ * LOOSENESS;
+        }
+
+        /**
+         * 创建8个子节点
+         */
+        private void createChildren() {
+            children = new Node[8];
+            double qx = halfX / 2, qy = halfY / 2, qz = halfZ / 2;
+            for (int i = 0; i < 8; i++) {
+                children[i] = new Node(this, depth + 1,
+                        centerX + ((i & 1) != 0 ? qx : -qx),
+                        centerY + ((i & 2) != 0 ? qy : -qy),
+                        centerZ + ((i & 4) != 0 ? qz : -qz),
+                        qx, qy, qz);
+            }
+        }
+
+        /**
+         * 计算点所在的卦限编号
+         */
+        private int octant(double x, double y, double z) {
+            return (x >= centerX ? 1 : 0) | (y >= centerY ? 2 : 0) | (z >= centerZ ? 4 : 0);
+        }
+
+        /**
+         * 点是否位于松散包围盒内（根节点总是返回true）
+         */
+        private boolean looseContains(double x, double y, double z) {
+            return parent == null ||
+                   (x >= looseMinX && x <= looseMaxX &&
+                    y >= looseMinY && y <= looseMaxY &&
+                    z >= looseMinZ && z <= looseMaxZ);
+        }
+
+        /**
+         * 点到松散包围盒的距离平方
+         */
+        private double looseDistanceSquared(double x, double y, double z) {
+            return SpatialMath.distanceSquaredToBox(x, y, z,
+                    looseMinX, looseMinY, looseMinZ, looseMaxX, looseMaxY, looseMaxZ);
+        }
+    }
+
+    /**
+     * 最佳优先搜索队列元素
+     */
+    private static final class NodeDistance implements Comparable<NodeDistance> {
+
+        /**
+         * 节点
+         */
+        private final Node node;
+
+        /**
+         * 参考点到节点松散包围盒的距离平方
+         */
+        private final double distanceSquared;
+
+        /**
+         * 构造函数
+         */
+        private NodeDistance(Node node, double distanceSquared) {
+            this.node = node;
+            this.distanceSquared = distanceSquared;
+        }
+
+        @Override
+        public int compareTo(NodeDistance other) {
+            return Double.compare(distanceSquared, other.distanceSquared);
+        }
+    }
+
+    /**
+     * k近邻候选
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+
+        /**
+         * 实体句柄
+         */
+        private final int handle;
+
+        /**
+         * 到参考点的距离平方
+         */
+        private final double distanceSquared;
+
+        /**
+         * 构造函数
+         */
+        private Candidate(int handle, double distanceSquared) {
+            this.handle = handle;
+            this.distanceSquared = distanceSquared;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            return Double.compare(distanceSquared, other.distanceSquared);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * 空间索引层接口
+ * 一层索引保存一组实体句柄，坐标统一从实体注册表读取。
+ * 调用方需先更新注册表中的坐标，再调用插入或移动。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public interface SpatialLayer {
+
+    /**
+     * 插入实体，若实体已存在则按移动处理
+     *
+     * @param handle 实体句柄
+     */
+    void insert(int handle);
+
+    /**
+     * 按注册表中的新坐标移动实体
+     *
+     * @param handle 实体句柄
+     * @return 实体存在返回true，否则返回false
+     */
+    boolean move(int handle);
+
+    /**
+     * 移除实体
+     *
+     * @param handle 实体句柄
+     * @return 是否移除成功
+     */
+    boolean remove(int handle);
+
+    /**
+     * 清空所有实体
+     */
+    void clear();
+
+    /**
+     * 是否包含实体
+     *
+     * @param handle 实体句柄
+     * @return 是否包含
+     */
+    boolean contains(int handle);
+
+    /**
+     * 获取实体数量
+     *
+     * @return 实体数量
+     */
+    int size();
+
+    /**
+     * 查询落在形状内的实体
+     *
+     * @param shape 查询形状
+     * @param consumer 命中实体句柄的接收器
+     */
+    void query(SpatialShape shape, IntConsumer consumer);
+
+    /**
+     * 查找k个最近实体
+     *
+     * @param x 参考点X
+     * @param y 参考点Y
+     * @param z 参考点Z
+     * @param k 最多返回的实体数
+     * @param maxDistance 最大距离
+     * @param filter 实体句柄过滤条件，为null表示不过滤
+     * @return 按距离升序排列的实体句柄
+     */
+    int[] findKNearest(double x, double y, double z, int k, double maxDistance, IntPredicate filter);
+
+    /**
+     * 查找最近实体
+     *
+     * @param x 参考点X
+     * @param y 参考点Y
+     * @param z 参考点Z
+     * @param maxDistance 最大距离
+     * @return 最近实体句柄，没有则返回-1
+     */
+    default int findNearest(double x, double y, double z, double maxDistance) {
+        int[] nearest = findKNearest(x, y, z, 1, maxDistance, null);
+        return nearest.length > 0 ? nearest[0] : -1;
+    }
+}
@@ -0,0 +1,92 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+/**
+ * 空间索引几何工具
+ * 提供节点裁剪所需的基础距离计算
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public final class SpatialMath {
+
+    /**
+     * 工具类不允许实例化
+     */
+    private SpatialMath() {
+    }
+
+    /**
+     * 计算点到轴对齐包围盒的最近距离平方
+     * 点在盒内时返回0
+     *
+     * @param x 点X
+     * @param y 点Y
+     * @param z 点Z
+     * @param minX 包围盒最小X
+     * @param minY 包围盒最小Y
+     * @param minZ 包围盒最小Z
+     * @param maxX 包围盒最大X
+     * @param maxY 包围盒最大Y
+     * @param maxZ 包围盒最大Z
+     * @return 距离平方
+     */
+    public static double distanceSquaredToBox(double x, double y, double z,
+                                              double minX, double minY, double minZ,
+                                              double maxX, double maxY, double maxZ) {
+        double dx = x < minX ? minX - x : (x > maxX ? x - maxX : 0.0);
+        double dy = y < minY ? minY - y : (y > maxY ? y - maxY : 0.0);
+        double dz = z < minZ ? minZ - z : (z > maxZ ? z - maxZ : 0.0);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * 计算点到线段的最近点参数
+     * 线段退化为点时返回0
+     *
+     * @param x 点X
+     * @param y 点Y
+     * @param z 点Z
+     * @param ax 线段起点X
+     * @param ay 线段起点Y
+     * @param az 线段起点Z
+     * @param bx 线段终点X
+     * @param by 线段终点Y
+     * @param bz 线段终点Z
+     * @return 最近点参数（0-1）
+     */
+    public static double closestParameterOnSegment(double x, double y, double z,
+                                                   double ax, double ay, double az,
+                                                   double bx, double by, double bz) {
+        double vx = bx - ax, vy = by - ay, vz = bz - az;
+        double lengthSquared = vx * vx + vy * vy + vz * vz;
+        if (lengthSquared == 0.0) {
+            return 0.0;
+        }
+        double t = ((x - ax) * vx + (y - ay) * vy + (z - az) * vz) / lengthSquared;
+        return Math.max(0.0, Math.min(1.0, t));
+    }
+
+    /**
+     * 计算点到线段的最近距离平方
+     *
+     * @param x 点X
+     * @param y 点Y
+     * @param z 点Z
+     * @param ax 线段起点X
+     * @param ay 线段起点Y
+     * @param az 线段起点Z
+     * @param bx 线段终点X
+     * @param by 线段终点Y
+     * @param bz 线段终点Z
+     * @return 距离平方
+     */
+    public static double distanceSquaredToSegment(double x, double y, double z,
+                                                  double ax, double ay, double az,
+                                                  double bx, double by, double bz) {
+        double t = closestParameterOnSegment(x, y, z, ax, ay, az, bx, by, bz);
+        double dx = ax + (bx - ax) * t - x;
+        double dy = ay + (by - ay) * t - y;
+        double dz = az + (bz - az) * t - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -0,0 +1,65 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+/**
+ * 空间查询形状接口
+ * 空间索引通过该接口对节点包围盒进行整体裁剪，再对节点内的实体逐点判定
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public interface SpatialShape {
+
+    /**
+     * 判断形状是否与轴对齐包围盒相交
+     * 允许保守判定（可能相交时返回true），但不允许漏判
+     *
+     * @param minX 包围盒最小X
+     * @param minY 包围盒最小Y
+     * @param minZ 包围盒最小Z
+     * @param maxX 包围盒最大X
+     * @param maxY 包围盒最大Y
+     * @param maxZ 包围盒最大Z
+     * @return 是否可能相交
+     */
+    boolean intersectsBox(double minX, double minY, double minZ,
+                          double maxX, double maxY, double maxZ);
+
+    /**
+     * 判断形状是否完全包含轴对齐包围盒
+     * 返回true时，索引可以跳过盒内实体的逐点判定；无法确定时应返回false
+     *
+     * @param minX 包围盒最小X
+     * @param minY 包围盒最小Y
+     * @param minZ 包围盒最小Z
+     * @param maxX 包围盒最大X
+     * @param maxY 包围盒最大Y
+     * @param maxZ 包围盒最大Z
+     * @return 是否完全包含
+     */
+    default boolean containsBox(double minX, double minY, double minZ,
+                                double maxX, double maxY, double maxZ) {
+        return false;
+    }
+
+    /**
+     * 判断点是否位于形状内
+     *
+     * @param x X坐标
+     * @param y Y坐标
+     * @param z Z坐标
+     * @return 是否在形状内
+     */
+    boolean containsPoint(double x, double y, double z);
+
+    /**
+     * 获取形状的轴对齐包围盒
+     * 供按格子遍历的索引确定查询范围，允许比形状本身更大
+     *
+     * @return 包围盒（minX, minY, minZ, maxX, maxY, maxZ），默认为无穷大
+     */
+    default double[] getBoundingBox() {
+        return new double[]{
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+    }
+}
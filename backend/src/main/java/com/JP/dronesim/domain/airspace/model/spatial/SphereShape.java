@@ -0,0 +1,85 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+/**
+ * 球形查询区域
+ * 用于半径范围查询
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SphereShape implements SpatialShape {
+
+    /**
+     * 球心坐标
+     */
+    private final double centerX, centerY, centerZ;
+
+    /**
+     * 半径（米）
+     */
+    private final double radius;
+
+    /**
+     * 半径平方，避免逐点开方
+     */
+    private final double radiusSquared;
+
+    /**
+     * 构造函数
+     *
+     * @param centerX 球心X
+     * @param centerY 球心Y
+     * @param centerZ 球心Z
+     * @param radius 半径（米）
+     */
+    public SphereShape(double centerX, double centerY, double centerZ, double radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("查询半径不能为负数");
+        }
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.radiusSquared = radius * radius;
+    }
+
+    @Override
+    public boolean intersectsBox(double minX, double minY, double minZ,
+                                 double maxX, double maxY, double maxZ) {
+        return SpatialMath.distanceSquaredToBox(centerX, centerY, centerZ,
+                minX, minY, minZ, maxX, maxY, maxZ) <= radiusSquared;
+    }
+
+    @Override
+    public boolean containsBox(double minX, double minY, double minZ,
+                               double maxX, double maxY, double maxZ) {
+        // 最远角点在球内即整盒在球内
+        double dx = Math.max(Math.abs(centerX - minX), Math.abs(centerX - maxX));
+        double dy = Math.max(Math.abs(centerY - minY), Math.abs(centerY - maxY));
+        double dz = Math.max(Math.abs(centerZ - minZ), Math.abs(centerZ - maxZ));
+        return dx * dx + dy * dy + dz * dz <= radiusSquared;
+    }
+
+    @Override
+    public boolean containsPoint(double x, double y, double z) {
+        double dx = x - centerX;
+        double dy = y - centerY;
+        double dz = z - centerZ;
+        return dx * dx + dy * dy + dz * dz <= radiusSquared;
+    }
+
+    @Override
+    public double[] getBoundingBox() {
+        return new double[]{centerX - radius, centerY - radius, centerZ - radius,
+                centerX + radius, centerY + radius, centerZ + radius};
+    }
+
+    /**
+     * 获取半径
+     *
+     * @return 半径（米）
+     */
+    public double getRadius() {
+        return radius;
+    }
+}
@@ -0,0 +1,381 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * 静态KD树
+ * 面向部署后很少移动的实体（探测设备）。增删改只标记失效，
+ * 下一次查询时按最长轴中位数一次性批量重建，节点包围盒为精确包围盒。
+ * 节点与包围盒全部存放在平行数组中，查询过程不分配节点对象。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class StaticKdTree implements SpatialLayer {
+
+    /**
+     * 叶子节点最大实体数
+     */
+    private static final int LEAF_SIZE = 8;
+
+    /**
+     * 坐标来源
+     */
+    private final EntityRegistry registry;
+
+    /**
+     * 成员句柄集合
+     */
+    private final BitSet members;
+
+    /**
+     * 成员数量
+     */
+    private int size;
+
+    /**
+     * 是否需要重建
+     */
+    private boolean dirty;
+
+    /**
+     * 按树结构排列的句柄
+     */
+    private int[] order;
+
+    /**
+     * 节点在order中的起止下标（左闭右开）
+     */
+    private int[] nodeStart, nodeEnd;
+
+    /**
+     * 左右子节点下标，叶子为-1
+     */
+    private int[] nodeLeft, nodeRight;
+
+    /**
+     * 节点包围盒，每个节点6个值（minX, minY, minZ, maxX, maxY, maxZ）
+     */
+    private double[] nodeBounds;
+
+    /**
+     * 节点数量
+     */
+    private int nodeCount;
+
+    /**
+     * 构造函数
+     *
+     * @param registry 实体注册表
+     */
+    public StaticKdTree(EntityRegistry registry) {
+        this.registry = registry;
+        this.members = new BitSet();
+        this.order = new int[0];
+        this.nodeStart = new int[0];
+        this.nodeEnd = new int[0];
+        this.nodeLeft = new int[0];
+        this.nodeRight = new int[0];
+        this.nodeBounds = new double[0];
+    }
+
+    // ================ 增删改 ================
+
+    @Override
+    public void insert(int handle) {
+        if (!members.get(handle)) {
+            members.set(handle);
+            size++;
+        }
+        dirty = true;
+    }
+
+    @Override
+    public boolean move(int handle) {
+        if (!members.get(handle)) {
+            return false;
+        }
+        dirty = true;
+        return true;
+    }
+
+    @Override
+    public boolean remove(int handle) {
+        if (handle < 0 || !members.get(handle)) {
+            return false;
+        }
+        members.clear(handle);
+        size--;
+        dirty = true;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        members.clear();
+        size = 0;
+        dirty = true;
+    }
+
+    // ================ 查询 ================
+
+    @Override
+    public boolean contains(int handle) {
+        return handle >= 0 && members.get(handle);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void query(SpatialShape shape, IntConsumer consumer) {
+        ensureBuilt();
+        if (nodeCount == 0) {
+            return;
+        }
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int b = node * 6;
+            if (!shape.intersectsBox(nodeBounds[b], nodeBounds[b + 1], nodeBounds[b + 2],
+                    nodeBounds[b + 3], nodeBounds[b + 4], nodeBounds[b + 5])) {
+                continue;
+            }
+            if (shape.containsBox(nodeBounds[b], nodeBounds[b + 1], nodeBounds[b + 2],
+                    nodeBounds[b + 3], nodeBounds[b + 4], nodeBounds[b + 5])) {
+                for (int i = nodeStart[node]; i < nodeEnd[node]; i++) {
+                    consumer.accept(order[i]);
+                }
+                continue;
+            }
+            if (nodeLeft[node] < 0) {
+                for (int i = nodeStart[node]; i < nodeEnd[node]; i++) {
+                    int handle = order[i];
+                    if (shape.containsPoint(registry.x(handle), registry.y(handle), registry.z(handle))) {
+                        consumer.accept(handle);
+                    }
+                }
+                continue;
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = nodeLeft[node];
+            stack[top++] = nodeRight[node];
+        }
+    }
+
+    @Override
+    public int[] findKNearest(double x, double y, double z, int k, double maxDistance, IntPredicate filter) {
+        ensureBuilt();
+        double boundSquared = maxDistance * maxDistance;
+        PriorityQueue<double[]> best = new PriorityQueue<>(k + 1,
+                Collections.reverseOrder((a, b) -> Double.compare(a[0], b[0])));
+
+        if (nodeCount > 0) {
+            PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+            queue.add(new double[]{boxDistanceSquared(0, x, y, z), 0});
+            while (!queue.isEmpty()) {
+                double[] current = queue.poll();
+                if (current[0] > boundSquared) {
+                    break;
+                }
+                int node = (int) current[1];
+                if (nodeLeft[node] >= 0) {
+                    for (int child : new int[]{nodeLeft[node], nodeRight[node]}) {
+                        double d = boxDistanceSquared(child, x, y, z);
+                        if (d <= boundSquared) {
+                            queue.add(new double[]{d, child});
+                        }
+                    }
+                    continue;
+                }
+                for (int i = nodeStart[node]; i < nodeEnd[node]; i++) {
+                    int handle = order[i];
+                    double d = registry.distanceSquared(handle, x, y, z);
+                    if (d > boundSquared || (filter != null && !filter.test(handle))) {
+                        continue;
+                    }
+                    best.add(new double[]{d, handle});
+                    if (best.size() > k) {
+                        best.poll();
+                    }
+                    if (best.size() == k) {
+                        boundSquared = best.peek()[0];
+                    }
+                }
+            }
+        }
+
+        int[] ordered = new int[best.size()];
+        for (int i = ordered.length - 1; i >= 0; i--) {
+            ordered[i] = (int) best.poll()[1];
+        }
+        return ordered;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StaticKdTree{entities=%d, nodes=%d}", size, nodeCount);
+    }
+
+    // ================ 构建 ================
+
+    /**
+     * 失效时批量重建
+     */
+    private void ensureBuilt() {
+        if (!dirty) {
+            return;
+        }
+        order = new int[size];
+        int n = 0;
+        for (int handle = members.nextSetBit(0); handle >= 0; handle = members.nextSetBit(handle + 1)) {
+            order[n++] = handle;
+        }
+        int maxNodes = Math.max(1, 2 * ((size + LEAF_SIZE - 1) / LEAF_SIZE) + 1);
+        nodeStart = new int[maxNodes];
+        nodeEnd = new int[maxNodes];
+        nodeLeft = new int[maxNodes];
+        nodeRight = new int[maxNodes];
+        nodeBounds = new double[maxNodes * 6];
+        nodeCount = 0;
+        if (size > 0) {
+            build(0, size);
+        }
+        dirty = false;
+    }
+
+    /**
+     * 递归构建子树
+     *
+     * @param start 起始下标
+     * @param end 结束下标（不含）
+     * @return 节点下标
+     */
+    private int build(int start, int end) {
+        int node = nodeCount++;
+        if (node >= nodeStart.length) {
+            growNodes();
+        }
+        nodeStart[node] = start;
+        nodeEnd[node] = end;
+        nodeLeft[node] = -1;
+        nodeRight[node] = -1;
+
+        int b = node * 6;
+        nodeBounds[b] = nodeBounds[b + 1] = nodeBounds[b + 2] = Double.POSITIVE_INFINITY;
+        nodeBounds[b + 3] = nodeBounds[b + 4] = nodeBounds[b + 5] = Double.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            int handle = order[i];
+            double px = registry.x(handle), py = registry.y(handle), pz = registry.z(handle);
+            nodeBounds[b] = Math.min(nodeBounds[b], px);
+            nodeBounds[b + 1] = Math.min(nodeBounds[b + 1], py);
+            nodeBounds[b + 2] = Math.min(nodeBounds[b + 2], pz);
+            nodeBounds[b + 3] = Math.max(nodeBounds[b + 3], px);
+            nodeBounds[b + 4] = Math.max(nodeBounds[b + 4], py);
+            nodeBounds[b + 5] = Math.max(nodeBounds[b + 5], pz);
+        }
+        if (end - start <= LEAF_SIZE) {
+            return node;
+        }
+
+        double ex = nodeBounds[b + 3] - nodeBounds[b];
+        double ey = nodeBounds[b + 4] - nodeBounds[b + 1];
+        double ez = nodeBounds[b + 5] - nodeBounds[b + 2];
+        int axis = ex >= ey && ex >= ez ? 0 : (ey >= ez ? 1 : 2);
+        int mid = (start + end) >>> 1;
+        select(start, end - 1, mid, axis);
+
+        int left = build(start, mid);
+        int right = build(mid, end);
+        nodeLeft[node] = left;
+        nodeRight[node] = right;
+        return node;
+    }
+
+    /**
+     * 快速选择：使order[k]为区间内按指定轴排序后的第k个元素
+     *
+     * @param lo 区间起点（含）
+     * @param hi 区间终点（含）
+     * @param k 目标下标
+     * @param axis 坐标轴（0=X，1=Y，2=Z）
+     */
+    private void select(int lo, int hi, int k, int axis) {
+        while (hi > lo) {
+            double pivot = coordinate(order[(lo + hi) >>> 1], axis);
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (coordinate(order[i], axis) < pivot) {
+                    i++;
+                }
+                while (coordinate(order[j], axis) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 读取句柄在指定轴上的坐标
+     *
+     * @param handle 实体句柄
+     * @param axis 坐标轴
+     * @return 坐标值
+     */
+    private double coordinate(int handle, int axis) {
+        return axis == 0 ? registry.x(handle) : (axis == 1 ? registry.y(handle) : registry.z(handle));
+    }
+
+    /**
+     * 点到节点包围盒的距离平方
+     *
+     * @param node 节点下标
+     * @param x 参考点X
+     * @param y 参考点Y
+     * @param z 参考点Z
+     * @return 距离平方
+     */
+    private double boxDistanceSquared(int node, double x, double y, double z) {
+        int b = node * 6;
+        return SpatialMath.distanceSquaredToBox(x, y, z,
+                nodeBounds[b], nodeBounds[b + 1], nodeBounds[b + 2],
+                nodeBounds[b + 3], nodeBounds[b + 4], nodeBounds[b + 5]);
+    }
+
+    /**
+     * 扩容节点数组
+     */
+    private void growNodes() {
+        int capacity = nodeStart.length * 2;
+        nodeStart = Arrays.copyOf(nodeStart, capacity);
+        nodeEnd = Arrays.copyOf(nodeEnd, capacity);
+        nodeLeft = Arrays.copyOf(nodeLeft, capacity);
+        nodeRight = Arrays.copyOf(nodeRight, capacity);
+        nodeBounds = Arrays.copyOf(nodeBounds, capacity * 6);
+    }
+}
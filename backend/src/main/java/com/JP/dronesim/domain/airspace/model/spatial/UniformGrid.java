@@ -0,0 +1,443 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * 均匀网格空间哈希
+ * 将空域边界划分为边长相同的立方格子，每个格子以句柄双向链表保存实体，
+ * 插入、删除以及跨格迁移均为O(1)；范围查询只遍历与查询包围盒重叠的格子。
+ * 适用于有界空域中大量密集分布的无人机。超出边界的实体归入最近的边缘格子，
+ * 因此边缘格子不做整格裁剪，只逐点判定。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class UniformGrid implements SpatialLayer {
+
+    /**
+     * 格子总数上限，避免超大空域配合过小格子时内存失控
+     */
+    public static final int MAX_CELLS = 1 << 21;
+
+    /**
+     * 未给出典型探测距离时的目标格子数
+     */
+    private static final int DEFAULT_TARGET_CELLS = 1 << 15;
+
+    /**
+     * 坐标来源
+     */
+    private final EntityRegistry registry;
+
+    /**
+     * 网格原点（空域最小角点）
+     */
+    private final double originX, originY, originZ;
+
+    /**
+     * 格子边长（米）
+     */
+    private final double cellSize;
+
+    /**
+     * 各轴格子数
+     */
+    private final int nx, ny, nz;
+
+    /**
+     * 每个格子链表的首个句柄，-1表示空
+     */
+    private final int[] cellHead;
+
+    /**
+     * 句柄所在格子，-1表示不在网格中
+     */
+    private int[] cellOf;
+
+    /**
+     * 链表中的后继与前驱句柄
+     */
+    private int[] next, prev;
+
+    /**
+     * 实体数量
+     */
+    private int size;
+
+    /**
+     * 构造函数
+     *
+     * @param registry 实体注册表
+     * @param minX 空域最小X
+     * @param minY 空域最小Y
+     * @param minZ 空域最小Z
+     * @param maxX 空域最大X
+     * @param maxY 空域最大Y
+     * @param maxZ 空域最大Z
+     * @param cellSize 格子边长（米），须不小于{@link #minCellSize}
+     */
+    public UniformGrid(EntityRegistry registry, double minX, double minY, double minZ,
+                       double maxX, double maxY, double maxZ, double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("网格边长必须大于0");
+        }
+        double cells = cellCount(minX, minY, minZ, maxX, maxY, maxZ, cellSize);
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException("网格边长过小，格子数超过上限: " + (long) cells);
+        }
+        this.registry = registry;
+        this.originX = minX;
+        this.originY = minY;
+        this.originZ = minZ;
+        this.cellSize = cellSize;
+        this.nx = cellsAlong(minX, maxX, cellSize);
+        this.ny = cellsAlong(minY, maxY, cellSize);
+        this.nz = cellsAlong(minZ, maxZ, cellSize);
+        this.cellHead = new int[(int) cells];
+        Arrays.fill(cellHead, -1);
+        this.cellOf = new int[0];
+        this.next = new int[0];
+        this.prev = new int[0];
+    }
+
+    /**
+     * 根据空域范围与典型探测距离选择格子边长
+     * 边长取典型探测距离，使一次探测查询约覆盖3x3x3个格子；
+     * 未给出探测距离时按目标格子数均分空域体积；结果不小于格子数上限允许的最小边长
+     *
+     * @param minX 空域最小X
+     * @param minY 空域最小Y
+     * @param minZ 空域最小Z
+     * @param maxX 空域最大X
+     * @param maxY 空域最大Y
+     * @param maxZ 空域最大Z
+     * @param typicalRange 典型探测距离（米），不大于0表示未知
+     * @return 格子边长（米）
+     */
+    public static double chooseCellSize(double minX, double minY, double minZ,
+                                        double maxX, double maxY, double maxZ, double typicalRange) {
+        double volume = (maxX - minX) * (maxY - minY) * (maxZ - minZ);
+        double size = typicalRange > 0 ? typicalRange : Math.cbrt(volume / DEFAULT_TARGET_CELLS);
+        double minimum = minCellSize(minX, minY, minZ, maxX, maxY, maxZ);
+        while (size < minimum || cellCount(minX, minY, minZ, maxX, maxY, maxZ, size) > MAX_CELLS) {
+            size = Math.max(size * 1.25, minimum);
+        }
+        return size;
+    }
+
+    /**
+     * 格子数上限允许的最小格子边长（体积估算，未计入取整）
+     *
+     * @param minX 空域最小X
+     * @param minY 空域最小Y
+     * @param minZ 空域最小Z
+     * @param maxX 空域最大X
+     * @param maxY 空域最大Y
+     * @param maxZ 空域最大Z
+     * @return 最小格子边长（米）
+     */
+    public static double minCellSize(double minX, double minY, double minZ,
+                                     double maxX, double maxY, double maxZ) {
+        return Math.cbrt((maxX - minX) * (maxY - minY) * (maxZ - minZ) / MAX_CELLS);
+    }
+
+    // ================ 增删改 ================
+
+    @Override
+    public void insert(int handle) {
+        ensureCapacity(handle);
+        int cell = cellIndex(handle);
+        if (cellOf[handle] >= 0) {
+            if (cellOf[handle] != cell) {
+                unlink(handle);
+                link(handle, cell);
+            }
+            return;
+        }
+        link(handle, cell);
+        size++;
+    }
+
+    @Override
+    public boolean move(int handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        int cell = cellIndex(handle);
+        if (cellOf[handle] != cell) {
+            unlink(handle);
+            link(handle, cell);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(int handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        unlink(handle);
+        size--;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(cellHead, -1);
+        Arrays.fill(cellOf, -1);
+        size = 0;
+    }
+
+    // ================ 查询 ================
+
+    @Override
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < cellOf.length && cellOf[handle] >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void query(SpatialShape shape, IntConsumer consumer) {
+        if (size == 0) {
+            return;
+        }
+        double[] bounds = shape.getBoundingBox();
+        int x0 = clampedCell(bounds[0], originX, nx), x1 = clampedCell(bounds[3], originX, nx);
+        int y0 = clampedCell(bounds[1], originY, ny), y1 = clampedCell(bounds[4], originY, ny);
+        int z0 = clampedCell(bounds[2], originZ, nz), z1 = clampedCell(bounds[5], originZ, nz);
+
+        for (int ix = x0; ix <= x1; ix++) {
+            for (int iy = y0; iy <= y1; iy++) {
+                for (int iz = z0; iz <= z1; iz++) {
+                    int cell = (ix * ny + iy) * nz + iz;
+                    if (cellHead[cell] < 0) {
+                        continue;
+                    }
+                    if (isInterior(ix, iy, iz)) {
+                        // 外扩一点余量，抵消坐标换算格子序号时的舍入误差
+                        double pad = cellSize * 1e-9;
+                        double minX = originX + ix * cellSize - pad;
+                        double minY = originY + iy * cellSize - pad;
+                        double minZ = originZ + iz * cellSize - pad;
+                        double maxX = minX + cellSize + 2 * pad;
+                        double maxY = minY + cellSize + 2 * pad;
+                        double maxZ = minZ + cellSize + 2 * pad;
+                        if (!shape.intersectsBox(minX, minY, minZ, maxX, maxY, maxZ)) {
+                            continue;
+                        }
+                        if (shape.containsBox(minX, minY, minZ, maxX, maxY, maxZ)) {
+                            for (int h = cellHead[cell]; h >= 0; h = next[h]) {
+                                consumer.accept(h);
+                            }
+                            continue;
+                        }
+                    }
+                    for (int h = cellHead[cell]; h >= 0; h = next[h]) {
+                        if (shape.containsPoint(registry.x(h), registry.y(h), registry.z(h))) {
+                            consumer.accept(h);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 按切比雪夫环由内向外扩展搜索，当下一环的最小可能距离超过当前第k近距离时停止
+     */
+    @Override
+    public int[] findKNearest(double x, double y, double z, int k, double maxDistance, IntPredicate filter) {
+        double boundSquared = maxDistance * maxDistance;
+        PriorityQueue<double[]> best = new PriorityQueue<>(k + 1,
+                Collections.reverseOrder((a, b) -> Double.compare(a[0], b[0])));
+
+        if (size > 0) {
+            int cx = clampedCell(x, originX, nx), cy = clampedCell(y, originY, ny), cz = clampedCell(z, originZ, nz);
+            int maxRing = Math.max(Math.max(Math.max(cx, nx - 1 - cx), Math.max(cy, ny - 1 - cy)),
+                    Math.max(cz, nz - 1 - cz));
+            for (int ring = 0; ring <= maxRing; ring++) {
+                double ringDistance = Math.max(0, ring - 1) * cellSize;
+                if (ringDistance * ringDistance > boundSquared) {
+                    break;
+                }
+                for (int ix = Math.max(0, cx - ring); ix <= Math.min(nx - 1, cx + ring); ix++) {
+                    for (int iy = Math.max(0, cy - ring); iy <= Math.min(ny - 1, cy + ring); iy++) {
+                        boolean onShell = Math.abs(ix - cx) == ring || Math.abs(iy - cy) == ring;
+                        int step = onShell ? 1 : Math.max(1, 2 * ring);
+                        for (int iz = cz - ring; iz <= cz + ring; iz += step) {
+                            if (iz < 0 || iz >= nz) {
+                                continue;
+                            }
+                            int cell = (ix * ny + iy) * nz + iz;
+                            for (int h = cellHead[cell]; h >= 0; h = next[h]) {
+                                double d = registry.distanceSquared(h, x, y, z);
+                                if (d > boundSquared || (filter != null && !filter.test(h))) {
+                                    continue;
+                                }
+                                best.add(new double[]{d, h});
+                                if (best.size() > k) {
+                                    best.poll();
+                                }
+                                if (best.size() == k) {
+                                    boundSquared = best.peek()[0];
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        int[] ordered = new int[best.size()];
+        for (int i = ordered.length - 1; i >= 0; i--) {
+            ordered[i] = (int) best.poll()[1];
+        }
+        return ordered;
+    }
+
+    /**
+     * 获取格子边长
+     *
+     * @return 格子边长（米）
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UniformGrid{entities=%d, cells=%dx%dx%d, cellSize=%.1f}", size, nx, ny, nz, cellSize);
+    }
+
+    // ================ 私有辅助方法 ================
+
+    /**
+     * 计算句柄当前坐标所在的格子
+     *
+     * @param handle 实体句柄
+     * @return 格子下标
+     */
+    private int cellIndex(int handle) {
+        int ix = clampedCell(registry.x(handle), originX, nx);
+        int iy = clampedCell(registry.y(handle), originY, ny);
+        int iz = clampedCell(registry.z(handle), originZ, nz);
+        return (ix * ny + iy) * nz + iz;
+    }
+
+    /**
+     * 坐标换算为单轴格子序号，越界时取边缘格子
+     *
+     * @param value 坐标
+     * @param origin 该轴原点
+     * @param count 该轴格子数
+     * @return 格子序号
+     */
+    private int clampedCell(double value, double origin, int count) {
+        double offset = (value - origin) / cellSize;
+        if (!(offset > 0)) {
+            return 0;
+        }
+        return offset >= count ? count - 1 : (int) offset;
+    }
+
+    /**
+     * 是否为非边缘格子（边缘格子可能含有越界实体）
+     *
+     * @param ix X序号
+     * @param iy Y序号
+     * @param iz Z序号
+     * @return 是否为内部格子
+     */
+    private boolean isInterior(int ix, int iy, int iz) {
+        return ix > 0 && ix < nx - 1 && iy > 0 && iy < ny - 1 && iz > 0 && iz < nz - 1;
+    }
+
+    /**
+     * 将句柄挂到格子链表头部
+     *
+     * @param handle 实体句柄
+     * @param cell 格子下标
+     */
+    private void link(int handle, int cell) {
+        int head = cellHead[cell];
+        next[handle] = head;
+        prev[handle] = -1;
+        if (head >= 0) {
+            prev[head] = handle;
+        }
+        cellHead[cell] = handle;
+        cellOf[handle] = cell;
+    }
+
+    /**
+     * 将句柄从所在格子链表摘除
+     *
+     * @param handle 实体句柄
+     */
+    private void unlink(int handle) {
+        int cell = cellOf[handle];
+        if (prev[handle] >= 0) {
+            next[prev[handle]] = next[handle];
+        } else {
+            cellHead[cell] = next[handle];
+        }
+        if (next[handle] >= 0) {
+            prev[next[handle]] = prev[handle];
+        }
+        cellOf[handle] = -1;
+    }
+
+    /**
+     * 保证句柄数组容量
+     *
+     * @param handle 句柄
+     */
+    private void ensureCapacity(int handle) {
+        if (handle >= cellOf.length) {
+            int capacity = Math.max(handle + 1, Math.max(64, cellOf.length * 2));
+            int old = cellOf.length;
+            cellOf = Arrays.copyOf(cellOf, capacity);
+            Arrays.fill(cellOf, old, capacity, -1);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+        }
+    }
+
+    /**
+     * 计算格子总数（以浮点表示，避免溢出）
+     *
+     * @param minX 空域最小X
+     * @param minY 空域最小Y
+     * @param minZ 空域最小Z
+     * @param maxX 空域最大X
+     * @param maxY 空域最大Y
+     * @param maxZ 空域最大Z
+     * @param cellSize 格子边长
+     * @return 格子总数
+     */
+    private static double cellCount(double minX, double minY, double minZ,
+                                     double maxX, double maxY, double maxZ, double cellSize) {
+        return (double) cellsAlong(minX, maxX, cellSize) * cellsAlong(minY, maxY, cellSize)
+                * cellsAlong(minZ, maxZ, cellSize);
+    }
+
+    /**
+     * 计算单轴格子数
+     *
+     * @param min 轴最小值
+     * @param max 轴最大值
+     * @param cellSize 格子边长
+     * @return 格子数（至少为1）
+     */
+    private static int cellsAlong(double min, double max, double cellSize) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.ceil((max - min) / cellSize)));
+    }
+}
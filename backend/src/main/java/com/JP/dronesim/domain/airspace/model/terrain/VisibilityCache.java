@@ -0,0 +1,159 @@
+package com.JP.dronesim.domain.airspace.model.terrain;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 通视缓存
+ * 按（静态设备，目标体素）缓存通视结果：目标位置以所在体素中心代表，
+ * 同一体素内的目标共享一次DDA结果。栅格版本号变化（障碍物改变）时整体失效，
+ * 设备位置改变时只清除该设备的条目。
+ * 不同设备可在多个线程中并发查询；同一设备的查询须串行（并行探测时每个设备只由一个任务处理）。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class VisibilityCache {
+
+    /**
+     * 障碍物栅格
+     */
+    private final VoxelOccupancyGrid grid;
+
+    /**
+     * 各设备的缓存条目（键为设备句柄）
+     */
+    private final Map<Integer, Entry> entries;
+
+    /**
+     * 缓存对应的栅格版本号
+     */
+    private volatile int cachedVersion;
+
+    /**
+     * 构造函数
+     *
+     * @param grid 障碍物栅格
+     */
+    public VisibilityCache(VoxelOccupancyGrid grid) {
+        if (grid == null) {
+            throw new IllegalArgumentException("障碍物栅格不能为空");
+        }
+        this.grid = grid;
+        this.entries = new ConcurrentHashMap<>();
+        this.cachedVersion = grid.getVersion();
+    }
+
+    /**
+     * 判断设备能否看到目标位置
+     *
+     * @param deviceHandle 设备句柄
+     * @param deviceX 设备X
+     * @param deviceY 设备Y
+     * @param deviceZ 设备Z
+     * @param targetX 目标X
+     * @param targetY 目标Y
+     * @param targetZ 目标Z
+     * @return 是否通视
+     */
+    public boolean isVisible(int deviceHandle, double deviceX, double deviceY, double deviceZ,
+                             double targetX, double targetY, double targetZ) {
+        int version = grid.getVersion();
+        if (version != cachedVersion) {
+            synchronized (this) {
+                if (version != cachedVersion) {
+                    entries.clear();
+                    cachedVersion = version;
+                }
+            }
+        }
+        long cell = grid.cellIndexOf(targetX, targetY, targetZ);
+        if (cell < 0) {
+            // 栅格外的目标不缓存，直接求交
+            return grid.hasLineOfSight(deviceX, deviceY, deviceZ, targetX, targetY, targetZ);
+        }
+
+        Entry entry = entries.get(deviceHandle);
+        if (entry == null || entry.x != deviceX || entry.y != deviceY || entry.z != deviceZ) {
+            entry = new Entry(deviceX, deviceY, deviceZ);
+            entries.put(deviceHandle, entry);
+        }
+        int key = (int) cell;
+        if (entry.known.get(key)) {
+            return entry.visible.get(key);
+        }
+
+        boolean visible;
+        if (grid.isOccupiedAt(targetX, targetY, targetZ)) {
+            visible = false;
+        } else {
+            double[] center = grid.cellCenter(cell);
+            visible = grid.hasLineOfSight(deviceX, deviceY, deviceZ, center[0], center[1], center[2]);
+        }
+        entry.known.set(key);
+        if (visible) {
+            entry.visible.set(key);
+        }
+        return visible;
+    }
+
+    /**
+     * 移除设备的缓存条目（设备被移除时调用）
+     *
+     * @param deviceHandle 设备句柄
+     */
+    public void evict(int deviceHandle) {
+        entries.remove(deviceHandle);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 获取障碍物栅格
+     *
+     * @return 障碍物栅格
+     */
+    public VoxelOccupancyGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * 单个设备的缓存条目
+     */
+    private static final class Entry {
+
+        /**
+         * 建立条目时的设备位置
+         */
+        private final double x, y, z;
+
+        /**
+         * 已计算过的体素
+         */
+        private final BitSet known = new BitSet();
+
+        /**
+         * 通视的体素
+         */
+        private final BitSet visible = new BitSet();
+
+        /**
+         * 构造函数
+         *
+         * @param x 设备X
+         * @param y 设备Y
+         * @param z 设备Z
+         */
+        private Entry(double x, double y, double z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+}
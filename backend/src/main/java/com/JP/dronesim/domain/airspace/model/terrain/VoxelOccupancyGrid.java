@@ -0,0 +1,412 @@
+package com.JP.dronesim.domain.airspace.model.terrain;
+
+import java.util.Arrays;
+
+/**
+ * 体素占据栅格
+ * 以等边立方体素描述地形与建筑等障碍物，每个体素1比特。
+ * 提供基于三维DDA（逐体素步进）的通视判定；障碍物每次变化都会递增版本号，
+ * 供可见性缓存判断是否失效。坐标系与空域一致（NED，Z向下）。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class VoxelOccupancyGrid {
+
+    /**
+     * 体素总数上限
+     */
+    public static final long MAX_VOXELS = 1L << 30;
+
+    /**
+     * 栅格原点（最小角点）
+     */
+    private final double originX, originY, originZ;
+
+    /**
+     * 体素边长（米）
+     */
+    private final double voxelSize;
+
+    /**
+     * 各轴体素数
+     */
+    private final int nx, ny, nz;
+
+    /**
+     * 占据位图
+     */
+    private final long[] bits;
+
+    /**
+     * 障碍物版本号，每次修改递增
+     */
+    private int version;
+
+    /**
+     * 构造函数（全部为空）
+     *
+     * @param minX 最小X
+     * @param minY 最小Y
+     * @param minZ 最小Z
+     * @param maxX 最大X
+     * @param maxY 最大Y
+     * @param maxZ 最大Z
+     * @param voxelSize 体素边长（米）
+     */
+    public VoxelOccupancyGrid(double minX, double minY, double minZ,
+                              double maxX, double maxY, double maxZ, double voxelSize) {
+        if (!(voxelSize > 0)) {
+            throw new IllegalArgumentException("体素边长必须大于0");
+        }
+        if (minX >= maxX || minY >= maxY || minZ >= maxZ) {
+            throw new IllegalArgumentException("体素栅格边界参数无效");
+        }
+        long x = (long) Math.ceil((maxX - minX) / voxelSize);
+        long y = (long) Math.ceil((maxY - minY) / voxelSize);
+        long z = (long) Math.ceil((maxZ - minZ) / voxelSize);
+        if ((double) x * y * z > MAX_VOXELS) {
+            throw new IllegalArgumentException("体素边长过小，体素数超过上限");
+        }
+        this.originX = minX;
+        this.originY = minY;
+        this.originZ = minZ;
+        this.voxelSize = voxelSize;
+        this.nx = (int) x;
+        this.ny = (int) y;
+        this.nz = (int) z;
+        this.bits = new long[(int) ((x * y * z + 63) >>> 6)];
+    }
+
+    /**
+     * 由高程图生成地形栅格
+     * 高程图第一维沿X（北），第二维沿Y（东），数值为海拔高度（米，向上为正）；
+     * 体素中心高度不超过所在位置地形高度时判为占据，高程图范围外视为无地形
+     *
+     * @param heights 高程数据，NaN表示无数据
+     * @param heightOriginX 高程图首个格子的最小X
+     * @param heightOriginY 高程图首个格子的最小Y
+     * @param heightCellSize 高程图格子边长（米）
+     * @param minX 栅格最小X
+     * @param minY 栅格最小Y
+     * @param minZ 栅格最小Z
+     * @param maxX 栅格最大X
+     * @param maxY 栅格最大Y
+     * @param maxZ 栅格最大Z
+     * @param voxelSize 体素边长（米）
+     * @return 体素占据栅格
+     */
+    public static VoxelOccupancyGrid fromHeightmap(double[][] heights, double heightOriginX, double heightOriginY,
+                                                   double heightCellSize,
+                                                   double minX, double minY, double minZ,
+                                                   double maxX, double maxY, double maxZ, double voxelSize) {
+        if (heights == null || heights.length == 0) {
+            throw new IllegalArgumentException("高程数据不能为空");
+        }
+        if (!(heightCellSize > 0)) {
+            throw new IllegalArgumentException("高程格子边长必须大于0");
+        }
+        VoxelOccupancyGrid grid = new VoxelOccupancyGrid(minX, minY, minZ, maxX, maxY, maxZ, voxelSize);
+        for (int ix = 0; ix < grid.nx; ix++) {
+            int row = (int) Math.floor((grid.originX + (ix + 0.5) * voxelSize - heightOriginX) / heightCellSize);
+            if (row < 0 || row >= heights.length) {
+                continue;
+            }
+            for (int iy = 0; iy < grid.ny; iy++) {
+                int column = (int) Math.floor((grid.originY + (iy + 0.5) * voxelSize - heightOriginY) / heightCellSize);
+                if (column < 0 || column >= heights[row].length || Double.isNaN(heights[row][column])) {
+                    continue;
+                }
+                // NED坐标下高度h对应z=-h，体素中心z不小于-h即位于地表以下
+                double groundZ = -heights[row][column];
+                for (int iz = 0; iz < grid.nz; iz++) {
+                    if (grid.originZ + (iz + 0.5) * voxelSize >= groundZ) {
+                        grid.setBit(grid.index(ix, iy, iz), true);
+                    }
+                }
+            }
+        }
+        grid.version++;
+        return grid;
+    }
+
+    /**
+     * 设置体素占据状态
+     *
+     * @param ix X序号
+     * @param iy Y序号
+     * @param iz Z序号
+     * @param occupied 是否占据
+     */
+    public void setOccupied(int ix, int iy, int iz, boolean occupied) {
+        checkIndex(ix, iy, iz);
+        setBit(index(ix, iy, iz), occupied);
+        version++;
+    }
+
+    /**
+     * 将轴对齐区域内的体素标记为占据（如建筑物）
+     *
+     * @param minX 区域最小X
+     * @param minY 区域最小Y
+     * @param minZ 区域最小Z
+     * @param maxX 区域最大X
+     * @param maxY 区域最大Y
+     * @param maxZ 区域最大Z
+     * @param occupied 是否占据
+     */
+    public void fillBox(double minX, double minY, double minZ,
+                        double maxX, double maxY, double maxZ, boolean occupied) {
+        int x0 = clamp(minX, originX, nx), x1 = clamp(maxX, originX, nx);
+        int y0 = clamp(minY, originY, ny), y1 = clamp(maxY, originY, ny);
+        int z0 = clamp(minZ, originZ, nz), z1 = clamp(maxZ, originZ, nz);
+        for (int ix = x0; ix <= x1; ix++) {
+            for (int iy = y0; iy <= y1; iy++) {
+                for (int iz = z0; iz <= z1; iz++) {
+                    setBit(index(ix, iy, iz), occupied);
+                }
+            }
+        }
+        version++;
+    }
+
+    /**
+     * 清空全部障碍物
+     */
+    public void clear() {
+        Arrays.fill(bits, 0L);
+        version++;
+    }
+
+    /**
+     * 体素是否被占据
+     *
+     * @param ix X序号
+     * @param iy Y序号
+     * @param iz Z序号
+     * @return 是否占据
+     */
+    public boolean isOccupied(int ix, int iy, int iz) {
+        checkIndex(ix, iy, iz);
+        return getBit(index(ix, iy, iz));
+    }
+
+    /**
+     * 坐标所在体素是否被占据（栅格外视为空）
+     *
+     * @param x X坐标
+     * @param y Y坐标
+     * @param z Z坐标
+     * @return 是否占据
+     */
+    public boolean isOccupiedAt(double x, double y, double z) {
+        long cell = cellIndexOf(x, y, z);
+        return cell >= 0 && getBit(cell);
+    }
+
+    /**
+     * 获取坐标所在体素的线性下标
+     *
+     * @param x X坐标
+     * @param y Y坐标
+     * @param z Z坐标
+     * @return 体素下标，栅格外返回-1
+     */
+    public long cellIndexOf(double x, double y, double z) {
+        double fx = (x - originX) / voxelSize, fy = (y - originY) / voxelSize, fz = (z - originZ) / voxelSize;
+        if (!(fx >= 0 && fx < nx && fy >= 0 && fy < ny && fz >= 0 && fz < nz)) {
+            return -1;
+        }
+        return index((int) fx, (int) fy, (int) fz);
+    }
+
+    /**
+     * 获取体素中心坐标
+     *
+     * @param cell 体素下标
+     * @return 中心坐标（x, y, z）
+     */
+    public double[] cellCenter(long cell) {
+        int iz = (int) (cell % nz);
+        long rest = cell / nz;
+        int iy = (int) (rest % ny);
+        int ix = (int) (rest / ny);
+        return new double[]{originX + (ix + 0.5) * voxelSize, originY + (iy + 0.5) * voxelSize,
+                originZ + (iz + 0.5) * voxelSize};
+    }
+
+    /**
+     * 判断两点间是否通视
+     * 以三维DDA沿线段逐体素步进，起点与终点所在体素不参与遮挡判定
+     * （设备可能架设在地表体素内，目标所在体素由调用方单独判断）
+     *
+     * @param ax 起点X
+     * @param ay 起点Y
+     * @param az 起点Z
+     * @param bx 终点X
+     * @param by 终点Y
+     * @param bz 终点Z
+     * @return 是否通视
+     */
+    public boolean hasLineOfSight(double ax, double ay, double az, double bx, double by, double bz) {
+        double dx = bx - ax, dy = by - ay, dz = bz - az;
+
+        // 将线段裁剪到栅格包围盒内，栅格外没有障碍物
+        double tEnter = 0.0, tExit = 1.0;
+        double[] origin = {ax, ay, az};
+        double[] direction = {dx, dy, dz};
+        double[] low = {originX, originY, originZ};
+        double[] high = {originX + nx * voxelSize, originY + ny * voxelSize, originZ + nz * voxelSize};
+        for (int axis = 0; axis < 3; axis++) {
+            if (direction[axis] == 0.0) {
+                if (origin[axis] < low[axis] || origin[axis] >= high[axis]) {
+                    return true;
+                }
+                continue;
+            }
+            double t1 = (low[axis] - origin[axis]) / direction[axis];
+            double t2 = (high[axis] - origin[axis]) / direction[axis];
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (tEnter > tExit) {
+            return true;
+        }
+
+        long startCell = cellIndexOf(ax, ay, az);
+        long endCell = cellIndexOf(bx, by, bz);
+        int[] counts = {nx, ny, nz};
+        int[] cell = new int[3];
+        int[] step = new int[3];
+        double[] tMax = new double[3];
+        double[] tDelta = new double[3];
+        for (int axis = 0; axis < 3; axis++) {
+            double p = origin[axis] + direction[axis] * tEnter;
+            int c = (int) Math.floor((p - low[axis]) / voxelSize);
+            cell[axis] = Math.max(0, Math.min(counts[axis] - 1, c));
+            if (direction[axis] > 0) {
+                step[axis] = 1;
+                tMax[axis] = (low[axis] + (cell[axis] + 1) * voxelSize - origin[axis]) / direction[axis];
+                tDelta[axis] = voxelSize / direction[axis];
+            } else if (direction[axis] < 0) {
+                step[axis] = -1;
+                tMax[axis] = (low[axis] + cell[axis] * voxelSize - origin[axis]) / direction[axis];
+                tDelta[axis] = -voxelSize / direction[axis];
+            } else {
+                tMax[axis] = Double.POSITIVE_INFINITY;
+                tDelta[axis] = Double.POSITIVE_INFINITY;
+            }
+        }
+
+        while (true) {
+            long current = index(cell[0], cell[1], cell[2]);
+            if (current != startCell && current != endCell && getBit(current)) {
+                return false;
+            }
+            int axis = tMax[0] < tMax[1] ? (tMax[0] < tMax[2] ? 0 : 2) : (tMax[1] < tMax[2] ? 1 : 2);
+            if (tMax[axis] > tExit) {
+                return true;
+            }
+            cell[axis] += step[axis];
+            if (cell[axis] < 0 || cell[axis] >= counts[axis]) {
+                return true;
+            }
+            tMax[axis] += tDelta[axis];
+        }
+    }
+
+    /**
+     * 获取障碍物版本号
+     *
+     * @return 版本号
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * 获取体素总数
+     *
+     * @return 体素总数
+     */
+    public long getCellCount() {
+        return (long) nx * ny * nz;
+    }
+
+    /**
+     * 获取体素边长
+     *
+     * @return 体素边长（米）
+     */
+    public double getVoxelSize() {
+        return voxelSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VoxelOccupancyGrid{cells=%dx%dx%d, voxelSize=%.1f, version=%d}",
+                nx, ny, nz, voxelSize, version);
+    }
+
+    /**
+     * 计算线性下标
+     *
+     * @param ix X序号
+     * @param iy Y序号
+     * @param iz Z序号
+     * @return 线性下标
+     */
+    private long index(int ix, int iy, int iz) {
+        return ((long) ix * ny + iy) * nz + iz;
+    }
+
+    /**
+     * 读取位
+     *
+     * @param index 线性下标
+     * @return 是否占据
+     */
+    private boolean getBit(long index) {
+        return (bits[(int) (index >>> 6)] & (1L << (index & 63))) != 0;
+    }
+
+    /**
+     * 写入位
+     *
+     * @param index 线性下标
+     * @param value 是否占据
+     */
+    private void setBit(long index, boolean value) {
+        if (value) {
+            bits[(int) (index >>> 6)] |= 1L << (index & 63);
+        } else {
+            bits[(int) (index >>> 6)] &= ~(1L << (index & 63));
+        }
+    }
+
+    /**
+     * 坐标换算为单轴序号并截断到栅格内
+     *
+     * @param value 坐标
+     * @param origin 该轴原点
+     * @param count 该轴体素数
+     * @return 体素序号
+     */
+    private int clamp(double value, double origin, int count) {
+        int c = (int) Math.floor((value - origin) / voxelSize);
+        return Math.max(0, Math.min(count - 1, c));
+    }
+
+    /**
+     * 校验体素序号
+     *
+     * @param ix X序号
+     * @param iy Y序号
+     * @param iz Z序号
+     */
+    private void checkIndex(int ix, int iy, int iz) {
+        if (ix < 0 || ix >= nx || iy < 0 || iy >= ny || iz < 0 || iz >= nz) {
+            throw new IllegalArgumentException("体素序号超出栅格范围");
+        }
+    }
+}
@@ -6,22 +6,51 @@ import java.util.Optional;
 
 /**
  * 空域仓储接口
- * 定义空域聚合的持久化契约
+ * 定义空域聚合的持久化契约。
+ * 一个进程可同时承载多个相互独立的空域，按空域ID存取；
+ * 不带ID的接口面向默认空域（最近一次新建的空域），供只针对单个空域的用例使用
  *
  * @author JP Team
  * @version 1.0
  */
 public interface IAirspaceRepository {
     /**
-     * 保存唯一空域
+     * 保存空域，首次保存的空域成为默认空域
      * @param airspace 空域实体
      * @return 保存后的空域实体
      */
     Airspace save(Airspace airspace);
 
     /**
-     * 获取唯一空域
+     * 获取默认空域
      * @return 空域实体（如不存在返回Optional.empty）
      */
     Optional<Airspace> find();
-}
\ No newline at end of file
+
+    /**
+     * 按ID获取空域
+     * @param airspaceId 空域ID
+     * @return 空域实体，不存在时返回null
+     */
+    Airspace findById(String airspaceId);
+
+    /**
+     * 空域是否存在
+     * @param airspaceId 空域ID
+     * @return 是否存在
+     */
+    boolean existsById(String airspaceId);
+
+    /**
+     * 获取全部空域
+     * @return 空域列表（按首次保存顺序）
+     */
+    List<Airspace> findAll();
+
+    /**
+     * 删除空域，删除默认空域时由最近新建的其余空域接替
+     * @param airspaceId 空域ID
+     * @return 是否删除
+     */
+    boolean deleteById(String airspaceId);
+}
@@ -0,0 +1,76 @@
+package com.JP.dronesim.domain.common.enums;
+
+/**
+ * 无人机冲突类型枚举
+ * 区分已发生的间隔丧失与前瞻时间内预测到的冲突
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public enum ConflictType {
+
+    /**
+     * 间隔丧失（当前距离已小于最小间隔）
+     */
+    LOSS_OF_SEPARATION("loss", "间隔丧失"),
+
+    /**
+     * 预测冲突（按当前速度外推，前瞻时间内距离将小于最小间隔）
+     */
+    PREDICTED("predicted", "预测冲突");
+
+    /**
+     * 类型代码
+     */
+    private final String code;
+
+    /**
+     * 类型描述
+     */
+    private final String description;
+
+    /**
+     * 构造函数
+     *
+     * @param code 类型代码
+     * @param description 类型描述
+     */
+    ConflictType(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * 获取类型代码
+     *
+     * @return 类型代码
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 获取类型描述
+     *
+     * @return 类型描述
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 根据代码获取冲突类型
+     *
+     * @param code 类型代码
+     * @return 对应的冲突类型
+     * @throws IllegalArgumentException 如果代码不存在
+     */
+    public static ConflictType fromCode(String code) {
+        for (ConflictType type : values()) {
+            if (type.code.equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("未知的冲突类型代码: " + code);
+    }
+}
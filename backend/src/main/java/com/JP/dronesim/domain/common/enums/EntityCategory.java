@@ -0,0 +1,81 @@
+package com.JP.dronesim.domain.common.enums;
+
+/**
+ * 空域实体类别枚举
+ * 用于空间查询时按实体类别过滤
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public enum EntityCategory {
+
+    /**
+     * 无人机
+     */
+    UAV("uav", "无人机"),
+
+    /**
+     * 探测设备
+     */
+    PROBE_DEVICE("device", "探测设备"),
+
+    /**
+     * 全部实体
+     */
+    ALL("all", "全部实体");
+
+    /**
+     * 类别代码
+     */
+    private final String code;
+
+    /**
+     * 类别描述
+     */
+    private final String description;
+
+    /**
+     * 构造函数
+     *
+     * @param code 类别代码
+     * @param description 类别描述
+     */
+    EntityCategory(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * 获取类别代码
+     *
+     * @return 类别代码
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 获取类别描述
+     *
+     * @return 类别描述
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 根据代码获取实体类别
+     *
+     * @param code 类别代码
+     * @return 对应的实体类别
+     * @throws IllegalArgumentException 如果代码不存在
+     */
+    public static EntityCategory fromCode(String code) {
+        for (EntityCategory category : values()) {
+            if (category.code.equalsIgnoreCase(code)) {
+                return category;
+            }
+        }
+        throw new IllegalArgumentException("未知的实体类别代码: " + code);
+    }
+}
@@ -0,0 +1,76 @@
+package com.JP.dronesim.domain.common.enums;
+
+/**
+ * 地理围栏事件类型枚举
+ * 表示无人机进入或离开围栏区域
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public enum GeofenceEventType {
+
+    /**
+     * 进入区域
+     */
+    ENTRY("entry", "进入"),
+
+    /**
+     * 离开区域
+     */
+    EXIT("exit", "离开");
+
+    /**
+     * 类型代码
+     */
+    private final String code;
+
+    /**
+     * 类型描述
+     */
+    private final String description;
+
+    /**
+     * 构造函数
+     *
+     * @param code 类型代码
+     * @param description 类型描述
+     */
+    GeofenceEventType(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * 获取类型代码
+     *
+     * @return 类型代码
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 获取类型描述
+     *
+     * @return 类型描述
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 根据代码获取围栏事件类型
+     *
+     * @param code 类型代码
+     * @return 对应的围栏事件类型
+     * @throws IllegalArgumentException 如果代码不存在
+     */
+    public static GeofenceEventType fromCode(String code) {
+        for (GeofenceEventType type : values()) {
+            if (type.code.equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("未知的围栏事件类型代码: " + code);
+    }
+}
@@ -0,0 +1,76 @@
+package com.JP.dronesim.domain.common.enums;
+
+/**
+ * 空间索引类型枚举
+ * 决定空域动态层（无人机）使用的索引结构
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public enum SpatialIndexType {
+
+    /**
+     * 松散八叉树，适合分布稀疏、范围差异大的场景
+     */
+    OCTREE("octree", "松散八叉树"),
+
+    /**
+     * 均匀网格，适合有界空域内的密集集群
+     */
+    GRID("grid", "均匀网格");
+
+    /**
+     * 类型代码
+     */
+    private final String code;
+
+    /**
+     * 类型描述
+     */
+    private final String description;
+
+    /**
+     * 构造函数
+     *
+     * @param code 类型代码
+     * @param description 类型描述
+     */
+    SpatialIndexType(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * 获取类型代码
+     *
+     * @return 类型代码
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 获取类型描述
+     *
+     * @return 类型描述
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 根据代码获取索引类型
+     *
+     * @param code 类型代码
+     * @return 对应的索引类型
+     * @throws IllegalArgumentException 如果代码不存在
+     */
+    public static SpatialIndexType fromCode(String code) {
+        for (SpatialIndexType type : values()) {
+            if (type.code.equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("未知的空间索引类型代码: " + code);
+    }
+}
@@ -0,0 +1,76 @@
+package com.JP.dronesim.domain.common.enums;
+
+/**
+ * 仿真帧超时处理策略枚举
+ * 实时驱动时某一帧执行超时、墙钟时间落后于计划帧时的处理方式
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public enum TickOverrunPolicy {
+
+    /**
+     * 追赶：连续执行落后的帧（受最大追赶帧数限制），仿真时间与墙钟保持一致
+     */
+    CATCH_UP("catch-up", "追赶"),
+
+    /**
+     * 跳过：丢弃落后的帧，只执行一帧后回到计划节拍，仿真时间落后于墙钟
+     */
+    SKIP("skip", "跳过");
+
+    /**
+     * 策略代码
+     */
+    private final String code;
+
+    /**
+     * 策略描述
+     */
+    private final String description;
+
+    /**
+     * 构造函数
+     *
+     * @param code 策略代码
+     * @param description 策略描述
+     */
+    TickOverrunPolicy(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * 获取策略代码
+     *
+     * @return 策略代码
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 获取策略描述
+     *
+     * @return 策略描述
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 根据代码获取超时处理策略
+     *
+     * @param code 策略代码
+     * @return 对应的超时处理策略
+     * @throws IllegalArgumentException 如果代码不存在
+     */
+    public static TickOverrunPolicy fromCode(String code) {
+        for (TickOverrunPolicy type : values()) {
+            if (type.code.equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("未知的超时处理策略代码: " + code);
+    }
+}
@@ -0,0 +1,76 @@
+package com.JP.dronesim.domain.common.enums;
+
+/**
+ * 地理围栏区域类型枚举
+ * 区分禁止进入的禁飞区与需要报告的限飞区
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public enum ZoneType {
+
+    /**
+     * 禁飞区
+     */
+    NO_FLY("nofly", "禁飞区"),
+
+    /**
+     * 限飞区
+     */
+    RESTRICTED("restricted", "限飞区");
+
+    /**
+     * 类型代码
+     */
+    private final String code;
+
+    /**
+     * 类型描述
+     */
+    private final String description;
+
+    /**
+     * 构造函数
+     *
+     * @param code 类型代码
+     * @param description 类型描述
+     */
+    ZoneType(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * 获取类型代码
+     *
+     * @return 类型代码
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 获取类型描述
+     *
+     * @return 类型描述
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 根据代码获取区域类型
+     *
+     * @param code 类型代码
+     * @return 对应的区域类型
+     * @throws IllegalArgumentException 如果代码不存在
+     */
+    public static ZoneType fromCode(String code) {
+        for (ZoneType type : values()) {
+            if (type.code.equalsIgnoreCase(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("未知的区域类型代码: " + code);
+    }
+}
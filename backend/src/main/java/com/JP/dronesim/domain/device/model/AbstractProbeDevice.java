@@ -3,15 +3,27 @@ package com.JP.dronesim.domain.device.model;
 import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
 import com.JP.dronesim.domain.common.enums.DeviceStatus;
 import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.enums.EntityCategory;
 import com.JP.dronesim.domain.common.valueobjects.Orientation;
 import com.JP.dronesim.domain.common.valueobjects.Position;
 import com.JP.dronesim.domain.device.model.common.DetectionLog;
 import com.JP.dronesim.domain.device.model.common.SensorParameters;
+import com.JP.dronesim.domain.device.model.common.SweptCrossing;
 import com.JP.dronesim.domain.device.model.events.DetectionEvent;
 import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.SimulationRandom;
+import com.JP.dronesim.domain.airspace.model.TimeStep;
+import com.JP.dronesim.domain.airspace.model.spatial.ConeShape;
 import com.JP.dronesim.domain.uav.model.UAV;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 /**
  * 抽象探测设备基类
@@ -88,6 +100,22 @@ import java.util.List;
      */
     protected boolean initialized;
     
+    /**
+     * 本次探测的仿真时间，探测事件与内部时间戳均取此值
+     */
+    private LocalDateTime simulationTime = TimeStep.EPOCH;
+    
+    /**
+     * 设备专属随机流，加入空域时按（空域种子, 会话, 设备ID）派生；
+     * 只在本设备的探测中使用，并行探测时各设备互不干扰
+     */
+    private SplittableRandom random;
+    
+    /**
+     * 本次探测中步内扫掠穿过视场的目标及其穿越点，探测结束后清空
+     */
+    private Map<UAV, SweptCrossing> sweptCrossings = Collections.emptyMap();
+    
     /**
      * 构造函数
      * 
@@ -281,6 +309,16 @@ import java.util.List;
         this.detectionParameters = parameters;
     }
     
+    /**
+     * 获取设备的数据更新周期
+     * 由传感器参数决定（雷达波位驻留时间、相机帧间隔、无线电积累时间），仿真按该周期调度探测
+     * 
+     * @return 更新周期（秒），0表示每个仿真步都探测
+     */
+    public double getUpdatePeriod() {
+        return detectionParameters == null ? 0.0 : detectionParameters.getUpdatePeriod();
+    }
+    
     /**
      * 获取探测日志
      * 
@@ -325,6 +363,7 @@ import java.util.List;
         this.detectionRange = params.getDetectionRange();
         this.fieldOfView = params.getFieldOfView();
         this.detectionParameters = params.getDetectionParameters();
+        this.random = new SimulationRandom(0L, 0L).stream(id);
         
         // 执行特定类型的初始化逻辑
         doSpecificInitialization(params);
@@ -344,15 +383,105 @@ import java.util.List;
      * @throws IllegalStateException 如果设备未初始化或处于错误状态
      */
     public List<DetectionEvent> performDetection(Airspace airspace, List<UAV> uavs) {
+        checkReadyForDetection();
+        
+        // 先用空间索引筛出视场内的候选目标，再执行具体的探测逻辑（由子类实现）
+        return detectAndLog(airspace, selectCandidates(airspace, uavs));
+    }
+    
+    /**
+     * 对空域中的全部无人机执行探测
+     * 候选目标按空间索引句柄解析，不做逐个字符串查找
+     * 
+     * @param airspace 当前空域环境对象
+     * @return 探测事件列表
+     * @throws IllegalStateException 如果设备未初始化或处于错误状态
+     */
+    public List<DetectionEvent> performDetection(Airspace airspace) {
+        checkReadyForDetection();
+        
+        return detectAndLog(airspace, selectCandidates(airspace));
+    }
+    
+    /**
+     * 对批量粗筛给出的候选目标执行探测
+     * 候选句柄由{@link com.JP.dronesim.domain.services.DetectionBroadPhase}一次性为全部设备计算，
+     * 设备不再单独查询空间索引
+     * 
+     * @param airspace 当前空域环境对象
+     * @param candidateHandles 本设备的候选无人机句柄（升序）
+     * @return 探测事件列表
+     * @throws IllegalStateException 如果设备未初始化或处于错误状态
+     */
+    public List<DetectionEvent> performDetection(Airspace airspace, int[] candidateHandles) {
+        return performDetection(airspace, candidateHandles, null);
+    }
+    
+    /**
+     * 对批量粗筛给出的候选目标执行探测，步内扫掠穿过视场的目标按穿越点判定
+     * 穿越点由{@link com.JP.dronesim.domain.services.DetectionBroadPhase}在连续探测模式下给出，
+     * 探测模型通过{@link #getTargetPosition(UAV)}与{@link #getTargetTime(UAV)}读取目标的判定位置与时刻
+     * 
+     * @param airspace 当前空域环境对象
+     * @param candidateHandles 本设备的候选无人机句柄（升序）
+     * @param crossings 候选中扫掠穿过视场的目标的穿越点，为null时全部按当前位置判定
+     * @return 探测事件列表
+     * @throws IllegalStateException 如果设备未初始化或处于错误状态
+     */
+    public List<DetectionEvent> performDetection(Airspace airspace, int[] candidateHandles,
+                                                 SweptCrossing[] crossings) {
+        checkReadyForDetection();
+        
+        List<UAV> candidates = resolveUAVs(airspace, candidateHandles);
+        if (crossings == null || crossings.length == 0) {
+            return detectAndLog(airspace, candidates);
+        }
+        Map<UAV, SweptCrossing> byTarget = new IdentityHashMap<>(crossings.length * 2);
+        for (SweptCrossing crossing : crossings) {
+            UAV uav = airspace.getUAVByHandle(crossing.getHandle());
+            if (uav != null) {
+                byTarget.put(uav, crossing);
+            }
+        }
+        this.sweptCrossings = byTarget;
+        try {
+            return detectAndLog(airspace, candidates);
+        } finally {
+            this.sweptCrossings = Collections.emptyMap();
+        }
+    }
+    
+    /**
+     * 检查设备是否可以执行探测
+     * 
+     * @throws IllegalStateException 如果设备未初始化或处于错误状态
+     */
+    private void checkReadyForDetection() {
         if (!initialized) {
             throw new IllegalStateException("设备未初始化");
         }
         if (status != DeviceStatus.ACTIVE) {
             throw new IllegalStateException("设备未处于活跃状态");
         }
-        
-        // 执行具体的探测逻辑（由子类实现）
-        List<DetectionEvent> events = doPerformDetection(airspace, uavs);
+    }
+    
+    /**
+     * 对候选目标执行探测并记录日志
+     * 
+     * @param airspace 空域环境
+     * @param candidates 候选无人机列表
+     * @return 探测事件列表
+     */
+    private List<DetectionEvent> detectAndLog(Airspace airspace, List<UAV> candidates) {
+        if (airspace != null) {
+            this.simulationTime = airspace.getSimulationTime();
+        }
+        // 地形或建筑遮挡的目标不进入探测模型
+        if (airspace != null && airspace.getObstacleGrid() != null && candidates != null) {
+            candidates = new ArrayList<>(candidates);
+            candidates.removeIf(uav -> !airspace.hasLineOfSight(this, getTargetPosition(uav)));
+        }
+        List<DetectionEvent> events = doPerformDetection(airspace, candidates);
         
         // 将探测事件添加到日志中
         if (events != null) {
@@ -429,6 +558,124 @@ import java.util.List;
             throw new IllegalArgumentException("参数更新失败: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * 创建设备副本
+     * 通过子类的无参构造函数新建同类型设备，按本设备的ID、位置、姿态、探测参数初始化并复制运行状态；
+     * 探测日志与扫描等内部状态从初始值开始，用于从同一场景模板派生相互独立的重复仿真
+     *
+     * @return 设备副本
+     * @throws IllegalStateException 如果设备未初始化或设备类型没有公开的无参构造函数
+     */
+    public AbstractProbeDevice replicate() {
+        if (!initialized) {
+            throw new IllegalStateException("设备未初始化，不能复制");
+        }
+
+        AbstractProbeDevice replica;
+        try {
+            replica = getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("设备类型不支持复制: " + getClass().getSimpleName(), e);
+        }
+        replica.initialize(new DeviceInitParamsDTO(id, name, type, position, orientation, elevation, attitude,
+                detectionRange, fieldOfView, detectionParameters));
+        replica.status = status;
+        return replica;
+    }
+
+    /**
+     * 绑定设备随机流（由空域在加入设备与新会话开始时调用）
+     *
+     * @param random 随机流
+     */
+    public void bindRandom(SplittableRandom random) {
+        if (random == null) {
+            throw new IllegalArgumentException("随机流不能为空");
+        }
+        this.random = random;
+    }
+    
+    /**
+     * 将运行状态（扫描角度、历史接触等）恢复为配置的初始状态
+     * 由空域在每次启动仿真时调用，使同一会话的结果只取决于配置、种子与输入；探测日志保留
+     */
+    public void resetRuntimeState() {
+        this.simulationTime = TimeStep.EPOCH;
+        if (initialized) {
+            doResetRuntimeState();
+        }
+    }
+    
+    /**
+     * 获取本次探测的仿真时间
+     * 
+     * @return 仿真时间
+     */
+    protected LocalDateTime getSimulationTime() {
+        return simulationTime;
+    }
+    
+    /**
+     * 获取目标在本次探测中的判定位置
+     * 
+     * @param uav 目标无人机
+     * @return 步内扫掠穿过视场的目标返回穿越点，否则返回当前位置
+     */
+    protected Position getTargetPosition(UAV uav) {
+        SweptCrossing crossing = sweptCrossings.get(uav);
+        return crossing != null ? crossing.getPosition() : uav.getPosition();
+    }
+    
+    /**
+     * 获取目标在本次探测中的判定时刻
+     * 
+     * @param uav 目标无人机
+     * @return 步内扫掠穿过视场的目标返回到达穿越点的时刻，否则返回本次探测的仿真时间
+     */
+    protected LocalDateTime getTargetTime(UAV uav) {
+        SweptCrossing crossing = sweptCrossings.get(uav);
+        return crossing != null ? getSimulationTime(crossing.getTimeOffset()) : simulationTime;
+    }
+    
+    /**
+     * 获取目标在本次探测中的扫掠穿越点
+     * 供自身判定区域比视场更窄的设备沿移动线段重新求取穿越点
+     * 
+     * @param uav 目标无人机
+     * @return 步内扫掠穿过视场的目标返回穿越点，否则返回null
+     */
+    protected SweptCrossing getSweptCrossing(UAV uav) {
+        return sweptCrossings.get(uav);
+    }
+    
+    /**
+     * 获取相对本次探测仿真时间偏移后的时刻
+     * 
+     * @param offsetSeconds 时间偏移（秒）
+     * @return 仿真时间
+     */
+    protected LocalDateTime getSimulationTime(double offsetSeconds) {
+        return simulationTime.plusNanos(Math.round(offsetSeconds * 1e9));
+    }
+    
+    /**
+     * 获取设备随机流
+     * 
+     * @return 随机流
+     */
+    protected SplittableRandom getRandom() {
+        return random;
+    }
+    
+    /**
+     * 从设备随机流生成事件ID
+     * 
+     * @return 事件ID
+     */
+    protected String nextEventId() {
+        return SimulationRandom.nextId(random);
+    }
     
     // ================ 状态检查方法 ================
     
@@ -540,6 +787,116 @@ import java.util.List;
                 detectionRange, fieldOfView, status, initialized);
     }
     
+    // ================ 视场裁剪 ================
+
+    /**
+     * 筛选视场内的候选无人机
+     * 通过空域空间索引做圆锥查询，保持输入列表中的原有顺序
+     *
+     * @param airspace 空域环境
+     * @param uavs 无人机列表
+     * @return 位于探测视场内的无人机列表
+     */
+    protected List<UAV> selectCandidates(Airspace airspace, List<UAV> uavs) {
+        if (airspace == null || uavs == null || uavs.isEmpty()) {
+            return uavs;
+        }
+
+        int[] inView = queryHandlesInView(airspace);
+        List<UAV> candidates = new ArrayList<>(Math.min(inView.length, uavs.size()));
+        if (inView.length == 0) {
+            return candidates;
+        }
+        BitSet marked = new BitSet();
+        for (int handle : inView) {
+            marked.set(handle);
+        }
+        for (UAV uav : uavs) {
+            int handle = airspace.getEntityHandle(uav.getId());
+            if (handle >= 0 && marked.get(handle)) {
+                candidates.add(uav);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * 筛选空域中位于视场内的全部候选无人机
+     * 按句柄升序返回，保证结果顺序确定
+     *
+     * @param airspace 空域环境
+     * @return 位于探测视场内的无人机列表
+     */
+    protected List<UAV> selectCandidates(Airspace airspace) {
+        return resolveUAVs(airspace, queryHandlesInView(airspace));
+    }
+
+    /**
+     * 获取探测视场圆锥
+     *
+     * @return 以设备位置为顶点、探测距离为作用距离的视场圆锥
+     */
+    public ConeShape getDetectionCone() {
+        return new ConeShape(position.getX(), position.getY(), position.getZ(),
+                getDetectionAzimuth(), getDetectionElevation(), getDetectionHalfAngle(), detectionRange);
+    }
+
+    /**
+     * 按句柄解析无人机
+     *
+     * @param airspace 空域环境
+     * @param handles 实体句柄
+     * @return 无人机列表（跳过已不是无人机的句柄）
+     */
+    private List<UAV> resolveUAVs(Airspace airspace, int[] handles) {
+        List<UAV> candidates = new ArrayList<>(handles.length);
+        for (int handle : handles) {
+            UAV uav = airspace.getUAVByHandle(handle);
+            if (uav != null) {
+                candidates.add(uav);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * 以视场圆锥查询空间索引
+     *
+     * @param airspace 空域环境
+     * @return 视场内无人机句柄
+     */
+    private int[] queryHandlesInView(Airspace airspace) {
+        return airspace.queryHandlesInCone(position, getDetectionAzimuth(), getDetectionElevation(),
+                getDetectionHalfAngle(), detectionRange, EntityCategory.UAV);
+    }
+
+    /**
+     * 获取视场轴向方位角
+     *
+     * @return 方位角（度），默认为设备朝向
+     */
+    protected double getDetectionAzimuth() {
+        return orientation;
+    }
+
+    /**
+     * 获取视场轴向仰角
+     *
+     * @return 仰角（度），默认为设备仰角
+     */
+    protected double getDetectionElevation() {
+        return elevation;
+    }
+
+    /**
+     * 获取视场半锥角
+     *
+     * @return 半锥角（度），默认为视场角的一半
+     */
+    protected double getDetectionHalfAngle() {
+        return fieldOfView / 2.0;
+    }
+
     // ================ 抽象方法 - 由子类实现 ================
     
     /**
@@ -574,6 +931,13 @@ import java.util.List;
      */
     protected abstract void doReset();
     
+    /**
+     * 执行特定类型的运行状态复位（新会话开始时）
+     * 默认无运行状态，有扫描等内部状态的设备类型覆盖
+     */
+    protected void doResetRuntimeState() {
+    }
+    
     // ================ 私有验证方法 ================
     
     /**
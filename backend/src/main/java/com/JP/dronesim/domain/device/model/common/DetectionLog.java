@@ -29,6 +29,11 @@ public class DetectionLog {
      * 防止内存溢出，超出容量时会删除最旧的记录
      */
     private final int maxCapacity;
+
+    /**
+     * 累计添加的事件数（不因容量淘汰而减少），用于增量读取新事件
+     */
+    private long totalEventCount;
     
     /**
      * 默认构造函数
@@ -71,6 +76,7 @@ public class DetectionLog {
             }
             
             events.add(event);
+            totalEventCount++;
         }
     }
     
@@ -208,6 +214,18 @@ public class DetectionLog {
         }
     }
     
+    /**
+     * 获取累计添加的探测事件数
+     * 与上一次读取的计数相减即为期间新增的事件数，可配合getLatestEvents增量读取
+     * 
+     * @return 累计事件数
+     */
+    public long getTotalEventCount() {
+        synchronized (events) {
+            return totalEventCount;
+        }
+    }
+
     /**
      * 获取最大容量
      * 
@@ -41,4 +41,14 @@ public interface SensorParameters {
      * @throws IllegalArgumentException 如果新参数无效或类型不匹配
      */
     void updateFrom(SensorParameters newParameters);
+
+    /**
+     * 获取传感器的数据更新周期
+     * 仿真调度按该周期运行设备，0表示每个仿真步都运行
+     *
+     * @return 更新周期（秒）
+     */
+    default double getUpdatePeriod() {
+        return 0.0;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.JP.dronesim.domain.device.model.common;
+
+import com.JP.dronesim.domain.common.valueobjects.Position;
+
+/**
+ * 扫掠穿越点
+ * 目标在一个仿真步内沿直线从步前位置移动到步末位置，移动线段穿过设备视场时由探测粗筛给出穿越点
+ * （以线段参数表示）：步末位置在视场内时为步末位置，否则为线段在视场内部分的中点。
+ * 探测模型按穿越点及到达该点的时刻判定，
+ * 自身还有更窄判定区域的设备（如雷达波束）可以沿线段重新求取穿越点
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SweptCrossing {
+
+    /**
+     * 无人机句柄
+     */
+    private final int handle;
+
+    /**
+     * 步前位置
+     */
+    private final Position start;
+
+    /**
+     * 步末位置
+     */
+    private final Position end;
+
+    /**
+     * 穿越点的线段参数（0为步前位置，1为步末位置）
+     */
+    private final double fraction;
+
+    /**
+     * 本步时长（秒）
+     */
+    private final double stepSeconds;
+
+    /**
+     * 穿越点位置
+     */
+    private final Position position;
+
+    /**
+     * 构造函数
+     *
+     * @param handle 无人机句柄
+     * @param start 步前位置
+     * @param end 步末位置
+     * @param fraction 穿越点的线段参数（0-1）
+     * @param stepSeconds 本步时长（秒）
+     */
+    public SweptCrossing(int handle, Position start, Position end, double fraction, double stepSeconds) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("移动线段端点不能为空");
+        }
+        if (!(fraction >= 0.0 && fraction <= 1.0)) {
+            throw new IllegalArgumentException("穿越点参数必须在0到1之间");
+        }
+        if (stepSeconds < 0) {
+            throw new IllegalArgumentException("步长不能为负数");
+        }
+        this.handle = handle;
+        this.start = start;
+        this.end = end;
+        this.fraction = fraction;
+        this.stepSeconds = stepSeconds;
+        this.position = positionAt(fraction);
+    }
+
+    /**
+     * 获取线段上参数t处的位置
+     *
+     * @param t 线段参数（0-1）
+     * @return 位置
+     */
+    public Position positionAt(double t) {
+        if (t == 1.0) {
+            return end;
+        }
+        return new Position(start.getX() + (end.getX() - start.getX()) * t,
+                start.getY() + (end.getY() - start.getY()) * t,
+                start.getZ() + (end.getZ() - start.getZ()) * t);
+    }
+
+    /**
+     * 获取到达线段上参数t处的时刻相对步末的偏移
+     *
+     * @param t 线段参数（0-1）
+     * @return 时间偏移（秒，不大于0）
+     */
+    public double timeOffsetAt(double t) {
+        return -(1.0 - t) * stepSeconds;
+    }
+
+    /**
+     * 获取到达穿越点的时刻相对步末的偏移
+     *
+     * @return 时间偏移（秒，不大于0）
+     */
+    public double getTimeOffset() {
+        return timeOffsetAt(fraction);
+    }
+
+    // ================ Getters ================
+
+    public int getHandle() { return handle; }
+    public Position getStart() { return start; }
+    public Position getEnd() { return end; }
+    public double getFraction() { return fraction; }
+    public double getStepSeconds() { return stepSeconds; }
+    public Position getPosition() { return position; }
+
+    @Override
+    public String toString() {
+        return String.format("SweptCrossing{handle=%d, position=%s, timeOffset=%.3fs}",
+                handle, position, getTimeOffset());
+    }
+}
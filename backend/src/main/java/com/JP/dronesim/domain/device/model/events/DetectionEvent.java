@@ -4,7 +4,6 @@ import com.JP.dronesim.domain.common.enums.DeviceType;
 import com.JP.dronesim.domain.common.valueobjects.Position;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * 探测事件值对象
@@ -115,8 +114,10 @@ public class DetectionEvent {
     // ================ 工厂方法 ================
 
     /**
-     * 创建探测事件（自动生成事件ID和时间戳）
+     * 创建探测事件
      *
+     * @param eventId 事件ID（取自设备随机流）
+     * @param timestamp 探测时的仿真时间
      * @param detectorId 探测器ID
      * @param detectorName 探测器名称
      * @param detectorType 探测设备类型
@@ -128,12 +129,13 @@ public class DetectionEvent {
      * @param description 事件描述
      * @return 探测事件实例
      */
-    public static DetectionEvent create(String detectorId, String detectorName, DeviceType detectorType,
+    public static DetectionEvent create(String eventId, LocalDateTime timestamp,
+                                       String detectorId, String detectorName, DeviceType detectorType,
                                        String detectedUavId, String detectedUavName, Position detectedPosition,
                                        double confidence, double detectionDistance, String description) {
         return new DetectionEvent(
-            UUID.randomUUID().toString(),
-            LocalDateTime.now(),
+            eventId,
+            timestamp,
             detectorId,
             detectorName,
             detectorType,
@@ -149,6 +151,8 @@ public class DetectionEvent {
     /**
      * 创建简单探测事件（基础信息）
      *
+     * @param eventId 事件ID（取自设备随机流）
+     * @param timestamp 探测时的仿真时间
      * @param detectorId 探测器ID
      * @param detectorType 探测设备类型
      * @param detectedUavId 被探测UAV的ID
@@ -157,10 +161,13 @@ public class DetectionEvent {
      * @param detectionDistance 探测距离
      * @return 探测事件实例
      */
-    public static DetectionEvent createSimple(String detectorId, DeviceType detectorType,
+    public static DetectionEvent createSimple(String eventId, LocalDateTime timestamp,
+                                             String detectorId, DeviceType detectorType,
                                              String detectedUavId, Position detectedPosition,
                                              double confidence, double detectionDistance) {
         return create(
+            eventId,
+            timestamp,
             detectorId,
             null, // 设备名称可为空
             detectorType,
@@ -345,12 +345,27 @@ public class CameraFeed {
          */
         private final double confidence;
         
+        /**
+         * 目标成像时刻（步内扫掠穿过视场的目标为到达穿越点的时刻，为null时取数据流时间戳）
+         */
+        private final LocalDateTime exposureTime;
+        
         /**
          * 构造函数
          */
         public RawDetectionData(String objectName, int boundingBoxX, int boundingBoxY,
                               int boundingBoxWidth, int boundingBoxHeight,
                               double distance, double confidence) {
+            this(objectName, boundingBoxX, boundingBoxY, boundingBoxWidth, boundingBoxHeight,
+                    distance, confidence, null);
+        }
+        
+        /**
+         * 构造函数（指定目标成像时刻）
+         */
+        public RawDetectionData(String objectName, int boundingBoxX, int boundingBoxY,
+                              int boundingBoxWidth, int boundingBoxHeight,
+                              double distance, double confidence, LocalDateTime exposureTime) {
             this.objectName = objectName;
             this.boundingBoxX = boundingBoxX;
             this.boundingBoxY = boundingBoxY;
@@ -358,6 +373,7 @@ public class CameraFeed {
             this.boundingBoxHeight = boundingBoxHeight;
             this.distance = distance;
             this.confidence = confidence;
+            this.exposureTime = exposureTime;
         }
         
         // Getter方法
@@ -368,6 +384,7 @@ public class CameraFeed {
         public int getBoundingBoxHeight() { return boundingBoxHeight; }
         public double getDistance() { return distance; }
         public double getConfidence() { return confidence; }
+        public LocalDateTime getExposureTime() { return exposureTime; }
         
         @Override
         public String toString() {
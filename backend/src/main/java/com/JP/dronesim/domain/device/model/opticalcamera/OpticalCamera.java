@@ -1,13 +1,13 @@
 package com.JP.dronesim.domain.device.model.opticalcamera;
 
 import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
 import com.JP.dronesim.domain.airspace.model.EnvironmentParameters;
 import com.JP.dronesim.domain.common.enums.DeviceType;
 import com.JP.dronesim.domain.common.valueobjects.Position;
 import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
 import com.JP.dronesim.domain.device.model.common.SensorParameters;
 import com.JP.dronesim.domain.device.model.events.DetectionEvent;
-import com.JP.dronesim.domain.uav.model.AirspaceEnvironment;
 import com.JP.dronesim.domain.uav.model.UAV;
 
 import java.time.LocalDateTime;
@@ -15,7 +15,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * 光电摄像头探测设备实体类
@@ -27,6 +26,11 @@ import java.util.UUID;
  */
 public class OpticalCamera extends AbstractProbeDevice {
     
+    /**
+     * 估计检测框大小时采用的目标名义尺寸（米）
+     */
+    private static final double NOMINAL_TARGET_SPAN = 0.5;
+    
     /**
      * 当前正在跟踪的目标映射
      * Key: 目标ID，Value: 目标当前位置
@@ -84,9 +88,9 @@ public class OpticalCamera extends AbstractProbeDevice {
         this.currentCameraElevation = elevation;
         
         // 记录摄像头移动事件
-        String eventId = UUID.randomUUID().toString();
+        String eventId = nextEventId();
         DetectionEvent moveEvent = new DetectionEvent(
-                eventId, LocalDateTime.now(), this.getId(), this.getName(),
+                eventId, getSimulationTime(), this.getId(), this.getName(),
                 "CAMERA_MOVE", "摄像头移动",
                 this.getPosition(), 1.0, 0.0,
                 String.format("摄像头转动到朝向%.1f度，仰角%.1f度", orientation, elevation)
@@ -96,13 +100,14 @@ public class OpticalCamera extends AbstractProbeDevice {
     
     /**
      * 模拟获取摄像头当前视野内的图像数据
-     * 直接调用AirSim API获取可见目标信息
+     * 把视场内候选目标投影到成像平面得到检测框
      * 
-     * @param airspace 当前空域环境的AirspaceEnvironment对象
+     * @param airspace 当前空域环境
+     * @param uavs 视场内的候选无人机
      * @return CameraFeed 表示模拟的图像流或直接的检测信息
      * @throws IllegalStateException 如果设备未初始化或非活跃状态
      */
-    public CameraFeed simulateCameraFeed(AirspaceEnvironment airspace) {
+    public CameraFeed simulateCameraFeed(Airspace airspace, List<UAV> uavs) {
         if (!isInitialized()) {
             throw new IllegalStateException("设备未初始化");
         }
@@ -118,16 +123,16 @@ public class OpticalCamera extends AbstractProbeDevice {
         // 获取环境参数
         EnvironmentParameters envParams = airspace.getEnvironmentParameters();
         
-        // 模拟从AirSim API获取检测数据
-        List<CameraFeed.RawDetectionData> rawDetections = simulateAirSimDetections(airspace, opticalParams);
+        // 把候选目标投影为检测数据
+        List<CameraFeed.RawDetectionData> rawDetections = simulateAirSimDetections(uavs, opticalParams);
         
         // 计算图像质量
         double imageQuality = calculateImageQuality(envParams, opticalParams);
         
         // 创建摄像头数据流
-        String feedId = UUID.randomUUID().toString();
+        String feedId = nextEventId();
         this.lastCameraFeed = new CameraFeed(
-                feedId, LocalDateTime.now(), this.getId(),
+                feedId, getSimulationTime(), this.getId(),
                 opticalParams.getResolutionWidth(), opticalParams.getResolutionHeight(),
                 this.getFieldOfView(), this.currentCameraOrientation, this.currentCameraElevation,
                 envParams.getLightIntensity(), envParams.getVisibility(), imageQuality,
@@ -209,9 +214,9 @@ public class OpticalCamera extends AbstractProbeDevice {
         trackingTargets.put(targetId, currentPosition);
         
         // 记录跟踪事件
-        String eventId = UUID.randomUUID().toString();
+        String eventId = nextEventId();
         DetectionEvent trackEvent = new DetectionEvent(
-                eventId, LocalDateTime.now(), this.getId(), this.getName(),
+                eventId, getSimulationTime(), this.getId(), this.getName(),
                 targetId, "目标跟踪",
                 currentPosition, 1.0, 
                 calculateDistance(this.getPosition(), currentPosition),
@@ -230,9 +235,9 @@ public class OpticalCamera extends AbstractProbeDevice {
         boolean removed = trackingTargets.remove(targetId) != null;
         if (removed) {
             // 记录停止跟踪事件
-            String eventId = UUID.randomUUID().toString();
+            String eventId = nextEventId();
             DetectionEvent stopEvent = new DetectionEvent(
-                    eventId, LocalDateTime.now(), this.getId(), this.getName(),
+                    eventId, getSimulationTime(), this.getId(), this.getName(),
                     targetId, "停止跟踪",
                     this.getPosition(), 1.0, 0.0,
                     String.format("停止跟踪目标%s", targetId)
@@ -288,8 +293,20 @@ public class OpticalCamera extends AbstractProbeDevice {
         return lastCameraFeed;
     }
     
+    // ================ 视场裁剪 ================
+
+    @Override
+    protected double getDetectionAzimuth() {
+        return currentCameraOrientation;
+    }
+
+    @Override
+    protected double getDetectionElevation() {
+        return currentCameraElevation;
+    }
+
     // ================ 抽象方法实现 ================
-    
+
     @Override
     protected void doSpecificInitialization(DeviceInitParamsDTO params) {
         // 验证光电摄像头特定参数
@@ -306,22 +323,22 @@ public class OpticalCamera extends AbstractProbeDevice {
     }
     
     @Override
-    protected List<DetectionEvent> doPerformDetection(AirspaceEnvironment airspace, List<UAV> uavs) {
+    protected List<DetectionEvent> doPerformDetection(Airspace airspace, List<UAV> uavs) {
         List<DetectionEvent> detectionEvents = new ArrayList<>();
         
         try {
             // 获取摄像头数据流
-            CameraFeed feed = simulateCameraFeed(airspace);
+            CameraFeed feed = simulateCameraFeed(airspace, uavs);
             
             // 识别目标
             List<IdentifiedTarget> targets = identifyTarget(feed, airspace.getEnvironmentParameters());
             
             // 将识别结果转换为探测事件
             for (IdentifiedTarget target : targets) {
-                DetectionEvent event = new DetectionEvent(
-                        UUID.randomUUID().toString(), target.getIdentifiedTime(),
-                        this.getId(), this.getName(),
-                        target.getTargetId(), target.getTargetType(),
+                DetectionEvent event = DetectionEvent.create(
+                        nextEventId(), target.getIdentifiedTime(),
+                        this.getId(), this.getName(), DeviceType.OPTICAL_CAMERA,
+                        target.getTargetId(), null,
                         target.getWorldPosition(), target.getConfidence(),
                         target.getDistance(),
                         String.format("光电摄像头探测到目标，类型:%s，置信度:%.2f", 
@@ -332,9 +349,9 @@ public class OpticalCamera extends AbstractProbeDevice {
             
         } catch (Exception e) {
             // 记录错误事件
-            DetectionEvent errorEvent = new DetectionEvent(
-                    UUID.randomUUID().toString(), LocalDateTime.now(),
-                    this.getId(), this.getName(),
+            DetectionEvent errorEvent = DetectionEvent.create(
+                    nextEventId(), getSimulationTime(),
+                    this.getId(), this.getName(), DeviceType.OPTICAL_CAMERA,
                     "ERROR", "探测错误",
                     this.getPosition(), 0.0, 0.0,
                     "光电摄像头探测过程中发生错误: " + e.getMessage()
@@ -387,18 +404,66 @@ public class OpticalCamera extends AbstractProbeDevice {
     }
     
     /**
-     * 模拟从AirSim API获取检测数据
+     * 把候选目标投影到成像平面，生成检测数据
+     * 目标按判定位置（步内扫掠穿过视场的目标取穿越点）做针孔投影，落在画面外的目标不成像；
+     * 检测框按名义尺寸与距离估计，原始置信度随距离线性下降
      */
-    private List<CameraFeed.RawDetectionData> simulateAirSimDetections(AirspaceEnvironment airspace, 
+    private List<CameraFeed.RawDetectionData> simulateAirSimDetections(List<UAV> uavs,
                                                                        OpticalParameters params) {
         List<CameraFeed.RawDetectionData> detections = new ArrayList<>();
+        if (uavs == null || uavs.isEmpty()) {
+            return detections;
+        }
         
-        // 这里应该调用实际的AirSim API
-        // 目前使用模拟数据
+        int width = params.getResolutionWidth();
+        int height = params.getResolutionHeight();
+        double focalPixels = width / 2.0 / Math.tan(Math.toRadians(this.getFieldOfView() / 2.0));
+        Position cameraPos = this.getPosition();
+        for (UAV uav : uavs) {
+            Position target = getTargetPosition(uav);
+            double distance = calculateDistance(cameraPos, target);
+            if (distance <= 0.0 || distance > this.getDetectionRange()) {
+                continue;
+            }
+            
+            // 相对光轴的水平、垂直偏角
+            double dx = target.getX() - cameraPos.getX();
+            double dy = target.getY() - cameraPos.getY();
+            double dz = target.getZ() - cameraPos.getZ();
+            double azimuth = Math.toDegrees(Math.atan2(dy, dx));
+            double elevation = Math.toDegrees(Math.atan2(-dz, Math.sqrt(dx * dx + dy * dy)));
+            double horizontal = Math.toRadians(normalizeOffset(azimuth - currentCameraOrientation));
+            double vertical = Math.toRadians(elevation - currentCameraElevation);
+            if (Math.abs(horizontal) >= Math.PI / 2 || Math.abs(vertical) >= Math.PI / 2) {
+                continue;
+            }
+            double centerX = width / 2.0 + focalPixels * Math.tan(horizontal);
+            double centerY = height / 2.0 - focalPixels * Math.tan(vertical);
+            if (centerX < 0 || centerX >= width || centerY < 0 || centerY >= height) {
+                continue;
+            }
+            
+            int size = (int) Math.max(1, Math.round(focalPixels * NOMINAL_TARGET_SPAN / distance));
+            double confidence = 1.0 - 0.5 * distance / this.getDetectionRange();
+            detections.add(new CameraFeed.RawDetectionData(uav.getId(),
+                    (int) Math.round(centerX - size / 2.0), (int) Math.round(centerY - size / 2.0),
+                    size, size, distance, confidence, getTargetTime(uav)));
+        }
         
         return detections;
     }
     
+    /**
+     * 将角度差归一化到[-180, 180)
+     */
+    private static double normalizeOffset(double angle) {
+        double normalized = (angle + 180.0) % 360.0;
+        if (normalized < 0) {
+            normalized += 360.0;
+        }
+        return normalized - 180.0;
+    }
+    
     /**
      * 计算图像质量
      */
@@ -436,8 +501,10 @@ public class OpticalCamera extends AbstractProbeDevice {
         // 计算目标角度
         double[] angles = calculateTargetAngles(worldPos);
         
+        LocalDateTime identifiedTime = rawData.getExposureTime() != null
+                ? rawData.getExposureTime() : feed.getTimestamp();
         return new IdentifiedTarget(
-                UUID.randomUUID().toString(), LocalDateTime.now(), this.getId(),
+                rawData.getObjectName(), identifiedTime, this.getId(),
                 worldPos, rawData.getBoundingBoxX(), rawData.getBoundingBoxY(),
                 rawData.getBoundingBoxWidth(), rawData.getBoundingBoxHeight(),
                 rawData.getDistance(), angles[0], angles[1], confidence,
@@ -500,17 +567,25 @@ public class OpticalCamera extends AbstractProbeDevice {
     }
     
     /**
-     * 将像素坐标转换为世界坐标（简化实现）
+     * 将像素坐标转换为世界坐标
+     * 由检测框中心反投影出视线方向，再沿视线取目标距离
      */
     private Position convertPixelToWorldPosition(CameraFeed.RawDetectionData rawData, CameraFeed feed) {
-        // 这里需要实现具体的坐标转换算法
-        // 简化实现，返回摄像头位置加上距离向量
         Position cameraPos = this.getPosition();
         double distance = rawData.getDistance();
-        
-        double x = cameraPos.getX() + distance * Math.cos(Math.toRadians(currentCameraOrientation));
-        double y = cameraPos.getY() + distance * Math.sin(Math.toRadians(currentCameraOrientation));
-        double z = cameraPos.getZ() - distance * Math.sin(Math.toRadians(currentCameraElevation));
+        double focalPixels = feed.getImageWidth() / 2.0
+                / Math.tan(Math.toRadians(feed.getCurrentFieldOfView() / 2.0));
+        double centerX = rawData.getBoundingBoxX() + rawData.getBoundingBoxWidth() / 2.0;
+        double centerY = rawData.getBoundingBoxY() + rawData.getBoundingBoxHeight() / 2.0;
+        double azimuth = Math.toRadians(feed.getCurrentOrientation())
+                + Math.atan((centerX - feed.getImageWidth() / 2.0) / focalPixels);
+        double elevation = Math.toRadians(feed.getCurrentElevation())
+                + Math.atan((feed.getImageHeight() / 2.0 - centerY) / focalPixels);
+        
+        double horizontal = distance * Math.cos(elevation);
+        double x = cameraPos.getX() + horizontal * Math.cos(azimuth);
+        double y = cameraPos.getY() + horizontal * Math.sin(azimuth);
+        double z = cameraPos.getZ() - distance * Math.sin(elevation);
         
         return new Position(x, y, z);
     }
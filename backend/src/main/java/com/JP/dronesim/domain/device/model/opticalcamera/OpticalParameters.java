@@ -180,6 +180,16 @@ public class OpticalParameters implements SensorParameters {
         return zoomFactor;
     }
     
+    /**
+     * 获取数据更新周期，即帧间隔
+     *
+     * @return 帧间隔（秒），帧率未设置时为0
+     */
+    @Override
+    public double getUpdatePeriod() {
+        return frameRate > 0.0 ? 1.0 / frameRate : 0.0;
+    }
+
     @Override
     public boolean isValid() {
         return resolutionWidth > 0 && resolutionHeight > 0 &&
@@ -0,0 +1,97 @@
+package com.JP.dronesim.domain.device.model.radar;
+
+/**
+ * 雷达波束扫过的方位弧段
+ * 构造时求出两条边界射线的单位向量，判定水平方向是否落在弧段内只需两次叉积，
+ * 不对每个目标计算反正切与开方。边界上的方向视为在弧段内
+ *
+ * @author JP
+ * @version 1.0
+ */
+public final class AzimuthArc {
+
+    /**
+     * 起始边界单位向量
+     */
+    private final double fromX, fromY;
+
+    /**
+     * 终止边界单位向量
+     */
+    private final double toX, toY;
+
+    /**
+     * 弧段张角（度）
+     */
+    private final double extent;
+
+    /**
+     * 构造函数
+     *
+     * @param from 弧段起始方位（度，可超出0-360）
+     * @param extent 弧段沿方位增大方向的张角（度），不小于360时覆盖全周，为负时不覆盖任何方向
+     */
+    public AzimuthArc(double from, double extent) {
+        this.extent = extent;
+        this.fromX = Math.cos(Math.toRadians(from));
+        this.fromY = Math.sin(Math.toRadians(from));
+        this.toX = Math.cos(Math.toRadians(from + extent));
+        this.toY = Math.sin(Math.toRadians(from + extent));
+    }
+
+    /**
+     * 判断水平方向是否落在弧段内
+     *
+     * @param dx 相对雷达的X分量
+     * @param dy 相对雷达的Y分量
+     * @return 是否在弧段内（正上/正下方视为在内）
+     */
+    public boolean contains(double dx, double dy) {
+        if (extent >= 360.0) {
+            return true;
+        }
+        if (extent < 0.0) {
+            return false;
+        }
+        // 位于起始边界沿方位增大的一侧、终止边界沿方位减小的一侧
+        boolean afterFrom = fromX * dy - fromY * dx >= 0.0;
+        boolean beforeTo = dx * toY - dy * toX >= 0.0;
+        if (extent <= 180.0) {
+            // 张角为0时两条边界重合，叉积为0的反向方向不在弧段内
+            return afterFrom && beforeTo && (extent > 0.0 || fromX * dx + fromY * dy >= 0.0);
+        }
+        // 超过半周时补集不足半周，只要不严格落在补集内即可
+        return afterFrom || beforeTo;
+    }
+
+    /**
+     * 判断水平方向是否落在弧段内且斜距不超过作用距离
+     *
+     * @param dx 相对雷达的X分量
+     * @param dy 相对雷达的Y分量
+     * @param dz 相对雷达的Z分量
+     * @param maxRange 作用距离（米）
+     * @return 是否被波束扫过
+     */
+    public boolean covers(double dx, double dy, double dz, double maxRange) {
+        return dx * dx + dy * dy + dz * dz <= maxRange * maxRange && contains(dx, dy);
+    }
+
+    /**
+     * 将角度归一化到[0, 360)
+     *
+     * @param angle 角度（度）
+     * @return 归一化后的角度
+     */
+    public static double normalize(double angle) {
+        double normalized = angle % 360.0;
+        if (normalized < 0) {
+            normalized += 360.0;
+        }
+        return normalized >= 360.0 ? 0.0 : normalized;
+    }
+
+    // ================ Getters ================
+
+    public double getExtent() { return extent; }
+}
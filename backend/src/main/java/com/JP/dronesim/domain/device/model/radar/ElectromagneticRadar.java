@@ -2,20 +2,25 @@ package com.JP.dronesim.domain.device.model.radar;
 
 import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
 import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
 import com.JP.dronesim.domain.common.valueobjects.Position;
 import com.JP.dronesim.domain.common.valueobjects.Velocity;
 import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
 import com.JP.dronesim.domain.device.model.common.SensorParameters;
+import com.JP.dronesim.domain.device.model.common.SweptCrossing;
 import com.JP.dronesim.domain.device.model.events.DetectionEvent;
 import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.EnvironmentParameters;
+import com.JP.dronesim.domain.airspace.model.TimeStep;
 import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 /**
  * 电磁波雷达探测设备实体类
@@ -27,6 +32,11 @@ import java.util.UUID;
  */
 public class ElectromagneticRadar extends AbstractProbeDevice {
     
+    /**
+     * 扇形扫描的总扫描角度（度），以设备朝向为中心
+     */
+    private static final double SECTOR_SCAN_RANGE = 120.0;
+    
     /**
      * 当前扫描角度（度）
      */
@@ -38,21 +48,50 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
     private int scanDirection;
     
     /**
-     * 最后一次扫描时间
+     * 最后一次扫描的仿真时间
      */
     private LocalDateTime lastScanTime;
     
     /**
-     * 历史雷达接触记录
-     * Key: 目标ID，Value: 最近的雷达接触
+     * 多目标跟踪器，以量测位置关联航迹，首次扫描时创建
+     */
+    private RadarTracker tracker;
+    
+    /**
+     * 最近一次扫描覆盖的起始方位（度）
      */
-    private final Map<String, RadarContact> historicalContacts;
+    private double lastArcFrom;
+    
+    /**
+     * 最近一次扫描覆盖的方位张角（度）
+     */
+    private double lastArcExtent;
     
     /**
      * 扫描计数器
      */
     private long scanCounter;
     
+    /**
+     * 本次扫描中按当前位置判定的目标
+     */
+    private final List<UAV> pointTargets = new ArrayList<>();
+    
+    /**
+     * 本次扫描中步内扫掠穿过视场的目标，由波束弧段沿移动线段判定
+     */
+    private final List<UAV> sweptTargets = new ArrayList<>();
+    
+    /**
+     * 链路预算（雷达方程中与目标无关的常数与距离分箱表），雷达或环境参数变化时重建
+     */
+    private RadarLinkBudget linkBudget;
+    
+    /**
+     * 是否使用距离分箱表插值计算信噪比
+     */
+    private boolean snrTableEnabled = true;
+    
     /**
      * 构造函数
      */
@@ -60,7 +99,6 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
         super(DeviceType.RADAR);
         this.currentScanAngle = 0.0;
         this.scanDirection = 1;
-        this.historicalContacts = new HashMap<>();
         this.scanCounter = 0;
     }
     
@@ -72,7 +110,7 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
      * 
      * @param airspace 当前空域环境的AirspaceEnvironment对象
      * @param uavs 当前空域中的无人机列表
-     * @return List<RadarContact> 雷达探测到的目标列表，包含距离、方位、速度信息
+     * @return List<RadarContact> 雷达探测到的目标列表，包含距离、方位、速度信息及关联的航迹ID
      * @throws IllegalStateException 如果设备未初始化或非活跃状态
      */
     public List<RadarContact> scanArea(Airspace airspace, List<UAV> uavs) {
@@ -89,26 +127,33 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
         }
         
         List<RadarContact> contacts = new ArrayList<>();
-        this.lastScanTime = LocalDateTime.now();
+        double sweep = calculateSweepAngle(radarParams);
+        this.lastScanTime = getSimulationTime();
         this.scanCounter++;
         
+        // 区分按当前位置判定与沿移动线段判定的目标
+        partitionTargets(uavs);
+        refreshLinkBudget(airspace, radarParams);
+        
         // 根据扫描模式执行扫描
         switch (radarParams.getScanPattern()) {
             case FIXED:
-                contacts.addAll(performFixedScan(airspace, uavs, radarParams));
+                contacts.addAll(performFixedScan(airspace, radarParams));
                 break;
             case SECTOR:
-                contacts.addAll(performSectorScan(airspace, uavs, radarParams));
+                contacts.addAll(performSectorScan(airspace, radarParams, sweep));
                 break;
             case DEGREE_360:
-                contacts.addAll(perform360DegreeScan(airspace, uavs, radarParams));
+                contacts.addAll(perform360DegreeScan(airspace, radarParams, sweep));
                 break;
         }
         
-        // 更新历史接触记录
-        updateHistoricalContacts(contacts);
-        
-        return contacts;
+        // 航迹关联，接触带上航迹ID
+        if (tracker == null) {
+            tracker = new RadarTracker(this.getId());
+        }
+        return tracker.update(contacts, toSimulationSeconds(this.lastScanTime), this.getPosition(),
+                lastArcFrom, lastArcExtent, this.getDetectionRange());
     }
     
     /**
@@ -148,12 +193,43 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
     }
     
     /**
-     * 获取历史接触记录
+     * 获取多目标跟踪器
      * 
-     * @return 历史雷达接触映射的副本
+     * @return 跟踪器，尚未扫描时为null
      */
-    public Map<String, RadarContact> getHistoricalContacts() {
-        return new HashMap<>(historicalContacts);
+    public RadarTracker getTracker() {
+        return tracker;
+    }
+    
+    /**
+     * 获取当前航迹
+     * 
+     * @return 航迹列表（只读）
+     */
+    public List<RadarTrack> getTracks() {
+        return tracker != null ? tracker.getTracks() : Collections.emptyList();
+    }
+    
+    /**
+     * 是否使用距离分箱表插值计算信噪比
+     * 
+     * @return 是否查表
+     */
+    public boolean isSnrTableEnabled() {
+        return snrTableEnabled;
+    }
+    
+    /**
+     * 设置是否使用距离分箱表插值计算信噪比
+     * 关闭时按雷达方程精确计算，插值误差上限见{@link RadarLinkBudget#TABLE_TOLERANCE_DB}
+     * 
+     * @param snrTableEnabled 是否查表
+     */
+    public void setSnrTableEnabled(boolean snrTableEnabled) {
+        if (this.snrTableEnabled != snrTableEnabled) {
+            this.snrTableEnabled = snrTableEnabled;
+            this.linkBudget = null;
+        }
     }
     
     /**
@@ -183,7 +259,11 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
         this.currentScanAngle = 0.0;
         this.scanDirection = 1;
         this.scanCounter = 0;
-        this.historicalContacts.clear();
+        if (this.tracker != null) {
+            this.tracker.reset();
+        }
+        this.pointTargets.clear();
+        this.sweptTargets.clear();
     }
     
     // ================ 抽象方法实现 ================
@@ -214,6 +294,8 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
             for (RadarContact contact : contacts) {
                 // 使用工厂方法创建探测事件，简化参数
                 DetectionEvent event = DetectionEvent.create(
+                    nextEventId(),                          // 事件ID
+                    contact.getDetectionTime(),             // 探测时间
                     this.getId(),                           // 探测器ID
                     this.getName(),                         // 探测器名称
                     DeviceType.RADAR,                       // 设备类型
@@ -231,6 +313,8 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
         } catch (Exception e) {
             // 记录错误事件 - 使用简化的创建方法
             DetectionEvent errorEvent = DetectionEvent.create(
+                nextEventId(),
+                getSimulationTime(),
                 this.getId(),
                 this.getName(),
                 DeviceType.RADAR,
@@ -254,13 +338,25 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
      * @return 格式化的描述字符串
      */
     private String generateRadarDescription(RadarContact contact) {
-        return String.format("雷达探测 - 距离:%.1fm, 方位:%.1f°, 径向速度:%.1fm/s, 信噪比:%.1fdB", 
+        return String.format("雷达探测 - 航迹:%s, 距离:%.1fm, 方位:%.1f°, 径向速度:%.1fm/s, 信噪比:%.1fdB", 
+                            contact.getTrackId(), 
                             contact.getRange(), 
                             contact.getAzimuth(), 
                             contact.getRadialVelocity(), 
                             contact.getSignalToNoiseRatio());
     }
     
+    /**
+     * 雷达波束为方位窄、俯仰宽的扇形波束，且扫描过程中指向持续变化，
+     * 候选集只按作用距离裁剪，方位判定由扫描逻辑完成
+     *
+     * @return 半锥角（度）
+     */
+    @Override
+    protected double getDetectionHalfAngle() {
+        return 180.0;
+    }
+
     @Override
     protected void doAdjustParameters(SensorParameters newParams) {
         if (!(newParams instanceof RadarParameters)) {
@@ -287,6 +383,14 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
         resetScanState();
     }
     
+    @Override
+    protected void doResetRuntimeState() {
+        // 新会话从设备朝向开始扫描
+        resetScanState();
+        this.currentScanAngle = getOrientation();
+        this.lastScanTime = null;
+    }
+    
     @Override
     public void updateParameters(java.util.Map<String, Object> paramMap) {
         // 简化的参数更新实现
@@ -324,93 +428,260 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
     
     // ================ 私有扫描实现方法 ================
     
+    /**
+     * 计算自上次扫描以来天线转过的角度
+     * 转角 = 天线转速 × 两次扫描的仿真时间间隔，与仿真步长无关；会话内首次扫描从仿真起点计
+     */
+    private double calculateSweepAngle(RadarParameters params) {
+        LocalDateTime now = getSimulationTime();
+        if (now == null) {
+            return params.getBeamWidth();
+        }
+        LocalDateTime since = lastScanTime != null ? lastScanTime : TimeStep.EPOCH;
+        double elapsed = Duration.between(since, now).toNanos() / 1e9;
+        return Math.max(0.0, elapsed) * params.getRotationRate();
+    }
+    
+    /**
+     * 将仿真时间换算为自仿真起点的秒数
+     */
+    private static double toSimulationSeconds(LocalDateTime time) {
+        return time != null ? Duration.between(TimeStep.EPOCH, time).toNanos() / 1e9 : 0.0;
+    }
+    
     /**
      * 执行固定角度扫描
      */
-    private List<RadarContact> performFixedScan(Airspace airspace, List<UAV> uavs, 
-                                              RadarParameters params) {
-        List<RadarContact> contacts = new ArrayList<>();
+    private List<RadarContact> performFixedScan(Airspace airspace, RadarParameters params) {
+        // 固定角度扫描，波束持续照射当前角度方向
+        double halfWidth = params.getBeamWidth() / 2.0;
+        return scanArc(airspace, params, currentScanAngle - halfWidth, params.getBeamWidth());
+    }
+    
+    /**
+     * 执行扇形扫描
+     * 波束在朝向两侧往复摆动，本次扫描覆盖波束中心在转角内扫过的全部方位（含折返）
+     */
+    private List<RadarContact> performSectorScan(Airspace airspace, RadarParameters params, double sweep) {
+        double lower = this.getOrientation() - SECTOR_SCAN_RANGE / 2;
+        double upper = this.getOrientation() + SECTOR_SCAN_RANGE / 2;
+        double angle = Math.min(upper, Math.max(lower, currentScanAngle));
+        double covered = angle;
+        double coveredEnd = angle;
+        double remaining = sweep;
+        
+        // 往复一个来回后位置与方向复原，超出部分覆盖整个扇区
+        if (remaining >= 2 * SECTOR_SCAN_RANGE) {
+            covered = lower;
+            coveredEnd = upper;
+            remaining %= 2 * SECTOR_SCAN_RANGE;
+        }
         
-        // 固定角度扫描，扫描当前角度方向
-        for (UAV uav : uavs) {
-            RadarContact contact = calculateRadarContact(uav, airspace, params, currentScanAngle);
-            if (contact != null && isTargetInBeam(contact, params)) {
-                contacts.add(contact);
+        // 沿当前方向推进，到达边界后反向
+        while (remaining > 0.0) {
+            double bound = scanDirection > 0 ? upper : lower;
+            double distance = Math.abs(bound - angle);
+            if (remaining < distance) {
+                angle += scanDirection * remaining;
+                remaining = 0.0;
+            } else {
+                angle = bound;
+                remaining -= distance;
+                scanDirection = -scanDirection;
             }
+            covered = Math.min(covered, angle);
+            coveredEnd = Math.max(coveredEnd, angle);
         }
+        currentScanAngle = angle;
         
-        return contacts;
+        return scanArc(airspace, params, covered, coveredEnd - covered);
     }
     
     /**
-     * 执行扇形扫描
+     * 执行360度扫描
+     * 本次扫描覆盖波束中心自上次扫描后扫过的方位区间，相邻两次扫描的区间首尾相接，
+     * 每转一周每个目标恰被扫过一次；转角超过一周时覆盖全周
      */
-    private List<RadarContact> performSectorScan(Airspace airspace, List<UAV> uavs, 
-                                               RadarParameters params) {
-        List<RadarContact> contacts = new ArrayList<>();
-        
-        // 扇形扫描，通常在±60度范围内扫描
-        double sectorRange = 120.0; // 总扫描角度
-        double scanStep = params.getBeamWidth(); // 扫描步长
-        
-        // 更新扫描角度
-        currentScanAngle += scanDirection * scanStep;
+    private List<RadarContact> perform360DegreeScan(Airspace airspace, RadarParameters params, double sweep) {
+        double from = currentScanAngle;
+        currentScanAngle = AzimuthArc.normalize(currentScanAngle + sweep);
         
-        // 检查是否需要反向扫描
-        double baseAngle = this.getOrientation();
-        if (currentScanAngle > baseAngle + sectorRange / 2) {
-            scanDirection = -1;
-            currentScanAngle = baseAngle + sectorRange / 2;
-        } else if (currentScanAngle < baseAngle - sectorRange / 2) {
-            scanDirection = 1;
-            currentScanAngle = baseAngle - sectorRange / 2;
+        return scanArc(airspace, params, from, sweep);
+    }
+    
+    /**
+     * 将候选目标分为按当前位置判定的目标与步内扫掠穿过视场的目标，各自保持候选次序
+     */
+    private void partitionTargets(List<UAV> uavs) {
+        pointTargets.clear();
+        sweptTargets.clear();
+        if (uavs == null) {
+            return;
         }
-        
-        // 扫描当前角度
         for (UAV uav : uavs) {
-            RadarContact contact = calculateRadarContact(uav, airspace, params, currentScanAngle);
-            if (contact != null && isTargetInBeam(contact, params)) {
-                contacts.add(contact);
+            if (getSweptCrossing(uav) != null) {
+                sweptTargets.add(uav);
+            } else {
+                pointTargets.add(uav);
             }
         }
-        
-        return contacts;
     }
     
     /**
-     * 执行360度扫描
+     * 雷达参数、环境参数或探测距离变化时重建链路预算
      */
-    private List<RadarContact> perform360DegreeScan(Airspace airspace, List<UAV> uavs, 
-                                                  RadarParameters params) {
+    private void refreshLinkBudget(Airspace airspace, RadarParameters params) {
+        EnvironmentParameters environment = airspace != null ? airspace.getEnvironmentParameters() : null;
+        if (linkBudget == null || !linkBudget.isBuiltFor(params, environment, this.getDetectionRange())) {
+            linkBudget = RadarLinkBudget.create(params, environment, this.getDetectionRange(),
+                    snrTableEnabled ? RadarLinkBudget.DEFAULT_TABLE_BINS : 0);
+        }
+    }
+    
+    /**
+     * 扫描方位弧段
+     * 先以距离平方与两次叉积判定目标是否在作用距离内且被波束扫过（不做反正切与开方），
+     * 雷达方程、多普勒与分类只对通过判定的目标计算；
+     * 步内扫掠穿过视场的目标沿移动线段求取落在弧段内的穿越点，按穿越点及其时刻计算
+     *
+     * @param from 弧段起始方位（度）
+     * @param extent 弧段张角（度）
+     */
+    private List<RadarContact> scanArc(Airspace airspace, RadarParameters params, double from, double extent) {
+        this.lastArcFrom = from;
+        this.lastArcExtent = extent;
+        AzimuthArc arc = new AzimuthArc(from, extent);
+        Position origin = this.getPosition();
+        double ox = origin.getX(), oy = origin.getY(), oz = origin.getZ();
+        double range = this.getDetectionRange();
         List<RadarContact> contacts = new ArrayList<>();
-        
-        // 360度扫描，每次扫描增加一个波束宽度
-        double scanStep = params.getBeamWidth();
-        currentScanAngle += scanStep;
-        
-        // 角度归一化
-        if (currentScanAngle >= 360.0) {
-            currentScanAngle -= 360.0;
+        for (UAV uav : pointTargets) {
+            if (!arc.covers(uav.getX() - ox, uav.getY() - oy, uav.getZ() - oz, range)) {
+                continue;
+            }
+            RadarContact contact = calculateRadarContact(uav, uav.getPosition(), getSimulationTime(),
+                    airspace, params, currentScanAngle);
+            if (contact != null) {
+                contacts.add(contact);
+            }
         }
-        
-        // 扫描当前角度
-        for (UAV uav : uavs) {
-            RadarContact contact = calculateRadarContact(uav, airspace, params, currentScanAngle);
-            if (contact != null && isTargetInBeam(contact, params)) {
+        for (UAV uav : sweptTargets) {
+            SweptCrossing crossing = getSweptCrossing(uav);
+            double t = beamCrossing(crossing, arc, from, range);
+            if (Double.isNaN(t)) {
+                continue;
+            }
+            RadarContact contact = calculateRadarContact(uav, crossing.positionAt(t),
+                    getSimulationTime(crossing.timeOffsetAt(t)), airspace, params, currentScanAngle);
+            if (contact != null) {
                 contacts.add(contact);
             }
         }
-        
         return contacts;
     }
     
+    /**
+     * 沿目标的步内移动线段求取落在波束弧段内的穿越点
+     * 线段上的方位可见性只在与弧段两条边界射线所在直线的交点处变化，距离可见性只在与作用距离球面的交点处变化，
+     * 按这些断点分段，取最长的连续可见段的中点
+     *
+     * @param crossing 扫掠穿越点
+     * @param arc 波束弧段
+     * @param from 弧段起始方位（度）
+     * @param maxRange 作用距离（米）
+     * @return 穿越点的线段参数，波束未扫过该线段时返回NaN
+     */
+    private double beamCrossing(SweptCrossing crossing, AzimuthArc arc, double from, double maxRange) {
+        double extent = arc.getExtent();
+        Position origin = this.getPosition();
+        Position start = crossing.getStart();
+        Position end = crossing.getEnd();
+        double sx = start.getX() - origin.getX();
+        double sy = start.getY() - origin.getY();
+        double sz = start.getZ() - origin.getZ();
+        double vx = end.getX() - start.getX();
+        double vy = end.getY() - start.getY();
+        double vz = end.getZ() - start.getZ();
+        
+        // 线段落在作用距离球内的参数区间
+        double a = vx * vx + vy * vy + vz * vz;
+        double b = 2.0 * (sx * vx + sy * vy + sz * vz);
+        double c = sx * sx + sy * sy + sz * sz - maxRange * maxRange;
+        if (a == 0.0) {
+            return c <= 0.0 && arc.contains(sx, sy) ? crossing.getFraction() : Double.NaN;
+        }
+        double discriminant = b * b - 4.0 * a * c;
+        if (discriminant < 0) {
+            return Double.NaN;
+        }
+        double root = Math.sqrt(discriminant);
+        double t0 = Math.max(0.0, (-b - root) / (2.0 * a));
+        double t1 = Math.min(1.0, (-b + root) / (2.0 * a));
+        if (t0 > t1) {
+            return Double.NaN;
+        }
+        if (extent >= 360.0) {
+            return (t0 + t1) / 2.0;
+        }
+        
+        // 与弧段两条边界所在直线的交点
+        double[] breaks = new double[4];
+        int count = 0;
+        breaks[count++] = t0;
+        for (double boundary : new double[]{from, from + extent}) {
+            double ux = Math.cos(Math.toRadians(boundary));
+            double uy = Math.sin(Math.toRadians(boundary));
+            double denominator = ux * vy - uy * vx;
+            if (denominator != 0.0) {
+                double t = -(ux * sy - uy * sx) / denominator;
+                if (t > t0 && t < t1) {
+                    breaks[count++] = t;
+                }
+            }
+        }
+        breaks[count++] = t1;
+        Arrays.sort(breaks, 1, count - 1);
+        
+        // 相邻断点之间可见性不变，以段中点判定，相邻的可见段合并
+        double bestFrom = Double.NaN, bestTo = Double.NaN;
+        double runFrom = Double.NaN;
+        for (int i = 0; i + 1 < count; i++) {
+            double lower = breaks[i], upper = breaks[i + 1];
+            double mid = (lower + upper) / 2.0;
+            boolean visible = upper > lower && arc.contains(sx + vx * mid, sy + vy * mid);
+            if (visible && Double.isNaN(runFrom)) {
+                runFrom = lower;
+            }
+            if (!Double.isNaN(runFrom) && (!visible || i + 2 == count)) {
+                double runTo = visible ? upper : lower;
+                if (Double.isNaN(bestFrom) || runTo - runFrom > bestTo - bestFrom) {
+                    bestFrom = runFrom;
+                    bestTo = runTo;
+                }
+                runFrom = Double.NaN;
+            }
+        }
+        if (!Double.isNaN(bestFrom)) {
+            return (bestFrom + bestTo) / 2.0;
+        }
+        for (int i = 0; i < count; i++) {
+            if (arc.contains(sx + vx * breaks[i], sy + vy * breaks[i])) {
+                return breaks[i];
+            }
+        }
+        return Double.NaN;
+    }
+    
     /**
      * 计算雷达接触
+     *
+     * @param uav 目标无人机
+     * @param uavPos 目标的判定位置
+     * @param detectionTime 判定时刻
      */
-    private RadarContact calculateRadarContact(UAV uav, Airspace airspace,
-                                             RadarParameters params, double scanAngle) {
+    private RadarContact calculateRadarContact(UAV uav, Position uavPos, LocalDateTime detectionTime,
+                                             Airspace airspace, RadarParameters params, double scanAngle) {
         Position radarPos = this.getPosition();
-        Position uavPos = uav.getPosition();
         
         // 计算距离
         double range = calculateDistance(radarPos, uavPos);
@@ -420,6 +691,20 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
             return null;
         }
         
+        // 计算雷达截面积：名义值 + 视线方向的姿态增益
+        UAVState state = uav.getCurrentState();
+        double nominalRcs = state.getRadarCrossSection();
+        double aspectGainDb = estimateAspectGain(state, uavPos, radarPos, range);
+        
+        // 应用雷达方程计算信噪比
+        double snr = linkBudget.signalToNoiseRatio(range, nominalRcs, aspectGainDb);
+        
+        // 检查是否可探测
+        if (snr < params.getMinSNRDetect()) {
+            return null;
+        }
+        double rcs = nominalRcs * Math.pow(10, aspectGainDb / 10.0);
+        
         // 计算角度
         double[] angles = calculateTargetAngles(radarPos, uavPos);
         double azimuth = angles[0];
@@ -429,17 +714,6 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
         Velocity uavVel = uav.getVelocity();
         double radialVelocity = calculateRadialVelocity(radarPos, uavPos, uavVel);
         
-        // 计算雷达截面积（简化模型）
-        double rcs = estimateRadarCrossSection(uav);
-        
-        // 应用雷达方程计算信噪比
-        double snr = calculateSignalToNoiseRatio(range, rcs, params, airspace);
-        
-        // 检查是否可探测
-        if (snr < params.getMinSNRDetect()) {
-            return null;
-        }
-        
         // 计算置信度
         double confidence = calculateDetectionConfidence(snr, params);
         
@@ -447,36 +721,22 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
         RadarContact.TargetClassification classification = classifyTarget(uav, rcs, radialVelocity);
         
         // 计算多普勒频移
-        double dopplerShift = calculateDopplerShift(radialVelocity, params.getFrequency());
+        double dopplerShift = linkBudget.dopplerShift(radialVelocity);
         
         // 计算测量精度
         double rangeAccuracy = params.getRangeResolution();
         double angleAccuracy = params.getBeamWidth() / 2.0;
         double velocityAccuracy = params.getVelocityResolution();
         
-        // 检查是否为新探测
-        boolean isNewDetection = !historicalContacts.containsKey(uav.getId());
-        
         return new RadarContact(
-                UUID.randomUUID().toString(), LocalDateTime.now(), this.getId(), uav.getId(),
+                nextEventId(), detectionTime, this.getId(), uav.getId(),
                 range, azimuth, elevation, radialVelocity, uavPos, uavVel,
                 snr, rcs, confidence, classification, dopplerShift,
-                rangeAccuracy, angleAccuracy, velocityAccuracy, isNewDetection,
+                rangeAccuracy, angleAccuracy, velocityAccuracy, false,
                 String.format("扫描角度:%.1f°", scanAngle)
         );
     }
     
-    /**
-     * 检查目标是否在雷达波束内
-     */
-    private boolean isTargetInBeam(RadarContact contact, RadarParameters params) {
-        double angleDiff = Math.abs(contact.getAzimuth() - currentScanAngle);
-        if (angleDiff > 180.0) {
-            angleDiff = 360.0 - angleDiff;
-        }
-        return angleDiff <= params.getBeamWidth() / 2.0;
-    }
-    
     /**
      * 计算两点间距离
      */
@@ -533,64 +793,36 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
     }
     
     /**
-     * 估计雷达截面积
-     */
-    private double estimateRadarCrossSection(UAV uav) {
-        // 简化的RCS模型，基于无人机类型和尺寸
-        // 实际应用中应该从UAV的物理属性中获取
-        return 0.1; // 默认0.1平方米
-    }
-    
-    /**
-     * 计算信噪比
-     */
-    private double calculateSignalToNoiseRatio(double range, double rcs, RadarParameters params, 
-                                             Airspace airspace) {
-        // 雷达方程: SNR = (Pt * Gt * Gr * λ² * σ) / ((4π)³ * R⁴ * Pn)
-        double wavelength = 3e8 / params.getFrequency();
-        double pt = params.getPower();
-        double gt = Math.pow(10, params.getGain() / 10.0);
-        double gr = gt; // 假设发射和接收增益相同
-        double sigma = rcs;
-        double r4 = Math.pow(range, 4);
-        
-        // 计算噪声功率
-        double k = 1.38e-23; // 玻尔兹曼常数
-        double t = 290.0;    // 标准温度
-        double b = 1.0 / params.getPulseWidth(); // 带宽
-        double f = Math.pow(10, params.getNoiseFigure() / 10.0);
-        double pn = k * t * b * f;
-        
-        // 环境因素影响
-        double atmosphericLoss = calculateAtmosphericLoss(range, params.getFrequency(), airspace);
-        
-        double snrLinear = (pt * gt * gr * wavelength * wavelength * sigma) / 
-                          (Math.pow(4 * Math.PI, 3) * r4 * pn * atmosphericLoss);
-        
-        return 10 * Math.log10(snrLinear);
-    }
-    
-    /**
-     * 计算大气损耗
+     * 估计视线方向上的RCS姿态增益
+     * 将目标指向雷达的视线旋转到机体坐标系，在按名义RCS推断机型的共享姿态表中插值
+     *
+     * @param state 目标状态
+     * @param uavPos 目标的判定位置
+     * @param radarPos 雷达位置
+     * @param range 目标距离（米）
+     * @return 相对于名义RCS的增益（dB）
      */
-    private double calculateAtmosphericLoss(double range, double frequency, Airspace airspace) {
-        // 简化的大气损耗模型
-        double rangeKm = range / 1000.0;
-        double freqGHz = frequency / 1e9;
-        
-        // 基本大气损耗
-        double basicLoss = 0.1 * rangeKm * Math.sqrt(freqGHz);
-        
-        // 天气影响
-        if (airspace.getEnvironmentParameters().isRaining()) {
-            basicLoss *= 2.0; // 降雨增加损耗
-        }
-        
-        if (airspace.getEnvironmentParameters().getVisibility() < 1000.0) {
-            basicLoss *= 1.5; // 低能见度增加损耗
+    private double estimateAspectGain(UAVState state, Position uavPos, Position radarPos, double range) {
+        if (range <= 0.0) {
+            return 0.0;
         }
-        
-        return Math.pow(10, basicLoss / 10.0);
+        double lx = (radarPos.getX() - uavPos.getX()) / range;
+        double ly = (radarPos.getY() - uavPos.getY()) / range;
+        double lz = (radarPos.getZ() - uavPos.getZ()) / range;
+        
+        // 姿态四元数把机体系旋转到世界系，以其共轭把视线旋转到机体系：v' = v + w·t + t × q，t = 2(v × q)
+        Orientation q = state.getOrientation();
+        double qx = q.getX();
+        double qy = q.getY();
+        double qz = q.getZ();
+        double tx = 2.0 * (ly * qz - lz * qy);
+        double ty = 2.0 * (lz * qx - lx * qz);
+        double tz = 2.0 * (lx * qy - ly * qx);
+        double bx = lx + q.getW() * tx + (ty * qz - tz * qy);
+        double by = ly + q.getW() * ty + (tz * qx - tx * qz);
+        double bz = lz + q.getW() * tz + (tx * qy - ty * qx);
+        
+        return RcsTable.forNominalRcs(state.getRadarCrossSection()).gainDb(bx, by, bz);
     }
     
     /**
@@ -615,23 +847,5 @@ public class ElectromagneticRadar extends AbstractProbeDevice {
             return RadarContact.TargetClassification.LARGE_UAV;
         }
     }
-    
-    /**
-     * 计算多普勒频移
-     */
-    private double calculateDopplerShift(double radialVelocity, double frequency) {
-        double c = 3e8; // 光速
-        return 2.0 * frequency * radialVelocity / c;
-    }
-    
-    /**
-     * 更新历史接触记录
-     */
-    private void updateHistoricalContacts(List<RadarContact> contacts) {
-        for (RadarContact contact : contacts) {
-            if (contact.getTargetId() != null) {
-                historicalContacts.put(contact.getTargetId(), contact);
-            }
-        }
-    }
+
 }
\ No newline at end of file
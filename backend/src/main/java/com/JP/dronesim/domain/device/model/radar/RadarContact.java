@@ -114,6 +114,11 @@ public class RadarContact {
      */
     private final String additionalInfo;
     
+    /**
+     * 关联到的雷达航迹ID，未经航迹处理时为null
+     */
+    private final String trackId;
+    
     /**
      * 构造函数
      * 
@@ -144,6 +149,43 @@ public class RadarContact {
                        double radarCrossSection, double confidence, TargetClassification classification,
                        double dopplerShift, double rangeAccuracy, double angleAccuracy,
                        double velocityAccuracy, boolean isNewDetection, String additionalInfo) {
+        this(contactId, detectionTime, radarId, targetId, range, azimuth, elevation, radialVelocity,
+             worldPosition, velocity, signalToNoiseRatio, radarCrossSection, confidence, classification,
+             dopplerShift, rangeAccuracy, angleAccuracy, velocityAccuracy, isNewDetection, additionalInfo, null);
+    }
+    
+    /**
+     * 构造函数（含航迹关联）
+     * 
+     * @param contactId 接触ID
+     * @param detectionTime 探测时间
+     * @param radarId 雷达ID
+     * @param targetId 目标ID
+     * @param range 距离
+     * @param azimuth 方位角
+     * @param elevation 仰角
+     * @param radialVelocity 径向速度
+     * @param worldPosition 世界位置
+     * @param velocity 速度向量
+     * @param signalToNoiseRatio 信噪比
+     * @param radarCrossSection 雷达截面积
+     * @param confidence 置信度
+     * @param classification 目标分类
+     * @param dopplerShift 多普勒频移
+     * @param rangeAccuracy 距离精度
+     * @param angleAccuracy 角度精度
+     * @param velocityAccuracy 速度精度
+     * @param isNewDetection 是否新探测
+     * @param additionalInfo 额外信息
+     * @param trackId 航迹ID
+     */
+    public RadarContact(String contactId, LocalDateTime detectionTime, String radarId, String targetId,
+                       double range, double azimuth, double elevation, double radialVelocity,
+                       Position worldPosition, Velocity velocity, double signalToNoiseRatio,
+                       double radarCrossSection, double confidence, TargetClassification classification,
+                       double dopplerShift, double rangeAccuracy, double angleAccuracy,
+                       double velocityAccuracy, boolean isNewDetection, String additionalInfo,
+                       String trackId) {
         this.contactId = contactId;
         this.detectionTime = detectionTime;
         this.radarId = radarId;
@@ -164,6 +206,7 @@ public class RadarContact {
         this.velocityAccuracy = velocityAccuracy;
         this.isNewDetection = isNewDetection;
         this.additionalInfo = additionalInfo;
+        this.trackId = trackId;
         
         // 参数验证
         validateParameters();
@@ -441,6 +484,29 @@ public class RadarContact {
         return Math.abs(radialVelocity); // 如果没有完整速度向量，使用径向速度
     }
     
+    /**
+     * 获取关联的航迹ID
+     * 
+     * @return 航迹ID，未经航迹处理时为null
+     */
+    public String getTrackId() {
+        return trackId;
+    }
+    
+    /**
+     * 生成关联到航迹后的接触副本
+     * 
+     * @param trackId 航迹ID
+     * @param newDetection 是否由本次接触起始新航迹
+     * @return 接触副本
+     */
+    public RadarContact withTrack(String trackId, boolean newDetection) {
+        return new RadarContact(contactId, detectionTime, radarId, targetId, range, azimuth, elevation,
+                radialVelocity, worldPosition, velocity, signalToNoiseRatio, radarCrossSection, confidence,
+                classification, dopplerShift, rangeAccuracy, angleAccuracy, velocityAccuracy, newDetection,
+                additionalInfo, trackId);
+    }
+    
     /**
      * 计算预测位置
      * 基于当前位置和速度预测未来指定时间后的位置
@@ -465,10 +531,10 @@ public class RadarContact {
         return String.format("RadarContact[id=%s, radar=%s, target=%s, time=%s, " +
                            "range=%.1fm, azimuth=%.1f°, elevation=%.1f°, radVel=%.1fm/s, " +
                            "worldPos=%s, SNR=%.1fdB, RCS=%.3fm², confidence=%.2f, " +
-                           "class=%s, newDetect=%s]",
+                           "class=%s, newDetect=%s, track=%s]",
                            contactId, radarId, targetId, detectionTime, range, azimuth, elevation,
                            radialVelocity, worldPosition, signalToNoiseRatio, radarCrossSection,
-                           confidence, classification, isNewDetection);
+                           confidence, classification, isNewDetection, trackId);
     }
     
     @Override
@@ -0,0 +1,298 @@
+package com.JP.dronesim.domain.device.model.radar;
+
+import com.JP.dronesim.domain.airspace.model.EnvironmentParameters;
+
+/**
+ * 雷达链路预算
+ * 预先计算雷达方程中与目标无关的常数：SNR(dB) = 系统常数 + 10·lg(σ) − 40·lg(R) − 大气衰减率·R。
+ * 系统常数汇总发射功率、收发增益、波长与噪声功率，大气衰减率汇总频率与天气影响，
+ * 只在雷达参数、环境参数或作用距离变化时重建。
+ * 可选的距离分箱表把与距离有关的部分按等间距采样，查询时线性插值，省去逐目标的对数运算；
+ * 近距离处对数曲率大，插值误差超过{@link #TABLE_TOLERANCE_DB}的区段仍按公式精确计算。
+ * 实例缓存最近一次RCS的对数值，不是线程安全的，每台雷达独享一个实例
+ *
+ * @author JP
+ * @version 1.0
+ */
+public final class RadarLinkBudget {
+
+    /**
+     * 默认距离分箱数
+     */
+    public static final int DEFAULT_TABLE_BINS = 4096;
+
+    /**
+     * 查表插值的误差上限（dB）
+     */
+    public static final double TABLE_TOLERANCE_DB = 0.01;
+
+    /**
+     * 光速（米/秒）
+     */
+    private static final double SPEED_OF_LIGHT = 3e8;
+
+    /**
+     * 玻尔兹曼常数（焦/开）
+     */
+    private static final double BOLTZMANN = 1.38e-23;
+
+    /**
+     * 标准噪声温度（开）
+     */
+    private static final double NOISE_TEMPERATURE = 290.0;
+
+    /**
+     * 构建时的雷达参数
+     */
+    private final RadarParameters parameters;
+
+    /**
+     * 构建时的环境参数，可为null
+     */
+    private final EnvironmentParameters environment;
+
+    /**
+     * 分箱表覆盖的最大距离（米）
+     */
+    private final double maxRange;
+
+    /**
+     * 波长（米）
+     */
+    private final double wavelength;
+
+    /**
+     * 接收机噪声功率（瓦）
+     */
+    private final double noisePower;
+
+    /**
+     * 系统常数（dB）：10·lg(Pt·Gt·Gr·λ² / ((4π)³·Pn))
+     */
+    private final double systemConstantDb;
+
+    /**
+     * 大气衰减率（dB/米），已计入天气影响
+     */
+    private final double attenuationPerMeter;
+
+    /**
+     * 多普勒系数（赫兹每米/秒）：2f/c
+     */
+    private final double dopplerFactor;
+
+    /**
+     * 分箱间距（米），不建表时为0
+     */
+    private final double binWidth;
+
+    /**
+     * 距离项采样值（dB）：−40·lg(R) − 大气衰减率·R，下标i对应距离i·binWidth
+     */
+    private final double[] rangeTermTable;
+
+    /**
+     * 低于此距离时按公式计算（米）
+     */
+    private final double exactBelow;
+
+    /**
+     * 最近一次查询的RCS（平方米）
+     */
+    private double cachedRcs = Double.NaN;
+
+    /**
+     * 最近一次查询的RCS对数值（dBsm）
+     */
+    private double cachedRcsDb;
+
+    /**
+     * 构造函数
+     *
+     * @param parameters 雷达参数
+     * @param environment 环境参数，可为null
+     * @param maxRange 分箱表覆盖的最大距离（米）
+     * @param tableBins 距离分箱数，0表示不建表
+     */
+    private RadarLinkBudget(RadarParameters parameters, EnvironmentParameters environment,
+                            double maxRange, int tableBins) {
+        this.parameters = parameters;
+        this.environment = environment;
+        this.maxRange = maxRange;
+
+        this.wavelength = SPEED_OF_LIGHT / parameters.getFrequency();
+        double gain = Math.pow(10, parameters.getGain() / 10.0);
+        double bandwidth = 1.0 / parameters.getPulseWidth();
+        double noiseFactor = Math.pow(10, parameters.getNoiseFigure() / 10.0);
+        this.noisePower = BOLTZMANN * NOISE_TEMPERATURE * bandwidth * noiseFactor;
+        // 假设发射和接收增益相同
+        double systemConstant = (parameters.getPower() * gain * gain * wavelength * wavelength)
+                / (Math.pow(4 * Math.PI, 3) * noisePower);
+        this.systemConstantDb = 10 * Math.log10(systemConstant);
+        this.attenuationPerMeter = calculateAttenuationPerMeter(parameters.getFrequency(), environment);
+        this.dopplerFactor = 2.0 * parameters.getFrequency() / SPEED_OF_LIGHT;
+
+        if (tableBins > 0) {
+            this.binWidth = maxRange / tableBins;
+            this.rangeTermTable = new double[tableBins + 1];
+            for (int i = 1; i <= tableBins; i++) {
+                rangeTermTable[i] = rangeTerm(i * binWidth);
+            }
+            rangeTermTable[0] = Double.NaN;
+            // 线性插值误差不超过 h²/8·|f''|，f''(R) = 40/(ln10·R²)，据此求出满足容差的最小距离
+            double threshold = binWidth * Math.sqrt(40.0 / (8.0 * Math.log(10) * TABLE_TOLERANCE_DB));
+            this.exactBelow = Math.max(binWidth, threshold);
+        } else {
+            this.binWidth = 0.0;
+            this.rangeTermTable = null;
+            this.exactBelow = Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * 创建链路预算
+     *
+     * @param parameters 雷达参数
+     * @param environment 环境参数，可为null（按晴好天气计算）
+     * @param maxRange 分箱表覆盖的最大距离（米），通常取探测距离
+     * @param tableBins 距离分箱数，0表示不建表、始终按公式计算
+     * @return 链路预算
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    public static RadarLinkBudget create(RadarParameters parameters, EnvironmentParameters environment,
+                                         double maxRange, int tableBins) {
+        if (parameters == null || !parameters.isValid()) {
+            throw new IllegalArgumentException("雷达参数无效");
+        }
+        if (maxRange <= 0.0) {
+            throw new IllegalArgumentException("最大距离必须大于0");
+        }
+        if (tableBins < 0) {
+            throw new IllegalArgumentException("分箱数不能为负数");
+        }
+        return new RadarLinkBudget(parameters, environment, maxRange, tableBins);
+    }
+
+    /**
+     * 判断是否按给定参数构建（参数对象按引用比较，值对象替换即视为变化）
+     *
+     * @param parameters 雷达参数
+     * @param environment 环境参数
+     * @param maxRange 最大距离（米）
+     * @return 是否可以继续使用
+     */
+    public boolean isBuiltFor(RadarParameters parameters, EnvironmentParameters environment, double maxRange) {
+        return this.parameters == parameters && this.environment == environment && this.maxRange == maxRange;
+    }
+
+    /**
+     * 计算信噪比，距离在分箱表范围内时查表插值
+     *
+     * @param range 目标距离（米）
+     * @param rcs 雷达截面积（平方米）
+     * @return 信噪比（dB）
+     */
+    public double signalToNoiseRatio(double range, double rcs) {
+        return signalToNoiseRatio(range, rcs, 0.0);
+    }
+
+    /**
+     * 计算信噪比，目标RCS以名义值与姿态增益给出
+     * 名义RCS通常每架无人机固定，其对数值复用缓存，姿态增益已是dB值，逐目标无需对数运算
+     *
+     * @param range 目标距离（米）
+     * @param nominalRcs 名义雷达截面积（平方米）
+     * @param aspectGainDb 姿态增益（dB）
+     * @return 信噪比（dB）
+     */
+    public double signalToNoiseRatio(double range, double nominalRcs, double aspectGainDb) {
+        double rangeTerm;
+        if (range >= exactBelow && range <= maxRange) {
+            double position = range / binWidth;
+            int bin = Math.min((int) position, rangeTermTable.length - 2);
+            double fraction = position - bin;
+            double lower = rangeTermTable[bin];
+            rangeTerm = lower + fraction * (rangeTermTable[bin + 1] - lower);
+        } else {
+            rangeTerm = rangeTerm(range);
+        }
+        return systemConstantDb + rcsDb(nominalRcs) + aspectGainDb + rangeTerm;
+    }
+
+    /**
+     * 按公式精确计算信噪比
+     *
+     * @param range 目标距离（米）
+     * @param rcs 雷达截面积（平方米）
+     * @return 信噪比（dB）
+     */
+    public double exactSignalToNoiseRatio(double range, double rcs) {
+        return systemConstantDb + rcsDb(rcs) + rangeTerm(range);
+    }
+
+    /**
+     * 计算多普勒频移
+     *
+     * @param radialVelocity 径向速度（米/秒）
+     * @return 多普勒频移（赫兹）
+     */
+    public double dopplerShift(double radialVelocity) {
+        return dopplerFactor * radialVelocity;
+    }
+
+    /**
+     * 是否建有分箱表
+     *
+     * @return 是否建表
+     */
+    public boolean isTabulated() {
+        return rangeTermTable != null;
+    }
+
+    /**
+     * 与距离有关的项
+     */
+    private double rangeTerm(double range) {
+        return -40.0 * Math.log10(range) - attenuationPerMeter * range;
+    }
+
+    /**
+     * RCS的对数值，RCS不变时复用上次结果
+     */
+    private double rcsDb(double rcs) {
+        if (rcs != cachedRcs) {
+            cachedRcsDb = 10 * Math.log10(rcs);
+            cachedRcs = rcs;
+        }
+        return cachedRcsDb;
+    }
+
+    /**
+     * 计算大气衰减率
+     * 基本损耗 0.1·√f(GHz) dB/千米，降雨时加倍，能见度低于1000米时再乘1.5
+     */
+    private static double calculateAttenuationPerMeter(double frequency, EnvironmentParameters environment) {
+        double perKm = 0.1 * Math.sqrt(frequency / 1e9);
+        if (environment != null) {
+            if (environment.isRaining()) {
+                perKm *= 2.0;
+            }
+            if (environment.getVisibility() < 1000.0) {
+                perKm *= 1.5;
+            }
+        }
+        return perKm / 1000.0;
+    }
+
+    // ================ Getters ================
+
+    public RadarParameters getParameters() { return parameters; }
+    public EnvironmentParameters getEnvironment() { return environment; }
+    public double getMaxRange() { return maxRange; }
+    public double getWavelength() { return wavelength; }
+    public double getNoisePower() { return noisePower; }
+    public double getSystemConstantDb() { return systemConstantDb; }
+    public double getAttenuationPerMeter() { return attenuationPerMeter; }
+    public double getBinWidth() { return binWidth; }
+    public double getExactBelow() { return exactBelow; }
+}
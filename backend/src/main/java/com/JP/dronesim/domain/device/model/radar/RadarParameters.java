@@ -11,6 +11,11 @@ import com.JP.dronesim.domain.device.model.common.SensorParameters;
  */
 public class RadarParameters implements SensorParameters {
     
+    /**
+     * 默认天线转速（度/秒），即每分钟60转
+     */
+    public static final double DEFAULT_ROTATION_RATE = 360.0;
+    
     /**
      * 工作频率（Hz）
      */
@@ -73,7 +78,12 @@ public class RadarParameters implements SensorParameters {
     private final double velocityResolution;
     
     /**
-     * 构造函数
+     * 天线转速（度/秒），扇形与360度扫描时波束移动的角速度
+     */
+    private final double rotationRate;
+    
+    /**
+     * 构造函数，天线转速取默认值
      * 
      * @param frequency 工作频率
      * @param power 发射功率
@@ -92,6 +102,32 @@ public class RadarParameters implements SensorParameters {
                           double minSNRDetect, ScanPattern scanPattern, double pulseRepetitionFrequency,
                           double pulseWidth, double beamWidth, double maxUnambiguousRange,
                           double rangeResolution, double velocityResolution) {
+        this(frequency, power, gain, noiseFigure, minSNRDetect, scanPattern, pulseRepetitionFrequency,
+             pulseWidth, beamWidth, maxUnambiguousRange, rangeResolution, velocityResolution,
+             DEFAULT_ROTATION_RATE);
+    }
+    
+    /**
+     * 构造函数
+     * 
+     * @param frequency 工作频率
+     * @param power 发射功率
+     * @param gain 天线增益
+     * @param noiseFigure 噪声系数
+     * @param minSNRDetect 最小信噪比阈值
+     * @param scanPattern 扫描模式
+     * @param pulseRepetitionFrequency 脉冲重复频率
+     * @param pulseWidth 脉冲宽度
+     * @param beamWidth 波束宽度
+     * @param maxUnambiguousRange 最大不模糊距离
+     * @param rangeResolution 距离分辨率
+     * @param velocityResolution 速度分辨率
+     * @param rotationRate 天线转速（度/秒）
+     */
+    public RadarParameters(double frequency, double power, double gain, double noiseFigure,
+                          double minSNRDetect, ScanPattern scanPattern, double pulseRepetitionFrequency,
+                          double pulseWidth, double beamWidth, double maxUnambiguousRange,
+                          double rangeResolution, double velocityResolution, double rotationRate) {
         this.frequency = frequency;
         this.power = power;
         this.gain = gain;
@@ -104,6 +140,7 @@ public class RadarParameters implements SensorParameters {
         this.maxUnambiguousRange = maxUnambiguousRange;
         this.rangeResolution = rangeResolution;
         this.velocityResolution = velocityResolution;
+        this.rotationRate = rotationRate;
     }
     
     /**
@@ -214,6 +251,30 @@ public class RadarParameters implements SensorParameters {
         return velocityResolution;
     }
     
+    /**
+     * 获取天线转速
+     * 
+     * @return 天线转速（度/秒）
+     */
+    public double getRotationRate() {
+        return rotationRate;
+    }
+    
+    /**
+     * 获取数据更新周期，即波束在一个波位上的驻留时间
+     * 驻留时间 = 波束宽度 / 天线转速；每次探测覆盖天线自上次探测以来扫过的全部方位，
+     * 步长大于驻留时间时一步内扫过多个波位。固定扫描持续照射，每步探测
+     * 
+     * @return 驻留时间（秒）
+     */
+    @Override
+    public double getUpdatePeriod() {
+        if (scanPattern == ScanPattern.FIXED || scanPattern == null) {
+            return 0.0;
+        }
+        return beamWidth / rotationRate;
+    }
+    
     @Override
     public boolean isValid() {
         return frequency > 0.0 && power > 0.0 &&
@@ -222,7 +283,8 @@ public class RadarParameters implements SensorParameters {
                pulseRepetitionFrequency > 0.0 && pulseWidth > 0.0 &&
                beamWidth > 0.0 && beamWidth <= 360.0 &&
                maxUnambiguousRange > 0.0 &&
-               rangeResolution > 0.0 && velocityResolution > 0.0;
+               rangeResolution > 0.0 && velocityResolution > 0.0 &&
+               rotationRate > 0.0;
     }
     
     @Override
@@ -230,17 +292,19 @@ public class RadarParameters implements SensorParameters {
         return String.format("RadarParameters[freq=%.0fHz, power=%.1fW, gain=%.1fdB, " +
                            "noise=%.1fdB, minSNR=%.1fdB, scan=%s, PRF=%.0fHz, " +
                            "pulseWidth=%.6fs, beamWidth=%.1f°, maxRange=%.0fm, " +
-                           "rangeRes=%.1fm, velRes=%.2fm/s]",
+                           "rangeRes=%.1fm, velRes=%.2fm/s, rotation=%.1f°/s]",
                            frequency, power, gain, noiseFigure, minSNRDetect,
                            scanPattern, pulseRepetitionFrequency, pulseWidth,
-                           beamWidth, maxUnambiguousRange, rangeResolution, velocityResolution);
+                           beamWidth, maxUnambiguousRange, rangeResolution, velocityResolution,
+                           rotationRate);
     }
     
     @Override
     public SensorParameters clone() {
         return new RadarParameters(frequency, power, gain, noiseFigure, minSNRDetect,
                                  scanPattern, pulseRepetitionFrequency, pulseWidth,
-                                 beamWidth, maxUnambiguousRange, rangeResolution, velocityResolution);
+                                 beamWidth, maxUnambiguousRange, rangeResolution, velocityResolution,
+                                 rotationRate);
     }
     
     @Override
@@ -278,7 +342,8 @@ public class RadarParameters implements SensorParameters {
                scanPattern == that.scanPattern &&
                Double.compare(that.pulseRepetitionFrequency, pulseRepetitionFrequency) == 0 &&
                Double.compare(that.pulseWidth, pulseWidth) == 0 &&
-               Double.compare(that.beamWidth, beamWidth) == 0;
+               Double.compare(that.beamWidth, beamWidth) == 0 &&
+               Double.compare(that.rotationRate, rotationRate) == 0;
     }
     
     @Override
@@ -0,0 +1,263 @@
+package com.JP.dronesim.domain.device.model.radar;
+
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.common.valueobjects.Velocity;
+
+/**
+ * 雷达航迹
+ * 由{@link RadarTracker}维护的目标状态估计，采用α-β滤波（匀速模型）：
+ * 位置与速度按量测残差以固定增益修正。航迹由未关联的量测起始为暂定航迹，
+ * 累计关联到足够次数后确认，连续漏测或超过存活时间后删除
+ *
+ * @author JP
+ * @version 1.0
+ */
+public class RadarTrack {
+
+    /**
+     * 航迹ID
+     */
+    private final String trackId;
+
+    /**
+     * 起始时刻（仿真秒）
+     */
+    private final double initiatedTime;
+
+    /**
+     * 航迹状态
+     */
+    private TrackState state;
+
+    /**
+     * 估计位置（米）
+     */
+    private double x, y, z;
+
+    /**
+     * 估计速度（米/秒）
+     */
+    private double vx, vy, vz;
+
+    /**
+     * 最近一次更新的时刻（仿真秒）
+     */
+    private double lastUpdateTime;
+
+    /**
+     * 累计关联次数
+     */
+    private int hits;
+
+    /**
+     * 波束扫过但未关联的连续次数
+     */
+    private int misses;
+
+    /**
+     * 最近一次关联的接触
+     */
+    private RadarContact lastContact;
+
+    /**
+     * 构造函数（以首个量测起始暂定航迹，速度未知记为0）
+     *
+     * @param trackId 航迹ID
+     * @param contact 起始量测
+     * @param time 量测时刻（仿真秒）
+     */
+    RadarTrack(String trackId, RadarContact contact, double time) {
+        Position position = contact.getWorldPosition();
+        this.trackId = trackId;
+        this.initiatedTime = time;
+        this.state = TrackState.TENTATIVE;
+        this.x = position.getX();
+        this.y = position.getY();
+        this.z = position.getZ();
+        this.lastUpdateTime = time;
+        this.hits = 1;
+        this.lastContact = contact;
+    }
+
+    /**
+     * 以关联的量测更新航迹
+     * 第二次关联时用两点差分初始化速度，之后按α-β增益修正
+     *
+     * @param contact 量测
+     * @param time 量测时刻（仿真秒）
+     * @param alpha 位置增益
+     * @param beta 速度增益
+     */
+    void update(RadarContact contact, double time, double alpha, double beta) {
+        Position measured = contact.getWorldPosition();
+        double dt = time - lastUpdateTime;
+        if (dt > 0.0) {
+            double px = x + vx * dt;
+            double py = y + vy * dt;
+            double pz = z + vz * dt;
+            double rx = measured.getX() - px;
+            double ry = measured.getY() - py;
+            double rz = measured.getZ() - pz;
+            if (hits == 1) {
+                vx = (measured.getX() - x) / dt;
+                vy = (measured.getY() - y) / dt;
+                vz = (measured.getZ() - z) / dt;
+                x = measured.getX();
+                y = measured.getY();
+                z = measured.getZ();
+            } else {
+                x = px + alpha * rx;
+                y = py + alpha * ry;
+                z = pz + alpha * rz;
+                vx += beta / dt * rx;
+                vy += beta / dt * ry;
+                vz += beta / dt * rz;
+            }
+        } else {
+            // 同一时刻的重复量测只修正位置
+            x = measured.getX();
+            y = measured.getY();
+            z = measured.getZ();
+        }
+        lastUpdateTime = Math.max(lastUpdateTime, time);
+        hits++;
+        misses = 0;
+        lastContact = contact;
+    }
+
+    /**
+     * 记录一次漏测
+     */
+    void miss() {
+        misses++;
+    }
+
+    /**
+     * 确认航迹
+     */
+    void confirm() {
+        this.state = TrackState.CONFIRMED;
+    }
+
+    /**
+     * 预测指定时刻的X坐标
+     *
+     * @param time 时刻（仿真秒）
+     * @return X坐标
+     */
+    double predictX(double time) {
+        return x + vx * (time - lastUpdateTime);
+    }
+
+    /**
+     * 预测指定时刻的Y坐标
+     *
+     * @param time 时刻（仿真秒）
+     * @return Y坐标
+     */
+    double predictY(double time) {
+        return y + vy * (time - lastUpdateTime);
+    }
+
+    /**
+     * 预测指定时刻的Z坐标
+     *
+     * @param time 时刻（仿真秒）
+     * @return Z坐标
+     */
+    double predictZ(double time) {
+        return z + vz * (time - lastUpdateTime);
+    }
+
+    /**
+     * 预测指定时刻的位置
+     *
+     * @param time 时刻（仿真秒）
+     * @return 预测位置
+     */
+    public Position predictPosition(double time) {
+        return new Position(predictX(time), predictY(time), predictZ(time));
+    }
+
+    /**
+     * 是否已确认
+     *
+     * @return 是否已确认
+     */
+    public boolean isConfirmed() {
+        return state == TrackState.CONFIRMED;
+    }
+
+    /**
+     * 获取估计位置（最近一次更新时刻）
+     *
+     * @return 位置
+     */
+    public Position getPosition() {
+        return new Position(x, y, z);
+    }
+
+    /**
+     * 获取估计速度
+     *
+     * @return 速度
+     */
+    public Velocity getVelocity() {
+        return new Velocity(vx, vy, vz);
+    }
+
+    // ================ Getters ================
+
+    public String getTrackId() { return trackId; }
+    public double getInitiatedTime() { return initiatedTime; }
+    public TrackState getState() { return state; }
+    public double getLastUpdateTime() { return lastUpdateTime; }
+    public int getHits() { return hits; }
+    public int getMisses() { return misses; }
+    public RadarContact getLastContact() { return lastContact; }
+
+    @Override
+    public String toString() {
+        return String.format("RadarTrack[id=%s, state=%s, pos=(%.1f, %.1f, %.1f), vel=(%.1f, %.1f, %.1f), " +
+                        "hits=%d, misses=%d]",
+                trackId, state, x, y, z, vx, vy, vz, hits, misses);
+    }
+
+    /**
+     * 航迹状态
+     */
+    public enum TrackState {
+        /**
+         * 暂定航迹
+         */
+        TENTATIVE("暂定"),
+
+        /**
+         * 确认航迹
+         */
+        CONFIRMED("确认");
+
+        /**
+         * 状态描述
+         */
+        private final String description;
+
+        /**
+         * 构造函数
+         *
+         * @param description 状态描述
+         */
+        TrackState(String description) {
+            this.description = description;
+        }
+
+        /**
+         * 获取状态描述
+         *
+         * @return 状态描述
+         */
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,740 @@
+package com.JP.dronesim.domain.device.model.radar;
+
+import com.JP.dronesim.domain.common.valueobjects.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 雷达多目标跟踪器
+ * 每台雷达一个实例，只使用量测位置，不依赖目标真实ID。每次扫描的处理流程：
+ * 1. 将各航迹外推到扫描时刻，按预测位置放入边长为最大波门的哈希网格；
+ * 2. 每个量测只检查所在及相邻27个网格中的航迹，落入航迹波门的构成候选配对；
+ * 3. 候选配对按航迹-量测连通关系分簇，簇内以全局最近邻（GNN）求总代价最小的分配，
+ *    小簇用匈牙利算法求最优解，超大簇退化为按距离贪心；
+ * 4. 关联上的航迹做α-β滤波更新，暂定航迹累计关联足够次数后确认；
+ *    未关联的量测起始新的暂定航迹；
+ * 5. 只有预测位置落在本次扫描覆盖范围内而未关联的航迹才记漏测，连续漏测或超过存活时间的航迹删除，
+ *    航迹数超过上限时优先淘汰最久未更新的暂定航迹，内存有界。
+ * 航迹编号按起始顺序递增，处理顺序只取决于航迹与量测的顺序，结果确定
+ *
+ * @author JP
+ * @version 1.0
+ */
+public class RadarTracker {
+
+    /**
+     * 默认基础波门半径（米）
+     */
+    public static final double DEFAULT_BASE_GATE = 30.0;
+
+    /**
+     * 默认目标最大速度（米/秒），用于尚无速度估计的暂定航迹
+     */
+    public static final double DEFAULT_MAX_TARGET_SPEED = 60.0;
+
+    /**
+     * 默认目标最大机动加速度（米/秒²）
+     */
+    public static final double DEFAULT_MAX_ACCELERATION = 10.0;
+
+    /**
+     * 默认最大波门半径（米）
+     */
+    public static final double DEFAULT_MAX_GATE = 300.0;
+
+    /**
+     * 默认位置增益
+     */
+    public static final double DEFAULT_ALPHA = 0.85;
+
+    /**
+     * 默认速度增益
+     */
+    public static final double DEFAULT_BETA = 0.5;
+
+    /**
+     * 默认确认所需关联次数
+     */
+    public static final int DEFAULT_CONFIRM_HITS = 3;
+
+    /**
+     * 默认暂定航迹允许的连续漏测次数
+     */
+    public static final int DEFAULT_MAX_TENTATIVE_MISSES = 2;
+
+    /**
+     * 默认确认航迹允许的连续漏测次数
+     */
+    public static final int DEFAULT_MAX_CONFIRMED_MISSES = 4;
+
+    /**
+     * 默认航迹存活时间（秒），超过此时长未更新的航迹删除
+     */
+    public static final double DEFAULT_TRACK_TTL = 15.0;
+
+    /**
+     * 默认航迹数上限
+     */
+    public static final int DEFAULT_MAX_TRACKS = 20000;
+
+    /**
+     * 簇内用匈牙利算法求最优分配的规模上限（航迹数与量测数）
+     */
+    private static final int OPTIMAL_CLUSTER_LIMIT = 64;
+
+    /**
+     * 分配矩阵中不可行配对的代价
+     */
+    private static final double FORBIDDEN = 1e12;
+
+    /**
+     * 航迹ID前缀
+     */
+    private final String idPrefix;
+
+    /**
+     * 基础波门半径（米）
+     */
+    private final double baseGate;
+
+    /**
+     * 目标最大速度（米/秒）
+     */
+    private final double maxTargetSpeed;
+
+    /**
+     * 目标最大机动加速度（米/秒²）
+     */
+    private final double maxAcceleration;
+
+    /**
+     * 最大波门半径（米），也是网格边长
+     */
+    private final double maxGate;
+
+    /**
+     * 位置增益
+     */
+    private final double alpha;
+
+    /**
+     * 速度增益
+     */
+    private final double beta;
+
+    /**
+     * 确认所需关联次数
+     */
+    private final int confirmHits;
+
+    /**
+     * 暂定航迹允许的连续漏测次数
+     */
+    private final int maxTentativeMisses;
+
+    /**
+     * 确认航迹允许的连续漏测次数
+     */
+    private final int maxConfirmedMisses;
+
+    /**
+     * 航迹存活时间（秒）
+     */
+    private final double trackTtl;
+
+    /**
+     * 航迹数上限
+     */
+    private final int maxTracks;
+
+    /**
+     * 当前航迹（按起始顺序）
+     */
+    private final List<RadarTrack> tracks = new ArrayList<>();
+
+    /**
+     * 已起始的航迹数，用于生成航迹编号
+     */
+    private long initiatedCount;
+
+    /**
+     * 累计删除的航迹数
+     */
+    private long droppedCount;
+
+    /**
+     * 构造函数（默认参数）
+     *
+     * @param idPrefix 航迹ID前缀，通常为雷达ID
+     */
+    public RadarTracker(String idPrefix) {
+        this(idPrefix, DEFAULT_BASE_GATE, DEFAULT_MAX_TARGET_SPEED, DEFAULT_MAX_ACCELERATION, DEFAULT_MAX_GATE,
+                DEFAULT_ALPHA, DEFAULT_BETA, DEFAULT_CONFIRM_HITS, DEFAULT_MAX_TENTATIVE_MISSES,
+                DEFAULT_MAX_CONFIRMED_MISSES, DEFAULT_TRACK_TTL, DEFAULT_MAX_TRACKS);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param idPrefix 航迹ID前缀
+     * @param baseGate 基础波门半径（米）
+     * @param maxTargetSpeed 目标最大速度（米/秒）
+     * @param maxAcceleration 目标最大机动加速度（米/秒²）
+     * @param maxGate 最大波门半径（米）
+     * @param alpha 位置增益（0-1]
+     * @param beta 速度增益（0-2)
+     * @param confirmHits 确认所需关联次数
+     * @param maxTentativeMisses 暂定航迹允许的连续漏测次数
+     * @param maxConfirmedMisses 确认航迹允许的连续漏测次数
+     * @param trackTtl 航迹存活时间（秒）
+     * @param maxTracks 航迹数上限
+     * @throws IllegalArgumentException 如果参数无效
+     */
+    public RadarTracker(String idPrefix, double baseGate, double maxTargetSpeed, double maxAcceleration,
+                        double maxGate, double alpha, double beta, int confirmHits, int maxTentativeMisses,
+                        int maxConfirmedMisses, double trackTtl, int maxTracks) {
+        if (idPrefix == null || idPrefix.trim().isEmpty()) {
+            throw new IllegalArgumentException("航迹ID前缀不能为空");
+        }
+        if (baseGate <= 0.0 || maxGate < baseGate) {
+            throw new IllegalArgumentException("波门半径必须大于0且最大波门不小于基础波门");
+        }
+        if (maxTargetSpeed < 0.0 || maxAcceleration < 0.0) {
+            throw new IllegalArgumentException("目标最大速度与加速度不能为负数");
+        }
+        if (alpha <= 0.0 || alpha > 1.0 || beta <= 0.0 || beta >= 2.0) {
+            throw new IllegalArgumentException("滤波增益必须满足 0<α≤1、0<β<2");
+        }
+        if (confirmHits < 1 || maxTentativeMisses < 1 || maxConfirmedMisses < 1) {
+            throw new IllegalArgumentException("确认次数与漏测次数必须至少为1");
+        }
+        if (trackTtl <= 0.0 || maxTracks < 1) {
+            throw new IllegalArgumentException("航迹存活时间与航迹数上限必须大于0");
+        }
+        this.idPrefix = idPrefix;
+        this.baseGate = baseGate;
+        this.maxTargetSpeed = maxTargetSpeed;
+        this.maxAcceleration = maxAcceleration;
+        this.maxGate = maxGate;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.confirmHits = confirmHits;
+        this.maxTentativeMisses = maxTentativeMisses;
+        this.maxConfirmedMisses = maxConfirmedMisses;
+        this.trackTtl = trackTtl;
+        this.maxTracks = maxTracks;
+    }
+
+    /**
+     * 处理一次扫描的量测
+     *
+     * @param contacts 本次扫描的接触（量测）
+     * @param time 扫描时刻（仿真秒）
+     * @param origin 雷达位置
+     * @param arcFrom 本次扫描覆盖的起始方位（度）
+     * @param arcExtent 本次扫描覆盖的方位张角（度），不小于360时覆盖全周
+     * @param maxRange 作用距离（米）
+     * @return 关联到航迹的接触副本，顺序与输入一致
+     */
+    public List<RadarContact> update(List<RadarContact> contacts, double time, Position origin,
+                                     double arcFrom, double arcExtent, double maxRange) {
+        if (contacts == null || origin == null) {
+            throw new IllegalArgumentException("接触列表与雷达位置不能为空");
+        }
+        int trackCount = tracks.size();
+        int contactCount = contacts.size();
+
+        // 1. 航迹外推与波门
+        double[] px = new double[trackCount];
+        double[] py = new double[trackCount];
+        double[] pz = new double[trackCount];
+        double[] gate2 = new double[trackCount];
+        for (int i = 0; i < trackCount; i++) {
+            RadarTrack track = tracks.get(i);
+            px[i] = track.predictX(time);
+            py[i] = track.predictY(time);
+            pz[i] = track.predictZ(time);
+            double gate = gateRadius(track, time);
+            gate2[i] = gate * gate;
+        }
+
+        // 2. 网格粗筛 + 波门精判，得到候选配对
+        PairList pairs = gate(contacts, px, py, pz, gate2);
+
+        // 3. 分簇求全局最近邻分配
+        int[] trackToContact = new int[trackCount];
+        int[] contactToTrack = new int[contactCount];
+        Arrays.fill(trackToContact, -1);
+        Arrays.fill(contactToTrack, -1);
+        assign(pairs, trackCount, contactCount, gate2, trackToContact, contactToTrack);
+
+        // 4. 更新航迹与漏测计数
+        RadarContact[] associated = new RadarContact[contactCount];
+        for (int i = 0; i < trackCount; i++) {
+            RadarTrack track = tracks.get(i);
+            int j = trackToContact[i];
+            if (j >= 0) {
+                track.update(contacts.get(j), time, alpha, beta);
+                if (!track.isConfirmed() && track.getHits() >= confirmHits) {
+                    track.confirm();
+                }
+                associated[j] = contacts.get(j).withTrack(track.getTrackId(), false);
+            } else if (isCovered(px[i], py[i], pz[i], origin, arcFrom, arcExtent, maxRange)) {
+                track.miss();
+            }
+        }
+
+        // 5. 删除失效航迹，起始新航迹，限制航迹数
+        int before = tracks.size();
+        tracks.removeIf(track -> isExpired(track, time));
+        droppedCount += before - tracks.size();
+        for (int j = 0; j < contactCount; j++) {
+            if (contactToTrack[j] < 0) {
+                RadarContact contact = contacts.get(j);
+                RadarTrack track = new RadarTrack(idPrefix + "-T" + (++initiatedCount), contact, time);
+                tracks.add(track);
+                associated[j] = contact.withTrack(track.getTrackId(), true);
+            }
+        }
+        enforceCapacity();
+
+        return Arrays.asList(associated);
+    }
+
+    /**
+     * 获取当前航迹
+     *
+     * @return 航迹列表（只读，按起始顺序）
+     */
+    public List<RadarTrack> getTracks() {
+        return Collections.unmodifiableList(tracks);
+    }
+
+    /**
+     * 获取确认航迹
+     *
+     * @return 确认航迹列表
+     */
+    public List<RadarTrack> getConfirmedTracks() {
+        List<RadarTrack> confirmed = new ArrayList<>();
+        for (RadarTrack track : tracks) {
+            if (track.isConfirmed()) {
+                confirmed.add(track);
+            }
+        }
+        return confirmed;
+    }
+
+    /**
+     * 获取当前航迹数
+     *
+     * @return 航迹数
+     */
+    public int getTrackCount() {
+        return tracks.size();
+    }
+
+    /**
+     * 获取确认航迹数
+     *
+     * @return 确认航迹数
+     */
+    public int getConfirmedTrackCount() {
+        int count = 0;
+        for (RadarTrack track : tracks) {
+            if (track.isConfirmed()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 清空全部航迹并重新编号（新会话开始时调用）
+     */
+    public void reset() {
+        tracks.clear();
+        initiatedCount = 0;
+        droppedCount = 0;
+    }
+
+    /**
+     * 计算航迹在指定时刻的波门半径
+     * 尚无速度估计的航迹按目标最大速度放宽，有速度估计的按最大机动加速度放宽，不超过最大波门
+     */
+    private double gateRadius(RadarTrack track, double time) {
+        double dt = Math.max(0.0, time - track.getLastUpdateTime());
+        double growth = track.getHits() < 2 ? maxTargetSpeed * dt : 0.5 * maxAcceleration * dt * dt;
+        return Math.min(maxGate, baseGate + growth);
+    }
+
+    /**
+     * 以哈希网格粗筛并按波门精判，得到候选配对
+     */
+    private PairList gate(List<RadarContact> contacts, double[] px, double[] py, double[] pz, double[] gate2) {
+        int trackCount = px.length;
+        Map<Long, Integer> heads = new HashMap<>(trackCount * 2);
+        int[] next = new int[trackCount];
+        for (int i = 0; i < trackCount; i++) {
+            long key = cellKey(cell(px[i]), cell(py[i]), cell(pz[i]));
+            Integer head = heads.put(key, i);
+            next[i] = head != null ? head : -1;
+        }
+
+        PairList pairs = new PairList(contacts.size());
+        if (trackCount == 0) {
+            return pairs;
+        }
+        for (int j = 0; j < contacts.size(); j++) {
+            Position measured = contacts.get(j).getWorldPosition();
+            double mx = measured.getX();
+            double my = measured.getY();
+            double mz = measured.getZ();
+            int cx = cell(mx);
+            int cy = cell(my);
+            int cz = cell(mz);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        Integer head = heads.get(cellKey(cx + dx, cy + dy, cz + dz));
+                        for (int i = head != null ? head : -1; i >= 0; i = next[i]) {
+                            double ex = mx - px[i];
+                            double ey = my - py[i];
+                            double ez = mz - pz[i];
+                            double d2 = ex * ex + ey * ey + ez * ez;
+                            if (d2 <= gate2[i]) {
+                                pairs.add(i, j, d2);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * 候选配对按连通关系分簇，逐簇求解分配
+     */
+    private void assign(PairList pairs, int trackCount, int contactCount, double[] gate2,
+                        int[] trackToContact, int[] contactToTrack) {
+        if (pairs.size == 0) {
+            return;
+        }
+        // 并查集：航迹节点 0..trackCount-1，量测节点 trackCount..
+        int[] parent = new int[trackCount + contactCount];
+        for (int k = 0; k < parent.length; k++) {
+            parent[k] = k;
+        }
+        for (int p = 0; p < pairs.size; p++) {
+            union(parent, pairs.tracks[p], trackCount + pairs.contacts[p]);
+        }
+
+        // 按首个配对出现的顺序编号各簇
+        int[] clusterOfRoot = new int[parent.length];
+        Arrays.fill(clusterOfRoot, -1);
+        List<List<Integer>> clusters = new ArrayList<>();
+        for (int p = 0; p < pairs.size; p++) {
+            int root = find(parent, pairs.tracks[p]);
+            if (clusterOfRoot[root] < 0) {
+                clusterOfRoot[root] = clusters.size();
+                clusters.add(new ArrayList<>());
+            }
+            clusters.get(clusterOfRoot[root]).add(p);
+        }
+
+        for (List<Integer> cluster : clusters) {
+            if (cluster.size() == 1) {
+                int p = cluster.get(0);
+                trackToContact[pairs.tracks[p]] = pairs.contacts[p];
+                contactToTrack[pairs.contacts[p]] = pairs.tracks[p];
+            } else {
+                solveCluster(pairs, cluster, gate2, trackToContact, contactToTrack);
+            }
+        }
+    }
+
+    /**
+     * 求解一个簇的分配：规模不大时用匈牙利算法求最小总代价，否则按距离贪心
+     * 代价为配对距离平方，航迹不分配的代价为其波门半径平方
+     */
+    private void solveCluster(PairList pairs, List<Integer> cluster, double[] gate2,
+                              int[] trackToContact, int[] contactToTrack) {
+        Map<Integer, Integer> rowOf = new HashMap<>();
+        Map<Integer, Integer> columnOf = new HashMap<>();
+        List<Integer> rowTracks = new ArrayList<>();
+        List<Integer> columnContacts = new ArrayList<>();
+        for (int p : cluster) {
+            if (!rowOf.containsKey(pairs.tracks[p])) {
+                rowOf.put(pairs.tracks[p], rowTracks.size());
+                rowTracks.add(pairs.tracks[p]);
+            }
+            if (!columnOf.containsKey(pairs.contacts[p])) {
+                columnOf.put(pairs.contacts[p], columnContacts.size());
+                columnContacts.add(pairs.contacts[p]);
+            }
+        }
+
+        int rows = rowTracks.size();
+        int columns = columnContacts.size();
+        if (rows > OPTIMAL_CLUSTER_LIMIT || columns > OPTIMAL_CLUSTER_LIMIT) {
+            assignGreedily(pairs, cluster, trackToContact, contactToTrack);
+            return;
+        }
+
+        // 列：量测 + 每条航迹一个“不分配”列
+        double[][] cost = new double[rows][columns + rows];
+        for (double[] row : cost) {
+            Arrays.fill(row, FORBIDDEN);
+        }
+        for (int r = 0; r < rows; r++) {
+            cost[r][columns + r] = gate2[rowTracks.get(r)];
+        }
+        for (int p : cluster) {
+            cost[rowOf.get(pairs.tracks[p])][columnOf.get(pairs.contacts[p])] = pairs.costs[p];
+        }
+
+        int[] assignment = hungarian(cost);
+        for (int r = 0; r < rows; r++) {
+            int c = assignment[r];
+            if (c >= 0 && c < columns && cost[r][c] < FORBIDDEN) {
+                int track = rowTracks.get(r);
+                int contact = columnContacts.get(c);
+                trackToContact[track] = contact;
+                contactToTrack[contact] = track;
+            }
+        }
+    }
+
+    /**
+     * 按距离从近到远贪心分配
+     */
+    private void assignGreedily(PairList pairs, List<Integer> cluster, int[] trackToContact, int[] contactToTrack) {
+        List<Integer> ordered = new ArrayList<>(cluster);
+        ordered.sort(Comparator.<Integer>comparingDouble(p -> pairs.costs[p]).thenComparingInt(p -> p));
+        for (int p : ordered) {
+            int track = pairs.tracks[p];
+            int contact = pairs.contacts[p];
+            if (trackToContact[track] < 0 && contactToTrack[contact] < 0) {
+                trackToContact[track] = contact;
+                contactToTrack[contact] = track;
+            }
+        }
+    }
+
+    /**
+     * 匈牙利算法求行数不多于列数的矩形代价矩阵的最小代价分配
+     *
+     * @param cost 代价矩阵
+     * @return 每行分配到的列
+     */
+    private static int[] hungarian(double[][] cost) {
+        int n = cost.length;
+        int m = cost[0].length;
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] p = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minv = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (!used[j]) {
+                        double current = cost[i0 - 1][j - 1] - u[i0] - v[j];
+                        if (current < minv[j]) {
+                            minv[j] = current;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] assignment = new int[n];
+        Arrays.fill(assignment, -1);
+        for (int j = 1; j <= m; j++) {
+            if (p[j] != 0) {
+                assignment[p[j] - 1] = j - 1;
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * 判断预测位置是否在本次扫描覆盖范围内
+     */
+    private static boolean isCovered(double x, double y, double z, Position origin,
+                                     double arcFrom, double arcExtent, double maxRange) {
+        double dx = x - origin.getX();
+        double dy = y - origin.getY();
+        double dz = z - origin.getZ();
+        if (dx * dx + dy * dy + dz * dz > maxRange * maxRange) {
+            return false;
+        }
+        if (arcExtent >= 360.0) {
+            return true;
+        }
+        double azimuth = Math.toDegrees(Math.atan2(dy, dx));
+        return AzimuthArc.normalize(azimuth - arcFrom) <= arcExtent;
+    }
+
+    /**
+     * 判断航迹是否应删除
+     */
+    private boolean isExpired(RadarTrack track, double time) {
+        if (time - track.getLastUpdateTime() > trackTtl) {
+            return true;
+        }
+        int allowedMisses = track.isConfirmed() ? maxConfirmedMisses : maxTentativeMisses;
+        return track.getMisses() >= allowedMisses;
+    }
+
+    /**
+     * 航迹数超过上限时，先淘汰暂定航迹，再按最久未更新淘汰
+     */
+    private void enforceCapacity() {
+        int excess = tracks.size() - maxTracks;
+        if (excess <= 0) {
+            return;
+        }
+        List<RadarTrack> candidates = new ArrayList<>(tracks);
+        candidates.sort(Comparator.comparing(RadarTrack::isConfirmed)
+                .thenComparingDouble(RadarTrack::getLastUpdateTime));
+        Set<RadarTrack> evicted = Collections.newSetFromMap(new IdentityHashMap<>());
+        evicted.addAll(candidates.subList(0, excess));
+        tracks.removeIf(evicted::contains);
+        droppedCount += excess;
+    }
+
+    /**
+     * 坐标所在网格
+     */
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / maxGate);
+    }
+
+    /**
+     * 网格坐标编码为键（每轴21位）
+     */
+    private static long cellKey(int cx, int cy, int cz) {
+        return ((long) (cx & 0x1FFFFF) << 42) | ((long) (cy & 0x1FFFFF) << 21) | (cz & 0x1FFFFF);
+    }
+
+    /**
+     * 并查集查找（路径减半）
+     */
+    private static int find(int[] parent, int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    /**
+     * 并查集合并
+     */
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[rootB] = rootA;
+        }
+    }
+
+    // ================ Getters ================
+
+    public long getInitiatedCount() { return initiatedCount; }
+    public long getDroppedCount() { return droppedCount; }
+    public double getTrackTtl() { return trackTtl; }
+    public int getMaxTracks() { return maxTracks; }
+
+    /**
+     * 候选配对列表（航迹下标、量测下标、距离平方）
+     */
+    private static final class PairList {
+
+        /**
+         * 航迹下标
+         */
+        private int[] tracks;
+
+        /**
+         * 量测下标
+         */
+        private int[] contacts;
+
+        /**
+         * 距离平方
+         */
+        private double[] costs;
+
+        /**
+         * 配对数
+         */
+        private int size;
+
+        /**
+         * 构造函数
+         *
+         * @param capacity 初始容量
+         */
+        private PairList(int capacity) {
+            int initial = Math.max(16, capacity);
+            this.tracks = new int[initial];
+            this.contacts = new int[initial];
+            this.costs = new double[initial];
+        }
+
+        /**
+         * 追加配对
+         */
+        private void add(int track, int contact, double cost) {
+            if (size == tracks.length) {
+                int grown = size * 2;
+                tracks = Arrays.copyOf(tracks, grown);
+                contacts = Arrays.copyOf(contacts, grown);
+                costs = Arrays.copyOf(costs, grown);
+            }
+            tracks[size] = track;
+            contacts[size] = contact;
+            costs[size] = cost;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.JP.dronesim.domain.device.model.radar;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 雷达截面积姿态表
+ * 按机体坐标系（NED：x机头、y右翼、z向下）下的雷达视线方向给出相对于名义RCS的增益（dB），
+ * 名义RCS取为全向平均值，即表内增益的线性值在球面上的平均为1。
+ * 两个表轴分别是视线方位与视线仰角的菱形伪角：伪角随角度单调变化，间距与角度间距相差不超过一倍，
+ * 由视线单位向量的分量经一次除法即可得到，查询只需双线性插值，不做三角函数运算；
+ * 建表时按真实方位角、仰角计算。
+ * 各机型的表在类加载时生成一次，不可变，所有雷达共享
+ *
+ * @author JP
+ * @version 1.0
+ */
+public final class RcsTable {
+
+    /**
+     * 方位伪角分箱数（伪角范围[0, 4)，一周）
+     */
+    public static final int AZIMUTH_BINS = 512;
+
+    /**
+     * 仰角伪角分箱数（伪角范围[-1, 1]，半周）
+     */
+    public static final int ELEVATION_BINS = 64;
+
+    /**
+     * 归一化时每个轴的采样数
+     */
+    private static final int NORMALIZATION_SAMPLES = 1024;
+
+    /**
+     * 各机型共享的姿态表
+     */
+    private static final Map<SignatureType, RcsTable> TABLES;
+
+    static {
+        Map<SignatureType, RcsTable> tables = new EnumMap<>(SignatureType.class);
+        for (SignatureType type : SignatureType.values()) {
+            tables.put(type, new RcsTable(type));
+        }
+        TABLES = Collections.unmodifiableMap(tables);
+    }
+
+    /**
+     * 机型
+     */
+    private final SignatureType type;
+
+    /**
+     * 散射模型在球面上的平均相对RCS，作为名义RCS对应的基准
+     */
+    private final double meanRelativeRcs;
+
+    /**
+     * 相对增益（dB），行为仰角伪角、列为方位伪角，列数多一列用于环绕插值
+     */
+    private final double[] gainDb;
+
+    /**
+     * 构造函数（按机型的散射模型采样建表）
+     *
+     * @param type 机型
+     */
+    private RcsTable(SignatureType type) {
+        this.type = type;
+        int columns = AZIMUTH_BINS + 1;
+        double[] linear = new double[(ELEVATION_BINS + 1) * columns];
+        for (int row = 0; row <= ELEVATION_BINS; row++) {
+            double sinElevation = Math.sin(elevationOfPseudoAngle(-1.0 + 2.0 * row / ELEVATION_BINS));
+            for (int column = 0; column < AZIMUTH_BINS; column++) {
+                double azimuth = azimuthOfPseudoAngle(4.0 * column / AZIMUTH_BINS);
+                linear[row * columns + column] = type.relativeRcs(azimuth, sinElevation);
+            }
+            linear[row * columns + AZIMUTH_BINS] = linear[row * columns];
+        }
+
+        // 方位角、仰角正弦均匀采样即球面均匀采样，按平均值归一
+        double sum = 0.0;
+        for (int i = 0; i < NORMALIZATION_SAMPLES; i++) {
+            double sinElevation = -1.0 + (2.0 * i + 1.0) / NORMALIZATION_SAMPLES;
+            for (int k = 0; k < NORMALIZATION_SAMPLES; k++) {
+                double azimuth = -Math.PI + 2.0 * Math.PI * (k + 0.5) / NORMALIZATION_SAMPLES;
+                sum += type.relativeRcs(azimuth, sinElevation);
+            }
+        }
+        this.meanRelativeRcs = sum / ((double) NORMALIZATION_SAMPLES * NORMALIZATION_SAMPLES);
+
+        this.gainDb = new double[linear.length];
+        for (int i = 0; i < linear.length; i++) {
+            gainDb[i] = 10 * Math.log10(linear[i] / meanRelativeRcs);
+        }
+    }
+
+    /**
+     * 获取机型的姿态表
+     *
+     * @param type 机型
+     * @return 共享的姿态表
+     */
+    public static RcsTable of(SignatureType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("机型不能为空");
+        }
+        return TABLES.get(type);
+    }
+
+    /**
+     * 按名义RCS推断机型并获取姿态表
+     *
+     * @param nominalRcs 名义雷达截面积（平方米）
+     * @return 共享的姿态表
+     */
+    public static RcsTable forNominalRcs(double nominalRcs) {
+        return TABLES.get(SignatureType.forNominalRcs(nominalRcs));
+    }
+
+    /**
+     * 查询视线方向上的相对增益
+     *
+     * @param bx 机体系视线单位向量x分量（指向雷达）
+     * @param by 机体系视线单位向量y分量
+     * @param bz 机体系视线单位向量z分量
+     * @return 相对于名义RCS的增益（dB）
+     */
+    public double gainDb(double bx, double by, double bz) {
+        double u = pseudoAngle(bx, by) * (AZIMUTH_BINS / 4.0);
+        int column = Math.min((int) u, AZIMUTH_BINS - 1);
+        double fu = u - column;
+
+        // 机体z轴向下，雷达在上方时仰角为正
+        double v = (pseudoElevation(Math.sqrt(bx * bx + by * by), -bz) + 1.0) * (ELEVATION_BINS / 2.0);
+        int row = Math.min((int) v, ELEVATION_BINS - 1);
+        double fv = v - row;
+
+        int columns = AZIMUTH_BINS + 1;
+        int base = row * columns + column;
+        double lower = gainDb[base] + fu * (gainDb[base + 1] - gainDb[base]);
+        double upper = gainDb[base + columns] + fu * (gainDb[base + columns + 1] - gainDb[base + columns]);
+        return lower + fv * (upper - lower);
+    }
+
+    /**
+     * 按机型散射模型精确计算相对增益（用于校验查表精度）
+     *
+     * @param azimuth 视线方位角（弧度，0为机头方向，右翼方向为正）
+     * @param elevation 视线仰角（弧度，雷达在上方为正）
+     * @return 相对于名义RCS的增益（dB）
+     */
+    public double exactGainDb(double azimuth, double elevation) {
+        return 10 * Math.log10(type.relativeRcs(azimuth, Math.sin(elevation)) / meanRelativeRcs);
+    }
+
+    /**
+     * 方位菱形伪角：把单位圆上的方向映射到[0, 4)，随方位角单调增加，
+     * 0、1、2、3分别对应机头、右翼、机尾、左翼
+     */
+    private static double pseudoAngle(double x, double y) {
+        if (x == 0.0 && y == 0.0) {
+            return 0.0;
+        }
+        if (y >= 0.0) {
+            return x >= 0.0 ? y / (x + y) : 1.0 - x / (y - x);
+        }
+        return x < 0.0 ? 2.0 - y / (-x - y) : 3.0 + x / (x - y);
+    }
+
+    /**
+     * 仰角伪角：把水平分量h、垂直分量v的方向映射到[-1, 1]，随仰角单调增加，±1对应正上/正下方
+     */
+    private static double pseudoElevation(double h, double v) {
+        double sum = h + Math.abs(v);
+        return sum > 0.0 ? v / sum : 0.0;
+    }
+
+    /**
+     * 仰角伪角对应的仰角（弧度）
+     */
+    private static double elevationOfPseudoAngle(double pseudo) {
+        return Math.atan2(pseudo, 1.0 - Math.abs(pseudo));
+    }
+
+    /**
+     * 菱形伪角对应的方位角（弧度）
+     */
+    private static double azimuthOfPseudoAngle(double pseudo) {
+        double x;
+        double y;
+        if (pseudo < 1.0) {
+            x = 1.0 - pseudo;
+            y = pseudo;
+        } else if (pseudo < 2.0) {
+            x = 1.0 - pseudo;
+            y = 2.0 - pseudo;
+        } else if (pseudo < 3.0) {
+            x = pseudo - 3.0;
+            y = 2.0 - pseudo;
+        } else {
+            x = pseudo - 3.0;
+            y = pseudo - 4.0;
+        }
+        return Math.atan2(y, x);
+    }
+
+    // ================ Getters ================
+
+    public SignatureType getType() { return type; }
+
+    /**
+     * 雷达散射机型
+     * 各机型给出随视线方位、仰角变化的相对RCS（线性，未归一化），左右对称
+     */
+    public enum SignatureType {
+        /**
+         * 多旋翼：机身近似各向同性，四个旋翼臂形成方位上的四瓣起伏，俯视/仰视时机身投影面积最大
+         */
+        MULTIROTOR("多旋翼") {
+            @Override
+            double relativeRcs(double azimuth, double sinElevation) {
+                double s2 = sinElevation * sinElevation;
+                return (1.0 + 0.4 * Math.cos(4.0 * azimuth)) * (1.0 - s2) + 3.0 * s2;
+            }
+        },
+
+        /**
+         * 固定翼：迎头最小，正侧方机身镜面反射形成强峰，机尾次之，俯视/仰视时机翼平面反射形成强峰
+         */
+        FIXED_WING("固定翼") {
+            @Override
+            double relativeRcs(double azimuth, double sinElevation) {
+                double s2 = sinElevation * sinElevation;
+                double side = Math.abs(Math.abs(azimuth) - Math.PI / 2);
+                double sin2 = Math.sin(azimuth) * Math.sin(azimuth);
+                double horizontal = 0.3 + 0.3 * (1.0 - Math.cos(azimuth)) / 2.0 + sin2
+                        + 8.0 * lobe(side, 0.12);
+                double planform = 4.0 + 20.0 * lobe(Math.PI / 2 - Math.asin(Math.abs(sinElevation)), 0.15);
+                return horizontal * (1.0 - s2) + planform * s2;
+            }
+        },
+
+        /**
+         * 隐身：迎头扇区极低，能量集中在与机翼前后缘垂直的少数方位尖峰上
+         */
+        STEALTH("隐身") {
+            @Override
+            double relativeRcs(double azimuth, double sinElevation) {
+                double s2 = sinElevation * sinElevation;
+                double a = Math.abs(azimuth);
+                double tail = (1.0 - Math.cos(azimuth)) / 2.0;
+                double horizontal = 0.03 + 0.3 * Math.sin(azimuth) * Math.sin(azimuth) + 0.4 * tail * tail
+                        + 3.0 * (lobe(a - Math.toRadians(55.0), 0.05) + lobe(a - Math.toRadians(125.0), 0.05));
+                return horizontal * (1.0 - s2) + 1.5 * s2;
+            }
+        };
+
+        /**
+         * 机型描述
+         */
+        private final String description;
+
+        /**
+         * 构造函数
+         *
+         * @param description 机型描述
+         */
+        SignatureType(String description) {
+            this.description = description;
+        }
+
+        /**
+         * 相对RCS（线性，未归一化）
+         *
+         * @param azimuth 视线方位角（弧度，0为机头方向）
+         * @param sinElevation 视线仰角的正弦
+         * @return 相对RCS
+         */
+        abstract double relativeRcs(double azimuth, double sinElevation);
+
+        /**
+         * 按名义RCS推断机型：不大于0.002平方米为隐身，不大于0.05平方米为多旋翼，否则为固定翼
+         *
+         * @param nominalRcs 名义雷达截面积（平方米）
+         * @return 机型
+         */
+        public static SignatureType forNominalRcs(double nominalRcs) {
+            if (nominalRcs <= 0.002) {
+                return STEALTH;
+            }
+            return nominalRcs <= 0.05 ? MULTIROTOR : FIXED_WING;
+        }
+
+        /**
+         * 高斯波瓣
+         */
+        private static double lobe(double offset, double width) {
+            double t = offset / width;
+            return Math.exp(-t * t);
+        }
+
+        /**
+         * 获取机型描述
+         *
+         * @return 机型描述
+         */
+        public String getDescription() {
+            return description;
+        }
+    }
+}
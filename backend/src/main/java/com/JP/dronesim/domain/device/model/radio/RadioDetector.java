@@ -1,6 +1,7 @@
 package com.JP.dronesim.domain.device.model.radio;
 
 import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
 import com.JP.dronesim.domain.common.enums.DeviceType;
 import com.JP.dronesim.domain.common.valueobjects.Position;
 import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
@@ -10,7 +11,6 @@ import com.JP.dronesim.domain.uav.model.AirspaceEnvironment;
 import com.JP.dronesim.domain.uav.model.PhysicalSignature;
 import com.JP.dronesim.domain.uav.model.UAV;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -59,16 +59,41 @@ public class RadioDetector extends AbstractProbeDevice {
     }
 
     /**
-     * 执行无线电侦测
+     * 调整监测器参数
      */
     @Override
-    public List<DetectionEvent> performDetection(AirspaceEnvironment airspace, List<UAV> uavs) {
-        List<DetectionEvent> detections = new ArrayList<>();
-
-        if (!getStatus().isActive()) {
-            return detections;
+    public void adjustParameters(SensorParameters newParams) {
+        if (!(newParams instanceof RadioParameters)) {
+            throw new IllegalArgumentException("需要RadioParameters类型参数");
         }
 
+        RadioParameters params = (RadioParameters) newParams;
+        this.frequencyRange[0] = params.getMinFrequency();
+        this.frequencyRange[1] = params.getMaxFrequency();
+        // this.sensitivityThreshold = params.getSensitivity();
+        // this.directionFindingAccuracy = params.getDirectionAccuracy();
+
+        // 更新扫描频率和带宽
+        this.currentScanFrequency = params.getScanFrequency();
+        this.currentScanBandwidth = params.getScanBandwidth();
+    }
+
+    /**
+     * 特有初始化
+     */
+    @Override
+    protected void doSpecificInitialization(DeviceInitParamsDTO params) {
+
+    }
+
+    /**
+     * 特有执行侦测
+     * 只对基类筛出的视场内候选目标判定，步内扫掠穿过视场的目标按穿越点及其时刻判定
+     */
+    @Override
+    protected List<DetectionEvent> doPerformDetection(Airspace airspace, List<UAV> uavs) {
+        List<DetectionEvent> detections = new ArrayList<>();
+
         for (UAV uav : uavs) {
             PhysicalSignature signature = uav.getPhysicalSignature();
 
@@ -84,7 +109,7 @@ public class RadioDetector extends AbstractProbeDevice {
             }
 
             // 3. 计算方位角
-            Position uavPos = signature.getCurrentPosition();
+            Position uavPos = getTargetPosition(uav);
             Position detectorPos = getPosition();
             double azimuth = calculateAzimuth(detectorPos, uavPos);
             double elevation = calculateElevation(detectorPos, uavPos);
@@ -95,7 +120,7 @@ public class RadioDetector extends AbstractProbeDevice {
             // 5. 创建探测事件
             RadioDetectionEvent event = new RadioDetectionEvent(
                     uav.getId(),
-                    LocalDateTime.now(),
+                    getTargetTime(uav),
                     azimuth,
                     elevation,
                     distance,
@@ -110,42 +135,6 @@ public class RadioDetector extends AbstractProbeDevice {
         return detections;
     }
 
-    /**
-     * 调整监测器参数
-     */
-    @Override
-    public void adjustParameters(SensorParameters newParams) {
-        if (!(newParams instanceof RadioParameters)) {
-            throw new IllegalArgumentException("需要RadioParameters类型参数");
-        }
-
-        RadioParameters params = (RadioParameters) newParams;
-        this.frequencyRange[0] = params.getMinFrequency();
-        this.frequencyRange[1] = params.getMaxFrequency();
-        // this.sensitivityThreshold = params.getSensitivity();
-        // this.directionFindingAccuracy = params.getDirectionAccuracy();
-
-        // 更新扫描频率和带宽
-        this.currentScanFrequency = params.getScanFrequency();
-        this.currentScanBandwidth = params.getScanBandwidth();
-    }
-
-    /**
-     * 特有初始化
-     */
-    @Override
-    protected void doSpecificInitialization(DeviceInitParamsDTO params) {
-
-    }
-
-    /**
-     * 特有执行侦测
-     */
-    @Override
-    protected List<DetectionEvent> doPerformDetection(AirspaceEnvironment airspace, List<UAV> uavs) {
-        return null;
-    }
-
     /**
      * 特有参数调整
      */
@@ -224,7 +213,7 @@ public class RadioDetector extends AbstractProbeDevice {
             }
 
             // 4. 计算信号衰减（基于距离和环境因素）
-            Position uavPos = signature.getCurrentPosition();
+            Position uavPos = getTargetPosition(uav);
             Position detectorPos = getPosition();
             double distance = detectorPos.distanceTo(uavPos);
             double attenuation = calculateAttenuation(distance, airspace);
@@ -239,7 +228,7 @@ public class RadioDetector extends AbstractProbeDevice {
             // 7. 创建信号检测结果
             RadioSignalDetection detection = new RadioSignalDetection(
                 uav.getId(),
-                LocalDateTime.now(),
+                getTargetTime(uav),
                 azimuth,
                 elevation,
                 distance,
@@ -318,7 +307,7 @@ public class RadioDetector extends AbstractProbeDevice {
                 elevation,
                 adjustedAccuracy,
                 confidence,
-                LocalDateTime.now()
+                getSimulationTime()
         );
     }
 
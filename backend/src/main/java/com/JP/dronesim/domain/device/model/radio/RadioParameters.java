@@ -6,23 +6,37 @@ import com.JP.dronesim.domain.device.model.common.SensorParameters;
  * 无线电监测器参数
  */
 public class RadioParameters implements SensorParameters {
+    /**
+     * 默认信号积累时间（秒）
+     */
+    public static final double DEFAULT_DWELL_TIME = 0.1;
+
     private double minFrequency; // Hz
     private double maxFrequency; // Hz
     private double sensitivity; // dBm
     private double directionAccuracy; // 度
     private double scanFrequency; // Hz
     private double scanBandwidth; // Hz
+    private double dwellTime; // 秒，每次测向的信号积累时间
 
     // 构造方法和getter/setter
     public RadioParameters(double minFrequency, double maxFrequency,
                            double sensitivity, double directionAccuracy,
                            double scanFrequency, double scanBandwidth) {
+        this(minFrequency, maxFrequency, sensitivity, directionAccuracy, scanFrequency, scanBandwidth,
+             DEFAULT_DWELL_TIME);
+    }
+
+    public RadioParameters(double minFrequency, double maxFrequency,
+                           double sensitivity, double directionAccuracy,
+                           double scanFrequency, double scanBandwidth, double dwellTime) {
         this.minFrequency = minFrequency;
         this.maxFrequency = maxFrequency;
         this.sensitivity = sensitivity;
         this.directionAccuracy = directionAccuracy;
         this.scanFrequency = scanFrequency;
         this.scanBandwidth = scanBandwidth;
+        this.dwellTime = dwellTime;
     }
 
     public double getMinFrequency() {
@@ -70,6 +84,20 @@ public class RadioParameters implements SensorParameters {
         return 0;
     }
 
+    public double getDwellTime() {
+        return dwellTime;
+    }
+
+    /**
+     * 获取数据更新周期，即信号积累时间
+     *
+     * @return 积累时间（秒）
+     */
+    @Override
+    public double getUpdatePeriod() {
+        return Math.max(dwellTime, 0.0);
+    }
+
     // 各属性的getter和setter方法...
 }
 
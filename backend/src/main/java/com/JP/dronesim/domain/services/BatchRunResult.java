@@ -0,0 +1,77 @@
+package com.JP.dronesim.domain.services;
+
+/**
+ * 批量仿真运行结果
+ * 记录完成步数、推进的仿真时长与实际耗时
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class BatchRunResult {
+
+    /**
+     * 完成步数
+     */
+    private final long steps;
+
+    /**
+     * 推进的仿真时长（秒）
+     */
+    private final double simulatedSeconds;
+
+    /**
+     * 实际耗时（纳秒）
+     */
+    private final long wallNanos;
+
+    /**
+     * 是否被监听器提前结束
+     */
+    private final boolean cancelled;
+
+    /**
+     * 构造函数
+     *
+     * @param steps 完成步数
+     * @param simulatedSeconds 推进的仿真时长（秒）
+     * @param wallNanos 实际耗时（纳秒）
+     * @param cancelled 是否被提前结束
+     */
+    public BatchRunResult(long steps, double simulatedSeconds, long wallNanos, boolean cancelled) {
+        this.steps = steps;
+        this.simulatedSeconds = simulatedSeconds;
+        this.wallNanos = wallNanos;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * 获取实际耗时（秒）
+     *
+     * @return 实际耗时
+     */
+    public double getWallSeconds() {
+        return wallNanos / 1e9;
+    }
+
+    /**
+     * 获取加速比（每实际秒推进的仿真秒数）
+     *
+     * @return 加速比，耗时为0时返回0
+     */
+    public double getSimSecondsPerWallSecond() {
+        return wallNanos > 0 ? simulatedSeconds / getWallSeconds() : 0.0;
+    }
+
+    // ================ Getters ================
+
+    public long getSteps() { return steps; }
+    public double getSimulatedSeconds() { return simulatedSeconds; }
+    public long getWallNanos() { return wallNanos; }
+    public boolean isCancelled() { return cancelled; }
+
+    @Override
+    public String toString() {
+        return String.format("BatchRunResult{steps=%d, simulated=%.3fs, wall=%.3fs, speedup=%.1fx, cancelled=%s}",
+                steps, simulatedSeconds, getWallSeconds(), getSimSecondsPerWallSecond(), cancelled);
+    }
+}
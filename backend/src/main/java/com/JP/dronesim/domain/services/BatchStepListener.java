@@ -0,0 +1,23 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+
+/**
+ * 批量仿真步进监听器
+ * 每完成一步后回调，用于写出结果、汇报进度；返回false时批量运行提前结束
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface BatchStepListener {
+
+    /**
+     * 单步完成回调
+     *
+     * @param step 已完成的步数（从1开始）
+     * @param airspace 空域聚合根
+     * @return 是否继续运行
+     */
+    boolean afterStep(long step, Airspace airspace);
+}
@@ -0,0 +1,244 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.events.ConflictEvent;
+import com.JP.dronesim.domain.common.enums.ConflictType;
+import com.JP.dronesim.domain.common.enums.UAVStatus;
+import com.JP.dronesim.domain.uav.model.UAV;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 无人机冲突检测领域服务
+ * 每个时间步找出距离小于最小间隔的无人机对（间隔丧失），
+ * 以及按当前速度外推、在前瞻时间内距离将小于最小间隔的无人机对（预测冲突）。
+ * 粗筛采用X轴排序扫描：每架无人机在前瞻时间内的扫掠包围盒向外扩展半个间隔，
+ * 只有包围盒重叠的配对才计算最近接近点，避免两两比较。
+ * 同一对无人机的冲突持续存在时只在首次出现或由预测升级为间隔丧失时产生事件。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class ConflictDetectionService {
+
+    /**
+     * 默认最小间隔（米）
+     */
+    public static final double DEFAULT_SEPARATION = 50.0;
+
+    /**
+     * 默认前瞻时间（秒）
+     */
+    public static final double DEFAULT_LOOK_AHEAD_TIME = 30.0;
+
+    /**
+     * 最小间隔（米）
+     */
+    private double separation = DEFAULT_SEPARATION;
+
+    /**
+     * 前瞻时间（秒），为0时只检测间隔丧失
+     */
+    private double lookAheadTime = DEFAULT_LOOK_AHEAD_TIME;
+
+    /**
+     * 上一步仍处于冲突中的无人机对（键为按字典序拼接的双方ID）
+     */
+    private Map<String, ConflictType> activeConflicts = new HashMap<>();
+
+    /**
+     * 检测当前时间步的冲突，新产生的冲突事件写入空域冲突日志
+     *
+     * @param airspace 空域
+     * @return 本步新产生的冲突事件
+     */
+    public List<ConflictEvent> detectConflicts(Airspace airspace) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+
+        // 1. 收集空中无人机的位置、速度及前瞻扫掠包围盒
+        int capacity = airspace.getUAVCount();
+        UAV[] members = new UAV[capacity];
+        String[] ids = new String[capacity];
+        double[] coordinates = new double[capacity * 3];
+        double[] velocities = new double[capacity * 3];
+        double[] boxes = new double[capacity * 6];
+        double[] minX = new double[capacity];
+        int[] order = new int[capacity];
+        double margin = separation / 2;
+        int[] filled = new int[1];
+        airspace.forEachUAV((uav, handle) -> {
+            if (uav.getStatus() == UAVStatus.LANDED || uav.getStatus() == UAVStatus.OFFLINE) {
+                return;
+            }
+            int n = filled[0]++;
+            members[n] = uav;
+            ids[n] = uav.getId();
+            coordinates[n * 3] = uav.getX();
+            coordinates[n * 3 + 1] = uav.getY();
+            coordinates[n * 3 + 2] = uav.getZ();
+            velocities[n * 3] = uav.getVx();
+            velocities[n * 3 + 1] = uav.getVy();
+            velocities[n * 3 + 2] = uav.getVz();
+            for (int axis = 0; axis < 3; axis++) {
+                double start = coordinates[n * 3 + axis];
+                double end = start + velocities[n * 3 + axis] * lookAheadTime;
+                boxes[n * 6 + axis] = Math.min(start, end) - margin;
+                boxes[n * 6 + 3 + axis] = Math.max(start, end) + margin;
+            }
+            minX[n] = boxes[n * 6];
+            order[n] = n;
+        });
+        int count = filled[0];
+        DetectionBroadPhase.sortByKey(minX, order, 0, count - 1);
+
+        // 2. 沿X轴扫描包围盒重叠的配对，计算最近接近点
+        LocalDateTime timestamp = airspace.getTimeStep().getCurrentSimulationTime();
+        Map<String, ConflictType> current = new HashMap<>();
+        List<ConflictEvent> events = new ArrayList<>();
+        double separationSquared = separation * separation;
+        for (int a = 0; a < count; a++) {
+            int i = order[a];
+            double maxX = boxes[i * 6 + 3];
+            for (int b = a + 1; b < count && minX[b] <= maxX; b++) {
+                int j = order[b];
+                if (boxes[i * 6 + 1] > boxes[j * 6 + 4] || boxes[j * 6 + 1] > boxes[i * 6 + 4]
+                        || boxes[i * 6 + 2] > boxes[j * 6 + 5] || boxes[j * 6 + 2] > boxes[i * 6 + 5]) {
+                    continue;
+                }
+                double rx = coordinates[j * 3] - coordinates[i * 3];
+                double ry = coordinates[j * 3 + 1] - coordinates[i * 3 + 1];
+                double rz = coordinates[j * 3 + 2] - coordinates[i * 3 + 2];
+                double wx = velocities[j * 3] - velocities[i * 3];
+                double wy = velocities[j * 3 + 1] - velocities[i * 3 + 1];
+                double wz = velocities[j * 3 + 2] - velocities[i * 3 + 2];
+                double currentSquared = rx * rx + ry * ry + rz * rz;
+                double relativeSpeedSquared = wx * wx + wy * wy + wz * wz;
+                double tca = relativeSpeedSquared > 0
+                        ? Math.max(0.0, Math.min(lookAheadTime, -(rx * wx + ry * wy + rz * wz) / relativeSpeedSquared))
+                        : 0.0;
+                double cx = rx + wx * tca, cy = ry + wy * tca, cz = rz + wz * tca;
+                double minimumSquared = cx * cx + cy * cy + cz * cz;
+                if (minimumSquared >= separationSquared) {
+                    continue;
+                }
+
+                ConflictType type = currentSquared < separationSquared
+                        ? ConflictType.LOSS_OF_SEPARATION : ConflictType.PREDICTED;
+                boolean ordered = ids[i].compareTo(ids[j]) <= 0;
+                int first = ordered ? i : j;
+                int second = ordered ? j : i;
+                String key = ids[first] + "|" + ids[second];
+                current.put(key, type);
+                ConflictType previous = activeConflicts.get(key);
+                if (previous == null
+                        || (previous == ConflictType.PREDICTED && type == ConflictType.LOSS_OF_SEPARATION)) {
+                    events.add(ConflictEvent.create(airspace.nextEventId(), timestamp, type, ids[first], ids[second],
+                            members[first].getPosition(), members[second].getPosition(),
+                            Math.sqrt(currentSquared), Math.sqrt(minimumSquared), tca, separation));
+                }
+            }
+        }
+        activeConflicts = current;
+
+        for (ConflictEvent event : events) {
+            airspace.getConflictLog().addEvent(event);
+        }
+        return events;
+    }
+
+    /**
+     * 预测两架匀速直线飞行的无人机冲突状态发生变化的时刻
+     * 相对距离小于最小间隔的时间段为(进入, 离开)，最近接近点位于其中点；
+     * 按{@link #detectConflicts}的判定，预测冲突在进入前一个前瞻时间开始，间隔丧失在进入时开始，两者都在离开时结束
+     *
+     * @param first 无人机
+     * @param second 另一架无人机
+     * @return [预测冲突开始, 间隔丧失开始, 冲突结束]（相对当前，秒），相对距离不会小于最小间隔时返回null
+     */
+    public double[] predictTransitions(UAV first, UAV second) {
+        double rx = second.getX() - first.getX();
+        double ry = second.getY() - first.getY();
+        double rz = second.getZ() - first.getZ();
+        double wx = second.getVx() - first.getVx();
+        double wy = second.getVy() - first.getVy();
+        double wz = second.getVz() - first.getVz();
+        double a = wx * wx + wy * wy + wz * wz;
+        double b = rx * wx + ry * wy + rz * wz;
+        double c = rx * rx + ry * ry + rz * rz - separation * separation;
+        double discriminant = b * b - a * c;
+        if (a == 0 || discriminant <= 0) {
+            return null;
+        }
+        double root = Math.sqrt(discriminant);
+        double leave = (-b + root) / a;
+        if (leave < 0) {
+            return null;
+        }
+        double enter = (-b - root) / a;
+        return new double[] {enter - lookAheadTime, enter, leave};
+    }
+
+    /**
+     * 清除冲突状态（重新开始仿真时调用）
+     */
+    public void reset() {
+        activeConflicts = new HashMap<>();
+    }
+
+    /**
+     * 获取当前处于冲突中的无人机对数量
+     *
+     * @return 冲突对数量
+     */
+    public int getActiveConflictCount() {
+        return activeConflicts.size();
+    }
+
+    /**
+     * 获取最小间隔
+     *
+     * @return 最小间隔（米）
+     */
+    public double getSeparation() {
+        return separation;
+    }
+
+    /**
+     * 设置最小间隔
+     *
+     * @param separation 最小间隔（米）
+     */
+    public void setSeparation(double separation) {
+        if (!(separation > 0)) {
+            throw new IllegalArgumentException("最小间隔必须大于0");
+        }
+        this.separation = separation;
+    }
+
+    /**
+     * 获取前瞻时间
+     *
+     * @return 前瞻时间（秒）
+     */
+    public double getLookAheadTime() {
+        return lookAheadTime;
+    }
+
+    /**
+     * 设置前瞻时间
+     *
+     * @param lookAheadTime 前瞻时间（秒），为0时只检测间隔丧失
+     */
+    public void setLookAheadTime(double lookAheadTime) {
+        if (!(lookAheadTime >= 0)) {
+            throw new IllegalArgumentException("前瞻时间不能为负数");
+        }
+        this.lookAheadTime = lookAheadTime;
+    }
+}
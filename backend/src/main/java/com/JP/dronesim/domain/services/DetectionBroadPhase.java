@@ -0,0 +1,267 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.spatial.ConeShape;
+import com.JP.dronesim.domain.airspace.model.spatial.HandleBuffer;
+import com.JP.dronesim.domain.common.enums.EntityCategory;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.SweptCrossing;
+import com.JP.dronesim.domain.uav.model.UAV;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 探测粗筛领域服务
+ * 一次扫描为全部探测设备计算候选无人机（设备 × 无人机配对），
+ * 采用X轴排序扫描：设备按视场包围盒的X区间排序，无人机按X坐标排序，
+ * 扫描过程中只对X区间重叠的配对做Y/Z区间与视场圆锥判定，
+ * 避免逐设备遍历全部无人机。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class DetectionBroadPhase {
+
+    /**
+     * 为每个设备计算视场内的候选无人机句柄
+     *
+     * @param airspace 空域
+     * @param devices 参与探测的设备
+     * @return 与设备列表一一对应的候选句柄（各自按句柄升序）
+     */
+    public int[][] computeCandidates(Airspace airspace, List<AbstractProbeDevice> devices) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+        int deviceCount = devices.size();
+        int[][] result = new int[deviceCount][];
+
+        // 1. 设备视场及其包围盒，按包围盒最小X排序
+        ConeShape[] cones = new ConeShape[deviceCount];
+        double[][] bounds = new double[deviceCount][];
+        double[] deviceMinX = new double[deviceCount];
+        int[] deviceOrder = new int[deviceCount];
+        for (int i = 0; i < deviceCount; i++) {
+            cones[i] = devices.get(i).getDetectionCone();
+            bounds[i] = cones[i].getBoundingBox();
+            deviceMinX[i] = bounds[i][0];
+            deviceOrder[i] = i;
+        }
+        sortByKey(deviceMinX, deviceOrder, 0, deviceCount - 1);
+
+        // 2. 无人机坐标，按X排序
+        int uavCount = airspace.getUAVCount();
+        double[] uavX = new double[uavCount];
+        int[] uavOrder = new int[uavCount];
+        int[] filled = new int[1];
+        int[] handles = new int[uavCount];
+        double[] ys = new double[uavCount];
+        double[] zs = new double[uavCount];
+        airspace.forEachUAV((uav, handle) -> {
+            int n = filled[0]++;
+            uavX[n] = uav.getX();
+            ys[n] = uav.getY();
+            zs[n] = uav.getZ();
+            handles[n] = handle;
+            uavOrder[n] = n;
+        });
+        sortByKey(uavX, uavOrder, 0, filled[0] - 1);
+
+        // 3. 沿X轴扫描，维护X区间覆盖当前无人机的设备集合
+        HandleBuffer[] buffers = new HandleBuffer[deviceCount];
+        for (int i = 0; i < deviceCount; i++) {
+            buffers[i] = new HandleBuffer();
+        }
+        int[] active = new int[deviceCount];
+        int activeCount = 0;
+        int nextDevice = 0;
+        for (int u = 0; u < filled[0]; u++) {
+            int n = uavOrder[u];
+            double x = uavX[u];
+            while (nextDevice < deviceCount && deviceMinX[nextDevice] <= x) {
+                active[activeCount++] = deviceOrder[nextDevice++];
+            }
+            for (int a = 0; a < activeCount; a++) {
+                int d = active[a];
+                double[] box = bounds[d];
+                if (box[3] < x) {
+                    // X坐标递增，设备此后不会再覆盖任何无人机
+                    active[a--] = active[--activeCount];
+                    continue;
+                }
+                double y = ys[n], z = zs[n];
+                if (y >= box[1] && y <= box[4] && z >= box[2] && z <= box[5]
+                        && cones[d].containsPoint(x, y, z)) {
+                    buffers[d].accept(handles[n]);
+                }
+            }
+        }
+
+        for (int i = 0; i < deviceCount; i++) {
+            result[i] = buffers[i].toSortedArray();
+        }
+        return result;
+    }
+
+    /**
+     * 补充步内扫掠路径穿过视场的候选目标
+     * 以最大探测距离为半径沿每架无人机的移动线段做胶囊查询，
+     * 只在静态层（探测设备）中取出可能看到该线段的设备，再做线段与视场圆锥的精确判定；
+     * 每个移动线段穿过视场的目标都记录穿越点：步末位置在视场内时取步末位置，
+     * 否则取线段在视场内部分的中点。设备按穿越点及到达时刻判定，自身判定区域更窄的设备（如雷达波束）
+     * 可沿整条线段重新求取穿越点
+     *
+     * @param airspace 空域（无人机已移动到步末位置）
+     * @param devices 参与探测的设备
+     * @param candidates 按步末位置计算的候选句柄
+     * @param uavHandles 无人机句柄
+     * @param startPositions 对应的步前位置（每架3个坐标）
+     * @param stepSeconds 本步时长（秒）
+     * @param crossings 输出：与设备列表一一对应的穿越点（各自按句柄升序，没有时为null）
+     * @return 合并后的候选句柄（各自按句柄升序）
+     */
+    public int[][] addSweptCandidates(Airspace airspace, List<AbstractProbeDevice> devices, int[][] candidates,
+                                      int[] uavHandles, double[] startPositions, double stepSeconds,
+                                      SweptCrossing[][] crossings) {
+        int deviceCount = devices.size();
+        ConeShape[] cones = new ConeShape[deviceCount];
+        Map<Integer, Integer> deviceIndexByHandle = new HashMap<>();
+        double maxRange = 0;
+        for (int i = 0; i < deviceCount; i++) {
+            AbstractProbeDevice device = devices.get(i);
+            cones[i] = device.getDetectionCone();
+            deviceIndexByHandle.put(airspace.getEntityHandle(device.getId()), i);
+            maxRange = Math.max(maxRange, device.getDetectionRange());
+        }
+
+        HandleBuffer[] swept = new HandleBuffer[deviceCount];
+        List<List<SweptCrossing>> found = new ArrayList<>(Collections.nCopies(deviceCount, null));
+        for (int u = 0; u < uavHandles.length; u++) {
+            UAV uav = airspace.getUAVByHandle(uavHandles[u]);
+            if (uav == null) {
+                continue;
+            }
+            double sx = startPositions[u * 3], sy = startPositions[u * 3 + 1], sz = startPositions[u * 3 + 2];
+            double ex = uav.getX(), ey = uav.getY(), ez = uav.getZ();
+            if (sx == ex && sy == ey && sz == ez) {
+                continue;
+            }
+            Position start = new Position(sx, sy, sz);
+            Position end = uav.getPosition();
+            int[] nearby = airspace.queryHandlesInCapsule(start, end, maxRange, EntityCategory.PROBE_DEVICE);
+            for (int deviceHandle : nearby) {
+                Integer d = deviceIndexByHandle.get(deviceHandle);
+                if (d == null) {
+                    continue;
+                }
+                double t = cones[d].containsPoint(ex, ey, ez)
+                        ? 1.0 : cones[d].segmentCrossing(sx, sy, sz, ex, ey, ez);
+                if (Double.isNaN(t)) {
+                    continue;
+                }
+                if (swept[d] == null) {
+                    swept[d] = new HandleBuffer();
+                    found.set(d, new ArrayList<>());
+                }
+                swept[d].accept(uavHandles[u]);
+                found.get(d).add(new SweptCrossing(uavHandles[u], start, end, t, stepSeconds));
+            }
+        }
+
+        int[][] merged = new int[deviceCount][];
+        for (int d = 0; d < deviceCount; d++) {
+            if (swept[d] == null) {
+                merged[d] = candidates[d];
+                crossings[d] = null;
+            } else {
+                merged[d] = union(candidates[d], swept[d].toSortedArray());
+                List<SweptCrossing> list = found.get(d);
+                list.sort(Comparator.comparingInt(SweptCrossing::getHandle));
+                crossings[d] = list.toArray(new SweptCrossing[0]);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 合并两个升序句柄数组并去重
+     *
+     * @param a 升序数组
+     * @param b 升序数组
+     * @return 升序并集
+     */
+    private static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            int next = j >= b.length || (i < a.length && a[i] <= b[j]) ? a[i++] : b[j++];
+            if (n == 0 || result[n - 1] != next) {
+                result[n++] = next;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * 按键值升序排序，同步交换值数组
+     *
+     * @param keys 键数组
+     * @param values 值数组
+     * @param lo 起始下标（含）
+     * @param hi 结束下标（含）
+     */
+    static void sortByKey(double[] keys, int[] values, int lo, int hi) {
+        while (lo < hi) {
+            if (hi - lo < 16) {
+                for (int i = lo + 1; i <= hi; i++) {
+                    double key = keys[i];
+                    int value = values[i];
+                    int j = i - 1;
+                    while (j >= lo && keys[j] > key) {
+                        keys[j + 1] = keys[j];
+                        values[j + 1] = values[j];
+                        j--;
+                    }
+                    keys[j + 1] = key;
+                    values[j + 1] = value;
+                }
+                return;
+            }
+            double pivot = keys[(lo + hi) >>> 1];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double key = keys[i];
+                    keys[i] = keys[j];
+                    keys[j] = key;
+                    int value = values[i];
+                    values[i] = values[j];
+                    values[j] = value;
+                    i++;
+                    j--;
+                }
+            }
+            // 先递归较短的一侧，控制栈深度
+            if (j - lo < hi - i) {
+                sortByKey(keys, values, lo, j);
+                lo = i;
+            } else {
+                sortByKey(keys, values, i, hi);
+                hi = j;
+            }
+        }
+    }
+}
@@ -0,0 +1,1134 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.geofence.GeofenceZone;
+import com.JP.dronesim.domain.common.enums.UAVStatus;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.SweptCrossing;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.Waypoint;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 事件驱动仿真内核
+ * 面向少量无人机穿越大空域、长时间无事发生的稀疏场景，以下一事件时间推进代替逐步推进。
+ * 事件落在与定步长引擎相同的步长网格上（以步序号计时），两个事件之间的步直接跳过：
+ * <ul>
+ *   <li>航点到达：按匀速直线轨迹求出首个进入航点1米容差的网格步</li>
+ *   <li>悬停结束：按航点悬停时长（{@link Waypoint#getHoverDuration()}）计算</li>
+ *   <li>设备重访：按设备更新周期，与{@link SensorScheduler}相同的到期规则</li>
+ *   <li>进入/离开探测距离：按轨迹与设备探测球面的交点预测</li>
+ *   <li>越出空域边界：按轨迹预测，到达时与定步长引擎一样抛出异常</li>
+ *   <li>冲突状态变化：按{@link ConflictDetectionService#predictTransitions}求出的间隔窗口，
+ *       在预测冲突开始、间隔丧失开始与冲突结束的步执行冲突检测</li>
+ *   <li>穿越围栏边界：按{@link GeofenceZone#boundaryCrossingTimes}求出每段直线轨迹穿过区域边界的步执行围栏检查</li>
+ * </ul>
+ * 匀速飞行、悬停和静止的无人机只在上述事件处推进；存在加速度的无人机逐步推进。
+ * 有更新周期的设备在探测范围内无目标时暂停重访，目标进入时以空候选补齐跳过的重访，
+ * 保持扫描波位等设备内部状态与逐步运行一致；周期为0的设备只在范围内有目标时逐步探测。
+ * 冲突检测与围栏检查在每个处理的步都执行（状态未变时不产生事件），状态只会在上述事件或轨迹改变处变化。
+ * 连续探测时每个处理的步单独推进最后一步以取得步前位置，探测距离按步内移动线段判定，
+ * 到期设备与定步长引擎一样补充扫掠穿过视场的目标。
+ * 因此探测、冲突与围栏结果与定步长引擎一致（仅有浮点累加误差）。
+ * 运行结束后整次运行作为一条输入记入空域的输入日志，回放时以同一内核重跑相同步数。
+ * 一次运行期间空域内的实体集合视为不变。内核持有单次运行的状态，按批量任务创建，不在线程间共享。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class EventDrivenSimulationEngine {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(EventDrivenSimulationEngine.class);
+
+    /**
+     * 时间比较容差（秒）
+     */
+    private static final double TIME_EPSILON = 1e-9;
+
+    /**
+     * 无人机判定到达航点的距离平方（与UAV的1米容差一致）
+     */
+    private static final double ARRIVAL_RADIUS_SQUARED = 1.0;
+
+    /**
+     * 空候选
+     */
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    /**
+     * 空域专属的仿真引擎（提供冲突检测、围栏监控与连续探测配置及输入日志）
+     */
+    private final SimulationEngineService engine;
+
+    /**
+     * 探测粗筛
+     */
+    private final DetectionBroadPhase broadPhase = new DetectionBroadPhase();
+
+    /**
+     * 事件队列，按步序号、入队顺序排序
+     */
+    private final PriorityQueue<SimEvent> queue = new PriorityQueue<>();
+
+    /**
+     * 事件入队序号
+     */
+    private long sequence;
+
+    /**
+     * 当前步序号（相对本次运行起点）
+     */
+    private long currentStep;
+
+    /**
+     * 本次运行起点的仿真时间（秒）
+     */
+    private double originTime;
+
+    /**
+     * 步长（秒）
+     */
+    private double stepSize;
+
+    /**
+     * 空域边界 [minX, minY, minZ, maxX, maxY, maxZ]
+     */
+    private final double[] bounds = new double[6];
+
+    /**
+     * 参与仿真的无人机
+     */
+    private UAV[] uavs;
+
+    /**
+     * 无人机的轨迹版本，轨迹变化时递增，使旧的运动与距离事件失效
+     */
+    private int[] versions;
+
+    /**
+     * 无人机上次规划时的运动特征，用于发现轨迹变化
+     */
+    private MotionSignature[] signatures;
+
+    /**
+     * 参与仿真的设备，按句柄升序
+     */
+    private DeviceState[] devices;
+
+    /**
+     * 无人机是否在设备探测距离内（[设备][无人机]），连续探测时按步内移动线段判定
+     */
+    private boolean[][] inside;
+
+    /**
+     * 无人机下一次轨迹改变的步，没有时为Long.MAX_VALUE
+     */
+    private long[] horizons;
+
+    /**
+     * 冲突检测服务，本次运行不检测冲突时为null
+     */
+    private ConflictDetectionService conflictDetection;
+
+    /**
+     * 参与检查的围栏区域
+     */
+    private GeofenceZone[] zones;
+
+    /**
+     * 连续探测时无人机的句柄，否则为null
+     */
+    private int[] uavHandles;
+
+    /**
+     * 连续探测时无人机在当前步之前一步的位置（每架3个坐标），否则为null
+     */
+    private double[] sweptStarts;
+
+    /**
+     * 本次运行处理的有效事件数
+     */
+    private long processedEvents;
+
+    /**
+     * 本次运行实际处理的网格步数
+     */
+    private long processedSteps;
+
+    /**
+     * 构造函数
+     *
+     * @param engine 空域专属的仿真引擎
+     */
+    public EventDrivenSimulationEngine(SimulationEngineService engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("仿真引擎不能为空");
+        }
+        this.engine = engine;
+    }
+
+    /**
+     * 批量运行仿真
+     * 参数与{@link SimulationEngineService#runBatch}一致，覆盖相同的步数。
+     * 监听器只在有事件的步回调，回调的步数为已覆盖的网格步数
+     *
+     * @param airspace 空域聚合根（应已处于运行状态）
+     * @param maxSteps 最大步数
+     * @param horizonSeconds 仿真时长上限（秒）
+     * @param listener 步进监听器，可为null
+     * @return 运行结果，步数为覆盖的网格步数
+     */
+    public BatchRunResult runBatch(Airspace airspace, long maxSteps, double horizonSeconds,
+                                   BatchStepListener listener) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+        if (maxSteps <= 0 && horizonSeconds <= 0) {
+            throw new IllegalArgumentException("批量运行必须指定步数或仿真时长");
+        }
+        if (!airspace.isRunning()) {
+            throw new IllegalStateException("仿真未运行，不能批量推进");
+        }
+
+        long wallStart = System.nanoTime();
+        double startElapsed = airspace.getTimeStep().getElapsedTime();
+        initialize(airspace);
+        long endStep = horizonSeconds > 0 ? (long) Math.ceil(horizonSeconds / stepSize - TIME_EPSILON) : Long.MAX_VALUE;
+        if (maxSteps > 0) {
+            endStep = Math.min(endStep, maxSteps);
+        }
+
+        boolean cancelled = false;
+        while (!queue.isEmpty() && queue.peek().step <= endStep) {
+            processStep(airspace, queue.peek().step);
+            if (listener != null && !listener.afterStep(currentStep, airspace)) {
+                cancelled = true;
+                break;
+            }
+        }
+        if (!cancelled && currentStep < endStep) {
+            advanceTo(airspace, endStep);
+        }
+        for (DeviceState state : devices) {
+            replayIdleRevisits(airspace, state, currentStep + 1);
+        }
+        recordRun(airspace, currentStep, startElapsed);
+        return new BatchRunResult(currentStep, currentStep * stepSize, System.nanoTime() - wallStart, cancelled);
+    }
+
+    /**
+     * 获取上一次运行处理的有效事件数
+     *
+     * @return 事件数
+     */
+    public long getProcessedEvents() {
+        return processedEvents;
+    }
+
+    /**
+     * 获取上一次运行实际处理的网格步数（其余步被跳过）
+     *
+     * @return 步数
+     */
+    public long getProcessedSteps() {
+        return processedSteps;
+    }
+
+    /**
+     * 将本次运行作为一条输入记入空域的输入日志，回放时以同一内核重跑覆盖的步数
+     *
+     * @param airspace 空域
+     * @param steps 覆盖的网格步数
+     * @param startElapsed 运行起点的仿真时长（秒）
+     */
+    private void recordRun(Airspace airspace, long steps, double startElapsed) {
+        InputJournal journal = engine.getJournal(airspace.getId());
+        if (journal == null || steps <= 0) {
+            return;
+        }
+        journal.recordInput("EVENT_DRIVEN_RUN", "事件驱动运行: " + steps + "步",
+                (replica, replayEngine) -> new EventDrivenSimulationEngine(replayEngine)
+                        .runBatch(replica, steps, 0.0, null), startElapsed);
+    }
+
+    /**
+     * 建立本次运行的实体快照与初始事件
+     *
+     * @param airspace 空域
+     */
+    private void initialize(Airspace airspace) {
+        queue.clear();
+        sequence = 0;
+        currentStep = 0;
+        processedEvents = 0;
+        processedSteps = 0;
+        originTime = airspace.getTimeStep().getElapsedTime();
+        stepSize = airspace.getTimeStep().getStepSize();
+        bounds[0] = airspace.getMinX();
+        bounds[1] = airspace.getMinY();
+        bounds[2] = airspace.getMinZ();
+        bounds[3] = airspace.getMaxX();
+        bounds[4] = airspace.getMaxY();
+        bounds[5] = airspace.getMaxZ();
+
+        List<UAV> uavList = new ArrayList<>();
+        airspace.forEachUAV((uav, handle) -> uavList.add(uav));
+        uavs = uavList.toArray(new UAV[0]);
+        versions = new int[uavs.length];
+        signatures = new MotionSignature[uavs.length];
+        horizons = new long[uavs.length];
+        Arrays.fill(horizons, Long.MAX_VALUE);
+        conflictDetection = engine.isConflictDetectionEnabled() && uavs.length > 1
+                ? engine.getConflictDetection() : null;
+        zones = uavs.length > 0 ? airspace.getGeofenceRegistry().getZones().toArray(new GeofenceZone[0])
+                : new GeofenceZone[0];
+        uavHandles = null;
+        sweptStarts = null;
+        if (engine.isContinuousDetection()) {
+            // 起点的线段退化为当前位置
+            uavHandles = new int[uavs.length];
+            sweptStarts = new double[uavs.length * 3];
+            for (int u = 0; u < uavs.length; u++) {
+                uavHandles[u] = airspace.getEntityHandle(uavs[u].getId());
+            }
+            recordSweptStarts();
+        }
+
+        List<DeviceState> deviceList = new ArrayList<>();
+        for (AbstractProbeDevice device : airspace.getProbeDevices().values()) {
+            if (device.isActive()) {
+                deviceList.add(new DeviceState(device, airspace.getEntityHandle(device.getId())));
+            }
+        }
+        deviceList.sort(Comparator.comparingInt(state -> state.handle));
+        devices = deviceList.toArray(new DeviceState[0]);
+        inside = new boolean[devices.length][uavs.length];
+
+        // 与定步长调度一致：设备在第一步到期
+        for (int d = 0; d < devices.length; d++) {
+            DeviceState state = devices[d];
+            state.nextDueTime = timeOf(1);
+            if (state.periodic) {
+                scheduleRevisit(d);
+            }
+        }
+        boolean[] due = new boolean[devices.length];
+        for (int u = 0; u < uavs.length; u++) {
+            replan(airspace, u, due);
+        }
+        // 周期为0的设备从第一步起对范围内目标探测
+        for (int d = 0; d < devices.length; d++) {
+            if (!devices[d].periodic && devices[d].insideCount > 0) {
+                scheduleSample(d, 1);
+            }
+        }
+        // 定步长引擎从第一步起检查冲突与围栏，上一次运行留下的状态在这一步对齐
+        if (conflictDetection != null || zones.length > 0) {
+            schedule(EventType.CHECK, 1, -1, -1);
+        }
+    }
+
+    /**
+     * 处理一个网格步上的全部事件
+     *
+     * @param airspace 空域
+     * @param step 步序号
+     */
+    private void processStep(Airspace airspace, long step) {
+        advanceTo(airspace, step);
+        processedSteps++;
+
+        boolean[] due = new boolean[devices.length];
+        boolean[] replanned = new boolean[uavs.length];
+        while (!queue.isEmpty() && queue.peek().step == step) {
+            SimEvent event = queue.poll();
+            switch (event.type) {
+                case MOTION:
+                    if (event.version == versions[event.uav]) {
+                        processedEvents++;
+                        replanned[event.uav] = true;
+                    }
+                    break;
+                case RANGE_ENTRY:
+                case RANGE_EXIT:
+                    if (event.version == versions[event.uav]) {
+                        processedEvents++;
+                        setInside(airspace, event.device, event.uav, event.type == EventType.RANGE_ENTRY, due);
+                    }
+                    break;
+                case REVISIT:
+                    if (devices[event.device].revisitStep == step) {
+                        processedEvents++;
+                        DeviceState state = devices[event.device];
+                        state.revisitStep = -1;
+                        if (state.insideCount > 0) {
+                            due[event.device] = true;
+                        } else {
+                            state.idle = true;
+                        }
+                    }
+                    break;
+                case CHECK:
+                    // 冲突检测与围栏检查在每个处理的步都执行
+                    processedEvents++;
+                    break;
+                case SAMPLE:
+                    if (devices[event.device].sampleStep == step) {
+                        processedEvents++;
+                        devices[event.device].sampleStep = -1;
+                        if (devices[event.device].insideCount > 0) {
+                            due[event.device] = true;
+                        }
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("未知的事件类型: " + event.type);
+            }
+        }
+
+        // 轨迹发生变化（到达航点、悬停开始/结束、任务完成）或有运动事件的无人机重新规划
+        for (int u = 0; u < uavs.length; u++) {
+            if (replanned[u] || !signatures[u].matches(uavs[u])) {
+                replan(airspace, u, due);
+            }
+        }
+
+        detectDue(airspace, due);
+
+        // 与定步长引擎相同的顺序：探测之后检测冲突，再检查围栏
+        if (conflictDetection != null) {
+            conflictDetection.detectConflicts(airspace);
+        }
+        engine.getGeofenceMonitor().checkZones(airspace);
+    }
+
+    /**
+     * 跳跃推进到指定步：推进空域时间、积分全部无人机、同步空间索引。
+     * 连续探测时先跳到前一步并记录步前位置，再单独推进最后一步
+     *
+     * @param airspace 空域
+     * @param step 目标步序号
+     */
+    private void advanceTo(Airspace airspace, long step) {
+        if (step <= currentStep) {
+            return;
+        }
+        if (sweptStarts != null) {
+            jumpTo(airspace, step - 1);
+            recordSweptStarts();
+        }
+        jumpTo(airspace, step);
+    }
+
+    /**
+     * 一次积分跳到指定步
+     *
+     * @param airspace 空域
+     * @param step 目标步序号
+     */
+    private void jumpTo(Airspace airspace, long step) {
+        if (step <= currentStep) {
+            return;
+        }
+        double deltaTime = (step - currentStep) * stepSize;
+        airspace.advanceSimulation(deltaTime);
+        LocalDateTime simulationTime = airspace.getSimulationTime();
+        for (UAV uav : uavs) {
+            uav.updateState(deltaTime, simulationTime);
+        }
+        airspace.syncUAVStates();
+        currentStep = step;
+    }
+
+    /**
+     * 记录无人机的当前位置作为下一步的步前位置
+     */
+    private void recordSweptStarts() {
+        for (int u = 0; u < uavs.length; u++) {
+            sweptStarts[u * 3] = uavs[u].getX();
+            sweptStarts[u * 3 + 1] = uavs[u].getY();
+            sweptStarts[u * 3 + 2] = uavs[u].getZ();
+        }
+    }
+
+    /**
+     * 对本步到期的设备执行探测，并安排下一次重访或采样
+     *
+     * @param airspace 空域
+     * @param due 各设备是否到期
+     */
+    private void detectDue(Airspace airspace, boolean[] due) {
+        List<AbstractProbeDevice> dueDevices = new ArrayList<>();
+        List<Integer> dueIndexes = new ArrayList<>();
+        for (int d = 0; d < devices.length; d++) {
+            if (due[d]) {
+                dueDevices.add(devices[d].device);
+                dueIndexes.add(d);
+            }
+        }
+        if (dueDevices.isEmpty()) {
+            return;
+        }
+
+        int[][] candidates = broadPhase.computeCandidates(airspace, dueDevices);
+        SweptCrossing[][] crossings = null;
+        if (sweptStarts != null) {
+            crossings = new SweptCrossing[dueDevices.size()][];
+            candidates = broadPhase.addSweptCandidates(airspace, dueDevices, candidates, uavHandles, sweptStarts,
+                    stepSize, crossings);
+        }
+        for (int i = 0; i < dueDevices.size(); i++) {
+            int d = dueIndexes.get(i);
+            DeviceState state = devices[d];
+            runDetection(airspace, state, candidates[i], crossings != null ? crossings[i] : null);
+            state.lastRunStep = currentStep;
+            if (state.periodic) {
+                state.nextDueTime = Math.max(state.nextDueTime + state.period, timeOf(currentStep));
+                scheduleRevisit(d);
+            } else if (state.insideCount > 0) {
+                scheduleSample(d, currentStep + 1);
+            }
+        }
+    }
+
+    /**
+     * 执行一次设备探测，异常与定步长引擎一样只记录不中断
+     *
+     * @param airspace 空域
+     * @param state 设备状态
+     * @param candidates 候选无人机句柄
+     * @param crossings 扫掠穿越点，为null时按当前位置判定
+     */
+    private static void runDetection(Airspace airspace, DeviceState state, int[] candidates,
+                                     SweptCrossing[] crossings) {
+        try {
+            state.device.performDetection(airspace, candidates, crossings);
+        } catch (Exception e) {
+            log.warn("设备 {} 探测失败", state.device.getId(), e);
+        }
+    }
+
+    /**
+     * 以空候选补齐空闲期间跳过的重访，保持设备内部扫描状态与逐步运行一致
+     *
+     * @param airspace 空域
+     * @param state 设备状态
+     * @param beforeStep 补齐到该步之前（不包含）
+     */
+    private void replayIdleRevisits(Airspace airspace, DeviceState state, long beforeStep) {
+        if (!state.idle) {
+            return;
+        }
+        long step;
+        while ((step = nextRunStep(state)) < beforeStep) {
+            runDetection(airspace, state, NO_CANDIDATES, null);
+            state.lastRunStep = step;
+            state.nextDueTime = Math.max(state.nextDueTime + state.period, timeOf(step));
+        }
+        state.idle = false;
+    }
+
+    /**
+     * 更新无人机是否在设备探测距离内
+     *
+     * @param airspace 空域
+     * @param d 设备下标
+     * @param u 无人机下标
+     * @param value 是否在范围内
+     * @param due 各设备本步是否到期
+     */
+    private void setInside(Airspace airspace, int d, int u, boolean value, boolean[] due) {
+        if (inside[d][u] == value) {
+            return;
+        }
+        inside[d][u] = value;
+        DeviceState state = devices[d];
+        state.insideCount += value ? 1 : -1;
+        if (!value || state.insideCount != 1) {
+            return;
+        }
+
+        // 范围内从无到有：周期设备补齐跳过的重访后恢复调度，周期为0的设备本步开始逐步探测
+        if (state.periodic) {
+            if (state.idle) {
+                replayIdleRevisits(airspace, state, currentStep);
+                if (nextRunStep(state) <= currentStep) {
+                    due[d] = true;
+                } else {
+                    scheduleRevisit(d);
+                }
+            }
+        } else if (currentStep > 0 && state.sampleStep < 0) {
+            due[d] = true;
+        }
+    }
+
+    /**
+     * 按无人机当前运动状态重新规划其事件
+     *
+     * @param airspace 空域
+     * @param u 无人机下标
+     * @param due 各设备本步是否到期
+     */
+    private void replan(Airspace airspace, int u, boolean[] due) {
+        UAV uav = uavs[u];
+        versions[u]++;
+        signatures[u] = new MotionSignature(uav);
+        double x = uav.getX(), y = uav.getY(), z = uav.getZ();
+        double vx = uav.getVx(), vy = uav.getVy(), vz = uav.getVz();
+
+        horizons[u] = Long.MAX_VALUE;
+
+        // 1. 当前是否在各设备探测距离内（连续探测时按本步移动线段）
+        for (int d = 0; d < devices.length; d++) {
+            DeviceState state = devices[d];
+            boolean within = sweptStarts != null
+                    ? segmentWithinRange(sweptStarts[u * 3], sweptStarts[u * 3 + 1], sweptStarts[u * 3 + 2], x, y, z,
+                            state)
+                    : squaredDistance(x - state.x, y - state.y, z - state.z) <= state.rangeSquared;
+            setInside(airspace, d, u, within, due);
+        }
+
+        // 2. 加速中的无人机逐步推进
+        if (uav.isAccelerating()) {
+            horizons[u] = currentStep + 1;
+            schedule(EventType.MOTION, currentStep + 1, u, -1);
+            return;
+        }
+
+        // 3. 航点悬停：定步长引擎每步扣减剩余时间，在扣减到0的那一步恢复飞行
+        double speedSquared = vx * vx + vy * vy + vz * vz;
+        if (uav.getStatus() == UAVStatus.HOVERING && uav.getHoverRemaining() > 0) {
+            long steps = Math.max(1, (long) Math.ceil((uav.getHoverRemaining() - TIME_EPSILON) / stepSize));
+            // 提前一步唤醒，使恢复飞行的那一步单独推进
+            horizons[u] = currentStep + Math.max(1, steps - 1);
+            schedule(EventType.MOTION, horizons[u], u, -1);
+        }
+        if (speedSquared == 0) {
+            scheduleConflictChecks(u);
+            return;
+        }
+
+        // 4. 轨迹改变的最早时刻：到达航点或越出空域
+        long horizon = Long.MAX_VALUE;
+        Waypoint waypoint = uav.getCurrentWaypoint();
+        if (waypoint != null) {
+            double[] window = sphereWindow(x - waypoint.getPosition().getX(), y - waypoint.getPosition().getY(),
+                    z - waypoint.getPosition().getZ(), vx, vy, vz, ARRIVAL_RADIUS_SQUARED);
+            long arrival = window == null ? -1 : firstStepInside(window[0], window[1], true);
+            if (arrival > 0) {
+                horizon = currentStep + arrival;
+            }
+        }
+        long exit = boundaryExitSteps(x, y, z, vx, vy, vz);
+        if (exit > 0) {
+            horizon = Math.min(horizon, currentStep + exit);
+        }
+        if (horizon != Long.MAX_VALUE) {
+            horizons[u] = Math.min(horizons[u], horizon);
+            schedule(EventType.MOTION, horizon, u, -1);
+        }
+        scheduleConflictChecks(u);
+
+        // 5. 轨迹改变之前进入/离开各设备探测距离的步；连续探测时以步内线段与探测球相交为准
+        for (int d = 0; d < devices.length; d++) {
+            DeviceState state = devices[d];
+            double[] window = sphereWindow(x - state.x, y - state.y, z - state.z, vx, vy, vz, state.rangeSquared);
+            if (window == null) {
+                continue;
+            }
+            if (!inside[d][u]) {
+                long entry = sweptStarts != null
+                        ? Math.max(1, (long) Math.ceil(window[0] / stepSize - TIME_EPSILON))
+                        : firstStepInside(window[0], window[1], false);
+                if (entry <= 0 || currentStep + entry >= horizon) {
+                    continue;
+                }
+                schedule(EventType.RANGE_ENTRY, currentStep + entry, u, d);
+            }
+            long leave = (long) Math.floor(window[1] / stepSize + TIME_EPSILON) + (sweptStarts != null ? 2 : 1);
+            if (leave > 0 && currentStep + leave < horizon) {
+                schedule(EventType.RANGE_EXIT, currentStep + leave, u, d);
+            }
+        }
+
+        // 6. 轨迹改变之前穿过各围栏区域边界的步
+        double limit = horizon == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : (horizon - currentStep) * stepSize;
+        for (GeofenceZone zone : zones) {
+            for (double time : zone.boundaryCrossingTimes(x, y, z, vx, vy, vz, limit)) {
+                scheduleCheck(time, horizon);
+            }
+        }
+    }
+
+    /**
+     * 按无人机与其他各架的间隔窗口安排冲突检测，只安排双方轨迹都不变的时段
+     *
+     * @param u 无人机下标
+     */
+    private void scheduleConflictChecks(int u) {
+        if (conflictDetection == null || !isAirborne(uavs[u])) {
+            return;
+        }
+        for (int other = 0; other < uavs.length; other++) {
+            if (other == u || !isAirborne(uavs[other])) {
+                continue;
+            }
+            double[] transitions = conflictDetection.predictTransitions(uavs[u], uavs[other]);
+            if (transitions == null) {
+                continue;
+            }
+            long horizon = Math.min(horizons[u], horizons[other]);
+            for (double time : transitions) {
+                scheduleCheck(time, horizon);
+            }
+        }
+    }
+
+    /**
+     * 在状态可能变化的时刻两侧的网格步安排检查（边界上的判定方向不同，多出的检查不产生事件）
+     *
+     * @param time 状态变化时刻（相对当前，秒）
+     * @param horizon 轨迹改变的步，该步及之后由重新规划负责
+     */
+    private void scheduleCheck(double time, long horizon) {
+        if (!(time > 0) || Double.isInfinite(time)) {
+            return;
+        }
+        long atOrAfter = Math.max(1, (long) Math.ceil(time / stepSize - TIME_EPSILON));
+        long after = (long) Math.floor(time / stepSize + TIME_EPSILON) + 1;
+        if (currentStep + atOrAfter < horizon) {
+            schedule(EventType.CHECK, currentStep + atOrAfter, -1, -1);
+        }
+        if (after != atOrAfter && currentStep + after < horizon) {
+            schedule(EventType.CHECK, currentStep + after, -1, -1);
+        }
+    }
+
+    /**
+     * 无人机是否参与冲突检测（与冲突检测服务一致，排除已降落和离线的无人机）
+     *
+     * @param uav 无人机
+     * @return 是否参与
+     */
+    private static boolean isAirborne(UAV uav) {
+        return uav.getStatus() != UAVStatus.LANDED && uav.getStatus() != UAVStatus.OFFLINE;
+    }
+
+    /**
+     * 求坐标差的平方和
+     *
+     * @param dx X坐标差
+     * @param dy Y坐标差
+     * @param dz Z坐标差
+     * @return 距离平方
+     */
+    private static double squaredDistance(double dx, double dy, double dz) {
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * 线段是否与设备探测球相交
+     *
+     * @param sx 起点X坐标
+     * @param sy 起点Y坐标
+     * @param sz 起点Z坐标
+     * @param ex 终点X坐标
+     * @param ey 终点Y坐标
+     * @param ez 终点Z坐标
+     * @param state 设备状态
+     * @return 是否相交
+     */
+    private static boolean segmentWithinRange(double sx, double sy, double sz, double ex, double ey, double ez,
+                                              DeviceState state) {
+        double dx = ex - sx, dy = ey - sy, dz = ez - sz;
+        double fx = sx - state.x, fy = sy - state.y, fz = sz - state.z;
+        double lengthSquared = squaredDistance(dx, dy, dz);
+        double t = lengthSquared > 0
+                ? Math.max(0.0, Math.min(1.0, -(fx * dx + fy * dy + fz * dz) / lengthSquared)) : 0.0;
+        return squaredDistance(fx + dx * t, fy + dy * t, fz + dz * t) <= state.rangeSquared;
+    }
+
+    /**
+     * 求匀速轨迹位于球内的时间窗口
+     *
+     * @param rx 相对球心的X坐标
+     * @param ry 相对球心的Y坐标
+     * @param rz 相对球心的Z坐标
+     * @param vx X方向速度
+     * @param vy Y方向速度
+     * @param vz Z方向速度
+     * @param radiusSquared 球半径平方
+     * @return [进入时刻, 离开时刻]（相对当前，秒），永不进入或已离开时返回null
+     */
+    private static double[] sphereWindow(double rx, double ry, double rz, double vx, double vy, double vz,
+                                         double radiusSquared) {
+        double a = vx * vx + vy * vy + vz * vz;
+        double b = rx * vx + ry * vy + rz * vz;
+        double c = rx * rx + ry * ry + rz * rz - radiusSquared;
+        double discriminant = b * b - a * c;
+        if (a == 0 || discriminant < 0) {
+            return null;
+        }
+        double root = Math.sqrt(discriminant);
+        double leave = (-b + root) / a;
+        if (leave < 0) {
+            return null;
+        }
+        return new double[] {(-b - root) / a, leave};
+    }
+
+    /**
+     * 求时间窗口内的第一个网格步
+     *
+     * @param enter 进入时刻（相对当前，秒）
+     * @param leave 离开时刻（相对当前，秒）
+     * @param strict 是否要求严格在窗口内（航点到达判定为严格小于）
+     * @return 相对当前的步数，窗口内没有网格步时返回-1
+     */
+    private long firstStepInside(double enter, double leave, boolean strict) {
+        long steps = Math.max(1, (long) Math.ceil(enter / stepSize - TIME_EPSILON));
+        double time = steps * stepSize;
+        boolean within = strict ? time < leave - TIME_EPSILON : time <= leave + TIME_EPSILON;
+        return within ? steps : -1;
+    }
+
+    /**
+     * 求匀速轨迹首次越出空域边界的网格步
+     *
+     * @param x X坐标
+     * @param y Y坐标
+     * @param z Z坐标
+     * @param vx X方向速度
+     * @param vy Y方向速度
+     * @param vz Z方向速度
+     * @return 相对当前的步数，不会越界时返回-1
+     */
+    private long boundaryExitSteps(double x, double y, double z, double vx, double vy, double vz) {
+        double time = Math.min(axisExitTime(x, vx, bounds[0], bounds[3]),
+                Math.min(axisExitTime(y, vy, bounds[1], bounds[4]), axisExitTime(z, vz, bounds[2], bounds[5])));
+        if (Double.isInfinite(time)) {
+            return -1;
+        }
+        return (long) Math.floor(time / stepSize + TIME_EPSILON) + 1;
+    }
+
+    /**
+     * 求单轴到达边界的时刻
+     *
+     * @param p 坐标
+     * @param v 速度
+     * @param min 下界
+     * @param max 上界
+     * @return 到达边界的时刻（秒），不会到达时为正无穷
+     */
+    private static double axisExitTime(double p, double v, double min, double max) {
+        if (v > 0) {
+            return (max - p) / v;
+        }
+        if (v < 0) {
+            return (min - p) / v;
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * 安排设备的下一次重访
+     *
+     * @param d 设备下标
+     */
+    private void scheduleRevisit(int d) {
+        DeviceState state = devices[d];
+        state.revisitStep = Math.max(currentStep + 1, nextRunStep(state));
+        schedule(EventType.REVISIT, state.revisitStep, -1, d);
+    }
+
+    /**
+     * 安排周期为0的设备的下一次采样
+     *
+     * @param d 设备下标
+     * @param step 步序号
+     */
+    private void scheduleSample(int d, long step) {
+        devices[d].sampleStep = step;
+        schedule(EventType.SAMPLE, step, -1, d);
+    }
+
+    /**
+     * 加入事件
+     *
+     * @param type 事件类型
+     * @param step 步序号
+     * @param u 无人机下标（设备事件为-1）
+     * @param d 设备下标（运动事件为-1）
+     */
+    private void schedule(EventType type, long step, int u, int d) {
+        queue.add(new SimEvent(step, sequence++, type, u, d, u >= 0 ? versions[u] : 0));
+    }
+
+    /**
+     * 设备下一次运行的网格步：到期后的第一步，且同一步内不重复运行（周期小于步长时每步一次）
+     *
+     * @param state 设备状态
+     * @return 步序号
+     */
+    private long nextRunStep(DeviceState state) {
+        return Math.max(state.lastRunStep + 1, stepOf(state.nextDueTime));
+    }
+
+    /**
+     * 仿真时间对应的网格步（向上取整，与定步长引擎在到期后的第一步执行一致）
+     *
+     * @param time 仿真时间（秒）
+     * @return 步序号
+     */
+    private long stepOf(double time) {
+        return (long) Math.ceil((time - originTime) / stepSize - TIME_EPSILON);
+    }
+
+    /**
+     * 网格步对应的仿真时间
+     *
+     * @param step 步序号
+     * @return 仿真时间（秒）
+     */
+    private double timeOf(long step) {
+        return originTime + step * stepSize;
+    }
+
+    /**
+     * 事件类型
+     */
+    private enum EventType {
+        /**
+         * 无人机轨迹改变（到达航点、悬停结束、越界）或加速中的逐步推进
+         */
+        MOTION,
+
+        /**
+         * 无人机进入设备探测距离
+         */
+        RANGE_ENTRY,
+
+        /**
+         * 无人机离开设备探测距离
+         */
+        RANGE_EXIT,
+
+        /**
+         * 周期设备重访
+         */
+        REVISIT,
+
+        /**
+         * 周期为0的设备逐步采样
+         */
+        SAMPLE,
+
+        /**
+         * 冲突或围栏状态可能变化，本步执行检查
+         */
+        CHECK
+    }
+
+    /**
+     * 仿真事件
+     */
+    private static final class SimEvent implements Comparable<SimEvent> {
+
+        /**
+         * 步序号
+         */
+        private final long step;
+
+        /**
+         * 入队序号，同一步内按入队顺序处理
+         */
+        private final long sequence;
+
+        /**
+         * 事件类型
+         */
+        private final EventType type;
+
+        /**
+         * 无人机下标
+         */
+        private final int uav;
+
+        /**
+         * 设备下标
+         */
+        private final int device;
+
+        /**
+         * 入队时无人机的轨迹版本
+         */
+        private final int version;
+
+        /**
+         * 构造函数
+         *
+         * @param step 步序号
+         * @param sequence 入队序号
+         * @param type 事件类型
+         * @param uav 无人机下标
+         * @param device 设备下标
+         * @param version 轨迹版本
+         */
+        private SimEvent(long step, long sequence, EventType type, int uav, int device, int version) {
+            this.step = step;
+            this.sequence = sequence;
+            this.type = type;
+            this.uav = uav;
+            this.device = device;
+            this.version = version;
+        }
+
+        @Override
+        public int compareTo(SimEvent other) {
+            int byStep = Long.compare(step, other.step);
+            return byStep != 0 ? byStep : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * 设备的调度状态
+     */
+    private static final class DeviceState {
+
+        /**
+         * 设备
+         */
+        private final AbstractProbeDevice device;
+
+        /**
+         * 设备句柄
+         */
+        private final int handle;
+
+        /**
+         * 设备位置
+         */
+        private final double x, y, z;
+
+        /**
+         * 探测距离平方
+         */
+        private final double rangeSquared;
+
+        /**
+         * 更新周期（秒）
+         */
+        private final double period;
+
+        /**
+         * 是否按周期重访（周期为0时逐步采样）
+         */
+        private final boolean periodic;
+
+        /**
+         * 下次到期的仿真时间（秒）
+         */
+        private double nextDueTime;
+
+        /**
+         * 上一次运行的步，尚未运行为0
+         */
+        private long lastRunStep;
+
+        /**
+         * 已安排的重访步，未安排为-1
+         */
+        private long revisitStep = -1;
+
+        /**
+         * 已安排的采样步，未安排为-1
+         */
+        private long sampleStep = -1;
+
+        /**
+         * 探测距离内的无人机数
+         */
+        private int insideCount;
+
+        /**
+         * 是否因范围内无目标而暂停重访
+         */
+        private boolean idle;
+
+        /**
+         * 构造函数
+         *
+         * @param device 设备
+         * @param handle 设备句柄
+         */
+        private DeviceState(AbstractProbeDevice device, int handle) {
+            this.device = device;
+            this.handle = handle;
+            this.x = device.getPosition().getX();
+            this.y = device.getPosition().getY();
+            this.z = device.getPosition().getZ();
+            this.rangeSquared = device.getDetectionRange() * device.getDetectionRange();
+            this.period = device.getUpdatePeriod();
+            this.periodic = period > 0;
+        }
+    }
+
+    /**
+     * 无人机的运动特征（状态、速度、当前航点）
+     */
+    private static final class MotionSignature {
+
+        /**
+         * 运行状态
+         */
+        private final UAVStatus status;
+
+        /**
+         * 速度
+         */
+        private final double vx, vy, vz;
+
+        /**
+         * 当前航点
+         */
+        private final Waypoint waypoint;
+
+        /**
+         * 构造函数
+         *
+         * @param uav 无人机
+         */
+        private MotionSignature(UAV uav) {
+            this.status = uav.getStatus();
+            this.vx = uav.getVx();
+            this.vy = uav.getVy();
+            this.vz = uav.getVz();
+            this.waypoint = uav.getCurrentWaypoint();
+        }
+
+        /**
+         * 无人机运动特征是否未变
+         *
+         * @param uav 无人机
+         * @return 是否一致
+         */
+        private boolean matches(UAV uav) {
+            return status == uav.getStatus() && vx == uav.getVx() && vy == uav.getVy() && vz == uav.getVz()
+                    && waypoint == uav.getCurrentWaypoint();
+        }
+    }
+}
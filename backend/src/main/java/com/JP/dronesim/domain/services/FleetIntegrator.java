@@ -0,0 +1,241 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.uav.model.UAV;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 机群运动积分领域服务
+ * 按句柄区间把全部无人机切成固定大小的分块，在ForkJoin线程池上并行推进运动状态。
+ * 每架无人机只在自身的原始运动学字段上原地积分（加速度、限速、航点判定），分块之间无共享写入；
+ * 空间索引不是线程安全的，积分完成后由调用方在仿真线程中批量同步。
+ * 分块任务预先分配并在每步重置复用，机群规模不变时稳态步进不创建新对象。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class FleetIntegrator {
+
+    /**
+     * 默认分块大小（句柄数）
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /**
+     * 线程池
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * 根任务，负责一次性派发全部分块
+     */
+    private final RootTask root = new RootTask();
+
+    /**
+     * 预分配的分块任务，数量等于当前分块数
+     */
+    private ChunkTask[] chunks = new ChunkTask[0];
+
+    /**
+     * 分块大小（句柄数），句柄上界不超过该值时在调用线程顺序积分
+     */
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * 是否启用并行（关闭时在调用线程顺序积分）
+     */
+    private boolean parallel = true;
+
+    /**
+     * 默认构造函数，使用公共ForkJoin线程池
+     */
+    public FleetIntegrator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param pool 线程池
+     */
+    public FleetIntegrator(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("线程池不能为空");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * 推进空域内全部无人机的运动状态
+     * 只更新无人机自身状态，不触及空间索引
+     *
+     * @param airspace 空域
+     * @param deltaTime 时间步长（秒）
+     */
+    public void integrate(Airspace airspace, double deltaTime) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+        if (deltaTime <= 0) {
+            throw new IllegalArgumentException("时间步长必须大于0");
+        }
+
+        int limit = airspace.getHandleLimit();
+        if (!parallel || limit <= chunkSize || pool.getParallelism() <= 1) {
+            integrateRange(airspace, deltaTime, 0, limit);
+            return;
+        }
+
+        int count = (limit + chunkSize - 1) / chunkSize;
+        if (chunks.length != count) {
+            ChunkTask[] resized = new ChunkTask[count];
+            for (int i = 0; i < count; i++) {
+                resized[i] = i < chunks.length ? chunks[i] : new ChunkTask();
+            }
+            chunks = resized;
+        }
+        for (int i = 0; i < count; i++) {
+            chunks[i].prepare(airspace, deltaTime, i * chunkSize, Math.min(limit, (i + 1) * chunkSize));
+        }
+        root.reinitialize();
+        try {
+            pool.invoke(root);
+        } finally {
+            // 不持有空域引用，避免空域移除后仍被线程池任务间接引用
+            for (ChunkTask chunk : chunks) {
+                chunk.airspace = null;
+            }
+        }
+    }
+
+    /**
+     * 获取分块大小
+     *
+     * @return 分块大小（句柄数）
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * 设置分块大小
+     *
+     * @param chunkSize 分块大小（句柄数）
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("分块大小必须大于0");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 是否启用并行
+     *
+     * @return 是否启用
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * 设置是否启用并行
+     *
+     * @param parallel 是否启用
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * 顺序推进一段句柄区间内的无人机
+     *
+     * @param airspace 空域
+     * @param deltaTime 时间步长（秒）
+     * @param from 起始句柄（包含）
+     * @param to 结束句柄（不包含）
+     */
+    private static void integrateRange(Airspace airspace, double deltaTime, int from, int to) {
+        // 空域时间已推进到步末，用作航点到达时间
+        LocalDateTime simulationTime = airspace.getSimulationTime();
+        for (int handle = from; handle < to; handle++) {
+            UAV uav = airspace.getUAVByHandle(handle);
+            if (uav != null) {
+                uav.updateState(deltaTime, simulationTime);
+            }
+        }
+    }
+
+    /**
+     * 根任务，在工作线程中派发全部分块并等待完成
+     */
+    private final class RootTask extends RecursiveAction {
+
+        /**
+         * 序列化版本号
+         */
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            for (ChunkTask chunk : chunks) {
+                chunk.reinitialize();
+            }
+            invokeAll(chunks);
+        }
+    }
+
+    /**
+     * 句柄区间分块任务，每步重置后复用
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        /**
+         * 序列化版本号
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 空域
+         */
+        private Airspace airspace;
+
+        /**
+         * 时间步长（秒）
+         */
+        private double deltaTime;
+
+        /**
+         * 起始句柄（包含）
+         */
+        private int from;
+
+        /**
+         * 结束句柄（不包含）
+         */
+        private int to;
+
+        /**
+         * 设置本步的积分区间
+         *
+         * @param airspace 空域
+         * @param deltaTime 时间步长（秒）
+         * @param from 起始句柄（包含）
+         * @param to 结束句柄（不包含）
+         */
+        private void prepare(Airspace airspace, double deltaTime, int from, int to) {
+            this.airspace = airspace;
+            this.deltaTime = deltaTime;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            integrateRange(airspace, deltaTime, from, to);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.events.GeofenceEvent;
+import com.JP.dronesim.domain.airspace.model.geofence.GeofenceRegistry;
+import com.JP.dronesim.domain.airspace.model.geofence.GeofenceZone;
+import com.JP.dronesim.domain.common.enums.GeofenceEventType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 地理围栏监控领域服务
+ * 每个时间步检查无人机所在的围栏区域，与上一步缓存的区域集合比较，
+ * 产生进入/离开事件。位置与区域集合版本都未变化的无人机直接跳过查询。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class GeofenceMonitorService {
+
+    /**
+     * 各无人机上一次检查时的状态（键为无人机ID）
+     */
+    private final Map<String, ZoneState> states = new HashMap<>();
+
+    /**
+     * 检查全部无人机的围栏状态，新产生的事件写入空域围栏日志
+     *
+     * @param airspace 空域
+     * @return 本步产生的围栏事件
+     */
+    public List<GeofenceEvent> checkZones(Airspace airspace) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+        GeofenceRegistry registry = airspace.getGeofenceRegistry();
+        if (registry.size() == 0 && states.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int version = registry.getVersion();
+        LocalDateTime timestamp = airspace.getTimeStep().getCurrentSimulationTime();
+        List<GeofenceEvent> events = new ArrayList<>();
+        airspace.forEachUAV((uav, handle) -> {
+            double x = uav.getX(), y = uav.getY(), z = uav.getZ();
+            ZoneState state = states.get(uav.getId());
+            if (state != null && state.version == version && state.x == x && state.y == y && state.z == z) {
+                return;
+            }
+
+            List<GeofenceZone> current = registry.findZonesContaining(x, y, z);
+            List<GeofenceZone> previous = state == null ? Collections.emptyList() : state.zones;
+            for (GeofenceZone zone : previous) {
+                if (!current.contains(zone)) {
+                    events.add(GeofenceEvent.create(airspace.nextEventId(), timestamp, GeofenceEventType.EXIT,
+                            uav.getId(), zone.getId(), zone.getName(), zone.getType(), uav.getPosition()));
+                }
+            }
+            for (GeofenceZone zone : current) {
+                if (!previous.contains(zone)) {
+                    events.add(GeofenceEvent.create(airspace.nextEventId(), timestamp, GeofenceEventType.ENTRY,
+                            uav.getId(), zone.getId(), zone.getName(), zone.getType(), uav.getPosition()));
+                }
+            }
+
+            if (state == null) {
+                state = new ZoneState();
+                states.put(uav.getId(), state);
+            }
+            state.x = x;
+            state.y = y;
+            state.z = z;
+            state.version = version;
+            state.zones = current.isEmpty() ? Collections.emptyList() : current;
+        });
+
+        // 清理已移除无人机的缓存
+        if (states.size() > airspace.getUAVCount()) {
+            states.keySet().retainAll(airspace.getUAVs().keySet());
+        }
+
+        for (GeofenceEvent event : events) {
+            airspace.getGeofenceLog().addEvent(event);
+        }
+        return events;
+    }
+
+    /**
+     * 获取无人机当前所在的围栏区域（以最近一次检查为准）
+     *
+     * @param uavId 无人机ID
+     * @return 区域列表
+     */
+    public List<GeofenceZone> getCurrentZones(String uavId) {
+        ZoneState state = states.get(uavId);
+        return state == null ? Collections.emptyList() : Collections.unmodifiableList(state.zones);
+    }
+
+    /**
+     * 清除缓存状态（重新开始仿真时调用）
+     */
+    public void reset() {
+        states.clear();
+    }
+
+    /**
+     * 无人机上一次检查时的位置、区域集合版本与所在区域
+     */
+    private static final class ZoneState {
+
+        /**
+         * 检查时的位置
+         */
+        private double x, y, z;
+
+        /**
+         * 检查时的区域集合版本号
+         */
+        private int version;
+
+        /**
+         * 所在区域
+         */
+        private List<GeofenceZone> zones = Collections.emptyList();
+    }
+}
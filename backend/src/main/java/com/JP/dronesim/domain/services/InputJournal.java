@@ -0,0 +1,320 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.ScenarioTemplate;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 输入日志
+ * 记录一次仿真会话（从启动仿真开始）的起点与其间全部外部输入和时间步进，按发生顺序排列。
+ * 起点包括启动前的空域快照、随机种子与会话序号、引擎配置；连续的等长步进合并为一条记录。
+ * 会话的结果只取决于起点与日志，由{@link SimulationReplayer}逐位复现
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class InputJournal {
+
+    /**
+     * 空域ID
+     */
+    private final String airspaceId;
+
+    /**
+     * 启动前的空域快照
+     */
+    private final ScenarioTemplate base;
+
+    /**
+     * 随机种子
+     */
+    private final long seed;
+
+    /**
+     * 启动前的会话序号
+     */
+    private final long session;
+
+    /**
+     * 是否启用连续探测
+     */
+    private final boolean continuousDetection;
+
+    /**
+     * 是否启用冲突检测
+     */
+    private final boolean conflictDetectionEnabled;
+
+    /**
+     * 冲突检测最小间隔（米）
+     */
+    private final double separation;
+
+    /**
+     * 冲突检测前瞻时间（秒）
+     */
+    private final double lookAheadTime;
+
+    /**
+     * 启动时各设备的累计探测事件数（键为设备ID），会话内的事件从此计起
+     */
+    private final Map<String, Long> baseEventCounts;
+
+    /**
+     * 日志条目
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * 下一条目序号
+     */
+    private long nextSequence;
+
+    /**
+     * 会话是否已结束（停止仿真后不再记录）
+     */
+    private boolean closed;
+
+    /**
+     * 构造函数
+     *
+     * @param airspace 空域（停止状态）
+     * @param engine 仿真引擎
+     */
+    private InputJournal(Airspace airspace, SimulationEngineService engine) {
+        this.airspaceId = airspace.getId();
+        this.base = ScenarioTemplate.capture(airspace);
+        this.seed = airspace.getSeed();
+        this.session = airspace.getSession();
+        this.continuousDetection = engine.isContinuousDetection();
+        this.conflictDetectionEnabled = engine.isConflictDetectionEnabled();
+        this.separation = engine.getConflictDetection().getSeparation();
+        this.lookAheadTime = engine.getConflictDetection().getLookAheadTime();
+        Map<String, Long> counts = new HashMap<>();
+        for (AbstractProbeDevice device : airspace.getProbeDevices().values()) {
+            counts.put(device.getId(), device.getDetectionLog().getTotalEventCount());
+        }
+        this.baseEventCounts = Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * 在启动仿真前开启新会话的输入日志
+     *
+     * @param airspace 空域（不能处于运行状态）
+     * @param engine 仿真引擎
+     * @return 输入日志
+     * @throws IllegalStateException 如果空域正在运行
+     */
+    public static InputJournal open(Airspace airspace, SimulationEngineService engine) {
+        if (airspace == null || engine == null) {
+            throw new IllegalArgumentException("空域与仿真引擎不能为空");
+        }
+        return new InputJournal(airspace, engine);
+    }
+
+    /**
+     * 记录外部输入
+     *
+     * @param type 输入类型
+     * @param description 输入描述
+     * @param input 输入
+     * @param elapsedTime 施加时的仿真时长（秒）
+     */
+    public synchronized void recordInput(String type, String description, SimulationInput input,
+                                         double elapsedTime) {
+        if (closed) {
+            return;
+        }
+        if (input == null) {
+            throw new IllegalArgumentException("输入不能为空");
+        }
+        entries.add(new Entry(nextSequence++, type, description, input, 0.0, 1, elapsedTime));
+    }
+
+    /**
+     * 记录一次时间步进，与上一条等长步进合并
+     *
+     * @param deltaTime 步长（秒）
+     * @param elapsedTime 步进后的仿真时长（秒）
+     */
+    public synchronized void recordStep(double deltaTime, double elapsedTime) {
+        if (closed) {
+            return;
+        }
+        Entry last = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+        if (last != null && last.isStep() && Double.compare(last.deltaTime, deltaTime) == 0) {
+            last.count++;
+            last.elapsedTime = elapsedTime;
+            return;
+        }
+        entries.add(new Entry(nextSequence++, Entry.STEP, null, null, deltaTime, 1, elapsedTime));
+    }
+
+    /**
+     * 结束会话，此后不再记录
+     */
+    public synchronized void close() {
+        this.closed = true;
+    }
+
+    /**
+     * 获取日志条目快照
+     *
+     * @return 条目列表（按发生顺序）
+     */
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * 获取记录的步进总数
+     *
+     * @return 步数
+     */
+    public synchronized long getStepCount() {
+        long steps = 0;
+        for (Entry entry : entries) {
+            if (entry.isStep()) {
+                steps += entry.count;
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * 获取记录的外部输入数
+     *
+     * @return 输入数
+     */
+    public synchronized int getInputCount() {
+        int inputs = 0;
+        for (Entry entry : entries) {
+            if (!entry.isStep()) {
+                inputs++;
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * 会话是否已结束
+     *
+     * @return 是否已结束
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 将起点的引擎配置应用到回放引擎
+     *
+     * @param engine 回放引擎
+     */
+    void applyEngineConfig(SimulationEngineService engine) {
+        engine.setContinuousDetection(continuousDetection);
+        engine.setConflictDetectionEnabled(conflictDetectionEnabled);
+        engine.configureConflictDetection(separation, lookAheadTime);
+    }
+
+    // ================ Getters ================
+
+    public String getAirspaceId() { return airspaceId; }
+    public ScenarioTemplate getBase() { return base; }
+    public long getSeed() { return seed; }
+    public long getSession() { return session; }
+    public Map<String, Long> getBaseEventCounts() { return baseEventCounts; }
+
+    /**
+     * 日志条目
+     * 外部输入或一段等长步进
+     */
+    public static final class Entry {
+
+        /**
+         * 步进条目的类型名
+         */
+        public static final String STEP = "STEP";
+
+        /**
+         * 序号
+         */
+        private final long sequence;
+
+        /**
+         * 类型
+         */
+        private final String type;
+
+        /**
+         * 描述
+         */
+        private final String description;
+
+        /**
+         * 外部输入，步进条目为null
+         */
+        private final SimulationInput input;
+
+        /**
+         * 步长（秒），仅步进条目
+         */
+        private final double deltaTime;
+
+        /**
+         * 连续步数，输入条目为1
+         */
+        private volatile long count;
+
+        /**
+         * 条目结束时的仿真时长（秒）
+         */
+        private volatile double elapsedTime;
+
+        /**
+         * 构造函数
+         *
+         * @param sequence 序号
+         * @param type 类型
+         * @param description 描述
+         * @param input 外部输入
+         * @param deltaTime 步长
+         * @param count 连续步数
+         * @param elapsedTime 仿真时长
+         */
+        private Entry(long sequence, String type, String description, SimulationInput input,
+                      double deltaTime, long count, double elapsedTime) {
+            this.sequence = sequence;
+            this.type = type;
+            this.description = description;
+            this.input = input;
+            this.deltaTime = deltaTime;
+            this.count = count;
+            this.elapsedTime = elapsedTime;
+        }
+
+        /**
+         * 是否为步进条目
+         *
+         * @return 是否为步进
+         */
+        public boolean isStep() {
+            return input == null;
+        }
+
+        // ================ Getters ================
+
+        public long getSequence() { return sequence; }
+        public String getType() { return type; }
+        public String getDescription() { return description; }
+        public SimulationInput getInput() { return input; }
+        public double getDeltaTime() { return deltaTime; }
+        public long getCount() { return count; }
+        public double getElapsedTime() { return elapsedTime; }
+    }
+}
@@ -0,0 +1,470 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.ScenarioPerturbation;
+import com.JP.dronesim.domain.airspace.model.ScenarioTemplate;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.DetectionLog;
+import com.JP.dronesim.domain.device.model.events.DetectionEvent;
+import com.JP.dronesim.domain.uav.model.UAV;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 蒙特卡洛场景运行器
+ * 从同一场景模板派生若干副本，在多个工作线程上并行做批量仿真，把探测结果汇入流式统计。
+ * 每个工作线程持有自己的仿真引擎（探测与运动积分均在本线程顺序执行），
+ * 每次领取一个副本号，实例化独立的空域后从头跑到结束，副本之间没有共享的可变状态。
+ * 副本i的随机数种子只由主种子与i决定，同一副本的扰动与线程数、调度顺序无关。
+ * 副本结束后只提交统计量，空域与探测日志随即丢弃；运行中可随时查询进度与部分结果
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class MonteCarloRunner {
+
+    /**
+     * 默认航迹连续性门限（秒）：相邻两次探测间隔超过该值视为航迹中断
+     */
+    public static final double DEFAULT_CONTINUITY_GAP = 2.0;
+
+    /**
+     * 副本种子的间隔（黄金分割常数），使相邻副本的种子充分分散
+     */
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    /**
+     * 场景模板
+     */
+    private final ScenarioTemplate template;
+
+    /**
+     * 扰动参数
+     */
+    private final ScenarioPerturbation perturbation;
+
+    /**
+     * 副本数
+     */
+    private final int replicas;
+
+    /**
+     * 主种子
+     */
+    private final long seed;
+
+    /**
+     * 每个副本的最大步数（0表示不限）
+     */
+    private final long maxSteps;
+
+    /**
+     * 每个副本的仿真时长（秒，0表示不限）
+     */
+    private final double horizonSeconds;
+
+    /**
+     * 航迹连续性门限（秒）
+     */
+    private final double continuityGap;
+
+    /**
+     * 汇总统计
+     */
+    private final MonteCarloStatistics statistics;
+
+    /**
+     * 下一个待领取的副本号
+     */
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * 已完成副本数
+     */
+    private final AtomicInteger completedReplicas = new AtomicInteger();
+
+    /**
+     * 失败副本数
+     */
+    private final AtomicInteger failedReplicas = new AtomicInteger();
+
+    /**
+     * 是否请求取消
+     */
+    private volatile boolean cancelRequested;
+
+    /**
+     * 最近一次副本失败的原因
+     */
+    private volatile String lastError;
+
+    /**
+     * 构造函数
+     *
+     * @param template 场景模板
+     * @param perturbation 扰动参数
+     * @param replicas 副本数
+     * @param seed 主种子
+     * @param maxSteps 每个副本的最大步数（0表示不限）
+     * @param horizonSeconds 每个副本的仿真时长（秒，0表示不限）
+     * @param continuityGap 航迹连续性门限（秒）
+     */
+    public MonteCarloRunner(ScenarioTemplate template, ScenarioPerturbation perturbation, int replicas, long seed,
+                            long maxSteps, double horizonSeconds, double continuityGap) {
+        if (template == null || perturbation == null) {
+            throw new IllegalArgumentException("场景模板与扰动参数不能为空");
+        }
+        if (replicas <= 0) {
+            throw new IllegalArgumentException("副本数必须大于0");
+        }
+        if (maxSteps <= 0 && horizonSeconds <= 0) {
+            throw new IllegalArgumentException("批量运行必须指定步数或仿真时长");
+        }
+        if (continuityGap <= 0) {
+            throw new IllegalArgumentException("航迹连续性门限必须大于0");
+        }
+        this.template = template;
+        this.perturbation = perturbation;
+        this.replicas = replicas;
+        this.seed = seed;
+        this.maxSteps = maxSteps;
+        this.horizonSeconds = horizonSeconds;
+        this.continuityGap = continuityGap;
+        this.statistics = new MonteCarloStatistics(template.getDevicePrototypes());
+    }
+
+    /**
+     * 在线程池上运行全部副本，阻塞到所有工作线程结束
+     *
+     * @param executor 线程池（至少能同时运行workers个任务）
+     * @param workers 工作线程数
+     */
+    public void run(ExecutorService executor, int workers) {
+        if (executor == null) {
+            throw new IllegalArgumentException("线程池不能为空");
+        }
+        if (workers <= 0) {
+            throw new IllegalArgumentException("工作线程数必须大于0");
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < Math.min(workers, replicas); i++) {
+            futures.add(executor.submit(this::runWorker));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                cancelRequested = true;
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                cancelRequested = true;
+                throw new IllegalStateException("蒙特卡洛工作线程异常: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    /**
+     * 请求取消，运行中的副本在当前步完成后结束且不计入统计
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    /**
+     * 获取当前统计快照（运行中为部分结果）
+     *
+     * @return 各设备统计
+     */
+    public List<MonteCarloStatistics.DeviceStatistics> getStatistics() {
+        return statistics.snapshot();
+    }
+
+    /**
+     * 获取进度
+     *
+     * @return 已结束（完成或失败）的副本占比（0~1）
+     */
+    public double getProgress() {
+        return (double) (completedReplicas.get() + failedReplicas.get()) / replicas;
+    }
+
+    /**
+     * 计算副本的随机数种子
+     *
+     * @param replica 副本号
+     * @return 种子
+     */
+    public long replicaSeed(int replica) {
+        return seed + (replica + 1) * SEED_STRIDE;
+    }
+
+    /**
+     * 工作线程主循环：依次领取副本运行，直到全部领完或被取消
+     */
+    private void runWorker() {
+        ParallelDetectionService detection = new ParallelDetectionService();
+        detection.setParallel(false);
+        FleetIntegrator integrator = new FleetIntegrator();
+        integrator.setParallel(false);
+        SimulationEngineService engine = new SimulationEngineService(detection, integrator);
+        // 副本由模板与副本序号决定，无需输入日志
+        engine.setJournaling(false);
+        DetectionBroadPhase broadPhase = new DetectionBroadPhase();
+
+        int replica;
+        while (!cancelRequested && (replica = nextReplica.getAndIncrement()) < replicas) {
+            try {
+                if (runReplica(engine, broadPhase, replica)) {
+                    completedReplicas.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                failedReplicas.incrementAndGet();
+                lastError = "副本 " + replica + " 失败: " + e.getMessage();
+            }
+        }
+    }
+
+    /**
+     * 运行一个副本并提交统计
+     *
+     * @param engine 本线程的仿真引擎
+     * @param broadPhase 本线程的探测粗筛
+     * @param replica 副本号
+     * @return 是否完整运行（被取消时为false，结果不提交）
+     */
+    private boolean runReplica(SimulationEngineService engine, DetectionBroadPhase broadPhase, int replica) {
+        Airspace airspace = template.instantiate(new Random(replicaSeed(replica)), perturbation);
+        engine.startSimulation(airspace);
+        try {
+            ReplicaObserver observer = new ReplicaObserver(airspace, broadPhase, continuityGap);
+            BatchRunResult result = engine.runBatch(airspace, maxSteps, horizonSeconds, (step, stepped) -> {
+                observer.afterStep(stepped);
+                return !cancelRequested;
+            });
+            if (result.isCancelled()) {
+                return false;
+            }
+            observer.submit(statistics);
+            return true;
+        } finally {
+            engine.stopSimulation(airspace);
+        }
+    }
+
+    // ================ Getters ================
+
+    public int getReplicas() { return replicas; }
+    public long getSeed() { return seed; }
+    public int getCompletedReplicas() { return completedReplicas.get(); }
+    public int getFailedReplicas() { return failedReplicas.get(); }
+    public boolean isCancelRequested() { return cancelRequested; }
+    public String getLastError() { return lastError; }
+
+    /**
+     * 单个副本的探测观测器
+     * 每步记录各设备视场内的目标（探测机会）与新增探测事件，只保留每个目标对的首末时刻与中断时长
+     */
+    private static final class ReplicaObserver {
+
+        /**
+         * 探测粗筛
+         */
+        private final DetectionBroadPhase broadPhase;
+
+        /**
+         * 航迹连续性门限（秒）
+         */
+        private final double continuityGap;
+
+        /**
+         * 设备
+         */
+        private final List<AbstractProbeDevice> devices;
+
+        /**
+         * 无人机序号（键为无人机ID）
+         */
+        private final Map<String, Integer> uavIndexById = new HashMap<>();
+
+        /**
+         * 无人机序号（下标为句柄，-1表示非无人机）
+         */
+        private final int[] uavIndexByHandle;
+
+        /**
+         * 各设备日志的已读取累计计数
+         */
+        private final long[] cursors;
+
+        /**
+         * 首次进入视场时刻（[设备][无人机]，NaN表示未进入）
+         */
+        private final double[][] firstOpportunity;
+
+        /**
+         * 首次探测时刻
+         */
+        private final double[][] firstDetection;
+
+        /**
+         * 最近一次探测时刻
+         */
+        private final double[][] lastDetection;
+
+        /**
+         * 超过门限的探测间隔累计时长
+         */
+        private final double[][] brokenTime;
+
+        /**
+         * 副本起始仿真时间（秒）
+         */
+        private final double startTime;
+
+        /**
+         * 构造函数
+         *
+         * @param airspace 副本空域
+         * @param broadPhase 探测粗筛
+         * @param continuityGap 航迹连续性门限（秒）
+         */
+        private ReplicaObserver(Airspace airspace, DetectionBroadPhase broadPhase, double continuityGap) {
+            this.broadPhase = broadPhase;
+            this.continuityGap = continuityGap;
+            this.devices = new ArrayList<>(airspace.getProbeDevices().values());
+            this.startTime = airspace.getTimeStep().getElapsedTime();
+
+            int limit = airspace.getHandleLimit();
+            this.uavIndexByHandle = new int[limit];
+            Arrays.fill(uavIndexByHandle, -1);
+            for (int handle = 0; handle < limit; handle++) {
+                UAV uav = airspace.getUAVByHandle(handle);
+                if (uav != null) {
+                    uavIndexByHandle[handle] = uavIndexById.size();
+                    uavIndexById.put(uav.getId(), uavIndexById.size());
+                }
+            }
+
+            int deviceCount = devices.size();
+            int uavCount = uavIndexById.size();
+            this.cursors = new long[deviceCount];
+            this.firstOpportunity = filled(deviceCount, uavCount);
+            this.firstDetection = filled(deviceCount, uavCount);
+            this.lastDetection = filled(deviceCount, uavCount);
+            this.brokenTime = new double[deviceCount][uavCount];
+            for (int d = 0; d < deviceCount; d++) {
+                cursors[d] = devices.get(d).getDetectionLog().getTotalEventCount();
+            }
+        }
+
+        /**
+         * 每步结束后记录探测机会与新增探测
+         *
+         * @param airspace 副本空域
+         */
+        private void afterStep(Airspace airspace) {
+            double time = airspace.getTimeStep().getElapsedTime() - startTime;
+
+            // 1. 视场内的目标记为探测机会
+            int[][] candidates = broadPhase.computeCandidates(airspace, devices);
+            for (int d = 0; d < candidates.length; d++) {
+                for (int handle : candidates[d]) {
+                    int u = handle < uavIndexByHandle.length ? uavIndexByHandle[handle] : -1;
+                    if (u >= 0 && Double.isNaN(firstOpportunity[d][u])) {
+                        firstOpportunity[d][u] = time;
+                    }
+                }
+            }
+
+            // 2. 新增探测事件
+            for (int d = 0; d < devices.size(); d++) {
+                DetectionLog log = devices.get(d).getDetectionLog();
+                long total = log.getTotalEventCount();
+                if (total == cursors[d]) {
+                    continue;
+                }
+                int count = (int) Math.min(Integer.MAX_VALUE, total - cursors[d]);
+                cursors[d] = total;
+                for (DetectionEvent event : log.getLatestEvents(count)) {
+                    Integer u = uavIndexById.get(event.getDetectedUavId());
+                    if (u != null) {
+                        recordDetection(d, u, time);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 记录一次探测
+         *
+         * @param d 设备序号
+         * @param u 无人机序号
+         * @param time 副本内仿真时间（秒）
+         */
+        private void recordDetection(int d, int u, double time) {
+            if (Double.isNaN(firstDetection[d][u])) {
+                firstDetection[d][u] = time;
+                // 扫掠补充的候选可能在步末已离开视场，以首次探测时刻作为机会时刻
+                if (Double.isNaN(firstOpportunity[d][u])) {
+                    firstOpportunity[d][u] = time;
+                }
+            } else {
+                double gap = time - lastDetection[d][u];
+                if (gap > continuityGap) {
+                    brokenTime[d][u] += gap;
+                }
+            }
+            lastDetection[d][u] = time;
+        }
+
+        /**
+         * 把本副本的目标对结果提交到汇总统计
+         *
+         * @param statistics 汇总统计
+         */
+        private void submit(MonteCarloStatistics statistics) {
+            for (int d = 0; d < devices.size(); d++) {
+                AbstractProbeDevice device = devices.get(d);
+                MonteCarloStatistics.DeviceStatistics result = new MonteCarloStatistics.DeviceStatistics(
+                        device.getId(), device.getName(), device.getType());
+                for (int u = 0; u < firstOpportunity[d].length; u++) {
+                    if (Double.isNaN(firstOpportunity[d][u])) {
+                        continue;
+                    }
+                    boolean detected = !Double.isNaN(firstDetection[d][u]);
+                    double span = lastDetection[d][u] - firstDetection[d][u];
+                    result.recordTarget(detected,
+                            detected ? firstDetection[d][u] - firstOpportunity[d][u] : Double.NaN,
+                            detected && span > 0 ? 1.0 - brokenTime[d][u] / span : Double.NaN);
+                }
+                statistics.merge(device.getId(), result);
+            }
+        }
+
+        /**
+         * 创建填充NaN的二维数组
+         *
+         * @param rows 行数
+         * @param columns 列数
+         * @return 数组
+         */
+        private static double[][] filled(int rows, int columns) {
+            double[][] array = new double[rows][columns];
+            for (double[] row : array) {
+                Arrays.fill(row, Double.NaN);
+            }
+            return array;
+        }
+    }
+}
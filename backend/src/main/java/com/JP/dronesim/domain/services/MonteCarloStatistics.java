@@ -0,0 +1,201 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 蒙特卡洛探测统计
+ * 按设备汇总各副本的探测结果，只保存流式统计量，不保留任何副本的原始日志。
+ * 统计单位是（设备, 无人机）目标对：目标进入设备视场即为一次探测机会，
+ * 在该副本内至少被探测一次即为发现。每个目标对贡献：
+ * <ul>
+ *   <li>发现概率Pd：发现记1，未发现记0</li>
+ *   <li>首次发现时间：首次被探测时刻 - 首次进入视场时刻（秒），仅发现的目标对</li>
+ *   <li>航迹连续性：首末两次探测之间，相邻探测间隔不超过连续性门限的时间占比，仅探测两次以上的目标对</li>
+ * </ul>
+ * 各工作线程在副本结束后一次性提交结果，提交与读取均同步，运行中可随时读取快照
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class MonteCarloStatistics {
+
+    /**
+     * 各设备统计（键为设备ID，按模板中的设备顺序）
+     */
+    private final Map<String, DeviceStatistics> devices = new LinkedHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param prototypes 设备原型
+     */
+    public MonteCarloStatistics(List<AbstractProbeDevice> prototypes) {
+        for (AbstractProbeDevice device : prototypes) {
+            devices.put(device.getId(), new DeviceStatistics(device.getId(), device.getName(), device.getType()));
+        }
+    }
+
+    /**
+     * 合并一个副本的设备结果
+     *
+     * @param deviceId 设备ID
+     * @param replicaResult 副本内该设备的统计
+     */
+    public synchronized void merge(String deviceId, DeviceStatistics replicaResult) {
+        DeviceStatistics target = devices.get(deviceId);
+        if (target == null) {
+            throw new IllegalArgumentException("设备不在场景模板中: " + deviceId);
+        }
+        target.replicas++;
+        target.detectedReplicas += replicaResult.detectedReplicas;
+        target.detection.merge(replicaResult.detection);
+        target.timeToFirstDetection.merge(replicaResult.timeToFirstDetection);
+        target.trackContinuity.merge(replicaResult.trackContinuity);
+    }
+
+    /**
+     * 获取当前统计快照
+     *
+     * @return 各设备统计的副本
+     */
+    public synchronized List<DeviceStatistics> snapshot() {
+        List<DeviceStatistics> result = new ArrayList<>(devices.size());
+        for (DeviceStatistics statistics : devices.values()) {
+            result.add(statistics.copy());
+        }
+        return result;
+    }
+
+    /**
+     * 单个设备的探测统计
+     */
+    public static final class DeviceStatistics {
+
+        /**
+         * 设备ID
+         */
+        private final String deviceId;
+
+        /**
+         * 设备名称
+         */
+        private final String deviceName;
+
+        /**
+         * 设备类型
+         */
+        private final DeviceType deviceType;
+
+        /**
+         * 已汇总的副本数
+         */
+        private long replicas;
+
+        /**
+         * 至少发现一个目标的副本数
+         */
+        private long detectedReplicas;
+
+        /**
+         * 目标对发现样本（0/1），均值即Pd
+         */
+        private final RunningStatistics detection = new RunningStatistics();
+
+        /**
+         * 首次发现时间样本（秒）
+         */
+        private final RunningStatistics timeToFirstDetection = new RunningStatistics();
+
+        /**
+         * 航迹连续性样本（0~1）
+         */
+        private final RunningStatistics trackContinuity = new RunningStatistics();
+
+        /**
+         * 构造函数
+         *
+         * @param deviceId 设备ID
+         * @param deviceName 设备名称
+         * @param deviceType 设备类型
+         */
+        public DeviceStatistics(String deviceId, String deviceName, DeviceType deviceType) {
+            this.deviceId = deviceId;
+            this.deviceName = deviceName;
+            this.deviceType = deviceType;
+        }
+
+        /**
+         * 记录一个目标对的结果
+         *
+         * @param detected 是否发现
+         * @param timeToFirstDetection 首次发现时间（秒），未发现为NaN
+         * @param continuity 航迹连续性，不足两次探测为NaN
+         */
+        public void recordTarget(boolean detected, double timeToFirstDetection, double continuity) {
+            detection.add(detected ? 1.0 : 0.0);
+            if (detected) {
+                detectedReplicas = 1;
+                this.timeToFirstDetection.add(timeToFirstDetection);
+                trackContinuity.add(continuity);
+            }
+        }
+
+        /**
+         * 获取发现概率估计
+         *
+         * @return Pd，无探测机会时为NaN
+         */
+        public double getDetectionProbability() {
+            return detection.getMean();
+        }
+
+        /**
+         * 获取发现概率估计的标准误差
+         *
+         * @return 标准误差
+         */
+        public double getDetectionProbabilityStandardError() {
+            return detection.getStandardError();
+        }
+
+        /**
+         * 获取探测机会数（进入视场的目标对数）
+         *
+         * @return 机会数
+         */
+        public long getOpportunities() {
+            return detection.getCount();
+        }
+
+        /**
+         * 复制统计
+         *
+         * @return 副本
+         */
+        private DeviceStatistics copy() {
+            DeviceStatistics copy = new DeviceStatistics(deviceId, deviceName, deviceType);
+            copy.replicas = replicas;
+            copy.detectedReplicas = detectedReplicas;
+            copy.detection.merge(detection);
+            copy.timeToFirstDetection.merge(timeToFirstDetection);
+            copy.trackContinuity.merge(trackContinuity);
+            return copy;
+        }
+
+        // ================ Getters ================
+
+        public String getDeviceId() { return deviceId; }
+        public String getDeviceName() { return deviceName; }
+        public DeviceType getDeviceType() { return deviceType; }
+        public long getReplicas() { return replicas; }
+        public long getDetectedReplicas() { return detectedReplicas; }
+        public RunningStatistics getTimeToFirstDetection() { return timeToFirstDetection; }
+        public RunningStatistics getTrackContinuity() { return trackContinuity; }
+    }
+}
@@ -0,0 +1,403 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.SweptCrossing;
+import com.JP.dronesim.domain.device.model.events.DetectionEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 并行探测领域服务
+ * 在ForkJoin工作窃取线程池上并行执行各设备的探测判定。
+ * 探测阶段内空域与无人机状态只读，每个设备只写自身状态与DetectionLog，设备之间无共享写入。
+ * 任务按代价切分：设备代价 = 固定开销 + 候选数 × 该设备类型的单目标耗时，
+ * 单目标耗时按实测值滑动平均校准，使光电、雷达等代价差异很大的设备也能均衡分配。
+ * 结果按设备在输入列表中的位置汇总，输出顺序与线程数无关。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class ParallelDetectionService {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(ParallelDetectionService.class);
+
+    /**
+     * 单个设备的固定开销（纳秒），用于候选为空的设备
+     */
+    private static final double DEVICE_OVERHEAD_NANOS = 2_000;
+
+    /**
+     * 每个工作线程平均分得的任务数，留出工作窃取的余量
+     */
+    private static final int TASKS_PER_WORKER = 4;
+
+    /**
+     * 单目标耗时滑动平均的权重
+     */
+    private static final double COST_SMOOTHING = 0.2;
+
+    /**
+     * 线程池
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * 各设备类型的单目标耗时估计（纳秒）
+     */
+    private final Map<DeviceType, Double> nanosPerTarget = new EnumMap<>(DeviceType.class);
+
+    /**
+     * 是否启用并行（关闭时全部设备在调用线程顺序执行）
+     */
+    private boolean parallel = true;
+
+    /**
+     * 估计代价低于该值（纳秒）时直接在调用线程顺序执行
+     */
+    private double sequentialThresholdNanos = 200_000;
+
+    /**
+     * 默认构造函数，使用公共ForkJoin线程池
+     */
+    public ParallelDetectionService() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param pool 线程池
+     */
+    public ParallelDetectionService(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("线程池不能为空");
+        }
+        this.pool = pool;
+        // 初始估计：光电需逐目标做成像与识别，远高于雷达的距离/信噪比计算
+        nanosPerTarget.put(DeviceType.RADAR, 1_000.0);
+        nanosPerTarget.put(DeviceType.OPTICAL_CAMERA, 8_000.0);
+        nanosPerTarget.put(DeviceType.RADIO_DETECTOR, 2_000.0);
+        nanosPerTarget.put(DeviceType.GPS_JAMMER, 500.0);
+    }
+
+    /**
+     * 对全部设备执行探测
+     *
+     * @param airspace 空域（探测期间只读）
+     * @param devices 参与探测的设备
+     * @param candidates 与设备列表一一对应的候选无人机句柄
+     * @return 按设备顺序、设备内按事件产生顺序排列的探测事件
+     */
+    public List<DetectionEvent> detect(Airspace airspace, List<AbstractProbeDevice> devices, int[][] candidates) {
+        return detect(airspace, devices, candidates, null);
+    }
+
+    /**
+     * 对全部设备执行探测，步内扫掠穿过视场的目标按穿越点判定
+     *
+     * @param airspace 空域（探测期间只读）
+     * @param devices 参与探测的设备
+     * @param candidates 与设备列表一一对应的候选无人机句柄
+     * @param crossings 与设备列表一一对应的扫掠穿越点，为null时全部按当前位置判定
+     * @return 按设备顺序、设备内按事件产生顺序排列的探测事件
+     */
+    public List<DetectionEvent> detect(Airspace airspace, List<AbstractProbeDevice> devices, int[][] candidates,
+                                       SweptCrossing[][] crossings) {
+        int count = devices.size();
+        if (candidates.length != count || (crossings != null && crossings.length != count)) {
+            throw new IllegalArgumentException("候选列表与设备数量不一致");
+        }
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+
+        // 估计代价并计算前缀和，用于按代价二分切分
+        double[] prefixCost = new double[count + 1];
+        for (int i = 0; i < count; i++) {
+            prefixCost[i + 1] = prefixCost[i] + estimateCost(devices.get(i), candidates[i].length);
+        }
+
+        List<List<DetectionEvent>> results = new ArrayList<>(Collections.nCopies(count, null));
+        long[] durations = new long[count];
+        double totalCost = prefixCost[count];
+        int workers = pool.getParallelism();
+        if (!parallel || count == 1 || workers <= 1 || totalCost < sequentialThresholdNanos) {
+            runRange(airspace, devices, candidates, crossings, 0, count, results, durations);
+        } else {
+            double leafCost = Math.max(totalCost / (workers * TASKS_PER_WORKER), DEVICE_OVERHEAD_NANOS);
+            pool.invoke(new DetectionTask(airspace, devices, candidates, crossings, prefixCost, leafCost,
+                    0, count, results, durations));
+        }
+
+        calibrate(devices, candidates, durations);
+
+        List<DetectionEvent> events = new ArrayList<>();
+        for (List<DetectionEvent> deviceEvents : results) {
+            if (deviceEvents != null) {
+                events.addAll(deviceEvents);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * 获取线程池并行度
+     *
+     * @return 并行度
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * 是否启用并行
+     *
+     * @return 是否启用
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * 设置是否启用并行
+     *
+     * @param parallel 是否启用
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * 获取设备类型的单目标耗时估计
+     *
+     * @param type 设备类型
+     * @return 单目标耗时（纳秒）
+     */
+    public double getNanosPerTarget(DeviceType type) {
+        return nanosPerTarget.getOrDefault(type, DEVICE_OVERHEAD_NANOS);
+    }
+
+    /**
+     * 获取顺序执行阈值
+     *
+     * @return 阈值（纳秒）
+     */
+    public double getSequentialThresholdNanos() {
+        return sequentialThresholdNanos;
+    }
+
+    /**
+     * 设置顺序执行阈值
+     *
+     * @param sequentialThresholdNanos 阈值（纳秒），估计代价低于该值时不并行
+     */
+    public void setSequentialThresholdNanos(double sequentialThresholdNanos) {
+        if (sequentialThresholdNanos < 0) {
+            throw new IllegalArgumentException("顺序执行阈值不能为负数");
+        }
+        this.sequentialThresholdNanos = sequentialThresholdNanos;
+    }
+
+    /**
+     * 估计设备的探测代价
+     *
+     * @param device 设备
+     * @param candidateCount 候选数
+     * @return 估计耗时（纳秒）
+     */
+    private double estimateCost(AbstractProbeDevice device, int candidateCount) {
+        return DEVICE_OVERHEAD_NANOS + candidateCount * getNanosPerTarget(device.getType());
+    }
+
+    /**
+     * 用本轮实测耗时校准各设备类型的单目标耗时（在调用线程中顺序执行）
+     *
+     * @param devices 设备
+     * @param candidates 候选句柄
+     * @param durations 各设备实测耗时（纳秒）
+     */
+    private void calibrate(List<AbstractProbeDevice> devices, int[][] candidates, long[] durations) {
+        Map<DeviceType, double[]> totals = new EnumMap<>(DeviceType.class);
+        for (int i = 0; i < durations.length; i++) {
+            DeviceType type = devices.get(i).getType();
+            if (candidates[i].length == 0 || type == null) {
+                continue;
+            }
+            double[] total = totals.computeIfAbsent(type, key -> new double[2]);
+            total[0] += Math.max(0, durations[i] - DEVICE_OVERHEAD_NANOS);
+            total[1] += candidates[i].length;
+        }
+        for (Map.Entry<DeviceType, double[]> entry : totals.entrySet()) {
+            double measured = entry.getValue()[0] / entry.getValue()[1];
+            double previous = getNanosPerTarget(entry.getKey());
+            nanosPerTarget.put(entry.getKey(), previous + COST_SMOOTHING * (measured - previous));
+        }
+    }
+
+    /**
+     * 顺序执行一段设备的探测，结果写入各设备自己的槽位
+     *
+     * @param airspace 空域
+     * @param devices 设备
+     * @param candidates 候选句柄
+     * @param crossings 扫掠穿越点，可为null
+     * @param from 起始下标（包含）
+     * @param to 结束下标（不包含）
+     * @param results 结果槽位
+     * @param durations 耗时槽位
+     */
+    private static void runRange(Airspace airspace, List<AbstractProbeDevice> devices, int[][] candidates,
+                                 SweptCrossing[][] crossings, int from, int to,
+                                 List<List<DetectionEvent>> results, long[] durations) {
+        for (int i = from; i < to; i++) {
+            AbstractProbeDevice device = devices.get(i);
+            long start = System.nanoTime();
+            try {
+                // 探测事件已经在设备内部添加到日志，无需重复添加
+                results.set(i, device.performDetection(airspace, candidates[i],
+                        crossings != null ? crossings[i] : null));
+            } catch (Exception e) {
+                // 记录探测错误，但不中断仿真
+                log.warn("设备 {} 探测失败", device.getId(), e);
+            }
+            durations[i] = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * 按代价二分的探测任务
+     */
+    private static final class DetectionTask extends RecursiveAction {
+
+        /**
+         * 序列化版本号
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 空域
+         */
+        private final Airspace airspace;
+
+        /**
+         * 设备
+         */
+        private final List<AbstractProbeDevice> devices;
+
+        /**
+         * 候选句柄
+         */
+        private final int[][] candidates;
+
+        /**
+         * 扫掠穿越点，可为null
+         */
+        private final SweptCrossing[][] crossings;
+
+        /**
+         * 代价前缀和
+         */
+        private final double[] prefixCost;
+
+        /**
+         * 叶子任务的目标代价
+         */
+        private final double leafCost;
+
+        /**
+         * 起始下标（包含）
+         */
+        private final int from;
+
+        /**
+         * 结束下标（不包含）
+         */
+        private final int to;
+
+        /**
+         * 结果槽位
+         */
+        private final List<List<DetectionEvent>> results;
+
+        /**
+         * 耗时槽位
+         */
+        private final long[] durations;
+
+        /**
+         * 构造函数
+         *
+         * @param airspace 空域
+         * @param devices 设备
+         * @param candidates 候选句柄
+         * @param crossings 扫掠穿越点，可为null
+         * @param prefixCost 代价前缀和
+         * @param leafCost 叶子任务的目标代价
+         * @param from 起始下标（包含）
+         * @param to 结束下标（不包含）
+         * @param results 结果槽位
+         * @param durations 耗时槽位
+         */
+        private DetectionTask(Airspace airspace, List<AbstractProbeDevice> devices, int[][] candidates,
+                              SweptCrossing[][] crossings, double[] prefixCost, double leafCost, int from, int to,
+                              List<List<DetectionEvent>> results, long[] durations) {
+            this.airspace = airspace;
+            this.devices = devices;
+            this.candidates = candidates;
+            this.crossings = crossings;
+            this.prefixCost = prefixCost;
+            this.leafCost = leafCost;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.durations = durations;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1 || prefixCost[to] - prefixCost[from] <= leafCost) {
+                runRange(airspace, devices, candidates, crossings, from, to, results, durations);
+                return;
+            }
+            int mid = splitPoint();
+            invokeAll(new DetectionTask(airspace, devices, candidates, crossings, prefixCost, leafCost, from, mid,
+                            results, durations),
+                    new DetectionTask(airspace, devices, candidates, crossings, prefixCost, leafCost, mid, to,
+                            results, durations));
+        }
+
+        /**
+         * 找到使两侧代价最接近的切分点
+         *
+         * @return 切分下标，保证两侧均非空
+         */
+        private int splitPoint() {
+            double half = (prefixCost[from] + prefixCost[to]) / 2;
+            int lo = from + 1;
+            int hi = to - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (prefixCost[mid] < half) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
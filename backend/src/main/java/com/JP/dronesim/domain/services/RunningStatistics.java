@@ -0,0 +1,131 @@
+package com.JP.dronesim.domain.services;
+
+/**
+ * 流式统计量
+ * 用Welford算法在线累计样本数、均值、方差与极值，不保留样本本身，
+ * 两个统计量可以合并（Chan并行合并公式）。非线程安全，由持有者同步
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class RunningStatistics {
+
+    /**
+     * 样本数
+     */
+    private long count;
+
+    /**
+     * 均值
+     */
+    private double mean;
+
+    /**
+     * 与均值之差的平方和
+     */
+    private double sumSquaredDeviations;
+
+    /**
+     * 最小值
+     */
+    private double min = Double.NaN;
+
+    /**
+     * 最大值
+     */
+    private double max = Double.NaN;
+
+    /**
+     * 加入一个样本，NaN样本被忽略
+     *
+     * @param value 样本值
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        sumSquaredDeviations += delta * (value - mean);
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+    }
+
+    /**
+     * 合并另一个统计量
+     *
+     * @param other 另一个统计量
+     */
+    public void merge(RunningStatistics other) {
+        if (other == null || other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            sumSquaredDeviations = other.sumSquaredDeviations;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        sumSquaredDeviations += other.sumSquaredDeviations + delta * delta * count * other.count / total;
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * 复制当前统计量
+     *
+     * @return 副本
+     */
+    public RunningStatistics copy() {
+        RunningStatistics copy = new RunningStatistics();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * 获取样本方差（无偏）
+     *
+     * @return 方差，样本不足两个时为0
+     */
+    public double getVariance() {
+        return count > 1 ? sumSquaredDeviations / (count - 1) : 0.0;
+    }
+
+    /**
+     * 获取样本标准差
+     *
+     * @return 标准差
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * 获取均值的标准误差
+     *
+     * @return 标准误差，无样本时为0
+     */
+    public double getStandardError() {
+        return count > 0 ? Math.sqrt(getVariance() / count) : 0.0;
+    }
+
+    // ================ Getters ================
+
+    public long getCount() { return count; }
+    public double getMean() { return count > 0 ? mean : Double.NaN; }
+    public double getMin() { return min; }
+    public double getMax() { return max; }
+
+    @Override
+    public String toString() {
+        return String.format("RunningStatistics{n=%d, mean=%.4f, std=%.4f, min=%.4f, max=%.4f}",
+                count, getMean(), getStandardDeviation(), min, max);
+    }
+}
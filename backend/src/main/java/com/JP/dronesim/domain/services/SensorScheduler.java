@@ -0,0 +1,150 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 多速率传感器调度领域服务
+ * 每个设备按自身的数据更新周期（雷达波位驻留、相机帧间隔、无线电积累时间）运行，
+ * 不再跟随全局仿真步长每步执行。调度器以下次到期时间为键维护优先队列，
+ * 每步只弹出已到期的设备，未到期的慢速设备不产生任何开销。
+ * 周期小于仿真步长的设备每步执行一次；到期时间相同时按句柄排序，调度结果确定。
+ * 调度状态按设备ID记录，与冲突检测、围栏监控一样在新一次仿真开始时重置。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SensorScheduler {
+
+    /**
+     * 到期判定的时间容差（秒），避免周期累加的浮点误差导致推迟一步
+     */
+    private static final double TIME_EPSILON = 1e-9;
+
+    /**
+     * 按下次到期时间排序的调度队列
+     */
+    private final PriorityQueue<ScheduledDevice> queue = new PriorityQueue<>();
+
+    /**
+     * 已调度的设备（键为设备ID）
+     */
+    private final Map<String, ScheduledDevice> scheduled = new HashMap<>();
+
+    /**
+     * 取出当前时刻到期的设备，并按各自周期安排下一次运行
+     * 新激活的设备立即到期；已停用或已移除的设备出队后不再调度
+     *
+     * @param airspace 空域
+     * @param now 当前仿真时间（秒）
+     * @return 到期设备，按到期时间、句柄排序
+     */
+    public List<AbstractProbeDevice> pollDue(Airspace airspace, double now) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+
+        // 1. 新激活的设备加入队列，当前时刻即到期
+        for (AbstractProbeDevice device : airspace.getProbeDevices().values()) {
+            if (device.isActive() && !scheduled.containsKey(device.getId())) {
+                ScheduledDevice entry = new ScheduledDevice(device, airspace.getEntityHandle(device.getId()), now);
+                scheduled.put(device.getId(), entry);
+                queue.add(entry);
+            }
+        }
+
+        // 2. 弹出到期设备
+        List<AbstractProbeDevice> due = new ArrayList<>();
+        List<ScheduledDevice> rescheduled = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().nextDueTime <= now + TIME_EPSILON) {
+            ScheduledDevice entry = queue.poll();
+            AbstractProbeDevice device = entry.device;
+            if (!device.isActive() || airspace.getProbeDeviceByHandle(entry.handle) != device) {
+                scheduled.remove(device.getId());
+                continue;
+            }
+            due.add(device);
+
+            // 周期在每次运行后重新读取，参数调整从下一次运行起生效；落后超过一个周期时不补跑。
+            // 周期小于步长的设备下次到期时间不晚于当前时刻，待本轮结束后再入队，同一步内不重复执行
+            entry.nextDueTime = Math.max(entry.nextDueTime + device.getUpdatePeriod(), now);
+            rescheduled.add(entry);
+        }
+        queue.addAll(rescheduled);
+        return due;
+    }
+
+    /**
+     * 获取设备的下次到期时间
+     *
+     * @param deviceId 设备ID
+     * @return 下次到期的仿真时间（秒），设备未被调度时返回NaN
+     */
+    public double getNextDueTime(String deviceId) {
+        ScheduledDevice entry = scheduled.get(deviceId);
+        return entry == null ? Double.NaN : entry.nextDueTime;
+    }
+
+    /**
+     * 获取已调度的设备数
+     *
+     * @return 设备数
+     */
+    public int getScheduledCount() {
+        return scheduled.size();
+    }
+
+    /**
+     * 清空调度状态（新一次仿真开始时调用）
+     */
+    public void reset() {
+        queue.clear();
+        scheduled.clear();
+    }
+
+    /**
+     * 调度队列中的设备条目
+     */
+    private static final class ScheduledDevice implements Comparable<ScheduledDevice> {
+
+        /**
+         * 设备
+         */
+        private final AbstractProbeDevice device;
+
+        /**
+         * 设备句柄，用于同时到期时的确定排序
+         */
+        private final int handle;
+
+        /**
+         * 下次到期的仿真时间（秒）
+         */
+        private double nextDueTime;
+
+        /**
+         * 构造函数
+         *
+         * @param device 设备
+         * @param handle 设备句柄
+         * @param nextDueTime 首次到期时间（秒）
+         */
+        private ScheduledDevice(AbstractProbeDevice device, int handle, double nextDueTime) {
+            this.device = device;
+            this.handle = handle;
+            this.nextDueTime = nextDueTime;
+        }
+
+        @Override
+        public int compareTo(ScheduledDevice other) {
+            int byTime = Double.compare(nextDueTime, other.nextDueTime);
+            return byTime != 0 ? byTime : Integer.compare(handle, other.handle);
+        }
+    }
+}
@@ -2,33 +2,137 @@ package com.JP.dronesim.domain.services;
 
 import com.JP.dronesim.domain.airspace.model.Airspace;
 import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.SweptCrossing;
 import com.JP.dronesim.domain.device.model.events.DetectionEvent;
 import com.JP.dronesim.domain.uav.model.UAV;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 仿真引擎服务领域服务
- * 推进仿真时间，协调Airspace、UAV移动和ProbeDevice探测
+ * 推进仿真时间，协调Airspace、UAV移动和ProbeDevice探测。
+ * 启动仿真时为空域开启输入日志，此后的时间步进与经{@link #submitInput}施加的外部输入都按顺序记录；
+ * 步进与输入在同一把锁下串行执行，输入不会落在某一步的中途，会话可由{@link SimulationReplayer}逐位复现
  *
  * @author JP Team
  * @version 1.0
  */
 public class SimulationEngineService {
 
+    /**
+     * 探测粗筛
+     */
+    private final DetectionBroadPhase broadPhase = new DetectionBroadPhase();
+
+    /**
+     * 并行探测
+     */
+    private final ParallelDetectionService parallelDetection;
+
+    /**
+     * 多速率传感器调度
+     */
+    private final SensorScheduler sensorScheduler = new SensorScheduler();
+
+    /**
+     * 机群运动积分
+     */
+    private final FleetIntegrator fleetIntegrator;
+
+    /**
+     * 最近一步产生的探测事件（按设备句柄顺序，与并行线程数无关）
+     */
+    private volatile List<DetectionEvent> lastDetectionEvents = Collections.emptyList();
+
+    /**
+     * 是否启用连续探测（按步内扫掠路径判定，避免高速目标在两步之间穿越视场而漏检）
+     */
+    private boolean continuousDetection;
+
+    /**
+     * 无人机冲突检测
+     */
+    private final ConflictDetectionService conflictDetection = new ConflictDetectionService();
+
+    /**
+     * 是否启用冲突检测
+     */
+    private boolean conflictDetectionEnabled = true;
+
+    /**
+     * 地理围栏监控
+     */
+    private final GeofenceMonitorService geofenceMonitor = new GeofenceMonitorService();
+
+    /**
+     * 各空域当前会话的输入日志（键为空域ID）
+     */
+    private final Map<String, InputJournal> journals = new ConcurrentHashMap<>();
+
+    /**
+     * 是否记录输入日志（回放引擎关闭）
+     */
+    private boolean journaling = true;
+
+    /**
+     * 默认构造函数，探测与运动积分在公共ForkJoin线程池上并行执行
+     */
+    public SimulationEngineService() {
+        this(new ParallelDetectionService());
+    }
+
+    /**
+     * 构造函数，运动积分使用公共ForkJoin线程池
+     *
+     * @param parallelDetection 并行探测服务
+     */
+    public SimulationEngineService(ParallelDetectionService parallelDetection) {
+        this(parallelDetection, new FleetIntegrator());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param parallelDetection 并行探测服务
+     * @param fleetIntegrator 机群运动积分服务
+     */
+    public SimulationEngineService(ParallelDetectionService parallelDetection, FleetIntegrator fleetIntegrator) {
+        if (parallelDetection == null) {
+            throw new IllegalArgumentException("并行探测服务不能为空");
+        }
+        if (fleetIntegrator == null) {
+            throw new IllegalArgumentException("机群运动积分服务不能为空");
+        }
+        this.parallelDetection = parallelDetection;
+        this.fleetIntegrator = fleetIntegrator;
+    }
+
     /**
      * 启动仿真
      *
      * @param airspace 空域聚合根
      */
-    public void startSimulation(Airspace airspace) {
+    public synchronized void startSimulation(Airspace airspace) {
         if (airspace == null) {
             throw new IllegalArgumentException("空域不能为空");
         }
 
+        // 启动前采集会话起点，启动失败时不替换原日志
+        InputJournal journal = journaling && !airspace.isRunning() ? InputJournal.open(airspace, this) : null;
+
         // 启动空域仿真
         airspace.startSimulation();
+        if (journal != null) {
+            journals.put(airspace.getId(), journal);
+        }
+        sensorScheduler.reset();
+        conflictDetection.reset();
+        geofenceMonitor.reset();
 
         // 初始化仿真状态
         initializeSimulationState(airspace);
@@ -39,12 +143,13 @@ public class SimulationEngineService {
      *
      * @param airspace 空域聚合根
      */
-    public void pauseSimulation(Airspace airspace) {
+    public synchronized void pauseSimulation(Airspace airspace) {
         if (airspace == null) {
             throw new IllegalArgumentException("空域不能为空");
         }
 
         airspace.pauseSimulation();
+        record(airspace, "PAUSE", "暂停仿真", (a, engine) -> engine.pauseSimulation(a));
     }
 
     /**
@@ -52,12 +157,14 @@ public class SimulationEngineService {
      *
      * @param airspace 空域聚合根
      */
-    public void resumeSimulation(Airspace airspace) {
+    public synchronized void resumeSimulation(Airspace airspace) {
         if (airspace == null) {
             throw new IllegalArgumentException("空域不能为空");
         }
 
-        airspace.startSimulation();
+        // 恢复不重置仿真时钟与随机流
+        airspace.resumeSimulation();
+        record(airspace, "RESUME", "恢复仿真", (a, engine) -> engine.resumeSimulation(a));
     }
 
     /**
@@ -65,22 +172,101 @@ public class SimulationEngineService {
      *
      * @param airspace 空域聚合根
      */
-    public void stopSimulation(Airspace airspace) {
+    public synchronized void stopSimulation(Airspace airspace) {
         if (airspace == null) {
             throw new IllegalArgumentException("空域不能为空");
         }
         
         airspace.stopSimulation();
+        InputJournal journal = journals.get(airspace.getId());
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * 施加外部输入并记入空域的输入日志
+     * 与时间步进串行执行；仿真未启动时只施加不记录（输入体现在下次启动时采集的起点中）
+     *
+     * @param airspace 空域
+     * @param type 输入类型
+     * @param description 输入描述
+     * @param input 输入
+     */
+    public synchronized void submitInput(Airspace airspace, String type, String description, SimulationInput input) {
+        if (airspace == null || input == null) {
+            throw new IllegalArgumentException("空域与输入不能为空");
+        }
+
+        input.apply(airspace, this);
+        record(airspace, type, description, input);
+    }
+
+    /**
+     * 获取空域当前会话的输入日志
+     *
+     * @param airspaceId 空域ID
+     * @return 输入日志，从未启动过仿真时为null
+     */
+    public InputJournal getJournal(String airspaceId) {
+        return airspaceId == null ? null : journals.get(airspaceId);
+    }
+
+    /**
+     * 是否记录输入日志
+     *
+     * @return 是否记录
+     */
+    public boolean isJournaling() {
+        return journaling;
+    }
+
+    /**
+     * 设置是否记录输入日志（回放引擎关闭，避免回放本身再被记录）
+     *
+     * @param journaling 是否记录
+     */
+    public void setJournaling(boolean journaling) {
+        this.journaling = journaling;
+    }
+
+    /**
+     * 记入空域当前会话的输入日志
+     *
+     * @param airspace 空域
+     * @param type 输入类型
+     * @param description 输入描述
+     * @param input 输入
+     */
+    private void record(Airspace airspace, String type, String description, SimulationInput input) {
+        InputJournal journal = journals.get(airspace.getId());
+        if (journal != null) {
+            journal.recordInput(type, description, input, airspace.getTimeStep().getElapsedTime());
+        }
+    }
+
+    /**
+     * 记入全部进行中会话的输入日志（引擎级配置对引擎推进的所有空域生效）
+     *
+     * @param type 输入类型
+     * @param description 输入描述
+     * @param input 输入
+     */
+    private void recordAll(String type, String description, SimulationInput input) {
+        for (InputJournal journal : journals.values()) {
+            journal.recordInput(type, description, input, Double.NaN);
+        }
     }
     
     /**
      * 执行时间步进
-     * 推进仿真时间，更新所有实体状态，执行探测判定
+     * 推进仿真时间，更新所有实体状态，对按各自更新周期到期的设备执行探测判定。
+     * 实时驱动线程与手动步进可能并发调用，步进过程串行执行
      *
      * @param airspace 空域聚合根
      * @param deltaTime 时间步长（秒）
      */
-    public void stepSimulation(Airspace airspace, double deltaTime) {
+    public synchronized void stepSimulation(Airspace airspace, double deltaTime) {
         if (airspace == null) {
             throw new IllegalArgumentException("空域不能为空");
         }
@@ -91,13 +277,180 @@ public class SimulationEngineService {
         // 1. 推进仿真时间
         airspace.stepSimulation();
         
-        // 2. 更新所有UAV状态
-        updateUAVStates(airspace, deltaTime);
+        // 2. 更新所有UAV状态，连续探测模式下记录每架无人机的步前位置
+        int uavCount = airspace.getUAVCount();
+        int[] sweptHandles = continuousDetection ? new int[uavCount] : null;
+        double[] sweptStarts = continuousDetection ? new double[uavCount * 3] : null;
+        updateUAVStates(airspace, deltaTime, sweptHandles, sweptStarts);
         
         // 3. 执行探测判定
-        performDetections(airspace);
+        performDetections(airspace, deltaTime, sweptHandles, sweptStarts);
+
+        // 4. 无人机间冲突检测
+        if (conflictDetectionEnabled) {
+            conflictDetection.detectConflicts(airspace);
+        }
+
+        // 5. 地理围栏进入/离开检查
+        geofenceMonitor.checkZones(airspace);
+
+        InputJournal journal = journals.get(airspace.getId());
+        if (journal != null) {
+            journal.recordStep(deltaTime, airspace.getTimeStep().getElapsedTime());
+        }
+    }
+
+    /**
+     * 批量运行仿真
+     * 以空域当前步长连续步进，不与墙钟时间耦合，按CPU能力尽快推进。
+     * 到达步数上限或仿真时长上限（两者取先到者，非正数表示不限）或监听器要求停止时结束
+     *
+     * @param airspace 空域聚合根（应已处于运行状态）
+     * @param maxSteps 最大步数
+     * @param horizonSeconds 仿真时长上限（秒）
+     * @param listener 步进监听器，可为null
+     * @return 运行结果
+     */
+    public BatchRunResult runBatch(Airspace airspace, long maxSteps, double horizonSeconds,
+                                   BatchStepListener listener) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+        if (maxSteps <= 0 && horizonSeconds <= 0) {
+            throw new IllegalArgumentException("批量运行必须指定步数或仿真时长");
+        }
+        if (!airspace.isRunning()) {
+            throw new IllegalStateException("仿真未运行，不能批量推进");
+        }
+
+        double startElapsed = airspace.getTimeStep().getElapsedTime();
+        long wallStart = System.nanoTime();
+        long steps = 0;
+        boolean cancelled = false;
+        while (maxSteps <= 0 || steps < maxSteps) {
+            double simulated = airspace.getTimeStep().getElapsedTime() - startElapsed;
+            // 容差避免浮点累加导致多走一步
+            if (horizonSeconds > 0 && simulated >= horizonSeconds - 1e-9) {
+                break;
+            }
+            stepSimulation(airspace, airspace.getTimeStep().getStepSize());
+            steps++;
+            if (listener != null && !listener.afterStep(steps, airspace)) {
+                cancelled = true;
+                break;
+            }
+        }
+        return new BatchRunResult(steps, airspace.getTimeStep().getElapsedTime() - startElapsed,
+                System.nanoTime() - wallStart, cancelled);
+    }
+
+    /**
+     * 是否启用连续探测
+     *
+     * @return 是否启用
+     */
+    public boolean isContinuousDetection() {
+        return continuousDetection;
+    }
+
+    /**
+     * 设置是否启用连续探测
+     *
+     * @param continuousDetection 是否启用
+     */
+    public synchronized void setContinuousDetection(boolean continuousDetection) {
+        this.continuousDetection = continuousDetection;
+        recordAll("CONTINUOUS_DETECTION", "连续探测: " + continuousDetection,
+                (a, engine) -> engine.setContinuousDetection(continuousDetection));
     }
     
+    /**
+     * 是否启用冲突检测
+     *
+     * @return 是否启用
+     */
+    public boolean isConflictDetectionEnabled() {
+        return conflictDetectionEnabled;
+    }
+
+    /**
+     * 设置是否启用冲突检测
+     *
+     * @param conflictDetectionEnabled 是否启用
+     */
+    public synchronized void setConflictDetectionEnabled(boolean conflictDetectionEnabled) {
+        this.conflictDetectionEnabled = conflictDetectionEnabled;
+        recordAll("CONFLICT_DETECTION", "冲突检测: " + conflictDetectionEnabled,
+                (a, engine) -> engine.setConflictDetectionEnabled(conflictDetectionEnabled));
+    }
+
+    /**
+     * 设置冲突检测参数
+     *
+     * @param separation 最小间隔（米）
+     * @param lookAheadTime 前瞻时间（秒）
+     */
+    public synchronized void configureConflictDetection(double separation, double lookAheadTime) {
+        conflictDetection.setSeparation(separation);
+        conflictDetection.setLookAheadTime(lookAheadTime);
+        recordAll("CONFLICT_CONFIG", String.format("冲突间隔%.1fm, 前瞻%.1fs", separation, lookAheadTime),
+                (a, engine) -> engine.configureConflictDetection(separation, lookAheadTime));
+    }
+
+    /**
+     * 获取并行探测服务
+     *
+     * @return 并行探测服务
+     */
+    public ParallelDetectionService getParallelDetection() {
+        return parallelDetection;
+    }
+
+    /**
+     * 获取多速率传感器调度服务
+     *
+     * @return 传感器调度服务
+     */
+    public SensorScheduler getSensorScheduler() {
+        return sensorScheduler;
+    }
+
+    /**
+     * 获取机群运动积分服务
+     *
+     * @return 机群运动积分服务
+     */
+    public FleetIntegrator getFleetIntegrator() {
+        return fleetIntegrator;
+    }
+
+    /**
+     * 获取最近一步产生的探测事件
+     *
+     * @return 探测事件（按设备句柄顺序）
+     */
+    public List<DetectionEvent> getLastDetectionEvents() {
+        return lastDetectionEvents;
+    }
+
+    /**
+     * 获取冲突检测服务
+     *
+     * @return 冲突检测服务
+     */
+    public ConflictDetectionService getConflictDetection() {
+        return conflictDetection;
+    }
+
+    /**
+     * 获取地理围栏监控服务
+     *
+     * @return 地理围栏监控服务
+     */
+    public GeofenceMonitorService getGeofenceMonitor() {
+        return geofenceMonitor;
+    }
+
     /**
      * 初始化仿真状态
      * 
@@ -124,44 +477,65 @@ public class SimulationEngineService {
     
     /**
      * 更新所有UAV状态
+     * 先由机群积分并行推进各无人机，再在本线程按句柄批量同步空间索引
      * 
      * @param airspace 空域
      * @param deltaTime 时间步长
+     * @param sweptHandles 记录无人机句柄的数组，为null时不记录
+     * @param sweptStarts 记录步前位置的数组（每架3个坐标）
      */
-    private void updateUAVStates(Airspace airspace, double deltaTime) {
-        List<UAV> uavs = new ArrayList<>(airspace.getUAVs().values());
-        
-        for (UAV uav : uavs) {
-            // 更新UAV移动状态 - 使用正确的方法
-            uav.updateState(deltaTime);
-            
-            // 更新空域中的UAV位置索引
-            airspace.updateEntityPosition(uav.getId(), uav.getPosition());
+    private void updateUAVStates(Airspace airspace, double deltaTime, int[] sweptHandles, double[] sweptStarts) {
+        if (sweptHandles != null) {
+            int limit = airspace.getHandleLimit();
+            int n = 0;
+            for (int handle = 0; handle < limit && n < sweptHandles.length; handle++) {
+                UAV uav = airspace.getUAVByHandle(handle);
+                if (uav != null) {
+                    sweptHandles[n] = handle;
+                    sweptStarts[n * 3] = uav.getX();
+                    sweptStarts[n * 3 + 1] = uav.getY();
+                    sweptStarts[n * 3 + 2] = uav.getZ();
+                    n++;
+                }
+            }
         }
+
+        // 并行更新UAV移动状态
+        fleetIntegrator.integrate(airspace, deltaTime);
+
+        // 按句柄批量更新空域中的UAV位置与速度
+        airspace.syncUAVStates();
     }
     
     /**
-     * 执行所有设备的探测判定
+     * 执行本步到期设备的探测判定
+     * 由传感器调度取出按各自更新周期到期的设备，未到期的设备本步不探测；
+     * 先一次扫描算出到期设备的候选目标，再由各设备并行对自己的候选执行探测；
+     * 连续探测模式下再补充本步扫掠路径穿过视场的目标，这些目标按线段在视场内的穿越点及其时刻判定。
+     * 设备按句柄排序，汇总的探测事件顺序与并行线程数无关
      *
      * @param airspace 空域
+     * @param deltaTime 本步时长（秒）
+     * @param sweptHandles 无人机句柄，为null时只按步末位置判定
+     * @param sweptStarts 对应的步前位置
      */
-    private void performDetections(Airspace airspace) {
-        List<ProbeDevice> devices = new ArrayList<>(airspace.getProbeDevices().values());
-        List<UAV> uavs = new ArrayList<>(airspace.getUAVs().values());
+    private void performDetections(Airspace airspace, double deltaTime, int[] sweptHandles, double[] sweptStarts) {
+        List<AbstractProbeDevice> devices = sensorScheduler.pollDue(airspace,
+                airspace.getTimeStep().getElapsedTime());
+        if (devices.isEmpty()) {
+            lastDetectionEvents = Collections.emptyList();
+            return;
+        }
+        devices.sort(Comparator.comparingInt(device -> airspace.getEntityHandle(device.getId())));
         
-        for (ProbeDevice device : devices) {
-            if (device.isActive()) {
-                try {
-                    // 直接调用设备的探测方法，无需中间层
-                    List<DetectionEvent> events = device.performDetection(airspace, uavs);
-                    
-                    // 探测事件已经在设备内部添加到日志，无需重复添加
-                    
-                } catch (Exception e) {
-                    // 记录探测错误，但不中断仿真
-                    System.err.println("设备 " + device.getId() + " 探测失败: " + e.getMessage());
-                }
-            }
+        int[][] candidates = broadPhase.computeCandidates(airspace, devices);
+        SweptCrossing[][] crossings = null;
+        if (sweptHandles != null) {
+            crossings = new SweptCrossing[devices.size()][];
+            candidates = broadPhase.addSweptCandidates(airspace, devices, candidates, sweptHandles, sweptStarts,
+                    deltaTime, crossings);
         }
+        lastDetectionEvents = Collections.unmodifiableList(
+                parallelDetection.detect(airspace, devices, candidates, crossings));
     }
 } 
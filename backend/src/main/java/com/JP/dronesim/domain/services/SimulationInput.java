@@ -0,0 +1,24 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+
+/**
+ * 外部输入
+ * 来自仿真之外、会改变仿真结果的一次操作（REST命令、AirSim状态样本、引擎配置等）。
+ * 输入经{@link SimulationEngineService#submitInput}施加并记入输入日志，回放时按原顺序重新施加；
+ * 实现只能读取自身捕获的数据与传入的空域、引擎，不能引用原空域中的实体对象
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface SimulationInput {
+
+    /**
+     * 施加输入
+     *
+     * @param airspace 空域
+     * @param engine 仿真引擎
+     */
+    void apply(Airspace airspace, SimulationEngineService engine);
+}
@@ -0,0 +1,189 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.ScenarioPerturbation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.common.valueobjects.Velocity;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.DetectionLog;
+import com.JP.dronesim.domain.device.model.events.DetectionEvent;
+import com.JP.dronesim.domain.uav.model.UAV;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 仿真回放器
+ * 从输入日志的起点重建空域，按原顺序重新施加外部输入与时间步进，复现一次仿真会话。
+ * 回放使用独立的引擎（关闭输入日志），不影响正在运行的仿真
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SimulationReplayer {
+
+    /**
+     * 回放引擎
+     */
+    private final SimulationEngineService engine;
+
+    /**
+     * 构造函数
+     *
+     * @param engine 回放专用的仿真引擎（不能与实时仿真共用）
+     */
+    public SimulationReplayer(SimulationEngineService engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("仿真引擎不能为空");
+        }
+        this.engine = engine;
+        this.engine.setJournaling(false);
+    }
+
+    /**
+     * 回放输入日志
+     *
+     * @param journal 输入日志
+     * @return 回放结束时的空域副本
+     */
+    public Airspace replay(InputJournal journal) {
+        if (journal == null) {
+            throw new IllegalArgumentException("输入日志不能为空");
+        }
+
+        Airspace replica = journal.getBase().instantiate(new Random(0L), ScenarioPerturbation.none());
+        replica.reseed(journal.getSeed(), journal.getSession());
+        journal.applyEngineConfig(engine);
+        engine.startSimulation(replica);
+
+        for (InputJournal.Entry entry : journal.getEntries()) {
+            if (entry.isStep()) {
+                for (long i = 0; i < entry.getCount(); i++) {
+                    engine.stepSimulation(replica, entry.getDeltaTime());
+                }
+            } else {
+                entry.getInput().apply(replica, engine);
+            }
+        }
+        return replica;
+    }
+
+    /**
+     * 计算回放空域的会话指纹（副本的设备从零计数）
+     *
+     * @param replica 回放得到的空域
+     * @return 64位指纹
+     */
+    public static long fingerprint(Airspace replica) {
+        return fingerprint(replica, Collections.emptyMap());
+    }
+
+    /**
+     * 计算空域的会话指纹
+     * 覆盖仿真时长、按句柄排列的无人机运动状态以及各设备在本次会话中产生的探测事件；
+     * 探测日志只保留最近的事件，超出容量的部分按总数计入
+     *
+     * @param airspace 空域
+     * @param baseEventCounts 会话开始时各设备的累计探测事件数（键为设备ID）
+     * @return 64位指纹
+     */
+    public static long fingerprint(Airspace airspace, Map<String, Long> baseEventCounts) {
+        if (airspace == null || baseEventCounts == null) {
+            throw new IllegalArgumentException("空域与事件基数不能为空");
+        }
+
+        long hash = mix(0xCBF29CE484222325L, airspace.getTimeStep().getElapsedTime());
+        for (int handle = 0; handle < airspace.getHandleLimit(); handle++) {
+            UAV uav = airspace.getUAVByHandle(handle);
+            if (uav != null) {
+                hash = mix(hash, uav.getId());
+                Position position = uav.getCurrentState().getPosition();
+                Velocity velocity = uav.getCurrentState().getVelocity();
+                hash = mix(hash, position.getX());
+                hash = mix(hash, position.getY());
+                hash = mix(hash, position.getZ());
+                hash = mix(hash, velocity.getVx());
+                hash = mix(hash, velocity.getVy());
+                hash = mix(hash, velocity.getVz());
+                continue;
+            }
+            AbstractProbeDevice device = airspace.getProbeDeviceByHandle(handle);
+            if (device != null) {
+                hash = mix(hash, device.getId());
+                DetectionLog log = device.getDetectionLog();
+                long produced = log.getTotalEventCount() - baseEventCounts.getOrDefault(device.getId(), 0L);
+                hash = mix(hash, produced);
+                int retained = (int) Math.min(produced, log.getEventCount());
+                for (DetectionEvent event : log.getLatestEvents(retained)) {
+                    hash = mix(hash, event.getEventId());
+                    hash = mix(hash, event.getTimestamp());
+                    hash = mix(hash, event.getDetectedUavId());
+                    Position position = event.getDetectedPosition();
+                    if (position != null) {
+                        hash = mix(hash, position.getX());
+                        hash = mix(hash, position.getY());
+                        hash = mix(hash, position.getZ());
+                    }
+                    hash = mix(hash, event.getConfidence());
+                    hash = mix(hash, event.getDetectionDistance());
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * 混入一个整数
+     *
+     * @param hash 当前哈希
+     * @param value 整数
+     * @return 新哈希
+     */
+    private static long mix(long hash, long value) {
+        long z = (hash ^ value) * 0x100000001B3L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        return z ^ (z >>> 27);
+    }
+
+    /**
+     * 混入一个浮点数（按位比较）
+     *
+     * @param hash 当前哈希
+     * @param value 浮点数
+     * @return 新哈希
+     */
+    private static long mix(long hash, double value) {
+        return mix(hash, Double.doubleToLongBits(value));
+    }
+
+    /**
+     * 混入一个字符串
+     *
+     * @param hash 当前哈希
+     * @param value 字符串，可为null
+     * @return 新哈希
+     */
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1L);
+        }
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = mix(hash, (long) b);
+        }
+        return hash;
+    }
+
+    /**
+     * 混入一个时间
+     *
+     * @param hash 当前哈希
+     * @param value 时间，可为null
+     * @return 新哈希
+     */
+    private static long mix(long hash, LocalDateTime value) {
+        return value == null ? mix(hash, -1L) : mix(hash, value.toString());
+    }
+}
@@ -10,7 +10,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * 无人机聚合根
@@ -33,9 +32,30 @@ public class UAV {
 
     /**
      * 无人机当前状态（包含运动状态和物理特性）
+     * 逐步积分只更新下方的原始运动学字段，该对象在被读取时按需重建
      */
     private UAVState currentState;
 
+    /**
+     * 位置原始值
+     */
+    private double x, y, z;
+
+    /**
+     * 速度原始值
+     */
+    private double vx, vy, vz;
+
+    /**
+     * 加速度原始值
+     */
+    private double ax, ay, az;
+
+    /**
+     * currentState是否落后于原始运动学字段
+     */
+    private volatile boolean stateStale;
+
     /**
      * 飞行路径：无人机的飞行路径，航点列表
      */
@@ -50,6 +70,16 @@ public class UAV {
      * 运行状态：悬停、运动、侦测（枚举）
      */
     private UAVStatus status;
+
+    /**
+     * 航点悬停剩余时间（秒），为0表示不在航点悬停（任务暂停的悬停不计时）
+     */
+    private double hoverRemaining;
+
+    /**
+     * 到达航点前的巡航速度（m/s），航点未指定目标速度时沿用
+     */
+    private double cruiseSpeed;
     
     /**
      * 创建时间
@@ -78,12 +108,17 @@ public class UAV {
     
     /**
      * 构造函数
+     * 需要可复现的仿真时，ID应取自{@link com.JP.dronesim.domain.airspace.model.Airspace#nextEntityId()}
      * 
+     * @param id 无人机ID
      * @param name 无人机名称
      * @param initialState 初始状态（包含位置和物理特性）
      */
-    public UAV(String name, UAVState initialState) {
+    public UAV(String id, String name, UAVState initialState) {
         // 参数验证
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("无人机ID不能为空");
+        }
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("无人机名称不能为空");
         }
@@ -91,9 +126,9 @@ public class UAV {
             throw new IllegalArgumentException("初始状态不能为空");
         }
         
-        this.id = UUID.randomUUID().toString();
+        this.id = id;
         this.name = name.trim();
-        this.currentState = initialState;
+        setState(initialState);
         this.flightPath = new ArrayList<>();
         this.currentWaypointIndex = 0;
         this.status = UAVStatus.STANDBY;
@@ -104,21 +139,6 @@ public class UAV {
         this.radioFrequency = 2400.0; // 默认频率2.4GHz
     }
     
-    /**
-     * 兼容性构造函数 - 使用位置创建标准小型无人机
-     * 
-     * @param name 无人机名称
-     * @param initialPosition 初始位置
-     */
-    public UAV(String name, Position initialPosition) {
-        this(name, UAVState.createStandardSmallDrone(
-            initialPosition, 
-            Orientation.identity(), 
-            Velocity.zero(), 
-            Acceleration.zero()
-        ));
-    }
-    
     /**
      * 初始化无人机，设置其初始位置、速度、姿态和飞行任务
      * 
@@ -134,7 +154,7 @@ public class UAV {
         }
         
         // 设置初始状态
-        this.currentState = initialState;
+        setState(initialState);
         
         // 设置飞行路径
         this.flightPath = new ArrayList<>(mission.getWaypoints());
@@ -166,15 +186,16 @@ public class UAV {
         }
         
         // 计算到目标位置的方向和距离
-        double distance = currentState.getPosition().distanceTo(targetLocation);
+        Position position = getPosition();
+        double distance = position.distanceTo(targetLocation);
         if (distance < 0.1) { // 已经很接近目标位置
             return;
         }
         
         // 计算方向向量
-        double dx = targetLocation.getX() - currentState.getPosition().getX();
-        double dy = targetLocation.getY() - currentState.getPosition().getY();
-        double dz = targetLocation.getZ() - currentState.getPosition().getZ();
+        double dx = targetLocation.getX() - position.getX();
+        double dy = targetLocation.getY() - position.getY();
+        double dz = targetLocation.getZ() - position.getZ();
         
         // 归一化方向向量
         double norm = Math.sqrt(dx * dx + dy * dy + dz * dz);
@@ -193,12 +214,13 @@ public class UAV {
         Orientation newOrientation = Orientation.fromEulerAngles(0, 0, yaw);
 
         // 更新状态
-        this.currentState = currentState.updateMotionState(
-            currentState.getPosition(),
+        UAVState state = getCurrentState();
+        setState(state.updateMotionState(
+            state.getPosition(),
             newOrientation,
             newVelocity,
-            currentState.getAcceleration()
-        );
+            state.getAcceleration()
+        ));
 
         // 更新运行状态
         this.status = UAVStatus.MOVING;
@@ -207,29 +229,40 @@ public class UAV {
 
     /**
      * 根据时间步长更新无人机位置和状态
+     * 在原始运动学字段上原地积分，不创建值对象；currentState在下次被读取时重建。
+     * 不同无人机可在多个线程中并行更新，同一无人机的更新须串行
      *
      * @param deltaTime 时间步长（秒）
+     * @param simulationTime 步末的仿真时间，用作航点到达时间
      */
-    public void updateState(double deltaTime) {
+    public void updateState(double deltaTime, LocalDateTime simulationTime) {
         if (deltaTime <= 0) {
             throw new IllegalArgumentException("时间步长必须大于零");
         }
+        if (simulationTime == null) {
+            throw new IllegalArgumentException("仿真时间不能为空");
+        }
+
+        // 航点悬停计时，结束后飞向下一航点
+        if (status == UAVStatus.HOVERING && hoverRemaining > 0) {
+            hoverRemaining -= deltaTime;
+            if (hoverRemaining <= 1e-9) {
+                hoverRemaining = 0.0;
+                this.status = UAVStatus.MOVING;
+                headToCurrentWaypoint();
+            }
+        }
 
         // 更新位置
-        Velocity velocity = currentState.getVelocity();
-        Position position = currentState.getPosition();
-        double newX = position.getX() + velocity.getVx() * deltaTime;
-        double newY = position.getY() + velocity.getVy() * deltaTime;
-        double newZ = position.getZ() + velocity.getVz() * deltaTime;
-        Position newPosition = new Position(newX, newY, newZ);
-
-        // 更新速度（考虑加速度）
-        Velocity newVelocity = velocity;
-        Acceleration acceleration = currentState.getAcceleration();
-        if (!acceleration.isZero()) {
-            double newVx = velocity.getVx() + acceleration.getAx() * deltaTime;
-            double newVy = velocity.getVy() + acceleration.getAy() * deltaTime;
-            double newVz = velocity.getVz() + acceleration.getAz() * deltaTime;
+        x += vx * deltaTime;
+        y += vy * deltaTime;
+        z += vz * deltaTime;
+
+        // 更新速度（考虑加速度，容差与Acceleration.isZero一致）
+        if (ax * ax + ay * ay + az * az >= 1e-6) {
+            double newVx = vx + ax * deltaTime;
+            double newVy = vy + ay * deltaTime;
+            double newVz = vz + az * deltaTime;
 
             // 限制最大速度
             double speed = Math.sqrt(newVx * newVx + newVy * newVy + newVz * newVz);
@@ -240,22 +273,14 @@ public class UAV {
                 newVz *= scale;
             }
 
-            newVelocity = new Velocity(newVx, newVy, newVz);
+            vx = newVx;
+            vy = newVy;
+            vz = newVz;
         }
-
-        // 更新状态
-        this.currentState = currentState.updateMotionState(
-            newPosition,
-            currentState.getOrientation(),
-            newVelocity,
-            acceleration
-        );
+        stateStale = true;
 
         // 检查是否到达航点
-        checkWaypointReached();
-
-        // 更新时间戳
-        this.lastUpdatedAt = LocalDateTime.now();
+        checkWaypointReached(simulationTime);
     }
 
     /**
@@ -286,25 +311,116 @@ public class UAV {
     }
 
     public Position getPosition() {
-        return currentState.getPosition();
+        return getCurrentState().getPosition();
     }
 
     public Orientation getOrientation() {
-        return currentState.getOrientation();
+        return getCurrentState().getOrientation();
     }
 
     public Velocity getVelocity() {
-        return currentState.getVelocity();
+        return getCurrentState().getVelocity();
     }
 
     public Acceleration getAcceleration() {
-        return currentState.getAcceleration();
+        return getCurrentState().getAcceleration();
     }
 
+    /**
+     * 获取当前状态
+     * 积分后首次读取时由原始运动学字段重建，之后直到下一次积分都返回同一对象
+     *
+     * @return 当前状态
+     */
     public UAVState getCurrentState() {
+        if (stateStale) {
+            synchronized (this) {
+                if (stateStale) {
+                    Acceleration acceleration = currentState.getAcceleration();
+                    if (acceleration.getAx() != ax || acceleration.getAy() != ay || acceleration.getAz() != az) {
+                        acceleration = new Acceleration(ax, ay, az);
+                    }
+                    currentState = currentState.updateMotionState(new Position(x, y, z),
+                            currentState.getOrientation(), new Velocity(vx, vy, vz), acceleration);
+                    stateStale = false;
+                }
+            }
+        }
         return currentState;
     }
 
+    /**
+     * 获取X坐标（不重建状态对象）
+     *
+     * @return X坐标
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * 获取Y坐标（不重建状态对象）
+     *
+     * @return Y坐标
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * 获取Z坐标（不重建状态对象）
+     *
+     * @return Z坐标
+     */
+    public double getZ() {
+        return z;
+    }
+
+    /**
+     * 获取X方向速度（不重建状态对象）
+     *
+     * @return X方向速度
+     */
+    public double getVx() {
+        return vx;
+    }
+
+    /**
+     * 获取Y方向速度（不重建状态对象）
+     *
+     * @return Y方向速度
+     */
+    public double getVy() {
+        return vy;
+    }
+
+    /**
+     * 获取Z方向速度（不重建状态对象）
+     *
+     * @return Z方向速度
+     */
+    public double getVz() {
+        return vz;
+    }
+
+    /**
+     * 是否存在有效加速度（容差与Acceleration.isZero一致）
+     *
+     * @return 是否在加速
+     */
+    public boolean isAccelerating() {
+        return ax * ax + ay * ay + az * az >= 1e-6;
+    }
+
+    /**
+     * 获取航点悬停剩余时间
+     *
+     * @return 剩余时间（秒），不在航点悬停时为0
+     */
+    public double getHoverRemaining() {
+        return hoverRemaining;
+    }
+
     public List<Waypoint> getFlightPath() {
         return Collections.unmodifiableList(flightPath);
     }
@@ -383,7 +499,12 @@ public class UAV {
         }
 
         this.currentWaypointIndex = 0;
+        this.hoverRemaining = 0.0;
         this.status = UAVStatus.MOVING;
+        // 静止起飞时飞向第一个航点，已有初速度时保持
+        if (vx * vx + vy * vy + vz * vz < 1e-12) {
+            headToCurrentWaypoint();
+        }
         this.lastUpdatedAt = LocalDateTime.now();
     }
 
@@ -393,12 +514,7 @@ public class UAV {
     public void pauseMission() {
         if (status == UAVStatus.MOVING) {
             this.status = UAVStatus.HOVERING;
-            this.currentState = currentState.updateMotionState(
-                currentState.getPosition(),
-                currentState.getOrientation(),
-                Velocity.zero(),
-                Acceleration.zero()
-            );
+            stopMotion();
             this.lastUpdatedAt = LocalDateTime.now();
         }
     }
@@ -409,10 +525,35 @@ public class UAV {
     public void resumeMission() {
         if (status == UAVStatus.HOVERING) {
             this.status = UAVStatus.MOVING;
+            this.hoverRemaining = 0.0;
+            headToCurrentWaypoint();
             this.lastUpdatedAt = LocalDateTime.now();
         }
     }
 
+    /**
+     * 创建副本
+     * 副本保留原ID，使用给定的初始运动状态，复制性能参数、航路（含到达状态）与任务进度，
+     * 用于从同一场景模板派生相互独立的重复仿真，各副本的探测结果可按无人机ID对照
+     *
+     * @param initialState 副本的初始运动状态
+     * @return 无人机副本
+     */
+    public UAV replicate(UAVState initialState) {
+        UAV replica = new UAV(id, name, initialState);
+        for (Waypoint waypoint : flightPath) {
+            replica.flightPath.add(waypoint.copy());
+        }
+        replica.currentWaypointIndex = currentWaypointIndex;
+        replica.status = status;
+        replica.hoverRemaining = hoverRemaining;
+        replica.cruiseSpeed = cruiseSpeed;
+        replica.maxSpeed = maxSpeed;
+        replica.maxAcceleration = maxAcceleration;
+        replica.radioFrequency = radioFrequency;
+        return replica;
+    }
+
     /**
      * 返回起始点
      */
@@ -428,12 +569,13 @@ public class UAV {
      */
     public void emergencyLanding() {
         this.status = UAVStatus.LANDING;
-        this.currentState = currentState.updateMotionState(
-            currentState.getPosition(),
-            currentState.getOrientation(),
+        UAVState state = getCurrentState();
+        setState(state.updateMotionState(
+            state.getPosition(),
+            state.getOrientation(),
             new Velocity(0, 0, 5.0), // 垂直下降
             Acceleration.zero()
-        );
+        ));
         this.lastUpdatedAt = LocalDateTime.now();
     }
 
@@ -448,29 +590,74 @@ public class UAV {
 
     /**
      * 检查是否到达航点
+     *
+     * @param arrivalTime 到达时间（仿真时间）
      */
-    private void checkWaypointReached() {
+    private void checkWaypointReached(LocalDateTime arrivalTime) {
         Waypoint currentWaypoint = getCurrentWaypoint();
         if (currentWaypoint != null) {
-            double distance = currentState.getPosition().distanceTo(currentWaypoint.getPosition());
-            if (distance < 1.0) { // 1米容差
-                currentWaypoint.markAsReached();
+            Position target = currentWaypoint.getPosition();
+            double dx = x - target.getX();
+            double dy = y - target.getY();
+            double dz = z - target.getZ();
+            if (dx * dx + dy * dy + dz * dz < 1.0) { // 1米容差
+                currentWaypoint.markAsReached(arrivalTime);
                 currentWaypointIndex++;
 
                 if (currentWaypointIndex >= flightPath.size()) {
                     // 任务完成
                     this.status = UAVStatus.LANDED;
-                    this.currentState = currentState.updateMotionState(
-                        currentState.getPosition(),
-                        currentState.getOrientation(),
-                        Velocity.zero(),
-                        Acceleration.zero()
-                    );
+                    vx = vy = vz = 0.0;
+                    ax = ay = az = 0.0;
+                    stateStale = true;
+                } else if (currentWaypoint.requiresHover()) {
+                    // 在航点悬停指定时长后再飞向下一航点
+                    cruiseSpeed = Math.sqrt(vx * vx + vy * vy + vz * vz);
+                    this.status = UAVStatus.HOVERING;
+                    hoverRemaining = currentWaypoint.getHoverDuration();
+                    vx = vy = vz = 0.0;
+                    ax = ay = az = 0.0;
+                    stateStale = true;
+                } else {
+                    headToCurrentWaypoint();
                 }
             }
         }
     }
 
+    /**
+     * 将速度指向当前目标航点（匀速直线飞行，清除加速度）
+     * 速度取航点目标速度；航点未指定时沿用巡航速度，仍为0时取最大速度
+     */
+    private void headToCurrentWaypoint() {
+        Waypoint waypoint = getCurrentWaypoint();
+        if (waypoint == null) {
+            return;
+        }
+        double speed = Math.sqrt(vx * vx + vy * vy + vz * vz);
+        if (speed > 1e-6) {
+            cruiseSpeed = speed;
+        }
+        double targetSpeed = waypoint.getTargetSpeed() > 0 ? waypoint.getTargetSpeed()
+                : (cruiseSpeed > 0 ? cruiseSpeed : maxSpeed);
+        targetSpeed = Math.min(targetSpeed, maxSpeed);
+
+        Position target = waypoint.getPosition();
+        double dx = target.getX() - x;
+        double dy = target.getY() - y;
+        double dz = target.getZ() - z;
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (distance < 1e-9) {
+            vx = vy = vz = 0.0;
+        } else {
+            vx = dx / distance * targetSpeed;
+            vy = dy / distance * targetSpeed;
+            vz = dz / distance * targetSpeed;
+        }
+        ax = ay = az = 0.0;
+        stateStale = true;
+    }
+
     /**
      * 处理状态变化
      *
@@ -480,29 +667,14 @@ public class UAV {
     private void handleStatusChange(UAVStatus oldStatus, UAVStatus newStatus) {
         switch (newStatus) {
             case STANDBY:
-                this.currentState = currentState.updateMotionState(
-                    currentState.getPosition(),
-                    currentState.getOrientation(),
-                    Velocity.zero(),
-                    Acceleration.zero()
-                );
+                stopMotion();
                 break;
             case HOVERING:
-                this.currentState = currentState.updateMotionState(
-                    currentState.getPosition(),
-                    currentState.getOrientation(),
-                    Velocity.zero(),
-                    Acceleration.zero()
-                );
+                stopMotion();
                 break;
             case MALFUNCTION:
                 // 故障状态下的处理
-                this.currentState = currentState.updateMotionState(
-                    currentState.getPosition(),
-                    currentState.getOrientation(),
-                    Velocity.zero(),
-                    Acceleration.zero()
-                );
+                stopMotion();
                 break;
             default:
                 // 其他状态的处理
@@ -510,6 +682,41 @@ public class UAV {
         }
     }
 
+    /**
+     * 速度与加速度清零
+     */
+    private void stopMotion() {
+        UAVState state = getCurrentState();
+        setState(state.updateMotionState(
+            state.getPosition(),
+            state.getOrientation(),
+            Velocity.zero(),
+            Acceleration.zero()
+        ));
+    }
+
+    /**
+     * 替换当前状态并同步原始运动学字段
+     *
+     * @param state 新状态
+     */
+    private void setState(UAVState state) {
+        Position position = state.getPosition();
+        Velocity velocity = state.getVelocity();
+        Acceleration acceleration = state.getAcceleration();
+        this.x = position.getX();
+        this.y = position.getY();
+        this.z = position.getZ();
+        this.vx = velocity.getVx();
+        this.vy = velocity.getVy();
+        this.vz = velocity.getVz();
+        this.ax = acceleration.getAx();
+        this.ay = acceleration.getAy();
+        this.az = acceleration.getAz();
+        this.currentState = state;
+        this.stateStale = false;
+    }
+
     /**
      * 验证无人机状态
      */
@@ -535,6 +742,6 @@ public class UAV {
     @Override
     public String toString() {
         return String.format("UAV{id='%s', name='%s', position=%s, status=%s}",
-                           id, name, currentState.getPosition(), status);
+                           id, name, getPosition(), status);
     }
 }
\ No newline at end of file
@@ -37,7 +37,7 @@ public class UAVState {
     
     /**
      * 雷达截面积（RCS - Radar Cross Section，平方米）
-     * 用于电磁波雷达探测计算
+     * 用于电磁波雷达探测计算，为全向平均的名义值，雷达按视线方向的姿态增益修正
      */
     private final double radarCrossSection;
     
@@ -3,7 +3,6 @@ package com.JP.dronesim.domain.uav.model;
 import com.JP.dronesim.domain.common.valueobjects.Position;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * 航点实体
@@ -77,7 +76,9 @@ public class Waypoint {
     
     /**
      * 构造函数
+     * 需要可复现的仿真时，ID应取自{@link com.JP.dronesim.domain.airspace.model.Airspace#nextEntityId()}
      * 
+     * @param waypointId 航点ID
      * @param sequenceNumber 航点序号
      * @param position 航点位置
      * @param altitude 目标高度
@@ -88,11 +89,14 @@ public class Waypoint {
      * @param estimatedArrivalTime 预计到达时间
      * @param action 航点动作
      */
-    public Waypoint(int sequenceNumber, Position position, double altitude, 
+    public Waypoint(String waypointId, int sequenceNumber, Position position, double altitude,
                    double targetSpeed, double hoverDuration, WaypointType type,
                    String name, LocalDateTime estimatedArrivalTime, WaypointAction action) {
         
         // 参数验证
+        if (waypointId == null || waypointId.trim().isEmpty()) {
+            throw new IllegalArgumentException("航点ID不能为空");
+        }
         if (sequenceNumber < 0) {
             throw new IllegalArgumentException("航点序号不能为负数");
         }
@@ -109,7 +113,7 @@ public class Waypoint {
             throw new IllegalArgumentException("航点类型不能为空");
         }
         
-        this.waypointId = UUID.randomUUID().toString();
+        this.waypointId = waypointId;
         this.sequenceNumber = sequenceNumber;
         this.position = position;
         this.altitude = altitude;
@@ -233,18 +237,27 @@ public class Waypoint {
     /**
      * 标记航点已到达
      * 
-     * @param arrivalTime 实际到达时间
+     * @param arrivalTime 实际到达时间（仿真时间）
      */
     public void markAsReached(LocalDateTime arrivalTime) {
+        if (arrivalTime == null) {
+            throw new IllegalArgumentException("到达时间不能为空");
+        }
         this.reached = true;
-        this.actualArrivalTime = arrivalTime != null ? arrivalTime : LocalDateTime.now();
+        this.actualArrivalTime = arrivalTime;
     }
     
     /**
-     * 标记航点已到达（使用当前时间）
-     */
-    public void markAsReached() {
-        markAsReached(LocalDateTime.now());
+     * 复制航点（航点ID与到达状态一并复制），供场景副本独立标记到达
+     * 
+     * @return 航点副本
+     */
+    public Waypoint copy() {
+        Waypoint copy = new Waypoint(waypointId, sequenceNumber, position, altitude, targetSpeed, hoverDuration,
+                type, name, estimatedArrivalTime, action);
+        copy.actualArrivalTime = actualArrivalTime;
+        copy.reached = reached;
+        return copy;
     }
     
     /**
@@ -4,6 +4,9 @@ import com.JP.dronesim.domain.airspace.model.Airspace;
 import com.JP.dronesim.domain.airspace.model.EnvironmentParameters;
 import com.JP.dronesim.domain.uav.model.UAV;
 import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.common.valueobjects.Velocity;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.infrastructure.scheduling.AirspaceActorRegistry;
 import com.JP.dronesim.infrastructure.adapter.airsim.AirSimStateAdapter.UAVStateInfo;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +23,7 @@ import java.util.concurrent.TimeUnit;
  * 空域数据同步服务
  * 负责空域领域模型与AirSim仿真环境之间的数据同步
  * 包括UAV状态同步、环境参数同步等
+ * AirSim状态样本经仿真引擎作为外部输入施加，记入输入日志，回放时不再依赖AirSim
  * 
  * @author JP Team
  * @version 1.0
@@ -29,6 +33,9 @@ public class AirspaceSyncService {
     
     @Autowired
     private AirSimStateAdapter airSimStateAdapter;
+
+    @Autowired
+    private AirspaceActorRegistry airspaceActors;
     
     /**
      * 同步任务执行器
@@ -164,16 +171,22 @@ public class AirspaceSyncService {
                 return false;
             }
             
-            // 更新空域中的UAV状态
+            // 更新空域中的UAV状态（样本值在施加前取出，回放只读取日志中的样本）
             UAV uav = airspace.getUAV(uavId);
             if (uav != null) {
-                // 更新位置
-                uav.setPosition(stateInfo.getPosition());
-                uav.setVelocity(stateInfo.getVelocity());
-                uav.setOrientation(stateInfo.getOrientation());
-                
-                // 更新空域索引
-                airspace.updateEntityPosition(uavId, stateInfo.getPosition());
+                Position position = stateInfo.getPosition();
+                Velocity velocity = stateInfo.getVelocity();
+                Orientation orientation = stateInfo.getOrientation();
+                airspaceActors.submitInput(airspace, "AIRSIM_SAMPLE", "AirSim状态样本 " + uavId,
+                        (a, engine) -> {
+                            UAV target = a.getUAV(uavId);
+                            target.setPosition(position);
+                            target.setVelocity(velocity);
+                            target.setOrientation(orientation);
+
+                            // 更新空域索引
+                            a.updateEntityPosition(uavId, position);
+                        });
                 
                 return true;
             }
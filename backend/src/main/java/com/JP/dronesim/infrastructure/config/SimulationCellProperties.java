@@ -0,0 +1,55 @@
+package com.JP.dronesim.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 多空域承载配置类
+ * 用于配置各空域执行者共享的工作线程与每轮时间片
+ */
+@Configuration
+@ConfigurationProperties(prefix = "simulation.cells")
+public class SimulationCellProperties {
+
+    /**
+     * 工作线程数，0表示使用CPU核数
+     */
+    private int workers = 0;
+
+    /**
+     * 执行者每轮最多占用工作线程的时间（毫秒）
+     */
+    private double sliceMillis = 2.0;
+
+    /**
+     * 获取工作线程数
+     * @return 工作线程数
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * 设置工作线程数
+     * @param workers 工作线程数，0表示使用CPU核数
+     */
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * 获取每轮时间片
+     * @return 时间片（毫秒）
+     */
+    public double getSliceMillis() {
+        return sliceMillis;
+    }
+
+    /**
+     * 设置每轮时间片
+     * @param sliceMillis 时间片（毫秒）
+     */
+    public void setSliceMillis(double sliceMillis) {
+        this.sliceMillis = sliceMillis;
+    }
+}
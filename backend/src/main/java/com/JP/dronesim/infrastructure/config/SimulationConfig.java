@@ -0,0 +1,47 @@
+package com.JP.dronesim.infrastructure.config;
+
+import com.JP.dronesim.domain.services.FleetIntegrator;
+import com.JP.dronesim.domain.services.ParallelDetectionService;
+import com.JP.dronesim.domain.services.SimulationEngineService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 仿真配置类
+ * 将不依赖Spring的领域服务注册为Bean
+ */
+@Configuration
+public class SimulationConfig {
+
+    /**
+     * 创建探测线程池（机群运动积分共用），应用关闭时随之关闭
+     * @param properties 探测并行配置
+     * @return 工作窃取线程池
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool detectionPool(SimulationDetectionProperties properties) {
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism() : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * 创建仿真引擎领域服务Bean
+     * 每个空域的执行者持有一台专属引擎（传感器调度、冲突与围栏状态、输入日志都按空域隔离），
+     * 各引擎共用探测线程池
+     * @param detectionPool 探测与运动积分线程池
+     * @param properties 探测并行配置
+     * @return 仿真引擎服务
+     */
+    @Bean
+    @Scope("prototype")
+    public SimulationEngineService simulationEngineService(ForkJoinPool detectionPool,
+                                                           SimulationDetectionProperties properties) {
+        ParallelDetectionService parallelDetection = new ParallelDetectionService(detectionPool);
+        parallelDetection.setParallel(properties.isParallel());
+        return new SimulationEngineService(parallelDetection, new FleetIntegrator(detectionPool));
+    }
+}
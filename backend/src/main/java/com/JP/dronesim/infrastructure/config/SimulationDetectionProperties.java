@@ -0,0 +1,55 @@
+package com.JP.dronesim.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 探测阶段并行配置类
+ * 用于配置各设备探测判定使用的线程池
+ */
+@Configuration
+@ConfigurationProperties(prefix = "simulation.detection")
+public class SimulationDetectionProperties {
+
+    /**
+     * 是否并行执行各设备探测
+     */
+    private boolean parallel = true;
+
+    /**
+     * 探测线程数，0表示使用CPU核数
+     */
+    private int parallelism = 0;
+
+    /**
+     * 是否并行执行各设备探测
+     * @return 是否并行
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * 设置是否并行执行各设备探测
+     * @param parallel 是否并行
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * 获取探测线程数
+     * @return 探测线程数
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 设置探测线程数
+     * @param parallelism 探测线程数，0表示使用CPU核数
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
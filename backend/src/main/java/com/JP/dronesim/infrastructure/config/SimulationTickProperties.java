@@ -0,0 +1,56 @@
+package com.JP.dronesim.infrastructure.config;
+
+import com.JP.dronesim.domain.common.enums.TickOverrunPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 实时仿真驱动配置类
+ * 用于配置固定频率驱动的帧超时处理方式
+ */
+@Configuration
+@ConfigurationProperties(prefix = "simulation.tick")
+public class SimulationTickProperties {
+
+    /**
+     * 帧超时处理策略
+     */
+    private TickOverrunPolicy overrunPolicy = TickOverrunPolicy.CATCH_UP;
+
+    /**
+     * 追赶策略下一次最多连续执行的落后帧数，超出部分按跳过处理
+     */
+    private int maxCatchUpTicks = 5;
+
+    /**
+     * 获取帧超时处理策略
+     * @return 帧超时处理策略
+     */
+    public TickOverrunPolicy getOverrunPolicy() {
+        return overrunPolicy;
+    }
+
+    /**
+     * 设置帧超时处理策略
+     * @param overrunPolicy 帧超时处理策略
+     */
+    public void setOverrunPolicy(TickOverrunPolicy overrunPolicy) {
+        this.overrunPolicy = overrunPolicy;
+    }
+
+    /**
+     * 获取最大追赶帧数
+     * @return 最大追赶帧数
+     */
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    /**
+     * 设置最大追赶帧数
+     * @param maxCatchUpTicks 最大追赶帧数
+     */
+    public void setMaxCatchUpTicks(int maxCatchUpTicks) {
+        this.maxCatchUpTicks = maxCatchUpTicks;
+    }
+}
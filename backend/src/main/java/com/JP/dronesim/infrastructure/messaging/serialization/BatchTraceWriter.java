@@ -0,0 +1,439 @@
+package com.JP.dronesim.infrastructure.messaging.serialization;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.ConflictLog;
+import com.JP.dronesim.domain.airspace.model.GeofenceLog;
+import com.JP.dronesim.domain.airspace.model.events.ConflictEvent;
+import com.JP.dronesim.domain.airspace.model.events.GeofenceEvent;
+import com.JP.dronesim.domain.common.enums.ConflictType;
+import com.JP.dronesim.domain.common.enums.GeofenceEventType;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.DetectionLog;
+import com.JP.dronesim.domain.device.model.events.DetectionEvent;
+import com.JP.dronesim.domain.services.BatchRunResult;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量仿真结果写出器
+ * 以MessagePack流的形式写出批量运行结果：首条记录为描述文件格式的头部映射，
+ * 其后每条记录为首元素是记录类型的数组。实体ID在首次出现时以ID记录登记序号，
+ * 后续记录只引用序号；坐标、距离等以float32写出，控制文件体积。
+ * <pre>
+ * [0, 序号, 实体ID]                                   ID登记
+ * [1, 步数, 仿真秒, 序号, x, y, z, 序号, x, y, z, ...]  无人机位置采样
+ * [2, 步数, 设备序号, 无人机序号, 距离, 置信度]          探测事件
+ * [3, 步数, 冲突类型, 序号A, 序号B, 当前距离, 最近距离, 到达最近点时间]  冲突事件
+ * [4, 步数, 围栏事件类型, 无人机序号, 区域序号]         围栏事件
+ * [5, 完成步数, 仿真秒, 实际秒, 加速比, 是否取消]       运行汇总
+ * </pre>
+ * 冲突类型与围栏事件类型以头部中对应代码列表的下标表示。
+ * 事件按各日志的累计计数增量读取；两次读取之间超出日志容量而被淘汰的事件不会写出。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class BatchTraceWriter implements Closeable {
+
+    /**
+     * 文件格式标识
+     */
+    public static final String FORMAT = "dronesim-batch-trace";
+
+    /**
+     * 文件格式版本
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * ID登记记录
+     */
+    public static final int RECORD_ID = 0;
+
+    /**
+     * 位置采样记录
+     */
+    public static final int RECORD_SAMPLE = 1;
+
+    /**
+     * 探测事件记录
+     */
+    public static final int RECORD_DETECTION = 2;
+
+    /**
+     * 冲突事件记录
+     */
+    public static final int RECORD_CONFLICT = 3;
+
+    /**
+     * 围栏事件记录
+     */
+    public static final int RECORD_GEOFENCE = 4;
+
+    /**
+     * 运行汇总记录
+     */
+    public static final int RECORD_SUMMARY = 5;
+
+    /**
+     * 输出缓冲区大小（字节）
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * MessagePack打包器
+     */
+    private final MessagePacker packer;
+
+    /**
+     * 实体ID到序号的映射
+     */
+    private final Map<String, Integer> idTable = new HashMap<>();
+
+    /**
+     * 各设备探测日志的已读取累计计数
+     */
+    private final Map<String, Long> detectionCursors = new HashMap<>();
+
+    /**
+     * 冲突日志的已读取累计计数
+     */
+    private long conflictCursor;
+
+    /**
+     * 围栏日志的已读取累计计数
+     */
+    private long geofenceCursor;
+
+    /**
+     * 采样缓冲：无人机序号
+     */
+    private int[] sampleIds = new int[16];
+
+    /**
+     * 采样缓冲：无人机坐标（每架3个）
+     */
+    private float[] sampleCoords = new float[48];
+
+    /**
+     * 当前采样的无人机数
+     */
+    private int sampleCount;
+
+    /**
+     * 已写出记录数（不含头部）
+     */
+    private long recordCount;
+
+    /**
+     * 构造函数
+     *
+     * @param path 输出文件路径，父目录不存在时自动创建
+     * @throws IOException 文件创建失败
+     */
+    public BatchTraceWriter(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("输出路径不能为空");
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.packer = MessagePack.newDefaultPacker(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+    }
+
+    /**
+     * 写出头部，并将各日志的读取位置对齐到当前累计计数（只写出批量运行期间产生的事件）
+     *
+     * @param airspace 空域
+     * @param maxSteps 最大步数
+     * @param horizonSeconds 仿真时长上限（秒）
+     * @param sampleInterval 位置采样间隔（步）
+     * @throws IOException 写出失败
+     */
+    public void writeHeader(Airspace airspace, long maxSteps, double horizonSeconds, int sampleInterval)
+            throws IOException {
+        packer.packMapHeader(9);
+        packer.packString("format").packString(FORMAT);
+        packer.packString("version").packInt(VERSION);
+        packer.packString("airspaceId").packString(airspace.getId());
+        packer.packString("stepSize").packDouble(airspace.getTimeStep().getStepSize());
+        packer.packString("startElapsed").packDouble(airspace.getTimeStep().getElapsedTime());
+        packer.packString("maxSteps").packLong(maxSteps);
+        packer.packString("horizonSeconds").packDouble(horizonSeconds);
+        packer.packString("sampleInterval").packInt(sampleInterval);
+        packer.packString("codes").packMapHeader(2);
+        packer.packString("conflictType");
+        packer.packArrayHeader(ConflictType.values().length);
+        for (ConflictType type : ConflictType.values()) {
+            packer.packString(type.getCode());
+        }
+        packer.packString("geofenceEventType");
+        packer.packArrayHeader(GeofenceEventType.values().length);
+        for (GeofenceEventType type : GeofenceEventType.values()) {
+            packer.packString(type.getCode());
+        }
+
+        for (AbstractProbeDevice device : airspace.getProbeDevices().values()) {
+            detectionCursors.put(device.getId(), device.getDetectionLog().getTotalEventCount());
+        }
+        conflictCursor = airspace.getConflictLog().getTotalEventCount();
+        geofenceCursor = airspace.getGeofenceLog().getTotalEventCount();
+    }
+
+    /**
+     * 写出一步的新增事件，需要时写出位置采样
+     *
+     * @param step 步数
+     * @param airspace 空域
+     * @param sample 是否写出位置采样
+     * @throws IOException 写出失败
+     */
+    public void writeStep(long step, Airspace airspace, boolean sample) throws IOException {
+        if (sample) {
+            writeSample(step, airspace);
+        }
+        writeDetections(step, airspace);
+        writeConflicts(step, airspace.getConflictLog());
+        writeGeofenceEvents(step, airspace.getGeofenceLog());
+    }
+
+    /**
+     * 写出运行汇总
+     *
+     * @param result 运行结果
+     * @throws IOException 写出失败
+     */
+    public void writeSummary(BatchRunResult result) throws IOException {
+        packer.packArrayHeader(6);
+        packer.packInt(RECORD_SUMMARY);
+        packer.packLong(result.getSteps());
+        packer.packDouble(result.getSimulatedSeconds());
+        packer.packDouble(result.getWallSeconds());
+        packer.packDouble(result.getSimSecondsPerWallSecond());
+        packer.packBoolean(result.isCancelled());
+        recordCount++;
+    }
+
+    /**
+     * 获取已写出记录数
+     *
+     * @return 记录数（不含头部）
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        packer.close();
+    }
+
+    /**
+     * 写出无人机位置采样
+     *
+     * @param step 步数
+     * @param airspace 空域
+     * @throws IOException 写出失败
+     */
+    private void writeSample(long step, Airspace airspace) throws IOException {
+        // 先收集并登记ID，ID记录必须位于引用它的采样记录之前
+        sampleCount = 0;
+        IOException[] failure = new IOException[1];
+        airspace.forEachUAV((uav, handle) -> {
+            if (failure[0] != null) {
+                return;
+            }
+            try {
+                collectSample(intern(uav.getId()), uav.getPosition());
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+
+        packer.packArrayHeader(3 + sampleCount * 4);
+        packer.packInt(RECORD_SAMPLE);
+        packer.packLong(step);
+        packer.packDouble(airspace.getTimeStep().getElapsedTime());
+        for (int i = 0; i < sampleCount; i++) {
+            packer.packInt(sampleIds[i]);
+            packer.packFloat(sampleCoords[i * 3]);
+            packer.packFloat(sampleCoords[i * 3 + 1]);
+            packer.packFloat(sampleCoords[i * 3 + 2]);
+        }
+        recordCount++;
+    }
+
+    /**
+     * 加入一架无人机的采样，缓冲区不足时扩容
+     *
+     * @param id 无人机序号
+     * @param position 位置
+     */
+    private void collectSample(int id, Position position) {
+        if (sampleCount == sampleIds.length) {
+            sampleIds = Arrays.copyOf(sampleIds, sampleCount * 2);
+            sampleCoords = Arrays.copyOf(sampleCoords, sampleCount * 6);
+        }
+        sampleIds[sampleCount] = id;
+        sampleCoords[sampleCount * 3] = toFloat32(position.getX());
+        sampleCoords[sampleCount * 3 + 1] = toFloat32(position.getY());
+        sampleCoords[sampleCount * 3 + 2] = toFloat32(position.getZ());
+        sampleCount++;
+    }
+
+    /**
+     * 写出各设备新增的探测事件
+     *
+     * @param step 步数
+     * @param airspace 空域
+     * @throws IOException 写出失败
+     */
+    private void writeDetections(long step, Airspace airspace) throws IOException {
+        for (AbstractProbeDevice device : airspace.getProbeDevices().values()) {
+            DetectionLog log = device.getDetectionLog();
+            long total = log.getTotalEventCount();
+            long cursor = detectionCursors.getOrDefault(device.getId(), 0L);
+            if (total == cursor) {
+                continue;
+            }
+            detectionCursors.put(device.getId(), total);
+            int deviceId = intern(device.getId());
+            for (DetectionEvent event : log.getLatestEvents(newEventCount(total, cursor))) {
+                int uavId = intern(event.getDetectedUavId());
+                packer.packArrayHeader(6);
+                packer.packInt(RECORD_DETECTION);
+                packer.packLong(step);
+                packer.packInt(deviceId);
+                packer.packInt(uavId);
+                packFloat32(event.getDetectionDistance());
+                packFloat32(event.getConfidence());
+                recordCount++;
+            }
+        }
+    }
+
+    /**
+     * 写出新增的冲突事件
+     *
+     * @param step 步数
+     * @param log 冲突日志
+     * @throws IOException 写出失败
+     */
+    private void writeConflicts(long step, ConflictLog log) throws IOException {
+        long total = log.getTotalEventCount();
+        if (total == conflictCursor) {
+            return;
+        }
+        List<ConflictEvent> events = log.getLatestEvents(newEventCount(total, conflictCursor));
+        conflictCursor = total;
+        for (ConflictEvent event : events) {
+            int uavA = intern(event.getUavIdA());
+            int uavB = intern(event.getUavIdB());
+            packer.packArrayHeader(8);
+            packer.packInt(RECORD_CONFLICT);
+            packer.packLong(step);
+            packer.packInt(event.getConflictType().ordinal());
+            packer.packInt(uavA);
+            packer.packInt(uavB);
+            packFloat32(event.getCurrentDistance());
+            packFloat32(event.getMinimumDistance());
+            packFloat32(event.getTimeToClosestApproach());
+            recordCount++;
+        }
+    }
+
+    /**
+     * 写出新增的围栏事件
+     *
+     * @param step 步数
+     * @param log 围栏日志
+     * @throws IOException 写出失败
+     */
+    private void writeGeofenceEvents(long step, GeofenceLog log) throws IOException {
+        long total = log.getTotalEventCount();
+        if (total == geofenceCursor) {
+            return;
+        }
+        List<GeofenceEvent> events = log.getLatestEvents(newEventCount(total, geofenceCursor));
+        geofenceCursor = total;
+        for (GeofenceEvent event : events) {
+            int uavId = intern(event.getUavId());
+            int zoneId = intern(event.getZoneId());
+            packer.packArrayHeader(5);
+            packer.packInt(RECORD_GEOFENCE);
+            packer.packLong(step);
+            packer.packInt(event.getEventType().ordinal());
+            packer.packInt(uavId);
+            packer.packInt(zoneId);
+            recordCount++;
+        }
+    }
+
+    /**
+     * 计算两次读取之间的新增事件数
+     *
+     * @param total 当前累计计数
+     * @param cursor 已读取累计计数
+     * @return 新增事件数
+     */
+    private static int newEventCount(long total, long cursor) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, total - cursor));
+    }
+
+    /**
+     * 以float32写出实数
+     *
+     * @param value 实数
+     * @throws IOException 写出失败
+     */
+    private void packFloat32(double value) throws IOException {
+        packer.packFloat(toFloat32(value));
+    }
+
+    /**
+     * 按文件格式把实数收窄为float32（全文件唯一的收窄点）
+     *
+     * @param value 实数
+     * @return float32值
+     */
+    private static float toFloat32(double value) {
+        return (float) value;
+    }
+
+    /**
+     * 获取实体ID的序号，首次出现时写出ID登记记录
+     *
+     * @param id 实体ID
+     * @return 序号
+     * @throws IOException 写出失败
+     */
+    private int intern(String id) throws IOException {
+        Integer index = idTable.get(id);
+        if (index != null) {
+            return index;
+        }
+        int next = idTable.size();
+        idTable.put(id, next);
+        packer.packArrayHeader(3);
+        packer.packInt(RECORD_ID);
+        packer.packInt(next);
+        packer.packString(id);
+        recordCount++;
+        return next;
+    }
+}
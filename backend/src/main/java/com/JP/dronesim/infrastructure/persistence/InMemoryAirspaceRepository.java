@@ -0,0 +1,78 @@
+package com.JP.dronesim.infrastructure.persistence;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.repository.IAirspaceRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 内存空域仓储
+ * 空域聚合常驻内存，按空域ID保存在进程内；空域的并发访问由各空域的执行者串行化，
+ * 仓储只保证登记表本身的线程安全
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+@Repository
+public class InMemoryAirspaceRepository implements IAirspaceRepository {
+
+    /**
+     * 已登记的空域（键为空域ID，按首次保存顺序）
+     */
+    private final Map<String, Airspace> airspaces = new LinkedHashMap<>();
+
+    /**
+     * 默认空域ID
+     */
+    private String defaultId;
+
+    @Override
+    public synchronized Airspace save(Airspace airspace) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+        if (airspaces.put(airspace.getId(), airspace) == null) {
+            defaultId = airspace.getId();
+        }
+        return airspace;
+    }
+
+    @Override
+    public synchronized Optional<Airspace> find() {
+        return Optional.ofNullable(defaultId != null ? airspaces.get(defaultId) : null);
+    }
+
+    @Override
+    public synchronized Airspace findById(String airspaceId) {
+        return airspaceId != null ? airspaces.get(airspaceId) : null;
+    }
+
+    @Override
+    public synchronized boolean existsById(String airspaceId) {
+        return airspaceId != null && airspaces.containsKey(airspaceId);
+    }
+
+    @Override
+    public synchronized List<Airspace> findAll() {
+        return new ArrayList<>(airspaces.values());
+    }
+
+    @Override
+    public synchronized boolean deleteById(String airspaceId) {
+        if (airspaceId == null || airspaces.remove(airspaceId) == null) {
+            return false;
+        }
+        if (airspaceId.equals(defaultId)) {
+            defaultId = null;
+            for (String id : airspaces.keySet()) {
+                defaultId = id;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,396 @@
+package com.JP.dronesim.infrastructure.scheduling;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.services.SimulationEngineService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 空域执行者
+ * 独占一个空域及其仿真引擎，命令与仿真帧都投递到执行者的信箱，按投递顺序逐条执行，
+ * 同一时刻至多一个线程访问该空域。执行者不占用专属线程：信箱非空时把自己提交到共享工作线程池，
+ * 每轮执行不超过一个时间片即让出，排到池队列末尾，多个空域因此轮流分享CPU。
+ * 长时间的独占操作（如批量仿真）用{@link #runExclusive}在调用方线程上执行，期间投递的命令排队等待。
+ * 每轮的占用时间、排队等待时间与信箱长度按空域注册到Micrometer
+ */
+public final class AirspaceActor {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(AirspaceActor.class);
+
+    /**
+     * 当前线程正在执行的执行者（用于识别重入调用）
+     */
+    private static final ThreadLocal<AirspaceActor> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 空域
+     */
+    private final Airspace airspace;
+
+    /**
+     * 空域专属的仿真引擎
+     */
+    private final SimulationEngineService engine;
+
+    /**
+     * 共享工作线程池
+     */
+    private final Executor workers;
+
+    /**
+     * 每轮时间片（纳秒）
+     */
+    private final long sliceNanos;
+
+    /**
+     * 信箱
+     */
+    private final ConcurrentLinkedQueue<Message> mailbox = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 信箱长度
+     */
+    private final AtomicInteger mailboxSize = new AtomicInteger();
+
+    /**
+     * 是否已提交到工作线程池（每个执行者至多一轮在排队或执行）
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * 空域的所有权，执行一轮或独占操作时持有
+     */
+    private final ReentrantLock ownership = new ReentrantLock();
+
+    /**
+     * 累计占用时间（纳秒）
+     */
+    private final AtomicLong busyNanos = new AtomicLong();
+
+    /**
+     * 已执行消息数
+     */
+    private final AtomicLong processed = new AtomicLong();
+
+    /**
+     * 执行轮数
+     */
+    private final AtomicLong turns = new AtomicLong();
+
+    /**
+     * 执行者创建时刻（纳秒）
+     */
+    private final long createdNanos = System.nanoTime();
+
+    /**
+     * 消息从投递到开始执行的等待时间
+     */
+    private final Timer queueWaitTimer;
+
+    /**
+     * 执行失败的消息数
+     */
+    private final Counter failedCounter;
+
+    /**
+     * 累计占用时间指标
+     */
+    private final FunctionCounter busyCounter;
+
+    /**
+     * 信箱长度指标
+     */
+    private final Gauge mailboxGauge;
+
+    /**
+     * 构造函数
+     * @param airspace 空域
+     * @param engine 空域专属的仿真引擎
+     * @param workers 共享工作线程池
+     * @param sliceNanos 每轮时间片（纳秒）
+     * @param meterRegistry 指标注册表
+     */
+    AirspaceActor(Airspace airspace, SimulationEngineService engine, Executor workers, long sliceNanos,
+                  MeterRegistry meterRegistry) {
+        this.airspace = airspace;
+        this.engine = engine;
+        this.workers = workers;
+        this.sliceNanos = sliceNanos;
+        String id = airspace.getId();
+        this.queueWaitTimer = Timer.builder("simulation.cell.queue.wait")
+                .description("空域命令从投递到开始执行的等待时间").tag("airspace", id).register(meterRegistry);
+        this.failedCounter = Counter.builder("simulation.cell.failed")
+                .description("执行失败的空域命令数").tag("airspace", id).register(meterRegistry);
+        this.busyCounter = FunctionCounter.builder("simulation.cell.busy", busyNanos, busy -> busy.get() / 1e9)
+                .description("空域占用工作线程的累计时间").baseUnit("seconds").tag("airspace", id)
+                .register(meterRegistry);
+        this.mailboxGauge = Gauge.builder("simulation.cell.mailbox", mailboxSize, AtomicInteger::get)
+                .description("空域信箱中待执行的命令数").tag("airspace", id).register(meterRegistry);
+    }
+
+    /**
+     * 投递命令，不等待执行
+     * 命令抛出的异常只计数，不传播
+     * @param command 命令
+     */
+    public void tell(Runnable command) {
+        if (command == null) {
+            throw new IllegalArgumentException("命令不能为空");
+        }
+        mailbox.add(new Message(command, System.nanoTime()));
+        mailboxSize.incrementAndGet();
+        schedule();
+    }
+
+    /**
+     * 投递命令并返回其结果的Future
+     * @param command 命令（在执行者上以空域专属引擎执行）
+     * @param <T> 结果类型
+     * @return 结果
+     */
+    public <T> CompletableFuture<T> ask(Function<SimulationEngineService, T> command) {
+        if (command == null) {
+            throw new IllegalArgumentException("命令不能为空");
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        tell(() -> {
+            try {
+                future.complete(command.apply(engine));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 投递命令并等待结果
+     * 已在本执行者上执行时（命令内部再次调用）直接执行，避免自等待
+     * @param command 命令
+     * @param <T> 结果类型
+     * @return 结果
+     */
+    public <T> T call(Function<SimulationEngineService, T> command) {
+        if (CURRENT.get() == this) {
+            return command.apply(engine);
+        }
+        try {
+            return ask(command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 在调用方线程上独占执行命令
+     * 等待当前一轮结束后取得空域的所有权，期间投递的命令排队，结束后继续执行。
+     * 适用于批量仿真等长时间操作，避免长期占住共享工作线程
+     * @param command 命令
+     * @param <T> 结果类型
+     * @return 结果
+     */
+    public <T> T runExclusive(Function<SimulationEngineService, T> command) {
+        if (CURRENT.get() == this) {
+            return command.apply(engine);
+        }
+        ownership.lock();
+        CURRENT.set(this);
+        long start = System.nanoTime();
+        try {
+            return command.apply(engine);
+        } finally {
+            busyNanos.addAndGet(System.nanoTime() - start);
+            CURRENT.remove();
+            ownership.unlock();
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * 信箱非空且尚未提交时，提交一轮执行到工作线程池
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            workers.execute(this::runTurn);
+        }
+    }
+
+    /**
+     * 执行一轮：至少执行一条消息，用完时间片或信箱为空后让出
+     */
+    private void runTurn() {
+        if (!ownership.tryLock()) {
+            // 独占操作进行中，由其结束时重新提交
+            scheduled.set(false);
+            if (!ownership.isLocked() && !mailbox.isEmpty()) {
+                schedule();
+            }
+            return;
+        }
+        CURRENT.set(this);
+        long start = System.nanoTime();
+        try {
+            long now = start;
+            Message message;
+            while ((message = mailbox.poll()) != null) {
+                mailboxSize.decrementAndGet();
+                queueWaitTimer.record(now - message.enqueuedNanos, TimeUnit.NANOSECONDS);
+                try {
+                    message.command.run();
+                } catch (RuntimeException e) {
+                    failedCounter.increment();
+                    log.warn("空域 {} 命令执行失败", airspace.getId(), e);
+                }
+                processed.incrementAndGet();
+                now = System.nanoTime();
+                if (now - start >= sliceNanos) {
+                    break;
+                }
+            }
+        } finally {
+            busyNanos.addAndGet(System.nanoTime() - start);
+            turns.incrementAndGet();
+            CURRENT.remove();
+            ownership.unlock();
+            scheduled.set(false);
+        }
+        if (!mailbox.isEmpty()) {
+            // 重新排到池队列末尾，其他空域先执行
+            schedule();
+        }
+    }
+
+    /**
+     * 获取信箱中待执行的命令数
+     * @return 命令数
+     */
+    public int getMailboxSize() {
+        return mailboxSize.get();
+    }
+
+    /**
+     * 获取累计占用时间
+     * @return 占用时间（纳秒）
+     */
+    public long getBusyNanos() {
+        return busyNanos.get();
+    }
+
+    /**
+     * 获取执行者存在的时长
+     * @return 时长（纳秒）
+     */
+    public long getAgeNanos() {
+        return System.nanoTime() - createdNanos;
+    }
+
+    /**
+     * 获取已执行消息数
+     * @return 消息数
+     */
+    public long getProcessedCount() {
+        return processed.get();
+    }
+
+    /**
+     * 获取执行轮数
+     * @return 轮数
+     */
+    public long getTurnCount() {
+        return turns.get();
+    }
+
+    /**
+     * 获取执行失败的消息数
+     * @return 失败数
+     */
+    public long getFailedCount() {
+        return Math.round(failedCounter.count());
+    }
+
+    /**
+     * 获取平均排队等待时间
+     * @return 等待时间（毫秒）
+     */
+    public double getMeanQueueWaitMillis() {
+        return queueWaitTimer.mean(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 获取最大排队等待时间
+     * @return 等待时间（毫秒）
+     */
+    public double getMaxQueueWaitMillis() {
+        return queueWaitTimer.max(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 从注册表注销本执行者的指标
+     * @param meterRegistry 指标注册表
+     */
+    void removeMeters(MeterRegistry meterRegistry) {
+        List<Meter> meters = Arrays.asList(queueWaitTimer, failedCounter, busyCounter, mailboxGauge);
+        for (Meter meter : meters) {
+            meterRegistry.remove(meter);
+        }
+    }
+
+    // ================ Getters ================
+
+    public Airspace getAirspace() { return airspace; }
+    public SimulationEngineService getEngine() { return engine; }
+
+    /**
+     * 信箱消息
+     */
+    private static final class Message {
+
+        /**
+         * 命令
+         */
+        private final Runnable command;
+
+        /**
+         * 投递时刻（纳秒）
+         */
+        private final long enqueuedNanos;
+
+        /**
+         * 构造函数
+         * @param command 命令
+         * @param enqueuedNanos 投递时刻
+         */
+        private Message(Runnable command, long enqueuedNanos) {
+            this.command = command;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.JP.dronesim.infrastructure.scheduling;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.repository.IAirspaceRepository;
+import com.JP.dronesim.domain.services.SimulationEngineService;
+import com.JP.dronesim.domain.services.SimulationInput;
+import com.JP.dronesim.infrastructure.config.SimulationCellProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 空域执行者登记表
+ * 为进程内承载的每个空域创建一个执行者和一台专属仿真引擎，所有执行者共享一个固定大小的工作线程池。
+ * 池队列先进先出，执行者每轮用完时间片后重新排到队尾，各空域轮流获得CPU；
+ * 各空域的累计占用时间与占比可用于找出消耗预算的空域
+ */
+@Component
+public class AirspaceActorRegistry {
+
+    /**
+     * 空域仓储
+     */
+    private final IAirspaceRepository airspaceRepository;
+
+    /**
+     * 仿真引擎提供者（每次获取一台新引擎）
+     */
+    private final Supplier<SimulationEngineService> engineProvider;
+
+    /**
+     * 指标注册表
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 共享工作线程池
+     */
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * 每轮时间片（纳秒）
+     */
+    private final long sliceNanos;
+
+    /**
+     * 各空域的执行者（键为空域ID）
+     */
+    private final ConcurrentHashMap<String, AirspaceActor> actors = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     * @param airspaceRepository 空域仓储
+     * @param engineProvider 仿真引擎提供者
+     * @param meterRegistry 指标注册表
+     * @param properties 多空域承载配置
+     */
+    @Autowired
+    public AirspaceActorRegistry(IAirspaceRepository airspaceRepository,
+                                 ObjectProvider<SimulationEngineService> engineProvider,
+                                 MeterRegistry meterRegistry, SimulationCellProperties properties) {
+        this(airspaceRepository, engineProvider::getObject, meterRegistry, properties);
+    }
+
+    /**
+     * 构造函数（以普通提供者创建引擎，不依赖Spring容器时使用）
+     * @param airspaceRepository 空域仓储
+     * @param engineProvider 仿真引擎提供者
+     * @param meterRegistry 指标注册表
+     * @param properties 多空域承载配置
+     */
+    public AirspaceActorRegistry(IAirspaceRepository airspaceRepository,
+                                 Supplier<SimulationEngineService> engineProvider,
+                                 MeterRegistry meterRegistry, SimulationCellProperties properties) {
+        this.airspaceRepository = airspaceRepository;
+        this.engineProvider = engineProvider;
+        this.meterRegistry = meterRegistry;
+        int size = properties.getWorkers() > 0 ? properties.getWorkers() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger index = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sim-cell-" + index.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.sliceNanos = Math.max(1L, (long) (properties.getSliceMillis() * 1e6));
+    }
+
+    /**
+     * 获取空域的执行者，不存在时创建
+     * @param airspaceId 空域ID
+     * @return 执行者
+     */
+    public AirspaceActor actor(String airspaceId) {
+        AirspaceActor actor = airspaceId != null ? actors.get(airspaceId) : null;
+        if (actor != null) {
+            return actor;
+        }
+        Airspace airspace = airspaceRepository.findById(airspaceId);
+        if (airspace == null) {
+            throw new RuntimeException("空域不存在: " + airspaceId);
+        }
+        return actor(airspace);
+    }
+
+    /**
+     * 获取空域的执行者，不存在时创建
+     * @param airspace 空域
+     * @return 执行者
+     */
+    public AirspaceActor actor(Airspace airspace) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+        return actors.computeIfAbsent(airspace.getId(),
+                id -> new AirspaceActor(airspace, engineProvider.get(), workers, sliceNanos, meterRegistry));
+    }
+
+    /**
+     * 在空域的执行者上执行命令并等待结果
+     * @param airspaceId 空域ID
+     * @param command 命令
+     * @param <T> 结果类型
+     * @return 结果
+     */
+    public <T> T call(String airspaceId, Function<SimulationEngineService, T> command) {
+        return actor(airspaceId).call(command);
+    }
+
+    /**
+     * 经空域的执行者施加外部输入（记入该空域的输入日志）
+     * @param airspace 空域
+     * @param type 输入类型
+     * @param description 输入描述
+     * @param input 输入
+     */
+    public void submitInput(Airspace airspace, String type, String description, SimulationInput input) {
+        actor(airspace).call(engine -> {
+            engine.submitInput(airspace, type, description, input);
+            return null;
+        });
+    }
+
+    /**
+     * 移除空域的执行者并注销其指标（空域删除后调用）
+     * @param airspaceId 空域ID
+     */
+    public void remove(String airspaceId) {
+        AirspaceActor actor = airspaceId != null ? actors.remove(airspaceId) : null;
+        if (actor != null) {
+            actor.removeMeters(meterRegistry);
+        }
+    }
+
+    /**
+     * 获取各空域的资源占用统计
+     * 占比为该空域累计占用时间占全部空域之和的比例；利用率为占用时间相对执行者存在时长的比例
+     * @return 每个空域一条统计，按累计占用时间降序
+     */
+    public List<Map<String, Object>> getStatistics() {
+        List<AirspaceActor> snapshot = new ArrayList<>(actors.values());
+        snapshot.sort((a, b) -> Long.compare(b.getBusyNanos(), a.getBusyNanos()));
+        long totalBusy = 0;
+        for (AirspaceActor actor : snapshot) {
+            totalBusy += actor.getBusyNanos();
+        }
+
+        List<Map<String, Object>> statistics = new ArrayList<>(snapshot.size());
+        for (AirspaceActor actor : snapshot) {
+            Airspace airspace = actor.getAirspace();
+            long busy = actor.getBusyNanos();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("airspaceId", airspace.getId());
+            item.put("name", airspace.getName());
+            item.put("state", airspace.getSimulationState().name());
+            item.put("busySeconds", busy / 1e9);
+            item.put("busyShare", totalBusy > 0 ? (double) busy / totalBusy : 0.0);
+            item.put("utilization", (double) busy / Math.max(1L, actor.getAgeNanos()));
+            item.put("processed", actor.getProcessedCount());
+            item.put("turns", actor.getTurnCount());
+            item.put("failed", actor.getFailedCount());
+            item.put("mailbox", actor.getMailboxSize());
+            item.put("meanQueueWaitMillis", actor.getMeanQueueWaitMillis());
+            item.put("maxQueueWaitMillis", actor.getMaxQueueWaitMillis());
+            statistics.add(item);
+        }
+        return statistics;
+    }
+
+    /**
+     * 获取工作线程数
+     * @return 工作线程数
+     */
+    public int getWorkerCount() {
+        return workers.getCorePoolSize();
+    }
+
+    /**
+     * 应用关闭时停止工作线程池
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
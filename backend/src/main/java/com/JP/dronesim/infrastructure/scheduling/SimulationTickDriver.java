@@ -0,0 +1,468 @@
+package com.JP.dronesim.infrastructure.scheduling;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.enums.TickOverrunPolicy;
+import com.JP.dronesim.infrastructure.config.SimulationTickProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 实时仿真驱动
+ * 按TimeStep步长以固定频率为每个运行中的空域投递仿真帧。所有空域共用一个定时线程，
+ * 到达计划时刻时把帧投递到空域的执行者，帧与该空域的其他命令一样串行执行，不同空域并行执行。
+ * 帧的计划时刻由起始时刻加整数倍步长得到，不随单帧执行耗时累积漂移；
+ * 帧执行超时导致落后时按配置的策略追赶或跳过，追赶的帧逐个投递，期间其他空域照常轮转。
+ * 暂停、恢复、停止直接读取空域的SimulationState：暂停时定期检查，
+ * 恢复后以恢复时刻重新对齐节拍，停止后不再投递。
+ * 帧耗时、落后时间、跳过帧数等指标注册到Micrometer，经actuator的metrics/prometheus端点暴露。
+ */
+@Component
+public class SimulationTickDriver {
+
+    /**
+     * 日志记录器
+     */
+    private static final Logger log = LoggerFactory.getLogger(SimulationTickDriver.class);
+
+    /**
+     * 暂停状态下检查状态变化的间隔（纳秒）
+     */
+    private static final long PAUSE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * 空域执行者登记表
+     */
+    private final AirspaceActorRegistry airspaceActors;
+
+    /**
+     * 定时线程，只负责在计划时刻投递帧
+     */
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sim-tick-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 指标注册表
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 驱动配置
+     */
+    private final SimulationTickProperties properties;
+
+    /**
+     * 各空域的驱动循环（键为空域ID）
+     */
+    private final ConcurrentHashMap<String, TickLoop> loops = new ConcurrentHashMap<>();
+
+    /**
+     * 节拍时钟（纳秒），计划时刻与落后时间都按它计算
+     */
+    private final LongSupplier clock;
+
+    /**
+     * 构造函数
+     * @param airspaceActors 空域执行者登记表
+     * @param meterRegistry 指标注册表
+     * @param properties 驱动配置
+     */
+    @Autowired
+    public SimulationTickDriver(AirspaceActorRegistry airspaceActors, MeterRegistry meterRegistry,
+                                SimulationTickProperties properties) {
+        this(airspaceActors, meterRegistry, properties, System::nanoTime);
+    }
+
+    /**
+     * 构造函数（指定节拍时钟，测试中用可控时钟驱动节拍）
+     * @param airspaceActors 空域执行者登记表
+     * @param meterRegistry 指标注册表
+     * @param properties 驱动配置
+     * @param clock 节拍时钟（纳秒）
+     */
+    SimulationTickDriver(AirspaceActorRegistry airspaceActors, MeterRegistry meterRegistry,
+                         SimulationTickProperties properties, LongSupplier clock) {
+        this.airspaceActors = airspaceActors;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * 启动空域的实时驱动
+     * @param airspace 空域（应已处于运行状态）
+     */
+    public void start(Airspace airspace) {
+        if (airspace == null) {
+            throw new IllegalArgumentException("空域不能为空");
+        }
+        loops.compute(airspace.getId(), (id, existing) -> {
+            if (existing != null && !existing.finished) {
+                throw new IllegalStateException("空域已在实时驱动中: " + id);
+            }
+            if (existing != null) {
+                existing.removeMeters();
+            }
+            TickLoop loop = new TickLoop(airspace, airspaceActors.actor(airspace));
+            loop.begin();
+            return loop;
+        });
+    }
+
+    /**
+     * 唤醒暂停中的驱动循环（恢复仿真后调用，使其立即重新对齐节拍）
+     * @param airspaceId 空域ID
+     */
+    public void resume(String airspaceId) {
+        TickLoop loop = loops.get(airspaceId);
+        if (loop != null) {
+            loop.wake();
+        }
+    }
+
+    /**
+     * 停止空域的实时驱动并注销其指标
+     * @param airspaceId 空域ID
+     */
+    public void stop(String airspaceId) {
+        TickLoop loop = loops.remove(airspaceId);
+        if (loop == null) {
+            return;
+        }
+        loop.stopRequested = true;
+        loop.cancelPending();
+        loop.removeMeters();
+    }
+
+    /**
+     * 空域是否处于实时驱动中
+     * @param airspaceId 空域ID
+     * @return 是否驱动中
+     */
+    public boolean isDriving(String airspaceId) {
+        TickLoop loop = loops.get(airspaceId);
+        return loop != null && !loop.finished;
+    }
+
+    /**
+     * 获取空域的驱动统计
+     * @param airspaceId 空域ID
+     * @return 统计信息，未驱动时返回空映射
+     */
+    public Map<String, Object> getStatistics(String airspaceId) {
+        TickLoop loop = loops.get(airspaceId);
+        Map<String, Object> statistics = new HashMap<>();
+        if (loop == null) {
+            return statistics;
+        }
+        statistics.put("ticks", Math.round(loop.tickCounter.count()));
+        statistics.put("skippedTicks", Math.round(loop.skippedCounter.count()));
+        statistics.put("overrunTicks", Math.round(loop.overrunCounter.count()));
+        statistics.put("failedTicks", Math.round(loop.failedCounter.count()));
+        statistics.put("lastLagMillis", loop.lagNanos.get() / 1e6);
+        statistics.put("meanTickMillis", loop.tickTimer.mean(TimeUnit.MILLISECONDS));
+        statistics.put("maxTickMillis", loop.tickTimer.max(TimeUnit.MILLISECONDS));
+        statistics.put("overrunPolicy", properties.getOverrunPolicy().getCode());
+        return statistics;
+    }
+
+    /**
+     * 应用关闭时停止全部驱动循环与定时线程
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (String airspaceId : loops.keySet()) {
+            stop(airspaceId);
+        }
+        timer.shutdownNow();
+    }
+
+    /**
+     * 单个空域的驱动循环
+     * 节拍状态只在空域的执行者上读写，定时线程只负责投递
+     */
+    private final class TickLoop {
+
+        /**
+         * 被驱动的空域
+         */
+        private final Airspace airspace;
+
+        /**
+         * 空域的执行者
+         */
+        private final AirspaceActor actor;
+
+        /**
+         * 是否请求停止
+         */
+        private volatile boolean stopRequested;
+
+        /**
+         * 循环是否已结束
+         */
+        private volatile boolean finished;
+
+        /**
+         * 已排定的下一次投递
+         */
+        private volatile ScheduledFuture<?> pending;
+
+        /**
+         * 当前步长（纳秒）
+         */
+        private long period;
+
+        /**
+         * 下一帧的计划时刻（纳秒）
+         */
+        private long next;
+
+        /**
+         * 是否需要重新对齐节拍
+         */
+        private boolean realign;
+
+        /**
+         * 本轮还需执行的帧数（含追赶帧）
+         */
+        private long ticksToRun;
+
+        /**
+         * 最近一次执行帧时相对计划时刻的落后时间（纳秒）
+         */
+        private final AtomicLong lagNanos = new AtomicLong();
+
+        /**
+         * 帧耗时
+         */
+        private final Timer tickTimer;
+
+        /**
+         * 已执行帧数
+         */
+        private final Counter tickCounter;
+
+        /**
+         * 跳过帧数
+         */
+        private final Counter skippedCounter;
+
+        /**
+         * 耗时超过步长的帧数
+         */
+        private final Counter overrunCounter;
+
+        /**
+         * 执行失败帧数
+         */
+        private final Counter failedCounter;
+
+        /**
+         * 落后时间
+         */
+        private final Gauge lagGauge;
+
+        /**
+         * 构造函数
+         * @param airspace 空域
+         * @param actor 空域的执行者
+         */
+        private TickLoop(Airspace airspace, AirspaceActor actor) {
+            this.airspace = airspace;
+            this.actor = actor;
+            String id = airspace.getId();
+            this.tickTimer = Timer.builder("simulation.tick.duration")
+                    .description("仿真帧执行耗时").tag("airspace", id).register(meterRegistry);
+            this.tickCounter = Counter.builder("simulation.tick.count")
+                    .description("已执行仿真帧数").tag("airspace", id).register(meterRegistry);
+            this.skippedCounter = Counter.builder("simulation.tick.skipped")
+                    .description("因落后被跳过的仿真帧数").tag("airspace", id).register(meterRegistry);
+            this.overrunCounter = Counter.builder("simulation.tick.overrun")
+                    .description("耗时超过步长的仿真帧数").tag("airspace", id).register(meterRegistry);
+            this.failedCounter = Counter.builder("simulation.tick.failed")
+                    .description("执行失败的仿真帧数").tag("airspace", id).register(meterRegistry);
+            this.lagGauge = Gauge.builder("simulation.tick.lag", lagNanos, lag -> lag.get() / 1e9)
+                    .description("最近一帧相对计划时刻的落后时间").baseUnit("seconds")
+                    .tag("airspace", id).register(meterRegistry);
+        }
+
+        /**
+         * 开始驱动，第一帧在一个步长之后
+         */
+        private void begin() {
+            period = periodNanos();
+            next = clock.getAsLong() + period;
+            scheduleAt(next);
+        }
+
+        /**
+         * 立即投递一次检查（恢复仿真时使用）
+         */
+        private void wake() {
+            actor.tell(() -> {
+                cancelPending();
+                onTimer();
+            });
+        }
+
+        /**
+         * 在指定时刻投递一次检查，取代之前排定的投递（每个循环至多一个待投递）
+         * @param deadline 计划时刻（纳秒）
+         */
+        private void scheduleAt(long deadline) {
+            cancelPending();
+            if (stopRequested) {
+                return;
+            }
+            long delay = Math.max(0L, deadline - clock.getAsLong());
+            pending = timer.schedule(() -> actor.tell(this::onTimer), delay, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * 取消已排定的投递
+         */
+        private void cancelPending() {
+            ScheduledFuture<?> future = pending;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        /**
+         * 到达计划时刻（在执行者上执行）：按落后程度确定本轮帧数并执行第一帧
+         */
+        private void onTimer() {
+            if (stopRequested || airspace.isStopped()) {
+                finished = true;
+                return;
+            }
+            if (ticksToRun > 0) {
+                // 追赶中被唤醒，已有帧在信箱中
+                return;
+            }
+            if (!airspace.isRunning()) {
+                // 暂停（或错误）状态下不推进，恢复后重新对齐节拍
+                realign = true;
+                scheduleAt(clock.getAsLong() + PAUSE_POLL_NANOS);
+                return;
+            }
+            long currentPeriod = periodNanos();
+            if (realign || currentPeriod != period) {
+                period = currentPeriod;
+                next = clock.getAsLong() + period;
+                realign = false;
+                scheduleAt(next);
+                return;
+            }
+
+            long now = clock.getAsLong();
+            if (now < next) {
+                scheduleAt(next);
+                return;
+            }
+
+            long lag = now - next;
+            lagNanos.set(lag);
+            long behind = lag / period;
+            ticksToRun = 1;
+            if (behind > 0) {
+                long catchUp = properties.getOverrunPolicy() == TickOverrunPolicy.CATCH_UP
+                        ? Math.min(behind, Math.max(0, properties.getMaxCatchUpTicks())) : 0;
+                long dropped = behind - catchUp;
+                if (dropped > 0) {
+                    skippedCounter.increment(dropped);
+                    next += dropped * period;
+                }
+                ticksToRun += catchUp;
+            }
+            onTick();
+        }
+
+        /**
+         * 执行本轮的一帧（在执行者上执行）；还有追赶帧时重新投递，让其他空域先轮转
+         */
+        private void onTick() {
+            if (stopRequested || airspace.isStopped()) {
+                ticksToRun = 0;
+                finished = true;
+                return;
+            }
+            if (!airspace.isRunning()) {
+                ticksToRun = 0;
+                onTimer();
+                return;
+            }
+            executeTick(period);
+            next += period;
+            ticksToRun--;
+            if (ticksToRun > 0) {
+                actor.tell(this::onTick);
+            } else {
+                scheduleAt(next);
+            }
+        }
+
+        /**
+         * 执行一帧并记录耗时
+         * @param period 步长（纳秒）
+         */
+        private void executeTick(long period) {
+            long start = System.nanoTime();
+            try {
+                actor.getEngine().stepSimulation(airspace, airspace.getTimeStep().getStepSize());
+            } catch (RuntimeException e) {
+                // 单帧失败不终止驱动
+                failedCounter.increment();
+                log.warn("空域 {} 仿真帧执行失败", airspace.getId(), e);
+            }
+            long duration = System.nanoTime() - start;
+            tickTimer.record(duration, TimeUnit.NANOSECONDS);
+            tickCounter.increment();
+            if (duration > period) {
+                overrunCounter.increment();
+            }
+        }
+
+        /**
+         * 当前步长（纳秒）
+         * @return 步长
+         */
+        private long periodNanos() {
+            return Math.max(1L, (long) (airspace.getTimeStep().getStepSize() * 1e9));
+        }
+
+        /**
+         * 从注册表注销本循环的指标
+         */
+        private void removeMeters() {
+            List<Meter> meters = Arrays.asList(tickTimer, tickCounter, skippedCounter, overrunCounter,
+                    failedCounter, lagGauge);
+            for (Meter meter : meters) {
+                meterRegistry.remove(meter);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.JP.dronesim.infrastructure.terrain;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.terrain.VoxelOccupancyGrid;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ESRI ASCII栅格高程图加载器
+ * 读取本地.asc高程文件（ncols/nrows/xllcorner/yllcorner/cellsize/NODATA_value头部，
+ * 数据自北向南逐行排列），转换为空域坐标下的体素占据栅格。
+ * 文件中的x为东向、y为北向，对应空域NED坐标的Y与X。
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+@Component
+public class EsriAsciiGridLoader {
+
+    /**
+     * 加载高程文件并生成覆盖整个空域的地形栅格
+     *
+     * @param file 高程文件路径
+     * @param airspace 目标空域
+     * @param voxelSize 体素边长（米）
+     * @return 体素占据栅格
+     * @throws IOException 读取失败或格式错误
+     */
+    public VoxelOccupancyGrid load(Path file, Airspace airspace, double voxelSize) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            Map<String, Double> header = new HashMap<>();
+            String line;
+            String firstDataLine = null;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                String[] parts = trimmed.split("\\s+");
+                if (parts.length == 2 && Character.isLetter(parts[0].charAt(0))) {
+                    header.put(parts[0].toLowerCase(), Double.parseDouble(parts[1]));
+                } else {
+                    firstDataLine = trimmed;
+                    break;
+                }
+            }
+
+            int columns = requireHeader(header, "ncols").intValue();
+            int rows = requireHeader(header, "nrows").intValue();
+            double cellSize = requireHeader(header, "cellsize");
+            double east = header.containsKey("xllcorner") ? header.get("xllcorner") :
+                    requireHeader(header, "xllcenter") - cellSize / 2;
+            double north = header.containsKey("yllcorner") ? header.get("yllcorner") :
+                    requireHeader(header, "yllcenter") - cellSize / 2;
+            Double noData = header.get("nodata_value");
+
+            // heights[i][j]：i沿北向（由南到北），j沿东向
+            double[][] heights = new double[rows][columns];
+            int row = 0;
+            line = firstDataLine;
+            while (line != null && row < rows) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty()) {
+                    String[] values = trimmed.split("\\s+");
+                    if (values.length != columns) {
+                        throw new IOException("高程文件第" + (row + 1) + "行数据列数不符");
+                    }
+                    double[] target = heights[rows - 1 - row];
+                    for (int j = 0; j < columns; j++) {
+                        double value = Double.parseDouble(values[j]);
+                        target[j] = noData != null && value == noData ? Double.NaN : value;
+                    }
+                    row++;
+                }
+                line = reader.readLine();
+            }
+            if (row < rows) {
+                throw new IOException("高程文件数据行数不足");
+            }
+
+            return VoxelOccupancyGrid.fromHeightmap(heights, north, east, cellSize,
+                    airspace.getMinX(), airspace.getMinY(), airspace.getMinZ(),
+                    airspace.getMaxX(), airspace.getMaxY(), airspace.getMaxZ(), voxelSize);
+        } catch (NumberFormatException e) {
+            throw new IOException("高程文件格式错误: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 读取必需的头部字段
+     *
+     * @param header 头部字段
+     * @param key 字段名（小写）
+     * @return 字段值
+     * @throws IOException 字段缺失
+     */
+    private Double requireHeader(Map<String, Double> header, String key) throws IOException {
+        Double value = header.get(key);
+        if (value == null) {
+            throw new IOException("高程文件缺少头部字段: " + key);
+        }
+        return value;
+    }
+}
@@ -2,6 +2,7 @@ package com.JP.dronesim.interface.rest.controller;
 
 import com.JP.dronesim.application.dtos.request.AirspaceConfigDTO;
 import com.JP.dronesim.application.dtos.request.EnvironmentUpdateParamsDTO;
+import com.JP.dronesim.application.dtos.request.GeofenceZoneDTO;
 import com.JP.dronesim.application.dtos.response.AirspaceDetailsDTO;
 import com.JP.dronesim.application.services.AirspaceManagementAppService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +39,48 @@ public class AirspaceController {
         }
     }
 
+    /**
+     * 获取全部空域
+     *
+     * @return 空域详情列表
+     */
+    @GetMapping("/all")
+    public ResponseEntity<List<AirspaceDetailsDTO>> listAirspaces() {
+        return ResponseEntity.ok(airspaceManagementAppService.listAirspaces());
+    }
+
+    /**
+     * 删除空域（仿真须已停止）
+     *
+     * @param airspaceId 空域ID
+     * @return 删除结果
+     */
+    @DeleteMapping("/{airspaceId}")
+    public ResponseEntity<String> deleteAirspace(@PathVariable String airspaceId) {
+        try {
+            airspaceManagementAppService.deleteAirspace(airspaceId);
+            return ResponseEntity.ok("空域已删除");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 按配置创建空域（成为默认空域，已有空域保留）
+     *
+     * @param config 空域配置
+     * @return 空域详情
+     */
+    @PostMapping
+    public ResponseEntity<AirspaceDetailsDTO> createAirspace(@RequestBody @Valid AirspaceConfigDTO config) {
+        try {
+            AirspaceDetailsDTO airspace = airspaceManagementAppService.createAirspace(config);
+            return ResponseEntity.ok(airspace);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * 更新环境参数
      *
@@ -70,6 +113,84 @@ public class AirspaceController {
         }
     }
 
+    /**
+     * 从本地高程文件加载地形
+     *
+     * @param path ESRI ASCII高程文件路径
+     * @param voxelSize 体素边长（米）
+     * @return 加载结果
+     */
+    @PostMapping("/terrain")
+    public ResponseEntity<String> loadTerrain(@RequestParam String path,
+                                              @RequestParam(defaultValue = "10") double voxelSize) {
+        try {
+            airspaceManagementAppService.loadTerrain(path, voxelSize);
+            return ResponseEntity.ok("地形加载成功");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 移除地形
+     *
+     * @return 移除结果
+     */
+    @DeleteMapping("/terrain")
+    public ResponseEntity<String> clearTerrain() {
+        try {
+            airspaceManagementAppService.clearTerrain();
+            return ResponseEntity.ok("地形已移除");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 添加禁飞区/限飞区
+     *
+     * @param zone 围栏区域参数
+     * @return 创建后的区域
+     */
+    @PostMapping("/geofences")
+    public ResponseEntity<GeofenceZoneDTO> addGeofence(@RequestBody @Valid GeofenceZoneDTO zone) {
+        try {
+            return ResponseEntity.ok(airspaceManagementAppService.addGeofence(zone));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 获取全部禁飞区/限飞区
+     *
+     * @return 区域列表
+     */
+    @GetMapping("/geofences")
+    public ResponseEntity<List<GeofenceZoneDTO>> getGeofences() {
+        try {
+            return ResponseEntity.ok(airspaceManagementAppService.getGeofences());
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * 移除禁飞区/限飞区
+     *
+     * @param zoneId 区域ID
+     * @return 移除结果
+     */
+    @DeleteMapping("/geofences/{zoneId}")
+    public ResponseEntity<String> removeGeofence(@PathVariable String zoneId) {
+        try {
+            airspaceManagementAppService.removeGeofence(zoneId);
+            return ResponseEntity.ok("围栏区域已移除");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * 重置空域
      *
@@ -3,6 +3,7 @@ package com.JP.dronesim.interface.rest.controller;
 import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
 import com.JP.dronesim.application.dtos.request.AdjustDeviceParamDTO;
 import com.JP.dronesim.application.dtos.response.DeviceDetailsDTO;
+import com.JP.dronesim.application.dtos.response.RadarStatusDTO;
 import com.JP.dronesim.application.services.DeviceManagementAppService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -215,4 +216,23 @@ public class DeviceController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * 获取雷达状态与当前航迹
+     *
+     * @param airspaceId 空域ID
+     * @param deviceId 雷达设备ID
+     * @return 雷达状态
+     */
+    @GetMapping("/{deviceId}/radar-status")
+    public ResponseEntity<RadarStatusDTO> getRadarStatus(
+            @PathVariable String airspaceId,
+            @PathVariable String deviceId) {
+        try {
+            RadarStatusDTO status = deviceManagementAppService.getRadarStatus(airspaceId, deviceId);
+            return ResponseEntity.ok(status);
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
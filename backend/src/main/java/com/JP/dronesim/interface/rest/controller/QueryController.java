@@ -1,12 +1,19 @@
 package com.JP.dronesim.interface.rest.controller;
 
+import com.JP.dronesim.application.dtos.response.ConflictEventDTO;
 import com.JP.dronesim.application.dtos.response.EntityStateDTO;
+import com.JP.dronesim.application.dtos.response.GeofenceEventDTO;
 import com.JP.dronesim.application.dtos.response.DetectionLogEntryDTO;
 import com.JP.dronesim.application.services.QueryAppService;
+import com.JP.dronesim.domain.common.enums.ConflictType;
+import com.JP.dronesim.domain.common.enums.EntityCategory;
+import com.JP.dronesim.domain.common.enums.GeofenceEventType;
+import com.JP.dronesim.domain.common.valueobjects.Position;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -123,6 +130,66 @@ public class QueryController {
         }
     }
 
+    /**
+     * 获取无人机冲突事件
+     *
+     * @param airspaceId 空域ID
+     * @param uavId 无人机ID（可选）
+     * @param type 冲突类型（loss/predicted，可选）
+     * @param startTime 开始时间（可选，ISO格式）
+     * @param endTime 结束时间（可选，ISO格式）
+     * @param limit 事件条数限制
+     * @return 冲突事件列表
+     */
+    @GetMapping("/airspace/{airspaceId}/conflicts")
+    public ResponseEntity<List<ConflictEventDTO>> getConflictEvents(
+            @PathVariable String airspaceId,
+            @RequestParam(required = false) String uavId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String startTime,
+            @RequestParam(required = false) String endTime,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            List<ConflictEventDTO> events = queryAppService.getConflictEvents(
+                    uavId,
+                    type == null ? null : ConflictType.fromCode(type),
+                    startTime == null ? null : LocalDateTime.parse(startTime),
+                    endTime == null ? null : LocalDateTime.parse(endTime),
+                    limit);
+            return ResponseEntity.ok(events);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 获取地理围栏进入/离开事件
+     *
+     * @param airspaceId 空域ID
+     * @param uavId 无人机ID（可选）
+     * @param zoneId 区域ID（可选）
+     * @param type 事件类型（entry/exit，可选）
+     * @param violationsOnly 是否只返回进入禁飞区的违规事件
+     * @param limit 事件条数限制
+     * @return 围栏事件列表
+     */
+    @GetMapping("/airspace/{airspaceId}/geofence-events")
+    public ResponseEntity<List<GeofenceEventDTO>> getGeofenceEvents(
+            @PathVariable String airspaceId,
+            @RequestParam(required = false) String uavId,
+            @RequestParam(required = false) String zoneId,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "false") boolean violationsOnly,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            List<GeofenceEventDTO> events = queryAppService.getGeofenceEvents(
+                    uavId, zoneId, type == null ? null : GeofenceEventType.fromCode(type), violationsOnly, limit);
+            return ResponseEntity.ok(events);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * 获取实时探测数据
      *
@@ -214,6 +281,36 @@ public class QueryController {
         }
     }
 
+    /**
+     * 查询距离指定位置最近的k个实体
+     *
+     * @param airspaceId 空域ID
+     * @param x 查询位置X坐标
+     * @param y 查询位置Y坐标
+     * @param z 查询位置Z坐标
+     * @param k 最多返回数量
+     * @param maxDistance 最大距离（米）
+     * @param category 实体类别（uav/device/all）
+     * @return 按距离由近到远排列的实体状态列表
+     */
+    @GetMapping("/airspace/{airspaceId}/nearest")
+    public ResponseEntity<List<EntityStateDTO>> findKNearestEntities(
+            @PathVariable String airspaceId,
+            @RequestParam double x,
+            @RequestParam double y,
+            @RequestParam double z,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(defaultValue = "1000") double maxDistance,
+            @RequestParam(defaultValue = "all") String category) {
+        try {
+            List<EntityStateDTO> results = queryAppService.findKNearestEntities(
+                    new Position(x, y, z), k, maxDistance, EntityCategory.fromCode(category));
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * 搜索实体
      *
@@ -1,6 +1,11 @@
 package com.JP.dronesim.interface.rest.controller;
 
+import com.JP.dronesim.application.dtos.request.BatchRunRequestDTO;
+import com.JP.dronesim.application.dtos.request.MonteCarloRequestDTO;
 import com.JP.dronesim.application.dtos.request.SimulationControlCommandDTO;
+import com.JP.dronesim.application.dtos.response.BatchJobStatusDTO;
+import com.JP.dronesim.application.dtos.response.MonteCarloJobStatusDTO;
+import com.JP.dronesim.application.services.MonteCarloAppService;
 import com.JP.dronesim.application.dtos.response.SimulationStatusDTO;
 import com.JP.dronesim.application.services.SimulationAppService;
 import com.JP.dronesim.domain.airspace.model.Airspace;
@@ -9,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.Map;
 
 /**
  * 仿真控制REST控制器
@@ -24,6 +30,9 @@ public class SimulationController {
     @Autowired
     private SimulationAppService simulationAppService;
 
+    @Autowired
+    private MonteCarloAppService monteCarloAppService;
+
     /**
      * 启动仿真
      *
@@ -141,4 +150,178 @@ public class SimulationController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    /**
+     * 获取实时驱动统计
+     *
+     * @param airspaceId 空域ID
+     * @return 驱动统计
+     */
+    @GetMapping("/{airspaceId}/tick-statistics")
+    public ResponseEntity<Map<String, Object>> getTickStatistics(@PathVariable String airspaceId) {
+        try {
+            return ResponseEntity.ok(simulationAppService.getTickStatistics(airspaceId));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * 获取各空域的资源占用统计
+     *
+     * @return 各空域的占用时间与占比
+     */
+    @GetMapping("/cells")
+    public ResponseEntity<Map<String, Object>> getCellStatistics() {
+        return ResponseEntity.ok(simulationAppService.getCellStatistics());
+    }
+
+    /**
+     * 获取当前仿真会话的输入日志
+     *
+     * @param airspaceId 空域ID
+     * @return 输入日志
+     */
+    @GetMapping("/{airspaceId}/journal")
+    public ResponseEntity<Map<String, Object>> getInputJournal(@PathVariable String airspaceId) {
+        try {
+            return ResponseEntity.ok(simulationAppService.getInputJournal(airspaceId));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * 回放当前仿真会话并与实时结果比对
+     *
+     * @param airspaceId 空域ID
+     * @return 回放结果
+     */
+    @PostMapping("/{airspaceId}/replay")
+    public ResponseEntity<Map<String, Object>> replayJournal(@PathVariable String airspaceId) {
+        try {
+            return ResponseEntity.ok(simulationAppService.replayJournal(airspaceId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 配置无人机冲突检测
+     *
+     * @param airspaceId 空域ID
+     * @param enabled 是否启用
+     * @param separation 最小间隔（米）
+     * @param lookAheadTime 前瞻时间（秒）
+     * @return 配置结果
+     */
+    @PutMapping("/{airspaceId}/conflict-detection")
+    public ResponseEntity<String> configureConflictDetection(
+            @PathVariable String airspaceId,
+            @RequestParam(defaultValue = "true") boolean enabled,
+            @RequestParam(defaultValue = "50") double separation,
+            @RequestParam(defaultValue = "30") double lookAheadTime) {
+        try {
+            simulationAppService.configureConflictDetection(airspaceId, enabled, separation, lookAheadTime);
+            return ResponseEntity.ok("冲突检测配置成功");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 提交批量仿真任务（不受墙钟约束地尽快推进，结果写入文件）
+     *
+     * @param airspaceId 空域ID
+     * @param request 批量仿真请求
+     * @return 任务状态
+     */
+    @PostMapping("/{airspaceId}/batch")
+    public ResponseEntity<BatchJobStatusDTO> submitBatchJob(
+            @PathVariable String airspaceId,
+            @RequestBody @Valid BatchRunRequestDTO request) {
+        try {
+            return ResponseEntity.accepted().body(simulationAppService.submitBatchJob(airspaceId, request));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 查询批量仿真任务进度
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    @GetMapping("/batch/{jobId}")
+    public ResponseEntity<BatchJobStatusDTO> getBatchJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(simulationAppService.getBatchJob(jobId));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * 取消批量仿真任务
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    @DeleteMapping("/batch/{jobId}")
+    public ResponseEntity<BatchJobStatusDTO> cancelBatchJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(simulationAppService.cancelBatchJob(jobId));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * 提交蒙特卡洛仿真任务（以空域当前状态为模板，按随机扰动重复运行并汇总探测统计）
+     *
+     * @param airspaceId 空域ID
+     * @param request 蒙特卡洛仿真请求
+     * @return 任务状态
+     */
+    @PostMapping("/{airspaceId}/monte-carlo")
+    public ResponseEntity<MonteCarloJobStatusDTO> submitMonteCarloJob(
+            @PathVariable String airspaceId,
+            @RequestBody @Valid MonteCarloRequestDTO request) {
+        try {
+            return ResponseEntity.accepted().body(monteCarloAppService.submitJob(airspaceId, request));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 查询蒙特卡洛仿真任务进度与统计结果（运行中返回已完成副本的部分结果）
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    @GetMapping("/monte-carlo/{jobId}")
+    public ResponseEntity<MonteCarloJobStatusDTO> getMonteCarloJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(monteCarloAppService.getJob(jobId));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * 取消蒙特卡洛仿真任务
+     *
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    @DeleteMapping("/monte-carlo/{jobId}")
+    public ResponseEntity<MonteCarloJobStatusDTO> cancelMonteCarloJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(monteCarloAppService.cancelJob(jobId));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
@@ -0,0 +1,271 @@
+package com.JP.dronesim.application.services;
+
+import com.JP.dronesim.application.dtos.request.BatchRunRequestDTO;
+import com.JP.dronesim.application.dtos.response.BatchJobStatusDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.services.SimulationEngineService;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import com.JP.dronesim.domain.uav.model.Waypoint;
+import com.JP.dronesim.infrastructure.config.SimulationCellProperties;
+import com.JP.dronesim.infrastructure.config.SimulationTickProperties;
+import com.JP.dronesim.infrastructure.messaging.serialization.BatchTraceWriter;
+import com.JP.dronesim.infrastructure.persistence.InMemoryAirspaceRepository;
+import com.JP.dronesim.infrastructure.scheduling.AirspaceActorRegistry;
+import com.JP.dronesim.infrastructure.scheduling.SimulationTickDriver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.ArrayValue;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 仿真应用服务批量任务测试
+ * 任务提交后在后台运行，分别以完成、取消（当前步后结束）与失败（结果文件无法创建）告终；
+ * 同一空域同时只能有一个未结束的任务；结果文件名只能落在批量输出目录内
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SimulationAppServiceTest {
+
+    /**
+     * 等待任务结束的超时（毫秒）
+     */
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * 被测服务
+     */
+    private SimulationAppService service;
+
+    /**
+     * 空域执行者登记表
+     */
+    private AirspaceActorRegistry actors;
+
+    /**
+     * 实时仿真驱动
+     */
+    private SimulationTickDriver tickDriver;
+
+    /**
+     * 批量任务使用的空域
+     */
+    private Airspace airspace;
+
+    /**
+     * 测试期间在批量输出目录下创建的路径
+     */
+    private final List<Path> createdPaths = new ArrayList<>();
+
+    /**
+     * 批量输出目录在测试前是否已存在
+     */
+    private boolean outputDirectoryExisted;
+
+    @BeforeEach
+    public void setUp() {
+        InMemoryAirspaceRepository repository = new InMemoryAirspaceRepository();
+        airspace = airspace();
+        repository.save(airspace);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        actors = new AirspaceActorRegistry(repository, SimulationEngineService::new, meterRegistry,
+                new SimulationCellProperties());
+        tickDriver = new SimulationTickDriver(actors, meterRegistry, new SimulationTickProperties());
+
+        service = new SimulationAppService();
+        ReflectionTestUtils.setField(service, "airspaceRepository", repository);
+        ReflectionTestUtils.setField(service, "airspaceActors", actors);
+        ReflectionTestUtils.setField(service, "simulationTickDriver", tickDriver);
+        outputDirectoryExisted = Files.isDirectory(outputDirectory());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        service.shutdownBatchExecutor();
+        tickDriver.shutdown();
+        actors.shutdown();
+        for (Path path : createdPaths) {
+            Files.deleteIfExists(path);
+        }
+        if (!outputDirectoryExisted) {
+            Files.deleteIfExists(outputDirectory());
+        }
+    }
+
+    @Test
+    public void jobCompletesAndWritesTrace() throws Exception {
+        BatchJobStatusDTO submitted = service.submitBatchJob(airspace.getId(), request(20L, "completed"));
+        assertTrue("QUEUED".equals(submitted.getStatus()) || "RUNNING".equals(submitted.getStatus()));
+
+        BatchJobStatusDTO finished = awaitEnd(submitted.getJobId());
+        assertEquals("COMPLETED", finished.getStatus());
+        assertEquals(20L, finished.getCompletedSteps().longValue());
+        assertEquals(10.0, finished.getSimulatedSeconds(), 1e-9);
+        assertEquals(1.0, finished.getProgress(), 0.0);
+        assertNotNull(finished.getEndTime());
+
+        // 文件以汇总记录结束，记录数与任务状态一致
+        Path output = Paths.get(finished.getOutputPath());
+        assertEquals(outputDirectory().resolve("completed.msgpack"), output);
+        ArrayValue summary = lastRecord(output);
+        assertEquals(BatchTraceWriter.RECORD_SUMMARY, summary.get(0).asIntegerValue().toInt());
+        assertEquals(20L, summary.get(1).asIntegerValue().toLong());
+        assertTrue(airspace.isStopped());
+    }
+
+    @Test
+    public void cancelEndsRunningJobAfterCurrentStep() throws Exception {
+        BatchJobStatusDTO submitted = service.submitBatchJob(airspace.getId(),
+                request(1_000_000_000L, "cancelled"));
+        String jobId = submitted.getJobId();
+
+        // 运行中途取消
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (service.getBatchJob(jobId).getCompletedSteps() == 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "任务未开始运行");
+            Thread.sleep(1);
+        }
+        assertEquals("RUNNING", service.cancelBatchJob(jobId).getStatus());
+
+        BatchJobStatusDTO finished = awaitEnd(jobId);
+        assertEquals("CANCELLED", finished.getStatus());
+        assertTrue(finished.getCompletedSteps() > 0);
+        assertTrue(finished.getCompletedSteps() < 1_000_000_000L);
+
+        // 已写出的结果保留，汇总记录标记为取消
+        ArrayValue summary = lastRecord(Paths.get(finished.getOutputPath()));
+        assertEquals(BatchTraceWriter.RECORD_SUMMARY, summary.get(0).asIntegerValue().toInt());
+        assertEquals(finished.getCompletedSteps().longValue(), summary.get(1).asIntegerValue().toLong());
+        assertTrue(summary.get(5).asBooleanValue().getBoolean());
+        assertTrue(airspace.isStopped());
+    }
+
+    @Test
+    public void jobFailsWhenTraceCannotBeCreated() throws Exception {
+        // 结果路径已被目录占用，无法创建文件
+        BatchRunRequestDTO request = request(20L, "occupied");
+        Files.createDirectories(outputDirectory().resolve(request.getOutputFileName()));
+
+        BatchJobStatusDTO finished = awaitEnd(service.submitBatchJob(airspace.getId(), request).getJobId());
+        assertEquals("FAILED", finished.getStatus());
+        assertEquals(0L, finished.getCompletedSteps().longValue());
+        assertNotNull(finished.getErrorMessage());
+        assertTrue(finished.getErrorMessage().startsWith("批量仿真失败"));
+        assertTrue(airspace.isStopped());
+    }
+
+    @Test
+    public void secondJobForSameAirspaceIsRejectedUntilFirstEnds() throws Exception {
+        String first = service.submitBatchJob(airspace.getId(), request(1_000_000_000L, "first")).getJobId();
+        assertThrows(RuntimeException.class,
+                () -> service.submitBatchJob(airspace.getId(), request(20L, "second")));
+
+        service.cancelBatchJob(first);
+        assertEquals("CANCELLED", awaitEnd(first).getStatus());
+        assertEquals("COMPLETED", awaitEnd(
+                service.submitBatchJob(airspace.getId(), request(20L, "second")).getJobId()).getStatus());
+    }
+
+    @Test
+    public void outputFileNameMustStayInOutputDirectory() {
+        assertEquals(outputDirectory().resolve("trace.msgpack"),
+                SimulationAppService.resolveBatchOutputPath("trace.msgpack"));
+        assertThrows(RuntimeException.class, () -> SimulationAppService.resolveBatchOutputPath("../trace.msgpack"));
+        assertThrows(RuntimeException.class, () -> SimulationAppService.resolveBatchOutputPath("sub/trace.msgpack"));
+        assertThrows(RuntimeException.class, () -> SimulationAppService.resolveBatchOutputPath(
+                outputDirectory().resolve("trace.msgpack").toString()));
+        assertThrows(RuntimeException.class, () -> SimulationAppService.resolveBatchOutputPath(".."));
+    }
+
+    /**
+     * 创建批量仿真请求，结果文件在测试结束时删除
+     */
+    private BatchRunRequestDTO request(long maxSteps, String name) {
+        BatchRunRequestDTO request = new BatchRunRequestDTO();
+        request.setMaxSteps(maxSteps);
+        request.setSampleInterval(5);
+        request.setOutputFileName(name + ".msgpack");
+        track(outputDirectory().resolve(name + ".msgpack"));
+        return request;
+    }
+
+    /**
+     * 轮询任务状态直至结束
+     */
+    private BatchJobStatusDTO awaitEnd(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        BatchJobStatusDTO status = service.getBatchJob(jobId);
+        while ("QUEUED".equals(status.getStatus()) || "RUNNING".equals(status.getStatus())) {
+            assertTrue(System.currentTimeMillis() < deadline, "任务未在超时前结束: " + jobId);
+            Thread.sleep(5);
+            status = service.getBatchJob(jobId);
+        }
+        return status;
+    }
+
+    /**
+     * 登记测试结束时删除的路径（先登记的后删除）
+     */
+    private Path track(Path path) {
+        createdPaths.add(0, path);
+        return path;
+    }
+
+    /**
+     * 批量输出目录
+     */
+    private static Path outputDirectory() {
+        return Paths.get("batch-output").toAbsolutePath().normalize();
+    }
+
+    /**
+     * 读取结果文件的最后一条记录
+     */
+    private static ArrayValue lastRecord(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path);
+             MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(in)) {
+            // 跳过头部
+            unpacker.unpackValue();
+            ArrayValue last = null;
+            while (unpacker.hasNext()) {
+                last = unpacker.unpackValue().asArrayValue();
+            }
+            assertNotNull(last);
+            return last;
+        }
+    }
+
+    /**
+     * 一架沿X轴飞行的无人机所在的空域
+     */
+    private static Airspace airspace() {
+        Airspace airspace = new Airspace("batch", 0, 0, 0, 5000, 5000, 1000);
+        airspace.updateTimeStep(0.5);
+        UAV uav = new UAV(airspace.nextEntityId(), "uav", UAVState.createStationary(new Position(100, 100, 100)));
+        uav.setFlightPath(Collections.singletonList(new Waypoint(airspace.nextEntityId(), 0,
+                new Position(4000, 100, 100), 0, 20, 0, Waypoint.WaypointType.NORMAL, null, null, null)));
+        uav.startMission();
+        airspace.addUAV(uav);
+        return airspace;
+    }
+}
@@ -0,0 +1,204 @@
+package com.JP.dronesim.benchmark;
+
+import com.JP.dronesim.domain.airspace.model.EnvironmentParameters;
+import com.JP.dronesim.domain.device.model.radar.RadarLinkBudget;
+import com.JP.dronesim.domain.device.model.radar.RadarParameters;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 雷达链路预算基准测试
+ * 对比逐目标完整计算雷达方程（原实现）、预计算常数后的闭式计算与距离分箱表插值三种信噪比计算方式，
+ * 每次调用为一批随机距离的目标计算信噪比。
+ * 初始化时在作用距离内密集采样校验精度：闭式计算与原实现的差异在浮点舍入量级，
+ * 查表插值的误差不超过{@link RadarLinkBudget#TABLE_TOLERANCE_DB}，超出时基准测试直接失败。
+ * 运行方式：在test类路径下执行本类的main方法
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RadarLinkBudgetBenchmark {
+
+    /**
+     * 每次调用计算的目标数
+     */
+    private static final int TARGETS = 4096;
+
+    /**
+     * 精度校验的采样点数
+     */
+    private static final int ACCURACY_SAMPLES = 1_000_000;
+
+    /**
+     * 闭式计算与原实现的允许差异（dB）
+     */
+    private static final double EXACT_TOLERANCE_DB = 1e-9;
+
+    /**
+     * 目标雷达截面积（平方米）
+     */
+    private static final double RCS = 0.1;
+
+    /**
+     * 探测距离（米）
+     */
+    @Param({"6000", "50000"})
+    private double detectionRange;
+
+    /**
+     * 天气
+     */
+    @Param({"DAY_CLEAR", "RAINY"})
+    private EnvironmentParameters.WeatherType weather;
+
+    /**
+     * 雷达参数
+     */
+    private RadarParameters parameters;
+
+    /**
+     * 环境参数
+     */
+    private EnvironmentParameters environment;
+
+    /**
+     * 闭式计算的链路预算
+     */
+    private RadarLinkBudget exactBudget;
+
+    /**
+     * 查表的链路预算
+     */
+    private RadarLinkBudget tabulatedBudget;
+
+    /**
+     * 目标距离
+     */
+    private double[] ranges;
+
+    /**
+     * 初始化参数、链路预算与目标距离，并校验精度
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        parameters = new RadarParameters(10e9, 1000.0, 30.0, 3.0, 13.0, RadarParameters.ScanPattern.DEGREE_360,
+                1000.0, 1e-6, 3.0, 150000.0, 150.0, 1.0);
+        environment = EnvironmentParameters.of(weather);
+        exactBudget = RadarLinkBudget.create(parameters, environment, detectionRange, 0);
+        tabulatedBudget = RadarLinkBudget.create(parameters, environment, detectionRange,
+                RadarLinkBudget.DEFAULT_TABLE_BINS);
+
+        Random random = new Random(42);
+        ranges = new double[TARGETS];
+        for (int i = 0; i < TARGETS; i++) {
+            ranges[i] = 1.0 + random.nextDouble() * (detectionRange - 1.0);
+        }
+
+        double exactError = 0.0;
+        double tableError = 0.0;
+        for (int i = 0; i <= ACCURACY_SAMPLES; i++) {
+            double range = 1.0 + (detectionRange - 1.0) * i / ACCURACY_SAMPLES;
+            double reference = legacySignalToNoiseRatio(range, RCS, parameters, environment);
+            exactError = Math.max(exactError, Math.abs(exactBudget.exactSignalToNoiseRatio(range, RCS) - reference));
+            tableError = Math.max(tableError, Math.abs(tabulatedBudget.signalToNoiseRatio(range, RCS) - reference));
+        }
+        System.out.printf("%n最大误差：闭式计算 %.3e dB，查表插值 %.3e dB（精确计算区间 < %.1f 米）%n",
+                exactError, tableError, tabulatedBudget.getExactBelow());
+        if (exactError > EXACT_TOLERANCE_DB || tableError > RadarLinkBudget.TABLE_TOLERANCE_DB) {
+            throw new IllegalStateException("链路预算精度超出允许范围");
+        }
+    }
+
+    /**
+     * 原实现：逐目标完整计算雷达方程与大气损耗
+     *
+     * @param blackhole 结果吸收器
+     */
+    @Benchmark
+    public void legacyFormula(Blackhole blackhole) {
+        for (double range : ranges) {
+            blackhole.consume(legacySignalToNoiseRatio(range, RCS, parameters, environment));
+        }
+    }
+
+    /**
+     * 预计算常数后的闭式计算
+     *
+     * @param blackhole 结果吸收器
+     */
+    @Benchmark
+    public void precomputedConstants(Blackhole blackhole) {
+        for (double range : ranges) {
+            blackhole.consume(exactBudget.exactSignalToNoiseRatio(range, RCS));
+        }
+    }
+
+    /**
+     * 距离分箱表插值
+     *
+     * @param blackhole 结果吸收器
+     */
+    @Benchmark
+    public void rangeTable(Blackhole blackhole) {
+        for (double range : ranges) {
+            blackhole.consume(tabulatedBudget.signalToNoiseRatio(range, RCS));
+        }
+    }
+
+    /**
+     * 原实现的信噪比计算，作为对照组与精度基准
+     */
+    private static double legacySignalToNoiseRatio(double range, double rcs, RadarParameters params,
+                                                   EnvironmentParameters environment) {
+        double wavelength = 3e8 / params.getFrequency();
+        double pt = params.getPower();
+        double gt = Math.pow(10, params.getGain() / 10.0);
+        double gr = gt;
+        double r4 = Math.pow(range, 4);
+
+        double k = 1.38e-23;
+        double t = 290.0;
+        double b = 1.0 / params.getPulseWidth();
+        double f = Math.pow(10, params.getNoiseFigure() / 10.0);
+        double pn = k * t * b * f;
+
+        double basicLoss = 0.1 * (range / 1000.0) * Math.sqrt(params.getFrequency() / 1e9);
+        if (environment.isRaining()) {
+            basicLoss *= 2.0;
+        }
+        if (environment.getVisibility() < 1000.0) {
+            basicLoss *= 1.5;
+        }
+        double atmosphericLoss = Math.pow(10, basicLoss / 10.0);
+
+        double snrLinear = (pt * gt * gr * wavelength * wavelength * rcs)
+                / (Math.pow(4 * Math.PI, 3) * r4 * pn * atmosphericLoss);
+        return 10 * Math.log10(snrLinear);
+    }
+
+    /**
+     * 启动基准测试
+     *
+     * @param args 命令行参数
+     * @throws RunnerException 运行失败
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RadarLinkBudgetBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,193 @@
+package com.JP.dronesim.benchmark;
+
+import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.enums.DeviceStatus;
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.device.model.radar.AzimuthArc;
+import com.JP.dronesim.domain.device.model.radar.ElectromagneticRadar;
+import com.JP.dronesim.domain.device.model.radar.RadarParameters;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 雷达波束判定基准测试
+ * 对比原方位扇区索引每次扫描对每个候选目标做的刷新工作（反正切、开方与按ID的哈希查找）
+ * 与当前的波束判定（距离平方与两次叉积）。原索引在刷新之后还要按扇区查询，对照组只计刷新部分，
+ * 是原实现耗时的下界。另测一次完整的固定波束扫描（含波束内目标的雷达方程与航迹关联）作为参照。
+ * 初始化时校验两种判定选出的目标一致，不一致时基准测试直接失败。
+ * 运行方式：在test类路径下执行本类的main方法
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RadarScanBenchmark {
+
+    /**
+     * 候选目标数
+     */
+    @Param({"2000", "20000"})
+    private int targets;
+
+    /**
+     * 波束宽度（度）
+     */
+    @Param({"1.5", "7"})
+    private double beamWidth;
+
+    /**
+     * 空域
+     */
+    private Airspace airspace;
+
+    /**
+     * 固定波束雷达
+     */
+    private ElectromagneticRadar radar;
+
+    /**
+     * 候选目标
+     */
+    private List<UAV> candidates;
+
+    /**
+     * 作用距离（米）
+     */
+    private static final double RANGE = 6000.0;
+
+    /**
+     * 对照组的按ID索引条目（方位、斜距）
+     */
+    private Map<String, double[]> legacyEntries;
+
+    /**
+     * 波束弧段
+     */
+    private AzimuthArc arc;
+
+    /**
+     * 初始化空域、雷达与在作用距离内外随机分布的候选目标
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        airspace = new Airspace("bench", 0, 0, 0, 20000, 20000, 1000);
+        RadarParameters parameters = new RadarParameters(10e9, 1e5, 35.0, 3.0, 5.0, RadarParameters.ScanPattern.FIXED,
+                1000.0, 1e-6, beamWidth, 150000.0, 150.0, 1.0);
+        radar = new ElectromagneticRadar();
+        radar.initialize(new DeviceInitParamsDTO("radar", "radar", DeviceType.RADAR, new Position(10000, 10000, 0),
+                45.0, 0.0, new Orientation(1, 0, 0, 0), RANGE, 360.0, parameters));
+        radar.setStatus(DeviceStatus.ACTIVE);
+
+        Random random = new Random(42);
+        candidates = new ArrayList<>(targets);
+        for (int i = 0; i < targets; i++) {
+            Position position = new Position(random.nextDouble() * 20000, random.nextDouble() * 20000,
+                    -random.nextDouble() * 500);
+            candidates.add(new UAV("u" + i, "u" + i, UAVState.createStationary(position)));
+        }
+        legacyEntries = new HashMap<>();
+        for (UAV uav : candidates) {
+            legacyEntries.put(uav.getId(), new double[2]);
+        }
+        arc = new AzimuthArc(45.0 - beamWidth / 2.0, beamWidth);
+
+        // 原实现：方位角归一化后与弧段起点的差不超过张角，且斜距不超过作用距离
+        Position origin = radar.getPosition();
+        int covered = 0;
+        for (UAV uav : candidates) {
+            double dx = uav.getX() - origin.getX();
+            double dy = uav.getY() - origin.getY();
+            double dz = uav.getZ() - origin.getZ();
+            double azimuth = Math.toDegrees(Math.atan2(dy, dx));
+            boolean expected = Math.sqrt(dx * dx + dy * dy + dz * dz) <= RANGE
+                    && AzimuthArc.normalize(azimuth - (45.0 - beamWidth / 2.0)) <= beamWidth;
+            if (expected != arc.covers(dx, dy, dz, RANGE)) {
+                throw new IllegalStateException("波束判定与原实现不一致: " + uav.getId());
+            }
+            covered += expected ? 1 : 0;
+        }
+        System.out.printf("%n波束内目标 %d / %d%n", covered, targets);
+    }
+
+    /**
+     * 原实现的索引刷新：逐目标计算方位角与斜距并按ID更新条目
+     *
+     * @param blackhole 结果吸收器
+     */
+    @Benchmark
+    public void legacySectorRefresh(Blackhole blackhole) {
+        Position origin = radar.getPosition();
+        for (UAV uav : candidates) {
+            Position target = uav.getPosition();
+            double dx = target.getX() - origin.getX();
+            double dy = target.getY() - origin.getY();
+            double dz = target.getZ() - origin.getZ();
+            double azimuth = Math.toDegrees(Math.atan2(dy, dx));
+            if (azimuth < 0) {
+                azimuth += 360;
+            }
+            double[] entry = legacyEntries.get(uav.getId());
+            entry[0] = azimuth;
+            entry[1] = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            blackhole.consume(entry);
+        }
+    }
+
+    /**
+     * 当前实现的波束判定：逐目标计算距离平方与两次叉积
+     *
+     * @param blackhole 结果吸收器
+     */
+    @Benchmark
+    public void beamGate(Blackhole blackhole) {
+        Position origin = radar.getPosition();
+        double ox = origin.getX(), oy = origin.getY(), oz = origin.getZ();
+        for (UAV uav : candidates) {
+            blackhole.consume(arc.covers(uav.getX() - ox, uav.getY() - oy, uav.getZ() - oz, RANGE));
+        }
+    }
+
+    /**
+     * 参照：一次完整的固定波束扫描
+     *
+     * @param blackhole 结果吸收器
+     */
+    @Benchmark
+    public void fixedBeamScan(Blackhole blackhole) {
+        blackhole.consume(radar.scanArea(airspace, candidates));
+    }
+
+    /**
+     * 启动基准测试
+     *
+     * @param args 命令行参数
+     * @throws RunnerException 运行失败
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RadarScanBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,232 @@
+package com.JP.dronesim.benchmark;
+
+import com.JP.dronesim.domain.airspace.model.SpatialIndex;
+import com.JP.dronesim.domain.common.enums.SpatialIndexType;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实体位置存储基准测试
+ * 对比原先以字符串ID为键的Map存储与整数句柄+列式坐标+空间索引（松散八叉树或均匀网格）的存储，
+ * 每次调用模拟一个仿真步：所有实体移动一次，随后执行若干次半径查询。
+ * 运行方式：在test类路径下执行本类的main方法
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpatialStoreBenchmark {
+
+    /**
+     * 每步执行的查询次数（约等于探测设备数）
+     */
+    private static final int QUERIES_PER_TICK = 32;
+
+    /**
+     * 查询半径（米）
+     */
+    private static final double QUERY_RADIUS = 300.0;
+
+    /**
+     * 实体数量
+     */
+    @Param({"1000", "10000"})
+    private int entityCount;
+
+    /**
+     * 无人机层索引类型
+     */
+    @Param({"OCTREE", "GRID"})
+    private SpatialIndexType indexType;
+
+    /**
+     * 实体ID
+     */
+    private String[] ids;
+
+    /**
+     * 实体句柄
+     */
+    private int[] handles;
+
+    /**
+     * 实体坐标与速度
+     */
+    private double[] x, y, z, vx, vy, vz;
+
+    /**
+     * 查询中心
+     */
+    private Position[] queryCenters;
+
+    /**
+     * 原Map存储
+     */
+    private MapPositionStore mapStore;
+
+    /**
+     * 句柄化空间索引
+     */
+    private SpatialIndex index;
+
+    /**
+     * 初始化实体与存储
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        ids = new String[entityCount];
+        handles = new int[entityCount];
+        x = new double[entityCount];
+        y = new double[entityCount];
+        z = new double[entityCount];
+        vx = new double[entityCount];
+        vy = new double[entityCount];
+        vz = new double[entityCount];
+        mapStore = new MapPositionStore();
+        index = new SpatialIndex(-5000, -5000, -1000, 5000, 5000, 0, indexType, QUERY_RADIUS);
+
+        for (int i = 0; i < entityCount; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            x[i] = random.nextDouble() * 10000 - 5000;
+            y[i] = random.nextDouble() * 10000 - 5000;
+            z[i] = -random.nextDouble() * 1000;
+            vx[i] = random.nextGaussian() * 15;
+            vy[i] = random.nextGaussian() * 15;
+            vz[i] = random.nextGaussian() * 2;
+            Position position = new Position(x[i], y[i], z[i]);
+            mapStore.put(ids[i], position);
+            handles[i] = index.addEntity(ids[i], position);
+        }
+
+        queryCenters = new Position[QUERIES_PER_TICK];
+        for (int i = 0; i < QUERIES_PER_TICK; i++) {
+            queryCenters[i] = new Position(random.nextDouble() * 10000 - 5000,
+                    random.nextDouble() * 10000 - 5000, -random.nextDouble() * 500);
+        }
+    }
+
+    /**
+     * 原Map存储：按ID更新位置，线性扫描做范围查询
+     *
+     * @param blackhole 结果吸收器
+     */
+    @Benchmark
+    public void mapStoreTick(Blackhole blackhole) {
+        for (int i = 0; i < entityCount; i++) {
+            mapStore.put(ids[i], advance(i));
+        }
+        for (Position center : queryCenters) {
+            blackhole.consume(mapStore.queryInRange(center, QUERY_RADIUS));
+        }
+    }
+
+    /**
+     * 空间索引：仍按字符串ID更新位置
+     *
+     * @param blackhole 结果吸收器
+     */
+    @Benchmark
+    public void indexByIdTick(Blackhole blackhole) {
+        for (int i = 0; i < entityCount; i++) {
+            index.updateEntityPosition(ids[i], advance(i));
+        }
+        for (Position center : queryCenters) {
+            blackhole.consume(index.queryInRange(center, QUERY_RADIUS));
+        }
+    }
+
+    /**
+     * 空间索引：按整数句柄更新位置，查询返回句柄
+     *
+     * @param blackhole 结果吸收器
+     */
+    @Benchmark
+    public void indexByHandleTick(Blackhole blackhole) {
+        for (int i = 0; i < entityCount; i++) {
+            index.updateEntityState(handles[i], advance(i), null);
+        }
+        for (Position center : queryCenters) {
+            blackhole.consume(index.queryHandlesInCone(center, 0.0, 0.0, 180.0, QUERY_RADIUS));
+        }
+    }
+
+    /**
+     * 推进一个实体的位置（0.1秒步长，越界反弹）
+     *
+     * @param i 实体下标
+     * @return 新位置
+     */
+    private Position advance(int i) {
+        x[i] += vx[i] * 0.1;
+        y[i] += vy[i] * 0.1;
+        z[i] += vz[i] * 0.1;
+        if (x[i] < -5000 || x[i] > 5000) {
+            vx[i] = -vx[i];
+        }
+        if (y[i] < -5000 || y[i] > 5000) {
+            vy[i] = -vy[i];
+        }
+        if (z[i] < -1000 || z[i] > 0) {
+            vz[i] = -vz[i];
+        }
+        return new Position(x[i], y[i], z[i]);
+    }
+
+    /**
+     * 启动基准测试
+     *
+     * @param args 命令行参数
+     * @throws RunnerException 运行失败
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SpatialStoreBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * 原空间索引的Map存储实现，作为对照组
+     */
+    private static final class MapPositionStore {
+
+        /**
+         * 实体位置映射
+         */
+        private final Map<String, Position> entityPositions = new HashMap<>();
+
+        /**
+         * 写入位置
+         */
+        private void put(String entityId, Position position) {
+            entityPositions.put(entityId, position);
+        }
+
+        /**
+         * 线性扫描范围查询
+         */
+        private List<String> queryInRange(Position center, double radius) {
+            List<String> result = new ArrayList<>();
+            for (Map.Entry<String, Position> entry : entityPositions.entrySet()) {
+                if (center.distanceTo(entry.getValue()) <= radius) {
+                    result.add(entry.getKey());
+                }
+            }
+            return result;
+        }
+    }
+}
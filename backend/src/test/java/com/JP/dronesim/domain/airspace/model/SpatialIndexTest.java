@@ -0,0 +1,382 @@
+package com.JP.dronesim.domain.airspace.model;
+
+import com.JP.dronesim.domain.airspace.model.spatial.ConeShape;
+import com.JP.dronesim.domain.common.enums.EntityCategory;
+import com.JP.dronesim.domain.common.enums.SpatialIndexType;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 空间索引测试
+ * 以随机的增删与移动（含小幅漂移、远距离跳变与越出空域边界）驱动索引，
+ * 每次查询（范围、矩形、圆锥、最近邻与k近邻）都与对全部实体逐个判定的结果比较
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SpatialIndexTest {
+
+    /**
+     * 空域边界
+     */
+    private static final double MIN_X = -1000, MIN_Y = -1000, MIN_Z = 0, MAX_X = 1000, MAX_Y = 1000, MAX_Z = 500;
+
+    @Test
+    public void octreeMatchesBruteForceUnderRandomUpdates() {
+        checkRandomOperations(SpatialIndexType.OCTREE, 0, 1L);
+    }
+
+    @Test
+    public void gridMatchesBruteForceUnderRandomUpdates() {
+        checkRandomOperations(SpatialIndexType.GRID, 0, 1L);
+        // 格子远小于查询半径
+        checkRandomOperations(SpatialIndexType.GRID, 25, 7L);
+    }
+
+    @Test
+    public void octreeKNearestMatchesBruteForce() {
+        checkKNearest(SpatialIndexType.OCTREE, 2L);
+    }
+
+    @Test
+    public void gridKNearestMatchesBruteForce() {
+        checkKNearest(SpatialIndexType.GRID, 2L);
+    }
+
+    @Test
+    public void octreeConeQueryMatchesPointTest() {
+        checkConeQueries(SpatialIndexType.OCTREE, 3L);
+    }
+
+    @Test
+    public void gridConeQueryMatchesPointTest() {
+        checkConeQueries(SpatialIndexType.GRID, 3L);
+    }
+
+    @Test
+    public void kNearestReturnsFewerWhenRadiusIsTight() {
+        SpatialIndex index = new SpatialIndex(MIN_X, MIN_Y, MIN_Z, MAX_X, MAX_Y, MAX_Z);
+        for (int i = 1; i <= 10; i++) {
+            index.addEntity("e" + i, new Position(10.0 * i, 0, 100));
+        }
+        Position origin = new Position(0, 0, 100);
+        assertEquals(List.of("e1", "e2", "e3"), index.findKNearest(origin, 5, 35, null));
+        assertEquals(List.of("e2", "e4"),
+                index.findKNearest(origin, 2, 1000, id -> id.equals("e2") || id.equals("e4")));
+        assertTrue(index.findKNearest(origin, 3, 5, null).isEmpty());
+    }
+
+    @Test
+    public void layersAreQueriedSeparatelyAndMergedForAll() {
+        Random random = new Random(5);
+        SpatialIndex index = new SpatialIndex(MIN_X, MIN_Y, MIN_Z, MAX_X, MAX_Y, MAX_Z);
+        Map<String, Position> uavs = new HashMap<>();
+        Map<String, Position> devices = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            Position position = randomPosition(random);
+            if (i % 5 == 0) {
+                index.addEntity("d" + i, position, EntityCategory.PROBE_DEVICE);
+                devices.put("d" + i, position);
+            } else {
+                index.addEntity("u" + i, position, EntityCategory.UAV);
+                uavs.put("u" + i, position);
+            }
+        }
+        assertEquals(devices.size(), index.getEntityCount(EntityCategory.PROBE_DEVICE));
+        assertEquals(uavs.size(), index.getEntityCount(EntityCategory.UAV));
+
+        Map<String, Position> all = new HashMap<>(uavs);
+        all.putAll(devices);
+        for (int query = 0; query < 200; query++) {
+            Position center = randomPosition(random);
+            double radius = 20 + 400 * random.nextDouble();
+            assertEquals(within(uavs, center, radius),
+                    new HashSet<>(index.queryInRange(center, radius, EntityCategory.UAV)));
+            assertEquals(within(devices, center, radius),
+                    new HashSet<>(index.queryInRange(center, radius, EntityCategory.PROBE_DEVICE)));
+            assertEquals(within(all, center, radius), new HashSet<>(index.queryInRange(center, radius)));
+
+            // 两层的前k个按距离归并
+            int k = 1 + random.nextInt(15);
+            List<Double> expected = new ArrayList<>();
+            for (Position position : all.values()) {
+                double distance = position.distanceTo(center);
+                if (distance <= radius) {
+                    expected.add(distance);
+                }
+            }
+            Collections.sort(expected);
+            List<Double> found = new ArrayList<>();
+            for (String id : index.findKNearest(center, k, radius, null)) {
+                found.add(all.get(id).distanceTo(center));
+            }
+            assertEquals(expected.subList(0, Math.min(k, expected.size())), found);
+        }
+    }
+
+    @Test
+    public void deviceMovesAndLayerChangesAreReflected() {
+        SpatialIndex index = new SpatialIndex(MIN_X, MIN_Y, MIN_Z, MAX_X, MAX_Y, MAX_Z);
+        index.addEntity("radar", new Position(0, 0, 0), EntityCategory.PROBE_DEVICE);
+        assertEquals(List.of("radar"), index.queryInRange(new Position(0, 0, 0), 1, EntityCategory.PROBE_DEVICE));
+
+        index.updateEntityPosition("radar", new Position(500, 0, 0));
+        assertTrue(index.queryInRange(new Position(0, 0, 0), 1).isEmpty());
+        assertEquals(List.of("radar"), index.queryInRange(new Position(500, 0, 0), 1, EntityCategory.PROBE_DEVICE));
+
+        // 以同一ID加入另一层时从原层移出
+        index.addEntity("radar", new Position(500, 0, 0), EntityCategory.UAV);
+        assertEquals(0, index.getEntityCount(EntityCategory.PROBE_DEVICE));
+        assertEquals(List.of("radar"), index.queryInRange(new Position(500, 0, 0), 1, EntityCategory.UAV));
+        assertEquals(1, index.getEntityCount());
+    }
+
+    @Test
+    public void octreeKeepsEntitiesOutsideTheBounds() {
+        SpatialIndex index = new SpatialIndex(MIN_X, MIN_Y, MIN_Z, MAX_X, MAX_Y, MAX_Z);
+        index.addEntity("inside", new Position(0, 0, 100));
+        index.addEntity("outside", new Position(5000, 0, 100));
+        assertFalse(index.contains(new Position(5000, 0, 100)));
+
+        assertEquals(List.of("outside"), index.queryInRange(new Position(5000, 0, 100), 10));
+        index.updateEntityPosition("outside", new Position(10, 0, 100));
+        assertEquals(2, index.queryInRange(new Position(0, 0, 100), 20).size());
+        index.updateEntityPosition("inside", new Position(-9000, -9000, 900));
+        assertEquals("inside", index.findNearest(new Position(-8990, -9000, 900), 50));
+    }
+
+    @Test
+    public void reusedHandleIsIndexedAtItsNewPosition() {
+        SpatialIndex index = new SpatialIndex(MIN_X, MIN_Y, MIN_Z, MAX_X, MAX_Y, MAX_Z);
+        int handle = index.addEntity("old", new Position(100, 100, 100));
+        index.addEntity("other", new Position(0, 0, 0));
+        index.removeEntity("old");
+        assertEquals(-1, index.getHandle("old"));
+
+        assertEquals(handle, index.addEntity("new", new Position(-500, -500, 300)));
+        assertEquals("new", index.getEntityId(handle));
+        assertTrue(index.queryInRange(new Position(100, 100, 100), 10).isEmpty());
+        assertEquals(List.of("new"), index.queryInRange(new Position(-500, -500, 300), 10));
+
+        index.updateEntityState(handle, -400, -500, 300, 10, 0, 0);
+        assertEquals(List.of("new"), index.queryInRange(new Position(-400, -500, 300), 1));
+        assertEquals(10.0, index.getRegistry().vx(handle));
+    }
+
+    @Test
+    public void removedEntitiesAreNotReturned() {
+        SpatialIndex index = new SpatialIndex(MIN_X, MIN_Y, MIN_Z, MAX_X, MAX_Y, MAX_Z);
+        for (int i = 0; i < 200; i++) {
+            index.addEntity("e" + i, new Position(i, 0, 100));
+        }
+        for (int i = 0; i < 200; i += 2) {
+            index.removeEntity("e" + i);
+        }
+        assertEquals(100, index.getEntityCount());
+        assertNull(index.getPosition("e0"));
+        for (String id : index.queryInRange(new Position(100, 0, 100), 500)) {
+            assertEquals(1, Integer.parseInt(id.substring(1)) % 2, id);
+        }
+        index.clear();
+        assertEquals(0, index.getEntityCount());
+        assertTrue(index.queryInRange(new Position(100, 0, 100), 500).isEmpty());
+    }
+
+    /**
+     * 随机操作并与逐个判定比较
+     *
+     * @param type 动态层索引类型
+     * @param gridCellSize 网格边长（米），不大于0时自动选择
+     * @param seed 随机种子
+     */
+    private static void checkRandomOperations(SpatialIndexType type, double gridCellSize, long seed) {
+        Random random = new Random(seed);
+        SpatialIndex index = new SpatialIndex(MIN_X, MIN_Y, MIN_Z, MAX_X, MAX_Y, MAX_Z, type, gridCellSize);
+        Map<String, Position> reference = new HashMap<>();
+        int queries = 0;
+        for (int iteration = 0; iteration < 60_000; iteration++) {
+            int operation = random.nextInt(10);
+            String id = "e" + random.nextInt(1500);
+            Position position = randomPosition(random);
+            if (operation < 3) {
+                index.addEntity(id, position);
+                reference.put(id, position);
+            } else if (operation < 4) {
+                index.removeEntity(id);
+                reference.remove(id);
+            } else if (operation < 8) {
+                Position current = reference.get(id);
+                if (current != null && random.nextInt(4) != 0) {
+                    // 多数移动是小幅漂移，其余为跳变
+                    position = new Position(current.getX() + random.nextGaussian() * 20,
+                            current.getY() + random.nextGaussian() * 20, current.getZ() + random.nextGaussian() * 5);
+                }
+                index.updateEntityPosition(id, position);
+                if (current != null) {
+                    reference.put(id, position);
+                }
+            } else {
+                checkQueries(index, reference, position, 1 + 300 * random.nextDouble());
+                queries++;
+            }
+            assertEquals(reference.size(), index.getEntityCount());
+        }
+        assertTrue(queries > 5_000);
+    }
+
+    /**
+     * 随机布点后以随机的k、最大距离与过滤条件查询最近邻，按距离序列与逐个判定比较
+     *
+     * @param type 动态层索引类型
+     * @param seed 随机种子
+     */
+    private static void checkKNearest(SpatialIndexType type, long seed) {
+        Random random = new Random(seed);
+        SpatialIndex index = new SpatialIndex(MIN_X, MIN_Y, MIN_Z, MAX_X, MAX_Y, MAX_Z, type, 0);
+        Map<String, Position> reference = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            Position position = randomPosition(random);
+            index.addEntity("e" + i, position);
+            reference.put("e" + i, position);
+        }
+        for (int query = 0; query < 2000; query++) {
+            Position center = randomPosition(random);
+            int k = 1 + random.nextInt(20);
+            double maxDistance = 10 + 300 * random.nextDouble();
+            int parity = random.nextInt(2);
+            List<Double> expected = new ArrayList<>();
+            for (Map.Entry<String, Position> entry : reference.entrySet()) {
+                double distance = entry.getValue().distanceTo(center);
+                if (distance <= maxDistance && entry.getKey().length() % 2 == parity) {
+                    expected.add(distance);
+                }
+            }
+            Collections.sort(expected);
+            expected = expected.subList(0, Math.min(k, expected.size()));
+
+            List<Double> found = new ArrayList<>();
+            for (String id : index.findKNearest(center, k, maxDistance, id -> id.length() % 2 == parity)) {
+                found.add(reference.get(id).distanceTo(center));
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    /**
+     * 以随机圆锥查询，与对全部实体逐个做点判定的结果比较（含句柄查询的升序）
+     *
+     * @param type 动态层索引类型
+     * @param seed 随机种子
+     */
+    private static void checkConeQueries(SpatialIndexType type, long seed) {
+        Random random = new Random(seed);
+        SpatialIndex index = new SpatialIndex(MIN_X, MIN_Y, MIN_Z, MAX_X, MAX_Y, MAX_Z, type, 0);
+        Map<String, Position> reference = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            Position position = randomPosition(random);
+            index.addEntity("e" + i, position);
+            reference.put("e" + i, position);
+        }
+        for (int query = 0; query < 300; query++) {
+            Position apex = randomPosition(random);
+            double azimuth = random.nextDouble() * 360;
+            double elevation = random.nextDouble() * 180 - 90;
+            double halfAngle = random.nextInt(4) == 0
+                    ? 0.1 + random.nextDouble() * 179.9 : 0.1 + random.nextDouble() * 10;
+            double range = 1 + random.nextDouble() * 1500;
+            ConeShape cone = new ConeShape(apex.getX(), apex.getY(), apex.getZ(), azimuth, elevation, halfAngle, range);
+            Set<String> expected = new HashSet<>();
+            for (Map.Entry<String, Position> entry : reference.entrySet()) {
+                Position p = entry.getValue();
+                if (cone.containsPoint(p.getX(), p.getY(), p.getZ())) {
+                    expected.add(entry.getKey());
+                }
+            }
+            assertEquals(expected, new HashSet<>(index.queryInCone(apex, azimuth, elevation, halfAngle, range)));
+            int[] handles = index.queryHandlesInCone(apex, azimuth, elevation, halfAngle, range);
+            assertEquals(expected.size(), handles.length);
+            for (int i = 1; i < handles.length; i++) {
+                assertTrue(handles[i - 1] < handles[i], "句柄应按升序排列");
+            }
+        }
+    }
+
+    /**
+     * 比较球形、矩形与最近邻查询
+     */
+    private static void checkQueries(SpatialIndex index, Map<String, Position> reference, Position center,
+                                     double radius) {
+        Set<String> expected = new HashSet<>();
+        String nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (Map.Entry<String, Position> entry : reference.entrySet()) {
+            double distance = entry.getValue().distanceTo(center);
+            if (distance <= radius) {
+                expected.add(entry.getKey());
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearest = entry.getKey();
+                }
+            }
+        }
+        List<String> found = index.queryInRange(center, radius);
+        assertEquals(expected.size(), found.size(), "范围查询返回重复实体");
+        assertEquals(expected, new HashSet<>(found));
+
+        String foundNearest = index.findNearest(center, radius);
+        if (nearest == null) {
+            assertNull(foundNearest);
+        } else {
+            assertEquals(nearestDistance, reference.get(foundNearest).distanceTo(center), 0.0);
+        }
+
+        Set<String> inBox = new HashSet<>();
+        for (Map.Entry<String, Position> entry : reference.entrySet()) {
+            Position p = entry.getValue();
+            if (Math.abs(p.getX() - center.getX()) <= radius && Math.abs(p.getY() - center.getY()) <= radius
+                    && Math.abs(p.getZ() - center.getZ()) <= radius / 4) {
+                inBox.add(entry.getKey());
+            }
+        }
+        assertEquals(inBox, new HashSet<>(index.queryInBox(center.getX() - radius,
+                center.getY() - radius, center.getZ() - radius / 4, center.getX() + radius,
+                center.getY() + radius, center.getZ() + radius / 4)));
+    }
+
+    /**
+     * 距中心不超过半径的实体ID
+     */
+    private static Set<String> within(Map<String, Position> entities, Position center, double radius) {
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<String, Position> entry : entities.entrySet()) {
+            if (entry.getValue().distanceTo(center) <= radius) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 随机位置，约5%越出空域边界
+     */
+    private static Position randomPosition(Random random) {
+        double scale = random.nextInt(20) == 0 ? 1.5 : 1.0;
+        return new Position(scale * (MIN_X + (MAX_X - MIN_X) * random.nextDouble()),
+                scale * (MIN_Y + (MAX_Y - MIN_Y) * random.nextDouble()),
+                scale * (MIN_Z + (MAX_Z - MIN_Z) * random.nextDouble()));
+    }
+}
@@ -0,0 +1,133 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 胶囊形查询区域测试
+ * 点判定与点到线段距离比较；包围盒裁剪以盒内随机采样点校验；
+ * 在松散八叉树与均匀网格中的胶囊查询与逐个判定的结果比较
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class CapsuleShapeTest {
+
+    @Test
+    public void containsPointMatchesSegmentDistance() {
+        Random random = new Random(8);
+        for (int i = 0; i < 200; i++) {
+            double[] s = randomPoint(random, 500);
+            double[] e = random.nextInt(10) == 0 ? s : randomPoint(random, 500);
+            double radius = random.nextDouble() * 200;
+            CapsuleShape capsule = new CapsuleShape(s[0], s[1], s[2], e[0], e[1], e[2], radius);
+            for (int k = 0; k < 1000; k++) {
+                double[] p = randomPoint(random, 800);
+                double distance = segmentDistance(s, e, p);
+                if (Math.abs(distance - radius) < 1e-6) {
+                    continue;
+                }
+                assertEquals(distance <= radius, capsule.containsPoint(p[0], p[1], p[2]));
+            }
+        }
+    }
+
+    @Test
+    public void boxTestsAreConservative() {
+        Random random = new Random(9);
+        for (int i = 0; i < 20_000; i++) {
+            double[] s = randomPoint(random, 500);
+            double[] e = randomPoint(random, 500);
+            CapsuleShape capsule = new CapsuleShape(s[0], s[1], s[2], e[0], e[1], e[2], random.nextDouble() * 150);
+            double size = 5 + random.nextDouble() * 200;
+            double[] min = randomPoint(random, 600);
+            boolean intersects = capsule.intersectsBox(min[0], min[1], min[2],
+                    min[0] + size, min[1] + size, min[2] + size);
+            boolean contains = capsule.containsBox(min[0], min[1], min[2],
+                    min[0] + size, min[1] + size, min[2] + size);
+            for (int k = 0; k < 100; k++) {
+                boolean inside = capsule.containsPoint(min[0] + size * random.nextDouble(),
+                        min[1] + size * random.nextDouble(), min[2] + size * random.nextDouble());
+                if (inside) {
+                    assertTrue(intersects, "盒内有点在胶囊内但相交判定为假");
+                }
+                if (contains) {
+                    assertTrue(inside, "包含判定为真但盒内点不在胶囊内");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void layerQueriesMatchBruteForce() {
+        Random random = new Random(10);
+        EntityRegistry registry = new EntityRegistry();
+        LooseOctree octree = new LooseOctree(registry, -1000, -1000, -1000, 1000, 1000, 1000);
+        UniformGrid grid = new UniformGrid(registry, -1000, -1000, -1000, 1000, 1000, 1000, 100);
+        for (int i = 0; i < 5000; i++) {
+            int handle = registry.register("e" + i);
+            double[] p = randomPoint(random, 1000);
+            registry.setPosition(handle, p[0], p[1], p[2]);
+            octree.insert(handle);
+            grid.insert(handle);
+        }
+        for (int q = 0; q < 200; q++) {
+            double[] s = randomPoint(random, 1000);
+            double[] e = randomPoint(random, 1000);
+            CapsuleShape capsule = new CapsuleShape(s[0], s[1], s[2], e[0], e[1], e[2], random.nextDouble() * 100);
+            Set<Integer> expected = new HashSet<>();
+            for (int handle = 0; handle < registry.handleLimit(); handle++) {
+                if (capsule.containsPoint(registry.x(handle), registry.y(handle), registry.z(handle))) {
+                    expected.add(handle);
+                }
+            }
+            List<Integer> fromOctree = new ArrayList<>();
+            octree.query(capsule, fromOctree::add);
+            List<Integer> fromGrid = new ArrayList<>();
+            grid.query(capsule, fromGrid::add);
+            assertEquals(expected.size(), fromOctree.size(), "查询结果有重复");
+            assertEquals(expected, new HashSet<>(fromOctree));
+            assertEquals(expected.size(), fromGrid.size(), "查询结果有重复");
+            assertEquals(expected, new HashSet<>(fromGrid));
+        }
+    }
+
+    @Test
+    public void zeroRadiusIsTheSegment() {
+        CapsuleShape segment = new CapsuleShape(0, 0, 0, 100, 0, 0, 0);
+        assertTrue(segment.containsPoint(50, 0, 0));
+        assertFalse(segment.containsPoint(50, 0.001, 0));
+        assertFalse(segment.containsPoint(100.001, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CapsuleShape(0, 0, 0, 1, 1, 1, -1));
+    }
+
+    /**
+     * 点到线段的距离
+     */
+    private static double segmentDistance(double[] s, double[] e, double[] p) {
+        double vx = e[0] - s[0], vy = e[1] - s[1], vz = e[2] - s[2];
+        double length = vx * vx + vy * vy + vz * vz;
+        double t = length == 0 ? 0 : ((p[0] - s[0]) * vx + (p[1] - s[1]) * vy + (p[2] - s[2]) * vz) / length;
+        t = Math.max(0, Math.min(1, t));
+        double dx = s[0] + t * vx - p[0], dy = s[1] + t * vy - p[1], dz = s[2] + t * vz - p[2];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * 各坐标在正负extent之间均匀分布的随机点
+     */
+    private static double[] randomPoint(Random random, double extent) {
+        return new double[]{(random.nextDouble() * 2 - 1) * extent, (random.nextDouble() * 2 - 1) * extent,
+                (random.nextDouble() * 2 - 1) * extent};
+    }
+}
@@ -0,0 +1,146 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 圆锥视场形状测试
+ * 点判定与按偏轴角计算的结果比较；包围盒裁剪以盒内随机采样点校验：相交判定不得漏判，包含判定不得误判
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class ConeShapeTest {
+
+    @Test
+    public void containsPointMatchesOffAxisAngle() {
+        Random random = new Random(3);
+        int compared = 0;
+        for (int i = 0; i < 200; i++) {
+            double azimuth = random.nextDouble() * 360;
+            double elevation = random.nextDouble() * 180 - 90;
+            double halfAngle = randomHalfAngle(random);
+            double range = 1 + random.nextDouble() * 1500;
+            ConeShape cone = new ConeShape(0, 0, 0, azimuth, elevation, halfAngle, range);
+            double ux = Math.cos(Math.toRadians(elevation)) * Math.cos(Math.toRadians(azimuth));
+            double uy = Math.cos(Math.toRadians(elevation)) * Math.sin(Math.toRadians(azimuth));
+            double uz = -Math.sin(Math.toRadians(elevation));
+            for (int k = 0; k < 2000; k++) {
+                double x = random.nextDouble() * 3000 - 1500;
+                double y = random.nextDouble() * 3000 - 1500;
+                double z = random.nextDouble() * 3000 - 1500;
+                double distance = Math.sqrt(x * x + y * y + z * z);
+                double offAxis = Math.toDegrees(Math.acos(Math.max(-1, Math.min(1,
+                        (x * ux + y * uy + z * uz) / distance))));
+                if (Math.abs(offAxis - halfAngle) < 1e-6 || Math.abs(distance - range) < 1e-6) {
+                    continue;
+                }
+                assertEquals(distance <= range && offAxis <= halfAngle, cone.containsPoint(x, y, z));
+                compared++;
+            }
+        }
+        assertTrue(compared > 390_000);
+    }
+
+    @Test
+    public void boxTestsAreConservative() {
+        Random random = new Random(5);
+        int intersecting = 0;
+        int contained = 0;
+        for (int i = 0; i < 20_000; i++) {
+            ConeShape cone = new ConeShape(0, 0, 0, random.nextDouble() * 360, random.nextDouble() * 180 - 90,
+                    randomHalfAngle(random), 100 + random.nextDouble() * 900);
+            double size = 5 + random.nextDouble() * 300;
+            double minX = random.nextDouble() * 2000 - 1000;
+            double minY = random.nextDouble() * 2000 - 1000;
+            double minZ = random.nextDouble() * 2000 - 1000;
+            boolean intersects = cone.intersectsBox(minX, minY, minZ, minX + size, minY + size, minZ + size);
+            boolean contains = cone.containsBox(minX, minY, minZ, minX + size, minY + size, minZ + size);
+            if (contains) {
+                assertTrue(intersects, "包含的包围盒必然相交");
+            }
+            boolean anyInside = false;
+            for (int k = 0; k < 200; k++) {
+                double x = minX + size * random.nextDouble();
+                double y = minY + size * random.nextDouble();
+                double z = minZ + size * random.nextDouble();
+                boolean inside = cone.containsPoint(x, y, z);
+                anyInside |= inside;
+                if (contains) {
+                    assertTrue(inside, "包含判定为真但盒内点不在视场内");
+                }
+            }
+            if (anyInside) {
+                assertTrue(intersects, "盒内有点在视场内但相交判定为假");
+            }
+            intersecting += intersects ? 1 : 0;
+            contained += contains ? 1 : 0;
+        }
+        assertTrue(intersecting > 500 && contained > 10, "相交与包含两种情形都应覆盖到");
+    }
+
+    @Test
+    public void segmentCrossingMatchesSampling() {
+        Random random = new Random(7);
+        int crossed = 0;
+        for (int i = 0; i < 5000; i++) {
+            ConeShape cone = new ConeShape(0, 0, 0, random.nextDouble() * 360, random.nextDouble() * 180 - 90,
+                    randomHalfAngle(random), 200 + random.nextDouble() * 800);
+            double sx = random.nextDouble() * 1200 - 600, sy = random.nextDouble() * 1200 - 600;
+            double sz = random.nextDouble() * 1200 - 600;
+            double ex = random.nextDouble() * 1200 - 600, ey = random.nextDouble() * 1200 - 600;
+            double ez = random.nextDouble() * 1200 - 600;
+            double t = cone.segmentCrossing(sx, sy, sz, ex, ey, ez);
+            boolean sampledInside = false;
+            for (int k = 0; k <= 2000 && !sampledInside; k++) {
+                double f = k / 2000.0;
+                sampledInside = cone.containsPoint(sx + f * (ex - sx), sy + f * (ey - sy), sz + f * (ez - sz));
+            }
+            if (sampledInside) {
+                assertFalse(Double.isNaN(t), "采样点在视场内但判定线段未穿过视场");
+            }
+            if (!Double.isNaN(t)) {
+                assertTrue(t >= 0 && t <= 1);
+                assertTrue(cone.containsPoint(sx + t * (ex - sx), sy + t * (ey - sy), sz + t * (ez - sz)),
+                        "穿越点不在视场内");
+                assertTrue(cone.intersectsSegment(sx, sy, sz, ex, ey, ez));
+                crossed++;
+            }
+        }
+        assertTrue(crossed > 500, "穿越情形过少");
+    }
+
+    @Test
+    public void wideConesBehaveAsSpheres() {
+        ConeShape full = new ConeShape(0, 0, 0, 0, 0, 180, 100);
+        assertTrue(full.containsPoint(-99, 0, 0));
+        assertFalse(full.containsPoint(-101, 0, 0));
+        assertTrue(full.containsBox(-50, -50, -50, 50, 50, 50));
+
+        // 半锥角超过90度时不是凸集，不以角点判定整盒包含
+        ConeShape reflex = new ConeShape(0, 0, 0, 0, 0, 120, 100);
+        assertTrue(reflex.containsPoint(0, 50, 0));
+        assertFalse(reflex.containsPoint(-50, 1, 0));
+        assertFalse(reflex.containsBox(-10, -10, -10, 10, 10, 10));
+    }
+
+    @Test
+    public void rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ConeShape(0, 0, 0, 0, 0, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new ConeShape(0, 0, 0, 0, 0, 181, 100));
+        assertThrows(IllegalArgumentException.class, () -> new ConeShape(0, 0, 0, 0, 0, 30, -1));
+    }
+
+    /**
+     * 随机半锥角：多数为窄视场，其余覆盖到180度
+     */
+    private static double randomHalfAngle(Random random) {
+        return random.nextInt(4) == 0 ? 0.1 + random.nextDouble() * 179.9 : 0.1 + random.nextDouble() * 10;
+    }
+}
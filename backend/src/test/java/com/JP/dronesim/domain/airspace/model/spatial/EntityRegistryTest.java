@@ -0,0 +1,122 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 实体注册表测试
+ * 校验句柄分配紧凑、释放的句柄按后进先出复用且复用时清零坐标与速度，列数组扩容后数据不丢失
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class EntityRegistryTest {
+
+    @Test
+    public void allocatesDenseHandlesAndKeepsExistingOnes() {
+        EntityRegistry registry = new EntityRegistry();
+        assertEquals(0, registry.register("a"));
+        assertEquals(1, registry.register("b"));
+        assertEquals(2, registry.register("c"));
+        assertEquals(1, registry.register("b"));
+        assertEquals(3, registry.size());
+        assertEquals(3, registry.handleLimit());
+        assertEquals("b", registry.idOf(1));
+        assertEquals(2, registry.handleOf("c"));
+        assertEquals(-1, registry.handleOf("missing"));
+        assertNull(registry.idOf(3));
+        assertNull(registry.idOf(-1));
+    }
+
+    @Test
+    public void reusesReleasedHandlesLastInFirstOut() {
+        EntityRegistry registry = new EntityRegistry();
+        for (int i = 0; i < 5; i++) {
+            registry.register("e" + i);
+        }
+        assertEquals(1, registry.release("e1"));
+        assertEquals(3, registry.release("e3"));
+        assertEquals(-1, registry.release("e3"));
+        assertArrayEquals(new int[]{1, 3}, registry.getFreeHandles());
+        assertFalse(registry.isAlive(3));
+        assertNull(registry.idOf(3));
+
+        assertEquals(3, registry.register("x"));
+        assertEquals(1, registry.register("y"));
+        assertEquals(5, registry.register("z"));
+        assertEquals(6, registry.handleLimit());
+        assertEquals(0, registry.getFreeHandles().length);
+        assertEquals(Set.of("e0", "e2", "e4", "x", "y", "z"), registry.getEntityIds());
+    }
+
+    @Test
+    public void reusedHandleStartsFromZeroState() {
+        EntityRegistry registry = new EntityRegistry();
+        int handle = registry.register("a");
+        registry.setPosition(handle, new Position(1, 2, 3));
+        registry.setVelocity(handle, 4, 5, 6);
+        registry.release("a");
+
+        assertEquals(handle, registry.register("b"));
+        assertEquals(0.0, registry.x(handle));
+        assertEquals(0.0, registry.vz(handle));
+        assertEquals(0.0, registry.positionOf(handle).getZ());
+    }
+
+    @Test
+    public void columnsSurviveGrowthAndChurn() {
+        EntityRegistry registry = new EntityRegistry();
+        Map<String, double[]> reference = new HashMap<>();
+        Random random = new Random(4);
+        for (int step = 0; step < 20_000; step++) {
+            String id = "e" + random.nextInt(600);
+            if (random.nextInt(3) == 0) {
+                registry.release(id);
+                reference.remove(id);
+            } else {
+                int handle = registry.register(id);
+                double[] state = {random.nextDouble(), random.nextDouble(), random.nextDouble(),
+                        random.nextDouble(), random.nextDouble(), random.nextDouble()};
+                registry.setPosition(handle, state[0], state[1], state[2]);
+                registry.setVelocity(handle, state[3], state[4], state[5]);
+                reference.put(id, state);
+            }
+        }
+        assertEquals(reference.size(), registry.size());
+        // 句柄范围不超过同时存活实体数的峰值
+        assertTrue(registry.handleLimit() <= 600);
+        for (Map.Entry<String, double[]> entry : reference.entrySet()) {
+            int handle = registry.handleOf(entry.getKey());
+            assertTrue(registry.isAlive(handle));
+            assertEquals(entry.getKey(), registry.idOf(handle));
+            double[] state = entry.getValue();
+            assertArrayEquals(state, new double[]{registry.x(handle), registry.y(handle), registry.z(handle),
+                    registry.vx(handle), registry.vy(handle), registry.vz(handle)});
+            assertEquals(0.0, registry.distanceSquared(handle, state[0], state[1], state[2]));
+        }
+    }
+
+    @Test
+    public void clearResetsHandles() {
+        EntityRegistry registry = new EntityRegistry();
+        registry.register("a");
+        registry.register("b");
+        registry.release("a");
+        registry.clear();
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.handleLimit());
+        assertEquals(0, registry.getFreeHandles().length);
+        assertEquals(0, registry.register("c"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 静态KD树测试
+ * 在增删与移动之间穿插球形、矩形、圆锥与k近邻查询，与对全部成员逐个判定的结果比较；
+ * 另测大量重合点时的重建
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class StaticKdTreeTest {
+
+    @Test
+    public void matchesBruteForceAcrossRebuilds() {
+        Random random = new Random(6);
+        EntityRegistry registry = new EntityRegistry();
+        StaticKdTree tree = new StaticKdTree(registry);
+        Set<Integer> members = new HashSet<>();
+        for (int round = 0; round < 200; round++) {
+            // 每轮少量部署、移除与移动后查询，触发重建
+            for (int i = 0; i < 20; i++) {
+                String id = "d" + random.nextInt(800);
+                int operation = random.nextInt(3);
+                if (operation == 0) {
+                    int handle = registry.release(id);
+                    if (handle >= 0) {
+                        tree.remove(handle);
+                        members.remove(handle);
+                    }
+                } else {
+                    int handle = registry.register(id);
+                    registry.setPosition(handle, coordinate(random), coordinate(random), coordinate(random) / 4);
+                    if (operation == 1 || !tree.move(handle)) {
+                        tree.insert(handle);
+                    }
+                    members.add(handle);
+                }
+            }
+            assertEquals(members.size(), tree.size());
+            for (int q = 0; q < 5; q++) {
+                double x = coordinate(random), y = coordinate(random), z = coordinate(random) / 4;
+                double radius = 10 + random.nextDouble() * 800;
+                checkShape(tree, registry, members, new SphereShape(x, y, z, radius));
+                checkShape(tree, registry, members, new BoxShape(x - radius, y - radius, z - radius / 4,
+                        x + radius, y + radius, z + radius / 4));
+                checkShape(tree, registry, members, new ConeShape(x, y, z, random.nextDouble() * 360,
+                        random.nextDouble() * 60 - 30, 1 + random.nextDouble() * 40, radius * 2));
+                checkKNearest(tree, registry, members, x, y, z, 1 + random.nextInt(12), radius,
+                        random.nextInt(3));
+            }
+        }
+    }
+
+    @Test
+    public void handlesCoincidentPoints() {
+        EntityRegistry registry = new EntityRegistry();
+        StaticKdTree tree = new StaticKdTree(registry);
+        for (int i = 0; i < 100; i++) {
+            int handle = registry.register("d" + i);
+            registry.setPosition(handle, i < 90 ? 5.0 : 5.0 + i, 5.0, 0.0);
+            tree.insert(handle);
+        }
+        List<Integer> found = new ArrayList<>();
+        tree.query(new SphereShape(5, 5, 0, 0.5), found::add);
+        assertEquals(90, found.size());
+        assertEquals(10, tree.findKNearest(5, 5, 0, 10, 1.0, null).length);
+        int[] far = tree.findKNearest(200, 5, 0, 3, 1000, null);
+        assertEquals(99, far[0]);
+        assertEquals(98, far[1]);
+    }
+
+    @Test
+    public void removedAndClearedMembersAreNotReturned() {
+        EntityRegistry registry = new EntityRegistry();
+        StaticKdTree tree = new StaticKdTree(registry);
+        int a = registry.register("a");
+        int b = registry.register("b");
+        tree.insert(a);
+        tree.insert(b);
+        assertTrue(tree.remove(a));
+        assertFalse(tree.remove(a));
+        assertFalse(tree.contains(a));
+        assertEquals(1, tree.findKNearest(0, 0, 0, 5, 10, null).length);
+        tree.clear();
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.findKNearest(0, 0, 0, 5, 10, null).length);
+        assertFalse(tree.move(b));
+    }
+
+    /**
+     * 比较形状查询结果
+     */
+    private static void checkShape(StaticKdTree tree, EntityRegistry registry, Set<Integer> members,
+                                   SpatialShape shape) {
+        Set<Integer> expected = new HashSet<>();
+        for (int handle : members) {
+            if (shape.containsPoint(registry.x(handle), registry.y(handle), registry.z(handle))) {
+                expected.add(handle);
+            }
+        }
+        List<Integer> found = new ArrayList<>();
+        tree.query(shape, found::add);
+        assertEquals(expected.size(), found.size(), "查询结果有重复");
+        assertEquals(expected, new HashSet<>(found));
+    }
+
+    /**
+     * 比较k近邻查询的距离序列（过滤掉句柄模3等于skip的成员）
+     */
+    private static void checkKNearest(StaticKdTree tree, EntityRegistry registry, Set<Integer> members,
+                                      double x, double y, double z, int k, double maxDistance, int skip) {
+        List<Double> expected = new ArrayList<>();
+        for (int handle : members) {
+            double d = registry.distanceSquared(handle, x, y, z);
+            if (d <= maxDistance * maxDistance && handle % 3 != skip) {
+                expected.add(d);
+            }
+        }
+        Collections.sort(expected);
+        expected = expected.subList(0, Math.min(k, expected.size()));
+        List<Double> found = new ArrayList<>();
+        for (int handle : tree.findKNearest(x, y, z, k, maxDistance, h -> h % 3 != skip)) {
+            found.add(registry.distanceSquared(handle, x, y, z));
+        }
+        assertEquals(expected, found);
+    }
+
+    /**
+     * 随机坐标（-2000到2000米）
+     */
+    private static double coordinate(Random random) {
+        return random.nextDouble() * 4000 - 2000;
+    }
+}
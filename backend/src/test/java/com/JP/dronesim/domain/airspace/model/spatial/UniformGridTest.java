@@ -0,0 +1,68 @@
+package com.JP.dronesim.domain.airspace.model.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 均匀网格测试
+ * 校验格子边长的选择与格子数上限，以及空域外实体归入边缘格子后仍可被查到
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class UniformGridTest {
+
+    @Test
+    public void choosesTypicalRangeWhenFeasible() {
+        assertEquals(300.0, UniformGrid.chooseCellSize(-1000, -1000, 0, 1000, 1000, 500, 300));
+        // 未给出探测距离时约为32768个格子
+        double automatic = UniformGrid.chooseCellSize(-1000, -1000, 0, 1000, 1000, 500, 0);
+        assertEquals(Math.cbrt(2000.0 * 2000.0 * 500.0 / 32768), automatic, 1e-9);
+    }
+
+    @Test
+    public void cellCountStaysWithinLimit() {
+        double minimum = UniformGrid.minCellSize(-50_000, -50_000, 0, 50_000, 50_000, 10_000);
+        double size = UniformGrid.chooseCellSize(-50_000, -50_000, 0, 50_000, 50_000, 10_000, 1);
+        assertTrue(size >= minimum);
+        // 选出的边长必须能构造成功
+        new UniformGrid(new EntityRegistry(), -50_000, -50_000, 0, 50_000, 50_000, 10_000, size);
+
+        assertThrows(IllegalArgumentException.class, () -> new UniformGrid(new EntityRegistry(),
+                -50_000, -50_000, 0, 50_000, 50_000, 10_000, minimum / 2));
+        assertThrows(IllegalArgumentException.class, () -> new UniformGrid(new EntityRegistry(),
+                0, 0, 0, 100, 100, 100, 0));
+    }
+
+    @Test
+    public void entitiesOutsideTheBoundsAreStillFound() {
+        EntityRegistry registry = new EntityRegistry();
+        UniformGrid grid = new UniformGrid(registry, 0, 0, 0, 1000, 1000, 100, 100);
+        int inside = registry.register("inside");
+        registry.setPosition(inside, 990, 990, 50);
+        int outside = registry.register("outside");
+        registry.setPosition(outside, 1500, 1200, -300);
+        grid.insert(inside);
+        grid.insert(outside);
+
+        List<Integer> found = new ArrayList<>();
+        grid.query(new SphereShape(1500, 1200, -300, 10), found::add);
+        assertEquals(List.of(outside), found);
+        assertArrayEquals(new int[]{inside, outside}, grid.findKNearest(1000, 1000, 0, 5, 2000, null));
+
+        // 移回空域内后离开边缘格子
+        registry.setPosition(outside, 10, 10, 10);
+        grid.move(outside);
+        found.clear();
+        grid.query(new SphereShape(1500, 1200, -300, 10), found::add);
+        assertTrue(found.isEmpty());
+        assertEquals(2, grid.size());
+    }
+}
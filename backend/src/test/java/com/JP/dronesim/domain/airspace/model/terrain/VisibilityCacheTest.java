@@ -0,0 +1,90 @@
+package com.JP.dronesim.domain.airspace.model.terrain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 通视缓存测试
+ * 缓存结果与直接对目标体素中心做DDA的结果比较，并校验障碍物改变与设备移动后缓存失效
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class VisibilityCacheTest {
+
+    @Test
+    public void cachedResultsMatchDirectLineOfSight() {
+        Random random = new Random(5);
+        VoxelOccupancyGrid grid = new VoxelOccupancyGrid(0, 0, -100, 500, 500, 0, 10);
+        for (int k = 0; k < 40; k++) {
+            double x = random.nextDouble() * 500;
+            double y = random.nextDouble() * 500;
+            grid.fillBox(x, y, -random.nextDouble() * 100, x + 30, y + 30, 0, true);
+        }
+        VisibilityCache cache = new VisibilityCache(grid);
+        double[][] devices = {{250, 250, -95}, {5, 5, -50}, {495, 10, -20}};
+        int hidden = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int device = random.nextInt(devices.length);
+            double[] d = devices[device];
+            double x = random.nextDouble() * 500;
+            double y = random.nextDouble() * 500;
+            double z = -random.nextDouble() * 100;
+            boolean expected = !grid.isOccupiedAt(x, y, z) && directToCellCenter(grid, d, x, y, z);
+            assertEquals(expected, cache.isVisible(device, d[0], d[1], d[2], x, y, z));
+            hidden += expected ? 0 : 1;
+        }
+        assertTrue(hidden > 1000 && hidden < 19_000, "通视与遮挡两种情形都应覆盖到");
+    }
+
+    @Test
+    public void obstacleChangesInvalidateTheCache() {
+        VoxelOccupancyGrid grid = new VoxelOccupancyGrid(0, 0, -100, 100, 100, 0, 10);
+        VisibilityCache cache = new VisibilityCache(grid);
+        assertTrue(cache.isVisible(1, 5, 5, -5, 95, 5, -5));
+        grid.fillBox(40, 0, -100, 60, 100, 0, true);
+        assertFalse(cache.isVisible(1, 5, 5, -5, 95, 5, -5));
+        grid.fillBox(40, 0, -100, 60, 100, 0, false);
+        assertTrue(cache.isVisible(1, 5, 5, -5, 95, 5, -5));
+    }
+
+    @Test
+    public void deviceMovesInvalidateOnlyThatDevice() {
+        VoxelOccupancyGrid grid = new VoxelOccupancyGrid(0, 0, -100, 100, 100, 0, 10);
+        grid.fillBox(40, 0, -100, 60, 80, 0, true);
+        VisibilityCache cache = new VisibilityCache(grid);
+        assertFalse(cache.isVisible(1, 5, 5, -5, 95, 5, -5));
+        assertFalse(cache.isVisible(2, 5, 15, -5, 95, 5, -5));
+        // 设备1移到墙体北端以外
+        assertTrue(cache.isVisible(1, 5, 95, -5, 95, 95, -5));
+        assertFalse(cache.isVisible(2, 5, 15, -5, 95, 5, -5));
+        cache.evict(1);
+        cache.clear();
+        assertFalse(cache.isVisible(1, 5, 5, -5, 95, 5, -5));
+    }
+
+    @Test
+    public void targetsOutsideTheGridAreNotCached() {
+        VoxelOccupancyGrid grid = new VoxelOccupancyGrid(0, 0, -100, 100, 100, 0, 10);
+        // 高30米的矮墙
+        grid.fillBox(40, 0, -30, 59, 99, -1, true);
+        VisibilityCache cache = new VisibilityCache(grid);
+        assertFalse(cache.isVisible(1, 5, 5, -5, 150, 5, -5));
+        assertTrue(cache.isVisible(2, 5, 5, -50, 150, 5, -50));
+        assertThrows(IllegalArgumentException.class, () -> new VisibilityCache(null));
+    }
+
+    /**
+     * 直接对目标所在体素中心求通视
+     */
+    private static boolean directToCellCenter(VoxelOccupancyGrid grid, double[] device, double x, double y, double z) {
+        double[] center = grid.cellCenter(grid.cellIndexOf(x, y, z));
+        return grid.hasLineOfSight(device[0], device[1], device[2], center[0], center[1], center[2]);
+    }
+}
@@ -0,0 +1,132 @@
+package com.JP.dronesim.domain.airspace.model.terrain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 体素占据栅格测试
+ * 三维DDA通视结果与沿线段密集采样的结果比较：采样遇到障碍时DDA不得判为通视，
+ * 采样未遇到障碍而DDA判为遮挡只允许出现在线段擦过体素角、棱的少数情形；
+ * 另测高程图转换与版本号
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class VoxelOccupancyGridTest {
+
+    /**
+     * 每条线段的采样点数
+     */
+    private static final int SAMPLES = 40_000;
+
+    @Test
+    public void lineOfSightMatchesDenseSampling() {
+        Random random = new Random(3);
+        int blocked = 0;
+        int grazing = 0;
+        int trials = 3000;
+        for (int trial = 0; trial < trials; trial++) {
+            VoxelOccupancyGrid grid = new VoxelOccupancyGrid(-50, -40, -30, 50, 40, 0, 7);
+            for (int k = 0; k < 6; k++) {
+                double x = random.nextDouble() * 100 - 50;
+                double y = random.nextDouble() * 80 - 40;
+                double z = random.nextDouble() * 30 - 30;
+                grid.fillBox(x, y, z, x + random.nextDouble() * 20, y + random.nextDouble() * 20,
+                        z + random.nextDouble() * 10, true);
+            }
+            // 端点可以在栅格外，校验裁剪
+            double[] p = new double[6];
+            for (int i = 0; i < 6; i++) {
+                p[i] = random.nextDouble() * 160 - 80;
+            }
+            boolean visible = grid.hasLineOfSight(p[0], p[1], p[2], p[3], p[4], p[5]);
+            boolean sampledVisible = sampledLineOfSight(grid, p);
+            if (!sampledVisible) {
+                assertFalse(visible, "采样遇到障碍但判为通视，试验 " + trial);
+                blocked++;
+            } else if (!visible) {
+                grazing++;
+            }
+        }
+        assertTrue(blocked > 200, "遮挡情形过少");
+        assertTrue(grazing <= trials / 100, "采样通视而判为遮挡的情形过多: " + grazing);
+    }
+
+    @Test
+    public void endpointVoxelsDoNotBlock() {
+        VoxelOccupancyGrid grid = new VoxelOccupancyGrid(0, 0, -100, 100, 100, 0, 10);
+        // 区域上界所在的体素也会被填充，这里各只填一个体素
+        grid.fillBox(0, 0, -10, 9, 9, -1, true);
+        grid.fillBox(90, 90, -10, 99, 99, -1, true);
+        assertTrue(grid.hasLineOfSight(5, 5, -5, 95, 95, -5));
+        grid.fillBox(50, 50, -10, 59, 59, -1, true);
+        assertFalse(grid.hasLineOfSight(5, 5, -5, 95, 95, -5));
+        // 线段完全在栅格外
+        assertTrue(grid.hasLineOfSight(-50, -50, -5, -10, 200, -5));
+    }
+
+    @Test
+    public void heightmapFillsBelowTheGround() {
+        // 高程图：x在40到60米之间为50米高的山脊，其余高10米
+        double[][] heights = new double[10][10];
+        for (double[] row : heights) {
+            Arrays.fill(row, 10);
+        }
+        for (int column = 0; column < 10; column++) {
+            heights[4][column] = 50;
+            heights[5][column] = 50;
+        }
+        heights[0][0] = Double.NaN;
+        VoxelOccupancyGrid grid = VoxelOccupancyGrid.fromHeightmap(heights, 0, 0, 10,
+                0, 0, -100, 100, 100, 0, 5);
+        assertTrue(grid.isOccupiedAt(50, 50, -40));
+        assertFalse(grid.isOccupiedAt(50, 50, -60));
+        assertTrue(grid.isOccupiedAt(20, 20, -1));
+        assertFalse(grid.isOccupiedAt(2, 2, -1), "无数据的格子不填充");
+        assertFalse(grid.hasLineOfSight(10, 50, -20, 90, 50, -20));
+        assertTrue(grid.hasLineOfSight(10, 50, -80, 90, 50, -80));
+        assertEquals(1, grid.getVersion());
+
+        assertThrows(IllegalArgumentException.class, () -> VoxelOccupancyGrid.fromHeightmap(new double[0][], 0, 0, 10,
+                0, 0, -100, 100, 100, 0, 5));
+    }
+
+    @Test
+    public void modificationsBumpTheVersion() {
+        VoxelOccupancyGrid grid = new VoxelOccupancyGrid(0, 0, -100, 100, 100, 0, 10);
+        int version = grid.getVersion();
+        grid.fillBox(40, 0, -100, 60, 100, 0, true);
+        assertTrue(grid.getVersion() != version);
+        version = grid.getVersion();
+        grid.clear();
+        assertTrue(grid.getVersion() != version);
+        assertFalse(grid.isOccupiedAt(50, 50, -50));
+        assertEquals(-1, grid.cellIndexOf(150, 50, -50));
+    }
+
+    /**
+     * 沿线段密集采样判定通视，起点与终点所在体素不参与判定
+     */
+    private static boolean sampledLineOfSight(VoxelOccupancyGrid grid, double[] p) {
+        long start = grid.cellIndexOf(p[0], p[1], p[2]);
+        long end = grid.cellIndexOf(p[3], p[4], p[5]);
+        for (int i = 0; i <= SAMPLES; i++) {
+            double t = (double) i / SAMPLES;
+            double x = p[0] + t * (p[3] - p[0]);
+            double y = p[1] + t * (p[4] - p[1]);
+            double z = p[2] + t * (p[5] - p[2]);
+            long cell = grid.cellIndexOf(x, y, z);
+            if (cell >= 0 && cell != start && cell != end && grid.isOccupiedAt(x, y, z)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
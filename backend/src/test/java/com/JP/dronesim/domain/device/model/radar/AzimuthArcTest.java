@@ -0,0 +1,103 @@
+package com.JP.dronesim.domain.device.model.radar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 方位弧段测试
+ * 以反正切方位角加归一化的判定为基准，校验叉积判定在各种张角（含跨0度、超过半周、0与全周）下结果一致
+ *
+ * @author JP
+ * @version 1.0
+ */
+public class AzimuthArcTest {
+
+    /**
+     * 与边界的最小角距（度），更靠近边界的方向两种判定可能因舍入不同，不参与比较
+     */
+    private static final double BOUNDARY_MARGIN = 1e-6;
+
+    @Test
+    public void matchesArctangentReferenceOnRandomArcs() {
+        Random random = new Random(11);
+        int compared = 0;
+        int inside = 0;
+        for (int i = 0; i < 200_000; i++) {
+            double from = -720.0 + random.nextDouble() * 1440.0;
+            double extent = random.nextInt(8) == 0 ? random.nextDouble() * 2.0 : random.nextDouble() * 400.0;
+            double azimuth = random.nextDouble() * 360.0;
+            double length = 0.1 + random.nextDouble() * 10000.0;
+            double dx = length * Math.cos(Math.toRadians(azimuth));
+            double dy = length * Math.sin(Math.toRadians(azimuth));
+
+            double offset = AzimuthArc.normalize(azimuth - from);
+            if (extent < 360.0 && (Math.abs(offset - extent) < BOUNDARY_MARGIN
+                    || offset < BOUNDARY_MARGIN || 360.0 - offset < BOUNDARY_MARGIN)) {
+                continue;
+            }
+            boolean expected = extent >= 360.0 || offset <= extent;
+            assertEquals(expected, new AzimuthArc(from, extent).contains(dx, dy),
+                    String.format("from=%.6f extent=%.6f azimuth=%.6f", from, extent, azimuth));
+            compared++;
+            if (expected) {
+                inside++;
+            }
+        }
+        assertTrue(compared > 190_000);
+        assertTrue(inside > 10_000 && inside < compared - 10_000);
+    }
+
+    @Test
+    public void handlesDegenerateAndWrappingArcs() {
+        // 张角为0：只含起始方向，不含反方向
+        AzimuthArc ray = new AzimuthArc(90.0, 0.0);
+        assertTrue(contains(ray, 90.0));
+        assertFalse(contains(ray, 270.0));
+        assertFalse(contains(ray, 80.0));
+
+        // 半周：两条边界共线，边界方向与一侧全部在内
+        AzimuthArc half = new AzimuthArc(0.0, 180.0);
+        assertTrue(contains(half, 0.0));
+        assertTrue(contains(half, 180.0));
+        assertTrue(contains(half, 90.0));
+        assertFalse(contains(half, 270.0));
+
+        // 跨越0度
+        AzimuthArc wrap = new AzimuthArc(350.0, 20.0);
+        assertTrue(contains(wrap, 0.0));
+        assertTrue(contains(wrap, 355.0));
+        assertFalse(contains(wrap, 15.0));
+
+        // 超过半周：只有不足半周的补集在外
+        AzimuthArc wide = new AzimuthArc(10.0, 300.0);
+        assertTrue(contains(wide, 180.0));
+        assertFalse(contains(wide, 340.0));
+
+        // 全周与负张角
+        assertTrue(contains(new AzimuthArc(0.0, 360.0), 225.0));
+        assertFalse(contains(new AzimuthArc(0.0, -1.0), 0.0));
+
+        // 正上/正下方在任意弧段内
+        assertTrue(new AzimuthArc(123.0, 1.0).contains(0.0, 0.0));
+    }
+
+    @Test
+    public void coversChecksSlantRange() {
+        AzimuthArc arc = new AzimuthArc(-10.0, 20.0);
+        assertTrue(arc.covers(3000.0, 0.0, -4000.0, 5000.0));
+        assertFalse(arc.covers(3000.0, 0.0, -4000.1, 5000.0));
+        assertFalse(arc.covers(0.0, 3000.0, 0.0, 5000.0));
+    }
+
+    /**
+     * 判断给定方位的单位方向是否在弧段内（方向与弧段边界按相同方式由角度求得）
+     */
+    private static boolean contains(AzimuthArc arc, double azimuth) {
+        return arc.contains(Math.cos(Math.toRadians(azimuth)), Math.sin(Math.toRadians(azimuth)));
+    }
+}
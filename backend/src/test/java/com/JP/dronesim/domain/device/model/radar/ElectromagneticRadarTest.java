@@ -0,0 +1,218 @@
+package com.JP.dronesim.domain.device.model.radar;
+
+import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.enums.DeviceStatus;
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.device.model.events.DetectionEvent;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 电磁波雷达扫描测试
+ * 天线转角按转速乘以两次扫描的仿真时间间隔计算：相邻两次扫描覆盖的方位区间首尾相接，
+ * 波束中心跳过的方位上的目标不会漏检；扇扫在扇区边界折返，转角超过一周（或扇区一个来回）时覆盖全部方位
+ *
+ * @author JP
+ * @version 1.0
+ */
+public class ElectromagneticRadarTest {
+
+    /**
+     * 雷达位置
+     */
+    private static final Position RADAR_POSITION = new Position(2500, 2500, 100);
+
+    /**
+     * 目标与雷达的水平距离（米）
+     */
+    private static final double TARGET_RANGE = 1000.0;
+
+    @Test
+    public void fullRotationDetectsTargetsBetweenBeamPositions() {
+        // 360度/秒、10Hz：波束中心每步跳36度，目标位于两次波束中心之间
+        Airspace airspace = airspace(0.1);
+        ElectromagneticRadar radar = radar(RadarParameters.ScanPattern.DEGREE_360, 0, 360);
+        airspace.addProbeDevice(radar);
+        for (int i = 0; i < 10; i++) {
+            airspace.addUAV(target("t" + i, 18 + 36 * i));
+        }
+        airspace.startSimulation();
+        radar.setStatus(DeviceStatus.ACTIVE);
+
+        Map<String, Integer> detections = new HashMap<>();
+        for (int step = 0; step < 20; step++) {
+            airspace.stepSimulation();
+            for (DetectionEvent event : radar.performDetection(airspace)) {
+                detections.merge(event.getDetectedUavId(), 1, Integer::sum);
+            }
+        }
+
+        // 两周内每个目标恰被扫过两次
+        assertEquals(10, detections.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(2, detections.get("t" + i).intValue(), "t" + i);
+        }
+    }
+
+    @Test
+    public void sweepScalesWithElapsedTimeNotScanCount() {
+        // 100度/秒：0.3秒内无论扫描1次、3次还是6次，天线都转过30度
+        assertEquals(30.0, scanAngleAfter(0.3, 1), 1e-9);
+        assertEquals(30.0, scanAngleAfter(0.1, 3), 1e-9);
+        assertEquals(30.0, scanAngleAfter(0.05, 6), 1e-9);
+        assertEquals(60.0, scanAngleAfter(0.1, 6), 1e-9);
+    }
+
+    @Test
+    public void sectorScanReversesAtSectorBounds() {
+        // 朝向90度的扇扫范围为[30, 150]，100度/秒、10Hz时每步转10度
+        Airspace airspace = airspace(0.1);
+        ElectromagneticRadar radar = radar(RadarParameters.ScanPattern.SECTOR, 90, 100);
+        airspace.addProbeDevice(radar);
+        airspace.startSimulation();
+        radar.setStatus(DeviceStatus.ACTIVE);
+
+        double[] expected = {100, 110, 120, 130, 140, 150, 140, 130};
+        int[] directions = {1, 1, 1, 1, 1, -1, -1, -1};
+        for (int step = 0; step < expected.length; step++) {
+            airspace.stepSimulation();
+            scan(airspace, radar);
+            assertEquals(expected[step], radar.getCurrentScanAngle(), 1e-9, "step " + step);
+            assertEquals(directions[step], radar.getScanDirection(), "step " + step);
+        }
+
+        // 再转125度：到下边界30度折返后回到55度
+        airspace.advanceSimulation(1.25);
+        scan(airspace, radar);
+        assertEquals(55.0, radar.getCurrentScanAngle(), 1e-9);
+        assertEquals(1, radar.getScanDirection());
+    }
+
+    @Test
+    public void sectorScanCoversTargetPassedWhileReversing() {
+        // 一步内由145度转到上边界150度再折返到145度，扫过的147度目标被探测，扇区外的目标不被探测
+        Airspace airspace = airspace(0.1);
+        ElectromagneticRadar radar = radar(RadarParameters.ScanPattern.SECTOR, 90, 100);
+        airspace.addProbeDevice(radar);
+        airspace.addUAV(target("edge", 147));
+        airspace.addUAV(target("outside", 155));
+        airspace.startSimulation();
+        radar.setStatus(DeviceStatus.ACTIVE);
+
+        airspace.advanceSimulation(0.55);
+        assertTrue(scan(airspace, radar).isEmpty());
+        assertEquals(145.0, radar.getCurrentScanAngle(), 1e-9);
+
+        airspace.advanceSimulation(0.1);
+        List<DetectionEvent> events = scan(airspace, radar);
+        assertEquals(1, events.size());
+        assertEquals("edge", events.get(0).getDetectedUavId());
+        assertEquals(145.0, radar.getCurrentScanAngle(), 1e-9);
+        assertEquals(-1, radar.getScanDirection());
+    }
+
+    @Test
+    public void sweepOfFullCircleOrMoreCoversAllAzimuths() {
+        // 360度/秒下一次扫描间隔1.5秒，转角540度，全周目标都被扫过
+        Airspace airspace = airspace(0.1);
+        ElectromagneticRadar rotating = radar(RadarParameters.ScanPattern.DEGREE_360, 0, 360);
+        airspace.addProbeDevice(rotating);
+        for (int i = 0; i < 12; i++) {
+            airspace.addUAV(target("t" + i, 5 + 30 * i));
+        }
+        airspace.startSimulation();
+        rotating.setStatus(DeviceStatus.ACTIVE);
+
+        airspace.advanceSimulation(1.5);
+        assertEquals(12, scan(airspace, rotating).size());
+        assertEquals(180.0, rotating.getCurrentScanAngle(), 1e-9);
+    }
+
+    @Test
+    public void sectorSweepOfFullCycleCoversWholeSector() {
+        // 扇区一个来回为240度，100度/秒下间隔2.5秒的一次扫描覆盖整个扇区，扇区外的目标仍不被探测
+        Airspace airspace = airspace(0.1);
+        ElectromagneticRadar radar = radar(RadarParameters.ScanPattern.SECTOR, 90, 100);
+        airspace.addProbeDevice(radar);
+        airspace.addUAV(target("lower", 32));
+        airspace.addUAV(target("upper", 148));
+        airspace.addUAV(target("behind", 270));
+        airspace.startSimulation();
+        radar.setStatus(DeviceStatus.ACTIVE);
+
+        airspace.advanceSimulation(2.5);
+        List<DetectionEvent> events = scan(airspace, radar);
+        assertEquals(2, events.size());
+        assertFalse(events.stream().anyMatch(event -> "behind".equals(event.getDetectedUavId())));
+        // 余下10度沿原方向推进
+        assertEquals(100.0, radar.getCurrentScanAngle(), 1e-9);
+    }
+
+    /**
+     * 100度/秒的360度扫描雷达按给定间隔扫描若干次后的扫描角
+     */
+    private static double scanAngleAfter(double interval, int scans) {
+        Airspace airspace = airspace(interval);
+        ElectromagneticRadar radar = radar(RadarParameters.ScanPattern.DEGREE_360, 0, 100);
+        airspace.addProbeDevice(radar);
+        airspace.startSimulation();
+        radar.setStatus(DeviceStatus.ACTIVE);
+        for (int i = 0; i < scans; i++) {
+            airspace.advanceSimulation(interval);
+            scan(airspace, radar);
+        }
+        return radar.getCurrentScanAngle();
+    }
+
+    /**
+     * 执行一次探测
+     */
+    private static List<DetectionEvent> scan(Airspace airspace, ElectromagneticRadar radar) {
+        return radar.performDetection(airspace);
+    }
+
+    /**
+     * 按给定步长创建空域
+     */
+    private static Airspace airspace(double stepSeconds) {
+        Airspace airspace = new Airspace("radar", 0, 0, 0, 5000, 5000, 1000);
+        airspace.reseed(1, 0);
+        airspace.updateTimeStep(stepSeconds);
+        return airspace;
+    }
+
+    /**
+     * 波束宽度1度、全向视场的雷达
+     */
+    private static ElectromagneticRadar radar(RadarParameters.ScanPattern pattern, double orientation,
+                                              double rotationRate) {
+        RadarParameters parameters = new RadarParameters(10e9, 1e6, 35, 3, 5,
+                pattern, 1000, 1e-6, 1, 150000, 150, 1, rotationRate);
+        ElectromagneticRadar radar = new ElectromagneticRadar();
+        radar.initialize(new DeviceInitParamsDTO("radar", "radar", DeviceType.RADAR, RADAR_POSITION,
+                orientation, 0, new Orientation(1, 0, 0, 0), 3000, 360, parameters));
+        return radar;
+    }
+
+    /**
+     * 位于雷达给定方位（度）的静止目标
+     */
+    private static UAV target(String id, double azimuth) {
+        double radians = Math.toRadians(azimuth);
+        Position position = new Position(RADAR_POSITION.getX() + TARGET_RANGE * Math.cos(radians),
+                RADAR_POSITION.getY() + TARGET_RANGE * Math.sin(radians), RADAR_POSITION.getZ());
+        return new UAV(id, id, UAVState.createStationary(position));
+    }
+}
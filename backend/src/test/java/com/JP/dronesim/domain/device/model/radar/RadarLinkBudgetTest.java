@@ -0,0 +1,129 @@
+package com.JP.dronesim.domain.device.model.radar;
+
+import com.JP.dronesim.domain.airspace.model.EnvironmentParameters;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 雷达链路预算测试
+ * 预计算常数后的闭式计算与逐项计算雷达方程比较，距离分箱表插值在作用距离内密集采样校验误差上界，
+ * 另测分箱表范围外回退到公式、姿态增益叠加与参数变化判定
+ *
+ * @author JP
+ * @version 1.0
+ */
+public class RadarLinkBudgetTest {
+
+    /**
+     * 闭式计算与逐项计算的允许差异（dB）
+     */
+    private static final double EXACT_TOLERANCE_DB = 1e-9;
+
+    /**
+     * 每种配置的采样点数
+     */
+    private static final int SAMPLES = 200_000;
+
+    /**
+     * 测试用雷达参数
+     */
+    private static final RadarParameters PARAMETERS = new RadarParameters(10e9, 1000.0, 30.0, 3.0, 13.0,
+            RadarParameters.ScanPattern.DEGREE_360, 1000.0, 1e-6, 3.0, 150000.0, 150.0, 1.0);
+
+    @Test
+    public void closedFormMatchesRadarEquation() {
+        for (EnvironmentParameters.WeatherType weather : EnvironmentParameters.WeatherType.values()) {
+            EnvironmentParameters environment = EnvironmentParameters.of(weather);
+            RadarLinkBudget budget = RadarLinkBudget.create(PARAMETERS, environment, 50_000, 0);
+            assertFalse(budget.isTabulated());
+            for (double range = 1.0; range < 200_000; range *= 1.07) {
+                for (double rcs : new double[]{0.001, 0.1, 10}) {
+                    assertEquals(radarEquation(range, rcs, environment), budget.exactSignalToNoiseRatio(range, rcs),
+                            EXACT_TOLERANCE_DB, weather + " " + range);
+                    assertEquals(budget.exactSignalToNoiseRatio(range, rcs), budget.signalToNoiseRatio(range, rcs),
+                            EXACT_TOLERANCE_DB);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void tableStaysWithinTolerance() {
+        for (double maxRange : new double[]{6000, 50_000}) {
+            for (EnvironmentParameters.WeatherType weather : EnvironmentParameters.WeatherType.values()) {
+                EnvironmentParameters environment = EnvironmentParameters.of(weather);
+                RadarLinkBudget budget = RadarLinkBudget.create(PARAMETERS, environment, maxRange,
+                        RadarLinkBudget.DEFAULT_TABLE_BINS);
+                assertTrue(budget.isTabulated());
+                assertTrue(budget.getExactBelow() < maxRange / 10, "精确计算区间过大");
+                double maxError = 0.0;
+                for (int i = 0; i <= SAMPLES; i++) {
+                    double range = 1.0 + (maxRange - 1.0) * i / SAMPLES;
+                    maxError = Math.max(maxError, Math.abs(budget.signalToNoiseRatio(range, 0.1)
+                            - radarEquation(range, 0.1, environment)));
+                }
+                assertTrue(maxError <= RadarLinkBudget.TABLE_TOLERANCE_DB,
+                        weather + " 最大距离 " + maxRange + " 查表误差 " + maxError + " dB");
+            }
+        }
+    }
+
+    @Test
+    public void outsideTheTableFallsBackToTheFormula() {
+        RadarLinkBudget budget = RadarLinkBudget.create(PARAMETERS, null, 6000, 256);
+        for (double range : new double[]{0.5, budget.getExactBelow() / 2, 6000.5, 20_000}) {
+            assertEquals(budget.exactSignalToNoiseRatio(range, 0.1), budget.signalToNoiseRatio(range, 0.1), 0.0);
+        }
+        assertEquals(budget.exactSignalToNoiseRatio(6000, 0.1), budget.signalToNoiseRatio(6000, 0.1),
+                RadarLinkBudget.TABLE_TOLERANCE_DB);
+    }
+
+    @Test
+    public void aspectGainAndRcsAreAddedInDecibels() {
+        RadarLinkBudget budget = RadarLinkBudget.create(PARAMETERS, EnvironmentParameters.of(
+                EnvironmentParameters.WeatherType.RAINY), 10_000, RadarLinkBudget.DEFAULT_TABLE_BINS);
+        double base = budget.signalToNoiseRatio(3000, 0.1);
+        assertEquals(base - 7.5, budget.signalToNoiseRatio(3000, 0.1, -7.5), 1e-12);
+        // 交替使用不同RCS时缓存的对数值不串用
+        assertEquals(base + 10, budget.signalToNoiseRatio(3000, 1.0), 1e-9);
+        assertEquals(base, budget.signalToNoiseRatio(3000, 0.1), 1e-12);
+        assertEquals(2 * 10e9 / 3e8 * 15, budget.dopplerShift(15), 1e-9);
+    }
+
+    @Test
+    public void detectsParameterChanges() {
+        EnvironmentParameters environment = EnvironmentParameters.of(EnvironmentParameters.WeatherType.DAY_CLEAR);
+        RadarLinkBudget budget = RadarLinkBudget.create(PARAMETERS, environment, 6000, 64);
+        assertTrue(budget.isBuiltFor(PARAMETERS, environment, 6000));
+        assertFalse(budget.isBuiltFor(PARAMETERS, environment, 7000));
+        assertFalse(budget.isBuiltFor(PARAMETERS,
+                EnvironmentParameters.of(EnvironmentParameters.WeatherType.RAINY), 6000));
+        assertThrows(IllegalArgumentException.class, () -> RadarLinkBudget.create(null, environment, 6000, 0));
+        assertThrows(IllegalArgumentException.class, () -> RadarLinkBudget.create(PARAMETERS, environment, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> RadarLinkBudget.create(PARAMETERS, environment, 6000, -1));
+    }
+
+    /**
+     * 逐项计算雷达方程与大气损耗
+     */
+    private static double radarEquation(double range, double rcs, EnvironmentParameters environment) {
+        double wavelength = 3e8 / PARAMETERS.getFrequency();
+        double gain = Math.pow(10, PARAMETERS.getGain() / 10.0);
+        double noise = 1.38e-23 * 290.0 / PARAMETERS.getPulseWidth()
+                * Math.pow(10, PARAMETERS.getNoiseFigure() / 10.0);
+        double lossDb = 0.1 * (range / 1000.0) * Math.sqrt(PARAMETERS.getFrequency() / 1e9);
+        if (environment != null && environment.isRaining()) {
+            lossDb *= 2.0;
+        }
+        if (environment != null && environment.getVisibility() < 1000.0) {
+            lossDb *= 1.5;
+        }
+        double signal = PARAMETERS.getPower() * gain * gain * wavelength * wavelength * rcs
+                / (Math.pow(4 * Math.PI, 3) * Math.pow(range, 4) * noise * Math.pow(10, lossDb / 10.0));
+        return 10 * Math.log10(signal);
+    }
+}
@@ -0,0 +1,224 @@
+package com.JP.dronesim.domain.device.model.radar;
+
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.common.valueobjects.Velocity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 雷达多目标跟踪器测试
+ * 以合成量测驱动跟踪器，校验航迹起始、确认、漏测与超时删除、交叉目标不串批，以及簇内按全局最近邻分配
+ *
+ * @author JP
+ * @version 1.0
+ */
+public class RadarTrackerTest {
+
+    /**
+     * 雷达位置
+     */
+    private static final Position ORIGIN = new Position(0, 0, 0);
+
+    /**
+     * 作用距离（米）
+     */
+    private static final double RANGE = 6000.0;
+
+    /**
+     * 接触序号
+     */
+    private int nextContact;
+
+    @Test
+    public void initiatesTentativeTrackAndConfirmsAfterEnoughHits() {
+        RadarTracker tracker = new RadarTracker("r");
+
+        List<RadarContact> first = scan(tracker, 0.0, contact("a", 3000, 3000, -100));
+        assertEquals(1, tracker.getTrackCount());
+        assertEquals(0, tracker.getConfirmedTrackCount());
+        assertTrue(first.get(0).isNewDetection());
+        String trackId = first.get(0).getTrackId();
+        assertEquals("r-T1", trackId);
+        assertEquals(RadarTrack.TrackState.TENTATIVE, tracker.getTracks().get(0).getState());
+
+        // 匀速20米/秒沿X方向飞行
+        for (int k = 1; k < RadarTracker.DEFAULT_CONFIRM_HITS; k++) {
+            List<RadarContact> associated = scan(tracker, k, contact("a", 3000 + 20.0 * k, 3000, -100));
+            assertFalse(associated.get(0).isNewDetection());
+            assertEquals(trackId, associated.get(0).getTrackId());
+        }
+        assertEquals(1, tracker.getConfirmedTrackCount());
+        RadarTrack track = tracker.getTracks().get(0);
+        assertEquals(RadarTrack.TrackState.CONFIRMED, track.getState());
+        assertEquals(20.0, track.getVelocity().getVx(), 1e-9);
+        assertEquals(0.0, track.getVelocity().getVy(), 1e-9);
+        assertEquals(3060.0, track.predictPosition(3.0).getX(), 1e-9);
+        assertEquals(1, tracker.getInitiatedCount());
+    }
+
+    @Test
+    public void measurementOutsideGateStartsNewTrack() {
+        RadarTracker tracker = new RadarTracker("r");
+        scan(tracker, 0.0, contact("a", 3000, 3000, -100));
+        scan(tracker, 1.0, contact("a", 3020, 3000, -100));
+
+        // 有速度估计后波门为 30 + 0.5 * 10 * 1² = 35米，偏离预测40米的量测不关联
+        List<RadarContact> associated = scan(tracker, 2.0, contact("a", 3040, 3040, -100));
+        assertTrue(associated.get(0).isNewDetection());
+        assertEquals(2, tracker.getTrackCount());
+        assertEquals(1, tracker.getTracks().get(0).getMisses());
+    }
+
+    @Test
+    public void deletesTracksAfterConsecutiveMissesInsideCoverage() {
+        RadarTracker tracker = new RadarTracker("r");
+        confirmStationary(tracker, 3000, 3000);
+        scan(tracker, 3.0, contact("a", 3000, 3000, -100), contact("b", -3000, 3000, -100));
+        assertEquals(2, tracker.getTrackCount());
+
+        // 暂定航迹连续漏测2次删除，确认航迹连续漏测4次删除
+        for (int k = 0; k < RadarTracker.DEFAULT_MAX_CONFIRMED_MISSES; k++) {
+            scan(tracker, 4.0 + k);
+            int expected = k + 1 >= RadarTracker.DEFAULT_MAX_CONFIRMED_MISSES ? 0
+                    : k + 1 >= RadarTracker.DEFAULT_MAX_TENTATIVE_MISSES ? 1 : 2;
+            assertEquals(expected, tracker.getTrackCount(), "第" + (k + 1) + "次漏测后");
+        }
+        assertEquals(2, tracker.getDroppedCount());
+    }
+
+    @Test
+    public void missesCountOnlyWhereTheBeamLooked() {
+        RadarTracker tracker = new RadarTracker("r");
+        confirmStationary(tracker, 3000, 3000);
+
+        // 航迹在45度方位，扫过180-270度的波束不记漏测
+        for (int k = 0; k < 10; k++) {
+            tracker.update(Collections.emptyList(), 3.0 + k, ORIGIN, 180.0, 90.0, RANGE);
+        }
+        assertEquals(1, tracker.getTrackCount());
+        assertEquals(0, tracker.getTracks().get(0).getMisses());
+
+        // 作用距离之外同样不记漏测
+        tracker.update(Collections.emptyList(), 13.0, ORIGIN, 0.0, 360.0, 1000.0);
+        assertEquals(0, tracker.getTracks().get(0).getMisses());
+
+        // 超过存活时间未更新的航迹删除
+        double expiry = 2.0 + RadarTracker.DEFAULT_TRACK_TTL + 0.5;
+        tracker.update(Collections.emptyList(), expiry, ORIGIN, 180.0, 90.0, RANGE);
+        assertEquals(0, tracker.getTrackCount());
+    }
+
+    @Test
+    public void crossingTargetsKeepTheirTracks() {
+        RadarTracker tracker = new RadarTracker("r");
+        String trackA = null;
+        String trackB = null;
+        // A沿X方向、B沿Y方向飞行，第50秒在(3000, 3000)附近交叉，高度相差5米
+        for (int t = 0; t <= 100; t++) {
+            RadarContact a = contact("a", 2000 + 20.0 * t, 3000, -100);
+            RadarContact b = contact("b", 3000, 2000 + 20.0 * t, -105);
+            boolean reversed = t % 2 == 1;
+            List<RadarContact> associated = reversed ? scan(tracker, t, b, a) : scan(tracker, t, a, b);
+            String idA = associated.get(reversed ? 1 : 0).getTrackId();
+            String idB = associated.get(reversed ? 0 : 1).getTrackId();
+            if (t == 0) {
+                trackA = idA;
+                trackB = idB;
+            }
+            assertEquals(trackA, idA, "目标A在第" + t + "秒串批");
+            assertEquals(trackB, idB, "目标B在第" + t + "秒串批");
+        }
+        assertNotEquals(trackA, trackB);
+        assertEquals(2, tracker.getConfirmedTrackCount());
+        assertEquals(2, tracker.getInitiatedCount());
+    }
+
+    @Test
+    public void clusterUsesGlobalNearestNeighbourAssignment() {
+        RadarTracker tracker = new RadarTracker("r");
+        for (int t = 0; t < 3; t++) {
+            scan(tracker, t, contact("a", 3000, 3000, -100), contact("b", 3020, 3000, -100));
+        }
+        String trackA = tracker.getTracks().get(0).getTrackId();
+        String trackB = tracker.getTracks().get(1).getTrackId();
+
+        // 贪心先取最近的 B-c1（9米），A只能取 c2（34米）；全局最优为 A-c1（11米）、B-c2（14米）
+        List<RadarContact> associated = scan(tracker, 3.0,
+                contact("c1", 3011, 3000, -100), contact("c2", 3034, 3000, -100));
+        assertEquals(trackA, associated.get(0).getTrackId());
+        assertEquals(trackB, associated.get(1).getTrackId());
+        assertEquals(2, tracker.getTrackCount());
+    }
+
+    @Test
+    public void resetClearsTracksAndNumbering() {
+        RadarTracker tracker = new RadarTracker("r");
+        scan(tracker, 0.0, contact("a", 3000, 3000, -100), contact("b", -3000, 3000, -100));
+        tracker.reset();
+        assertEquals(0, tracker.getTrackCount());
+        assertEquals(0, tracker.getInitiatedCount());
+        assertEquals("r-T1", scan(tracker, 1.0, contact("a", 3000, 3000, -100)).get(0).getTrackId());
+    }
+
+    @Test
+    public void capacityEvictsTentativeTracksFirst() {
+        RadarTracker tracker = new RadarTracker("r", 30.0, 60.0, 10.0, 300.0, 0.85, 0.5, 3, 2, 4, 15.0, 2);
+        confirmStationary(tracker, 3000, 3000);
+        scan(tracker, 3.0, contact("b", -3000, 3000, -100), contact("c", 3000, -3000, -100));
+
+        assertEquals(2, tracker.getTrackCount());
+        assertTrue(tracker.getTracks().get(0).isConfirmed());
+        assertEquals(1, tracker.getDroppedCount());
+    }
+
+    @Test
+    public void rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new RadarTracker(" "));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RadarTracker("r", 30.0, 60.0, 10.0, 20.0, 0.85, 0.5, 3, 2, 4, 15.0, 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RadarTracker("r", 30.0, 60.0, 10.0, 300.0, 0.85, 2.0, 3, 2, 4, 15.0, 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RadarTracker("r").update(null, 0.0, ORIGIN, 0.0, 360.0, RANGE));
+    }
+
+    /**
+     * 在指定位置起始并确认一条静止航迹（第0-2秒各一次量测）
+     */
+    private void confirmStationary(RadarTracker tracker, double x, double y) {
+        for (int t = 0; t < RadarTracker.DEFAULT_CONFIRM_HITS; t++) {
+            scan(tracker, t, contact("a", x, y, -100));
+        }
+        assertEquals(1, tracker.getConfirmedTrackCount());
+    }
+
+    /**
+     * 以全周覆盖处理一次扫描
+     */
+    private static List<RadarContact> scan(RadarTracker tracker, double time, RadarContact... contacts) {
+        return tracker.update(new ArrayList<>(Arrays.asList(contacts)), time, ORIGIN, 0.0, 360.0, RANGE);
+    }
+
+    /**
+     * 构造指定世界位置的量测（距离与方位由位置求得）
+     */
+    private RadarContact contact(String targetId, double x, double y, double z) {
+        double range = Math.sqrt(x * x + y * y + z * z);
+        double azimuth = AzimuthArc.normalize(Math.toDegrees(Math.atan2(y, x)));
+        double elevation = Math.toDegrees(Math.asin(-z / range));
+        return new RadarContact("c" + (++nextContact), LocalDateTime.of(2024, 1, 1, 0, 0), "r", targetId,
+                range, azimuth, elevation, 0.0, new Position(x, y, z), new Velocity(0, 0, 0), 20.0, 0.1, 0.9,
+                RadarContact.TargetClassification.SMALL_UAV, 0.0, 1.0, 0.1, 0.5, true, null);
+    }
+}
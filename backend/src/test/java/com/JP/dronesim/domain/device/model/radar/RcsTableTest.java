@@ -0,0 +1,110 @@
+package com.JP.dronesim.domain.device.model.radar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 雷达截面积姿态表测试
+ * 在球面均匀分布的视线方向上比较查表增益与散射模型的精确增益，校验误差上界、名义RCS归一化，
+ * 以及坐标轴方向、左右对称与按名义RCS选择机型
+ *
+ * @author JP
+ * @version 1.0
+ */
+public class RcsTableTest {
+
+    /**
+     * 采样方向数
+     */
+    private static final int SAMPLES = 200_000;
+
+    /**
+     * 查表误差上界（dB），实测最大约0.11 dB（隐身机型的窄波瓣）
+     */
+    private static final double MAX_ERROR_DB = 0.2;
+
+    /**
+     * 查表均方根误差上界（dB）
+     */
+    private static final double RMS_ERROR_DB = 0.03;
+
+    @Test
+    public void tableMatchesExactModelWithinBounds() {
+        for (RcsTable.SignatureType type : RcsTable.SignatureType.values()) {
+            RcsTable table = RcsTable.of(type);
+            Random random = new Random(3);
+            double max = 0.0;
+            double squares = 0.0;
+            double linear = 0.0;
+            for (int i = 0; i < SAMPLES; i++) {
+                // 仰角正弦与方位角均匀分布即球面均匀分布
+                double sinElevation = -1.0 + 2.0 * random.nextDouble();
+                double azimuth = -Math.PI + 2.0 * Math.PI * random.nextDouble();
+                double horizontal = Math.sqrt(1.0 - sinElevation * sinElevation);
+                double exact = table.exactGainDb(azimuth, Math.asin(sinElevation));
+                double error = Math.abs(table.gainDb(horizontal * Math.cos(azimuth), horizontal * Math.sin(azimuth),
+                        -sinElevation) - exact);
+                max = Math.max(max, error);
+                squares += error * error;
+                linear += Math.pow(10.0, exact / 10.0);
+            }
+            assertTrue(max <= MAX_ERROR_DB, type + " 最大误差 " + max + " dB");
+            assertTrue(Math.sqrt(squares / SAMPLES) <= RMS_ERROR_DB, type + " 均方根误差超限");
+            // 名义RCS为全向平均值
+            assertEquals(1.0, linear / SAMPLES, 0.01, type + " 线性增益的球面平均");
+        }
+    }
+
+    @Test
+    public void axisDirectionsHitTableNodesExactly() {
+        for (RcsTable.SignatureType type : RcsTable.SignatureType.values()) {
+            RcsTable table = RcsTable.of(type);
+            assertEquals(table.exactGainDb(0.0, 0.0), table.gainDb(1, 0, 0), 1e-9, type + " 机头");
+            assertEquals(table.exactGainDb(Math.PI / 2, 0.0), table.gainDb(0, 1, 0), 1e-9, type + " 右翼");
+            assertEquals(table.exactGainDb(Math.PI, 0.0), table.gainDb(-1, 0, 0), 1e-9, type + " 机尾");
+            assertEquals(table.exactGainDb(-Math.PI / 2, 0.0), table.gainDb(0, -1, 0), 1e-9, type + " 左翼");
+            assertEquals(table.exactGainDb(0.0, Math.PI / 2), table.gainDb(0, 0, -1), 1e-9, type + " 正上方");
+            assertEquals(table.exactGainDb(0.0, -Math.PI / 2), table.gainDb(0, 0, 1), 1e-9, type + " 正下方");
+        }
+    }
+
+    @Test
+    public void gainIsSymmetricAboutTheFuselage() {
+        Random random = new Random(5);
+        for (RcsTable.SignatureType type : RcsTable.SignatureType.values()) {
+            RcsTable table = RcsTable.of(type);
+            for (int i = 0; i < 10_000; i++) {
+                double x = random.nextGaussian();
+                double y = random.nextGaussian();
+                double z = random.nextGaussian();
+                double norm = Math.sqrt(x * x + y * y + z * z);
+                assertEquals(table.gainDb(x / norm, y / norm, z / norm), table.gainDb(x / norm, -y / norm, z / norm),
+                        1e-6, type + " 左右不对称");
+            }
+        }
+    }
+
+    @Test
+    public void aspectMattersForDirectionalSignatures() {
+        RcsTable fixedWing = RcsTable.of(RcsTable.SignatureType.FIXED_WING);
+        assertTrue(fixedWing.gainDb(0, 1, 0) - fixedWing.gainDb(1, 0, 0) > 10.0, "固定翼正侧方应远强于迎头");
+
+        RcsTable stealth = RcsTable.of(RcsTable.SignatureType.STEALTH);
+        assertTrue(stealth.gainDb(1, 0, 0) < -10.0, "隐身迎头应比平均低10 dB以上");
+    }
+
+    @Test
+    public void selectsSharedTableByNominalRcs() {
+        assertSame(RcsTable.of(RcsTable.SignatureType.STEALTH), RcsTable.forNominalRcs(0.002));
+        assertSame(RcsTable.of(RcsTable.SignatureType.MULTIROTOR), RcsTable.forNominalRcs(0.01));
+        assertSame(RcsTable.of(RcsTable.SignatureType.MULTIROTOR), RcsTable.forNominalRcs(0.05));
+        assertSame(RcsTable.of(RcsTable.SignatureType.FIXED_WING), RcsTable.forNominalRcs(0.5));
+        assertThrows(IllegalArgumentException.class, () -> RcsTable.of(null));
+    }
+}
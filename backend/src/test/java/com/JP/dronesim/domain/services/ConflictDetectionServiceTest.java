@@ -0,0 +1,169 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.events.ConflictEvent;
+import com.JP.dronesim.domain.common.enums.ConflictType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.common.valueobjects.Velocity;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 冲突检测服务测试
+ * 排序扫描得到的冲突与两两计算最近接近点的结果比较，并校验持续冲突不重复产生事件、
+ * 预测冲突升级为间隔丧失时再次产生事件
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class ConflictDetectionServiceTest {
+
+    @Test
+    public void conflictsMatchPairwiseClosestApproach() {
+        Random random = new Random(5);
+        for (int trial = 0; trial < 3; trial++) {
+            Airspace airspace = new Airspace("conflict", 0, 0, -500, 5000, 5000, 0);
+            List<UAV> uavs = new ArrayList<>();
+            for (int i = 0; i < 1500; i++) {
+                UAV uav = flying("u" + i, new Position(5000 * random.nextDouble(), 5000 * random.nextDouble(),
+                        -500 * random.nextDouble()), new Velocity(random.nextGaussian() * 15,
+                        random.nextGaussian() * 15, random.nextGaussian() * 2));
+                airspace.addUAV(uav);
+                uavs.add(uav);
+            }
+            ConflictDetectionService service = new ConflictDetectionService();
+            service.setSeparation(40);
+            service.setLookAheadTime(20);
+
+            Map<String, ConflictType> expected = pairwise(uavs, 40, 20);
+            List<ConflictEvent> events = service.detectConflicts(airspace);
+            Map<String, ConflictType> found = new HashMap<>();
+            for (ConflictEvent event : events) {
+                assertTrue(event.getUavIdA().compareTo(event.getUavIdB()) < 0);
+                found.put(event.getUavIdA() + "|" + event.getUavIdB(), event.getConflictType());
+            }
+            assertEquals(expected.size(), events.size(), "同一对无人机产生了多个事件");
+            assertEquals(expected, found);
+            assertTrue(expected.containsValue(ConflictType.LOSS_OF_SEPARATION)
+                    && expected.containsValue(ConflictType.PREDICTED), "两种冲突都应覆盖到");
+            assertEquals(expected.size(), service.getActiveConflictCount());
+            assertEquals(events.size(), airspace.getConflictLog().getEventCount());
+
+            // 状态不变时不重复产生事件
+            assertTrue(service.detectConflicts(airspace).isEmpty());
+            assertEquals(expected.size(), service.getActiveConflictCount());
+        }
+    }
+
+    @Test
+    public void predictedConflictEscalatesToLossOfSeparation() {
+        ConflictDetectionService service = new ConflictDetectionService();
+        service.setSeparation(50);
+        service.setLookAheadTime(30);
+
+        // 相距200米、以20米/秒相向飞行：5秒后最接近
+        List<ConflictEvent> events = service.detectConflicts(headOn(200));
+        assertEquals(1, events.size());
+        assertEquals(ConflictType.PREDICTED, events.get(0).getConflictType());
+        assertEquals(5.0, events.get(0).getTimeToClosestApproach(), 1e-9);
+        assertEquals(0.0, events.get(0).getMinimumDistance(), 1e-9);
+
+        assertTrue(service.detectConflicts(headOn(120)).isEmpty());
+        events = service.detectConflicts(headOn(30));
+        assertEquals(1, events.size());
+        assertEquals(ConflictType.LOSS_OF_SEPARATION, events.get(0).getConflictType());
+
+        // 冲突解除后再次出现时重新产生事件
+        assertTrue(service.detectConflicts(headOn(2000)).isEmpty());
+        assertEquals(0, service.getActiveConflictCount());
+        assertEquals(1, service.detectConflicts(headOn(30)).size());
+        service.reset();
+        assertEquals(1, service.detectConflicts(headOn(30)).size());
+    }
+
+    @Test
+    public void zeroLookAheadOnlyReportsLossOfSeparation() {
+        ConflictDetectionService service = new ConflictDetectionService();
+        service.setLookAheadTime(0);
+        assertTrue(service.detectConflicts(headOn(200)).isEmpty());
+        assertEquals(1, service.detectConflicts(headOn(30)).size());
+        assertThrows(IllegalArgumentException.class, () -> service.detectConflicts(null));
+    }
+
+    @Test
+    public void predictTransitionsBracketSeparationWindow() {
+        ConflictDetectionService service = new ConflictDetectionService();
+        service.setSeparation(50);
+        service.setLookAheadTime(30);
+
+        // 相距200米、相对速度40米/秒：3.75秒时进入50米，6.25秒时离开
+        Airspace airspace = headOn(200);
+        UAV a = airspace.getUAVs().get("a"), b = airspace.getUAVs().get("b");
+        double[] transitions = service.predictTransitions(a, b);
+        assertEquals(3.75 - 30, transitions[0], 1e-9);
+        assertEquals(3.75, transitions[1], 1e-9);
+        assertEquals(6.25, transitions[2], 1e-9);
+        assertArrayEquals(transitions, service.predictTransitions(b, a), 1e-9);
+
+        // 同向等速或已经远离时不会冲突
+        assertNull(service.predictTransitions(a, flying("c", new Position(2000, 2500, -100), new Velocity(20, 0, 0))));
+        assertNull(service.predictTransitions(a, flying("d", new Position(2000, 2500, -100), new Velocity(-20, 0, 0))));
+    }
+
+    /**
+     * 两两计算前瞻时间内的最近接近距离
+     */
+    private static Map<String, ConflictType> pairwise(List<UAV> uavs, double separation, double lookAheadTime) {
+        Map<String, ConflictType> conflicts = new HashMap<>();
+        for (int i = 0; i < uavs.size(); i++) {
+            for (int j = i + 1; j < uavs.size(); j++) {
+                UAV a = uavs.get(i), b = uavs.get(j);
+                double rx = b.getX() - a.getX(), ry = b.getY() - a.getY(), rz = b.getZ() - a.getZ();
+                double wx = b.getVx() - a.getVx(), wy = b.getVy() - a.getVy(), wz = b.getVz() - a.getVz();
+                double speedSquared = wx * wx + wy * wy + wz * wz;
+                double t = speedSquared > 0
+                        ? Math.max(0, Math.min(lookAheadTime, -(rx * wx + ry * wy + rz * wz) / speedSquared)) : 0;
+                double cx = rx + wx * t, cy = ry + wy * t, cz = rz + wz * t;
+                if (cx * cx + cy * cy + cz * cz >= separation * separation) {
+                    continue;
+                }
+                boolean loss = rx * rx + ry * ry + rz * rz < separation * separation;
+                String key = a.getId().compareTo(b.getId()) < 0
+                        ? a.getId() + "|" + b.getId() : b.getId() + "|" + a.getId();
+                conflicts.put(key, loss ? ConflictType.LOSS_OF_SEPARATION : ConflictType.PREDICTED);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * 沿X轴相向飞行、相距指定距离的两架无人机
+     */
+    private static Airspace headOn(double distance) {
+        Airspace airspace = new Airspace("head-on", 0, 0, -500, 5000, 5000, 0);
+        airspace.addUAV(flying("a", new Position(2500 - distance / 2, 2500, -100), new Velocity(20, 0, 0)));
+        airspace.addUAV(flying("b", new Position(2500 + distance / 2, 2500, -100), new Velocity(-20, 0, 0)));
+        return airspace;
+    }
+
+    /**
+     * 指定ID、位置与速度的飞行中无人机
+     */
+    private static UAV flying(String id, Position position, Velocity velocity) {
+        return new UAV(id, id, UAVState.createFlying(position, Orientation.identity(), velocity));
+    }
+}
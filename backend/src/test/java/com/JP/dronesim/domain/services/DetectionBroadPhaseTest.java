@@ -0,0 +1,116 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.spatial.ConeShape;
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 探测粗筛测试
+ * X轴排序扫描得到的候选配对与逐设备遍历全部无人机、按视场圆锥判定的结果比较，
+ * 覆盖窄视场、全向视场、视场超出空域以及无人机移除后句柄不连续的情形
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class DetectionBroadPhaseTest {
+
+    @Test
+    public void candidatesMatchBruteForce() {
+        Random random = new Random(3);
+        Airspace airspace = new Airspace("broad", 0, 0, 0, 5000, 5000, 500);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            UAV uav = stationary(airspace, new Position(5000 * random.nextDouble(), 5000 * random.nextDouble(),
+                    500 * random.nextDouble()));
+            airspace.addUAV(uav);
+            ids.add(uav.getId());
+        }
+        // 移除部分无人机，使句柄不连续
+        Collections.shuffle(ids, random);
+        for (String id : ids.subList(0, 400)) {
+            airspace.removeUAV(id);
+        }
+        List<AbstractProbeDevice> devices = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            devices.add(device("d" + i, new Position(5000 * random.nextDouble(), 5000 * random.nextDouble(),
+                    500 * random.nextDouble()), 360 * random.nextDouble(), 90 * random.nextDouble(),
+                    100 + 900 * random.nextDouble(), 2 + 358 * random.nextDouble()));
+        }
+
+        int[][] candidates = new DetectionBroadPhase().computeCandidates(airspace, devices);
+        assertEquals(devices.size(), candidates.length);
+        long pairs = 0;
+        for (int i = 0; i < devices.size(); i++) {
+            int[] expected = bruteForce(airspace, devices.get(i));
+            assertArrayEquals(expected, candidates[i], "设备 " + i);
+            pairs += expected.length;
+        }
+        assertTrue(pairs > 1000, "候选配对过少，未覆盖扫描过程");
+    }
+
+    @Test
+    public void handlesEmptyInputs() {
+        Airspace airspace = new Airspace("empty", 0, 0, 0, 1000, 1000, 100);
+        DetectionBroadPhase broadPhase = new DetectionBroadPhase();
+        assertEquals(0, broadPhase.computeCandidates(airspace, Collections.emptyList()).length);
+
+        List<AbstractProbeDevice> devices = Collections.singletonList(
+                device("d", new Position(500, 500, 50), 0, 0, 300, 360));
+        assertEquals(0, broadPhase.computeCandidates(airspace, devices)[0].length);
+
+        airspace.addUAV(stationary(airspace, new Position(600, 500, 50)));
+        airspace.addUAV(stationary(airspace, new Position(900, 900, 50)));
+        assertEquals(1, broadPhase.computeCandidates(airspace, devices)[0].length);
+        assertThrows(IllegalArgumentException.class, () -> broadPhase.computeCandidates(null, devices));
+    }
+
+    /**
+     * 逐个判定全部无人机
+     */
+    private static int[] bruteForce(Airspace airspace, AbstractProbeDevice device) {
+        ConeShape cone = device.getDetectionCone();
+        List<Integer> handles = new ArrayList<>();
+        airspace.forEachUAV((uav, handle) -> {
+            if (cone.containsPoint(uav.getX(), uav.getY(), uav.getZ())) {
+                handles.add(handle);
+            }
+        });
+        return handles.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 指定视场的测试设备
+     */
+    private static AbstractProbeDevice device(String id, Position position, double azimuth, double elevation,
+                                              double range, double fieldOfView) {
+        AbstractProbeDevice device = new SweptDetectionTest.NarrowConeDevice();
+        device.initialize(new DeviceInitParamsDTO(id, id, DeviceType.OPTICAL_CAMERA, position, azimuth, elevation,
+                new Orientation(1, 0, 0, 0), range, fieldOfView, null));
+        return device;
+    }
+
+    /**
+     * 以空域实体ID创建的静止无人机
+     */
+    private static UAV stationary(Airspace airspace, Position position) {
+        String id = airspace.nextEntityId();
+        return new UAV(id, id, UAVState.createStationary(position));
+    }
+}
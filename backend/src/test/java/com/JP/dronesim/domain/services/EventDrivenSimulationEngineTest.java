@@ -0,0 +1,379 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.events.ConflictEvent;
+import com.JP.dronesim.domain.airspace.model.events.GeofenceEvent;
+import com.JP.dronesim.domain.airspace.model.geofence.GeofenceZone;
+import com.JP.dronesim.domain.common.enums.DeviceStatus;
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.enums.ZoneType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.SensorParameters;
+import com.JP.dronesim.domain.device.model.events.DetectionEvent;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import com.JP.dronesim.domain.uav.model.Waypoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 事件驱动仿真内核测试
+ * 稀疏场景（少量无人机穿越大空域，设备更新周期各异）下与定步长引擎逐设备比较探测记录，
+ * 默认配置（冲突检测）、地理围栏与连续探测下再比较冲突与围栏事件，并校验运行记入输入日志后可按位回放
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class EventDrivenSimulationEngineTest {
+
+    /**
+     * 仿真时长（秒）
+     */
+    private static final double HORIZON_SECONDS = 600.0;
+
+    /**
+     * 设备更新周期（秒），0表示每步探测
+     */
+    private static final double[] PERIODS = {0.0, 0.25, 1.0, 2.5, 1.0 / 3, 5.0};
+
+    /**
+     * 更新周期参数
+     */
+    public static class PeriodParameters implements SensorParameters {
+
+        /**
+         * 更新周期（秒）
+         */
+        private final double period;
+
+        /**
+         * 构造函数
+         *
+         * @param period 更新周期（秒）
+         */
+        public PeriodParameters(double period) {
+            this.period = period;
+        }
+
+        @Override
+        public boolean isValid() {
+            return period >= 0;
+        }
+
+        @Override
+        public String getParametersDescription() {
+            return "period=" + period;
+        }
+
+        @Override
+        public SensorParameters clone() {
+            return new PeriodParameters(period);
+        }
+
+        @Override
+        public void updateFrom(SensorParameters newParameters) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public double getUpdatePeriod() {
+            return period;
+        }
+    }
+
+    /**
+     * 记录设备：每次运行计数，候选非空时按步序号记录候选，并对探测距离内的目标生成事件
+     */
+    public static class RecordingDevice extends AbstractProbeDevice {
+
+        /**
+         * 运行次数
+         */
+        private int runs;
+
+        /**
+         * 探测记录（步序号:候选ID）
+         */
+        private final List<String> records = new ArrayList<>();
+
+        /**
+         * 构造函数
+         */
+        public RecordingDevice() {
+            super(DeviceType.RADAR);
+        }
+
+        @Override
+        protected void doSpecificInitialization(DeviceInitParamsDTO initParams) {
+        }
+
+        @Override
+        protected List<DetectionEvent> doPerformDetection(Airspace airspace, List<UAV> uavs) {
+            runs++;
+            List<DetectionEvent> events = new ArrayList<>();
+            if (uavs.isEmpty()) {
+                return events;
+            }
+            StringBuilder record = new StringBuilder();
+            record.append(Math.round(airspace.getTimeStep().getElapsedTime() / airspace.getTimeStep().getStepSize()))
+                    .append(':');
+            for (UAV uav : uavs) {
+                record.append(uav.getId()).append(',');
+                double distance = uav.getPosition().distanceTo(getPosition());
+                if (distance <= getDetectionRange()) {
+                    events.add(DetectionEvent.createSimple(nextEventId(), getSimulationTime(), getId(), getType(),
+                            uav.getId(), uav.getPosition(), 1.0, distance));
+                }
+            }
+            records.add(record.toString());
+            return events;
+        }
+
+        @Override
+        protected void doAdjustParameters(SensorParameters newParameters) {
+        }
+
+        @Override
+        protected void doReset() {
+        }
+    }
+
+    @Test
+    public void sparseScenarioMatchesFixedStepDetectionLogs() {
+        Airspace fixed = sparseScenario();
+        SimulationEngineService fixedEngine = quietEngine();
+        fixedEngine.startSimulation(fixed);
+        BatchRunResult fixedResult = fixedEngine.runBatch(fixed, 0, HORIZON_SECONDS, null);
+
+        Airspace jumped = sparseScenario();
+        SimulationEngineService engine = quietEngine();
+        engine.startSimulation(jumped);
+        EventDrivenSimulationEngine kernel = new EventDrivenSimulationEngine(engine);
+        BatchRunResult jumpedResult = kernel.runBatch(jumped, 0, HORIZON_SECONDS, null);
+
+        assertEquals(fixedResult.getSteps(), jumpedResult.getSteps());
+        assertTrue(kernel.getProcessedSteps() < jumpedResult.getSteps() / 2,
+                "稀疏场景应跳过大部分步: " + kernel.getProcessedSteps());
+
+        Map<String, RecordingDevice> fixedDevices = devices(fixed);
+        Map<String, RecordingDevice> jumpedDevices = devices(jumped);
+        int detections = 0;
+        for (Map.Entry<String, RecordingDevice> entry : fixedDevices.entrySet()) {
+            RecordingDevice expected = entry.getValue();
+            RecordingDevice actual = jumpedDevices.get(entry.getKey());
+            assertEquals(expected.records, actual.records, "设备探测记录不一致: " + entry.getKey());
+            assertEquals(expected.getDetectionLog().getTotalEventCount(), actual.getDetectionLog().getTotalEventCount(),
+                    "设备探测日志条数不一致: " + entry.getKey());
+            if (expected.getUpdatePeriod() > 0) {
+                assertEquals(expected.runs, actual.runs, "周期设备运行次数不一致: " + entry.getKey());
+            }
+            detections += expected.records.size();
+        }
+        assertTrue(detections > 0, "场景中应有探测");
+
+        for (String id : fixed.getUAVs().keySet()) {
+            UAV expected = fixed.getUAVs().get(id);
+            UAV actual = jumped.getUAVs().get(id);
+            assertEquals(0.0, expected.getPosition().distanceTo(actual.getPosition()), 1e-6);
+            assertEquals(expected.getStatus(), actual.getStatus());
+        }
+    }
+
+    @Test
+    public void defaultConfigurationMatchesFixedStepConflictsAndGeofences() {
+        Airspace fixed = zonedScenario();
+        SimulationEngineService fixedEngine = conflictEngine();
+        fixedEngine.startSimulation(fixed);
+        fixedEngine.runBatch(fixed, 0, HORIZON_SECONDS, null);
+
+        Airspace jumped = zonedScenario();
+        SimulationEngineService engine = conflictEngine();
+        engine.startSimulation(jumped);
+        EventDrivenSimulationEngine kernel = new EventDrivenSimulationEngine(engine);
+        BatchRunResult result = kernel.runBatch(jumped, 0, HORIZON_SECONDS, null);
+
+        List<String> expectedConflicts = conflicts(fixed);
+        assertFalse(expectedConflicts.isEmpty(), "场景中应有冲突");
+        assertEquals(expectedConflicts, conflicts(jumped));
+        List<String> expectedCrossings = crossings(fixed);
+        assertFalse(expectedCrossings.isEmpty(), "场景中应有围栏进出");
+        assertEquals(expectedCrossings, crossings(jumped));
+        assertTrue(kernel.getProcessedSteps() < result.getSteps() / 2,
+                "冲突与围栏事件之间的步应被跳过: " + kernel.getProcessedSteps());
+    }
+
+    @Test
+    public void continuousDetectionMatchesFixedStepDetectionLogs() {
+        Airspace fixed = sparseScenario();
+        SimulationEngineService fixedEngine = quietEngine();
+        fixedEngine.setContinuousDetection(true);
+        fixedEngine.startSimulation(fixed);
+        fixedEngine.runBatch(fixed, 0, HORIZON_SECONDS, null);
+
+        Airspace jumped = sparseScenario();
+        SimulationEngineService engine = quietEngine();
+        engine.setContinuousDetection(true);
+        engine.startSimulation(jumped);
+        new EventDrivenSimulationEngine(engine).runBatch(jumped, 0, HORIZON_SECONDS, null);
+
+        Map<String, RecordingDevice> fixedDevices = devices(fixed);
+        Map<String, RecordingDevice> jumpedDevices = devices(jumped);
+        for (Map.Entry<String, RecordingDevice> entry : fixedDevices.entrySet()) {
+            RecordingDevice expected = entry.getValue();
+            RecordingDevice actual = jumpedDevices.get(entry.getKey());
+            assertEquals(expected.records, actual.records, "设备探测记录不一致: " + entry.getKey());
+            assertEquals(expected.getDetectionLog().getTotalEventCount(), actual.getDetectionLog().getTotalEventCount(),
+                    "设备探测日志条数不一致: " + entry.getKey());
+        }
+    }
+
+    @Test
+    public void journaledRunReplaysBitForBit() {
+        Airspace airspace = sparseScenario();
+        SimulationEngineService engine = quietEngine();
+        engine.startSimulation(airspace);
+        new EventDrivenSimulationEngine(engine).runBatch(airspace, 0, HORIZON_SECONDS, null);
+
+        InputJournal journal = engine.getJournal(airspace.getId());
+        assertNotNull(journal);
+        List<InputJournal.Entry> entries = journal.getEntries();
+        assertEquals("EVENT_DRIVEN_RUN", entries.get(entries.size() - 1).getType());
+        long expected = SimulationReplayer.fingerprint(airspace, journal.getBaseEventCounts());
+        Airspace replica = new SimulationReplayer(new SimulationEngineService()).replay(journal);
+        assertEquals(expected, SimulationReplayer.fingerprint(replica));
+    }
+
+    /**
+     * 关闭冲突检测的引擎，只比较探测
+     */
+    private static SimulationEngineService quietEngine() {
+        SimulationEngineService engine = new SimulationEngineService();
+        engine.setConflictDetectionEnabled(false);
+        return engine;
+    }
+
+    /**
+     * 默认开启冲突检测的引擎，放大最小间隔使稀疏场景中出现冲突
+     */
+    private static SimulationEngineService conflictEngine() {
+        SimulationEngineService engine = new SimulationEngineService();
+        engine.configureConflictDetection(2500, 30);
+        return engine;
+    }
+
+    /**
+     * 稀疏场景加上若干方形围栏区域，其中一部分的高度带只覆盖部分飞行高度
+     */
+    private static Airspace zonedScenario() {
+        Airspace airspace = sparseScenario();
+        Random random = new Random(11);
+        for (int i = 0; i < 8; i++) {
+            double x = 1000 + random.nextDouble() * 15000;
+            double y = 1000 + random.nextDouble() * 15000;
+            double size = 2000 + random.nextDouble() * 2000;
+            double top = i % 2 == 0 ? -50 : -350;
+            airspace.getGeofenceRegistry().addZone(new GeofenceZone("zone-" + i, "zone-" + i, ZoneType.RESTRICTED,
+                    new double[][] {{x, y}, {x + size, y}, {x + size, y + size}, {x, y + size}}, -700, top));
+        }
+        return airspace;
+    }
+
+    /**
+     * 冲突事件摘要（步序号、类型、双方ID）
+     */
+    private static List<String> conflicts(Airspace airspace) {
+        List<String> summaries = new ArrayList<>();
+        for (ConflictEvent event : airspace.getConflictLog().getAllEvents()) {
+            summaries.add(stepOf(airspace, event.getTimestamp()) + ":" + event.getConflictType() + ":"
+                    + event.getUavIdA() + "," + event.getUavIdB());
+        }
+        return summaries;
+    }
+
+    /**
+     * 围栏事件摘要（步序号、类型、无人机ID、区域ID）
+     */
+    private static List<String> crossings(Airspace airspace) {
+        List<String> summaries = new ArrayList<>();
+        for (GeofenceEvent event : airspace.getGeofenceLog().getAllEvents()) {
+            summaries.add(stepOf(airspace, event.getTimestamp()) + ":" + event.getEventType() + ":"
+                    + event.getUavId() + "," + event.getZoneId());
+        }
+        return summaries;
+    }
+
+    /**
+     * 事件时间对应的步序号
+     */
+    private static long stepOf(Airspace airspace, LocalDateTime timestamp) {
+        double seconds = Duration.between(airspace.getTimeStep().getSimulationStartTime(), timestamp).toNanos() / 1e9;
+        return Math.round(seconds / airspace.getTimeStep().getStepSize());
+    }
+
+    /**
+     * 稀疏场景：20公里见方的空域中4架按航点飞行（部分航点悬停）的无人机与6台周期各异的设备
+     */
+    private static Airspace sparseScenario() {
+        Random random = new Random(7);
+        Airspace airspace = new Airspace("sparse", 0, 0, 0, 20000, 20000, 1000);
+        airspace.reseed(7, 0);
+        for (int i = 0; i < 4; i++) {
+            String id = airspace.nextEntityId();
+            UAV uav = new UAV(id, "uav-" + i, UAVState.createStationary(randomPosition(random)));
+            List<Waypoint> waypoints = new ArrayList<>();
+            for (int k = 0; k < 6; k++) {
+                double hover = random.nextInt(3) == 0 ? random.nextInt(30) + 0.05 : 0.0;
+                waypoints.add(new Waypoint(airspace.nextEntityId(), k, randomPosition(random), 0,
+                        10 + random.nextDouble() * 10, hover, Waypoint.WaypointType.NORMAL, null, null, null));
+            }
+            uav.setFlightPath(waypoints);
+            uav.startMission();
+            airspace.addUAV(uav);
+        }
+        for (int i = 0; i < PERIODS.length; i++) {
+            String id = airspace.nextEntityId();
+            RecordingDevice device = new RecordingDevice();
+            device.initialize(new DeviceInitParamsDTO(id, "device-" + i, DeviceType.RADAR,
+                    new Position(random.nextDouble() * 20000, random.nextDouble() * 20000, 0), 0, 0,
+                    new Orientation(1, 0, 0, 0), 1200 + random.nextDouble() * 800, 360,
+                    new PeriodParameters(PERIODS[i])));
+            device.setStatus(DeviceStatus.ACTIVE);
+            airspace.addProbeDevice(device);
+        }
+        return airspace;
+    }
+
+    /**
+     * 空域内部的随机位置
+     */
+    private static Position randomPosition(Random random) {
+        return new Position(1000 + random.nextDouble() * 18000, 1000 + random.nextDouble() * 18000,
+                100 + random.nextDouble() * 500);
+    }
+
+    /**
+     * 按ID排序的记录设备
+     */
+    private static Map<String, RecordingDevice> devices(Airspace airspace) {
+        Map<String, RecordingDevice> devices = new TreeMap<>();
+        for (AbstractProbeDevice device : airspace.getProbeDevices().values()) {
+            devices.put(device.getId(), (RecordingDevice) device);
+        }
+        return devices;
+    }
+}
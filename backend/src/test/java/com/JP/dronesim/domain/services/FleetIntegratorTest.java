@@ -0,0 +1,196 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.valueobjects.Acceleration;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.common.valueobjects.Velocity;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 机群运动积分测试
+ * 并行分块积分与顺序积分的结果逐位一致，并与按相同公式逐架推进的参考值一致；
+ * 机群规模变化导致分块数变化时结果不受影响
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class FleetIntegratorTest {
+
+    /**
+     * 无人机数量
+     */
+    private static final int FLEET_SIZE = 5000;
+
+    /**
+     * 时间步长（秒）
+     */
+    private static final double STEP = 0.1;
+
+    /**
+     * 积分线程池
+     */
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void parallelMatchesSequentialAndReference() {
+        Airspace sequential = fleet();
+        Airspace parallel = fleet();
+        double[][] reference = snapshot(sequential);
+
+        FleetIntegrator sequentialIntegrator = new FleetIntegrator(pool);
+        sequentialIntegrator.setParallel(false);
+        FleetIntegrator parallelIntegrator = new FleetIntegrator(pool);
+        parallelIntegrator.setChunkSize(256);
+        for (int step = 0; step < 200; step++) {
+            sequentialIntegrator.integrate(sequential, STEP);
+            sequential.syncUAVStates();
+            parallelIntegrator.integrate(parallel, STEP);
+            parallel.syncUAVStates();
+            for (double[] state : reference) {
+                advance(state, STEP);
+            }
+        }
+        assertSameStates(reference, sequential);
+        assertSameStates(reference, parallel);
+    }
+
+    @Test
+    public void chunkCountFollowsFleetSize() {
+        Airspace sequential = fleet();
+        Airspace parallel = fleet();
+        FleetIntegrator sequentialIntegrator = new FleetIntegrator(pool);
+        sequentialIntegrator.setParallel(false);
+        FleetIntegrator parallelIntegrator = new FleetIntegrator(pool);
+        parallelIntegrator.setChunkSize(300);
+        Random random = new Random(9);
+        for (int step = 0; step < 50; step++) {
+            if (step % 10 == 5) {
+                // 增删无人机，改变句柄上界与分块数
+                for (int i = 0; i < 400; i++) {
+                    String id = "u" + random.nextInt(FLEET_SIZE);
+                    if (sequential.getUAVs().containsKey(id)) {
+                        sequential.removeUAV(id);
+                        parallel.removeUAV(id);
+                    }
+                }
+                for (int i = 0; i < 600; i++) {
+                    String id = "extra" + step + "-" + i;
+                    Position position = new Position(1000 + 1000 * random.nextDouble(), 1000, -100);
+                    sequential.addUAV(uav(id, position, new Velocity(3, 4, 0), Acceleration.zero()));
+                    parallel.addUAV(uav(id, position, new Velocity(3, 4, 0), Acceleration.zero()));
+                }
+            }
+            sequentialIntegrator.integrate(sequential, STEP);
+            sequential.syncUAVStates();
+            parallelIntegrator.integrate(parallel, STEP);
+            parallel.syncUAVStates();
+        }
+        assertSameStates(snapshot(sequential), parallel);
+    }
+
+    @Test
+    public void rejectsInvalidParameters() {
+        FleetIntegrator integrator = new FleetIntegrator(pool);
+        assertThrows(IllegalArgumentException.class, () -> integrator.integrate(null, STEP));
+        assertThrows(IllegalArgumentException.class, () -> integrator.integrate(fleet(), 0));
+        assertThrows(IllegalArgumentException.class, () -> integrator.setChunkSize(0));
+        assertThrows(IllegalArgumentException.class, () -> new FleetIntegrator(null));
+    }
+
+    /**
+     * 随机机群：三分之一的无人机带加速度，会触及限速
+     */
+    private static Airspace fleet() {
+        Random random = new Random(7);
+        Airspace airspace = new Airspace("fleet", 0, 0, -500, 20000, 20000, 0);
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            Position position = new Position(5000 + 10000 * random.nextDouble(), 5000 + 10000 * random.nextDouble(),
+                    -100 - 300 * random.nextDouble());
+            Velocity velocity = new Velocity(random.nextGaussian() * 5, random.nextGaussian() * 5, 0);
+            Acceleration acceleration = i % 3 == 0
+                    ? new Acceleration(random.nextGaussian(), random.nextGaussian(), 0) : Acceleration.zero();
+            airspace.addUAV(uav("u" + i, position, velocity, acceleration));
+        }
+        airspace.startSimulation();
+        return airspace;
+    }
+
+    /**
+     * 指定运动状态的无人机
+     */
+    private static UAV uav(String id, Position position, Velocity velocity, Acceleration acceleration) {
+        return new UAV(id, id, new UAVState(position, Orientation.identity(), velocity, acceleration));
+    }
+
+    /**
+     * 按句柄顺序记录位置、速度、加速度与限速
+     */
+    private static double[][] snapshot(Airspace airspace) {
+        double[][] states = new double[airspace.getUAVCount()][];
+        int[] next = new int[1];
+        airspace.forEachUAV((uav, handle) -> states[next[0]++] = new double[]{
+                uav.getX(), uav.getY(), uav.getZ(), uav.getVx(), uav.getVy(), uav.getVz(),
+                uav.getAcceleration().getAx(), uav.getAcceleration().getAy(), uav.getAcceleration().getAz(),
+                uav.getMaxSpeed()});
+        return states;
+    }
+
+    /**
+     * 参考积分：先以当前速度推进位置，再按加速度更新速度并限速
+     */
+    private static void advance(double[] state, double deltaTime) {
+        state[0] += state[3] * deltaTime;
+        state[1] += state[4] * deltaTime;
+        state[2] += state[5] * deltaTime;
+        if (state[6] * state[6] + state[7] * state[7] + state[8] * state[8] >= 1e-6) {
+            double vx = state[3] + state[6] * deltaTime;
+            double vy = state[4] + state[7] * deltaTime;
+            double vz = state[5] + state[8] * deltaTime;
+            double speed = Math.sqrt(vx * vx + vy * vy + vz * vz);
+            double scale = speed > state[9] ? state[9] / speed : 1.0;
+            state[3] = vx * scale;
+            state[4] = vy * scale;
+            state[5] = vz * scale;
+        }
+    }
+
+    /**
+     * 逐位比较位置与速度，并校验同步后的位置值对象与原始字段一致
+     */
+    private static void assertSameStates(double[][] expected, Airspace airspace) {
+        assertEquals(expected.length, airspace.getUAVCount());
+        int[] next = new int[1];
+        airspace.forEachUAV((uav, handle) -> {
+            double[] state = expected[next[0]++];
+            assertEquals(state[0], uav.getX(), uav.getId());
+            assertEquals(state[1], uav.getY(), uav.getId());
+            assertEquals(state[2], uav.getZ(), uav.getId());
+            assertEquals(state[3], uav.getVx(), uav.getId());
+            assertEquals(state[4], uav.getVy(), uav.getId());
+            assertEquals(state[5], uav.getVz(), uav.getId());
+            assertEquals(uav.getX(), uav.getPosition().getX());
+            assertEquals(uav.getVy(), uav.getVelocity().getVy());
+        });
+    }
+}
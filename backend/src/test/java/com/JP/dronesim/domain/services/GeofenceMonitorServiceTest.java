@@ -0,0 +1,165 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.events.GeofenceEvent;
+import com.JP.dronesim.domain.airspace.model.geofence.GeofenceZone;
+import com.JP.dronesim.domain.common.enums.GeofenceEventType;
+import com.JP.dronesim.domain.common.enums.ZoneType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.common.valueobjects.Velocity;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 地理围栏监控测试
+ * 无人机随机飞行过程中，每步的进入/离开事件与逐区域判定所在区域、与上一步比较得到的结果比较；
+ * 另测区域增删后的事件与位置不变时不产生事件
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class GeofenceMonitorServiceTest {
+
+    @Test
+    public void eventsMatchPerZoneContainment() {
+        Random random = new Random(11);
+        Airspace airspace = new Airspace("fence", 0, 0, -500, 2000, 2000, 0);
+        List<GeofenceZone> zones = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            double x = random.nextDouble() * 1800, y = random.nextDouble() * 1800;
+            double size = 50 + random.nextDouble() * 250;
+            double[][] vertices = i % 2 == 0
+                    ? new double[][]{{x, y}, {x + size, y}, {x + size, y + size}, {x, y + size}}
+                    : new double[][]{{x, y}, {x + size, y}, {x + size / 2, y + size}};
+            double floor = random.nextDouble() * 200;
+            ZoneType type = i % 3 == 0 ? ZoneType.NO_FLY : ZoneType.RESTRICTED;
+            GeofenceZone zone = new GeofenceZone("z" + i, "zone" + i, type, vertices, floor,
+                    floor + 50 + random.nextDouble() * 250);
+            airspace.addGeofence(zone);
+            zones.add(zone);
+        }
+        List<UAV> uavs = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            UAV uav = flying("u" + i, new Position(2000 * random.nextDouble(), 2000 * random.nextDouble(),
+                    -400 * random.nextDouble()), new Velocity(random.nextGaussian() * 20, random.nextGaussian() * 20,
+                    random.nextGaussian() * 3));
+            airspace.addUAV(uav);
+            uavs.add(uav);
+        }
+
+        GeofenceMonitorService monitor = new GeofenceMonitorService();
+        Map<String, Set<String>> inside = new HashMap<>();
+        int total = 0;
+        for (int step = 0; step < 60; step++) {
+            Set<String> expected = new HashSet<>();
+            for (UAV uav : uavs) {
+                Set<String> current = new HashSet<>();
+                for (GeofenceZone zone : zones) {
+                    if (zone.contains(uav.getX(), uav.getY(), uav.getZ())) {
+                        current.add(zone.getId());
+                    }
+                }
+                Set<String> previous = inside.getOrDefault(uav.getId(), new HashSet<>());
+                for (String zoneId : previous) {
+                    if (!current.contains(zoneId)) {
+                        expected.add(key(GeofenceEventType.EXIT, uav.getId(), zoneId));
+                    }
+                }
+                for (String zoneId : current) {
+                    if (!previous.contains(zoneId)) {
+                        expected.add(key(GeofenceEventType.ENTRY, uav.getId(), zoneId));
+                    }
+                }
+                inside.put(uav.getId(), current);
+            }
+
+            List<GeofenceEvent> events = monitor.checkZones(airspace);
+            Set<String> found = new HashSet<>();
+            for (GeofenceEvent event : events) {
+                found.add(key(event.getEventType(), event.getUavId(), event.getZoneId()));
+            }
+            assertEquals(expected.size(), events.size(), "第 " + step + " 步有重复事件");
+            assertEquals(expected, found, "第 " + step + " 步");
+            total += events.size();
+            for (UAV uav : uavs) {
+                uav.updateState(1.0, airspace.getSimulationTime());
+            }
+        }
+        assertTrue(total > 200, "事件过少，未覆盖进出过程");
+        assertEquals(total, airspace.getGeofenceLog().getEventCount());
+    }
+
+    @Test
+    public void zoneChangesProduceEventsWithoutMovement() {
+        Airspace airspace = new Airspace("fence", 0, 0, -500, 2000, 2000, 0);
+        airspace.addUAV(flying("u", new Position(150, 150, -50), new Velocity(0, 0, 0)));
+        GeofenceMonitorService monitor = new GeofenceMonitorService();
+        assertTrue(monitor.checkZones(airspace).isEmpty());
+
+        airspace.addGeofence(new GeofenceZone("nf", "no-fly", ZoneType.NO_FLY,
+                new double[][]{{100, 100}, {200, 100}, {200, 200}, {100, 200}}, 0, 120));
+        List<GeofenceEvent> events = monitor.checkZones(airspace);
+        assertEquals(1, events.size());
+        assertEquals(GeofenceEventType.ENTRY, events.get(0).getEventType());
+        assertEquals(ZoneType.NO_FLY, events.get(0).getZoneType());
+        assertEquals(1, monitor.getCurrentZones("u").size());
+        assertTrue(monitor.checkZones(airspace).isEmpty());
+
+        airspace.removeGeofence("nf");
+        events = monitor.checkZones(airspace);
+        assertEquals(1, events.size());
+        assertEquals(GeofenceEventType.EXIT, events.get(0).getEventType());
+        assertTrue(monitor.getCurrentZones("u").isEmpty());
+    }
+
+    @Test
+    public void removedUAVsAreForgotten() {
+        Airspace airspace = new Airspace("fence", 0, 0, -500, 2000, 2000, 0);
+        airspace.addGeofence(new GeofenceZone("r", "restricted", ZoneType.RESTRICTED,
+                new double[][]{{0, 0}, {500, 0}, {500, 500}}, 0, 300));
+        airspace.addUAV(flying("a", new Position(400, 100, -50), new Velocity(0, 0, 0)));
+        airspace.addUAV(flying("b", new Position(400, 100, -60), new Velocity(0, 0, 0)));
+        GeofenceMonitorService monitor = new GeofenceMonitorService();
+        assertEquals(2, monitor.checkZones(airspace).size());
+
+        airspace.removeUAV("a");
+        assertTrue(monitor.checkZones(airspace).isEmpty());
+        assertTrue(monitor.getCurrentZones("a").isEmpty());
+        assertEquals(1, monitor.getCurrentZones("b").size());
+
+        // 重新加入的同名无人机按新进入计
+        airspace.addUAV(flying("a", new Position(400, 100, -50), new Velocity(0, 0, 0)));
+        assertEquals(1, monitor.checkZones(airspace).size());
+        monitor.reset();
+        assertEquals(2, monitor.checkZones(airspace).size());
+        assertThrows(IllegalArgumentException.class, () -> monitor.checkZones(null));
+    }
+
+    /**
+     * 事件比较键
+     */
+    private static String key(GeofenceEventType type, String uavId, String zoneId) {
+        return type + "|" + uavId + "|" + zoneId;
+    }
+
+    /**
+     * 指定ID、位置与速度的飞行中无人机
+     */
+    private static UAV flying(String id, Position position, Velocity velocity) {
+        return new UAV(id, id, UAVState.createFlying(position, Orientation.identity(), velocity));
+    }
+}
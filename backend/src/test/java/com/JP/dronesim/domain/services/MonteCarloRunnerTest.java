@@ -0,0 +1,184 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.EnvironmentParameters;
+import com.JP.dronesim.domain.airspace.model.ScenarioPerturbation;
+import com.JP.dronesim.domain.airspace.model.ScenarioTemplate;
+import com.JP.dronesim.domain.common.enums.DeviceStatus;
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import com.JP.dronesim.domain.uav.model.Waypoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 蒙特卡洛运行器测试
+ * 副本只由模板、主种子与副本号决定：工作线程数不同时各设备的统计量一致，主种子不同时结果不同；
+ * 场景模板在运行后保持不变
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class MonteCarloRunnerTest {
+
+    /**
+     * 副本数
+     */
+    private static final int REPLICAS = 24;
+
+    /**
+     * 副本线程池
+     */
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void statisticsDoNotDependOnWorkerCount() {
+        ScenarioTemplate template = ScenarioTemplate.capture(scenario());
+        MonteCarloRunner single = run(template, 42, 1);
+        MonteCarloRunner parallel = run(template, 42, 4);
+        MonteCarloRunner otherSeed = run(template, 43, 4);
+
+        List<MonteCarloStatistics.DeviceStatistics> expected = single.getStatistics();
+        List<MonteCarloStatistics.DeviceStatistics> actual = parallel.getStatistics();
+        assertEquals(expected.size(), actual.size());
+        long opportunities = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            MonteCarloStatistics.DeviceStatistics a = expected.get(i);
+            MonteCarloStatistics.DeviceStatistics b = actual.get(i);
+            assertEquals(a.getDeviceId(), b.getDeviceId());
+            assertEquals(REPLICAS, b.getReplicas());
+            assertEquals(a.getDetectedReplicas(), b.getDetectedReplicas());
+            assertEquals(a.getOpportunities(), b.getOpportunities());
+            // 合并顺序随线程调度变化，只允许舍入误差
+            assertEquals(a.getDetectionProbability(), b.getDetectionProbability(), 1e-12);
+            assertEquals(a.getTimeToFirstDetection().getCount(), b.getTimeToFirstDetection().getCount());
+            assertEquals(a.getTimeToFirstDetection().getMean(), b.getTimeToFirstDetection().getMean(), 1e-9);
+            assertEquals(a.getTrackContinuity().getMean(), b.getTrackContinuity().getMean(), 1e-12);
+            opportunities += a.getOpportunities();
+        }
+        assertTrue(opportunities > 0, "场景中应有探测机会");
+        assertNotEquals(fingerprint(expected), fingerprint(otherSeed.getStatistics()));
+    }
+
+    @Test
+    public void runsEveryReplicaAndLeavesTheTemplateUntouched() {
+        Airspace airspace = scenario();
+        double x = airspace.getUAVs().get("u0").getX();
+        MonteCarloRunner runner = run(ScenarioTemplate.capture(airspace), 7, 3);
+        assertEquals(REPLICAS, runner.getCompletedReplicas());
+        assertEquals(0, runner.getFailedReplicas());
+        assertNull(runner.getLastError());
+        assertEquals(1.0, runner.getProgress());
+        assertEquals(x, airspace.getUAVs().get("u0").getX());
+        assertNotEquals(runner.replicaSeed(0), runner.replicaSeed(1));
+    }
+
+    @Test
+    public void cancelledRunSubmitsNothing() {
+        MonteCarloRunner runner = new MonteCarloRunner(ScenarioTemplate.capture(scenario()),
+                ScenarioPerturbation.none(), REPLICAS, 1, 0, 60, 2.0);
+        runner.cancel();
+        runner.run(executor, 4);
+        assertEquals(0, runner.getCompletedReplicas());
+        assertEquals(0, runner.getStatistics().get(0).getReplicas());
+    }
+
+    @Test
+    public void rejectsInvalidParameters() {
+        ScenarioTemplate template = ScenarioTemplate.capture(scenario());
+        ScenarioPerturbation none = ScenarioPerturbation.none();
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloRunner(template, none, 0, 1, 0, 60, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloRunner(template, none, 1, 1, 0, 0, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloRunner(template, none, 1, 1, 0, 60, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloRunner(null, none, 1, 1, 0, 60, 2.0));
+        MonteCarloRunner runner = new MonteCarloRunner(template, none, 1, 1, 0, 60, 2.0);
+        assertThrows(IllegalArgumentException.class, () -> runner.run(executor, 0));
+    }
+
+    /**
+     * 以扰动参数运行全部副本
+     */
+    private MonteCarloRunner run(ScenarioTemplate template, long seed, int workers) {
+        ScenarioPerturbation perturbation = new ScenarioPerturbation(200, 1, 0.1,
+                Arrays.asList(EnvironmentParameters.WeatherType.values()));
+        MonteCarloRunner runner = new MonteCarloRunner(template, perturbation, REPLICAS, seed, 0, 120, 2.0);
+        runner.run(executor, workers);
+        assertEquals(REPLICAS, runner.getCompletedReplicas(), runner.getLastError());
+        return runner;
+    }
+
+    /**
+     * 各设备探测概率与首次探测时间的组合，用于区分不同种子的结果
+     */
+    private static List<Double> fingerprint(List<MonteCarloStatistics.DeviceStatistics> statistics) {
+        List<Double> values = new ArrayList<>();
+        for (MonteCarloStatistics.DeviceStatistics device : statistics) {
+            values.add(device.getDetectionProbability());
+            values.add(device.getTimeToFirstDetection().getMean());
+        }
+        return values;
+    }
+
+    /**
+     * 场景：10架按航点飞行的无人机与4台随机探测设备
+     */
+    private static Airspace scenario() {
+        Airspace airspace = new Airspace("monte-carlo", 0, 0, 0, 20000, 20000, 1000);
+        airspace.updateTimeStep(0.5);
+        Random random = new Random(3);
+        for (int i = 0; i < 10; i++) {
+            UAV uav = new UAV("u" + i, "uav" + i, UAVState.createStationary(randomPosition(random)));
+            List<Waypoint> waypoints = new ArrayList<>();
+            for (int k = 0; k < 4; k++) {
+                waypoints.add(new Waypoint("u" + i + "-w" + k, k, randomPosition(random), 0, 20, 0,
+                        Waypoint.WaypointType.NORMAL, null, null, null));
+            }
+            uav.setFlightPath(waypoints);
+            uav.startMission();
+            airspace.addUAV(uav);
+        }
+        for (int i = 0; i < 4; i++) {
+            SimulationReplayerTest.RandomDevice device = new SimulationReplayerTest.RandomDevice();
+            device.initialize(new DeviceInitParamsDTO("d" + i, "device" + i, DeviceType.RADAR,
+                    randomPosition(random), 0, 0, new Orientation(1, 0, 0, 0), 5000, 360, null));
+            device.setStatus(DeviceStatus.ACTIVE);
+            airspace.addProbeDevice(device);
+        }
+        return airspace;
+    }
+
+    /**
+     * 空域内部的随机位置
+     */
+    private static Position randomPosition(Random random) {
+        return new Position(1000 + random.nextDouble() * 18000, 1000 + random.nextDouble() * 18000, 300);
+    }
+}
@@ -0,0 +1,107 @@
+package com.JP.dronesim.domain.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 在线统计量测试
+ * 单遍累加与分段合并的均值、方差与两遍算法比较，包括均值远大于离散程度时的数值稳定性
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class RunningStatisticsTest {
+
+    @Test
+    public void matchesTwoPassStatistics() {
+        Random random = new Random(1);
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // 均值1e9、标准差1：朴素的平方和公式在此会失去全部有效位
+            values[i] = 1e9 + random.nextGaussian();
+        }
+        RunningStatistics statistics = new RunningStatistics();
+        for (double value : values) {
+            statistics.add(value);
+        }
+        assertTwoPass(values, statistics);
+    }
+
+    @Test
+    public void mergedPartsMatchSinglePass() {
+        Random random = new Random(2);
+        double[] values = new double[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() < 0.3 ? random.nextGaussian() * 100 : random.nextDouble();
+        }
+        RunningStatistics merged = new RunningStatistics();
+        int start = 0;
+        while (start < values.length) {
+            // 大小悬殊的分段，含空分段
+            int end = Math.min(values.length, start + random.nextInt(3000));
+            RunningStatistics part = new RunningStatistics();
+            for (int i = start; i < end; i++) {
+                part.add(values[i]);
+            }
+            merged.merge(part);
+            start = end;
+        }
+        assertTwoPass(values, merged);
+        assertTwoPass(values, merged.copy());
+    }
+
+    @Test
+    public void ignoresNaNAndHandlesSmallSamples() {
+        RunningStatistics statistics = new RunningStatistics();
+        assertTrue(Double.isNaN(statistics.getMean()));
+        assertEquals(0.0, statistics.getVariance());
+        assertEquals(0.0, statistics.getStandardError());
+
+        statistics.add(Double.NaN);
+        statistics.add(4.0);
+        assertEquals(1, statistics.getCount());
+        assertEquals(4.0, statistics.getMean());
+        assertEquals(0.0, statistics.getVariance());
+
+        statistics.add(6.0);
+        assertEquals(5.0, statistics.getMean());
+        assertEquals(2.0, statistics.getVariance());
+        assertEquals(1.0, statistics.getStandardError(), 1e-12);
+        assertEquals(4.0, statistics.getMin());
+        assertEquals(6.0, statistics.getMax());
+
+        statistics.merge(null);
+        statistics.merge(new RunningStatistics());
+        assertEquals(2, statistics.getCount());
+    }
+
+    /**
+     * 与两遍算法（先求均值再求离差平方和）比较
+     */
+    private static void assertTwoPass(double[] values, RunningStatistics statistics) {
+        double sum = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        double mean = sum / values.length;
+        double squares = 0.0;
+        for (double value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+        double variance = squares / (values.length - 1);
+        assertEquals(values.length, statistics.getCount());
+        assertEquals(mean, statistics.getMean(), Math.abs(mean) * 1e-12 + 1e-12);
+        // 均值1e9时样本本身只有约1e-7的分辨率，两种算法的方差在1e-6相对误差内一致
+        assertEquals(variance, statistics.getVariance(), variance * 1e-6);
+        assertEquals(min, statistics.getMin());
+        assertEquals(max, statistics.getMax());
+    }
+}
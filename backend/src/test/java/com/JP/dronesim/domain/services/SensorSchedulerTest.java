@@ -0,0 +1,195 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.enums.DeviceStatus;
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.SensorParameters;
+import com.JP.dronesim.domain.device.model.events.DetectionEvent;
+import com.JP.dronesim.domain.uav.model.UAV;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 多速率传感器调度测试
+ * 校验各周期设备在固定步长下的运行次数、同时到期时按句柄排序、
+ * 停用与移除设备出队、重新激活立即到期以及周期调整从下一次运行起生效
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SensorSchedulerTest {
+
+    /**
+     * 仿真步长（秒）
+     */
+    private static final double STEP = 0.1;
+
+    /**
+     * 可调整数据更新周期的测试设备
+     */
+    public static class PeriodicDevice extends AbstractProbeDevice {
+
+        /**
+         * 数据更新周期（秒）
+         */
+        private double period;
+
+        /**
+         * 构造函数
+         *
+         * @param period 数据更新周期（秒）
+         */
+        public PeriodicDevice(double period) {
+            super(DeviceType.RADAR);
+            this.period = period;
+        }
+
+        @Override
+        public double getUpdatePeriod() {
+            return period;
+        }
+
+        /**
+         * 设置数据更新周期
+         *
+         * @param period 数据更新周期（秒）
+         */
+        public void setPeriod(double period) {
+            this.period = period;
+        }
+
+        @Override
+        protected void doSpecificInitialization(DeviceInitParamsDTO initParams) {
+        }
+
+        @Override
+        protected List<DetectionEvent> doPerformDetection(Airspace airspace, List<UAV> uavs) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        protected void doAdjustParameters(SensorParameters newParameters) {
+        }
+
+        @Override
+        protected void doReset() {
+        }
+    }
+
+    @Test
+    public void devicesRunAtTheirOwnRates() {
+        double[] periods = {0, 0.005, 0.1, 0.25, 1.0, 2.5};
+        Airspace airspace = new Airspace("sched", 0, 0, -500, 5000, 5000, 0);
+        for (int i = 0; i < periods.length; i++) {
+            airspace.addProbeDevice(device("d" + i, periods[i]));
+        }
+        SensorScheduler scheduler = new SensorScheduler();
+        Map<String, Integer> runs = new HashMap<>();
+        for (int step = 0; step <= 100; step++) {
+            for (AbstractProbeDevice device : scheduler.pollDue(airspace, step / 10.0)) {
+                runs.merge(device.getId(), 1, Integer::sum);
+            }
+        }
+        // 周期不大于步长的设备每步运行一次，其余按周期运行且不补跑
+        assertEquals(101, runs.get("d0").intValue());
+        assertEquals(101, runs.get("d1").intValue());
+        assertEquals(101, runs.get("d2").intValue());
+        assertEquals(41, runs.get("d3").intValue());
+        assertEquals(11, runs.get("d4").intValue());
+        assertEquals(5, runs.get("d5").intValue());
+        assertEquals(11.0, scheduler.getNextDueTime("d4"), 1e-9);
+        assertEquals(12.5, scheduler.getNextDueTime("d5"), 1e-9);
+        assertEquals(periods.length, scheduler.getScheduledCount());
+    }
+
+    @Test
+    public void simultaneousDevicesAreOrderedByHandle() {
+        Airspace airspace = new Airspace("sched", 0, 0, -500, 5000, 5000, 0);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            airspace.addProbeDevice(device("d" + i, 1.0));
+        }
+        // 设备句柄按加入顺序分配
+        for (int i = 0; i < 20; i++) {
+            expected.add("d" + i);
+        }
+        expected.sort(Comparator.comparingInt(airspace::getEntityHandle));
+        SensorScheduler scheduler = new SensorScheduler();
+        assertEquals(expected, ids(scheduler.pollDue(airspace, 0)));
+        assertTrue(scheduler.pollDue(airspace, 0.5).isEmpty());
+        assertEquals(expected, ids(scheduler.pollDue(airspace, 1.0)));
+    }
+
+    @Test
+    public void inactiveAndRemovedDevicesLeaveTheQueue() {
+        Airspace airspace = new Airspace("sched", 0, 0, -500, 5000, 5000, 0);
+        AbstractProbeDevice paused = device("paused", 1.0);
+        airspace.addProbeDevice(paused);
+        airspace.addProbeDevice(device("removed", 1.0));
+        SensorScheduler scheduler = new SensorScheduler();
+        assertEquals(2, scheduler.pollDue(airspace, 0).size());
+
+        paused.setStatus(DeviceStatus.INACTIVE);
+        airspace.removeProbeDevice("removed");
+        assertTrue(scheduler.pollDue(airspace, 1.0).isEmpty());
+        assertEquals(0, scheduler.getScheduledCount());
+        assertTrue(Double.isNaN(scheduler.getNextDueTime("paused")));
+
+        // 重新激活后当前时刻即到期
+        paused.setStatus(DeviceStatus.ACTIVE);
+        assertEquals(1, scheduler.pollDue(airspace, 1.3).size());
+        assertEquals(2.3, scheduler.getNextDueTime("paused"), 1e-9);
+        scheduler.reset();
+        assertEquals(0, scheduler.getScheduledCount());
+        assertThrows(IllegalArgumentException.class, () -> scheduler.pollDue(null, 0));
+    }
+
+    @Test
+    public void periodChangesApplyFromTheNextRun() {
+        Airspace airspace = new Airspace("sched", 0, 0, -500, 5000, 5000, 0);
+        PeriodicDevice device = device("d", 2.0);
+        airspace.addProbeDevice(device);
+        SensorScheduler scheduler = new SensorScheduler();
+        assertEquals(1, scheduler.pollDue(airspace, 0).size());
+        device.setPeriod(0.5);
+        // 已安排的到期时间不变
+        assertTrue(scheduler.pollDue(airspace, 1.0).isEmpty());
+        assertEquals(1, scheduler.pollDue(airspace, 2.0).size());
+        assertEquals(2.5, scheduler.getNextDueTime("d"), 1e-9);
+    }
+
+    /**
+     * 已激活的测试设备
+     */
+    private static PeriodicDevice device(String id, double period) {
+        PeriodicDevice device = new PeriodicDevice(period);
+        device.initialize(new DeviceInitParamsDTO(id, id, DeviceType.RADAR, new Position(100, 100, -50),
+                0, 0, new Orientation(1, 0, 0, 0), 1000, 360, null));
+        device.setStatus(DeviceStatus.ACTIVE);
+        return device;
+    }
+
+    /**
+     * 设备ID列表
+     */
+    private static List<String> ids(List<AbstractProbeDevice> devices) {
+        List<String> ids = new ArrayList<>();
+        for (AbstractProbeDevice device : devices) {
+            ids.add(device.getId());
+        }
+        return ids;
+    }
+}
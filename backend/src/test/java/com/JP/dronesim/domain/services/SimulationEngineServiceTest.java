@@ -0,0 +1,127 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import com.JP.dronesim.domain.uav.model.Waypoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 仿真引擎批量运行测试
+ * 步数上限与仿真时长上限取先到者，时长上限不因步长的浮点累加多走一步；
+ * 监听器返回false时在当前步后结束并标记为取消
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SimulationEngineServiceTest {
+
+    @Test
+    public void runBatchStopsAtMaxSteps() {
+        Airspace airspace = airspace(0.5);
+        SimulationEngineService engine = startedEngine(airspace);
+
+        BatchRunResult result = engine.runBatch(airspace, 10, 0, null);
+
+        assertEquals(10L, result.getSteps());
+        assertEquals(5.0, result.getSimulatedSeconds(), 1e-9);
+        assertEquals(5.0, airspace.getTimeStep().getElapsedTime(), 1e-9);
+        assertFalse(result.isCancelled());
+    }
+
+    @Test
+    public void runBatchStopsAtHorizonWithoutExtraStep() {
+        // 0.1秒步长累加10次略小于1.0，不应再多走一步
+        Airspace airspace = airspace(0.1);
+        SimulationEngineService engine = startedEngine(airspace);
+
+        BatchRunResult result = engine.runBatch(airspace, 0, 1.0, null);
+
+        assertEquals(10L, result.getSteps());
+        assertEquals(1.0, result.getSimulatedSeconds(), 1e-9);
+        assertFalse(result.isCancelled());
+    }
+
+    @Test
+    public void runBatchEndsAtWhicheverLimitComesFirst() {
+        Airspace byHorizon = airspace(0.5);
+        assertEquals(4L, startedEngine(byHorizon).runBatch(byHorizon, 100, 2.0, null).getSteps());
+
+        Airspace bySteps = airspace(0.5);
+        SimulationEngineService engine = startedEngine(bySteps);
+        assertEquals(3L, engine.runBatch(bySteps, 3, 10.0, null).getSteps());
+
+        // 第二次运行从当前仿真时间继续，时长上限按本次运行计
+        BatchRunResult again = engine.runBatch(bySteps, 0, 1.0, null);
+        assertEquals(2L, again.getSteps());
+        assertEquals(1.0, again.getSimulatedSeconds(), 1e-9);
+    }
+
+    @Test
+    public void listenerCancelsAfterCurrentStep() {
+        Airspace airspace = airspace(0.5);
+        SimulationEngineService engine = startedEngine(airspace);
+        List<Long> steps = new ArrayList<>();
+        List<Double> elapsed = new ArrayList<>();
+
+        BatchRunResult result = engine.runBatch(airspace, 100, 0, (step, stepped) -> {
+            steps.add(step);
+            elapsed.add(stepped.getTimeStep().getElapsedTime());
+            return step < 5;
+        });
+
+        assertTrue(result.isCancelled());
+        assertEquals(5L, result.getSteps());
+        assertEquals(2.5, result.getSimulatedSeconds(), 1e-9);
+        assertEquals(5, steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            assertEquals(i + 1L, steps.get(i).longValue());
+            assertEquals((i + 1) * 0.5, elapsed.get(i), 1e-9);
+        }
+    }
+
+    @Test
+    public void runBatchRejectsMissingLimitsAndStoppedAirspace() {
+        Airspace airspace = airspace(0.5);
+        SimulationEngineService engine = new SimulationEngineService();
+        assertThrows(IllegalStateException.class, () -> engine.runBatch(airspace, 10, 0, null));
+
+        engine.startSimulation(airspace);
+        assertThrows(IllegalArgumentException.class, () -> engine.runBatch(airspace, 0, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> engine.runBatch(null, 10, 0, null));
+    }
+
+    /**
+     * 启动仿真的引擎
+     */
+    private static SimulationEngineService startedEngine(Airspace airspace) {
+        SimulationEngineService engine = new SimulationEngineService();
+        engine.startSimulation(airspace);
+        return engine;
+    }
+
+    /**
+     * 一架沿X轴飞行的无人机所在的空域
+     */
+    private static Airspace airspace(double stepSeconds) {
+        Airspace airspace = new Airspace("batch", 0, 0, 0, 5000, 5000, 1000);
+        airspace.reseed(1, 0);
+        airspace.updateTimeStep(stepSeconds);
+        UAV uav = new UAV(airspace.nextEntityId(), "uav", UAVState.createStationary(new Position(100, 100, 100)));
+        uav.setFlightPath(Collections.singletonList(new Waypoint(airspace.nextEntityId(), 0,
+                new Position(4000, 100, 100), 0, 20, 0, Waypoint.WaypointType.NORMAL, null, null, null)));
+        uav.startMission();
+        airspace.addUAV(uav);
+        return airspace;
+    }
+}
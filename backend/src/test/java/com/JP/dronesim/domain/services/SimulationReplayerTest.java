@@ -0,0 +1,256 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.enums.DeviceStatus;
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.SensorParameters;
+import com.JP.dronesim.domain.device.model.events.DetectionEvent;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import com.JP.dronesim.domain.uav.model.Waypoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 仿真回放测试
+ * 设备按自身随机流以一定概率报告目标，会话中穿插部署、移除、暂停恢复与切换连续探测等外部输入。
+ * 校验同一种子在并行与顺序探测下结果逐位相同、不同种子结果不同，以及输入日志回放逐位复现原会话
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SimulationReplayerTest {
+
+    /**
+     * 会话步数
+     */
+    private static final int STEPS = 400;
+
+    /**
+     * 探测线程池
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * 随机探测设备：对探测距离内的目标以70%概率报告，置信度取自设备随机流
+     */
+    public static class RandomDevice extends AbstractProbeDevice {
+
+        /**
+         * 构造函数
+         */
+        public RandomDevice() {
+            super(DeviceType.RADAR);
+        }
+
+        @Override
+        public double getUpdatePeriod() {
+            return 0.5;
+        }
+
+        @Override
+        protected void doSpecificInitialization(DeviceInitParamsDTO initParams) {
+        }
+
+        @Override
+        protected List<DetectionEvent> doPerformDetection(Airspace airspace, List<UAV> uavs) {
+            List<DetectionEvent> events = new ArrayList<>();
+            for (UAV uav : uavs) {
+                double distance = uav.getPosition().distanceTo(getPosition());
+                if (distance < getDetectionRange() && getRandom().nextDouble() < 0.7) {
+                    events.add(DetectionEvent.createSimple(nextEventId(), getSimulationTime(), getId(), getType(),
+                            uav.getId(), uav.getPosition(), getRandom().nextDouble(), distance));
+                }
+            }
+            return events;
+        }
+
+        @Override
+        protected void doAdjustParameters(SensorParameters newParameters) {
+        }
+
+        @Override
+        protected void doReset() {
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void parallelAndSequentialDetectionGiveIdenticalRuns() {
+        long parallel = run(scenario(42), parallelEngine(pool), STEPS);
+        long sequential = run(scenario(42), new SimulationEngineService(), STEPS);
+        long otherSeed = run(scenario(43), new SimulationEngineService(), STEPS);
+
+        assertEquals(parallel, sequential);
+        assertNotEquals(parallel, otherSeed);
+    }
+
+    @Test
+    public void journalReplaysBitForBitWithParallelDetection() {
+        Airspace airspace = scenario(42);
+        SimulationEngineService engine = parallelEngine(pool);
+        long expected = run(airspace, engine, STEPS);
+
+        InputJournal journal = engine.getJournal(airspace.getId());
+        assertNotNull(journal);
+        assertTrue(journal.getInputCount() >= 6, "会话中的外部输入应全部记入日志");
+        long events = 0;
+        for (AbstractProbeDevice device : airspace.getProbeDevices().values()) {
+            events += device.getDetectionLog().getTotalEventCount();
+        }
+        assertTrue(events > 0, "场景中应有探测");
+
+        ForkJoinPool replayPool = new ForkJoinPool(3);
+        try {
+            Airspace replica = new SimulationReplayer(parallelEngine(replayPool)).replay(journal);
+            assertEquals(expected, SimulationReplayer.fingerprint(replica));
+        } finally {
+            replayPool.shutdown();
+        }
+    }
+
+    @Test
+    public void laterSessionReplaysFromItsOwnStartingPoint() {
+        Airspace airspace = scenario(42);
+        SimulationEngineService engine = parallelEngine(pool);
+        run(airspace, engine, STEPS);
+        engine.stopSimulation(airspace);
+
+        // 第二个会话从第一个会话结束时的空域开始，设备已有累计事件
+        long expected = run(airspace, engine, 130);
+        InputJournal journal = engine.getJournal(airspace.getId());
+        assertEquals(2, airspace.getSession());
+
+        Airspace replica = new SimulationReplayer(new SimulationEngineService()).replay(journal);
+        assertEquals(expected, SimulationReplayer.fingerprint(replica));
+    }
+
+    /**
+     * 关闭顺序执行阈值、全部设备并行探测的引擎
+     */
+    private static SimulationEngineService parallelEngine(ForkJoinPool pool) {
+        SimulationEngineService engine = new SimulationEngineService(new ParallelDetectionService(pool));
+        engine.getParallelDetection().setSequentialThresholdNanos(0);
+        return engine;
+    }
+
+    /**
+     * 运行一次会话并返回会话指纹
+     * 期间施加部署无人机、部署设备、移除无人机、暂停与恢复、切换连续探测与改变步长
+     */
+    private static long run(Airspace airspace, SimulationEngineService engine, int steps) {
+        engine.startSimulation(airspace);
+        Random random = new Random(9);
+        for (int step = 0; step < steps; step++) {
+            if (airspace.isRunning()) {
+                engine.stepSimulation(airspace, step < 300 ? 0.5 : 0.25);
+            }
+            if (step == 50) {
+                String id = airspace.nextEntityId();
+                UAVState state = UAVState.createStationary(new Position(5000, 5000, 200));
+                engine.submitInput(airspace, "DEPLOY_UAV", "部署无人机",
+                        (target, e) -> target.addUAV(new UAV(id, "deployed", state)));
+            }
+            if (step == 80) {
+                RandomDevice prototype = device(airspace.nextEntityId(), random);
+                engine.submitInput(airspace, "DEPLOY_DEVICE", "部署设备",
+                        (target, e) -> target.addProbeDevice(prototype.replicate()));
+            }
+            if (step == 120) {
+                String removed = new ArrayList<>(new TreeSet<>(airspace.getUAVs().keySet())).get(2);
+                engine.submitInput(airspace, "REMOVE_UAV", "移除无人机", (target, e) -> target.removeUAV(removed));
+            }
+            if (step == 150) {
+                engine.pauseSimulation(airspace);
+            }
+            if (step == 160) {
+                engine.resumeSimulation(airspace);
+            }
+            if (step == 200) {
+                engine.setContinuousDetection(!engine.isContinuousDetection());
+            }
+        }
+        return SimulationReplayer.fingerprint(airspace, engine.getJournal(airspace.getId()).getBaseEventCounts());
+    }
+
+    /**
+     * 场景：30架按航点飞行的无人机（其中5架在启动前移除，留下句柄空位）与8台随机探测设备
+     */
+    private static Airspace scenario(long seed) {
+        Airspace airspace = new Airspace("replay", 0, 0, 0, 20000, 20000, 1000);
+        airspace.reseed(seed, 0);
+        Random random = new Random(3);
+        for (int i = 0; i < 30; i++) {
+            airspace.addUAV(uav(airspace.nextEntityId(), random));
+        }
+        for (int i = 0; i < 8; i++) {
+            airspace.addProbeDevice(device(airspace.nextEntityId(), random));
+        }
+        List<String> ids = new ArrayList<>(airspace.getUAVs().keySet());
+        Collections.sort(ids);
+        for (int i = 0; i < 5; i++) {
+            airspace.removeUAV(ids.get(i * 3));
+        }
+        return airspace;
+    }
+
+    /**
+     * 按航点飞行的无人机
+     */
+    private static UAV uav(String id, Random random) {
+        UAV uav = new UAV(id, "uav-" + id, UAVState.createStationary(randomPosition(random)));
+        List<Waypoint> waypoints = new ArrayList<>();
+        for (int k = 0; k < 4; k++) {
+            waypoints.add(new Waypoint(id + "-w" + k, k, randomPosition(random), 0, 20, 0,
+                    Waypoint.WaypointType.NORMAL, null, null, null));
+        }
+        uav.setFlightPath(waypoints);
+        uav.startMission();
+        return uav;
+    }
+
+    /**
+     * 随机位置的随机探测设备
+     */
+    private static RandomDevice device(String id, Random random) {
+        RandomDevice device = new RandomDevice();
+        device.initialize(new DeviceInitParamsDTO(id, "device-" + id, DeviceType.RADAR,
+                new Position(random.nextDouble() * 20000, random.nextDouble() * 20000, 0), 0, 0,
+                new Orientation(1, 0, 0, 0), 6000, 360, null));
+        device.setStatus(DeviceStatus.ACTIVE);
+        return device;
+    }
+
+    /**
+     * 空域内部的随机位置
+     */
+    private static Position randomPosition(Random random) {
+        return new Position(1000 + random.nextDouble() * 18000, 1000 + random.nextDouble() * 18000, 300);
+    }
+}
@@ -0,0 +1,197 @@
+package com.JP.dronesim.domain.services;
+
+import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.enums.DeviceStatus;
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.device.model.AbstractProbeDevice;
+import com.JP.dronesim.domain.device.model.common.SensorParameters;
+import com.JP.dronesim.domain.device.model.events.DetectionEvent;
+import com.JP.dronesim.domain.device.model.radar.ElectromagneticRadar;
+import com.JP.dronesim.domain.device.model.radar.RadarParameters;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVMission;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import com.JP.dronesim.domain.uav.model.Waypoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 扫掠探测测试
+ * 60米/秒的目标在1秒步长内横穿约1度宽的窄视场，步前、步末位置都在视场外：
+ * 只按步末位置判定时漏检，开启连续探测后按穿越点及到达时刻判定
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SweptDetectionTest {
+
+    /**
+     * 仿真步长（秒）
+     */
+    private static final double STEP_SECONDS = 1.0;
+
+    /**
+     * 目标速度（米/秒）
+     */
+    private static final double SPEED = 60.0;
+
+    /**
+     * 设备位置，视场指向正东（+y），视场中心线为x=2500
+     */
+    private static final Position DEVICE_POSITION = new Position(2500, 500, 100);
+
+    /**
+     * 目标起点：第一步由x=2470移动到x=2530，两端都在半宽约17米的视场外
+     */
+    private static final Position TARGET_START = new Position(2470, 2500, 100);
+
+    /**
+     * 第一步结束时的仿真时刻
+     */
+    private LocalDateTime firstStepEnd;
+
+    /**
+     * 测试用窄视场设备：按探测模型给出的目标位置做视场判定
+     */
+    public static class NarrowConeDevice extends AbstractProbeDevice {
+
+        /**
+         * 构造函数
+         */
+        public NarrowConeDevice() {
+            super(DeviceType.OPTICAL_CAMERA);
+        }
+
+        @Override
+        protected void doSpecificInitialization(DeviceInitParamsDTO initParams) {
+        }
+
+        @Override
+        protected List<DetectionEvent> doPerformDetection(Airspace airspace, List<UAV> uavs) {
+            List<DetectionEvent> events = new ArrayList<>();
+            for (UAV uav : uavs) {
+                Position target = getTargetPosition(uav);
+                if (getDetectionCone().containsPoint(target.getX(), target.getY(), target.getZ())) {
+                    events.add(DetectionEvent.createSimple(nextEventId(), getTargetTime(uav), getId(),
+                            getType(), uav.getId(), target, 1.0, target.distanceTo(getPosition())));
+                }
+            }
+            return events;
+        }
+
+        @Override
+        protected void doAdjustParameters(SensorParameters newParameters) {
+        }
+
+        @Override
+        protected void doReset() {
+        }
+    }
+
+    @Test
+    public void narrowConeMissesCrossingWithoutContinuousDetection() {
+        assertTrue(run(coneDevice(), false).isEmpty());
+    }
+
+    @Test
+    public void narrowConeDetectsCrossingWithinOneStep() {
+        List<DetectionEvent> events = run(coneDevice(), true);
+        assertEquals(1, events.size());
+        assertCrossing(events.get(0));
+    }
+
+    @Test
+    public void fixedRadarBeamMissesCrossingWithoutContinuousDetection() {
+        assertTrue(run(fixedRadar(), false).isEmpty());
+    }
+
+    @Test
+    public void fixedRadarBeamDetectsCrossingWithinOneStep() {
+        List<DetectionEvent> events = run(fixedRadar(), true);
+        assertEquals(1, events.size());
+        assertCrossing(events.get(0));
+    }
+
+    /**
+     * 校验事件位于视场中心线上，时刻为第一步中点
+     */
+    private void assertCrossing(DetectionEvent event) {
+        assertEquals("u1", event.getDetectedUavId());
+        assertEquals(2500.0, event.getDetectedPosition().getX(), 1.0);
+        assertEquals(2500.0, event.getDetectedPosition().getY(), 1e-6);
+        double secondsBeforeStepEnd = Duration.between(event.getTimestamp(), firstStepEnd).toNanos() / 1e9;
+        assertEquals(STEP_SECONDS / 2, secondsBeforeStepEnd, 0.02);
+    }
+
+    /**
+     * 运行4步并收集事件
+     */
+    private List<DetectionEvent> run(AbstractProbeDevice device, boolean continuous) {
+        Airspace airspace = new Airspace("swept", 0, 0, 0, 5000, 5000, 1000);
+        airspace.reseed(1, 0);
+        airspace.updateTimeStep(STEP_SECONDS);
+        airspace.addProbeDevice(device);
+        airspace.addUAV(crossingTarget());
+
+        SimulationEngineService engine = new SimulationEngineService();
+        engine.setContinuousDetection(continuous);
+        engine.startSimulation(airspace);
+        device.setStatus(DeviceStatus.ACTIVE);
+
+        List<DetectionEvent> events = new ArrayList<>();
+        for (int step = 0; step < 4; step++) {
+            engine.stepSimulation(airspace, STEP_SECONDS);
+            events.addAll(engine.getLastDetectionEvents());
+            if (step == 0) {
+                firstStepEnd = airspace.getSimulationTime();
+            }
+        }
+        return events;
+    }
+
+    /**
+     * 以60米/秒沿y=2500向东飞行的目标
+     */
+    private static UAV crossingTarget() {
+        UAV uav = new UAV("u1", "crossing", UAVState.createStationary(TARGET_START));
+        Waypoint waypoint = new Waypoint("w1", 0, new Position(4000, 2500, 100), 0, SPEED, 0,
+                Waypoint.WaypointType.NORMAL, null, null, null);
+        uav.initialize(UAVState.createStationary(TARGET_START), new UAVMission("m",
+                UAVMission.MissionType.values()[0], Collections.singletonList(waypoint), SPEED, 10,
+                UAVMission.Priority.values()[0], "crossing", 10));
+        return uav;
+    }
+
+    /**
+     * 1度视场、指向正东的设备
+     */
+    private static AbstractProbeDevice coneDevice() {
+        AbstractProbeDevice device = new NarrowConeDevice();
+        device.initialize(new DeviceInitParamsDTO("cone", "cone", DeviceType.OPTICAL_CAMERA, DEVICE_POSITION,
+                90, 0, new Orientation(1, 0, 0, 0), 3000, 1, null));
+        return device;
+    }
+
+    /**
+     * 固定指向正东、波束宽度1度的雷达
+     */
+    private static AbstractProbeDevice fixedRadar() {
+        RadarParameters parameters = new RadarParameters(10e9, 1e6, 35, 3, 5,
+                RadarParameters.ScanPattern.FIXED, 1000, 1e-6, 1, 150000, 150, 1, 360);
+        AbstractProbeDevice radar = new ElectromagneticRadar();
+        radar.initialize(new DeviceInitParamsDTO("radar", "radar", DeviceType.RADAR, DEVICE_POSITION,
+                90, 0, new Orientation(1, 0, 0, 0), 3000, 360, parameters));
+        return radar;
+    }
+}
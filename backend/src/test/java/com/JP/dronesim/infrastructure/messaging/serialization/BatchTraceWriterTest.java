@@ -0,0 +1,300 @@
+package com.JP.dronesim.infrastructure.messaging.serialization;
+
+import com.JP.dronesim.application.dtos.request.DeviceInitParamsDTO;
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.airspace.model.geofence.GeofenceZone;
+import com.JP.dronesim.domain.common.enums.ConflictType;
+import com.JP.dronesim.domain.common.enums.DeviceStatus;
+import com.JP.dronesim.domain.common.enums.DeviceType;
+import com.JP.dronesim.domain.common.enums.GeofenceEventType;
+import com.JP.dronesim.domain.common.enums.ZoneType;
+import com.JP.dronesim.domain.common.valueobjects.Orientation;
+import com.JP.dronesim.domain.common.valueobjects.Position;
+import com.JP.dronesim.domain.device.model.radar.ElectromagneticRadar;
+import com.JP.dronesim.domain.device.model.radar.RadarParameters;
+import com.JP.dronesim.domain.services.BatchRunResult;
+import com.JP.dronesim.domain.services.SimulationEngineService;
+import com.JP.dronesim.domain.uav.model.UAV;
+import com.JP.dronesim.domain.uav.model.UAVState;
+import com.JP.dronesim.domain.uav.model.Waypoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.ArrayValue;
+import org.msgpack.value.Value;
+import org.msgpack.value.ValueFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 批量仿真结果写出器测试
+ * 两架无人机相向飞行，途经地理围栏并被雷达扫到：运行后读回文件，
+ * 校验头部、ID登记次序、位置采样、探测/冲突/围栏事件条数与运行汇总；头部之前产生的事件不写出
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class BatchTraceWriterTest {
+
+    /**
+     * 仿真步长（秒）
+     */
+    private static final double STEP_SECONDS = 0.5;
+
+    /**
+     * 批量运行步数
+     */
+    private static final long MAX_STEPS = 100;
+
+    /**
+     * 位置采样间隔（步）
+     */
+    private static final int SAMPLE_INTERVAL = 10;
+
+    /**
+     * 批量运行前预先推进的步数
+     */
+    private static final long WARM_UP_STEPS = 5;
+
+    /**
+     * 输出文件
+     */
+    private Path output;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        output = Files.createTempFile("batch-trace", ".msgpack");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @Test
+    public void roundTripsHeaderSamplesEventsAndSummary() throws IOException {
+        Airspace airspace = scenario();
+        SimulationEngineService engine = new SimulationEngineService();
+        engine.configureConflictDetection(100, 10);
+        engine.startSimulation(airspace);
+        airspace.getProbeDevices().values().forEach(device -> device.setStatus(DeviceStatus.ACTIVE));
+
+        // 头部之前的事件不属于本次运行
+        engine.runBatch(airspace, WARM_UP_STEPS, 0, null);
+        double startElapsed = airspace.getTimeStep().getElapsedTime();
+        long detectionsBefore = detectionTotal(airspace);
+        long conflictsBefore = airspace.getConflictLog().getTotalEventCount();
+        long geofenceBefore = airspace.getGeofenceLog().getTotalEventCount();
+        assertTrue(detectionsBefore > 0);
+
+        BatchRunResult result;
+        long writtenRecords;
+        try (BatchTraceWriter writer = new BatchTraceWriter(output)) {
+            writer.writeHeader(airspace, MAX_STEPS, 0, SAMPLE_INTERVAL);
+            result = engine.runBatch(airspace, MAX_STEPS, 0, (step, stepped) -> {
+                try {
+                    writer.writeStep(step, stepped, step % SAMPLE_INTERVAL == 0);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            });
+            writer.writeSummary(result);
+            writtenRecords = writer.getRecordCount();
+        }
+
+        try (InputStream in = Files.newInputStream(output);
+             MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(in)) {
+            // 头部
+            Map<Value, Value> header = unpacker.unpackValue().asMapValue().map();
+            assertEquals(BatchTraceWriter.FORMAT, string(header, "format"));
+            assertEquals(BatchTraceWriter.VERSION, number(header, "version").intValue());
+            assertEquals(airspace.getId(), string(header, "airspaceId"));
+            assertEquals(STEP_SECONDS, number(header, "stepSize").doubleValue(), 0.0);
+            assertEquals(startElapsed, number(header, "startElapsed").doubleValue(), 1e-9);
+            assertEquals(MAX_STEPS, number(header, "maxSteps").longValue());
+            assertEquals(SAMPLE_INTERVAL, number(header, "sampleInterval").intValue());
+            Map<Value, Value> codes = get(header, "codes").asMapValue().map();
+            List<String> conflictCodes = strings(get(codes, "conflictType").asArrayValue());
+            List<String> geofenceCodes = strings(get(codes, "geofenceEventType").asArrayValue());
+            assertEquals(ConflictType.values().length, conflictCodes.size());
+            assertEquals(GeofenceEventType.values().length, geofenceCodes.size());
+            for (ConflictType type : ConflictType.values()) {
+                assertEquals(type.getCode(), conflictCodes.get(type.ordinal()));
+            }
+
+            // 记录
+            List<String> ids = new ArrayList<>();
+            List<ArrayValue> samples = new ArrayList<>();
+            int detections = 0;
+            int conflicts = 0;
+            int geofenceEvents = 0;
+            ArrayValue summary = null;
+            long records = 0;
+            while (unpacker.hasNext()) {
+                ArrayValue record = unpacker.unpackValue().asArrayValue();
+                records++;
+                assertTrue(summary == null, "汇总应为最后一条记录");
+                int type = record.get(0).asIntegerValue().toInt();
+                switch (type) {
+                    case BatchTraceWriter.RECORD_ID:
+                        // 序号按首次出现顺序连续分配
+                        assertEquals(ids.size(), record.get(1).asIntegerValue().toInt());
+                        ids.add(record.get(2).asStringValue().asString());
+                        break;
+                    case BatchTraceWriter.RECORD_SAMPLE:
+                        for (int i = 3; i < record.size(); i += 4) {
+                            assertTrue(record.get(i).asIntegerValue().toInt() < ids.size());
+                        }
+                        samples.add(record);
+                        break;
+                    case BatchTraceWriter.RECORD_DETECTION:
+                        assertTrue(record.get(2).asIntegerValue().toInt() < ids.size());
+                        assertTrue(record.get(3).asIntegerValue().toInt() < ids.size());
+                        assertTrue(record.get(4).asFloatValue().toFloat() > 0);
+                        detections++;
+                        break;
+                    case BatchTraceWriter.RECORD_CONFLICT:
+                        assertTrue(record.get(2).asIntegerValue().toInt() < conflictCodes.size());
+                        assertTrue(record.get(3).asIntegerValue().toInt() < ids.size());
+                        assertTrue(record.get(4).asIntegerValue().toInt() < ids.size());
+                        conflicts++;
+                        break;
+                    case BatchTraceWriter.RECORD_GEOFENCE:
+                        assertTrue(record.get(2).asIntegerValue().toInt() < geofenceCodes.size());
+                        assertTrue(ids.get(record.get(4).asIntegerValue().toInt()).startsWith("zone"));
+                        geofenceEvents++;
+                        break;
+                    case BatchTraceWriter.RECORD_SUMMARY:
+                        summary = record;
+                        break;
+                    default:
+                        throw new AssertionError("未知记录类型: " + type);
+                }
+            }
+            assertEquals(writtenRecords, records);
+
+            // 事件条数等于本次运行期间各日志的增量
+            assertEquals(detectionTotal(airspace) - detectionsBefore, detections);
+            assertEquals(airspace.getConflictLog().getTotalEventCount() - conflictsBefore, conflicts);
+            assertEquals(airspace.getGeofenceLog().getTotalEventCount() - geofenceBefore, geofenceEvents);
+            assertTrue(detections > 0);
+            assertTrue(conflicts > 0);
+            assertTrue(geofenceEvents > 0);
+
+            // 每10步采样一次，采样时刻与末次采样的位置
+            assertEquals(MAX_STEPS / SAMPLE_INTERVAL, samples.size());
+            for (int i = 0; i < samples.size(); i++) {
+                ArrayValue sample = samples.get(i);
+                long step = sample.get(1).asIntegerValue().toLong();
+                assertEquals((i + 1L) * SAMPLE_INTERVAL, step);
+                assertEquals(startElapsed + step * STEP_SECONDS, sample.get(2).asFloatValue().toDouble(), 1e-9);
+                assertEquals(3 + 2 * 4, sample.size());
+            }
+            ArrayValue last = samples.get(samples.size() - 1);
+            for (int i = 3; i < last.size(); i += 4) {
+                UAV uav = airspace.getUAVs().get(ids.get(last.get(i).asIntegerValue().toInt()));
+                assertEquals(uav.getX(), last.get(i + 1).asFloatValue().toDouble(), 1e-3);
+                assertEquals(uav.getY(), last.get(i + 2).asFloatValue().toDouble(), 1e-3);
+                assertEquals(uav.getZ(), last.get(i + 3).asFloatValue().toDouble(), 1e-3);
+            }
+
+            // 汇总
+            assertTrue(summary != null);
+            assertEquals(MAX_STEPS, summary.get(1).asIntegerValue().toLong());
+            assertEquals(MAX_STEPS * STEP_SECONDS, summary.get(2).asFloatValue().toDouble(), 1e-9);
+            assertEquals(result.getWallSeconds(), summary.get(3).asFloatValue().toDouble(), 0.0);
+            assertFalse(summary.get(5).asBooleanValue().getBoolean());
+        }
+    }
+
+    /**
+     * 两架沿y=2500相向飞行的无人机、位于中点的围栏与南侧的360度扫描雷达
+     */
+    private static Airspace scenario() {
+        Airspace airspace = new Airspace("trace", 0, 0, 0, 5000, 5000, 1000);
+        airspace.reseed(3, 0);
+        airspace.updateTimeStep(STEP_SECONDS);
+        airspace.addUAV(flyer(airspace, new Position(1800, 2500, 100), new Position(3200, 2500, 100)));
+        airspace.addUAV(flyer(airspace, new Position(3200, 2500, 100), new Position(1800, 2500, 100)));
+        airspace.getGeofenceRegistry().addZone(new GeofenceZone("zone-" + airspace.nextEntityId(), "center",
+                ZoneType.RESTRICTED, new double[][] {{2300, 2400}, {2700, 2400}, {2700, 2600}, {2300, 2600}},
+                -200, 0));
+
+        RadarParameters parameters = new RadarParameters(10e9, 1e6, 35, 3, 5,
+                RadarParameters.ScanPattern.DEGREE_360, 1000, 1e-6, 1, 150000, 150, 1, 360);
+        ElectromagneticRadar radar = new ElectromagneticRadar();
+        radar.initialize(new DeviceInitParamsDTO(airspace.nextEntityId(), "radar", DeviceType.RADAR,
+                new Position(2500, 1000, 100), 0, 0, new Orientation(1, 0, 0, 0), 3000, 360, parameters));
+        airspace.addProbeDevice(radar);
+        return airspace;
+    }
+
+    /**
+     * 以20米/秒由起点飞向终点的无人机
+     */
+    private static UAV flyer(Airspace airspace, Position start, Position end) {
+        UAV uav = new UAV(airspace.nextEntityId(), "flyer", UAVState.createStationary(start));
+        uav.setFlightPath(Collections.singletonList(new Waypoint(airspace.nextEntityId(), 0, end, 0, 20, 0,
+                Waypoint.WaypointType.NORMAL, null, null, null)));
+        uav.startMission();
+        return uav;
+    }
+
+    /**
+     * 各设备探测日志的累计事件数之和
+     */
+    private static long detectionTotal(Airspace airspace) {
+        return airspace.getProbeDevices().values().stream()
+                .mapToLong(device -> device.getDetectionLog().getTotalEventCount()).sum();
+    }
+
+    /**
+     * 按键读取映射值
+     */
+    private static Value get(Map<Value, Value> map, String key) {
+        Value value = map.get(ValueFactory.newString(key));
+        assertTrue(value != null, key);
+        return value;
+    }
+
+    /**
+     * 按键读取字符串
+     */
+    private static String string(Map<Value, Value> map, String key) {
+        return get(map, key).asStringValue().asString();
+    }
+
+    /**
+     * 按键读取数值
+     */
+    private static Number number(Map<Value, Value> map, String key) {
+        Value value = get(map, key);
+        return value.isIntegerValue() ? (Number) value.asIntegerValue().toLong() : value.asFloatValue().toDouble();
+    }
+
+    /**
+     * 读取字符串数组
+     */
+    private static List<String> strings(ArrayValue array) {
+        List<String> result = new ArrayList<>();
+        for (Value value : array) {
+            result.add(value.asStringValue().asString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,249 @@
+package com.JP.dronesim.infrastructure.scheduling;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.services.SimulationEngineService;
+import com.JP.dronesim.infrastructure.config.SimulationCellProperties;
+import com.JP.dronesim.infrastructure.persistence.InMemoryAirspaceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 空域执行者测试
+ * 同一空域的命令与独占操作互斥执行；一轮用完时间片后让出工作线程，其他空域先执行；
+ * 执行者内部的重入调用直接执行；独占期间投递的命令在独占结束后执行；移除执行者时注销其指标
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class AirspaceActorTest {
+
+    /**
+     * 等待超时（秒）
+     */
+    private static final long TIMEOUT_SECONDS = 10;
+
+    /**
+     * 指标注册表
+     */
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * 被测登记表
+     */
+    private AirspaceActorRegistry registry;
+
+    /**
+     * 投递命令的客户端线程池
+     */
+    private ExecutorService clients;
+
+    @AfterEach
+    public void tearDown() {
+        if (clients != null) {
+            clients.shutdownNow();
+        }
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    public void commandsForOneAirspaceNeverOverlap() throws Exception {
+        registry = registry(4, 0.05);
+        AirspaceActor actor = registry.actor(airspace("a"));
+        clients = Executors.newFixedThreadPool(8);
+
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        int[] counter = new int[1];
+        Runnable command = () -> {
+            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+            // 非原子的自增：并发执行时会丢失更新
+            counter[0]++;
+            inside.decrementAndGet();
+        };
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int client = 0; client < 8; client++) {
+            boolean exclusive = client % 4 == 0;
+            futures.add(clients.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (exclusive && i % 10 == 0) {
+                        actor.runExclusive(engine -> {
+                            command.run();
+                            return null;
+                        });
+                    } else {
+                        actor.tell(command);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        actor.ask(engine -> null).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(4000, actor.call(engine -> counter[0]).intValue());
+        assertEquals(1, maxInside.get());
+        assertEquals(0, actor.getFailedCount());
+    }
+
+    @Test
+    public void turnYieldsAfterSliceAndOtherAirspaceRuns() throws Exception {
+        // 单个工作线程、1毫秒时间片
+        registry = registry(1, 1);
+        AirspaceActor busy = registry.actor(airspace("busy"));
+        AirspaceActor other = registry.actor(airspace("other"));
+
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch otherQueued = new CountDownLatch(1);
+        busy.tell(() -> {
+            // 等另一空域排入池队列后再结束，本条命令用完时间片
+            await(otherQueued);
+            sleepMillis(2);
+            order.add("busy-0");
+        });
+        for (int i = 1; i < 5; i++) {
+            String name = "busy-" + i;
+            busy.tell(() -> order.add(name));
+        }
+        other.tell(() -> order.add("other"));
+        otherQueued.countDown();
+
+        busy.ask(engine -> null).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        other.ask(engine -> null).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // 第一轮只执行一条命令即让出，另一空域先于忙碌空域的后续命令执行
+        assertEquals(6, order.size());
+        assertEquals("busy-0", order.get(0));
+        assertEquals("other", order.get(1));
+        assertTrue(busy.getTurnCount() >= 2);
+    }
+
+    @Test
+    public void reentrantCallRunsInline() throws Exception {
+        registry = registry(1, 5);
+        AirspaceActor actor = registry.actor(airspace("a"));
+
+        // 单个工作线程上的嵌套调用若排队等待会自等待
+        Boolean sameEngine = actor.ask(engine -> actor.call(inner -> actor.runExclusive(
+                innermost -> innermost == engine && inner == engine))).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertTrue(sameEngine);
+
+        // 独占操作内部的调用同样直接执行
+        assertEquals(7, actor.runExclusive(engine -> actor.call(inner -> 7)).intValue());
+    }
+
+    @Test
+    public void messagesSentDuringExclusiveRunAfterwards() throws Exception {
+        registry = registry(2, 5);
+        AirspaceActor actor = registry.actor(airspace("a"));
+        clients = Executors.newSingleThreadExecutor();
+
+        CountDownLatch ran = new CountDownLatch(3);
+        boolean ranDuringExclusive = actor.runExclusive(engine -> {
+            // 当前线程与其他线程投递的命令都排队等待
+            actor.tell(ran::countDown);
+            try {
+                clients.submit(() -> {
+                    actor.tell(ran::countDown);
+                    actor.tell(ran::countDown);
+                }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            sleepMillis(50);
+            return ran.getCount() < 3;
+        });
+
+        assertFalse(ranDuringExclusive);
+        assertTrue(ran.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, actor.getMailboxSize());
+    }
+
+    @Test
+    public void removeUnregistersMeters() {
+        registry = registry(1, 5);
+        Airspace first = airspace("first");
+        Airspace second = airspace("second");
+        AirspaceActor actor = registry.actor(first);
+        registry.actor(second);
+        assertEquals(4, cellMeterCount(first));
+        assertEquals(4, cellMeterCount(second));
+
+        registry.remove(first.getId());
+        assertEquals(0, cellMeterCount(first));
+        assertEquals(4, cellMeterCount(second));
+
+        // 再次获取时创建新的执行者
+        assertNotSame(actor, registry.actor(first));
+        assertEquals(4, cellMeterCount(first));
+    }
+
+    /**
+     * 创建登记表
+     */
+    private AirspaceActorRegistry registry(int workers, double sliceMillis) {
+        SimulationCellProperties properties = new SimulationCellProperties();
+        properties.setWorkers(workers);
+        properties.setSliceMillis(sliceMillis);
+        return new AirspaceActorRegistry(new InMemoryAirspaceRepository(), SimulationEngineService::new,
+                meterRegistry, properties);
+    }
+
+    /**
+     * 创建空域
+     */
+    private static Airspace airspace(String name) {
+        return new Airspace(name, 0, 0, 0, 1000, 1000, 500);
+    }
+
+    /**
+     * 空域已注册的执行者指标数
+     */
+    private long cellMeterCount(Airspace airspace) {
+        return meterRegistry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith("simulation.cell.")
+                        && airspace.getId().equals(meter.getId().getTag("airspace")))
+                .count();
+    }
+
+    /**
+     * 等待闩锁
+     */
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 休眠
+     */
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.JP.dronesim.infrastructure.scheduling;
+
+import com.JP.dronesim.domain.airspace.model.Airspace;
+import com.JP.dronesim.domain.common.enums.TickOverrunPolicy;
+import com.JP.dronesim.domain.services.SimulationEngineService;
+import com.JP.dronesim.infrastructure.config.SimulationCellProperties;
+import com.JP.dronesim.infrastructure.config.SimulationTickProperties;
+import com.JP.dronesim.infrastructure.persistence.InMemoryAirspaceRepository;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 实时仿真驱动测试
+ * 节拍时钟由测试控制：拨动时钟后唤醒驱动，按时钟读数核对执行帧数与跳过帧数。
+ * 步长为1秒，真实定时器在测试期间即使触发，时钟未拨动时也只会重新排定，不影响结果
+ *
+ * @author JP Team
+ * @version 1.0
+ */
+public class SimulationTickDriverTest {
+
+    /**
+     * 步长（纳秒）
+     */
+    private static final long PERIOD = 1_000_000_000L;
+
+    /**
+     * 节拍时钟
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * 指标注册表
+     */
+    private SimpleMeterRegistry meterRegistry;
+
+    /**
+     * 空域执行者登记表
+     */
+    private AirspaceActorRegistry actors;
+
+    /**
+     * 被驱动的空域
+     */
+    private Airspace airspace;
+
+    /**
+     * 被测驱动
+     */
+    private SimulationTickDriver driver;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        actors = new AirspaceActorRegistry(new InMemoryAirspaceRepository(), SimulationEngineService::new,
+                meterRegistry, new SimulationCellProperties());
+        airspace = new Airspace("tick", 0, 0, 0, 1000, 1000, 500);
+        airspace.updateTimeStep(PERIOD / 1e9);
+        onActor(engine -> engine.startSimulation(airspace));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (driver != null) {
+            driver.shutdown();
+        }
+        actors.shutdown();
+    }
+
+    @Test
+    public void scheduleDoesNotDriftWithLateTicks() {
+        start(TickOverrunPolicy.CATCH_UP, 5);
+
+        // 第一帧晚到0.3个步长，下一帧仍计划在2个步长处
+        advanceTo(1.3);
+        assertEquals(1, ticks());
+        advanceTo(1.9);
+        assertEquals(1, ticks());
+        advanceTo(2.05);
+        assertEquals(2, ticks());
+        advanceTo(2.95);
+        assertEquals(2, ticks());
+        advanceTo(3.0);
+        assertEquals(3, ticks());
+        assertEquals(0, skipped());
+    }
+
+    @Test
+    public void catchUpIsBoundedByMaxCatchUpTicks() {
+        start(TickOverrunPolicy.CATCH_UP, 3);
+
+        // 落后7帧：补3帧，其余4帧跳过，加上本帧共执行4帧
+        advanceTo(8.5);
+        assertEquals(4, ticks());
+        assertEquals(4, skipped());
+        assertEquals(4.0, airspace.getTimeStep().getElapsedTime(), 1e-9);
+
+        // 跳过的帧同样推进计划时刻，下一帧在9个步长处
+        advanceTo(8.9);
+        assertEquals(4, ticks());
+        advanceTo(9.0);
+        assertEquals(5, ticks());
+        assertEquals(4, skipped());
+    }
+
+    @Test
+    public void skipPolicyDropsMissedTicks() {
+        start(TickOverrunPolicy.SKIP, 5);
+
+        advanceTo(6.5);
+        assertEquals(1, ticks());
+        assertEquals(5, skipped());
+        assertEquals(5L, driver.getStatistics(airspace.getId()).get("skippedTicks"));
+
+        advanceTo(7.0);
+        assertEquals(2, ticks());
+        assertEquals(5, skipped());
+    }
+
+    @Test
+    public void resumeRealignsScheduleAfterPause() {
+        start(TickOverrunPolicy.CATCH_UP, 5);
+        advanceTo(1.0);
+        assertEquals(1, ticks());
+
+        // 暂停期间不推进，也不累计落后
+        onActor(engine -> engine.pauseSimulation(airspace));
+        advanceTo(10.0);
+        assertEquals(1, ticks());
+
+        // 恢复后以恢复时刻重新对齐，下一帧在一个步长之后，不追赶暂停期间的帧
+        clock.set(at(10.2));
+        onActor(engine -> engine.resumeSimulation(airspace));
+        wake();
+        assertEquals(1, ticks());
+        advanceTo(11.1);
+        assertEquals(1, ticks());
+        advanceTo(11.2);
+        assertEquals(2, ticks());
+        assertEquals(0, skipped());
+    }
+
+    @Test
+    public void stopRemovesTickMeters() {
+        start(TickOverrunPolicy.CATCH_UP, 5);
+        advanceTo(1.0);
+        assertEquals(6, tickMeterCount());
+        assertTrue(driver.isDriving(airspace.getId()));
+
+        driver.stop(airspace.getId());
+        assertEquals(0, tickMeterCount());
+        assertFalse(driver.isDriving(airspace.getId()));
+        assertTrue(driver.getStatistics(airspace.getId()).isEmpty());
+
+        // 停止后拨动时钟也不再执行帧
+        double elapsed = airspace.getTimeStep().getElapsedTime();
+        advanceTo(5.0);
+        assertEquals(elapsed, airspace.getTimeStep().getElapsedTime(), 0.0);
+    }
+
+    /**
+     * 以给定策略创建驱动并开始驱动空域
+     */
+    private void start(TickOverrunPolicy policy, int maxCatchUpTicks) {
+        SimulationTickProperties properties = new SimulationTickProperties();
+        properties.setOverrunPolicy(policy);
+        properties.setMaxCatchUpTicks(maxCatchUpTicks);
+        driver = new SimulationTickDriver(actors, meterRegistry, properties, clock::get);
+        driver.start(airspace);
+    }
+
+    /**
+     * 把时钟拨到第periods个步长处并唤醒驱动，等待本轮帧执行完毕
+     */
+    private void advanceTo(double periods) {
+        clock.set(at(periods));
+        wake();
+    }
+
+    /**
+     * 唤醒驱动并等待空域信箱清空（追赶帧逐个投递，需要多次等待）
+     */
+    private void wake() {
+        driver.resume(airspace.getId());
+        AirspaceActor actor = actors.actor(airspace);
+        do {
+            actor.call(engine -> null);
+        } while (actor.getMailboxSize() > 0);
+    }
+
+    /**
+     * 在空域执行者上执行命令并等待完成
+     */
+    private void onActor(Consumer<SimulationEngineService> command) {
+        actors.actor(airspace).call(engine -> {
+            command.accept(engine);
+            return null;
+        });
+    }
+
+    /**
+     * 第periods个步长对应的时钟读数
+     */
+    private static long at(double periods) {
+        return Math.round(periods * PERIOD);
+    }
+
+    /**
+     * 已执行帧数
+     */
+    private long ticks() {
+        return Math.round(meterRegistry.find("simulation.tick.count").tag("airspace", airspace.getId())
+                .counter().count());
+    }
+
+    /**
+     * 跳过帧数
+     */
+    private long skipped() {
+        return Math.round(meterRegistry.find("simulation.tick.skipped").tag("airspace", airspace.getId())
+                .counter().count());
+    }
+
+    /**
+     * 本空域已注册的驱动指标数
+     */
+    private long tickMeterCount() {
+        return meterRegistry.getMeters().stream()
+                .map(Meter::getId)
+                .filter(id -> id.getName().startsWith("simulation.tick.")
+                        && airspace.getId().equals(id.getTag("airspace")))
+                .count();
+    }
+}